@@ -0,0 +1,176 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.analyze;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.ClusterStateUpdateTask;
+import org.elasticsearch.cluster.metadata.AliasMetadata;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.cluster.service.ClusterService;
+import org.elasticsearch.common.inject.Injector;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.env.Environment;
+import org.elasticsearch.node.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.crate.action.sql.BaseResultReceiver;
+import io.crate.action.sql.Cursors;
+import io.crate.action.sql.Session;
+import io.crate.action.sql.Sessions;
+import io.crate.analyze.relations.DocTableRelation;
+import io.crate.analyze.where.WhereClauseAnalyzer;
+import io.crate.analyze.where.WhereClauseAnalyzer.PartitionResult;
+import io.crate.data.Row;
+import io.crate.expression.symbol.Symbol;
+import io.crate.metadata.CoordinatorTxnCtx;
+import io.crate.metadata.NodeContext;
+import io.crate.metadata.PartitionName;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.doc.DocTableInfo;
+import io.crate.sql.parser.SqlParser;
+
+/**
+ * Measures how long it takes to find the partitions matching a query on a table with many partitions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(value = Scope.Benchmark)
+public class PartitionPruningBenchmark {
+
+    @Param({"1000", "40000"})
+    public int numPartitions;
+
+    private Node node;
+    private ClusterService clusterService;
+    private NodeContext nodeCtx;
+    private DocTableInfo table;
+    private Symbol query;
+    private Metadata metadata;
+    private Metadata unindexedMetadata;
+
+    @Setup
+    public void setup() throws Exception {
+        Path tempDir = Files.createTempDirectory("");
+        Settings settings = Settings.builder()
+            .put("path.home", tempDir.toAbsolutePath().toString())
+            .build();
+        Environment environment = new Environment(settings, tempDir);
+        node = new Node(
+            environment,
+            List.of(),
+            true
+        );
+        node.start();
+        Injector injector = node.injector();
+        Sessions sqlOperations = injector.getInstance(Sessions.class);
+        clusterService = injector.getInstance(ClusterService.class);
+        nodeCtx = injector.getInstance(NodeContext.class);
+
+        var resultReceiver = new BaseResultReceiver();
+        try (Session session = sqlOperations.newSystemSession()) {
+            session.quickExec("create table hourly (ts timestamp, x int, p bigint) partitioned by (p)", resultReceiver, Row.EMPTY);
+        }
+        resultReceiver.completionFuture().get(5, TimeUnit.SECONDS);
+        addPartitions(new RelationName("doc", "hourly"), numPartitions);
+
+        String sql = "select * from hourly where p >= " + (numPartitions / 2) + " and p < " + (numPartitions / 2 + 24);
+        Analyzer analyzer = injector.getInstance(Analyzer.class);
+        Analysis analysis = new Analysis(CoordinatorTxnCtx.systemTransactionContext(), ParamTypeHints.EMPTY, Cursors.EMPTY);
+        QueriedSelectRelation relation = (QueriedSelectRelation) analyzer.analyzedStatement(
+            SqlParser.createStatement(sql), analysis);
+        query = relation.where();
+        table = ((DocTableRelation) relation.from().get(0)).tableInfo();
+        metadata = clusterService.state().metadata();
+        // A metadata instance the partition index wasn't built from, this forces the full scan over all partitions
+        unindexedMetadata = Metadata.builder(metadata).build();
+    }
+
+    /**
+     * Adds the partitions to the cluster state without allocating any shards, only the metadata is used for planning.
+     */
+    private void addPartitions(RelationName relationName, int numPartitions) throws Exception {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        clusterService.submitStateUpdateTask("add-partitions", new ClusterStateUpdateTask() {
+            @Override
+            public ClusterState execute(ClusterState currentState) {
+                Metadata.Builder builder = Metadata.builder(currentState.metadata());
+                for (int i = 0; i < numPartitions; i++) {
+                    String indexName = new PartitionName(relationName, List.of(Integer.toString(i))).asIndexName();
+                    builder.put(
+                        IndexMetadata.builder(indexName)
+                            .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, Version.CURRENT))
+                            .numberOfShards(1)
+                            .numberOfReplicas(0)
+                            .putAlias(new AliasMetadata(relationName.indexNameOrAlias()))
+                            .build(),
+                        false
+                    );
+                }
+                return ClusterState.builder(currentState).metadata(builder).build();
+            }
+
+            @Override
+            public void clusterStateProcessed(String source, ClusterState oldState, ClusterState newState) {
+                future.complete(null);
+            }
+
+            @Override
+            public void onFailure(String source, Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        future.get(60, TimeUnit.SECONDS);
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        node.close();
+    }
+
+    @Benchmark
+    public PartitionResult measure_resolve_partitions_with_partition_index() {
+        return WhereClauseAnalyzer.resolvePartitions(
+            query, table, CoordinatorTxnCtx.systemTransactionContext(), nodeCtx, metadata);
+    }
+
+    @Benchmark
+    public PartitionResult measure_resolve_partitions_with_full_scan() {
+        return WhereClauseAnalyzer.resolvePartitions(
+            query, table, CoordinatorTxnCtx.systemTransactionContext(), nodeCtx, unindexedMetadata);
+    }
+}
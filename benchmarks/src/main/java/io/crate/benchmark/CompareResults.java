@@ -0,0 +1,147 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.elasticsearch.common.xcontent.DeprecationHandler;
+import org.elasticsearch.common.xcontent.NamedXContentRegistry;
+import org.elasticsearch.common.xcontent.XContentParser;
+import org.elasticsearch.common.xcontent.json.JsonXContent;
+
+/**
+ * Compares two result files written by JMH with {@code -rf json} and reports the benchmarks whose score got worse.
+ *
+ * <pre>
+ *   java -cp benchmarks/target/benchmarks.jar io.crate.benchmark.CompareResults baseline.json current.json [threshold]
+ * </pre>
+ *
+ * A benchmark is reported as regression if its score changed by more than {@code threshold} percent (default 10)
+ * in the unfavourable direction and the change is larger than the combined error of both measurements.
+ * The process exits with status 1 if there is at least one regression, so that it can be used to fail a CI job.
+ */
+public final class CompareResults {
+
+    record Result(String mode, double score, double scoreError, String scoreUnit) {
+
+        boolean higherIsBetter() {
+            return mode.equals("thrpt");
+        }
+    }
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: CompareResults <baseline.json> <current.json> [threshold in percent]");
+            System.exit(2);
+        }
+        Map<String, Result> baseline = read(Path.of(args[0]));
+        Map<String, Result> current = read(Path.of(args[1]));
+        double threshold = args.length == 3 ? Double.parseDouble(args[2]) : 10.0;
+
+        int regressions = 0;
+        for (var entry : current.entrySet()) {
+            String name = entry.getKey();
+            Result now = entry.getValue();
+            Result before = baseline.get(name);
+            if (before == null || !before.mode().equals(now.mode()) || !before.scoreUnit().equals(now.scoreUnit())) {
+                System.out.printf(Locale.ENGLISH, "%-100s %14s %14.3f %s%n", name, "new", now.score(), now.scoreUnit());
+                continue;
+            }
+            double change = (now.score() - before.score()) / before.score() * 100;
+            double worse = now.higherIsBetter() ? -change : change;
+            boolean significant = Math.abs(now.score() - before.score()) > before.scoreError() + now.scoreError();
+            boolean regression = worse > threshold && significant;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf(
+                Locale.ENGLISH,
+                "%-100s %14.3f %14.3f %s %+8.2f%%%s%n",
+                name,
+                before.score(),
+                now.score(),
+                now.scoreUnit(),
+                change,
+                regression ? "  REGRESSION" : ""
+            );
+        }
+        for (String name : baseline.keySet()) {
+            if (!current.containsKey(name)) {
+                System.out.printf(Locale.ENGLISH, "%-100s %14s%n", name, "missing");
+            }
+        }
+        if (regressions > 0) {
+            System.out.printf(Locale.ENGLISH, "%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @return results by benchmark name including its parameters, e.g.
+     *         {@code io.crate.execution.engine.join.JoinBenchmark.measureHashInnerJoin(buildRows=1000, distribution=SKEWED)}
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Result> read(Path path) throws IOException {
+        List<Object> entries;
+        try (InputStream in = Files.newInputStream(path);
+             XContentParser parser = JsonXContent.JSON_XCONTENT.createParser(
+                 NamedXContentRegistry.EMPTY,
+                 DeprecationHandler.THROW_UNSUPPORTED_OPERATION,
+                 in)) {
+            entries = parser.list();
+        }
+        LinkedHashMap<String, Result> results = new LinkedHashMap<>();
+        for (Object entry : entries) {
+            Map<String, Object> benchmark = (Map<String, Object>) entry;
+            Map<String, Object> params = (Map<String, Object>) benchmark.get("params");
+            String name = (String) benchmark.get("benchmark");
+            if (params != null && !params.isEmpty()) {
+                name += new TreeMap<>(params).toString().replace('{', '(').replace('}', ')');
+            }
+            Map<String, Object> primaryMetric = (Map<String, Object>) benchmark.get("primaryMetric");
+            results.put(name, new Result(
+                (String) benchmark.get("mode"),
+                toDouble(primaryMetric.get("score")),
+                toDouble(primaryMetric.get("scoreError")),
+                (String) primaryMetric.get("scoreUnit")
+            ));
+        }
+        return results;
+    }
+
+    private static double toDouble(Object value) {
+        double result = value instanceof Number number ? number.doubleValue() : Double.parseDouble(value.toString());
+        // JMH writes "NaN" if the error can't be computed, e.g. with a single iteration
+        return Double.isNaN(result) ? 0.0 : result;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import io.crate.data.Row;
+import io.crate.data.RowN;
+import io.crate.types.BooleanType;
+import io.crate.types.DataType;
+import io.crate.types.DoubleType;
+import io.crate.types.FloatType;
+import io.crate.types.IntegerType;
+import io.crate.types.LongType;
+import io.crate.types.ShortType;
+import io.crate.types.StringType;
+import io.crate.types.TimestampType;
+
+/**
+ * Generators for reproducible benchmark input.
+ * All values are derived from a seed so that runs of different releases operate on the same data.
+ */
+public final class SyntheticData {
+
+    public enum Distribution {
+        /**
+         * Every key appears roughly equally often
+         */
+        UNIFORM,
+
+        /**
+         * Small keys are much more frequent than large keys, similar to real world foreign keys
+         */
+        SKEWED
+    }
+
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    private SyntheticData() {
+    }
+
+    /**
+     * @return {@code numValues} keys in the range of {@code [0, numDistinct)}
+     */
+    public static int[] keys(int numValues, int numDistinct, Distribution distribution, long seed) {
+        Random random = new Random(seed);
+        int[] keys = new int[numValues];
+        for (int i = 0; i < numValues; i++) {
+            keys[i] = switch (distribution) {
+                case UNIFORM -> random.nextInt(numDistinct);
+                case SKEWED -> (int) (numDistinct * Math.pow(random.nextDouble(), 3));
+            };
+        }
+        return keys;
+    }
+
+    /**
+     * @param nullRate fraction of values which are {@code null}, between 0 and 1
+     * @return {@code numRows} rows with random values of the given types
+     */
+    public static List<Object[]> cells(int numRows, List<DataType<?>> types, double nullRate, long seed) {
+        Random random = new Random(seed);
+        ArrayList<Object[]> rows = new ArrayList<>(numRows);
+        for (int i = 0; i < numRows; i++) {
+            Object[] cells = new Object[types.size()];
+            for (int c = 0; c < cells.length; c++) {
+                cells[c] = random.nextDouble() < nullRate ? null : value(random, types.get(c));
+            }
+            rows.add(cells);
+        }
+        return rows;
+    }
+
+    public static List<Row> rows(List<Object[]> cells) {
+        ArrayList<Row> rows = new ArrayList<>(cells.size());
+        for (Object[] row : cells) {
+            rows.add(new RowN(row));
+        }
+        return rows;
+    }
+
+    public static Object value(Random random, DataType<?> type) {
+        return switch (type.id()) {
+            case BooleanType.ID -> random.nextBoolean();
+            case ShortType.ID -> (short) random.nextInt(Short.MAX_VALUE);
+            case IntegerType.ID -> random.nextInt();
+            case LongType.ID, TimestampType.ID_WITH_TZ, TimestampType.ID_WITHOUT_TZ ->
+                // Between 1970 and 2100
+                (long) (random.nextDouble() * 4_102_444_800_000L);
+            case FloatType.ID -> random.nextFloat();
+            case DoubleType.ID -> random.nextDouble();
+            case StringType.ID -> string(random, 4 + random.nextInt(28));
+            default -> throw new IllegalArgumentException("No generator for type " + type);
+        };
+    }
+
+    public static String string(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.engine.distribution;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.crate.Streamer;
+import io.crate.benchmark.SyntheticData;
+import io.crate.data.Row;
+import io.crate.data.breaker.RamAccounting;
+import io.crate.types.DataType;
+import io.crate.types.DataTypes;
+
+/**
+ * Encodes and decodes a page of rows as it is sent between the nodes of a distributed query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class StreamBucketBenchmark {
+
+    // Default page size of distributed queries, see Paging.PAGE_SIZE
+    private static final int NUM_ROWS = 500_000;
+
+    private static final List<DataType<?>> TYPES = List.of(
+        DataTypes.INTEGER,
+        DataTypes.LONG,
+        DataTypes.DOUBLE,
+        DataTypes.STRING,
+        DataTypes.TIMESTAMPZ,
+        DataTypes.BOOLEAN
+    );
+
+    private Streamer<?>[] streamers;
+    private List<Row> rows;
+    private byte[] encoded;
+
+    @Setup
+    public void setup() throws Exception {
+        streamers = new Streamer<?>[TYPES.size()];
+        for (int i = 0; i < streamers.length; i++) {
+            streamers[i] = TYPES.get(i).streamer();
+        }
+        rows = SyntheticData.rows(SyntheticData.cells(NUM_ROWS, TYPES, 0.05, 1));
+        encoded = BytesReference.toBytes(encode().bytes());
+    }
+
+    private BytesStreamOutput encode() throws Exception {
+        StreamBucket.Builder builder = new StreamBucket.Builder(streamers, RamAccounting.NO_ACCOUNTING);
+        for (Row row : rows) {
+            builder.add(row);
+        }
+        BytesStreamOutput out = new BytesStreamOutput();
+        builder.build().writeTo(out);
+        return out;
+    }
+
+    @Benchmark
+    public BytesStreamOutput measureEncode() throws Exception {
+        return encode();
+    }
+
+    @Benchmark
+    public void measureDecode(Blackhole blackhole) throws Exception {
+        StreamBucket bucket = new StreamBucket(StreamInput.wrap(encoded), streamers);
+        for (Row row : bucket) {
+            for (int i = 0; i < streamers.length; i++) {
+                blackhole.consume(row.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.engine.join;
+
+import static io.crate.data.SentinelRow.SENTINEL;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.crate.benchmark.SyntheticData;
+import io.crate.benchmark.SyntheticData.Distribution;
+import io.crate.breaker.TypedCellsAccounting;
+import io.crate.data.BatchIterator;
+import io.crate.data.InMemoryBatchIterator;
+import io.crate.data.Row;
+import io.crate.data.RowN;
+import io.crate.data.breaker.RamAccounting;
+import io.crate.data.join.CombinedRow;
+import io.crate.data.join.CrossJoinBlockNLBatchIterator;
+import io.crate.data.join.LeftJoinNLBatchIterator;
+import io.crate.types.DataTypes;
+
+/**
+ * Joins two relations of {@code (key int, payload text)} rows.
+ * The left side is the build side of the hash join, the right side is probed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class JoinBenchmark {
+
+    private static final int PROBE_ROWS = 100_000;
+    private static final int NL_LEFT_ROWS = 1_000;
+    private static final int NL_RIGHT_ROWS = 10_000;
+
+    @Param({"1000", "100000"})
+    public int buildRows;
+
+    @Param({"UNIFORM", "SKEWED"})
+    public Distribution distribution;
+
+    private final TypedCellsAccounting rowAccounting = new TypedCellsAccounting(
+        List.of(DataTypes.INTEGER, DataTypes.STRING), RamAccounting.NO_ACCOUNTING, 0);
+
+    private List<Row> buildSide;
+    private List<Row> probeSide;
+
+    @Setup
+    public void setup() {
+        // Each build row has a distinct key, the distribution defines how often a key is hit by the probe side
+        buildSide = rows(IntStream.range(0, buildRows).toArray(), 1);
+        probeSide = rows(SyntheticData.keys(PROBE_ROWS, buildRows, distribution, 2), 3);
+    }
+
+    private static List<Row> rows(int[] keys, long seed) {
+        Random random = new Random(seed);
+        ArrayList<Row> rows = new ArrayList<>(keys.length);
+        for (int key : keys) {
+            rows.add(new RowN(key, SyntheticData.string(random, 16)));
+        }
+        return rows;
+    }
+
+    private static boolean keysMatch(Row row) {
+        return Objects.equals(row.get(0), row.get(2));
+    }
+
+    private static int hashKey(Row row) {
+        return row.get(0).hashCode();
+    }
+
+    @Benchmark
+    public void measureHashInnerJoin(Blackhole blackhole) {
+        BatchIterator<Row> join = new HashInnerJoinBatchIterator(
+            InMemoryBatchIterator.of(buildSide, SENTINEL, true),
+            InMemoryBatchIterator.of(probeSide, SENTINEL, true),
+            rowAccounting,
+            new CombinedRow(2, 2),
+            JoinBenchmark::keysMatch,
+            JoinBenchmark::hashKey,
+            JoinBenchmark::hashKey,
+            ignored -> buildRows
+        );
+        while (join.moveNext()) {
+            blackhole.consume(join.currentElement().get(3));
+        }
+    }
+
+    @Benchmark
+    public void measureHashInnerJoinInBlocks(Blackhole blackhole) {
+        // The build side doesn't fit into memory, it is processed in 10 blocks and the probe side is read once per block
+        BatchIterator<Row> join = new HashInnerJoinBatchIterator(
+            InMemoryBatchIterator.of(buildSide, SENTINEL, true),
+            InMemoryBatchIterator.of(probeSide, SENTINEL, true),
+            rowAccounting,
+            new CombinedRow(2, 2),
+            JoinBenchmark::keysMatch,
+            JoinBenchmark::hashKey,
+            JoinBenchmark::hashKey,
+            ignored -> buildRows / 10
+        );
+        while (join.moveNext()) {
+            blackhole.consume(join.currentElement().get(3));
+        }
+    }
+
+    @Benchmark
+    public void measureLeftJoinNL(Blackhole blackhole) {
+        BatchIterator<Row> join = new LeftJoinNLBatchIterator<>(
+            InMemoryBatchIterator.of(buildSide.subList(0, Math.min(NL_LEFT_ROWS, buildRows)), SENTINEL, true),
+            InMemoryBatchIterator.of(probeSide.subList(0, NL_RIGHT_ROWS), SENTINEL, true),
+            new CombinedRow(2, 2),
+            JoinBenchmark::keysMatch
+        );
+        while (join.moveNext()) {
+            blackhole.consume(join.currentElement().get(3));
+        }
+    }
+
+    @Benchmark
+    public void measureCrossJoinBlockNL(Blackhole blackhole) {
+        BatchIterator<Row> join = new CrossJoinBlockNLBatchIterator(
+            InMemoryBatchIterator.of(buildSide.subList(0, Math.min(NL_LEFT_ROWS, buildRows)), SENTINEL, true),
+            InMemoryBatchIterator.of(probeSide.subList(0, NL_RIGHT_ROWS), SENTINEL, true),
+            new CombinedRow(2, 2),
+            ignored -> NL_LEFT_ROWS,
+            rowAccounting
+        );
+        while (join.moveNext()) {
+            blackhole.consume(join.currentElement().get(3));
+        }
+    }
+}
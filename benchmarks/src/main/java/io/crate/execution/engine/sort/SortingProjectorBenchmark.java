@@ -0,0 +1,124 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.engine.sort;
+
+import static io.crate.data.SentinelRow.SENTINEL;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.crate.benchmark.SyntheticData;
+import io.crate.breaker.TypedCellsAccounting;
+import io.crate.data.BatchIterator;
+import io.crate.data.InMemoryBatchIterator;
+import io.crate.data.Row;
+import io.crate.data.breaker.RamAccounting;
+import io.crate.execution.engine.collect.RowCollectExpression;
+import io.crate.types.DataType;
+import io.crate.types.DataTypes;
+
+/**
+ * Sorts {@code (i int, s text, d double, ts timestamp)} rows, 5% of all values are {@code null}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SortingProjectorBenchmark {
+
+    private static final List<DataType<?>> TYPES = List.of(
+        DataTypes.INTEGER,
+        DataTypes.STRING,
+        DataTypes.DOUBLE,
+        DataTypes.TIMESTAMPZ
+    );
+
+    @Param({"100000", "1000000"})
+    public int numRows;
+
+    private List<Row> rows;
+    private List<RowCollectExpression> inputs;
+
+    @Setup
+    public void setup() {
+        rows = SyntheticData.rows(SyntheticData.cells(numRows, TYPES, 0.05, 1));
+        inputs = new ArrayList<>(TYPES.size());
+        for (int i = 0; i < TYPES.size(); i++) {
+            inputs.add(new RowCollectExpression(i));
+        }
+    }
+
+    private void sort(Comparator<Object[]> comparator, Blackhole blackhole) throws Exception {
+        SortingProjector projector = new SortingProjector(
+            new TypedCellsAccounting(TYPES, RamAccounting.NO_ACCOUNTING, 0),
+            inputs,
+            inputs,
+            TYPES.size(),
+            comparator,
+            0
+        );
+        BatchIterator<Row> it = projector.apply(InMemoryBatchIterator.of(rows, SENTINEL, false));
+        it.collect(Collectors.summingInt(row -> {
+            blackhole.consume(row.get(0));
+            return 1;
+        })).get();
+    }
+
+    @Benchmark
+    public void measureSortByInt(Blackhole blackhole) throws Exception {
+        sort(
+            OrderingByPosition.arrayOrdering(DataTypes.INTEGER, 0, false, false),
+            blackhole
+        );
+    }
+
+    @Benchmark
+    public void measureSortByTextDescAndTimestamp(Blackhole blackhole) throws Exception {
+        sort(
+            OrderingByPosition.arrayOrdering(
+                TYPES,
+                new int[] { 1, 3 },
+                new boolean[] { true, false },
+                new boolean[] { true, false }
+            ),
+            blackhole
+        );
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.engine.window;
+
+import static io.crate.data.SentinelRow.SENTINEL;
+import static io.crate.metadata.functions.TypeVariableConstraint.typeVariable;
+import static io.crate.window.NthValueFunctions.LAST_VALUE_NAME;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.elasticsearch.common.settings.Settings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.crate.benchmark.SyntheticData;
+import io.crate.benchmark.SyntheticData.Distribution;
+import io.crate.data.BatchIterator;
+import io.crate.data.InMemoryBatchIterator;
+import io.crate.data.Input;
+import io.crate.data.Row;
+import io.crate.data.RowN;
+import io.crate.data.breaker.RowAccounting;
+import io.crate.execution.engine.collect.RowCollectExpression;
+import io.crate.metadata.FunctionType;
+import io.crate.metadata.Functions;
+import io.crate.metadata.Scalar;
+import io.crate.metadata.functions.Signature;
+import io.crate.metadata.settings.session.SessionSettingRegistry;
+import io.crate.types.DataTypes;
+import io.crate.types.TypeSignature;
+
+/**
+ * Computes {@code row_number() OVER (PARTITION BY k ORDER BY v)} and
+ * {@code last_value(v) OVER (PARTITION BY k ORDER BY v ROWS BETWEEN UNBOUNDED PRECEDING AND UNBOUNDED FOLLOWING)}
+ * on {@code (k int, v bigint)} rows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class WindowFunctionBatchIteratorBenchmark {
+
+    private static final int NUM_ROWS = 1_000_000;
+    private static final Comparator<Object[]> CMP_PARTITION_BY = Comparator.comparingInt(cells -> (int) cells[0]);
+    private static final Comparator<Object[]> CMP_ORDER_BY = Comparator.comparingLong(cells -> (long) cells[1]);
+
+    @Param({"10", "10000"})
+    public int numPartitions;
+
+    @Param({"1", "4"})
+    public int numThreads;
+
+    private List<Row> rows;
+    private WindowFunction rowNumber;
+    private WindowFunction lastValue;
+
+    @Setup
+    public void setup() {
+        int[] keys = SyntheticData.keys(NUM_ROWS, numPartitions, Distribution.SKEWED, 1);
+        Random random = new Random(2);
+        rows = new ArrayList<>(NUM_ROWS);
+        for (int key : keys) {
+            rows.add(new RowN(key, random.nextLong()));
+        }
+        Functions functions = Functions.load(Settings.EMPTY, new SessionSettingRegistry(Set.of()));
+        rowNumber = (WindowFunction) functions.getQualified(
+            Signature.builder("row_number", FunctionType.WINDOW)
+                .argumentTypes()
+                .returnType(DataTypes.INTEGER.getTypeSignature())
+                .features(Scalar.Feature.DETERMINISTIC)
+                .build(),
+            List.of(),
+            DataTypes.INTEGER
+        );
+        lastValue = (WindowFunction) functions.getQualified(
+            Signature.builder(LAST_VALUE_NAME, FunctionType.WINDOW)
+                .argumentTypes(TypeSignature.parse("E"))
+                .returnType(TypeSignature.parse("E"))
+                .features(Scalar.Feature.DETERMINISTIC)
+                .typeVariableConstraints(typeVariable("E"))
+                .build(),
+            List.of(DataTypes.LONG),
+            DataTypes.LONG
+        );
+    }
+
+    @Benchmark
+    public void measurePartitionedWindowFunctions(Blackhole blackhole) throws Exception {
+        RowCollectExpression value = new RowCollectExpression(1);
+        BatchIterator<Row> batchIterator = WindowFunctionBatchIterator.of(
+            new InMemoryBatchIterator<>(rows, SENTINEL, false),
+            ignored -> {},
+            new NoRowAccounting(),
+            (partitionStart, partitionEnd, currentIndex, sortedRows) -> partitionStart,
+            (partitionStart, partitionEnd, currentIndex, sortedRows) -> partitionEnd,
+            CMP_PARTITION_BY,
+            CMP_ORDER_BY,
+            2,
+            () -> numThreads,
+            ForkJoinPool.commonPool(),
+            List.of(rowNumber, lastValue),
+            List.of(value),
+            new Boolean[]{null, null},
+            new Input[0],
+            new Input[]{value}
+        );
+        batchIterator.collect(Collectors.summingInt(row -> {
+            blackhole.consume(row.get(3));
+            return 1;
+        })).get();
+    }
+
+    private static class NoRowAccounting implements RowAccounting<Row> {
+
+        @Override
+        public long accountForAndMaybeBreak(Row row) {
+            return 42L;
+        }
+
+        @Override
+        public void release() {
+        }
+    }
+}
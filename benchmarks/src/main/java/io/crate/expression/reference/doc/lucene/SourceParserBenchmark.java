@@ -0,0 +1,127 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.expression.reference.doc.lucene;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.xcontent.json.JsonXContent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.crate.benchmark.SyntheticData;
+import io.crate.metadata.ColumnIdent;
+import io.crate.types.DataType;
+import io.crate.types.DataTypes;
+
+/**
+ * Parses the {@code _source} of documents with 16 top level columns, an object column with a nested
+ * object and an array column. Either all columns are requested, or only two of them, like in
+ * {@code SELECT c0, obj['inner']['d'] FROM tbl}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SourceParserBenchmark {
+
+    private static final int NUM_DOCS = 10_000;
+    private static final int NUM_COLUMNS = 16;
+    private static final List<DataType<?>> COLUMN_TYPES = List.of(
+        DataTypes.INTEGER,
+        DataTypes.LONG,
+        DataTypes.DOUBLE,
+        DataTypes.STRING
+    );
+
+    private List<BytesReference> sources;
+    private SourceParser allColumnsParser;
+    private SourceParser twoColumnsParser;
+
+    @Setup
+    public void setup() throws Exception {
+        Random random = new Random(1);
+        sources = new ArrayList<>(NUM_DOCS);
+        for (int i = 0; i < NUM_DOCS; i++) {
+            HashMap<String, Object> doc = new HashMap<>();
+            for (int c = 0; c < NUM_COLUMNS; c++) {
+                doc.put("c" + c, SyntheticData.value(random, COLUMN_TYPES.get(c % COLUMN_TYPES.size())));
+            }
+            doc.put("obj", Map.of(
+                "a", random.nextInt(),
+                "b", SyntheticData.string(random, 12),
+                "inner", Map.of("d", random.nextLong())
+            ));
+            doc.put("tags", List.of(SyntheticData.string(random, 8), SyntheticData.string(random, 8)));
+            sources.add(BytesReference.bytes(JsonXContent.builder().map(doc)));
+        }
+
+        allColumnsParser = new SourceParser(Set.of(), UnaryOperator.identity());
+        for (int c = 0; c < NUM_COLUMNS; c++) {
+            allColumnsParser.register(docColumn("c" + c), COLUMN_TYPES.get(c % COLUMN_TYPES.size()));
+        }
+        allColumnsParser.register(docColumn("obj", "a"), DataTypes.INTEGER);
+        allColumnsParser.register(docColumn("obj", "b"), DataTypes.STRING);
+        allColumnsParser.register(docColumn("obj", "inner", "d"), DataTypes.LONG);
+        allColumnsParser.register(docColumn("tags"), DataTypes.STRING_ARRAY);
+
+        twoColumnsParser = new SourceParser(Set.of(), UnaryOperator.identity());
+        twoColumnsParser.register(docColumn("c0"), DataTypes.INTEGER);
+        twoColumnsParser.register(docColumn("obj", "inner", "d"), DataTypes.LONG);
+    }
+
+    private static ColumnIdent docColumn(String ... path) {
+        return ColumnIdent.of("_doc", List.of(path));
+    }
+
+    @Benchmark
+    public void measureParseAllColumns(Blackhole blackhole) {
+        for (BytesReference source : sources) {
+            blackhole.consume(allColumnsParser.parse(source));
+        }
+    }
+
+    @Benchmark
+    public void measureParseTwoColumns(Blackhole blackhole) {
+        for (BytesReference source : sources) {
+            blackhole.consume(twoColumnsParser.parse(source));
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.lucene;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.lucene.search.Query;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.cluster.service.ClusterService;
+import org.elasticsearch.common.inject.Injector;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.env.Environment;
+import org.elasticsearch.index.IndexService;
+import org.elasticsearch.indices.IndicesService;
+import org.elasticsearch.node.Node;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.crate.action.sql.BaseResultReceiver;
+import io.crate.action.sql.Cursors;
+import io.crate.action.sql.Session;
+import io.crate.action.sql.Sessions;
+import io.crate.analyze.Analyzer;
+import io.crate.analyze.ParamTypeHints;
+import io.crate.analyze.QueriedSelectRelation;
+import io.crate.data.Row;
+import io.crate.expression.symbol.Symbol;
+import io.crate.metadata.CoordinatorTxnCtx;
+import io.crate.metadata.NodeContext;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.doc.DocTableInfo;
+import io.crate.sql.parser.SqlParser;
+
+/**
+ * Converts the analyzed {@code WHERE} clause of a query into a Lucene query, as it is done for each shard of a
+ * table before it is searched.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class LuceneQueryBuilderBenchmark {
+
+    @Param({
+        "x = 10",
+        "x > 10 and y < 1000",
+        "name = 'foo' or name like 'bar%'",
+        "'a' = any(tags)",
+        "x in (1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20)",
+        "x between 10 and 100 or y is null",
+        "not (x = 1) and name is not null"
+    })
+    public String where;
+
+    private Node node;
+    private LuceneQueryBuilder luceneQueryBuilder;
+    private CoordinatorTxnCtx txnCtx;
+    private DocTableInfo table;
+    private IndexService indexService;
+    private Symbol query;
+
+    @Setup
+    public void setup() throws Exception {
+        Path tempDir = Files.createTempDirectory("");
+        Settings settings = Settings.builder()
+            .put("path.home", tempDir.toAbsolutePath().toString())
+            .build();
+        Environment environment = new Environment(settings, tempDir);
+        node = new Node(
+            environment,
+            List.of(),
+            true
+        );
+        node.start();
+        Injector injector = node.injector();
+
+        Sessions sessions = injector.getInstance(Sessions.class);
+        String statement = """
+            create table tbl (
+                x int,
+                y bigint,
+                name text,
+                tags array(text)
+            ) clustered into 1 shards with (number_of_replicas = 0)
+            """;
+        var resultReceiver = new BaseResultReceiver();
+        try (Session session = sessions.newSystemSession()) {
+            session.quickExec(statement, resultReceiver, Row.EMPTY);
+        }
+        resultReceiver.completionFuture().get(5, TimeUnit.SECONDS);
+
+        NodeContext nodeCtx = injector.getInstance(NodeContext.class);
+        table = nodeCtx.schemas().getTableInfo(new RelationName("doc", "tbl"));
+        txnCtx = CoordinatorTxnCtx.systemTransactionContext();
+        luceneQueryBuilder = new LuceneQueryBuilder(nodeCtx);
+
+        Metadata metadata = injector.getInstance(ClusterService.class).state().metadata();
+        var index = metadata.index(table.concreteIndices(metadata)[0]).getIndex();
+        IndicesService indicesService = injector.getInstance(IndicesService.class);
+        for (int i = 0; i < 100 && indexService == null; i++) {
+            indexService = indicesService.indexService(index);
+            if (indexService == null) {
+                Thread.sleep(50);
+            }
+        }
+        if (indexService == null) {
+            throw new IllegalStateException("Index of table " + table.ident() + " wasn't created");
+        }
+
+        Analyzer analyzer = injector.getInstance(Analyzer.class);
+        var relation = (QueriedSelectRelation) analyzer.analyze(
+            SqlParser.createStatement("select * from tbl where " + where),
+            txnCtx.sessionSettings(),
+            ParamTypeHints.EMPTY,
+            Cursors.EMPTY
+        );
+        query = relation.where();
+    }
+
+    @TearDown
+    public void teardown() throws Exception {
+        node.close();
+    }
+
+    @Benchmark
+    public Query measureConvert() {
+        return luceneQueryBuilder.convert(
+            query,
+            txnCtx,
+            indexService.index().getName(),
+            indexService.indexAnalyzers(),
+            table,
+            indexService.cache()
+        ).query();
+    }
+}
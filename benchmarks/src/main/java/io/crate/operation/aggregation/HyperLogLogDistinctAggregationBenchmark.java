@@ -55,6 +55,7 @@ import io.crate.execution.engine.collect.RowCollectExpression;
 import io.crate.expression.symbol.AggregateMode;
 import io.crate.expression.symbol.Literal;
 import io.crate.memory.OffHeapMemoryManager;
+import io.crate.memory.OffHeapMemoryPool;
 import io.crate.memory.OnHeapMemoryManager;
 import io.crate.metadata.FunctionType;
 import io.crate.metadata.Functions;
@@ -95,7 +96,7 @@ public class HyperLogLogDistinctAggregationBenchmark {
                 DataTypes.STRING
         );
         onHeapMemoryManager = new OnHeapMemoryManager(bytes -> {});
-        offHeapMemoryManager = new OffHeapMemoryManager();
+        offHeapMemoryManager = new OffHeapMemoryManager(new OffHeapMemoryPool(), bytes -> {});
         hyperLogLogPlusPlus = new HyperLogLogPlusPlus(HyperLogLogPlusPlus.DEFAULT_PRECISION, onHeapMemoryManager::allocate);
         onHeapCollector = new AggregateCollector(
             Collections.singletonList(inExpr0),
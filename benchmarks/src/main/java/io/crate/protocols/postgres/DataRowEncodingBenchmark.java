@@ -0,0 +1,111 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.protocols.postgres;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.crate.benchmark.SyntheticData;
+import io.crate.data.Row;
+import io.crate.protocols.postgres.FormatCodes.FormatCode;
+import io.crate.protocols.postgres.types.PGType;
+import io.crate.protocols.postgres.types.PGTypes;
+import io.crate.types.DataType;
+import io.crate.types.DataTypes;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * Encodes rows into {@code DataRow} messages of the PostgreSQL wire protocol, using either the text or the binary
+ * format for all columns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class DataRowEncodingBenchmark {
+
+    private static final int NUM_ROWS = 100_000;
+
+    // Messages are flushed in batches like the ResultSetReceiver does it
+    private static final int FLUSH_INTERVAL = 1_000;
+
+    private static final List<DataType<?>> TYPES = List.of(
+        DataTypes.INTEGER,
+        DataTypes.LONG,
+        DataTypes.DOUBLE,
+        DataTypes.STRING,
+        DataTypes.TIMESTAMPZ,
+        DataTypes.BOOLEAN
+    );
+
+    @Param({"TEXT", "BINARY"})
+    public FormatCode formatCode;
+
+    private List<Row> rows;
+    private List<PGType<?>> pgTypes;
+    private FormatCode[] formatCodes;
+    private EmbeddedChannel channel;
+
+    @Setup
+    public void setup() {
+        rows = SyntheticData.rows(SyntheticData.cells(NUM_ROWS, TYPES, 0.05, 1));
+        pgTypes = TYPES.stream().<PGType<?>>map(PGTypes::get).toList();
+        formatCodes = new FormatCode[TYPES.size()];
+        Arrays.fill(formatCodes, formatCode);
+        channel = new EmbeddedChannel();
+    }
+
+    @TearDown
+    public void teardown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Benchmark
+    public void measureSendDataRows() {
+        int i = 0;
+        for (Row row : rows) {
+            Messages.sendDataRow(channel, row, pgTypes, formatCodes);
+            if (++i % FLUSH_INTERVAL == 0) {
+                channel.flush();
+                channel.releaseOutbound();
+            }
+        }
+        channel.flush();
+        channel.releaseOutbound();
+    }
+}
@@ -18,6 +18,7 @@ package io.crate.common.concurrent;
 
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.IntFunction;
 
 import org.apache.logging.log4j.LogManager;
@@ -66,11 +67,20 @@ import org.apache.logging.log4j.Logger;
  * In this state the system goes back to steady state after a prolonged period of excessive load.  Requests aren't rejected
  * and the sample RTT remains low. During this state the long term RTT may take some time to go back to normal and could
  * potentially be several multiples higher than the current RTT.
+ *
+ * In addition to the gradient, dropped samples and rejections reported via {@link #onRejected()} decrease the limit
+ * multiplicatively (AIMD), so that a target which starts rejecting requests is backed off from immediately instead of
+ * waiting for the latency to catch up.
  */
 public final class ConcurrencyLimit {
 
     private static final Logger LOG = LogManager.getLogger(ConcurrencyLimit.class);
 
+    /**
+     * Factor applied to the limit if an operation is dropped or rejected
+     */
+    private static final double BACKOFF_RATIO = 0.9;
+
     /**
      * Estimated concurrency limit based on our algorithm
      */
@@ -104,6 +114,8 @@ public final class ConcurrencyLimit {
 
     private final AtomicInteger numInflight = new AtomicInteger();
 
+    private final AtomicLong numRejections = new AtomicLong();
+
     public ConcurrencyLimit(int initialLimit,
                             int minConcurrency,
                             int maxConcurrency,
@@ -131,22 +143,45 @@ public final class ConcurrencyLimit {
         return System.nanoTime();
     }
 
+    /**
+     * Completes a sample started with {@link #startSample()}.
+     *
+     * @param didDrop true if the target dropped the operation because it is overloaded, e.g. it rejected it or
+     *                didn't respond in time. This decreases the limit, so it must be false for failures that are
+     *                unrelated to the load of the target.
+     */
     public final void onSample(long startTime, boolean didDrop) {
         long rtt = System.nanoTime() - startTime;
         int decrementedNumInflight = numInflight.decrementAndGet();
         synchronized (this) {
-            int newLimit = update(rtt, decrementedNumInflight, didDrop);
+            int newLimit = didDrop ? backoff() : update(rtt, decrementedNumInflight);
             if (newLimit != limit) {
                 limit = newLimit;
             }
         }
     }
 
+    /**
+     * Signals that an operation was rejected by the target (e.g. a full thread pool queue)
+     * and will be retried. The limit is decreased multiplicatively, without completing the sample.
+     */
+    public final void onRejected() {
+        numRejections.incrementAndGet();
+        synchronized (this) {
+            limit = backoff();
+        }
+    }
+
+    private int backoff() {
+        estimatedLimit = Math.max(minLimit, estimatedLimit * BACKOFF_RATIO);
+        return (int) estimatedLimit;
+    }
+
     public final int getLimit() {
         return limit;
     }
 
-    private int update(final long rtt, final int inflight, final boolean didDrop) {
+    private int update(final long rtt, final int inflight) {
         final double queueSize = this.queueSize.apply((int)this.estimatedLimit);
 
         this.lastRtt = rtt;
@@ -210,4 +245,11 @@ public final class ConcurrencyLimit {
     public int numInflight() {
         return numInflight.get();
     }
+
+    /**
+     * Number of operations rejected by the target, see {@link #onRejected()}
+     */
+    public long numRejections() {
+        return numRejections.get();
+    }
 }
@@ -44,6 +44,7 @@ statement
     | EXPLAIN (ANALYZE | VERBOSE | explainOptions*) statement                        #explain
     | OPTIMIZE TABLE tableWithPartitions withProperties?                             #optimize
     | REFRESH TABLE tableWithPartitions                                              #refreshTable
+    | REFRESH MATERIALIZED VIEW name=qname                                           #refreshMaterializedView
     | UPDATE aliasedRelation
         SET assignment (COMMA assignment)*
         where?
@@ -108,6 +109,7 @@ dropStmt
         CLOSE_ROUND_BRACKET                                                          #dropFunction
     | DROP (USER | ROLE) (IF EXISTS)? name=ident                                     #dropRole
     | DROP VIEW (IF EXISTS)? names=qnames                                            #dropView
+    | DROP MATERIALIZED VIEW (IF EXISTS)? name=qname                                 #dropMaterializedView
     | DROP ANALYZER name=ident                                                       #dropAnalyzer
     | DROP PUBLICATION (IF EXISTS)? name=ident                                       #dropPublication
     | DROP SUBSCRIPTION (IF EXISTS)? name=ident                                      #dropSubscription
@@ -216,11 +218,11 @@ filter
 
 relation
     : left=relation
-      ( CROSS JOIN right=aliasedRelation
+      ( CROSS JOIN right=sampledRelation
       | joinType JOIN rightRelation=relation joinCriteria
-      | NATURAL joinType JOIN right=aliasedRelation
+      | NATURAL joinType JOIN right=sampledRelation
       )                                                                              #joinRelation
-    | aliasedRelation                                                                #relationDefault
+    | sampledRelation                                                                #relationDefault
     ;
 
 joinType
@@ -239,6 +241,14 @@ aliasedRelation
     : relationPrimary (AS? ident aliasedColumns?)?
     ;
 
+sampledRelation
+    : aliasedRelation
+      ( TABLESAMPLE sampleType=(BERNOULLI | SYSTEM)
+        OPEN_ROUND_BRACKET percentage=expr CLOSE_ROUND_BRACKET
+        (REPEATABLE OPEN_ROUND_BRACKET seed=expr CLOSE_ROUND_BRACKET)?
+      )?
+    ;
+
 relationPrimary
     : table                                                                          #tableRelation
     | OPEN_ROUND_BRACKET query CLOSE_ROUND_BRACKET                                   #subqueryRelation
@@ -610,6 +620,7 @@ createStmt
     | CREATE (USER | ROLE) name=ident ((withProperties | WITH?
         OPEN_ROUND_BRACKET? options=spaceSeparatedIdents CLOSE_ROUND_BRACKET?))?     #createRole
     | CREATE ( OR REPLACE )? VIEW name=qname AS queryOptParens                       #createView
+    | CREATE MATERIALIZED VIEW (IF NOT EXISTS)? name=qname AS queryOptParens         #createMaterializedView
     | CREATE PUBLICATION name=ident
         (FOR ALL TABLES | FOR TABLE qname ASTERISK?  (COMMA qname ASTERISK? )*)?     #createPublication
     | CREATE SUBSCRIPTION name=ident CONNECTION conninfo=expr
@@ -61,6 +61,7 @@ import io.crate.sql.tree.ColumnType;
 import io.crate.sql.tree.CopyFrom;
 import io.crate.sql.tree.CreateForeignTable;
 import io.crate.sql.tree.CreateFunction;
+import io.crate.sql.tree.CreateMaterializedView;
 import io.crate.sql.tree.CreatePublication;
 import io.crate.sql.tree.CreateRole;
 import io.crate.sql.tree.CreateServer;
@@ -77,6 +78,7 @@ import io.crate.sql.tree.DropAnalyzer;
 import io.crate.sql.tree.DropBlobTable;
 import io.crate.sql.tree.DropForeignTable;
 import io.crate.sql.tree.DropFunction;
+import io.crate.sql.tree.DropMaterializedView;
 import io.crate.sql.tree.DropPublication;
 import io.crate.sql.tree.DropRepository;
 import io.crate.sql.tree.DropRole;
@@ -119,9 +121,11 @@ import io.crate.sql.tree.PrivilegeStatement;
 import io.crate.sql.tree.QualifiedName;
 import io.crate.sql.tree.Query;
 import io.crate.sql.tree.QuerySpecification;
+import io.crate.sql.tree.RefreshMaterializedView;
 import io.crate.sql.tree.RefreshStatement;
 import io.crate.sql.tree.Relation;
 import io.crate.sql.tree.RevokePrivilege;
+import io.crate.sql.tree.SampledRelation;
 import io.crate.sql.tree.Select;
 import io.crate.sql.tree.SelectItem;
 import io.crate.sql.tree.SetSessionAuthorizationStatement;
@@ -1163,6 +1167,20 @@ public final class SqlFormatter {
             return null;
         }
 
+        @Override
+        protected Void visitSampledRelation(SampledRelation node, Integer indent) {
+            node.getRelation().accept(this, indent);
+            builder.append(" TABLESAMPLE ")
+                .append(node.getType().name())
+                .append(" (")
+                .append(formatStandaloneExpression(node.getSamplePercentage(), parameters))
+                .append(')');
+            node.getSeed().ifPresent(seed -> builder.append(" REPEATABLE (")
+                .append(formatStandaloneExpression(seed, parameters))
+                .append(')'));
+            return null;
+        }
+
         @Override
         protected Void visitTableSubquery(TableSubquery node, Integer indent) {
             builder.append('(')
@@ -1236,6 +1254,35 @@ public final class SqlFormatter {
             return null;
         }
 
+        @Override
+        public Void visitCreateMaterializedView(CreateMaterializedView node, Integer indent) {
+            builder.append("CREATE MATERIALIZED VIEW ");
+            if (node.ifNotExists()) {
+                builder.append("IF NOT EXISTS ");
+            }
+            builder.append(formatQualifiedName(node.name()));
+            builder.append(" AS ");
+            node.query().accept(this, indent);
+            return null;
+        }
+
+        @Override
+        public Void visitRefreshMaterializedView(RefreshMaterializedView node, Integer indent) {
+            builder.append("REFRESH MATERIALIZED VIEW ");
+            builder.append(formatQualifiedName(node.name()));
+            return null;
+        }
+
+        @Override
+        public Void visitDropMaterializedView(DropMaterializedView node, Integer indent) {
+            builder.append("DROP MATERIALIZED VIEW ");
+            if (node.ifExists()) {
+                builder.append("IF EXISTS ");
+            }
+            builder.append(formatQualifiedName(node.name()));
+            return null;
+        }
+
         @Override
         public Void visitIntervalLiteral(IntervalLiteral node, Integer indent) {
             builder.append(IntervalLiteral.format(node));
@@ -119,6 +119,7 @@ import io.crate.sql.tree.CreateAnalyzer;
 import io.crate.sql.tree.CreateBlobTable;
 import io.crate.sql.tree.CreateForeignTable;
 import io.crate.sql.tree.CreateFunction;
+import io.crate.sql.tree.CreateMaterializedView;
 import io.crate.sql.tree.CreatePublication;
 import io.crate.sql.tree.CreateRepository;
 import io.crate.sql.tree.CreateRole;
@@ -145,6 +146,7 @@ import io.crate.sql.tree.DropCheckConstraint;
 import io.crate.sql.tree.DropColumnDefinition;
 import io.crate.sql.tree.DropForeignTable;
 import io.crate.sql.tree.DropFunction;
+import io.crate.sql.tree.DropMaterializedView;
 import io.crate.sql.tree.DropPublication;
 import io.crate.sql.tree.DropRepository;
 import io.crate.sql.tree.DropRole;
@@ -216,6 +218,7 @@ import io.crate.sql.tree.Query;
 import io.crate.sql.tree.QueryBody;
 import io.crate.sql.tree.QuerySpecification;
 import io.crate.sql.tree.RecordSubscript;
+import io.crate.sql.tree.RefreshMaterializedView;
 import io.crate.sql.tree.RefreshStatement;
 import io.crate.sql.tree.Relation;
 import io.crate.sql.tree.RerouteAllocateReplicaShard;
@@ -225,6 +228,7 @@ import io.crate.sql.tree.RerouteOption;
 import io.crate.sql.tree.ResetStatement;
 import io.crate.sql.tree.RestoreSnapshot;
 import io.crate.sql.tree.RevokePrivilege;
+import io.crate.sql.tree.SampledRelation;
 import io.crate.sql.tree.SearchedCaseExpression;
 import io.crate.sql.tree.Select;
 import io.crate.sql.tree.SelectItem;
@@ -566,6 +570,25 @@ class AstBuilder extends SqlBaseParserBaseVisitor<Node> {
         return new DropView(getQualifiedNames(ctx.qnames()), ctx.EXISTS() != null);
     }
 
+    @Override
+    public Node visitCreateMaterializedView(SqlBaseParser.CreateMaterializedViewContext ctx) {
+        return new CreateMaterializedView(
+            getQualifiedName(ctx.qname()),
+            (Query) visit(ctx.queryOptParens()),
+            ctx.EXISTS() != null
+        );
+    }
+
+    @Override
+    public Node visitRefreshMaterializedView(SqlBaseParser.RefreshMaterializedViewContext ctx) {
+        return new RefreshMaterializedView(getQualifiedName(ctx.qname()));
+    }
+
+    @Override
+    public Node visitDropMaterializedView(SqlBaseParser.DropMaterializedViewContext ctx) {
+        return new DropMaterializedView(getQualifiedName(ctx.qname()), ctx.EXISTS() != null);
+    }
+
     @SuppressWarnings({"rawtypes", "unchecked"})
     @Override
     public Node visitCreateBlobTable(SqlBaseParser.CreateBlobTableContext context) {
@@ -1811,6 +1834,24 @@ class AstBuilder extends SqlBaseParserBaseVisitor<Node> {
         return new AliasedRelation(child, getIdentText(context.ident()), getColumnAliases(context.aliasedColumns()));
     }
 
+    @Override
+    public Node visitSampledRelation(SqlBaseParser.SampledRelationContext context) {
+        Relation child = (Relation) visit(context.aliasedRelation());
+
+        if (context.TABLESAMPLE() == null) {
+            return child;
+        }
+        SampledRelation.Type type = context.sampleType.getType() == SqlBaseLexer.BERNOULLI
+            ? SampledRelation.Type.BERNOULLI
+            : SampledRelation.Type.SYSTEM;
+        return new SampledRelation(
+            child,
+            type,
+            (Expression) visit(context.percentage),
+            visitIfPresent(context.seed, Expression.class)
+        );
+    }
+
     @Override
     public Node visitSubqueryRelation(SqlBaseParser.SubqueryRelationContext context) {
         return new TableSubquery((Query) visit(context.query()));
@@ -232,6 +232,10 @@ public abstract class AstVisitor<R, C> {
         return visitRelation(node, context);
     }
 
+    protected R visitSampledRelation(SampledRelation node, C context) {
+        return visitRelation(node, context);
+    }
+
     protected R visitJoin(Join node, C context) {
         return visitRelation(node, context);
     }
@@ -620,6 +624,18 @@ public abstract class AstVisitor<R, C> {
         return visitStatement(dropView, context);
     }
 
+    public R visitCreateMaterializedView(CreateMaterializedView createMaterializedView, C context) {
+        return visitStatement(createMaterializedView, context);
+    }
+
+    public R visitRefreshMaterializedView(RefreshMaterializedView refreshMaterializedView, C context) {
+        return visitStatement(refreshMaterializedView, context);
+    }
+
+    public R visitDropMaterializedView(DropMaterializedView dropMaterializedView, C context) {
+        return visitStatement(dropMaterializedView, context);
+    }
+
     public R visitSwapTable(SwapTable<?> swapTable, C context) {
         return visitStatement(swapTable, context);
     }
@@ -265,6 +265,14 @@ public abstract class DefaultTraversalVisitor<R, C> extends AstVisitor<R, C> {
         return node.getRelation().accept(this, context);
     }
 
+    @Override
+    protected R visitSampledRelation(SampledRelation node, C context) {
+        node.getRelation().accept(this, context);
+        node.getSamplePercentage().accept(this, context);
+        node.getSeed().ifPresent(seed -> seed.accept(this, context));
+        return null;
+    }
+
     @Override
     protected R visitJoin(Join node, C context) {
         node.getLeft().accept(this, context);
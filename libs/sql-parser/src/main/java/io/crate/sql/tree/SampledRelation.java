@@ -0,0 +1,99 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+
+package io.crate.sql.tree;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Objects;
+import java.util.Optional;
+
+public class SampledRelation extends Relation {
+
+    public enum Type {
+        BERNOULLI,
+        SYSTEM
+    }
+
+    private final Relation relation;
+    private final Type type;
+    private final Expression samplePercentage;
+    private final Optional<Expression> seed;
+
+    public SampledRelation(Relation relation, Type type, Expression samplePercentage, Optional<Expression> seed) {
+        this.relation = requireNonNull(relation, "relation is null");
+        this.type = requireNonNull(type, "type is null");
+        this.samplePercentage = requireNonNull(samplePercentage, "samplePercentage is null");
+        this.seed = requireNonNull(seed, "seed is null");
+    }
+
+    public Relation getRelation() {
+        return relation;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Expression getSamplePercentage() {
+        return samplePercentage;
+    }
+
+    public Optional<Expression> getSeed() {
+        return seed;
+    }
+
+    @Override
+    public <R, C> R accept(AstVisitor<R, C> visitor, C context) {
+        return visitor.visitSampledRelation(this, context);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        SampledRelation that = (SampledRelation) o;
+        return Objects.equals(relation, that.relation) &&
+               type == that.type &&
+               Objects.equals(samplePercentage, that.samplePercentage) &&
+               Objects.equals(seed, that.seed);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(relation, type, samplePercentage, seed);
+    }
+
+    @Override
+    public String toString() {
+        return "SampledRelation{" +
+               "relation=" + relation +
+               ", type=" + type +
+               ", samplePercentage=" + samplePercentage +
+               ", seed=" + seed +
+               '}';
+    }
+}
@@ -36,6 +36,7 @@ import org.junit.jupiter.api.Test;
 
 import io.crate.sql.Literals;
 import io.crate.sql.SqlFormatter;
+import io.crate.sql.tree.AliasedRelation;
 import io.crate.sql.tree.AlterPublication;
 import io.crate.sql.tree.AlterRoleReset;
 import io.crate.sql.tree.AlterRoleSet;
@@ -51,6 +52,7 @@ import io.crate.sql.tree.ComparisonExpression;
 import io.crate.sql.tree.CopyFrom;
 import io.crate.sql.tree.CreateForeignTable;
 import io.crate.sql.tree.CreateFunction;
+import io.crate.sql.tree.CreateMaterializedView;
 import io.crate.sql.tree.CreatePublication;
 import io.crate.sql.tree.CreateRole;
 import io.crate.sql.tree.CreateServer;
@@ -66,6 +68,7 @@ import io.crate.sql.tree.DropAnalyzer;
 import io.crate.sql.tree.DropBlobTable;
 import io.crate.sql.tree.DropForeignTable;
 import io.crate.sql.tree.DropFunction;
+import io.crate.sql.tree.DropMaterializedView;
 import io.crate.sql.tree.DropPublication;
 import io.crate.sql.tree.DropRepository;
 import io.crate.sql.tree.DropRole;
@@ -92,7 +95,10 @@ import io.crate.sql.tree.ParameterExpression;
 import io.crate.sql.tree.QualifiedName;
 import io.crate.sql.tree.QualifiedNameReference;
 import io.crate.sql.tree.Query;
+import io.crate.sql.tree.QuerySpecification;
+import io.crate.sql.tree.RefreshMaterializedView;
 import io.crate.sql.tree.RevokePrivilege;
+import io.crate.sql.tree.SampledRelation;
 import io.crate.sql.tree.SetSessionAuthorizationStatement;
 import io.crate.sql.tree.SetStatement;
 import io.crate.sql.tree.ShowCreateTable;
@@ -1959,6 +1965,21 @@ public class TestStatementBuilder {
         printStatement("select * from foo full join bar on foo.id = bar.id");
     }
 
+    @Test
+    public void test_tablesample() {
+        printStatement("select * from foo tablesample bernoulli (10)");
+        printStatement("select * from foo f tablesample system (0.5) repeatable (42)");
+        printStatement("select * from foo tablesample bernoulli (?) " +
+                       "inner join bar tablesample system (20) on foo.id = bar.id");
+        printStatement("select tablesample from foo tablesample");
+
+        SampledRelation relation = (SampledRelation) ((QuerySpecification) ((Query) SqlParser.createStatement(
+            "select * from foo as f tablesample system (10) repeatable (1)")).getQueryBody()).getFrom().get(0);
+        assertThat(relation.getType()).isEqualTo(SampledRelation.Type.SYSTEM);
+        assertThat(relation.getRelation()).isExactlyInstanceOf(AliasedRelation.class);
+        assertThat(relation.getSeed()).isPresent();
+    }
+
     @Test
     public void testConditionals() {
         printStatement("SELECT a," +
@@ -2010,6 +2031,16 @@ public class TestStatementBuilder {
         printStatement("DROP VIEW IF EXISTS v1, x.v2, y.v3");
     }
 
+    @Test
+    public void test_materialized_view_parsing() {
+        printStatement("CREATE MATERIALIZED VIEW mv AS SELECT x, count(*) FROM t GROUP BY x");
+        printStatement("CREATE MATERIALIZED VIEW IF NOT EXISTS doc.mv AS ( SELECT * FROM t )");
+        printStatement("REFRESH MATERIALIZED VIEW mv");
+        printStatement("REFRESH MATERIALIZED VIEW doc.mv");
+        printStatement("DROP MATERIALIZED VIEW mv");
+        printStatement("DROP MATERIALIZED VIEW IF EXISTS doc.mv");
+    }
+
     @Test
     public void test_values_as_top_relation_parsing() {
         printStatement("VALUES (1, 2), (2, 3), (3, 4)");
@@ -2233,6 +2264,9 @@ public class TestStatementBuilder {
             statement instanceof DropTable ||
             statement instanceof DropBlobTable ||
             statement instanceof DropView ||
+            statement instanceof CreateMaterializedView ||
+            statement instanceof RefreshMaterializedView ||
+            statement instanceof DropMaterializedView ||
             statement instanceof DropRepository ||
             statement instanceof DropSnapshot ||
             statement instanceof Update ||
@@ -29,18 +29,31 @@ import org.jetbrains.annotations.Nullable;
 import org.elasticsearch.common.blobstore.BlobContainer;
 import org.elasticsearch.common.blobstore.BlobMetadata;
 import org.elasticsearch.common.blobstore.BlobPath;
+import org.elasticsearch.common.blobstore.MultipartUpload;
 import org.elasticsearch.common.blobstore.support.AbstractBlobContainer;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 public class AzureBlobContainer extends AbstractBlobContainer {
 
+    /**
+     * Limits of block blobs, see https://learn.microsoft.com/en-us/rest/api/storageservices/put-block
+     */
+    private static final ByteSizeValue MAX_BLOCK_SIZE = new ByteSizeValue(100, ByteSizeUnit.MB);
+    private static final int MAX_BLOCKS_PER_BLOB = 50_000;
+
     private final Logger logger = LogManager.getLogger(AzureBlobContainer.class);
     private final AzureBlobStore blobStore;
 
@@ -121,6 +134,64 @@ public class AzureBlobContainer extends AbstractBlobContainer {
     }
 
 
+    /**
+     * Parts are staged as blocks of a block blob and committed as a block list.
+     * Azure limits the size of a single block and the number of blocks per blob.
+     */
+    @Override
+    public boolean supportsMultipartUpload(long blobSize, long partSize) {
+        return partSize > 0
+            && partSize <= MAX_BLOCK_SIZE.getBytes()
+            && (blobSize + partSize - 1) / partSize <= MAX_BLOCKS_PER_BLOB;
+    }
+
+    @Override
+    public MultipartUpload startMultipartUpload(String blobName, long blobSize, long partSize) throws IOException {
+        final String key = buildKey(blobName);
+        final int numParts = Math.toIntExact(Math.max(1, (blobSize + partSize - 1) / partSize));
+        return new MultipartUpload() {
+
+            @Override
+            public void uploadPart(int partNumber, long position, InputStream input, long length) throws IOException {
+                try {
+                    blobStore.uploadBlock(key, blockId(partNumber), input, length);
+                } catch (URISyntaxException | StorageException e) {
+                    throw new IOException("Can not upload part [" + partNumber + "] of blob " + blobName, e);
+                }
+            }
+
+            @Override
+            public void complete() throws IOException {
+                final List<String> blockIds = new ArrayList<>(numParts);
+                for (int i = 0; i < numParts; i++) {
+                    blockIds.add(blockId(i));
+                }
+                try {
+                    blobStore.commitBlockList(key, blockIds);
+                } catch (URISyntaxException | StorageException e) {
+                    throw new IOException("Can not commit blocks of blob " + blobName, e);
+                }
+            }
+
+            @Override
+            public void abort() {
+                // Azure has no API to discard staged blocks, uncommitted blocks are garbage collected after a week
+            }
+        };
+    }
+
+    /**
+     * Block ids must be base64 encoded and of equal length for all blocks of a blob
+     */
+    private static String blockId(int partNumber) {
+        return Base64.getEncoder().encodeToString(String.format(Locale.ROOT, "%06d", partNumber).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean supportsRangedReads() {
+        return true;
+    }
+
     @Override
     public void delete() throws IOException {
         try {
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -109,6 +110,15 @@ public class AzureBlobStore implements BlobStore {
         return service.listBlobsByPrefix(container, keyPath, prefix);
     }
 
+    public void uploadBlock(String blobName, String blockId, InputStream inputStream, long length)
+        throws URISyntaxException, StorageException, IOException {
+        service.uploadBlock(container, blobName, blockId, inputStream, length);
+    }
+
+    public void commitBlockList(String blobName, List<String> blockIds) throws URISyntaxException, StorageException {
+        service.commitBlockList(container, blobName, blockIds);
+    }
+
     public void writeBlob(String blobName, InputStream inputStream, long blobSize, boolean failIfAlreadyExists)
         throws URISyntaxException, StorageException, IOException {
         service.writeBlob(container, blobName, inputStream, blobSize, failIfAlreadyExists);
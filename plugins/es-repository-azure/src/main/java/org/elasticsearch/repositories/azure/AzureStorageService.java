@@ -27,9 +27,11 @@ import java.net.URISyntaxException;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.NoSuchFileException;
 import java.security.InvalidKeyException;
+import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Supplier;
@@ -54,6 +56,7 @@ import com.microsoft.azure.storage.StorageErrorCodeStrings;
 import com.microsoft.azure.storage.StorageException;
 import com.microsoft.azure.storage.blob.BlobListingDetails;
 import com.microsoft.azure.storage.blob.BlobProperties;
+import com.microsoft.azure.storage.blob.BlockEntry;
 import com.microsoft.azure.storage.blob.CloudBlob;
 import com.microsoft.azure.storage.blob.CloudBlobClient;
 import com.microsoft.azure.storage.blob.CloudBlobContainer;
@@ -245,6 +248,32 @@ public class AzureStorageService {
         LOGGER.trace(() -> new ParameterizedMessage("writeBlob({}, stream, {}) - done", blobName, blobSize));
     }
 
+    /**
+     * Stages a block of a block blob. The block becomes part of the blob once it's included in
+     * {@link #commitBlockList(String, String, List)}.
+     */
+    public void uploadBlock(String container, String blobName, String blockId, InputStream inputStream, long length)
+        throws URISyntaxException, StorageException, IOException {
+        LOGGER.trace(() -> new ParameterizedMessage("uploadBlock({}, {}, stream, {})", blobName, blockId, length));
+        final ClientOpCtx clientOpCtx = client();
+        final CloudBlobContainer blobContainer = clientOpCtx.cloudBlobClient.getContainerReference(container);
+        final CloudBlockBlob blob = blobContainer.getBlockBlobReference(blobName);
+        blob.uploadBlock(blockId, inputStream, length, null, null, clientOpCtx.opCtx.get());
+    }
+
+    public void commitBlockList(String container, String blobName, List<String> blockIds)
+        throws URISyntaxException, StorageException {
+        LOGGER.trace(() -> new ParameterizedMessage("commitBlockList({}, {} blocks)", blobName, blockIds.size()));
+        final ClientOpCtx clientOpCtx = client();
+        final CloudBlobContainer blobContainer = clientOpCtx.cloudBlobClient.getContainerReference(container);
+        final CloudBlockBlob blob = blobContainer.getBlockBlobReference(blobName);
+        final List<BlockEntry> blocks = new ArrayList<>(blockIds.size());
+        for (String blockId : blockIds) {
+            blocks.add(new BlockEntry(blockId));
+        }
+        blob.commitBlockList(blocks, null, null, clientOpCtx.opCtx.get());
+    }
+
     public Set<String> children(String container, BlobPath path) throws URISyntaxException, StorageException {
         final var blobsBuilder = new HashSet<String>();
         final ClientOpCtx clientOpCtx = client();
@@ -26,6 +26,7 @@ import java.io.InputStream;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.NoSuchFileException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -45,6 +46,7 @@ import io.crate.common.io.Streams;
 public class AzureStorageServiceMock extends AzureStorageService {
 
     protected final Map<String, ByteArrayOutputStream> blobs = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> blocks = new ConcurrentHashMap<>();
 
     AzureStorageServiceMock(AzureStorageSettings storageSettings) {
         super(storageSettings);
@@ -107,6 +109,29 @@ public class AzureStorageServiceMock extends AzureStorageService {
         }
     }
 
+    @Override
+    public void uploadBlock(String container, String blobName, String blockId, InputStream inputStream, long length)
+        throws StorageException {
+        try {
+            blocks.put(blobName + "/" + blockId, inputStream.readNBytes(Math.toIntExact(length)));
+        } catch (IOException e) {
+            throw new StorageException("MOCK", "Error while writing mock stream", e);
+        }
+    }
+
+    @Override
+    public void commitBlockList(String container, String blobName, List<String> blockIds) throws StorageException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        for (String blockId : blockIds) {
+            final byte[] block = blocks.remove(blobName + "/" + blockId);
+            if (block == null) {
+                throw new StorageException("InvalidBlockList", "Block [" + blockId + "] does not exist.", 400, null, null);
+            }
+            outputStream.writeBytes(block);
+        }
+        blobs.put(blobName, outputStream);
+    }
+
     /**
      * Test if the given String starts with the specified prefix,
      * ignoring upper/lower case.
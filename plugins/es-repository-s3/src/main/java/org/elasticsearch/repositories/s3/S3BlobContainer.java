@@ -34,6 +34,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Collectors;
 
 import org.apache.lucene.util.SetOnce;
@@ -42,6 +43,7 @@ import org.elasticsearch.common.blobstore.BlobContainer;
 import org.elasticsearch.common.blobstore.BlobMetadata;
 import org.elasticsearch.common.blobstore.BlobPath;
 import org.elasticsearch.common.blobstore.BlobStoreException;
+import org.elasticsearch.common.blobstore.MultipartUpload;
 import org.elasticsearch.common.blobstore.support.AbstractBlobContainer;
 import org.elasticsearch.common.blobstore.support.PlainBlobMetadata;
 import org.elasticsearch.common.unit.ByteSizeUnit;
@@ -76,6 +78,12 @@ class S3BlobContainer extends AbstractBlobContainer {
      */
     private static final int MAX_BULK_DELETES = 1000;
 
+    /**
+     * Maximum number of parts of a multipart upload.
+     * @see <a href="https://docs.aws.amazon.com/AmazonS3/latest/userguide/qfacts.html">S3 Documentation</a>.
+     */
+    private static final int MAX_MULTIPART_PARTS = 10_000;
+
     private final S3BlobStore blobStore;
     private final String keyPath;
 
@@ -142,6 +150,86 @@ class S3BlobContainer extends AbstractBlobContainer {
         }
     }
 
+    /**
+     * S3 requires all parts except for the last one to be at least {@link S3RepositorySettings#MIN_PART_SIZE_USING_MULTIPART} large
+     * and allows at most {@link #MAX_MULTIPART_PARTS} parts per upload.
+     */
+    @Override
+    public boolean supportsMultipartUpload(long blobSize, long partSize) {
+        return partSize >= MIN_PART_SIZE_USING_MULTIPART.getBytes()
+            && blobSize <= MAX_FILE_SIZE_USING_MULTIPART.getBytes()
+            && numberOfMultiparts(blobSize, partSize).v1() <= MAX_MULTIPART_PARTS;
+    }
+
+    @Override
+    public MultipartUpload startMultipartUpload(String blobName, long blobSize, long partSize) throws IOException {
+        final String key = buildKey(blobName);
+        final String bucketName = blobStore.bucket();
+        final int numParts = numberOfMultiparts(blobSize, partSize).v1().intValue();
+        final String uploadId;
+        try (AmazonS3Reference clientReference = blobStore.clientReference()) {
+            final InitiateMultipartUploadRequest initRequest = initiateMultipartUploadRequest(blobStore, bucketName, key);
+            uploadId = clientReference.client().initiateMultipartUpload(initRequest).getUploadId();
+        } catch (final AmazonClientException e) {
+            throw new IOException("Unable to start multipart upload of object [" + blobName + "]", e);
+        }
+        if (Strings.isNullOrEmpty(uploadId)) {
+            throw new IOException("Failed to initialize multipart upload " + blobName);
+        }
+        final AtomicReferenceArray<PartETag> partETags = new AtomicReferenceArray<>(numParts);
+        return new MultipartUpload() {
+
+            @Override
+            public void uploadPart(int partNumber, long position, InputStream input, long length) throws IOException {
+                final UploadPartRequest uploadRequest = new UploadPartRequest();
+                uploadRequest.setBucketName(bucketName);
+                uploadRequest.setKey(key);
+                uploadRequest.setUploadId(uploadId);
+                uploadRequest.setPartNumber(partNumber + 1);
+                uploadRequest.setInputStream(input);
+                uploadRequest.setPartSize(length);
+                uploadRequest.setLastPart(partNumber == numParts - 1);
+                try (AmazonS3Reference clientReference = blobStore.clientReference()) {
+                    partETags.set(partNumber, clientReference.client().uploadPart(uploadRequest).getPartETag());
+                } catch (final AmazonClientException e) {
+                    throw new IOException("Unable to upload part [" + partNumber + "] of object [" + blobName + "]", e);
+                }
+            }
+
+            @Override
+            public void complete() throws IOException {
+                final List<PartETag> parts = new ArrayList<>(numParts);
+                for (int i = 0; i < numParts; i++) {
+                    final PartETag partETag = partETags.get(i);
+                    if (partETag == null) {
+                        throw new IOException("Part [" + i + "] of object [" + blobName + "] was not uploaded");
+                    }
+                    parts.add(partETag);
+                }
+                try (AmazonS3Reference clientReference = blobStore.clientReference()) {
+                    clientReference.client().completeMultipartUpload(
+                        new CompleteMultipartUploadRequest(bucketName, key, uploadId, parts));
+                } catch (final AmazonClientException e) {
+                    throw new IOException("Unable to complete multipart upload of object [" + blobName + "]", e);
+                }
+            }
+
+            @Override
+            public void abort() throws IOException {
+                try (AmazonS3Reference clientReference = blobStore.clientReference()) {
+                    clientReference.client().abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+                } catch (final AmazonClientException e) {
+                    throw new IOException("Unable to abort multipart upload of object [" + blobName + "]", e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public boolean supportsRangedReads() {
+        return true;
+    }
+
     @Override
     public void delete() throws IOException {
         try (AmazonS3Reference clientReference = blobStore.clientReference()) {
@@ -434,14 +522,7 @@ class S3BlobContainer extends AbstractBlobContainer {
         final String bucketName = blobStore.bucket();
         boolean success = false;
 
-        final InitiateMultipartUploadRequest initRequest = new InitiateMultipartUploadRequest(bucketName, blobName);
-        initRequest.setStorageClass(blobStore.getStorageClass());
-        initRequest.setCannedACL(blobStore.getCannedACL());
-        if (blobStore.serverSideEncryption()) {
-            final ObjectMetadata md = new ObjectMetadata();
-            md.setSSEAlgorithm(ObjectMetadata.AES_256_SERVER_SIDE_ENCRYPTION);
-            initRequest.setObjectMetadata(md);
-        }
+        final InitiateMultipartUploadRequest initRequest = initiateMultipartUploadRequest(blobStore, bucketName, blobName);
         try (AmazonS3Reference clientReference = blobStore.clientReference()) {
 
             uploadId.set(clientReference.client().initiateMultipartUpload(initRequest).getUploadId());
@@ -495,6 +576,18 @@ class S3BlobContainer extends AbstractBlobContainer {
         }
     }
 
+    private static InitiateMultipartUploadRequest initiateMultipartUploadRequest(S3BlobStore blobStore, String bucketName, String key) {
+        final InitiateMultipartUploadRequest initRequest = new InitiateMultipartUploadRequest(bucketName, key);
+        initRequest.setStorageClass(blobStore.getStorageClass());
+        initRequest.setCannedACL(blobStore.getCannedACL());
+        if (blobStore.serverSideEncryption()) {
+            final ObjectMetadata md = new ObjectMetadata();
+            md.setSSEAlgorithm(ObjectMetadata.AES_256_SERVER_SIDE_ENCRYPTION);
+            initRequest.setObjectMetadata(md);
+        }
+        return initRequest;
+    }
+
     /**
      * Returns the number parts of size of {@code partSize} needed to reach {@code totalSize},
      * along with the size of the last (or unique) part.
@@ -34,6 +34,7 @@ import static org.mockito.Mockito.when;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -45,6 +46,7 @@ import org.assertj.core.api.Assertions;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.elasticsearch.common.blobstore.BlobPath;
 import org.elasticsearch.common.blobstore.BlobStore;
+import org.elasticsearch.common.blobstore.MultipartUpload;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.repositories.ESBlobStoreContainerTestCase;
 import org.junit.Test;
@@ -287,6 +289,55 @@ public class S3BlobStoreContainerTests extends ESBlobStoreContainerTestCase {
         assertThat(actualETags).isEqualTo(expectedEtags);
     }
 
+    @Test
+    public void test_multipart_upload_completes_parts_uploaded_out_of_order() throws IOException {
+        final String bucketName = randomAlphaOfLengthBetween(1, 10);
+        final String blobName = randomAlphaOfLengthBetween(1, 10);
+        final long partSize = ByteSizeUnit.MB.toBytes(5);
+        final long blobSize = 3 * partSize + 10;
+
+        final S3BlobStore blobStore = mock(S3BlobStore.class);
+        when(blobStore.bucket()).thenReturn(bucketName);
+        final AmazonS3 client = mock(AmazonS3.class);
+        when(blobStore.clientReference()).thenReturn(new AmazonS3Reference(client));
+
+        final InitiateMultipartUploadResult initResult = new InitiateMultipartUploadResult();
+        initResult.setUploadId(randomAlphaOfLength(10));
+        when(client.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class))).thenReturn(initResult);
+        final ArgumentCaptor<UploadPartRequest> uploadArgCaptor = ArgumentCaptor.forClass(UploadPartRequest.class);
+        when(client.uploadPart(uploadArgCaptor.capture())).thenAnswer(invocationOnMock -> {
+            final UploadPartRequest request = (UploadPartRequest) invocationOnMock.getArguments()[0];
+            final UploadPartResult response = new UploadPartResult();
+            response.setPartNumber(request.getPartNumber());
+            response.setETag("etag-" + request.getPartNumber());
+            return response;
+        });
+        final ArgumentCaptor<CompleteMultipartUploadRequest> compArgCaptor = ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        when(client.completeMultipartUpload(compArgCaptor.capture())).thenReturn(new CompleteMultipartUploadResult());
+
+        final S3BlobContainer blobContainer = new S3BlobContainer(new BlobPath(), blobStore);
+        assertThat(blobContainer.supportsMultipartUpload(blobSize, partSize)).isTrue();
+        assertThat(blobContainer.supportsMultipartUpload(blobSize, partSize - 1)).isFalse();
+
+        final MultipartUpload upload = blobContainer.startMultipartUpload(blobName, blobSize, partSize);
+        final InputStream input = new ByteArrayInputStream(new byte[0]);
+        upload.uploadPart(3, 3 * partSize, input, 10);
+        upload.uploadPart(1, partSize, input, partSize);
+        upload.uploadPart(0, 0, input, partSize);
+        assertThatThrownBy(upload::complete)
+            .isExactlyInstanceOf(IOException.class)
+            .hasMessage("Part [2] of object [" + blobName + "] was not uploaded");
+        upload.uploadPart(2, 2 * partSize, input, partSize);
+        upload.complete();
+
+        final List<UploadPartRequest> uploadRequests = uploadArgCaptor.getAllValues();
+        assertThat(uploadRequests).extracting(UploadPartRequest::isLastPart).containsExactly(true, false, false, false);
+        final List<String> actualETags = compArgCaptor.getValue().getPartETags().stream()
+            .map(PartETag::getETag)
+            .collect(Collectors.toList());
+        assertThat(actualETags).containsExactly("etag-1", "etag-2", "etag-3", "etag-4");
+    }
+
     @Test
     public void testExecuteMultipartUploadAborted() {
         final String bucketName = randomAlphaOfLengthBetween(1, 10);
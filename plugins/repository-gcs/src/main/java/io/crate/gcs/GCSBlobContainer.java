@@ -24,6 +24,7 @@ package io.crate.gcs;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -32,6 +33,7 @@ import org.elasticsearch.common.blobstore.BlobContainer;
 import org.elasticsearch.common.blobstore.BlobMetadata;
 import org.elasticsearch.common.blobstore.BlobPath;
 import org.elasticsearch.common.blobstore.BlobStoreException;
+import org.elasticsearch.common.blobstore.MultipartUpload;
 import org.elasticsearch.common.blobstore.support.AbstractBlobContainer;
 
 /**
@@ -86,6 +88,46 @@ public class GCSBlobContainer extends AbstractBlobContainer {
         blobStore.writeBlob(buildKey(blobName), inputStream, blobSize, failIfAlreadyExists);
     }
 
+    /**
+     * Parts are uploaded as separate blobs which are composed into the final blob once all parts are uploaded.
+     */
+    @Override
+    public boolean supportsMultipartUpload(long blobSize, long partSize) {
+        return partSize > 0 && (blobSize + partSize - 1) / partSize <= GCSBlobStore.MAX_COMPOSE_SOURCES;
+    }
+
+    @Override
+    public MultipartUpload startMultipartUpload(String blobName, long blobSize, long partSize) throws IOException {
+        final int numParts = Math.toIntExact(Math.max(1, (blobSize + partSize - 1) / partSize));
+        final List<String> partKeys = new ArrayList<>(numParts);
+        for (int i = 0; i < numParts; i++) {
+            partKeys.add(buildKey(blobName) + ".compose-" + i);
+        }
+        return new MultipartUpload() {
+
+            @Override
+            public void uploadPart(int partNumber, long position, InputStream input, long length) throws IOException {
+                blobStore.writeBlob(partKeys.get(partNumber), input, length, false);
+            }
+
+            @Override
+            public void complete() throws IOException {
+                blobStore.composeBlob(buildKey(blobName), partKeys);
+                blobStore.deleteBlobsIgnoringIfNotExists(partKeys);
+            }
+
+            @Override
+            public void abort() throws IOException {
+                blobStore.deleteBlobsIgnoringIfNotExists(partKeys);
+            }
+        };
+    }
+
+    @Override
+    public boolean supportsRangedReads() {
+        return true;
+    }
+
     @Override
     public void delete() throws IOException {
         blobStore.deleteDirectory(path().buildAsString());
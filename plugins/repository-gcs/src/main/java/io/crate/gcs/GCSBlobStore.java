@@ -77,6 +77,10 @@ public class GCSBlobStore implements BlobStore {
     // https://cloud.google.com/storage/docs/json_api/v1/how-tos/resumable-upload
     public static final int LARGE_BLOB_THRESHOLD_BYTE_SIZE = Math.toIntExact(new ByteSizeValue(5, ByteSizeUnit.MB).getBytes());
 
+    // The maximum number of source blobs of a single compose request
+    // https://cloud.google.com/storage/docs/composite-objects
+    public static final int MAX_COMPOSE_SOURCES = 32;
+
     private final String bucketName;
     private final GCSService storageService;
     private final RepositoryMetadata metadata;
@@ -296,6 +300,26 @@ public class GCSBlobStore implements BlobStore {
         }
     }
 
+    /**
+     * Concatenates the given source blobs into a new blob, see
+     * https://cloud.google.com/storage/docs/composing-objects
+     *
+     * @param blobName        name of the blob to create
+     * @param sourceBlobNames names of the blobs to concatenate, at most {@link #MAX_COMPOSE_SOURCES}
+     */
+    void composeBlob(String blobName, List<String> sourceBlobNames) throws IOException {
+        assert sourceBlobNames.size() <= MAX_COMPOSE_SOURCES : "compose supports at most " + MAX_COMPOSE_SOURCES + " sources";
+        final Storage.ComposeRequest composeRequest = Storage.ComposeRequest.newBuilder()
+            .addSource(sourceBlobNames)
+            .setTarget(BlobInfo.newBuilder(bucketName, blobName).build())
+            .build();
+        try {
+            client().compose(composeRequest);
+        } catch (StorageException se) {
+            throw new IOException("Unable to compose blob [" + blobName + "]", se);
+        }
+    }
+
     void deleteDirectory(String pathStr) throws IOException {
         Page<Blob> page = client().list(bucketName, BlobListOption.prefix(pathStr));
         do {
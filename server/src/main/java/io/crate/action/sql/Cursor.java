@@ -21,14 +21,12 @@
 
 package io.crate.action.sql;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.CompletableFuture;
 
 import org.elasticsearch.common.breaker.CircuitBreaker;
 
-import io.crate.breaker.TypedCellsAccounting;
 import org.jetbrains.annotations.VisibleForTesting;
 import io.crate.common.collections.Lists;
 import io.crate.data.ArrayRow;
@@ -40,8 +38,6 @@ import io.crate.data.LimitingBatchIterator;
 import io.crate.data.Row;
 import io.crate.data.RowConsumer;
 import io.crate.data.SentinelRow;
-import io.crate.data.breaker.BlockBasedRamAccounting;
-import io.crate.data.breaker.RowAccounting;
 import io.crate.expression.symbol.Symbol;
 import io.crate.expression.symbol.Symbols;
 import io.crate.sql.tree.Declare.Hold;
@@ -49,14 +45,18 @@ import io.crate.sql.tree.Fetch.ScrollMode;
 
 public final class Cursor implements AutoCloseable {
 
+    /**
+     * Rows buffered for a SCROLL cursor are written to disk in pages of roughly this size
+     */
+    static final long SCROLL_PAGE_SIZE_IN_BYTES = 4 * 1024 * 1024;
+
     private final Hold hold;
     private final CompletableFuture<BatchIterator<Row>> queryIterator;
     private final CompletableFuture<Void> finalResult;
     private final List<Symbol> outputs;
     private final boolean scroll;
-    private final List<Object[]> rows = new ArrayList<>();
+    private final SpillingRowBuffer rows;
     private final ArrayRow sharedRow = new ArrayRow();
-    private final RowAccounting<Object[]> rowAccounting;
     private final long creationTime;
     private final String name;
     private final String declareStatement;
@@ -79,14 +79,7 @@ public final class Cursor implements AutoCloseable {
         this.queryIterator = queryIterator;
         this.finalResult = finalResult;
         this.outputs = outputs;
-        this.rowAccounting = new TypedCellsAccounting(
-            Symbols.typeView(outputs),
-            new BlockBasedRamAccounting(
-                bytes -> circuitBreaker.addEstimateBytesAndMaybeBreak(bytes, "cursor-scroll"),
-                BlockBasedRamAccounting.MAX_BLOCK_SIZE_IN_BYTES
-            ),
-            0
-        );
+        this.rows = new SpillingRowBuffer(Symbols.typeView(outputs), circuitBreaker, SCROLL_PAGE_SIZE_IN_BYTES);
         this.creationTime = System.currentTimeMillis();
     }
 
@@ -162,9 +155,7 @@ public final class Cursor implements AutoCloseable {
             boolean moveNext = delegate.moveNext();
             if (moveNext) {
                 if (scroll) {
-                    Object[] row = currentElement().materialize();
-                    rowAccounting.accountForAndMaybeBreak(row);
-                    rows.add(row);
+                    rows.add(currentElement().materialize());
                 }
                 return true;
             } else {
@@ -315,7 +306,7 @@ public final class Cursor implements AutoCloseable {
 
     @Override
     public void close() {
-        rowAccounting.release();
+        rows.close();
         if (queryIterator.isDone() && !queryIterator.isCompletedExceptionally()) {
             queryIterator.join().close();
             finalResult.complete(null);
@@ -0,0 +1,315 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+
+package io.crate.action.sql;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+
+/**
+ * Admission control for statements executed via a {@link Session}.
+ *
+ * <p>
+ * Each session belongs to a resource group (session setting {@code resource_group}).
+ * A group limits how many statements may run concurrently on this node
+ * ({@code resource_groups.<name>.max_concurrency}). Statements exceeding the limit
+ * are queued in FIFO order until a running statement completes. If the queue is full
+ * ({@code resource_groups.<name>.max_queued}) the statement is rejected.
+ * </p>
+ *
+ * <p>
+ * Groups without a configured limit admit all statements immediately.
+ * Statements of a group which doesn't exist (anymore) are admitted via the {@link #DEFAULT_GROUP}.
+ * </p>
+ */
+public final class ResourceGroups {
+
+    public static final String DEFAULT_GROUP = "default";
+
+    private static final int DEFAULT_MAX_QUEUED = 100;
+
+    public static final Setting.AffixSetting<Integer> MAX_CONCURRENCY = Setting.affixKeySetting(
+        "resource_groups.",
+        "max_concurrency",
+        key -> Setting.intSetting(key, 0, 0, Property.Dynamic, Property.NodeScope)
+    );
+
+    public static final Setting.AffixSetting<Integer> MAX_QUEUED = Setting.affixKeySetting(
+        "resource_groups.",
+        "max_queued",
+        key -> Setting.intSetting(key, DEFAULT_MAX_QUEUED, 0, Property.Dynamic, Property.NodeScope)
+    );
+
+    /**
+     * A statement execution subject to admission control.
+     */
+    @FunctionalInterface
+    public interface Execution {
+
+        /**
+         * Starts the execution.
+         *
+         * @return future that completes once the statement finished.
+         */
+        CompletableFuture<?> start();
+    }
+
+    private final ConcurrentMap<String, ResourceGroup> groups = new ConcurrentHashMap<>();
+
+    public ResourceGroups(Settings settings) {
+        group(DEFAULT_GROUP);
+        MAX_CONCURRENCY.getAsMap(settings).forEach((name, value) -> group(name).maxConcurrency(value));
+        MAX_QUEUED.getAsMap(settings).forEach((name, value) -> group(name).maxQueued(value));
+    }
+
+    public ResourceGroups(Settings settings, ClusterSettings clusterSettings) {
+        this(settings);
+        addSettingsUpdateConsumers(clusterSettings);
+    }
+
+    public void addSettingsUpdateConsumers(ClusterSettings clusterSettings) {
+        clusterSettings.addAffixUpdateConsumer(
+            MAX_CONCURRENCY, (name, value) -> group(name).maxConcurrency(value), (name, value) -> {});
+        clusterSettings.addAffixUpdateConsumer(
+            MAX_QUEUED, (name, value) -> group(name).maxQueued(value), (name, value) -> {});
+    }
+
+    private ResourceGroup group(String name) {
+        return groups.computeIfAbsent(name, ResourceGroup::new);
+    }
+
+    public Collection<ResourceGroup> groups() {
+        return groups.values();
+    }
+
+    public boolean exists(String groupName) {
+        return groups.containsKey(groupName);
+    }
+
+    /**
+     * Runs {@code execution} once the group has capacity for it.
+     *
+     * <p>
+     * Queued executions are started using {@code executor} once a slot becomes available,
+     * to not run them on the thread completing the previous execution.
+     * Completing the returned future before a queued execution started (e.g. by cancelling it)
+     * removes the execution from the queue.
+     * </p>
+     *
+     * @return a future that completes with the result of the future returned by {@link Execution#start()}.
+     * @throws EsRejectedExecutionException if the group is at its concurrency limit and its queue is full.
+     */
+    public CompletableFuture<?> admit(String groupName, Executor executor, Execution execution) {
+        ResourceGroup group = groups.get(groupName);
+        if (group == null) {
+            group = groups.get(DEFAULT_GROUP);
+        }
+        return group.admit(executor, execution);
+    }
+
+    public static final class ResourceGroup {
+
+        private final String name;
+        private final ArrayDeque<Queued> queue = new ArrayDeque<>();
+
+        private int maxConcurrency = 0;
+        private int maxQueued = DEFAULT_MAX_QUEUED;
+        private int running = 0;
+        private long admitted = 0;
+        private long rejected = 0;
+        private long totalWaitNanos = 0;
+
+        private record Queued(Execution execution,
+                              Executor executor,
+                              long queuedAtNanos,
+                              CompletableFuture<Object> result) {
+        }
+
+        ResourceGroup(String name) {
+            this.name = name;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public synchronized int maxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public synchronized int maxQueued() {
+            return maxQueued;
+        }
+
+        public synchronized int running() {
+            return running;
+        }
+
+        public synchronized int queued() {
+            return queue.size();
+        }
+
+        public synchronized long admitted() {
+            return admitted;
+        }
+
+        public synchronized long rejected() {
+            return rejected;
+        }
+
+        /**
+         * Accumulated time statements spent in the queue before they got admitted, in milliseconds.
+         */
+        public synchronized long totalWaitTime() {
+            return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos);
+        }
+
+        void maxQueued(int maxQueued) {
+            synchronized (this) {
+                this.maxQueued = maxQueued;
+            }
+        }
+
+        void maxConcurrency(int maxConcurrency) {
+            synchronized (this) {
+                this.maxConcurrency = maxConcurrency;
+            }
+            // A raised (or removed) limit may allow queued statements to run now
+            boolean started;
+            do {
+                started = startNextIfCapacity();
+            } while (started);
+        }
+
+        CompletableFuture<?> admit(Executor executor, Execution execution) {
+            Queued queued;
+            synchronized (this) {
+                if (hasCapacity()) {
+                    running++;
+                    admitted++;
+                    queued = null;
+                } else if (queue.size() >= maxQueued) {
+                    rejected++;
+                    throw new EsRejectedExecutionException(String.format(
+                        Locale.ENGLISH,
+                        "Resource group `%s` reached its limit of %d running and %d queued statements",
+                        name,
+                        maxConcurrency,
+                        maxQueued
+                    ), false);
+                } else {
+                    queued = new Queued(execution, executor, System.nanoTime(), new CompletableFuture<>());
+                    queue.add(queued);
+                }
+            }
+            if (queued == null) {
+                // Copy to prevent a caller from releasing the slot by completing the future
+                return run(execution).copy();
+            }
+            queued.result.whenComplete((ignored, err) -> {
+                if (err != null) {
+                    remove(queued);
+                }
+            });
+            return queued.result;
+        }
+
+        private synchronized void remove(Queued queued) {
+            queue.remove(queued);
+        }
+
+        private boolean hasCapacity() {
+            assert Thread.holdsLock(this) : "Must hold lock to check capacity";
+            return maxConcurrency == 0 || running < maxConcurrency;
+        }
+
+        private CompletableFuture<?> run(Execution execution) {
+            CompletableFuture<?> result;
+            try {
+                result = execution.start();
+            } catch (Throwable t) {
+                release();
+                throw t;
+            }
+            result.whenComplete((ignored, err) -> release());
+            return result;
+        }
+
+        private void release() {
+            synchronized (this) {
+                running--;
+            }
+            startNextIfCapacity();
+        }
+
+        private boolean startNextIfCapacity() {
+            Queued next;
+            synchronized (this) {
+                if (queue.isEmpty() || !hasCapacity()) {
+                    return false;
+                }
+                next = queue.poll();
+                running++;
+                admitted++;
+                totalWaitNanos += System.nanoTime() - next.queuedAtNanos;
+            }
+            try {
+                next.executor.execute(() -> start(next));
+            } catch (Throwable t) {
+                release();
+                next.result.completeExceptionally(t);
+            }
+            return true;
+        }
+
+        private void start(Queued queued) {
+            if (queued.result.isDone()) {
+                // Cancelled or timed out after it left the queue
+                release();
+                return;
+            }
+            try {
+                run(queued.execution).whenComplete((res, err) -> {
+                    if (err == null) {
+                        queued.result.complete(res);
+                    } else {
+                        queued.result.completeExceptionally(err);
+                    }
+                });
+            } catch (Throwable t) {
+                queued.result.completeExceptionally(t);
+            }
+        }
+    }
+}
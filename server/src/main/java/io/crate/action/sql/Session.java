@@ -27,8 +27,10 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
@@ -38,6 +40,7 @@ import org.apache.logging.log4j.Logger;
 import org.elasticsearch.cluster.ClusterState;
 import org.elasticsearch.common.Randomness;
 import org.elasticsearch.common.UUIDs;
+import org.elasticsearch.threadpool.ThreadPool;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.VisibleForTesting;
 
@@ -60,6 +63,7 @@ import io.crate.data.Row;
 import io.crate.data.Row1;
 import io.crate.data.RowConsumer;
 import io.crate.data.RowN;
+import io.crate.exceptions.JobKilledException;
 import io.crate.exceptions.ReadOnlyException;
 import io.crate.exceptions.SQLExceptions;
 import io.crate.execution.engine.collect.stats.JobsLogs;
@@ -153,8 +157,16 @@ public class Session implements AutoCloseable {
     private final Planner planner;
     private final JobsLogs jobsLogs;
     private final boolean isReadOnly;
+    private final ResourceGroups resourceGroups;
+    private final Set<CompletableFuture<?>> queuedExecutions = ConcurrentHashMap.newKeySet();
     private final Runnable onClose;
 
+    /**
+     * Time the statement that is about to start waited for its admission.
+     * It counts against the statement_timeout.
+     */
+    private long admissionWaitNanos = 0;
+
     private TransactionState currentTransactionState = TransactionState.IDLE;
 
 
@@ -165,6 +177,7 @@ public class Session implements AutoCloseable {
                    boolean isReadOnly,
                    DependencyCarrier executor,
                    CoordinatorSessionSettings sessionSettings,
+                   ResourceGroups resourceGroups,
                    Runnable onClose) {
         this.id = sessionId;
         this.secret = ThreadLocalRandom.current().nextInt();
@@ -174,6 +187,7 @@ public class Session implements AutoCloseable {
         this.isReadOnly = isReadOnly;
         this.executor = executor;
         this.sessionSettings = sessionSettings;
+        this.resourceGroups = resourceGroups;
         this.onClose = onClose;
     }
 
@@ -198,7 +212,11 @@ public class Session implements AutoCloseable {
             ParamTypeHints.EMPTY,
             cursors
         );
-        RoutingProvider routingProvider = new RoutingProvider(Randomness.get().nextInt(), planner.getAwarenessAttributes());
+        RoutingProvider routingProvider = new RoutingProvider(
+            Randomness.get().nextInt(),
+            planner.getAwarenessAttributes(),
+            planner.nodeResponseStats()
+        );
         mostRecentJobID = UUIDs.dirtyUUID();
         final UUID jobId = mostRecentJobID;
         ClusterState clusterState = planner.currentClusterState();
@@ -441,9 +459,7 @@ public class Session implements AutoCloseable {
         Portal portal = getSafePortal(portalName);
         var activeConsumer = portal.activeConsumer();
         if (activeConsumer != null && activeConsumer.suspended()) {
-            activeConsumer.replaceResultReceiver(resultReceiver, maxRows);
-            activeConsumer.resume();
-            return resultReceiver.completionFuture();
+            return admitResume(portalName, activeConsumer, resultReceiver, maxRows);
         }
 
         var analyzedStmt = portal.analyzedStatement();
@@ -519,10 +535,10 @@ public class Session implements AutoCloseable {
                     "Only write operations are allowed in Batch statements");
             }
             if (activeExecution == null) {
-                activeExecution = singleExec(portal, resultReceiver, maxRows);
+                activeExecution = admitSingleExec(portal, resultReceiver, maxRows);
             } else {
                 activeExecution = activeExecution
-                    .thenCompose(ignored -> singleExec(portal, resultReceiver, maxRows));
+                    .thenCompose(ignored -> admitSingleExec(portal, resultReceiver, maxRows));
             }
             return activeExecution;
         }
@@ -556,10 +572,11 @@ public class Session implements AutoCloseable {
     private void addStatementTimeout(CompletableFuture<?> result) {
         TimeValue timeout = sessionSettings.statementTimeout();
         final UUID jobId = mostRecentJobID;
-        long timeoutMillis = timeout.millis();
-        if (jobId == null || timeoutMillis <= 0) {
+        if (jobId == null || timeout.millis() <= 0) {
             return;
         }
+        long timeoutMillis = timeout.millis();
+        long remainingMillis = Math.max(0L, timeoutMillis - TimeUnit.NANOSECONDS.toMillis(admissionWaitNanos));
         Runnable kill = () -> {
             if (result.isDone()) {
                 return;
@@ -573,7 +590,7 @@ public class Session implements AutoCloseable {
             executor.client().execute(KillJobsNodeAction.INSTANCE, request);
         };
         ScheduledExecutorService scheduler = executor.scheduler();
-        scheduler.schedule(kill, timeoutMillis, TimeUnit.MILLISECONDS);
+        scheduler.schedule(kill, remainingMillis, TimeUnit.MILLISECONDS);
     }
 
     private CompletableFuture<?> triggerDeferredExecutions() {
@@ -609,9 +626,116 @@ public class Session implements AutoCloseable {
     private CompletableFuture<?> exec(List<DeferredExecution> executions) {
         if (executions.size() == 1) {
             var toExec = executions.get(0);
-            return singleExec(toExec.portal(), toExec.resultReceiver(), toExec.maxRows());
+            return admitSingleExec(toExec.portal(), toExec.resultReceiver(), toExec.maxRows());
         } else {
-            return bulkExec(executions);
+            return admit(
+                new AdmittedExecution(Lists.map(executions, DeferredExecution::resultReceiver)) {
+
+                    @Override
+                    CompletableFuture<?> execute() {
+                        return bulkExec(executions);
+                    }
+                }
+            );
+        }
+    }
+
+    private CompletableFuture<?> admitSingleExec(Portal portal, ResultReceiver<?> resultReceiver, int maxRows) {
+        return admit(new AdmittedExecution(List.of(resultReceiver)) {
+
+            @Override
+            CompletableFuture<?> execute() {
+                return singleExec(portal, resultReceiver, maxRows);
+            }
+        });
+    }
+
+    /**
+     * A suspended portal gives up its slot once a batch is sent, the next batch needs to be admitted again.
+     * Otherwise a session with as many open portals as the concurrency limit of its group could never run
+     * another statement.
+     */
+    private CompletableFuture<?> admitResume(String portalName,
+                                             RowConsumerToResultReceiver consumer,
+                                             ResultReceiver<?> resultReceiver,
+                                             int maxRows) {
+        return admit(new AdmittedExecution(List.of(resultReceiver)) {
+
+            @Override
+            CompletableFuture<?> execute() {
+                if (!consumer.suspended()) {
+                    throw new IllegalStateException("Portal `" + portalName + "` was closed while waiting for admission");
+                }
+                consumer.replaceResultReceiver(resultReceiver, maxRows);
+                consumer.resume();
+                return resultReceiver.completionFuture();
+            }
+        });
+    }
+
+    /**
+     * Runs the execution once the {@link ResourceGroups resource group} of the session admits it.
+     * Statements run via {@link #quickExec(String, ResultReceiver, Row)} are not subject to admission control.
+     *
+     * <p>
+     * The time a statement waits in the queue counts against the statement_timeout.
+     * Queued statements are removed from the queue if the session is closed or the statement is cancelled.
+     * </p>
+     */
+    private CompletableFuture<?> admit(AdmittedExecution execution) {
+        CompletableFuture<?> result = resourceGroups.admit(
+            sessionSettings.resourceGroup(),
+            task -> executor.threadPool().executor(ThreadPool.Names.SEARCH).execute(task),
+            execution
+        );
+        if (execution.started || result.isDone()) {
+            return result;
+        }
+        queuedExecutions.add(result);
+        result.whenComplete((_, err) -> {
+            queuedExecutions.remove(result);
+            if (err != null && !execution.started) {
+                for (ResultReceiver<?> resultReceiver : execution.resultReceivers) {
+                    resultReceiver.fail(err);
+                }
+            }
+        });
+        long timeoutMillis = sessionSettings.statementTimeout().millis();
+        if (timeoutMillis > 0) {
+            Runnable timeout = () -> {
+                if (!execution.started) {
+                    result.completeExceptionally(JobKilledException.of(
+                        "statement_timeout (" + TimeValue.timeValueMillis(timeoutMillis).toString() + ")"));
+                }
+            };
+            executor.scheduler().schedule(timeout, timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        return result;
+    }
+
+    private void cancelQueuedExecutions(String reason) {
+        for (CompletableFuture<?> queued : queuedExecutions) {
+            queued.completeExceptionally(JobKilledException.of(reason));
+        }
+    }
+
+    private abstract class AdmittedExecution implements ResourceGroups.Execution {
+
+        private final List<ResultReceiver<?>> resultReceivers;
+        private final long queuedAtNanos = System.nanoTime();
+        private volatile boolean started = false;
+
+        AdmittedExecution(List<ResultReceiver<?>> resultReceivers) {
+            this.resultReceivers = resultReceivers;
+        }
+
+        abstract CompletableFuture<?> execute();
+
+        @Override
+        public final CompletableFuture<?> start() {
+            started = true;
+            admissionWaitNanos = System.nanoTime() - queuedAtNanos;
+            return execute();
         }
     }
 
@@ -619,7 +743,11 @@ public class Session implements AutoCloseable {
         assert !toExec.isEmpty() : "Must have at least 1 deferred execution for bulk exec";
         mostRecentJobID = UUIDs.dirtyUUID();
         final UUID jobId = mostRecentJobID;
-        var routingProvider = new RoutingProvider(Randomness.get().nextInt(), planner.getAwarenessAttributes());
+        var routingProvider = new RoutingProvider(
+            Randomness.get().nextInt(),
+            planner.getAwarenessAttributes(),
+            planner.nodeResponseStats()
+        );
         var txnCtx = new CoordinatorTxnCtx(sessionSettings);
         var plannerContext = planner.createContext(
             routingProvider,
@@ -702,7 +830,11 @@ public class Session implements AutoCloseable {
 
         mostRecentJobID = UUIDs.dirtyUUID();
         final UUID jobId = mostRecentJobID;
-        var routingProvider = new RoutingProvider(Randomness.get().nextInt(), planner.getAwarenessAttributes());
+        var routingProvider = new RoutingProvider(
+            Randomness.get().nextInt(),
+            planner.getAwarenessAttributes(),
+            planner.nodeResponseStats()
+        );
         var clusterState = executor.clusterService().state();
         var txnCtx = new CoordinatorTxnCtx(sessionSettings);
         var params = new RowN(portal.params().toArray());
@@ -846,6 +978,7 @@ public class Session implements AutoCloseable {
     public void close() {
         currentTransactionState = TransactionState.IDLE;
         resetDeferredExecutions();
+        cancelQueuedExecutions("Session closed");
         activeExecution = null;
         for (Portal portal : portals.values()) {
             portal.closeActiveConsumer();
@@ -880,6 +1013,7 @@ public class Session implements AutoCloseable {
     }
 
     public void cancelCurrentJob() {
+        cancelQueuedExecutions("Cancellation request by: " + sessionSettings.userName());
         if (mostRecentJobID == null) {
             return;
         }
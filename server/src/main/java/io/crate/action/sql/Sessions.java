@@ -86,6 +86,7 @@ public class Sessions {
     private final JobsLogs jobsLogs;
     private final ClusterService clusterService;
     private final SessionSettingRegistry sessionSettingRegistry;
+    private final ResourceGroups resourceGroups;
     private final boolean isReadOnly;
     private final AtomicInteger nextSessionId = new AtomicInteger();
     private final ConcurrentMap<Integer, Session> sessions = new ConcurrentHashMap<>();
@@ -102,7 +103,8 @@ public class Sessions {
                     JobsLogs jobsLogs,
                     Settings settings,
                     ClusterService clusterService,
-                    SessionSettingRegistry sessionSettingRegistry) {
+                    SessionSettingRegistry sessionSettingRegistry,
+                    ResourceGroups resourceGroups) {
         this.nodeCtx = nodeCtx;
         this.analyzer = analyzer;
         this.planner = planner;
@@ -119,6 +121,8 @@ public class Sessions {
         clusterSettings.addSettingsUpdateConsumer(MEMORY_LIMIT, newLimit -> {
             this.memoryLimit = newLimit;
         });
+        resourceGroups.addSettingsUpdateConsumers(clusterSettings);
+        this.resourceGroups = resourceGroups;
         this.sessionSettingRegistry = sessionSettingRegistry;
     }
 
@@ -135,6 +139,7 @@ public class Sessions {
             isReadOnly,
             executorProvider.get(),
             sessionSettings,
+            resourceGroups,
             () -> sessions.remove(sessionId)
         );
         sessions.put(sessionId, session);
@@ -219,6 +224,10 @@ public class Sessions {
         }
     }
 
+    public ResourceGroups resourceGroups() {
+        return resourceGroups;
+    }
+
     public Iterable<Session> getActive() {
         return sessions.values();
     }
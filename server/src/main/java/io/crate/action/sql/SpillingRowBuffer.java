@@ -0,0 +1,224 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.action.sql;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.Channels;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.jetbrains.annotations.Nullable;
+
+import io.crate.Streamer;
+import io.crate.breaker.TypedCellsAccounting;
+import io.crate.data.Row;
+import io.crate.data.RowN;
+import io.crate.data.breaker.BlockBasedRamAccounting;
+import io.crate.data.breaker.RamAccounting;
+import io.crate.data.breaker.RowAccounting;
+import io.crate.execution.engine.distribution.StreamBucket;
+import io.crate.types.DataType;
+import io.crate.types.DataTypes;
+
+/**
+ * Append-only list of rows which keeps at most two pages of rows in memory.
+ *
+ * <p>
+ * Rows are added to an in-memory page. Once the estimated size of the page exceeds {@code pageSizeInBytes}
+ * it is written to a temporary file in the {@link Streamer} format of the {@link StreamBucket}.
+ * Reading a row of a spilled page loads the whole page back into memory, replacing the previously loaded one.
+ * </p>
+ *
+ * <p>
+ * The file I/O is blocking and happens on the thread calling {@link #add(Object[])} or {@link #get(int)}, which is
+ * the thread consuming the cursor. This is accepted because the I/O is bounded to one page per call, the
+ * writes are not synced and usually only reach the page cache, and reads only happen when a SCROLL cursor moves
+ * backwards beyond the rows kept in memory.
+ * </p>
+ */
+final class SpillingRowBuffer extends AbstractList<Object[]> implements RandomAccess, AutoCloseable {
+
+    private final Streamer<?>[] streamers;
+    private final long pageSizeInBytes;
+    private final RowAccounting<Object[]> tailAccounting;
+    private final RowAccounting<Object[]> loadedPageAccounting;
+    private final RamAccounting spillAccounting;
+    private final List<Page> pages = new ArrayList<>();
+    private final List<Object[]> tail = new ArrayList<>();
+
+    private long tailBytes = 0;
+    private int size = 0;
+
+    @Nullable
+    private Path file;
+    @Nullable
+    private FileChannel channel;
+    private long fileSize = 0;
+
+    @Nullable
+    private Page loadedPage;
+    private List<Object[]> loadedRows = List.of();
+
+    private record Page(int firstRow, int numRows, long offset, int length) {
+    }
+
+    SpillingRowBuffer(List<? extends DataType<?>> types, CircuitBreaker circuitBreaker, long pageSizeInBytes) {
+        this.streamers = DataTypes.getStreamers(types);
+        this.pageSizeInBytes = pageSizeInBytes;
+        this.tailAccounting = new TypedCellsAccounting(types, ramAccounting(circuitBreaker), 0);
+        this.loadedPageAccounting = new TypedCellsAccounting(types, ramAccounting(circuitBreaker), 0);
+        this.spillAccounting = ramAccounting(circuitBreaker);
+    }
+
+    private static RamAccounting ramAccounting(CircuitBreaker circuitBreaker) {
+        return new BlockBasedRamAccounting(
+            bytes -> circuitBreaker.addEstimateBytesAndMaybeBreak(bytes, "cursor-scroll"),
+            BlockBasedRamAccounting.MAX_BLOCK_SIZE_IN_BYTES
+        );
+    }
+
+    @Override
+    public boolean add(Object[] row) {
+        if (row.length != streamers.length) {
+            throw new IllegalArgumentException(
+                "Row must have " + streamers.length + " cells to be buffered, got: " + row.length);
+        }
+        tailBytes += tailAccounting.accountForAndMaybeBreak(row);
+        tail.add(row);
+        size++;
+        if (tailBytes >= pageSizeInBytes) {
+            spill();
+        }
+        return true;
+    }
+
+    @Override
+    public Object[] get(int index) {
+        int firstTailRow = size - tail.size();
+        if (index >= firstTailRow) {
+            return tail.get(index - firstTailRow);
+        }
+        Page page = pages.get(pageIndex(index));
+        if (page != loadedPage) {
+            load(page);
+        }
+        return loadedRows.get(index - page.firstRow);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private int pageIndex(int rowIndex) {
+        int low = 0;
+        int high = pages.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (pages.get(mid).firstRow <= rowIndex) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private void spill() {
+        StreamBucket.Builder builder = new StreamBucket.Builder(streamers, spillAccounting);
+        RowN row = new RowN(streamers.length);
+        for (Object[] cells : tail) {
+            row.cells(cells);
+            builder.add(row);
+        }
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            builder.build().writeTo(out);
+            BytesReference bytes = out.bytes();
+            if (channel == null) {
+                file = Files.createTempFile("cursor", ".bin");
+                channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            Channels.writeToChannel(BytesReference.toBytes(bytes), channel, fileSize);
+            pages.add(new Page(size - tail.size(), tail.size(), fileSize, bytes.length()));
+            fileSize += bytes.length();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            spillAccounting.release();
+        }
+        tail.clear();
+        tailAccounting.release();
+        tailBytes = 0;
+    }
+
+    private void load(Page page) {
+        assert channel != null : "Spilled pages require a file";
+        loadedPageAccounting.release();
+        loadedPage = null;
+        try {
+            byte[] bytes = Channels.readFromFileChannel(channel, page.offset, page.length);
+            StreamInput in = new BytesArray(bytes).streamInput();
+            StreamBucket bucket = new StreamBucket(in, streamers);
+            List<Object[]> rows = new ArrayList<>(page.numRows);
+            for (Row row : bucket) {
+                Object[] cells = row.materialize();
+                loadedPageAccounting.accountForAndMaybeBreak(cells);
+                rows.add(cells);
+            }
+            loadedRows = rows;
+            loadedPage = page;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        tail.clear();
+        loadedRows = List.of();
+        loadedPage = null;
+        tailAccounting.release();
+        loadedPageAccounting.release();
+        if (channel != null) {
+            try {
+                channel.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                channel = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.analyze;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.Nullable;
+
+import io.crate.analyze.relations.AnalyzedRelation;
+import io.crate.expression.symbol.Symbol;
+import io.crate.metadata.ColumnIdent;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.view.MaterializedViewMetadata;
+import io.crate.types.DataType;
+
+/**
+ * @param sources tables read by the query of the view
+ * @param trackChanges false if the query reads relations or uses functions whose changes can't be tracked.
+ *                     The view is then recomputed on every refresh.
+ * @param partitionedSource the only source of the view if it is partitioned and every partition column is an output
+ *                          of the view, so that only the rows of changed partitions need to be recomputed.
+ * @param partitionColumns the view columns holding the partition values of {@code partitionedSource},
+ *                         in the order of its {@code PARTITIONED BY} clause.
+ */
+public record AnalyzedRefreshMaterializedView(RelationName name,
+                                              MaterializedViewMetadata view,
+                                              AnalyzedRelation query,
+                                              List<RelationName> sources,
+                                              boolean trackChanges,
+                                              @Nullable RelationName partitionedSource,
+                                              List<PartitionColumn> partitionColumns) implements AnalyzedStatement {
+
+    public record PartitionColumn(ColumnIdent viewColumn, DataType<?> type) {
+    }
+
+    @Override
+    public <C, R> R accept(AnalyzedStatementVisitor<C, R> visitor, C context) {
+        return visitor.visitRefreshMaterializedView(this, context);
+    }
+
+    @Override
+    public boolean isWriteOperation() {
+        return true;
+    }
+
+    @Override
+    public void visitSymbols(Consumer<? super Symbol> consumer) {
+    }
+}
@@ -140,6 +140,14 @@ public class AnalyzedStatementVisitor<C, R> {
         return visitAnalyzedStatement(createTableAs, context);
     }
 
+    public R visitCreateMaterializedView(AnalyzedCreateMaterializedView createMaterializedView, C context) {
+        return visitAnalyzedStatement(createMaterializedView, context);
+    }
+
+    public R visitRefreshMaterializedView(AnalyzedRefreshMaterializedView refreshMaterializedView, C context) {
+        return visitAnalyzedStatement(refreshMaterializedView, context);
+    }
+
     public R visitDropRepositoryAnalyzedStatement(AnalyzedDropRepository analysis, C context) {
         return visitDDLStatement(analysis, context);
     }
@@ -31,6 +31,7 @@ import io.crate.action.sql.Cursor;
 import io.crate.action.sql.Cursors;
 import io.crate.analyze.expressions.ExpressionAnalysisContext;
 import io.crate.analyze.expressions.ExpressionAnalyzer;
+import io.crate.analyze.relations.AnalyzedRelation;
 import io.crate.analyze.relations.FieldProvider;
 import io.crate.analyze.relations.RelationAnalyzer;
 import io.crate.common.collections.Lists;
@@ -71,6 +72,7 @@ import io.crate.sql.tree.CreateAnalyzer;
 import io.crate.sql.tree.CreateBlobTable;
 import io.crate.sql.tree.CreateForeignTable;
 import io.crate.sql.tree.CreateFunction;
+import io.crate.sql.tree.CreateMaterializedView;
 import io.crate.sql.tree.CreatePublication;
 import io.crate.sql.tree.CreateRepository;
 import io.crate.sql.tree.CreateRole;
@@ -92,6 +94,7 @@ import io.crate.sql.tree.DropBlobTable;
 import io.crate.sql.tree.DropCheckConstraint;
 import io.crate.sql.tree.DropForeignTable;
 import io.crate.sql.tree.DropFunction;
+import io.crate.sql.tree.DropMaterializedView;
 import io.crate.sql.tree.DropPublication;
 import io.crate.sql.tree.DropRepository;
 import io.crate.sql.tree.DropRole;
@@ -110,6 +113,7 @@ import io.crate.sql.tree.Insert;
 import io.crate.sql.tree.KillStatement;
 import io.crate.sql.tree.OptimizeStatement;
 import io.crate.sql.tree.Query;
+import io.crate.sql.tree.RefreshMaterializedView;
 import io.crate.sql.tree.RefreshStatement;
 import io.crate.sql.tree.ResetStatement;
 import io.crate.sql.tree.RestoreSnapshot;
@@ -164,6 +168,8 @@ public class Analyzer {
     private final AlterTableRerouteAnalyzer alterTableRerouteAnalyzer;
     private final RoleAnalyzer roleAnalyzer;
     private final ViewAnalyzer viewAnalyzer;
+    private final MaterializedViewAnalyzer materializedViewAnalyzer;
+    private final RollupRewriter rollupRewriter;
     private final SwapTableAnalyzer swapTableAnalyzer;
     private final DecommissionNodeAnalyzer decommissionNodeAnalyzer;
     private final KillAnalyzer killAnalyzer;
@@ -199,6 +205,14 @@ public class Analyzer {
         this.alterTableRenameColumnAnalyzer = new AlterTableRenameColumnAnalyzer(schemas, nodeCtx);
         this.swapTableAnalyzer = new SwapTableAnalyzer(nodeCtx, schemas);
         this.viewAnalyzer = new ViewAnalyzer(relationAnalyzer, schemas);
+        this.materializedViewAnalyzer = new MaterializedViewAnalyzer(
+            relationAnalyzer,
+            createTableStatementAnalyzer,
+            dropTableAnalyzer,
+            clusterService,
+            schemas
+        );
+        this.rollupRewriter = new RollupRewriter(nodeCtx, roles);
         this.explainStatementAnalyzer = new ExplainStatementAnalyzer(this);
         this.showStatementAnalyzer = new ShowStatementAnalyzer(this, schemas, sessionSettingRegistry);
         this.updateAnalyzer = new UpdateAnalyzer(nodeCtx, relationAnalyzer);
@@ -451,6 +465,24 @@ public class Analyzer {
             return viewAnalyzer.analyze(node, context.transactionContext());
         }
 
+        @Override
+        public AnalyzedStatement visitCreateMaterializedView(CreateMaterializedView node, Analysis context) {
+            return materializedViewAnalyzer.analyze(
+                node,
+                context.paramTypeHints(),
+                context.transactionContext());
+        }
+
+        @Override
+        public AnalyzedStatement visitRefreshMaterializedView(RefreshMaterializedView node, Analysis context) {
+            return materializedViewAnalyzer.analyze(node, context.sessionSettings());
+        }
+
+        @Override
+        public AnalyzedStatement visitDropMaterializedView(DropMaterializedView node, Analysis context) {
+            return materializedViewAnalyzer.analyze(node, context.sessionSettings());
+        }
+
         @Override
         public AnalyzedStatement visitDeallocateStatement(DeallocateStatement node, Analysis context) {
             return DeallocateAnalyzer.analyze(node);
@@ -562,10 +594,23 @@ public class Analyzer {
 
         @Override
         protected AnalyzedStatement visitQuery(Query node, Analysis context) {
-            return relationAnalyzer.analyze(
+            if (context.sessionSettings().materializedViewRewriteEnabled()) {
+                Query rewritten = materializedViewAnalyzer.rewrite(node, context.sessionSettings());
+                if (rewritten != null) {
+                    node = rewritten;
+                }
+            }
+            AnalyzedRelation relation = relationAnalyzer.analyze(
                 node,
                 context.transactionContext(),
                 context.paramTypeHints());
+            if (context.sessionSettings().rollupRewriteEnabled()) {
+                AnalyzedRelation rewritten = rollupRewriter.rewrite(relation, context.sessionSettings());
+                if (rewritten != null) {
+                    return rewritten;
+                }
+            }
+            return relation;
         }
 
         @Override
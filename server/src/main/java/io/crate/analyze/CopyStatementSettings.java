@@ -42,14 +42,14 @@ public final class CopyStatementSettings {
 
     public static final Setting<String> OUTPUT_FORMAT_SETTING = Setting.simpleString(
         "format",
-        Validators.stringValidator("format", "json_object", "json_array"),
+        Validators.stringValidator("format", "json_object", "json_array", "parquet"),
         Setting.Property.Dynamic);
 
     public static final Setting<String> INPUT_FORMAT_SETTING = new Setting<>(
         "format",
         "json",
         (s) -> s,
-        Validators.stringValidator("format", "json", "csv"),
+        Validators.stringValidator("format", "json", "csv", "parquet"),
         DataTypes.STRING,
         Setting.Property.Dynamic);
 
@@ -63,6 +63,13 @@ public final class CopyStatementSettings {
         true,
         Setting.Property.Dynamic);
 
+    public static final Setting<Integer> READERS_PER_NODE = Setting.intSetting(
+        "readers_per_node",
+        1,
+        1,
+        32,
+        Setting.Property.Dynamic);
+
     public static final Setting<Long> SKIP_NUM_LINES = Setting.longSetting("skip", 0, 0, Setting.Property.Dynamic);
 
     public static final Setting<Character> CSV_COLUMN_SEPARATOR = new Setting<>(
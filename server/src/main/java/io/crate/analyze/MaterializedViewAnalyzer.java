@@ -0,0 +1,377 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.analyze;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.elasticsearch.cluster.service.ClusterService;
+import org.jetbrains.annotations.Nullable;
+
+import io.crate.analyze.relations.AliasedAnalyzedRelation;
+import io.crate.analyze.relations.AnalyzedRelation;
+import io.crate.analyze.relations.AnalyzedRelationVisitor;
+import io.crate.analyze.relations.AnalyzedView;
+import io.crate.analyze.relations.DocTableRelation;
+import io.crate.analyze.relations.RelationAnalyzer;
+import io.crate.analyze.relations.TableFunctionRelation;
+import io.crate.analyze.relations.TableRelation;
+import io.crate.analyze.relations.UnionSelect;
+import io.crate.common.collections.Lists;
+import io.crate.expression.symbol.AliasSymbol;
+import io.crate.expression.symbol.SelectSymbol;
+import io.crate.expression.symbol.Symbol;
+import io.crate.expression.symbol.WindowFunction;
+import io.crate.fdw.ForeignTableRelation;
+import io.crate.metadata.ColumnIdent;
+import io.crate.metadata.CoordinatorTxnCtx;
+import io.crate.metadata.Reference;
+import io.crate.metadata.RelationInfo;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.Schemas;
+import io.crate.metadata.SearchPath;
+import io.crate.metadata.blob.BlobSchemaInfo;
+import io.crate.metadata.doc.DocTableInfo;
+import io.crate.metadata.settings.CoordinatorSessionSettings;
+import io.crate.metadata.table.Operation;
+import io.crate.metadata.view.MaterializedViewMetadata;
+import io.crate.metadata.view.MaterializedViewsMetadata;
+import io.crate.sql.SqlFormatter;
+import io.crate.sql.parser.SqlParser;
+import io.crate.sql.tree.CreateMaterializedView;
+import io.crate.sql.tree.CreateTable;
+import io.crate.sql.tree.DropMaterializedView;
+import io.crate.sql.tree.DropTable;
+import io.crate.sql.tree.Expression;
+import io.crate.sql.tree.GenericProperties;
+import io.crate.sql.tree.Query;
+import io.crate.sql.tree.QuerySpecification;
+import io.crate.sql.tree.RefreshMaterializedView;
+import io.crate.sql.tree.Table;
+import io.crate.sql.tree.TableElement;
+
+public final class MaterializedViewAnalyzer {
+
+    private final RelationAnalyzer relationAnalyzer;
+    private final CreateTableStatementAnalyzer createTableStatementAnalyzer;
+    private final DropTableAnalyzer dropTableAnalyzer;
+    private final ClusterService clusterService;
+    private final Schemas schemas;
+
+    MaterializedViewAnalyzer(RelationAnalyzer relationAnalyzer,
+                             CreateTableStatementAnalyzer createTableStatementAnalyzer,
+                             DropTableAnalyzer dropTableAnalyzer,
+                             ClusterService clusterService,
+                             Schemas schemas) {
+        this.relationAnalyzer = relationAnalyzer;
+        this.createTableStatementAnalyzer = createTableStatementAnalyzer;
+        this.dropTableAnalyzer = dropTableAnalyzer;
+        this.clusterService = clusterService;
+        this.schemas = schemas;
+    }
+
+    public AnalyzedCreateMaterializedView analyze(CreateMaterializedView createView,
+                                                  ParamTypeHints paramTypeHints,
+                                                  CoordinatorTxnCtx txnCtx) {
+        CoordinatorSessionSettings sessionSettings = txnCtx.sessionSettings();
+        RelationName name = RelationName.of(createView.name(), sessionSettings.searchPath().currentSchema());
+        name.ensureValidForRelationCreation();
+        if (BlobSchemaInfo.NAME.equals(name.schema())) {
+            throw new UnsupportedOperationException("Creating a materialized view in the \"blob\" schema is not supported");
+        }
+        String formattedQuery;
+        try {
+            formattedQuery = SqlFormatter.formatSql(createView.query());
+        } catch (Exception e) {
+            throw new UnsupportedOperationException(
+                "Invalid query used in CREATE MATERIALIZED VIEW. Query: " + createView.query());
+        }
+        AnalyzedRelation query;
+        try {
+            // Analyze the formatted Query to make sure the formatting didn't mess it up in any way.
+            // The formatted query is what gets stored and re-evaluated on every refresh.
+            query = relationAnalyzer.analyze(
+                (Query) SqlParser.createStatement(formattedQuery),
+                txnCtx,
+                ParamTypeHints.EMPTY);
+        } catch (Exception e) {
+            throw new UnsupportedOperationException(
+                "Invalid query used in CREATE MATERIALIZED VIEW. " + e.getMessage() + ". Query: " + formattedQuery);
+        }
+        if (query.outputs().stream().map(f -> f.toColumn().sqlFqn()).distinct().count() != query.outputs().size()) {
+            throw new IllegalArgumentException("Query in CREATE MATERIALIZED VIEW must not have duplicate column names");
+        }
+        List<TableElement<Expression>> tableElements = Lists.map(query.outputs(), Symbol::toColumnDefinition);
+        CreateTable<Expression> createTable = new CreateTable<>(
+            new Table<>(createView.name()),
+            tableElements,
+            Optional.empty(),
+            Optional.empty(),
+            GenericProperties.empty(),
+            createView.ifNotExists()
+        );
+        MaterializedViewMetadata view = new MaterializedViewMetadata(
+            formattedQuery,
+            sessionSettings.sessionUser().name(),
+            sessionSettings.searchPath(),
+            Map.of()
+        );
+        return new AnalyzedCreateMaterializedView(
+            createTableStatementAnalyzer.analyze(createTable, paramTypeHints, txnCtx),
+            query,
+            refreshSpec(name, view, query)
+        );
+    }
+
+    public AnalyzedRefreshMaterializedView analyze(RefreshMaterializedView refreshView,
+                                                   CoordinatorSessionSettings sessionSettings) {
+        RelationInfo relation = schemas.findRelation(
+            refreshView.name(),
+            Operation.READ,
+            sessionSettings.sessionUser(),
+            sessionSettings.searchPath()
+        );
+        RelationName name = relation.ident();
+        MaterializedViewMetadata view = materializedView(name);
+        if (view == null) {
+            throw new UnsupportedOperationException(
+                "Relation \"" + name.sqlFqn() + "\" is not a materialized view");
+        }
+        CoordinatorSessionSettings viewSettings = CoordinatorSessionSettings.systemDefaults();
+        viewSettings.setSearchPath(view.searchPath());
+        AnalyzedRelation query = relationAnalyzer.analyze(
+            (Query) SqlParser.createStatement(view.stmt()),
+            new CoordinatorTxnCtx(viewSettings),
+            ParamTypeHints.EMPTY
+        );
+        return refreshSpec(name, view, query);
+    }
+
+    public AnalyzedDropTable<DocTableInfo> analyze(DropMaterializedView dropView,
+                                                   CoordinatorSessionSettings sessionSettings) {
+        AnalyzedDropTable<DocTableInfo> dropTable = dropTableAnalyzer.analyze(
+            new DropTable<>(new Table<>(dropView.name()), dropView.ifExists()),
+            sessionSettings
+        );
+        RelationName name = dropTable.tableName();
+        if (materializedView(name) == null && clusterService.state().metadata().contains(name)) {
+            throw new UnsupportedOperationException(
+                "Relation \"" + name.sqlFqn() + "\" is not a materialized view");
+        }
+        return dropTable;
+    }
+
+    /**
+     * Rewrites a query to read from a materialized view if the query equals the query of the view.
+     *
+     * @return the rewritten query or null if there is no matching materialized view
+     */
+    @Nullable
+    public Query rewrite(Query query, CoordinatorSessionSettings sessionSettings) {
+        MaterializedViewsMetadata views = clusterService.state().metadata().custom(MaterializedViewsMetadata.TYPE);
+        if (views == null || !hasNoOrderBy(query)) {
+            return null;
+        }
+        String formattedQuery = null;
+        SearchPath searchPath = sessionSettings.searchPath();
+        for (String fqn : views.names()) {
+            RelationName name = RelationName.fromIndexName(fqn);
+            MaterializedViewMetadata view = views.get(name);
+            if (!view.searchPath().equals(searchPath)) {
+                continue;
+            }
+            if (formattedQuery == null) {
+                try {
+                    formattedQuery = SqlFormatter.formatSql(query);
+                } catch (Exception e) {
+                    return null;
+                }
+            }
+            if (formattedQuery.equals(view.stmt())) {
+                return (Query) SqlParser.createStatement("SELECT * FROM " + name.sqlFqn());
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasNoOrderBy(Query query) {
+        // The rows of the view are not stored in any particular order
+        return query.getOrderBy().isEmpty()
+            && !(query.getQueryBody() instanceof QuerySpecification spec && !spec.getOrderBy().isEmpty());
+    }
+
+    @Nullable
+    private MaterializedViewMetadata materializedView(RelationName name) {
+        MaterializedViewsMetadata views = clusterService.state().metadata().custom(MaterializedViewsMetadata.TYPE);
+        return views == null ? null : views.get(name);
+    }
+
+    /**
+     * Determines which tables the refresh of a view depends on and whether it can be limited to changed partitions.
+     * <p>
+     * Changes are only tracked if all sources are regular tables and the query is deterministic.
+     * A refresh can be limited to the changed partitions of a single partitioned source table if the query
+     * outputs all partition columns unchanged and the rows of one partition don't affect rows of another partition.
+     * </p>
+     */
+    private static AnalyzedRefreshMaterializedView refreshSpec(RelationName name,
+                                                               MaterializedViewMetadata view,
+                                                               AnalyzedRelation query) {
+        SourceCollector collector = new SourceCollector();
+        query.accept(collector, null);
+        List<RelationName> sources = List.copyOf(collector.sources);
+        boolean trackChanges = collector.trackChanges && !sources.isEmpty();
+
+        RelationName partitionedSource = null;
+        List<AnalyzedRefreshMaterializedView.PartitionColumn> partitionColumns = List.of();
+        if (trackChanges
+            && collector.tables.size() == 1
+            && !collector.hasSubQueries
+            && query instanceof QueriedSelectRelation select
+            && select.from().size() == 1
+            && select.from().get(0) instanceof DocTableRelation docTable
+            && docTable.tableInfo().isPartitioned()
+            && select.limit() == null
+            && select.offset() == null
+            && select.outputs().stream().noneMatch(x -> x.any(WindowFunction.class::isInstance))) {
+
+            partitionColumns = partitionColumns(docTable.tableInfo(), select.outputs());
+            if (!partitionColumns.isEmpty()) {
+                partitionedSource = docTable.tableInfo().ident();
+            }
+        }
+        return new AnalyzedRefreshMaterializedView(
+            name,
+            view,
+            query,
+            sources,
+            trackChanges,
+            partitionedSource,
+            partitionColumns
+        );
+    }
+
+    /**
+     * @return the view column for each partition column of the table, in the order of the partition columns,
+     *         or an empty list if a partition column is not part of the outputs.
+     */
+    private static List<AnalyzedRefreshMaterializedView.PartitionColumn> partitionColumns(DocTableInfo table,
+                                                                                          List<Symbol> outputs) {
+        List<AnalyzedRefreshMaterializedView.PartitionColumn> result = new ArrayList<>();
+        for (Reference partitionColumn : table.partitionedByColumns()) {
+            ColumnIdent viewColumn = null;
+            for (Symbol output : outputs) {
+                Symbol unwrapped = output instanceof AliasSymbol alias ? alias.symbol() : output;
+                if (unwrapped instanceof Reference ref && ref.column().equals(partitionColumn.column())) {
+                    viewColumn = ColumnIdent.of(output.toColumn().sqlFqn());
+                    break;
+                }
+            }
+            if (viewColumn == null) {
+                return List.of();
+            }
+            result.add(new AnalyzedRefreshMaterializedView.PartitionColumn(viewColumn, partitionColumn.valueType()));
+        }
+        return result;
+    }
+
+    private static class SourceCollector extends AnalyzedRelationVisitor<Void, Void> {
+
+        private final LinkedHashSet<RelationName> sources = new LinkedHashSet<>();
+        private final List<DocTableRelation> tables = new ArrayList<>();
+        private boolean trackChanges = true;
+        private boolean hasSubQueries = false;
+
+        @Override
+        protected Void visitAnalyzedRelation(AnalyzedRelation relation, Void context) {
+            trackChanges = false;
+            return null;
+        }
+
+        @Override
+        public Void visitDocTableRelation(DocTableRelation relation, Void context) {
+            tables.add(relation);
+            sources.add(relation.relationName());
+            return null;
+        }
+
+        @Override
+        public Void visitTableRelation(TableRelation tableRelation, Void context) {
+            // System tables have no sequence numbers
+            trackChanges = false;
+            return null;
+        }
+
+        @Override
+        public Void visitForeignTable(ForeignTableRelation foreignTableRelation, Void context) {
+            trackChanges = false;
+            return null;
+        }
+
+        @Override
+        public Void visitTableFunctionRelation(TableFunctionRelation tableFunctionRelation, Void context) {
+            visitSymbols(tableFunctionRelation);
+            return null;
+        }
+
+        @Override
+        public Void visitUnionSelect(UnionSelect unionSelect, Void context) {
+            unionSelect.left().accept(this, context);
+            unionSelect.right().accept(this, context);
+            return null;
+        }
+
+        @Override
+        public Void visitQueriedSelectRelation(QueriedSelectRelation relation, Void context) {
+            visitSymbols(relation);
+            for (AnalyzedRelation from : relation.from()) {
+                from.accept(this, context);
+            }
+            return null;
+        }
+
+        @Override
+        public Void visitAliasedAnalyzedRelation(AliasedAnalyzedRelation relation, Void context) {
+            return relation.relation().accept(this, context);
+        }
+
+        @Override
+        public Void visitView(AnalyzedView analyzedView, Void context) {
+            return analyzedView.relation().accept(this, context);
+        }
+
+        private void visitSymbols(AnalyzedRelation relation) {
+            relation.visitSymbols(symbol -> {
+                if (!symbol.isDeterministic()) {
+                    trackChanges = false;
+                }
+                symbol.visit(SelectSymbol.class, subQuery -> {
+                    hasSubQueries = true;
+                    subQuery.relation().accept(this, null);
+                });
+            });
+        }
+    }
+}
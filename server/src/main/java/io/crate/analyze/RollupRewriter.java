@@ -0,0 +1,370 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.analyze;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+import org.jetbrains.annotations.Nullable;
+
+import io.crate.analyze.relations.AnalyzedRelation;
+import io.crate.analyze.relations.DocTableRelation;
+import io.crate.exceptions.RelationUnknown;
+import io.crate.execution.engine.aggregation.impl.ArrayAgg;
+import io.crate.expression.operator.GteOperator;
+import io.crate.expression.operator.LtOperator;
+import io.crate.expression.scalar.DateTruncFunction;
+import io.crate.expression.scalar.RollupSketchFunction;
+import io.crate.expression.scalar.arithmetic.ArithmeticFunctions;
+import io.crate.expression.scalar.conditional.CoalesceFunction;
+import io.crate.expression.scalar.conditional.NullIfFunction;
+import io.crate.expression.symbol.AliasSymbol;
+import io.crate.expression.symbol.Function;
+import io.crate.expression.symbol.Literal;
+import io.crate.expression.symbol.Symbol;
+import io.crate.expression.symbol.WindowFunction;
+import io.crate.metadata.ColumnIdent;
+import io.crate.metadata.FunctionImplementation;
+import io.crate.metadata.FunctionType;
+import io.crate.metadata.NodeContext;
+import io.crate.metadata.Reference;
+import io.crate.metadata.Schemas;
+import io.crate.metadata.SearchPath;
+import io.crate.metadata.doc.DocTableInfo;
+import io.crate.metadata.settings.CoordinatorSessionSettings;
+import io.crate.role.Permission;
+import io.crate.role.Role;
+import io.crate.role.Roles;
+import io.crate.role.Securable;
+import io.crate.rollup.Rollup;
+import io.crate.rollup.Rollup.Sketch;
+import io.crate.rollup.RollupService;
+import io.crate.rollup.RollupSketches;
+import io.crate.types.DataTypes;
+
+/**
+ * Rewrites aggregations on a table with rollups to read from the companion table of a rollup.
+ * <p>
+ * Applies to queries on a single table which only use dimension columns, {@code date_trunc} of the
+ * timestamp column with a unit at least as coarse as the rollup interval, comparisons of the timestamp with
+ * aligned values and {@code count}, {@code sum}, {@code min}, {@code max} and {@code avg} aggregations.
+ * Aggregations of sketches of the rollup are computed from the stored states.
+ * </p>
+ */
+final class RollupRewriter {
+
+    private final NodeContext nodeCtx;
+    private final Schemas schemas;
+    private final Roles roles;
+
+    RollupRewriter(NodeContext nodeCtx, Roles roles) {
+        this.nodeCtx = nodeCtx;
+        this.schemas = nodeCtx.schemas();
+        this.roles = roles;
+    }
+
+    /**
+     * @return a relation reading from the rollup with the coarsest interval which can answer the query
+     *         or null if no rollup can answer it.
+     */
+    @Nullable
+    AnalyzedRelation rewrite(AnalyzedRelation relation, CoordinatorSessionSettings sessionSettings) {
+        if (!(relation instanceof QueriedSelectRelation select)
+            || select.from().size() != 1
+            || !(select.from().get(0) instanceof DocTableRelation table)
+            || (select.groupBy().isEmpty() && select.outputs().stream().noneMatch(RollupRewriter::containsAggregation))) {
+            return null;
+        }
+        List<Rollup> rollups = new ArrayList<>(RollupService.rollups(table.tableInfo(), schemas));
+        rollups.sort(Comparator.comparing(Rollup::interval).reversed());
+        for (Rollup rollup : rollups) {
+            DocTableInfo target;
+            try {
+                target = schemas.getTableInfo(rollup.target());
+            } catch (RelationUnknown e) {
+                continue;
+            }
+            if (!canRead(sessionSettings.sessionUser(), target)) {
+                continue;
+            }
+            QueriedSelectRelation rewritten = new Mapper(rollup, target, sessionSettings.searchPath()).map(select);
+            if (rewritten != null) {
+                return rewritten;
+            }
+        }
+        return null;
+    }
+
+    private boolean canRead(Role user, DocTableInfo target) {
+        return roles.hasPrivilege(user, Permission.DQL, Securable.TABLE, target.ident().fqn());
+    }
+
+    private static boolean containsAggregation(Symbol symbol) {
+        return symbol.any(s -> s instanceof Function fn && fn.signature().getType() == FunctionType.AGGREGATE);
+    }
+
+    private class Mapper {
+
+        private final Rollup rollup;
+        private final DocTableInfo target;
+        private final SearchPath searchPath;
+
+        Mapper(Rollup rollup, DocTableInfo target, SearchPath searchPath) {
+            this.rollup = rollup;
+            this.target = target;
+            this.searchPath = searchPath;
+        }
+
+        @Nullable
+        QueriedSelectRelation map(QueriedSelectRelation select) {
+            List<Symbol> outputs = new ArrayList<>(select.outputs().size());
+            for (Symbol output : select.outputs()) {
+                Symbol mapped = map(output);
+                if (mapped == null) {
+                    return null;
+                }
+                if (!(output instanceof AliasSymbol) && !mapped.toColumn().equals(output.toColumn())) {
+                    // Keep the output names of the original query
+                    mapped = new AliasSymbol(output.toColumn().sqlFqn(), mapped);
+                }
+                outputs.add(mapped);
+            }
+            Symbol where = map(select.where());
+            List<Symbol> groupBy = mapAll(select.groupBy());
+            Symbol having = select.having() == null ? null : map(select.having());
+            OrderBy orderBy = select.orderBy();
+            List<Symbol> orderBySymbols = orderBy == null ? List.of() : mapAll(orderBy.orderBySymbols());
+            if (where == null
+                || groupBy == null
+                || (select.having() != null && having == null)
+                || orderBySymbols == null) {
+                return null;
+            }
+            return new QueriedSelectRelation(
+                select.isDistinct(),
+                List.of(new DocTableRelation(target)),
+                List.of(),
+                outputs,
+                where,
+                groupBy,
+                having,
+                orderBy == null ? null : new OrderBy(orderBySymbols, orderBy.reverseFlags(), orderBy.nullsFirst()),
+                select.limit(),
+                select.offset()
+            );
+        }
+
+        @Nullable
+        private List<Symbol> mapAll(List<Symbol> symbols) {
+            List<Symbol> result = new ArrayList<>(symbols.size());
+            for (Symbol symbol : symbols) {
+                Symbol mapped = map(symbol);
+                if (mapped == null) {
+                    return null;
+                }
+                result.add(mapped);
+            }
+            return result;
+        }
+
+        @Nullable
+        private Symbol map(Symbol symbol) {
+            if (symbol instanceof Literal<?>) {
+                return symbol;
+            }
+            if (symbol instanceof AliasSymbol alias) {
+                Symbol mapped = map(alias.symbol());
+                return mapped == null ? null : new AliasSymbol(alias.alias(), mapped);
+            }
+            if (symbol instanceof Reference ref) {
+                return isDimension(ref) ? target.getReference(ref.column()) : null;
+            }
+            if (symbol instanceof WindowFunction || !(symbol instanceof Function fn) || !fn.isDeterministic()) {
+                return null;
+            }
+            if (fn.signature().getType() == FunctionType.AGGREGATE) {
+                return fn.filter() == null ? mapAggregate(fn) : null;
+            }
+            List<Symbol> args = fn.arguments();
+            if (fn.name().equals(DateTruncFunction.NAME)
+                && args.size() == 2
+                && args.get(0) instanceof Literal<?> unit
+                && isTimestamp(args.get(1))) {
+
+                if (unit.value() instanceof String unitName && isAtLeastInterval(unitName)) {
+                    return new Function(fn.signature(), List.of(unit, targetTimestamp()), fn.valueType());
+                }
+                return null;
+            }
+            if ((fn.name().equals(GteOperator.NAME) || fn.name().equals(LtOperator.NAME))
+                && args.size() == 2
+                && isTimestamp(args.get(0))
+                && args.get(1) instanceof Literal<?> literal) {
+
+                if (literal.value() instanceof Long value && rollup.interval().truncate(value) == value) {
+                    return new Function(fn.signature(), List.of(targetTimestamp(), literal), fn.valueType());
+                }
+                return null;
+            }
+            List<Symbol> mappedArgs = mapAll(args);
+            return mappedArgs == null ? null : new Function(fn.signature(), mappedArgs, fn.valueType());
+        }
+
+        @Nullable
+        private Symbol mapAggregate(Function aggregate) {
+            List<Symbol> args = aggregate.arguments();
+            String name = aggregate.name();
+            if (args.isEmpty()) {
+                return name.equals("count") ? count(Rollup.ROW_COUNT) : null;
+            }
+            if (args.get(0) instanceof Reference column) {
+                Sketch sketch = sketch(name, column);
+                if (sketch != null) {
+                    return mapSketch(aggregate, sketch);
+                }
+            }
+            if (args.size() != 1 || !(args.get(0) instanceof Reference ref)) {
+                return null;
+            }
+            if (isDimension(ref)) {
+                // Dimension values are stored as-is
+                return switch (name) {
+                    case "min", "max" -> new Function(
+                        aggregate.signature(),
+                        List.of(target.getReference(ref.column())),
+                        aggregate.valueType()
+                    );
+                    default -> null;
+                };
+            }
+            Reference measure = measure(ref);
+            if (measure == null) {
+                return null;
+            }
+            Symbol result = switch (name) {
+                case "count" -> count(Rollup.countColumn(measure));
+                case "sum" -> aggregate("sum", Rollup.sumColumn(measure));
+                case "min" -> aggregate("min", Rollup.minColumn(measure));
+                case "max" -> aggregate("max", Rollup.maxColumn(measure));
+                case "avg" -> function(ArithmeticFunctions.Names.DIVIDE, List.of(
+                    aggregate("sum", Rollup.sumColumn(measure)).cast(DataTypes.DOUBLE),
+                    function(NullIfFunction.NAME, List.of(
+                        aggregate("sum", Rollup.countColumn(measure)),
+                        Literal.of(0L)
+                    )).cast(DataTypes.DOUBLE)
+                ));
+                default -> null;
+            };
+            return result != null && result.valueType().equals(aggregate.valueType()) ? result : null;
+        }
+
+        /**
+         * {@code _rollup_sketch(function, array_agg(state), value_type, result_type [, arg])}
+         */
+        @Nullable
+        private Symbol mapSketch(Function aggregate, Sketch sketch) {
+            List<Symbol> args = aggregate.arguments();
+            List<Symbol> extraArgs = args.subList(1, args.size());
+            if (!RollupSketches.canAnswer(sketch.function(), extraArgs)) {
+                return null;
+            }
+            List<Symbol> sketchArgs = new ArrayList<>(4 + extraArgs.size());
+            sketchArgs.add(Literal.of(sketch.function()));
+            sketchArgs.add(aggregate(ArrayAgg.NAME, Rollup.sketchColumn(sketch)));
+            sketchArgs.add(Literal.ofUnchecked(sketch.column().valueType(), null));
+            sketchArgs.add(Literal.ofUnchecked(aggregate.valueType(), null));
+            sketchArgs.addAll(extraArgs);
+            return function(RollupSketchFunction.NAME, sketchArgs);
+        }
+
+        /**
+         * {@code coalesce(sum(column), 0)}: Unlike count, sum returns null if there are no rows.
+         */
+        private Symbol count(String column) {
+            return function(CoalesceFunction.NAME, List.of(aggregate("sum", column), Literal.of(0L)));
+        }
+
+        private Symbol aggregate(String name, String column) {
+            return function(name, List.of(target.getReference(ColumnIdent.of(column))));
+        }
+
+        private Symbol function(String name, List<Symbol> args) {
+            FunctionImplementation impl = nodeCtx.functions().get(null, name, args, searchPath);
+            return new Function(impl.signature(), args, impl.boundSignature().returnType());
+        }
+
+        private boolean isDimension(Reference ref) {
+            return rollup.dimensions().stream().anyMatch(d -> d.column().equals(ref.column()))
+                && ref.ident().tableIdent().equals(rollup.source());
+        }
+
+        @Nullable
+        private Sketch sketch(String function, Reference ref) {
+            if (!ref.ident().tableIdent().equals(rollup.source())) {
+                return null;
+            }
+            for (Sketch sketch : rollup.sketches()) {
+                if (sketch.function().equals(function) && sketch.column().column().equals(ref.column())) {
+                    return sketch;
+                }
+            }
+            return null;
+        }
+
+        @Nullable
+        private Reference measure(Reference ref) {
+            if (!ref.ident().tableIdent().equals(rollup.source())) {
+                return null;
+            }
+            for (Reference measure : rollup.measures()) {
+                if (measure.column().equals(ref.column())) {
+                    return measure;
+                }
+            }
+            return null;
+        }
+
+        private boolean isTimestamp(Symbol symbol) {
+            return symbol instanceof Reference ref
+                && ref.column().equals(rollup.timestamp().column())
+                && ref.ident().tableIdent().equals(rollup.source());
+        }
+
+        private Reference targetTimestamp() {
+            return target.getReference(rollup.timestamp().column());
+        }
+
+        private boolean isAtLeastInterval(String unit) {
+            int rank = switch (unit.toLowerCase(Locale.ENGLISH)) {
+                case "second" -> 0;
+                case "minute" -> 1;
+                case "hour" -> 2;
+                case "day" -> 3;
+                case "week", "month", "quarter", "year" -> 4;
+                default -> -1;
+            };
+            return rank >= rollup.interval().ordinal();
+        }
+    }
+}
@@ -32,6 +32,8 @@ public final class SnapshotSettings {
 
     public static final Setting<Boolean> WAIT_FOR_COMPLETION = Setting.boolSetting("wait_for_completion", false);
 
+    public static final Setting<Boolean> MOUNT = Setting.boolSetting("mount", false);
+
     public static final Setting<String> SCHEMA_RENAME_PATTERN = Setting.simpleString("schema_rename_pattern", "(.+)");
 
     public static final Setting<String> SCHEMA_RENAME_REPLACEMENT = Setting.simpleString("schema_rename_replacement", "$1");
@@ -43,6 +45,7 @@ public final class SnapshotSettings {
     public static final Map<String, Setting<?>> SETTINGS = Map.of(
         IGNORE_UNAVAILABLE.getKey(), IGNORE_UNAVAILABLE,
         WAIT_FOR_COMPLETION.getKey(), WAIT_FOR_COMPLETION,
+        MOUNT.getKey(), MOUNT,
         SCHEMA_RENAME_PATTERN.getKey(), SCHEMA_RENAME_PATTERN,
         SCHEMA_RENAME_REPLACEMENT.getKey(), SCHEMA_RENAME_REPLACEMENT,
         TABLE_RENAME_PATTERN.getKey(), TABLE_RENAME_PATTERN,
@@ -274,6 +274,13 @@ public class TableElementsAnalyzer implements FieldProvider<Reference> {
                     sources.add(source);
                 }
                 String analyzer = DataTypes.STRING.sanitizeValue(indexProperties.map(toValue).get("analyzer"));
+                if (IndexType.TRIGRAM.equalsIgnoreCase(indexMethod)) {
+                    if (analyzer != null) {
+                        throw new IllegalArgumentException(
+                            "The `" + IndexType.TRIGRAM + "` index method of `" + name.sqlFqn() + "` doesn't support a custom analyzer");
+                    }
+                    analyzer = IndexType.TRIGRAM;
+                }
                 ref = new IndexReference(
                     refIdent,
                     rowGranularity,
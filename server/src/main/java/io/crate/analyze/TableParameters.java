@@ -52,6 +52,7 @@ import io.crate.common.unit.TimeValue;
 import io.crate.metadata.doc.DocTableInfo;
 import io.crate.metadata.settings.NumberOfReplicas;
 import io.crate.metadata.settings.Validators;
+import io.crate.rollup.Rollup;
 import io.crate.sql.tree.ColumnPolicy;
 import io.crate.types.DataTypes;
 
@@ -109,6 +110,7 @@ public class TableParameters {
             MergeSchedulerConfig.MAX_THREAD_COUNT_SETTING,
             IndexSettings.INDEX_SOFT_DELETES_SETTING,
             IndexSettings.INDEX_SOFT_DELETES_RETENTION_LEASE_PERIOD_SETTING,
+            Rollup.SETTING,
 
             // this setting is needed for tests and is not documented. see ClusterDisruptionIT for usages.
             IndexService.GLOBAL_CHECKPOINT_SYNC_INTERVAL_SETTING,
@@ -137,7 +139,10 @@ public class TableParameters {
         IndexSettings.INDEX_REFRESH_INTERVAL_SETTING,
 
         IndexSettings.FILE_BASED_RECOVERY_THRESHOLD_SETTING,
-        Store.INDEX_STORE_STATS_REFRESH_INTERVAL_SETTING
+        Store.INDEX_STORE_STATS_REFRESH_INTERVAL_SETTING,
+
+        // Only set if rollups are defined
+        Rollup.SETTING
     );
 
     private static final Map<String, Setting<?>> SUPPORTED_SETTINGS_DEFAULT
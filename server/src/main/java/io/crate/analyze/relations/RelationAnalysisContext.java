@@ -30,6 +30,7 @@ import java.util.Map;
 import org.jetbrains.annotations.Nullable;
 
 import io.crate.analyze.expressions.ExpressionAnalysisContext;
+import io.crate.expression.symbol.Symbol;
 import io.crate.metadata.RelationName;
 import io.crate.metadata.settings.CoordinatorSessionSettings;
 
@@ -45,6 +46,9 @@ public class RelationAnalysisContext {
     @Nullable
     private List<JoinPair> joinPairs;
 
+    @Nullable
+    private List<Symbol> sampleFilters;
+
     RelationAnalysisContext(boolean aliasedRelation,
                             ParentRelations parents,
                             CoordinatorSessionSettings sessionSettings) {
@@ -80,6 +84,23 @@ public class RelationAnalysisContext {
         return joinPairs;
     }
 
+    /**
+     * Adds the filter of a {@code TABLESAMPLE} clause, it becomes part of the {@code WHERE} clause.
+     */
+    void addSampleFilter(Symbol filter) {
+        if (sampleFilters == null) {
+            sampleFilters = new ArrayList<>();
+        }
+        sampleFilters.add(filter);
+    }
+
+    List<Symbol> sampleFilters() {
+        if (sampleFilters == null) {
+            return List.of();
+        }
+        return sampleFilters;
+    }
+
     void addSourceRelation(AnalyzedRelation relation) {
         RelationName relationName = relation.relationName();
         if (sources.put(relationName, relation) != null) {
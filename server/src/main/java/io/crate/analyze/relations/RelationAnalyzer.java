@@ -59,7 +59,10 @@ import io.crate.exceptions.RelationValidationException;
 import io.crate.exceptions.UnauthorizedException;
 import io.crate.exceptions.UnsupportedFeatureException;
 import io.crate.expression.eval.EvaluatingNormalizer;
+import io.crate.expression.operator.AndOperator;
+import io.crate.expression.scalar.TableSampleFunction;
 import io.crate.expression.scalar.arithmetic.ArrayFunction;
+import io.crate.expression.symbol.AliasSymbol;
 import io.crate.expression.symbol.Function;
 import io.crate.expression.symbol.GroupAndAggregateSemantics;
 import io.crate.expression.symbol.Literal;
@@ -69,12 +72,14 @@ import io.crate.expression.tablefunctions.TableFunctionFactory;
 import io.crate.expression.tablefunctions.ValuesFunction;
 import io.crate.fdw.ForeignTable;
 import io.crate.fdw.ForeignTableRelation;
+import io.crate.lucene.SampleQuery;
 import io.crate.metadata.CoordinatorTxnCtx;
 import io.crate.metadata.FunctionImplementation;
 import io.crate.metadata.NodeContext;
 import io.crate.metadata.RelationInfo;
 import io.crate.metadata.RelationName;
 import io.crate.metadata.SearchPath;
+import io.crate.metadata.doc.DocSysColumns;
 import io.crate.metadata.doc.DocTableInfo;
 import io.crate.metadata.table.Operation;
 import io.crate.metadata.table.TableInfo;
@@ -101,6 +106,7 @@ import io.crate.sql.tree.QualifiedNameReference;
 import io.crate.sql.tree.Query;
 import io.crate.sql.tree.QuerySpecification;
 import io.crate.sql.tree.Relation;
+import io.crate.sql.tree.SampledRelation;
 import io.crate.sql.tree.SortItem;
 import io.crate.sql.tree.Statement;
 import io.crate.sql.tree.Table;
@@ -280,6 +286,9 @@ public class RelationAnalyzer extends DefaultTraversalVisitor<AnalyzedRelation,
                 );
             }
         }
+        if (node.getType().isOuter() && !statementContext.currentRelationContext().sampleFilters().isEmpty()) {
+            throw new UnsupportedFeatureException("TABLESAMPLE is not supported in combination with outer joins");
+        }
         JoinRelation joinRelation = new JoinRelation(leftRel, rightRel, node.getType(), joinCondition);
         JoinPair joinPair = extractJoinPair(joinRelation, statementContext.currentRelationContext().sourceNames());
         statementContext.currentRelationContext().addJoinPair(joinPair);
@@ -391,6 +400,9 @@ public class RelationAnalyzer extends DefaultTraversalVisitor<AnalyzedRelation,
             for (JoinPair joinPair : innerContext.joinPairs()) {
                 currentRelationContext.addJoinPair(joinPair);
             }
+            for (Symbol sampleFilter : innerContext.sampleFilters()) {
+                currentRelationContext.addSampleFilter(sampleFilter);
+            }
         }
 
         RelationAnalysisContext context = statementContext.currentRelationContext();
@@ -427,33 +439,65 @@ public class RelationAnalyzer extends DefaultTraversalVisitor<AnalyzedRelation,
         boolean isDistinct = node.getSelect().isDistinct();
         Symbol where = expressionAnalyzer.generateQuerySymbol(node.getWhere(), expressionAnalysisContext);
         WhereClauseValidator.validate(where);
+        if (!context.sampleFilters().isEmpty()) {
+            where = AndOperator.join(Lists.concat(context.sampleFilters(), where));
+        }
 
         var normalizer = EvaluatingNormalizer.functionOnlyNormalizer(
             nodeCtx,
             f -> expressionAnalysisContext.isEagerNormalizationAllowed() && f.signature().isDeterministic()
         );
 
+        List<Symbol> outputs = selectAnalysis.outputSymbols();
+        Symbol having = analyzeHaving(
+            node.getHaving(),
+            groupBy,
+            expressionAnalyzer,
+            context.expressionAnalysisContext()
+        );
+        OrderBy orderBy = analyzeOrderBy(
+            selectAnalysis,
+            node.getOrderBy(),
+            expressionAnalyzer,
+            expressionAnalysisContext,
+            expressionAnalysisContext.hasAggregates() || !groupBy.isEmpty(),
+            isDistinct
+        );
+        if (expressionAnalysisContext.hasAggregates()) {
+            SampledAggregates sampledAggregates = new SampledAggregates(
+                nodeCtx,
+                coordinatorTxnCtx.sessionSettings().searchPath(),
+                scaledSamplePercentage(context, coordinatorTxnCtx)
+            );
+            Map<Symbol, Symbol> rewrittenOutputs = new HashMap<>();
+            List<Symbol> newOutputs = new ArrayList<>(outputs.size());
+            for (Symbol output : outputs) {
+                Symbol rewritten = sampledAggregates.rewrite(output);
+                if (rewritten != output && !rewritten.toColumn().equals(output.toColumn())) {
+                    rewritten = new AliasSymbol(output.toColumn().sqlFqn(), rewritten);
+                }
+                rewrittenOutputs.put(output, rewritten);
+                newOutputs.add(rewritten);
+            }
+            outputs = newOutputs;
+            having = having == null ? null : sampledAggregates.rewrite(having);
+            if (orderBy != null) {
+                orderBy = orderBy.map(s -> {
+                    Symbol output = rewrittenOutputs.get(s);
+                    return output == null ? sampledAggregates.rewrite(s) : output;
+                });
+            }
+        }
+
         QueriedSelectRelation relation = new QueriedSelectRelation(
             isDistinct,
             List.copyOf(context.sources().values()),
             context.joinPairs(),
-            selectAnalysis.outputSymbols(),
+            outputs,
             where,
             groupBy,
-            analyzeHaving(
-                node.getHaving(),
-                groupBy,
-                expressionAnalyzer,
-                context.expressionAnalysisContext()
-            ),
-            analyzeOrderBy(
-                selectAnalysis,
-                node.getOrderBy(),
-                expressionAnalyzer,
-                expressionAnalysisContext,
-                expressionAnalysisContext.hasAggregates() || !groupBy.isEmpty(),
-                isDistinct
-            ),
+            having,
+            orderBy,
             longSymbolOrNull(
                 node.getLimit(),
                 expressionAnalyzer,
@@ -472,6 +516,22 @@ public class RelationAnalyzer extends DefaultTraversalVisitor<AnalyzedRelation,
         return relation;
     }
 
+    /**
+     * @return the percentage of the {@code TABLESAMPLE} of the query if its aggregations must be scaled, otherwise null.
+     */
+    @Nullable
+    private static Symbol scaledSamplePercentage(RelationAnalysisContext context, CoordinatorTxnCtx txnCtx) {
+        List<Symbol> sampleFilters = context.sampleFilters();
+        if (sampleFilters.isEmpty() || !txnCtx.sessionSettings().scaleSampledAggregates()) {
+            return null;
+        }
+        if (sampleFilters.size() > 1 || context.sources().size() > 1) {
+            throw new UnsupportedFeatureException(
+                "Scaling sampled aggregates is only supported on queries on a single table with TABLESAMPLE");
+        }
+        return ((Function) sampleFilters.get(0)).arguments().get(2);
+    }
+
     @Nullable
     private static Symbol longSymbolOrNull(Optional<Expression> optExpression,
                                            ExpressionAnalyzer expressionAnalyzer,
@@ -676,6 +736,46 @@ public class RelationAnalyzer extends DefaultTraversalVisitor<AnalyzedRelation,
         return aliasedRelation;
     }
 
+    @Override
+    protected AnalyzedRelation visitSampledRelation(SampledRelation node, StatementAnalysisContext context) {
+        AnalyzedRelation relation = node.getRelation().accept(this, context);
+        AnalyzedRelation source = relation instanceof AliasedAnalyzedRelation aliased ? aliased.relation() : relation;
+        if (!(source instanceof DocTableRelation)) {
+            throw new UnsupportedFeatureException("TABLESAMPLE is only supported on user tables");
+        }
+        RelationAnalysisContext relationContext = context.currentRelationContext();
+        ExpressionAnalyzer expressionAnalyzer = new ExpressionAnalyzer(
+            context.transactionContext(),
+            nodeCtx,
+            context.paramTyeHints(),
+            FieldProvider.UNSUPPORTED,
+            null
+        );
+        ExpressionAnalysisContext expressionContext = relationContext.expressionAnalysisContext();
+        var normalizer = EvaluatingNormalizer.functionOnlyNormalizer(nodeCtx);
+        Symbol percentage = normalizer.normalize(
+            expressionAnalyzer.convert(node.getSamplePercentage(), expressionContext).cast(DataTypes.DOUBLE),
+            context.transactionContext()
+        );
+        if (percentage instanceof Literal<?> literal
+                && (literal.value() == null || (double) literal.value() < 0.0 || (double) literal.value() > 100.0)) {
+            throw new IllegalArgumentException(
+                "TABLESAMPLE percentage must be between 0 and 100, got: " + literal.value());
+        }
+        Symbol seed = node.getSeed().isPresent()
+            ? normalizer.normalize(
+                expressionAnalyzer.convert(node.getSeed().get(), expressionContext).cast(DataTypes.LONG),
+                context.transactionContext())
+            : Literal.of(DataTypes.LONG, null);
+        SampleQuery.Method method = switch (node.getType()) {
+            case BERNOULLI -> SampleQuery.Method.BERNOULLI;
+            case SYSTEM -> SampleQuery.Method.SYSTEM;
+        };
+        Symbol docId = relation.getField(DocSysColumns.DOCID, Operation.READ, true);
+        relationContext.addSampleFilter(TableSampleFunction.of(docId, method, percentage, seed));
+        return relation;
+    }
+
     @Override
     public AnalyzedRelation visitWithQuery(WithQuery node, StatementAnalysisContext context) {
         // With queries are already analyzed inside a dedicated relation context, no need for a new one.
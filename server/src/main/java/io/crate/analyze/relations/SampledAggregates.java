@@ -0,0 +1,195 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.analyze.relations;
+
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+import io.crate.exceptions.UnsupportedFeatureException;
+import io.crate.execution.engine.aggregation.impl.CountAggregation;
+import io.crate.execution.engine.aggregation.impl.StandardDeviationAggregation;
+import io.crate.execution.engine.aggregation.impl.SumAggregation;
+import io.crate.execution.engine.aggregation.impl.average.AverageAggregation;
+import io.crate.expression.scalar.SamplingErrorFunction;
+import io.crate.expression.scalar.arithmetic.ArithmeticFunctions;
+import io.crate.expression.scalar.arithmetic.RoundFunction;
+import io.crate.expression.scalar.arithmetic.SquareRootFunction;
+import io.crate.expression.symbol.Function;
+import io.crate.expression.symbol.FunctionCopyVisitor;
+import io.crate.expression.symbol.Literal;
+import io.crate.expression.symbol.Symbol;
+import io.crate.metadata.FunctionImplementation;
+import io.crate.metadata.FunctionType;
+import io.crate.metadata.NodeContext;
+import io.crate.metadata.SearchPath;
+import io.crate.types.DataType;
+import io.crate.types.DataTypes;
+import io.crate.types.NumericType;
+
+/**
+ * Scales the aggregations of a query on a {@code TABLESAMPLE} to estimates for the whole table if
+ * {@code scale_sampled_aggregates} is enabled, and replaces {@code sampling_error(aggregation)} with
+ * the half-width of the 95% confidence interval of the estimate.
+ *
+ * <p>
+ * With a sampling fraction {@code f}, {@code count} and {@code sum} are divided by {@code f}; {@code avg}
+ * is an estimate as-is. The error bounds assume that each row is sampled independently, like
+ * {@code BERNOULLI} does:
+ * </p>
+ *
+ * <pre>
+ *     count:  z * sqrt((1 - f) * count) / f
+ *     sum:    z * sqrt((1 - f) * sum(x * x)) / f
+ *     avg:    z * stddev(x) * sqrt((1 - f) / count(x))
+ * </pre>
+ *
+ * Window functions are not scaled.
+ */
+final class SampledAggregates extends FunctionCopyVisitor<Void> {
+
+    /**
+     * z-score of the 95% confidence interval
+     */
+    private static final double Z = 1.96;
+
+    private final NodeContext nodeCtx;
+    private final SearchPath searchPath;
+    @Nullable
+    private final Symbol fraction;
+
+    /**
+     * @param percentage the {@code TABLESAMPLE} percentage or null if the aggregations must not be scaled.
+     */
+    SampledAggregates(NodeContext nodeCtx, SearchPath searchPath, @Nullable Symbol percentage) {
+        this.nodeCtx = nodeCtx;
+        this.searchPath = searchPath;
+        if (percentage == null) {
+            this.fraction = null;
+        } else if (percentage instanceof Literal<?> literal && literal.value() instanceof Double value) {
+            this.fraction = Literal.of(value / 100.0);
+        } else {
+            this.fraction = divide(percentage, Literal.of(100.0));
+        }
+    }
+
+    Symbol rewrite(Symbol symbol) {
+        return symbol.accept(this, null);
+    }
+
+    @Override
+    public Symbol visitFunction(Function func, Void context) {
+        if (func.signature().getName().name().equals(SamplingErrorFunction.NAME)) {
+            if (fraction == null) {
+                throw new UnsupportedFeatureException(
+                    SamplingErrorFunction.NAME + " is only supported on a TABLESAMPLE with scale_sampled_aggregates enabled");
+            }
+            return samplingError(func.arguments().get(0));
+        }
+        if (fraction == null || func.signature().getType() != FunctionType.AGGREGATE) {
+            return processAndMaybeCopy(func, context);
+        }
+        return switch (func.name()) {
+            case CountAggregation.NAME -> function(
+                RoundFunction.NAME,
+                divide(func.cast(DataTypes.DOUBLE), fraction)
+            );
+            case SumAggregation.NAME -> scaleSum(func);
+            default -> func;
+        };
+    }
+
+    private Symbol scaleSum(Function sum) {
+        DataType<?> returnType = sum.valueType();
+        if (!DataTypes.isNumericPrimitive(returnType) && returnType.id() != NumericType.ID) {
+            throw new UnsupportedFeatureException(
+                "Cannot scale a sum of type " + returnType.getName() + " on a TABLESAMPLE");
+        }
+        Symbol scaled = divide(sum.cast(DataTypes.DOUBLE), fraction);
+        return returnType.id() == DataTypes.LONG.id()
+            ? function(RoundFunction.NAME, scaled)
+            : scaled.cast(returnType);
+    }
+
+    private Symbol samplingError(Symbol aggregation) {
+        assert fraction != null : "fraction must not be null if sampling errors are computed";
+        if (!(aggregation instanceof Function aggregate) || aggregate.signature().getType() != FunctionType.AGGREGATE) {
+            throw new IllegalArgumentException(
+                SamplingErrorFunction.NAME + " requires a count, sum or avg aggregation as argument, got: " + aggregation);
+        }
+        Symbol oneMinusFraction = function(ArithmeticFunctions.Names.SUBTRACT, Literal.of(1.0), fraction);
+        String name = aggregate.name();
+        if (name.equals(CountAggregation.NAME)) {
+            // z * sqrt((1 - f) * count) / f
+            return divide(
+                multiply(Literal.of(Z), sqrt(multiply(oneMinusFraction, aggregate.cast(DataTypes.DOUBLE)))),
+                fraction
+            );
+        }
+        if (aggregate.arguments().size() == 1) {
+            Symbol value = aggregate.arguments().get(0).cast(DataTypes.DOUBLE);
+            if (name.equals(SumAggregation.NAME)) {
+                // z * sqrt((1 - f) * sum(x * x)) / f
+                Symbol sumOfSquares = aggregate(aggregate, SumAggregation.NAME, multiply(value, value));
+                return divide(multiply(Literal.of(Z), sqrt(multiply(oneMinusFraction, sumOfSquares))), fraction);
+            }
+            if (name.equals(AverageAggregation.NAME) || name.equals(AverageAggregation.NAMES[1])) {
+                // z * stddev(x) * sqrt((1 - f) / count(x))
+                Symbol stddev = aggregate(aggregate, StandardDeviationAggregation.NAME, value);
+                Symbol count = aggregate(aggregate, CountAggregation.NAME, value);
+                return multiply(
+                    multiply(Literal.of(Z), stddev.cast(DataTypes.DOUBLE)),
+                    sqrt(divide(oneMinusFraction, count.cast(DataTypes.DOUBLE)))
+                );
+            }
+        }
+        throw new IllegalArgumentException(
+            SamplingErrorFunction.NAME + " requires a count, sum or avg aggregation as argument, got: " + aggregation);
+    }
+
+    /**
+     * Aggregation with the same filter as {@code source}
+     */
+    private Symbol aggregate(Function source, String name, Symbol arg) {
+        List<Symbol> args = List.of(arg);
+        FunctionImplementation impl = nodeCtx.functions().get(null, name, args, searchPath);
+        return new Function(impl.signature(), args, impl.boundSignature().returnType(), source.filter());
+    }
+
+    private Symbol divide(Symbol dividend, Symbol divisor) {
+        return function(ArithmeticFunctions.Names.DIVIDE, dividend, divisor);
+    }
+
+    private Symbol multiply(Symbol a, Symbol b) {
+        return function(ArithmeticFunctions.Names.MULTIPLY, a, b);
+    }
+
+    private Symbol sqrt(Symbol arg) {
+        return function(SquareRootFunction.NAME, arg);
+    }
+
+    private Symbol function(String name, Symbol... args) {
+        List<Symbol> arguments = List.of(args);
+        FunctionImplementation impl = nodeCtx.functions().get(null, name, arguments, searchPath);
+        return new Function(impl.signature(), arguments, impl.boundSignature().returnType());
+    }
+}
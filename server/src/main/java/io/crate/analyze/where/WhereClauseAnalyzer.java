@@ -29,6 +29,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.cluster.metadata.Metadata;
 import org.jetbrains.annotations.Nullable;
 
@@ -45,6 +46,7 @@ import io.crate.expression.symbol.Literal;
 import io.crate.expression.symbol.Symbol;
 import io.crate.metadata.CoordinatorTxnCtx;
 import io.crate.metadata.NodeContext;
+import io.crate.metadata.PartitionIndex;
 import io.crate.metadata.PartitionName;
 import io.crate.metadata.PartitionReferenceResolver;
 import io.crate.metadata.Reference;
@@ -121,7 +123,8 @@ public class WhereClauseAnalyzer {
         Symbol normalized;
         Map<Symbol, List<Literal<?>>> queryPartitionMap = new HashMap<>();
 
-        for (PartitionName partitionName : tableInfo.getPartitionNames(metadata)) {
+        List<PartitionName> partitionNames = candidatePartitions(query, tableInfo, nodeCtx, metadata);
+        for (PartitionName partitionName : partitionNames) {
             for (PartitionExpression partitionExpression : partitionReferenceResolver.expressions()) {
                 partitionExpression.setNextRow(partitionName);
             }
@@ -153,13 +156,43 @@ public class WhereClauseAnalyzer {
             return partitionResult == null
                 // if partitionResult is null we can't narrow the partitions and keep the full query + use all partitions
                 // the query will then be evaluated correctly within each partition to see whether it matches or not
-                ? new PartitionResult(query, Lists.map(tableInfo.getPartitionNames(metadata), PartitionName::asIndexName))
+                ? new PartitionResult(query, Lists.map(partitionNames, PartitionName::asIndexName))
                 : partitionResult;
         } else {
             return new PartitionResult(Literal.BOOLEAN_FALSE, Collections.emptyList());
         }
     }
 
+    /**
+     * Uses the {@link PartitionIndex} to skip partitions which can't match the query.
+     * Falls back to all partitions if the index isn't up to date or can't narrow down the partitions.
+     */
+    private static List<PartitionName> candidatePartitions(Symbol query,
+                                                           DocTableInfo tableInfo,
+                                                           NodeContext nodeCtx,
+                                                           Metadata metadata) {
+        PartitionIndex partitionIndex = nodeCtx.schemas().partitionIndex(tableInfo.ident(), metadata);
+        if (partitionIndex == null) {
+            return tableInfo.getPartitionNames(metadata);
+        }
+        List<PartitionName> candidates = partitionIndex.lookup(query, tableInfo.partitionedByColumns());
+        if (candidates == null) {
+            return tableInfo.getPartitionNames(metadata);
+        }
+        // The index contains all partitions, resolve them like DocTableInfo#concreteIndices
+        String alias = tableInfo.ident().indexNameOrAlias();
+        List<PartitionName> openPartitions = new ArrayList<>(candidates.size());
+        for (PartitionName partitionName : candidates) {
+            IndexMetadata indexMetadata = metadata.index(partitionName.asIndexName());
+            if (indexMetadata != null
+                && indexMetadata.getState() == IndexMetadata.State.OPEN
+                && indexMetadata.getAliases().containsKey(alias)) {
+                openPartitions.add(partitionName);
+            }
+        }
+        return openPartitions;
+    }
+
     @Nullable
     private static PartitionResult tieBreakPartitionQueries(EvaluatingNormalizer normalizer,
                                                             Map<Symbol, List<Literal<?>>> queryPartitionMap,
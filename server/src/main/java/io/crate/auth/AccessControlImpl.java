@@ -43,6 +43,7 @@ import io.crate.analyze.AnalyzedCreateAnalyzer;
 import io.crate.analyze.AnalyzedCreateBlobTable;
 import io.crate.analyze.AnalyzedCreateForeignTable;
 import io.crate.analyze.AnalyzedCreateFunction;
+import io.crate.analyze.AnalyzedCreateMaterializedView;
 import io.crate.analyze.AnalyzedCreateRepository;
 import io.crate.analyze.AnalyzedCreateRole;
 import io.crate.analyze.AnalyzedCreateServer;
@@ -70,6 +71,7 @@ import io.crate.analyze.AnalyzedKill;
 import io.crate.analyze.AnalyzedOptimizeTable;
 import io.crate.analyze.AnalyzedPrivileges;
 import io.crate.analyze.AnalyzedPromoteReplica;
+import io.crate.analyze.AnalyzedRefreshMaterializedView;
 import io.crate.analyze.AnalyzedRefreshTable;
 import io.crate.analyze.AnalyzedRerouteAllocateReplicaShard;
 import io.crate.analyze.AnalyzedRerouteCancelShard;
@@ -537,6 +539,39 @@ public final class AccessControlImpl implements AccessControl {
             return null;
         }
 
+        @Override
+        public Void visitCreateMaterializedView(AnalyzedCreateMaterializedView createView, Role user) {
+            Privileges.ensureUserHasPrivilege(
+                relationVisitor.roles,
+                user,
+                Permission.DDL,
+                Securable.SCHEMA,
+                createView.analyzedCreateTable().relationName().schema()
+            );
+            visitRelation(createView.sourceRelation(), user, Permission.DQL);
+            return null;
+        }
+
+        @Override
+        public Void visitRefreshMaterializedView(AnalyzedRefreshMaterializedView refreshView, Role user) {
+            Privileges.ensureUserHasPrivilege(
+                relationVisitor.roles,
+                user,
+                Permission.DML,
+                Securable.TABLE,
+                refreshView.name().fqn()
+            );
+            // The query of the view is evaluated with the privileges of its owner, like for regular views
+            String ownerName = refreshView.view().owner();
+            Role owner = ownerName == null ? null : relationVisitor.roles.findRole(ownerName);
+            if (owner == null) {
+                throw new UnauthorizedException(
+                    "Owner \"" + ownerName + "\" of the materialized view \"" + refreshView.name().fqn() + "\" not found");
+            }
+            visitRelation(refreshView.query(), owner, Permission.DQL);
+            return null;
+        }
+
         @Override
         public Void visitAnalyzedAlterTableRenameTable(AnalyzedAlterTableRenameTable analysis, Role user) {
             ensureDDLOnTable(user, analysis.sourceName().fqn());
@@ -32,8 +32,11 @@ import io.crate.execution.ddl.tables.TransportDropColumnAction;
 import io.crate.execution.ddl.tables.TransportDropConstraintAction;
 import io.crate.execution.ddl.tables.TransportOpenCloseTableOrPartitionAction;
 import io.crate.execution.ddl.tables.TransportRenameTableAction;
+import io.crate.execution.ddl.views.MaterializedViewOperation;
 import io.crate.execution.ddl.views.TransportCreateViewAction;
 import io.crate.execution.ddl.views.TransportDropViewAction;
+import io.crate.execution.ddl.views.TransportPutMaterializedViewAction;
+import io.crate.execution.ddl.views.TransportRefreshMaterializedViewAction;
 import io.crate.execution.jobs.JobSetup;
 import io.crate.expression.udf.TransportCreateUserDefinedFunctionAction;
 import io.crate.expression.udf.TransportDropUserDefinedFunctionAction;
@@ -59,6 +62,9 @@ public class TransportExecutorModule extends AbstractModule {
         bind(TransportDropUserDefinedFunctionAction.class).asEagerSingleton();
         bind(TransportCreateViewAction.class).asEagerSingleton();
         bind(TransportDropViewAction.class).asEagerSingleton();
+        bind(TransportPutMaterializedViewAction.class).asEagerSingleton();
+        bind(TransportRefreshMaterializedViewAction.class).asEagerSingleton();
+        bind(MaterializedViewOperation.class).asEagerSingleton();
         bind(TransportSwapRelationsAction.class).asEagerSingleton();
         bind(TransportAlterTableAction.class).asEagerSingleton();
         bind(TransportDropConstraintAction.class).asEagerSingleton();
@@ -53,9 +53,9 @@ public class SwapRelationsOperation {
         this.ddlClusterStateService = ddlClusterStateService;
     }
 
-    static class UpdatedState {
-        ClusterState newState;
-        Set<String> newIndices;
+    public static class UpdatedState {
+        public final ClusterState newState;
+        public final Set<String> newIndices;
 
         UpdatedState(ClusterState newState, Set<String> newIndices) {
             this.newState = newState;
@@ -64,7 +64,7 @@ public class SwapRelationsOperation {
     }
 
     public UpdatedState execute(ClusterState state, SwapRelationsRequest swapRelationsRequest) {
-        UpdatedState stateAfterRename = applyRenameActions(state, swapRelationsRequest);
+        UpdatedState stateAfterRename = applyRenameActions(state, swapRelationsRequest.swapActions(), true);
         List<RelationName> dropRelations = swapRelationsRequest.dropRelations();
         if (dropRelations.isEmpty()) {
             return stateAfterRename;
@@ -107,6 +107,16 @@ public class SwapRelationsOperation {
         );
     }
 
+    /**
+     * Replaces the relation {@code target} with {@code source}: The indices of source are renamed to target and the
+     * previous indices of target are dropped.
+     * Unlike a swap, everything attached to the relation names (privileges, views, ...) stays with the names.
+     */
+    public UpdatedState replace(ClusterState state, RelationName source, RelationName target) {
+        UpdatedState stateAfterRename = applyRenameActions(state, List.of(new RelationNameSwap(source, target)), false);
+        return applyDropRelations(stateAfterRename, List.of(source));
+    }
+
     private ClusterState applyDropTableClusterStateModifiers(ClusterState stateAfterDropRelations,
                                                              List<RelationName> dropRelations) {
         ClusterState updatedState = stateAfterDropRelations;
@@ -117,7 +127,8 @@ public class SwapRelationsOperation {
     }
 
     private UpdatedState applyRenameActions(ClusterState state,
-                                            SwapRelationsRequest swapRelationsRequest) {
+                                            List<RelationNameSwap> swapActions,
+                                            boolean applyModifiers) {
         HashSet<String> newIndexNames = new HashSet<>();
         Metadata metadata = state.metadata();
         Metadata.Builder updatedMetadata = Metadata.builder(state.metadata());
@@ -125,11 +136,11 @@ public class SwapRelationsOperation {
         ClusterBlocks.Builder blocksBuilder = ClusterBlocks.builder().blocks(state.blocks());
 
         // Remove all involved indices first so that rename operations are independent of each other
-        for (RelationNameSwap swapAction : swapRelationsRequest.swapActions()) {
+        for (RelationNameSwap swapAction : swapActions) {
             removeOccurrences(state, blocksBuilder, routingBuilder, updatedMetadata, swapAction.source());
             removeOccurrences(state, blocksBuilder, routingBuilder, updatedMetadata, swapAction.target());
         }
-        for (RelationNameSwap relationNameSwap : swapRelationsRequest.swapActions()) {
+        for (RelationNameSwap relationNameSwap : swapActions) {
             RelationName source = relationNameSwap.source();
             RelationName target = relationNameSwap.target();
             addSourceIndicesRenamedToTargetName(
@@ -143,7 +154,7 @@ public class SwapRelationsOperation {
             .blocks(blocksBuilder)
             .build();
         ClusterState reroutedState = allocationService.reroute(
-            applyClusterStateModifiers(stateAfterSwap, swapRelationsRequest.swapActions()),
+            applyModifiers ? applyClusterStateModifiers(stateAfterSwap, swapActions) : stateAfterSwap,
             "indices name switch"
         );
         return new UpdatedState(reroutedState, newIndexNames);
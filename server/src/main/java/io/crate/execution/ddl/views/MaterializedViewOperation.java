@@ -0,0 +1,379 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.ddl.views;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+import org.elasticsearch.action.support.master.AcknowledgedResponse;
+import org.elasticsearch.cluster.service.ClusterService;
+import org.elasticsearch.common.Randomness;
+import org.elasticsearch.common.inject.Inject;
+import org.elasticsearch.common.inject.Singleton;
+import org.jetbrains.annotations.Nullable;
+
+import io.crate.action.sql.CollectingResultReceiver;
+import io.crate.action.sql.Sessions;
+import io.crate.analyze.AnalyzedRefreshMaterializedView;
+import io.crate.analyze.AnalyzedRefreshMaterializedView.PartitionColumn;
+import io.crate.analyze.TableInfoToAST;
+import io.crate.data.Row;
+import io.crate.data.RowN;
+import io.crate.exceptions.RelationUnknown;
+import io.crate.execution.ddl.views.RefreshMaterializedViewRequest.Stage;
+import io.crate.metadata.NodeContext;
+import io.crate.metadata.PartitionName;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.SearchPath;
+import io.crate.metadata.cluster.DDLClusterStateService;
+import io.crate.metadata.doc.DocTableInfo;
+import io.crate.metadata.view.MaterializedViewMetadata;
+import io.crate.metadata.view.MaterializedViewMetadata.RefreshInProgress;
+import io.crate.metadata.view.MaterializedViewsMetadata;
+import io.crate.sql.SqlFormatter;
+import io.crate.sql.tree.CreateTable;
+import io.crate.sql.tree.Expression;
+import io.crate.sql.tree.QualifiedName;
+import io.crate.sql.tree.Table;
+
+/**
+ * Creates and refreshes materialized views.
+ * <p>
+ * A refresh re-evaluates the query of the view into a staging table which then replaces the table backing the view,
+ * so readers see either the old or the new rows. Only one refresh of a view can run at a time, which is tracked in
+ * the cluster state. To skip unnecessary work the max sequence number of every primary shard of the source tables
+ * is recorded on each refresh:
+ * </p>
+ * <ul>
+ *     <li>If none of the source shards changed, the refresh is a no-op.</li>
+ *     <li>If the view is partitioned like its only source table, only the changed partitions are recomputed,
+ *     the rows of the other partitions are copied from the view.</li>
+ *     <li>Otherwise the whole view is recomputed.</li>
+ * </ul>
+ */
+@Singleton
+public class MaterializedViewOperation {
+
+    private static final String SHARD_CHECKPOINTS_STMT =
+        "SELECT schema_name, table_name, partition_ident, id, seq_no_stats['max_seq_no'] " +
+        "FROM sys.shards WHERE \"primary\" = true";
+
+    private final Sessions sessions;
+    private final ClusterService clusterService;
+    private final NodeContext nodeCtx;
+    private final TransportPutMaterializedViewAction putMaterializedViewAction;
+    private final TransportRefreshMaterializedViewAction refreshMaterializedViewAction;
+
+    /**
+     * Refreshes started by this node. A view marked in the cluster state as being refreshed by this node
+     * but not contained here is a leftover of a failed refresh and can be taken over.
+     */
+    private final Set<RelationName> refreshesInProgress = ConcurrentHashMap.newKeySet();
+
+    @Inject
+    public MaterializedViewOperation(Sessions sessions,
+                                     ClusterService clusterService,
+                                     NodeContext nodeCtx,
+                                     TransportPutMaterializedViewAction putMaterializedViewAction,
+                                     TransportRefreshMaterializedViewAction refreshMaterializedViewAction,
+                                     DDLClusterStateService ddlClusterStateService) {
+        this.sessions = sessions;
+        this.clusterService = clusterService;
+        this.nodeCtx = nodeCtx;
+        this.putMaterializedViewAction = putMaterializedViewAction;
+        this.refreshMaterializedViewAction = refreshMaterializedViewAction;
+        ddlClusterStateService.addModifier(new MaterializedViewsDDLModifier());
+    }
+
+    /**
+     * Registers the view for an already created table and fills it.
+     */
+    public CompletableFuture<Long> create(AnalyzedRefreshMaterializedView initialRefresh) {
+        var request = new PutMaterializedViewRequest(initialRefresh.name(), initialRefresh.view());
+        return putMaterializedViewAction.execute(request).thenCompose(ignored -> refresh(initialRefresh));
+    }
+
+    /**
+     * @return the number of rows written to the view
+     */
+    public CompletableFuture<Long> refresh(AnalyzedRefreshMaterializedView refresh) {
+        RelationName name = refresh.name();
+        if (!refreshesInProgress.add(name)) {
+            return CompletableFuture.failedFuture(new IllegalStateException(String.format(
+                Locale.ENGLISH,
+                "A refresh of materialized view \"%s\" is already in progress",
+                name.sqlFqn())));
+        }
+        CompletableFuture<Long> result;
+        try {
+            MaterializedViewMetadata view = view(name);
+            RefreshInProgress previousRefresh = view.refresh();
+            RefreshInProgress refreshInProgress = new RefreshInProgress(
+                clusterService.localNode().getEphemeralId(),
+                name.name() + "_refresh_" + Long.toHexString(Randomness.get().nextLong())
+            );
+            result = updateRefresh(name, refreshInProgress, Stage.START, Map.of())
+                .thenCompose(ignored -> {
+                    if (previousRefresh == null) {
+                        return CompletableFuture.completedFuture(0L);
+                    }
+                    // The previous refresh was abandoned, otherwise this one couldn't have started
+                    return dropTable(new RelationName(name.schema(), previousRefresh.stagingTable()));
+                })
+                .thenCompose(ignored -> refresh(refresh, refreshInProgress));
+        } catch (Throwable t) {
+            result = CompletableFuture.failedFuture(t);
+        }
+        return result.whenComplete((ignored, err) -> refreshesInProgress.remove(name));
+    }
+
+    private CompletableFuture<Long> refresh(AnalyzedRefreshMaterializedView refresh, RefreshInProgress refreshInProgress) {
+        RelationName name = refresh.name();
+        RelationName staging = new RelationName(name.schema(), refreshInProgress.stagingTable());
+        CompletableFuture<Long> result;
+        try {
+            // Read the checkpoints after the refresh started, a concurrent refresh may have changed them
+            Map<String, Long> previous = view(name).checkpoints();
+            CompletableFuture<Map<String, Long>> checkpoints = refresh.trackChanges()
+                ? checkpoints(refresh.sources())
+                : CompletableFuture.completedFuture(null);
+            result = checkpoints.thenCompose(current -> {
+                boolean incremental = current != null && !previous.isEmpty();
+                if (incremental && previous.equals(current)) {
+                    return updateRefresh(name, refreshInProgress, Stage.ABORT, Map.of()).thenApply(ignored -> 0L);
+                }
+                return build(refresh, staging, incremental ? previous : null, current)
+                    .thenCompose(rowCount -> updateRefresh(
+                        name,
+                        refreshInProgress,
+                        Stage.COMPLETE,
+                        current == null ? Map.of() : current
+                    ).thenApply(ignored -> rowCount));
+            });
+        } catch (Throwable t) {
+            result = CompletableFuture.failedFuture(t);
+        }
+        return result.exceptionallyCompose(err -> updateRefresh(name, refreshInProgress, Stage.ABORT, Map.of())
+            .handle((ignored, abortErr) -> null)
+            .thenCompose(ignored -> dropTable(staging))
+            .handle((ignored, dropErr) -> null)
+            .thenCompose(ignored -> CompletableFuture.failedFuture(err)));
+    }
+
+    /**
+     * Fills the staging table with the new rows of the view
+     *
+     * @param previous the checkpoints of the last refresh if only the changed partitions need to be recomputed
+     * @return the number of recomputed rows
+     */
+    private CompletableFuture<Long> build(AnalyzedRefreshMaterializedView refresh,
+                                          RelationName staging,
+                                          @Nullable Map<String, Long> previous,
+                                          @Nullable Map<String, Long> current) {
+        String view = refresh.name().sqlFqn();
+        String stagingTable = staging.sqlFqn();
+        SearchPath searchPath = refresh.view().searchPath();
+        CompletableFuture<Long> result = refreshTables(refresh.sources(), searchPath)
+            .thenCompose(ignored -> exec(createStagingTable(refresh.name(), staging), searchPath, Row.EMPTY));
+        if (previous != null && refresh.partitionedSource() != null) {
+            List<PartitionCondition> changed = new ArrayList<>();
+            for (String partitionIdent : changedPartitions(refresh.partitionedSource(), previous, current)) {
+                changed.add(partitionCondition(refresh.partitionColumns(), partitionIdent));
+            }
+            // Keep the rows of the unchanged partitions
+            StringBuilder copy = new StringBuilder("INSERT INTO " + stagingTable + " SELECT * FROM " + view + " mv");
+            List<Object> copyParams = new ArrayList<>();
+            for (int i = 0; i < changed.size(); i++) {
+                PartitionCondition partition = changed.get(i);
+                copy.append(i == 0 ? " WHERE " : " AND ")
+                    .append("NOT coalesce(")
+                    .append(partition.condition())
+                    .append(", false)");
+                copyParams.addAll(partition.params());
+            }
+            result = result.thenCompose(ignored -> exec(copy.toString(), searchPath, new RowN(copyParams.toArray())))
+                .thenApply(ignored -> 0L);
+            for (PartitionCondition partition : changed) {
+                String insert = "INSERT INTO " + stagingTable + " SELECT * FROM (" + refresh.view().stmt() + ") mv WHERE "
+                    + partition.condition();
+                Row args = new RowN(partition.params().toArray());
+                result = result.thenCompose(rowCount -> exec(insert, searchPath, args)
+                    .thenApply(partitionRowCount -> rowCount + partitionRowCount));
+            }
+        } else {
+            result = result.thenCompose(
+                ignored -> exec("INSERT INTO " + stagingTable + " " + refresh.view().stmt(), searchPath, Row.EMPTY));
+        }
+        return result
+            .thenCompose(rowCount -> exec("REFRESH TABLE " + stagingTable, searchPath, Row.EMPTY).thenApply(ignored -> rowCount));
+    }
+
+    /**
+     * @return a CREATE TABLE statement for the staging table with the columns and settings of the table of the view
+     */
+    @SuppressWarnings("unchecked")
+    private String createStagingTable(RelationName name, RelationName staging) {
+        DocTableInfo table = nodeCtx.schemas().getTableInfo(name);
+        CreateTable<Expression> createTable = (CreateTable<Expression>) new TableInfoToAST(table).toStatement();
+        return SqlFormatter.formatSql(new CreateTable<>(
+            new Table<>(QualifiedName.of(staging.schema(), staging.name()), false),
+            createTable.tableElements(),
+            createTable.partitionedBy(),
+            createTable.clusteredBy(),
+            createTable.properties(),
+            false
+        ));
+    }
+
+    private record PartitionCondition(String condition, List<Object> params) {
+    }
+
+    /**
+     * @return the condition matching the rows of the view which belong to the partition of the source table
+     */
+    private static PartitionCondition partitionCondition(List<PartitionColumn> partitionColumns, String partitionIdent) {
+        List<String> values = PartitionName.decodeIdent(partitionIdent);
+        StringBuilder condition = new StringBuilder();
+        List<Object> params = new ArrayList<>(values.size());
+        for (int i = 0; i < partitionColumns.size(); i++) {
+            PartitionColumn column = partitionColumns.get(i);
+            Object value = column.type().implicitCast(values.get(i));
+            if (i > 0) {
+                condition.append(" AND ");
+            }
+            condition.append("mv.").append(column.viewColumn().quotedOutputName());
+            if (value == null) {
+                condition.append(" IS NULL");
+            } else {
+                condition.append(" = ?");
+                params.add(value);
+            }
+        }
+        return new PartitionCondition("(" + condition + ")", params);
+    }
+
+    private MaterializedViewMetadata view(RelationName name) {
+        MaterializedViewsMetadata views = clusterService.state().metadata().custom(MaterializedViewsMetadata.TYPE);
+        MaterializedViewMetadata view = views == null ? null : views.get(name);
+        if (view == null) {
+            throw new RelationUnknown(name);
+        }
+        return view;
+    }
+
+    private CompletableFuture<AcknowledgedResponse> updateRefresh(RelationName name,
+                                                                  RefreshInProgress refreshInProgress,
+                                                                  Stage stage,
+                                                                  Map<String, Long> checkpoints) {
+        return refreshMaterializedViewAction.execute(
+            new RefreshMaterializedViewRequest(name, refreshInProgress, stage, checkpoints));
+    }
+
+    private CompletableFuture<Long> dropTable(RelationName table) {
+        return exec("DROP TABLE IF EXISTS " + table.sqlFqn(), SearchPath.pathWithPGCatalogAndDoc(), Row.EMPTY);
+    }
+
+    /**
+     * @return the idents of the partitions of the table which have at least one shard with a different checkpoint
+     */
+    static Set<String> changedPartitions(RelationName table, Map<String, Long> previous, Map<String, Long> current) {
+        String prefix = table.fqn() + "/";
+        Set<String> changed = new LinkedHashSet<>();
+        for (var entry : previous.entrySet()) {
+            String key = entry.getKey();
+            if (key.startsWith(prefix) && !Objects.equals(entry.getValue(), current.get(key))) {
+                changed.add(partitionIdent(prefix, key));
+            }
+        }
+        for (String key : current.keySet()) {
+            if (key.startsWith(prefix) && !previous.containsKey(key)) {
+                changed.add(partitionIdent(prefix, key));
+            }
+        }
+        return changed;
+    }
+
+    private static String partitionIdent(String prefix, String key) {
+        return key.substring(prefix.length(), key.lastIndexOf('/'));
+    }
+
+    static String checkpointKey(RelationName table, String partitionIdent, int shardId) {
+        return table.fqn() + "/" + partitionIdent + "/" + shardId;
+    }
+
+    /**
+     * @return the max sequence number of each primary shard of the tables, or null if they're not all known.
+     */
+    private CompletableFuture<Map<String, Long>> checkpoints(List<RelationName> tables) {
+        Set<RelationName> sources = Set.copyOf(tables);
+        var receiver = new CollectingResultReceiver<>(Collector.<Row, HashMap<String, Long>>of(
+            HashMap::new,
+            (checkpoints, row) -> {
+                RelationName table = new RelationName((String) row.get(0), (String) row.get(1));
+                if (sources.contains(table)) {
+                    checkpoints.put(checkpointKey(table, (String) row.get(2), (int) row.get(3)), (Long) row.get(4));
+                }
+            },
+            (a, b) -> {
+                a.putAll(b);
+                return a;
+            }
+        ));
+        try (var session = sessions.newSystemSession()) {
+            session.quickExec(SHARD_CHECKPOINTS_STMT, receiver, Row.EMPTY);
+        } catch (Throwable t) {
+            return CompletableFuture.failedFuture(t);
+        }
+        return receiver.completionFuture().thenApply(checkpoints -> checkpoints.containsValue(null) ? null : Map.copyOf(checkpoints));
+    }
+
+    private CompletableFuture<Long> refreshTables(List<RelationName> tables, SearchPath searchPath) {
+        if (tables.isEmpty()) {
+            return CompletableFuture.completedFuture(0L);
+        }
+        String stmt = tables.stream()
+            .map(RelationName::sqlFqn)
+            .collect(Collectors.joining(", ", "REFRESH TABLE ", ""));
+        return exec(stmt, searchPath, Row.EMPTY).thenApply(ignored -> 0L);
+    }
+
+    private CompletableFuture<Long> exec(String stmt, SearchPath searchPath, Row params) {
+        var rowCountReceiver = new CollectingResultReceiver<>(Collectors.summingLong(row -> ((Number) row.get(0)).longValue()));
+        try (var session = sessions.newSystemSession()) {
+            session.sessionSettings().setSearchPath(searchPath);
+            session.quickExec(stmt, rowCountReceiver, params);
+        } catch (Throwable t) {
+            return CompletableFuture.failedFuture(t);
+        }
+        return rowCountReceiver.completionFuture();
+    }
+}
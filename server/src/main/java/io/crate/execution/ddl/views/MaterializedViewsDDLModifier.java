@@ -0,0 +1,83 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.ddl.views;
+
+import java.util.function.UnaryOperator;
+
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.metadata.Metadata;
+
+import io.crate.metadata.RelationName;
+import io.crate.metadata.cluster.DDLClusterStateModifier;
+import io.crate.metadata.view.MaterializedViewMetadata;
+import io.crate.metadata.view.MaterializedViewsMetadata;
+
+/**
+ * Keeps the definitions of materialized views in sync with the tables holding their rows.
+ */
+public class MaterializedViewsDDLModifier implements DDLClusterStateModifier {
+
+    @Override
+    public ClusterState onDropTable(ClusterState currentState, RelationName relationName) {
+        return update(currentState, views -> views.remove(relationName));
+    }
+
+    @Override
+    public ClusterState onRenameTable(ClusterState currentState,
+                                      RelationName sourceRelationName,
+                                      RelationName targetRelationName,
+                                      boolean isPartitionedTable) {
+        return update(currentState, views -> views.rename(sourceRelationName, targetRelationName));
+    }
+
+    @Override
+    public ClusterState onSwapRelations(ClusterState currentState, RelationName source, RelationName target) {
+        return update(currentState, views -> {
+            MaterializedViewMetadata sourceView = views.get(source);
+            MaterializedViewMetadata targetView = views.get(target);
+            MaterializedViewsMetadata result = views.remove(source).remove(target);
+            if (sourceView != null) {
+                result = MaterializedViewsMetadata.put(result, target, sourceView);
+            }
+            if (targetView != null) {
+                result = MaterializedViewsMetadata.put(result, source, targetView);
+            }
+            return result;
+        });
+    }
+
+    private static ClusterState update(ClusterState currentState,
+                                       UnaryOperator<MaterializedViewsMetadata> updateViews) {
+        Metadata metadata = currentState.metadata();
+        MaterializedViewsMetadata views = metadata.custom(MaterializedViewsMetadata.TYPE);
+        if (views == null) {
+            return currentState;
+        }
+        MaterializedViewsMetadata updatedViews = updateViews.apply(views);
+        if (updatedViews.equals(views)) {
+            return currentState;
+        }
+        return ClusterState.builder(currentState)
+            .metadata(Metadata.builder(metadata).putCustom(MaterializedViewsMetadata.TYPE, updatedViews))
+            .build();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.ddl.views;
+
+import static org.elasticsearch.action.support.master.AcknowledgedRequest.DEFAULT_ACK_TIMEOUT;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.elasticsearch.action.support.master.MasterNodeRequest;
+import org.elasticsearch.cluster.ack.AckedRequest;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+
+import io.crate.common.unit.TimeValue;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.view.MaterializedViewMetadata.RefreshInProgress;
+
+public final class RefreshMaterializedViewRequest extends MasterNodeRequest<RefreshMaterializedViewRequest>
+    implements AckedRequest {
+
+    public enum Stage {
+        /**
+         * Marks the view as being refreshed, fails if another node is refreshing it
+         */
+        START,
+        /**
+         * Replaces the table of the view with the staging table and stores the checkpoints
+         */
+        COMPLETE,
+        /**
+         * Removes the mark of the refresh, leaving the view as it is
+         */
+        ABORT
+    }
+
+    private final RelationName name;
+    private final RefreshInProgress refresh;
+    private final Stage stage;
+    private final Map<String, Long> checkpoints;
+
+    public RefreshMaterializedViewRequest(RelationName name,
+                                          RefreshInProgress refresh,
+                                          Stage stage,
+                                          Map<String, Long> checkpoints) {
+        this.name = name;
+        this.refresh = refresh;
+        this.stage = stage;
+        this.checkpoints = checkpoints;
+    }
+
+    public RelationName name() {
+        return name;
+    }
+
+    public RefreshInProgress refresh() {
+        return refresh;
+    }
+
+    public Stage stage() {
+        return stage;
+    }
+
+    /**
+     * @return the checkpoints of the source tables the view is refreshed to, only used by {@link Stage#COMPLETE}
+     */
+    public Map<String, Long> checkpoints() {
+        return checkpoints;
+    }
+
+    @Override
+    public TimeValue ackTimeout() {
+        return DEFAULT_ACK_TIMEOUT;
+    }
+
+    public RefreshMaterializedViewRequest(StreamInput in) throws IOException {
+        super(in);
+        name = new RelationName(in);
+        refresh = RefreshInProgress.of(in);
+        stage = in.readEnum(Stage.class);
+        checkpoints = in.readMap(StreamInput::readString, StreamInput::readZLong);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        super.writeTo(out);
+        name.writeTo(out);
+        refresh.writeTo(out);
+        out.writeEnum(stage);
+        out.writeMap(checkpoints, StreamOutput::writeString, StreamOutput::writeZLong);
+    }
+}
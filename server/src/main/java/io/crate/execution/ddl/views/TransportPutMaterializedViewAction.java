@@ -0,0 +1,112 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.ddl.views;
+
+import java.io.IOException;
+
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.support.master.AcknowledgedResponse;
+import org.elasticsearch.action.support.master.TransportMasterNodeAction;
+import org.elasticsearch.cluster.AckedClusterStateUpdateTask;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.block.ClusterBlockException;
+import org.elasticsearch.cluster.block.ClusterBlockLevel;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.cluster.service.ClusterService;
+import org.elasticsearch.common.Priority;
+import org.elasticsearch.common.inject.Inject;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.threadpool.ThreadPool;
+import org.elasticsearch.transport.TransportService;
+
+import io.crate.exceptions.RelationAlreadyExists;
+import io.crate.exceptions.RelationUnknown;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.view.MaterializedViewsMetadata;
+
+public final class TransportPutMaterializedViewAction
+    extends TransportMasterNodeAction<PutMaterializedViewRequest, AcknowledgedResponse> {
+
+    @Inject
+    public TransportPutMaterializedViewAction(TransportService transportService,
+                                              ClusterService clusterService,
+                                              ThreadPool threadPool) {
+        super(
+            "internal:crate:sql/materialized_views/put",
+            transportService,
+            clusterService,
+            threadPool,
+            PutMaterializedViewRequest::new
+        );
+    }
+
+    @Override
+    protected String executor() {
+        return ThreadPool.Names.GENERIC;
+    }
+
+    @Override
+    protected AcknowledgedResponse read(StreamInput in) throws IOException {
+        return new AcknowledgedResponse(in);
+    }
+
+    @Override
+    protected void masterOperation(PutMaterializedViewRequest request,
+                                   ClusterState state,
+                                   ActionListener<AcknowledgedResponse> listener) {
+        RelationName name = request.name();
+        clusterService.submitStateUpdateTask("materialized-views/put [" + name + "]",
+            new AckedClusterStateUpdateTask<AcknowledgedResponse>(Priority.HIGH, request, listener) {
+
+                @Override
+                public ClusterState execute(ClusterState currentState) {
+                    Metadata metadata = currentState.metadata();
+                    MaterializedViewsMetadata views = metadata.custom(MaterializedViewsMetadata.TYPE);
+                    if (views != null && views.contains(name)) {
+                        throw new RelationAlreadyExists(name);
+                    }
+                    // The table holding the rows of the view is created upfront
+                    if (!metadata.contains(name)) {
+                        throw new RelationUnknown(name);
+                    }
+                    return ClusterState.builder(currentState)
+                        .metadata(
+                            Metadata.builder(metadata)
+                                .putCustom(
+                                    MaterializedViewsMetadata.TYPE,
+                                    MaterializedViewsMetadata.put(views, name, request.view()))
+                                .build()
+                        ).build();
+                }
+
+                @Override
+                protected AcknowledgedResponse newResponse(boolean acknowledged) {
+                    return new AcknowledgedResponse(acknowledged);
+                }
+            });
+    }
+
+    @Override
+    protected ClusterBlockException checkBlock(PutMaterializedViewRequest request, ClusterState state) {
+        return state.blocks().globalBlockedException(ClusterBlockLevel.METADATA_WRITE);
+    }
+}
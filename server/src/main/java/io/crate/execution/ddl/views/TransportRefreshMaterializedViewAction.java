@@ -0,0 +1,185 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.ddl.views;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.support.ActiveShardsObserver;
+import org.elasticsearch.action.support.master.AcknowledgedResponse;
+import org.elasticsearch.action.support.master.TransportMasterNodeAction;
+import org.elasticsearch.cluster.AckedClusterStateUpdateTask;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.block.ClusterBlockException;
+import org.elasticsearch.cluster.block.ClusterBlockLevel;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.cluster.node.DiscoveryNode;
+import org.elasticsearch.cluster.routing.allocation.AllocationService;
+import org.elasticsearch.cluster.service.ClusterService;
+import org.elasticsearch.common.Priority;
+import org.elasticsearch.common.inject.Inject;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.threadpool.ThreadPool;
+import org.elasticsearch.transport.TransportService;
+
+import io.crate.exceptions.RelationUnknown;
+import io.crate.execution.ddl.SwapRelationsOperation;
+import io.crate.execution.support.ActionListeners;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.cluster.DDLClusterStateService;
+import io.crate.metadata.view.MaterializedViewMetadata;
+import io.crate.metadata.view.MaterializedViewMetadata.RefreshInProgress;
+import io.crate.metadata.view.MaterializedViewsMetadata;
+
+/**
+ * Tracks the refresh of a materialized view in the cluster state, so that only one node refreshes a view at a time,
+ * and swaps the rows built by the refresh in.
+ */
+public final class TransportRefreshMaterializedViewAction
+    extends TransportMasterNodeAction<RefreshMaterializedViewRequest, AcknowledgedResponse> {
+
+    private final SwapRelationsOperation swapRelationsOperation;
+    private final ActiveShardsObserver activeShardsObserver;
+
+    @Inject
+    public TransportRefreshMaterializedViewAction(TransportService transportService,
+                                                  ClusterService clusterService,
+                                                  ThreadPool threadPool,
+                                                  DDLClusterStateService ddlClusterStateService,
+                                                  AllocationService allocationService) {
+        super(
+            "internal:crate:sql/materialized_views/refresh",
+            transportService,
+            clusterService,
+            threadPool,
+            RefreshMaterializedViewRequest::new
+        );
+        this.activeShardsObserver = new ActiveShardsObserver(clusterService);
+        this.swapRelationsOperation = new SwapRelationsOperation(allocationService, ddlClusterStateService);
+    }
+
+    @Override
+    protected String executor() {
+        return ThreadPool.Names.SAME;
+    }
+
+    @Override
+    protected AcknowledgedResponse read(StreamInput in) throws IOException {
+        return new AcknowledgedResponse(in);
+    }
+
+    @Override
+    protected void masterOperation(RefreshMaterializedViewRequest request,
+                                   ClusterState state,
+                                   ActionListener<AcknowledgedResponse> listener) {
+        RelationName name = request.name();
+        AtomicReference<String[]> replacedIndices = new AtomicReference<>(new String[0]);
+        ActionListener<AcknowledgedResponse> waitForShardsListener = ActionListeners.waitForShards(
+            listener,
+            activeShardsObserver,
+            request.ackTimeout(),
+            () -> logger.info("Refreshed materialized view [{}], but timed out waiting for its shards to be started", name),
+            replacedIndices::get
+        );
+        clusterService.submitStateUpdateTask("materialized-views/refresh [" + name + "][" + request.stage() + "]",
+            new AckedClusterStateUpdateTask<AcknowledgedResponse>(Priority.HIGH, request, waitForShardsListener) {
+
+                @Override
+                public ClusterState execute(ClusterState currentState) {
+                    MaterializedViewsMetadata views = currentState.metadata().custom(MaterializedViewsMetadata.TYPE);
+                    MaterializedViewMetadata view = views == null ? null : views.get(name);
+                    RefreshInProgress refresh = request.refresh();
+                    return switch (request.stage()) {
+                        case START -> {
+                            if (view == null) {
+                                throw new RelationUnknown(name);
+                            }
+                            RefreshInProgress current = view.refresh();
+                            if (current != null
+                                && !current.nodeId().equals(refresh.nodeId())
+                                && isNodeInCluster(currentState, current.nodeId())) {
+                                throw new IllegalStateException(String.format(
+                                    Locale.ENGLISH,
+                                    "A refresh of materialized view \"%s\" is already in progress",
+                                    name.sqlFqn()));
+                            }
+                            yield putView(currentState, view.withRefresh(refresh));
+                        }
+                        case COMPLETE -> {
+                            if (view == null) {
+                                throw new RelationUnknown(name);
+                            }
+                            if (!refresh.equals(view.refresh())) {
+                                throw new IllegalStateException(String.format(
+                                    Locale.ENGLISH,
+                                    "The refresh of materialized view \"%s\" was taken over by another refresh",
+                                    name.sqlFqn()));
+                            }
+                            RelationName staging = new RelationName(name.schema(), refresh.stagingTable());
+                            SwapRelationsOperation.UpdatedState replaced = swapRelationsOperation.replace(
+                                currentState, staging, name);
+                            replacedIndices.set(replaced.newIndices.toArray(new String[0]));
+                            yield putView(replaced.newState, view.withCheckpoints(request.checkpoints()).withRefresh(null));
+                        }
+                        case ABORT -> {
+                            if (view == null || !refresh.equals(view.refresh())) {
+                                yield currentState;
+                            }
+                            yield putView(currentState, view.withRefresh(null));
+                        }
+                    };
+                }
+
+                private ClusterState putView(ClusterState currentState, MaterializedViewMetadata view) {
+                    Metadata metadata = currentState.metadata();
+                    MaterializedViewsMetadata views = metadata.custom(MaterializedViewsMetadata.TYPE);
+                    return ClusterState.builder(currentState)
+                        .metadata(
+                            Metadata.builder(metadata)
+                                .putCustom(MaterializedViewsMetadata.TYPE, MaterializedViewsMetadata.put(views, name, view))
+                                .build()
+                        ).build();
+                }
+
+                @Override
+                protected AcknowledgedResponse newResponse(boolean acknowledged) {
+                    return new AcknowledgedResponse(acknowledged);
+                }
+            });
+    }
+
+    private static boolean isNodeInCluster(ClusterState state, String ephemeralNodeId) {
+        for (DiscoveryNode node : state.nodes()) {
+            if (node.getEphemeralId().equals(ephemeralNodeId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected ClusterBlockException checkBlock(RefreshMaterializedViewRequest request, ClusterState state) {
+        return state.blocks().globalBlockedException(ClusterBlockLevel.METADATA_WRITE);
+    }
+}
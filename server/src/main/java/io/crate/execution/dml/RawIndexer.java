@@ -160,6 +160,21 @@ public class RawIndexer {
         return parsedDoc;
     }
 
+    /**
+     * The target columns of the row of the last {@link #collectSchemaUpdates(IndexItem)} call.
+     */
+    public List<Reference> currentColumns() {
+        return currentRowIndexer.columns();
+    }
+
+    /**
+     * The values of the row of the last {@link #collectSchemaUpdates(IndexItem)} call,
+     * aligned with {@link #currentColumns()}.
+     */
+    public Object[] currentValues() {
+        return currentItem.insertValues();
+    }
+
     public boolean hasUndeterministicSynthetics() {
         return currentRowIndexer.hasUndeterministicSynthetics();
     }
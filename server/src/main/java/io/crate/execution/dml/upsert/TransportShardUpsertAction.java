@@ -81,6 +81,9 @@ import io.crate.metadata.Schemas;
 import io.crate.metadata.TransactionContext;
 import io.crate.metadata.doc.DocSysColumns;
 import io.crate.metadata.doc.DocTableInfo;
+import io.crate.rollup.Rollup;
+import io.crate.rollup.RollupAccumulator;
+import io.crate.rollup.RollupService;
 
 /**
  * Realizes Upserts of tables which either results in an Insert or an Update.
@@ -92,7 +95,7 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
     private final Schemas schemas;
     private final NodeContext nodeCtx;
     private final TransportAddColumnAction addColumnAction;
-
+    private final RollupService rollupService;
 
     @Inject
     public TransportShardUpsertAction(Settings settings,
@@ -103,7 +106,8 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
                                       TasksService tasksService,
                                       IndicesService indicesService,
                                       ShardStateAction shardStateAction,
-                                      NodeContext nodeCtx) {
+                                      NodeContext nodeCtx,
+                                      RollupService rollupService) {
         super(
             settings,
             ShardUpsertAction.NAME,
@@ -118,6 +122,7 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
         this.nodeCtx = nodeCtx;
         this.schemas = nodeCtx.schemas();
         this.addColumnAction = addColumnAction;
+        this.rollupService = rollupService;
         tasksService.addListener(this);
     }
 
@@ -201,6 +206,10 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
             );
         }
 
+        // Rollups only track created documents, updated or overwritten rows would be counted twice
+        List<Rollup> rollups = rollupService.rollups(tableInfo);
+        RollupAccumulator rollupBuckets = rollups.isEmpty() ? null : rollupService.newAccumulator();
+
         Translog.Location translogLocation = null;
         for (ShardUpsertRequest.Item item : request.items()) {
             int location = item.location();
@@ -211,8 +220,9 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
                 shardResponse.failure(new InterruptedException());
                 break;
             }
+            IndexItemResponse indexItemResponse = null;
             try {
-                IndexItemResponse indexItemResponse = indexItem(
+                indexItemResponse = indexItem(
                     indexer,
                     updatingIndexer,
                     request,
@@ -233,6 +243,10 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
                 }
             } catch (Exception e) {
                 if (retryPrimaryException(e)) {
+                    // Documents created so far won't be created again by the retry
+                    if (rollupBuckets != null) {
+                        rollupService.add(rollupBuckets);
+                    }
                     throw Exceptions.toRuntimeException(e);
                 }
                 if (logger.isDebugEnabled()) {
@@ -259,10 +273,37 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
                 shardResponse.failure(Exceptions.toException(e));
                 break;
             }
+            if (rollupBuckets != null && indexItemResponse != null && indexItemResponse.created) {
+                addToRollups(
+                    rollups,
+                    rollupBuckets,
+                    rawIndexer == null ? indexer.columns() : rawIndexer.currentColumns(),
+                    rawIndexer == null ? item.insertValues() : rawIndexer.currentValues()
+                );
+            }
+        }
+        if (rollupBuckets != null) {
+            rollupService.add(rollupBuckets);
         }
         return new WritePrimaryResult<>(request, shardResponse, translogLocation, null, indexShard);
     }
 
+    /**
+     * Rollups are maintained on a best-effort basis, failing to do so must not fail the write.
+     */
+    private void addToRollups(List<Rollup> rollups,
+                              RollupAccumulator rollupBuckets,
+                              List<Reference> columns,
+                              Object[] values) {
+        for (Rollup rollup : rollups) {
+            try {
+                rollupBuckets.add(rollup, columns, values);
+            } catch (Exception e) {
+                logger.warn("Failed to add row to rollup table " + rollup.target(), e);
+            }
+        }
+    }
+
     private static String getExceptionMessage(Throwable e) {
         if (SQLExceptions.isDocumentAlreadyExistsException(e)) {
             return "A document with the same primary key exists already";
@@ -495,10 +536,12 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
         final Translog.Location translog;
         @Nullable
         final Object[] returnValues;
+        final boolean created;
 
-        IndexItemResponse(@Nullable Translog.Location translog, @Nullable Object[] returnValues) {
+        IndexItemResponse(@Nullable Translog.Location translog, @Nullable Object[] returnValues, boolean created) {
             this.translog = translog;
             this.returnValues = returnValues;
+            this.created = created;
         }
     }
 
@@ -563,7 +606,7 @@ public class TransportShardUpsertAction extends TransportShardAction<ShardUpsert
                 item.seqNo(result.getSeqNo());
                 item.version(result.getVersion());
                 item.primaryTerm(result.getTerm());
-                return new IndexItemResponse(result.getTranslogLocation(), indexer.returnValues(item));
+                return new IndexItemResponse(result.getTranslogLocation(), indexer.returnValues(item), result.isCreated());
 
             case FAILURE:
                 Exception failure = result.getFailure();
@@ -32,6 +32,8 @@ import org.elasticsearch.common.io.stream.StreamOutput;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import io.crate.analyze.OrderBy;
+import io.crate.execution.engine.pipeline.LimitAndOffset;
 import io.crate.expression.symbol.Symbol;
 import io.crate.expression.symbol.Symbols;
 import io.crate.metadata.RelationName;
@@ -45,6 +47,9 @@ public class ForeignCollectPhase extends AbstractProjectionsPhase implements Col
     private final Symbol query;
     @Nullable
     private final String executeAs;
+    @Nullable
+    private final OrderBy orderBy;
+    private final int limit;
 
     private DistributionInfo distributionInfo = DistributionInfo.DEFAULT_BROADCAST;
 
@@ -54,7 +59,9 @@ public class ForeignCollectPhase extends AbstractProjectionsPhase implements Col
                                RelationName relationName,
                                List<Symbol> toCollect,
                                Symbol query,
-                               @NotNull String executeAs) {
+                               @NotNull String executeAs,
+                               @Nullable OrderBy orderBy,
+                               int limit) {
         super(jobId, phaseId, relationName.fqn(), null);
         this.handlerNode = handlerNode;
         this.relationName = relationName;
@@ -62,6 +69,8 @@ public class ForeignCollectPhase extends AbstractProjectionsPhase implements Col
         this.outputTypes = Symbols.typeView(toCollect);
         this.query = query;
         this.executeAs = executeAs;
+        this.orderBy = orderBy;
+        this.limit = limit;
     }
 
     public ForeignCollectPhase(StreamInput in) throws IOException {
@@ -77,6 +86,13 @@ public class ForeignCollectPhase extends AbstractProjectionsPhase implements Col
         } else {
             this.executeAs = null;
         }
+        if (in.getVersion().onOrAfter(Version.V_5_9_0)) {
+            this.orderBy = in.readOptionalWriteable(OrderBy::new);
+            this.limit = in.readInt();
+        } else {
+            this.orderBy = null;
+            this.limit = LimitAndOffset.NO_LIMIT;
+        }
     }
 
     @Override
@@ -90,6 +106,10 @@ public class ForeignCollectPhase extends AbstractProjectionsPhase implements Col
         if (out.getVersion().onOrAfter(Version.V_5_8_0)) {
             out.writeOptionalString(executeAs);
         }
+        if (out.getVersion().onOrAfter(Version.V_5_9_0)) {
+            out.writeOptionalWriteable(orderBy);
+            out.writeInt(limit);
+        }
     }
 
     @Override
@@ -134,4 +154,19 @@ public class ForeignCollectPhase extends AbstractProjectionsPhase implements Col
     public String executeAs() {
         return executeAs;
     }
+
+    /**
+     * Ordering to apply on the foreign server, only set together with a {@link #limit()}
+     */
+    @Nullable
+    public OrderBy orderBy() {
+        return orderBy;
+    }
+
+    /**
+     * Max number of rows to fetch from the foreign server, or {@link LimitAndOffset#NO_LIMIT}
+     */
+    public int limit() {
+        return limit;
+    }
 }
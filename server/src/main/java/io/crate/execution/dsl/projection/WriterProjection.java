@@ -66,7 +66,8 @@ public class WriterProjection extends Projection {
 
     public enum OutputFormat {
         JSON_OBJECT,
-        JSON_ARRAY
+        JSON_ARRAY,
+        PARQUET
     }
 
     private final CompressionType compressionType;
@@ -23,7 +23,9 @@ package io.crate.execution.engine;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
@@ -34,11 +36,13 @@ import java.util.stream.Collector;
 
 import io.crate.data.Row;
 import io.crate.data.breaker.RamAccounting;
+import io.crate.execution.engine.join.RuntimeJoinFilter;
 import io.crate.expression.symbol.SelectSymbol.ResultType;
 import io.crate.types.DataType;
 
 /**
- * Collectors to retrieve either {@link AllValues} or a {@link SingleValue} of the first column of each row.
+ * Collectors to retrieve either {@link AllValues}, a {@link SingleValue} or a {@link RuntimeJoinFilter} of the first
+ * column of each row.
  */
 public class FirstColumnConsumers {
 
@@ -131,10 +135,56 @@ public class FirstColumnConsumers {
 
     }
 
+    private static class RuntimeFilterValues implements Collector<Row, Set<Object>, Map<String, Object>> {
+
+        private final RamAccounting ramAccounting;
+        private final DataType<Object> dataType;
+
+        @SuppressWarnings("unchecked")
+        private RuntimeFilterValues(RamAccounting ramAccounting, DataType<?> dataType) {
+            this.ramAccounting = ramAccounting;
+            this.dataType = (DataType<Object>) dataType;
+        }
+
+        @Override
+        public Supplier<Set<Object>> supplier() {
+            return HashSet::new;
+        }
+
+        @Override
+        public BiConsumer<Set<Object>, Row> accumulator() {
+            return (agg, row) -> {
+                Object value = row.get(0);
+                // NULL never matches in an equi-join
+                if (value != null && agg.add(value)) {
+                    ramAccounting.addBytes(dataType.valueBytes(value));
+                }
+            };
+        }
+
+        @Override
+        public BinaryOperator<Set<Object>> combiner() {
+            throw new IllegalStateException("Combine is not implemented on this collector");
+        }
+
+        @Override
+        public Function<Set<Object>, Map<String, Object>> finisher() {
+            return agg -> RuntimeJoinFilter.build(agg, dataType);
+        }
+
+        @Override
+        public Set<Characteristics> characteristics() {
+            return Collections.emptySet();
+        }
+    }
+
     public static Collector<Row, ?, ?> getCollector(ResultType resultType, DataType<?> dataType, RamAccounting ramAccounting) {
         if (resultType == ResultType.SINGLE_COLUMN_SINGLE_VALUE) {
             return SingleValue.INSTANCE;
         }
+        if (resultType == ResultType.SINGLE_COLUMN_RUNTIME_FILTER) {
+            return new RuntimeFilterValues(ramAccounting, dataType);
+        }
         return new AllValues(ramAccounting, dataType);
     }
 }
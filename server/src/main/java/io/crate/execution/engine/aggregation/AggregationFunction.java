@@ -36,6 +36,7 @@ import io.crate.metadata.FunctionImplementation;
 import io.crate.metadata.Reference;
 import io.crate.metadata.doc.DocTableInfo;
 import io.crate.types.DataType;
+import io.netty.buffer.ByteBuf;
 
 /**
  * A special FunctionImplementation that compute a single result from a set of input values
@@ -117,6 +118,34 @@ public abstract class AggregationFunction<TPartial, TFinal> implements FunctionI
                                                 "not removable cumulative");
     }
 
+    /**
+     * Size in bytes of the state if it can be kept in a fixed-width slot of a buffer instead of a state object,
+     * see {@link #iterate(ByteBuf, int, Input[])} and {@link #partialState(ByteBuf, int)}.
+     *
+     * @return the number of bytes or -1 if the state needs an object.
+     */
+    public int fixedStateSize() {
+        return -1;
+    }
+
+    /**
+     * Like {@link #iterate(RamAccounting, MemoryManager, Object, Input[])} but on a state kept in
+     * {@link #fixedStateSize()} bytes of {@code buffer} at {@code offset}. A new state is all zeros.
+     */
+    public void iterate(ByteBuf buffer, int offset, Input<?>... args) {
+        throw new UnsupportedOperationException(
+            "Aggregation " + signature().getName().displayName() + " has no fixed-width state");
+    }
+
+    /**
+     * @return the partial state kept in a slot by {@link #iterate(ByteBuf, int, Input[])},
+     *         as {@link #iterate(RamAccounting, MemoryManager, Object, Input[])} would have returned it.
+     */
+    public TPartial partialState(ByteBuf buffer, int offset) {
+        throw new UnsupportedOperationException(
+            "Aggregation " + signature().getName().displayName() + " has no fixed-width state");
+    }
+
     /**
      * @param referenceResolver A LuceneReferenceResolver to resolve references.
      * @param aggregationReferences contains a list of references of the size of the input values of the function.
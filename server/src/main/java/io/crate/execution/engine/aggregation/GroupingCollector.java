@@ -30,7 +30,10 @@ import io.crate.expression.InputCondition;
 import io.crate.expression.symbol.AggregateMode;
 import io.crate.memory.MemoryManager;
 import io.crate.types.DataType;
+import io.netty.buffer.ByteBuf;
+import org.apache.lucene.util.RamUsageEstimator;
 import org.elasticsearch.Version;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -48,10 +51,24 @@ import java.util.stream.Collector;
 /**
  * Collector implementation which uses {@link AggregateMode}s and {@code keyInputs}
  * to group rows by key and aggregate the grouped values.
+ * <p>
+ * If all aggregations have a {@link AggregationFunction#fixedStateSize() fixed-width state} and the mode
+ * iterates, the states of a group are kept next to each other in pages allocated via the {@link MemoryManager}
+ * and the map holds a {@link Slot} per group instead of an array of state objects.
  *
  * @param <K> type of the key
  */
-public class GroupingCollector<K> implements Collector<Row, Map<K, Object[]>, Iterable<Row>> {
+public class GroupingCollector<K> implements Collector<Row, Map<K, Object>, Iterable<Row>> {
+
+    private static final int PAGE_SIZE = 16 * 1024;
+
+    private static final long SLOT_SIZE = RamUsageEstimator.shallowSizeOfInstance(Slot.class);
+
+    /**
+     * Location of the states of a group within a page
+     */
+    private record Slot(ByteBuf page, int offset) {
+    }
 
     private final CollectExpression<Row, ?>[] expressions;
     private final AggregationFunction[] aggregations;
@@ -62,13 +79,24 @@ public class GroupingCollector<K> implements Collector<Row, Map<K, Object[]>, It
     private final MemoryManager memoryManager;
     private final BiConsumer<K, Object[]> applyKeyToCells;
     private final int numKeyColumns;
-    private final BiConsumer<Map<K, Object[]>, K> accountForNewEntry;
+    private final BiConsumer<Map<K, Object>, K> accountForNewEntry;
     private final Function<Row, K> keyExtractor;
     private final Version indexVersionCreated;
-    private final BiConsumer<Map<K, Object[]>, Row> accumulator;
-    private final Supplier<Map<K, Object[]>> supplier;
+    private final BiConsumer<Map<K, Object>, Row> accumulator;
+    private final Supplier<Map<K, Object>> supplier;
     private final Version minNodeVersion;
 
+    /**
+     * Offsets of the aggregation states within a slot, null if the states are objects
+     */
+    @Nullable
+    private final int[] stateOffsets;
+    private final int slotSize;
+
+    @Nullable
+    private ByteBuf page;
+    private int pageOffset;
+
     static GroupingCollector<Object> singleKey(CollectExpression<Row, ?>[] expressions,
                                                AggregateMode mode,
                                                AggregationFunction[] aggregations,
@@ -151,10 +179,10 @@ public class GroupingCollector<K> implements Collector<Row, Map<K, Object[]>, It
                               Version minNodeVersion,
                               BiConsumer<K, Object[]> applyKeyToCells,
                               int numKeyColumns,
-                              BiConsumer<Map<K, Object[]>, K> accountForNewEntry,
+                              BiConsumer<Map<K, Object>, K> accountForNewEntry,
                               Function<Row, K> keyExtractor,
                               Version indexVersionCreated,
-                              Supplier<Map<K, Object[]>> supplier) {
+                              Supplier<Map<K, Object>> supplier) {
         this.expressions = expressions;
         this.aggregations = aggregations;
         this.mode = mode;
@@ -167,30 +195,65 @@ public class GroupingCollector<K> implements Collector<Row, Map<K, Object[]>, It
         this.accountForNewEntry = accountForNewEntry;
         this.keyExtractor = keyExtractor;
         this.indexVersionCreated = indexVersionCreated;
-        this.accumulator = mode == AggregateMode.PARTIAL_FINAL ? this::reduce : this::iter;
-        this.supplier = supplier;
+        this.stateOffsets = mode == AggregateMode.PARTIAL_FINAL ? null : stateOffsets(aggregations);
+        this.slotSize = stateOffsets == null ? 0 : stateOffsets[aggregations.length];
+        if (mode == AggregateMode.PARTIAL_FINAL) {
+            this.accumulator = this::reduce;
+        } else {
+            this.accumulator = stateOffsets == null ? this::iter : this::iterSlot;
+        }
+        this.supplier = () -> {
+            page = null;
+            return supplier.get();
+        };
         this.minNodeVersion = minNodeVersion;
     }
 
+    /**
+     * @return the offsets of the states within a slot followed by the slot size,
+     *         or null if an aggregation has no fixed-width state or the states don't fit into a page.
+     */
+    @Nullable
+    private static int[] stateOffsets(AggregationFunction[] aggregations) {
+        if (aggregations.length == 0) {
+            return null;
+        }
+        int[] offsets = new int[aggregations.length + 1];
+        int offset = 0;
+        for (int i = 0; i < aggregations.length; i++) {
+            int size = aggregations[i].fixedStateSize();
+            if (size < 0) {
+                return null;
+            }
+            offsets[i] = offset;
+            offset += size;
+        }
+        if (offset > PAGE_SIZE) {
+            return null;
+        }
+        offsets[aggregations.length] = offset;
+        return offsets;
+    }
+
     @Override
-    public Supplier<Map<K, Object[]>> supplier() {
+    public Supplier<Map<K, Object>> supplier() {
         return supplier;
     }
 
     @Override
-    public BiConsumer<Map<K, Object[]>, Row> accumulator() {
+    public BiConsumer<Map<K, Object>, Row> accumulator() {
         return accumulator;
     }
 
     @Override
-    public BinaryOperator<Map<K, Object[]>> combiner() {
+    public BinaryOperator<Map<K, Object>> combiner() {
         return (state1, state2) -> {
             throw new UnsupportedOperationException("combine not supported");
         };
     }
 
     @Override
-    public Function<Map<K, Object[]>, Iterable<Row>> finisher() {
+    public Function<Map<K, Object>, Iterable<Row>> finisher() {
         return this::mapToRows;
     }
 
@@ -199,12 +262,12 @@ public class GroupingCollector<K> implements Collector<Row, Map<K, Object[]>, It
         return Collections.emptySet();
     }
 
-    private void reduce(Map<K, Object[]> statesByKey, Row row) {
+    private void reduce(Map<K, Object> statesByKey, Row row) {
         for (CollectExpression<Row, ?> expression : expressions) {
             expression.setNextRow(row);
         }
         K key = keyExtractor.apply(row);
-        Object[] states = statesByKey.get(key);
+        Object[] states = (Object[]) statesByKey.get(key);
         if (states == null) {
             states = new Object[aggregations.length];
             for (int i = 0; i < aggregations.length; i++) {
@@ -218,17 +281,17 @@ public class GroupingCollector<K> implements Collector<Row, Map<K, Object[]>, It
         }
     }
 
-    private void addWithAccounting(Map<K, Object[]> statesByKey, K key, Object[] states) {
+    private void addWithAccounting(Map<K, Object> statesByKey, K key, Object states) {
         accountForNewEntry.accept(statesByKey, key);
         statesByKey.put(key, states);
     }
 
-    private void iter(Map<K, Object[]> statesByKey, Row row) {
+    private void iter(Map<K, Object> statesByKey, Row row) {
         for (CollectExpression<Row, ?> expression : expressions) {
             expression.setNextRow(row);
         }
         K key = keyExtractor.apply(row);
-        Object[] states = statesByKey.get(key);
+        Object[] states = (Object[]) statesByKey.get(key);
         if (states == null) {
             addNewEntry(statesByKey, key);
         } else {
@@ -241,7 +304,7 @@ public class GroupingCollector<K> implements Collector<Row, Map<K, Object[]>, It
         }
     }
 
-    private void addNewEntry(Map<K, Object[]> statesByKey, K key) {
+    private void addNewEntry(Map<K, Object> statesByKey, K key) {
         Object[] states;
         states = new Object[aggregations.length];
         for (int i = 0; i < aggregations.length; i++) {
@@ -258,10 +321,50 @@ public class GroupingCollector<K> implements Collector<Row, Map<K, Object[]>, It
         addWithAccounting(statesByKey, key, states);
     }
 
-    private Iterable<Row> mapToRows(Map<K, Object[]> statesByKey) {
+    private void iterSlot(Map<K, Object> statesByKey, Row row) {
+        for (CollectExpression<Row, ?> expression : expressions) {
+            expression.setNextRow(row);
+        }
+        K key = keyExtractor.apply(row);
+        Slot slot = (Slot) statesByKey.get(key);
+        if (slot == null) {
+            slot = newSlot();
+            addWithAccounting(statesByKey, key, slot);
+        }
+        for (int i = 0; i < aggregations.length; i++) {
+            if (InputCondition.matches(filters[i])) {
+                aggregations[i].iterate(slot.page, slot.offset + stateOffsets[i], inputs[i]);
+            }
+        }
+    }
+
+    private Slot newSlot() {
+        if (page == null || PAGE_SIZE - pageOffset < slotSize) {
+            // Buffers of the memory manager are zeroed and accounted, zero is the initial state of all aggregations
+            page = memoryManager.allocate(PAGE_SIZE);
+            pageOffset = 0;
+        }
+        Slot slot = new Slot(page, pageOffset);
+        pageOffset += slotSize;
+        ramAccounting.addBytes(SLOT_SIZE);
+        return slot;
+    }
+
+    private Object[] states(Object value) {
+        if (value instanceof Slot slot) {
+            Object[] states = new Object[aggregations.length];
+            for (int i = 0; i < aggregations.length; i++) {
+                states[i] = aggregations[i].partialState(slot.page, slot.offset + stateOffsets[i]);
+            }
+            return states;
+        }
+        return (Object[]) value;
+    }
+
+    private Iterable<Row> mapToRows(Map<K, Object> statesByKey) {
 
         return () -> new Iterator<>() {
-            final Iterator<Map.Entry<K, Object[]>> iterator = statesByKey.entrySet().iterator();
+            final Iterator<Map.Entry<K, Object>> iterator = statesByKey.entrySet().iterator();
             final RowN row = new RowN(numKeyColumns + aggregations.length);
             final Object[] cells = new Object[row.numColumns()];
 
@@ -276,11 +379,11 @@ public class GroupingCollector<K> implements Collector<Row, Map<K, Object[]>, It
 
             @Override
             public Row next() {
-                Map.Entry<K, Object[]> input = iterator.next();
+                Map.Entry<K, Object> input = iterator.next();
                 assert input != null : "input must not be null";
                 applyKeyToCells.accept(input.getKey(), cells);
                 int c = numKeyColumns;
-                Object[] states = input.getValue();
+                Object[] states = states(input.getValue());
                 for (int i = 0; i < states.length; i++) {
                     cells[c] = mode.finishCollect(ramAccounting, aggregations[i], states[i]);
                     c++;
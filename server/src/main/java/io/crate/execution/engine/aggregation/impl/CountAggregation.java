@@ -69,6 +69,7 @@ import io.crate.types.ShortType;
 import io.crate.types.StringType;
 import io.crate.types.TimestampType;
 import io.crate.types.TypeSignature;
+import io.netty.buffer.ByteBuf;
 
 public class CountAggregation extends AggregationFunction<MutableLong, Long> {
 
@@ -126,6 +127,23 @@ public class CountAggregation extends AggregationFunction<MutableLong, Long> {
         return state;
     }
 
+    @Override
+    public int fixedStateSize() {
+        return Long.BYTES;
+    }
+
+    @Override
+    public void iterate(ByteBuf buffer, int offset, Input<?>... args) {
+        if (!hasArgs || args[0].value() != null) {
+            buffer.setLong(offset, buffer.getLong(offset) + 1L);
+        }
+    }
+
+    @Override
+    public MutableLong partialState(ByteBuf buffer, int offset) {
+        return new MutableLong(buffer.getLong(offset));
+    }
+
     @Nullable
     @Override
     public MutableLong newState(RamAccounting ramAccounting,
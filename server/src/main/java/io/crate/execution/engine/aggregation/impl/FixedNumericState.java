@@ -0,0 +1,89 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+
+package io.crate.execution.engine.aggregation.impl;
+
+import io.crate.types.ByteType;
+import io.crate.types.DataType;
+import io.crate.types.DoubleType;
+import io.crate.types.FloatType;
+import io.crate.types.IntegerType;
+import io.crate.types.LongType;
+import io.crate.types.ShortType;
+import io.crate.types.TimestampType;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Fixed-width state of {@link MinimumAggregation} and {@link MaximumAggregation} on numeric types:
+ * A flag byte that is set once a value was stored, followed by the value.
+ * Integral types and timestamps are stored as long, floating point types as double.
+ */
+final class FixedNumericState {
+
+    static final int SIZE = 1 + Long.BYTES;
+
+    private FixedNumericState() {
+    }
+
+    static boolean supports(DataType<?> type) {
+        return switch (type.id()) {
+            case ByteType.ID, ShortType.ID, IntegerType.ID, LongType.ID,
+                TimestampType.ID_WITH_TZ, TimestampType.ID_WITHOUT_TZ,
+                FloatType.ID, DoubleType.ID -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Stores {@code value} if the slot is empty or if {@code value} compared to the stored value has the given sign.
+     */
+    static void keep(ByteBuf buffer, int offset, DataType<?> type, Number value, int sign) {
+        boolean empty = buffer.getByte(offset) == 0;
+        if (type.id() == FloatType.ID || type.id() == DoubleType.ID) {
+            double doubleValue = value.doubleValue();
+            if (empty || Integer.signum(Double.compare(doubleValue, buffer.getDouble(offset + 1))) == sign) {
+                buffer.setByte(offset, 1);
+                buffer.setDouble(offset + 1, doubleValue);
+            }
+        } else {
+            long longValue = value.longValue();
+            if (empty || Integer.signum(Long.compare(longValue, buffer.getLong(offset + 1))) == sign) {
+                buffer.setByte(offset, 1);
+                buffer.setLong(offset + 1, longValue);
+            }
+        }
+    }
+
+    static Object get(ByteBuf buffer, int offset, DataType<?> type) {
+        if (buffer.getByte(offset) == 0) {
+            return null;
+        }
+        return switch (type.id()) {
+            case ByteType.ID -> (byte) buffer.getLong(offset + 1);
+            case ShortType.ID -> (short) buffer.getLong(offset + 1);
+            case IntegerType.ID -> (int) buffer.getLong(offset + 1);
+            case FloatType.ID -> (float) buffer.getDouble(offset + 1);
+            case DoubleType.ID -> buffer.getDouble(offset + 1);
+            default -> buffer.getLong(offset + 1);
+        };
+    }
+}
@@ -59,6 +59,7 @@ import io.crate.types.IntegerType;
 import io.crate.types.LongType;
 import io.crate.types.ShortType;
 import io.crate.types.TimestampType;
+import io.netty.buffer.ByteBuf;
 
 public abstract class MinimumAggregation extends AggregationFunction<Object, Object> {
 
@@ -292,6 +293,24 @@ public abstract class MinimumAggregation extends AggregationFunction<Object, Obj
             return null;
         }
 
+        @Override
+        public int fixedStateSize() {
+            return FixedNumericState.supports(type) ? FixedNumericState.SIZE : -1;
+        }
+
+        @Override
+        public void iterate(ByteBuf buffer, int offset, Input<?>... args) {
+            Number value = (Number) args[0].value();
+            if (value != null) {
+                FixedNumericState.keep(buffer, offset, type, value, -1);
+            }
+        }
+
+        @Override
+        public Object partialState(ByteBuf buffer, int offset) {
+            return FixedNumericState.get(buffer, offset, type);
+        }
+
         @Override
         public Object reduce(RamAccounting ramAccounting, Object state1, Object state2) {
             if (state1 == null) {
@@ -62,6 +62,7 @@ import io.crate.types.FloatType;
 import io.crate.types.IntegerType;
 import io.crate.types.LongType;
 import io.crate.types.ShortType;
+import io.netty.buffer.ByteBuf;
 
 public class SumAggregation<T extends Number> extends AggregationFunction<T, T> {
 
@@ -148,6 +149,50 @@ public class SumAggregation<T extends Number> extends AggregationFunction<T, T>
         return reduce(ramAccounting, state, returnType.sanitizeValue(args[0].value()));
     }
 
+    /**
+     * A flag byte that is set once a value was added, followed by the sum and,
+     * for doubles, the compensation of the Kahan summation.
+     */
+    @Override
+    public int fixedStateSize() {
+        if (returnType == DataTypes.LONG) {
+            return 1 + Long.BYTES;
+        } else if (returnType == DataTypes.DOUBLE) {
+            return 1 + 2 * Double.BYTES;
+        }
+        return -1;
+    }
+
+    @Override
+    public void iterate(ByteBuf buffer, int offset, Input<?>... args) {
+        Number value = (Number) args[0].value();
+        if (value == null) {
+            return;
+        }
+        buffer.setByte(offset, 1);
+        if (returnType == DataTypes.LONG) {
+            buffer.setLong(offset + 1, Math.addExact(buffer.getLong(offset + 1), value.longValue()));
+        } else {
+            double sum = buffer.getDouble(offset + 1);
+            double correctedValue = value.doubleValue() - buffer.getDouble(offset + 1 + Double.BYTES);
+            double newSum = sum + correctedValue;
+            buffer.setDouble(offset + 1 + Double.BYTES, (newSum - sum) - correctedValue);
+            buffer.setDouble(offset + 1, newSum);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T partialState(ByteBuf buffer, int offset) {
+        if (buffer.getByte(offset) == 0) {
+            return null;
+        }
+        if (returnType == DataTypes.LONG) {
+            return (T) (Long) buffer.getLong(offset + 1);
+        }
+        return (T) (Double) buffer.getDouble(offset + 1);
+    }
+
     @Override
     public T reduce(RamAccounting ramAccounting, T state1, T state2) {
         if (state1 == null) {
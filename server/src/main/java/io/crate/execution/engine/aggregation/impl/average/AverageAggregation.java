@@ -60,6 +60,7 @@ import io.crate.types.FloatType;
 import io.crate.types.IntegerType;
 import io.crate.types.LongType;
 import io.crate.types.ShortType;
+import io.netty.buffer.ByteBuf;
 
 public class AverageAggregation extends AggregationFunction<AverageAggregation.AverageState, Double> {
 
@@ -99,6 +100,14 @@ public class AverageAggregation extends AggregationFunction<AverageAggregation.A
         private long count = 0;
         private final KahanSummationForDouble kahanSummationForDouble = new KahanSummationForDouble();
 
+        public AverageState() {
+        }
+
+        AverageState(double sum, long count) {
+            this.sum = sum;
+            this.count = count;
+        }
+
         public Double value() {
             if (count > 0) {
                 return sum / count;
@@ -245,6 +254,38 @@ public class AverageAggregation extends AggregationFunction<AverageAggregation.A
         return state;
     }
 
+    /**
+     * The sum, the compensation of the Kahan summation and the count.
+     */
+    @Override
+    public int fixedStateSize() {
+        return 2 * Double.BYTES + Long.BYTES;
+    }
+
+    @Override
+    public void iterate(ByteBuf buffer, int offset, Input<?>... args) {
+        Number value = (Number) args[0].value();
+        if (value == null) {
+            return;
+        }
+        double sum = buffer.getDouble(offset);
+        if (isIntegral) {
+            buffer.setDouble(offset, sum + value.doubleValue());
+        } else {
+            double correctedValue = value.doubleValue() - buffer.getDouble(offset + Double.BYTES);
+            double newSum = sum + correctedValue;
+            buffer.setDouble(offset + Double.BYTES, (newSum - sum) - correctedValue);
+            buffer.setDouble(offset, newSum);
+        }
+        int countOffset = offset + 2 * Double.BYTES;
+        buffer.setLong(countOffset, buffer.getLong(countOffset) + 1);
+    }
+
+    @Override
+    public AverageState partialState(ByteBuf buffer, int offset) {
+        return new AverageState(buffer.getDouble(offset), buffer.getLong(offset + 2 * Double.BYTES));
+    }
+
     @Override
     public boolean isRemovableCumulative() {
         return true;
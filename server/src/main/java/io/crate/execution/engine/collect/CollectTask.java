@@ -23,10 +23,12 @@ package io.crate.execution.engine.collect;
 
 import java.util.ArrayList;
 import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.apache.lucene.search.IndexSearcher;
 import org.elasticsearch.Version;
@@ -78,6 +80,8 @@ public class CollectTask implements Task {
 
     private long totalBytes = -1;
 
+    private volatile Supplier<Map<String, Object>> stats = Map::of;
+
     public CollectTask(CollectPhase collectPhase,
                        TransactionContext txnCtx,
                        MapSideDataCollectOperation collectOperation,
@@ -215,6 +219,18 @@ public class CollectTask implements Task {
         }
     }
 
+    /**
+     * Used by collect sources to expose statistics of the collect operation
+     */
+    public void statsSupplier(Supplier<Map<String, Object>> stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        return stats.get();
+    }
+
     @Override
     public String name() {
         return collectPhase.name();
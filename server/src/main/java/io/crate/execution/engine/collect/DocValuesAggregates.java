@@ -63,6 +63,7 @@ import io.crate.expression.symbol.Literal;
 import io.crate.expression.symbol.Symbol;
 import io.crate.expression.symbol.SymbolVisitor;
 import io.crate.lucene.LuceneQueryBuilder;
+import io.crate.lucene.ZoneMap;
 import io.crate.memory.MemoryManager;
 import io.crate.metadata.FunctionImplementation;
 import io.crate.metadata.Functions;
@@ -233,13 +234,18 @@ public final class DocValuesAggregates {
                                         IndexSearcher searcher,
                                         Query query,
                                         List<DocValueAggregator> aggregators) throws IOException {
-        Weight weight = searcher.createWeight(searcher.rewrite(query), ScoreMode.COMPLETE_NO_SCORES, 1f);
+        Query rewrittenQuery = searcher.rewrite(query);
+        ZoneMap zoneMap = ZoneMap.of(rewrittenQuery);
+        Weight weight = searcher.createWeight(rewrittenQuery, ScoreMode.COMPLETE_NO_SCORES, 1f);
         List<LeafReaderContext> leaves = searcher.getTopReaderContext().leaves();
         Object[] cells = new Object[aggregators.size()];
         for (int i = 0; i < aggregators.size(); i++) {
             cells[i] = aggregators.get(i).initialState(ramAccounting, memoryManager, minNodeVersion);
         }
         for (var leaf : leaves) {
+            if (!zoneMap.canMatch(leaf.reader())) {
+                continue;
+            }
             Scorer scorer = weight.scorer(leaf);
             if (scorer == null) {
                 continue;
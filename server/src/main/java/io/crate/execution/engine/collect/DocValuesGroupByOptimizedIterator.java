@@ -73,6 +73,7 @@ import io.crate.expression.symbol.InputColumn;
 import io.crate.expression.symbol.Symbol;
 import io.crate.expression.symbol.Symbols;
 import io.crate.lucene.LuceneQueryBuilder;
+import io.crate.lucene.ZoneMap;
 import io.crate.memory.MemoryManager;
 import io.crate.metadata.DocReferences;
 import io.crate.metadata.Functions;
@@ -339,14 +340,19 @@ final class DocValuesGroupByOptimizedIterator {
         ) throws IOException {
 
             HashMap<K, Object[]> statesByKey = new HashMap<>();
+            Query rewrittenQuery = indexSearcher.rewrite(query);
+            ZoneMap zoneMap = ZoneMap.of(rewrittenQuery);
             Weight weight = indexSearcher.createWeight(
-                indexSearcher.rewrite(query),
+                rewrittenQuery,
                 ScoreMode.COMPLETE_NO_SCORES,
                 1f
             );
             List<LeafReaderContext> leaves = indexSearcher.getTopReaderContext().leaves();
             for (var leaf : leaves) {
                 raiseIfClosedOrKilled(killed);
+                if (!zoneMap.canMatch(leaf.reader())) {
+                    continue;
+                }
                 Scorer scorer = weight.scorer(leaf);
                 if (scorer == null) {
                     continue;
@@ -81,6 +81,7 @@ import io.crate.expression.symbol.InputColumn;
 import io.crate.expression.symbol.Symbol;
 import io.crate.expression.symbol.Symbols;
 import io.crate.lucene.LuceneQueryBuilder;
+import io.crate.lucene.ZoneMap;
 import io.crate.memory.MemoryManager;
 import io.crate.metadata.DocReferences;
 import io.crate.metadata.Reference;
@@ -279,12 +280,17 @@ final class GroupByOptimizedIterator {
                                                                        Query query,
                                                                        AtomicReference<Throwable> killed) throws IOException {
         final HashMap<BytesRef, Object[]> statesByKey = new HashMap<>();
-        final Weight weight = indexSearcher.createWeight(indexSearcher.rewrite(query), ScoreMode.COMPLETE_NO_SCORES, 1f);
+        final Query rewrittenQuery = indexSearcher.rewrite(query);
+        final ZoneMap zoneMap = ZoneMap.of(rewrittenQuery);
+        final Weight weight = indexSearcher.createWeight(rewrittenQuery, ScoreMode.COMPLETE_NO_SCORES, 1f);
         final List<LeafReaderContext> leaves = indexSearcher.getTopReaderContext().leaves();
         Object[] nullStates = null;
 
         for (LeafReaderContext leaf: leaves) {
             raiseIfClosedOrKilled(killed);
+            if (!zoneMap.canMatch(leaf.reader())) {
+                continue;
+            }
             Scorer scorer = weight.scorer(leaf);
             if (scorer == null) {
                 continue;
@@ -21,11 +21,15 @@
 
 package io.crate.execution.engine.collect;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Map;
 import java.util.function.Supplier;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.Query;
 import org.elasticsearch.client.ElasticsearchClient;
 import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.settings.Settings;
@@ -57,6 +61,7 @@ import io.crate.expression.reference.doc.lucene.LuceneReferenceResolver;
 import io.crate.expression.reference.sys.shard.ShardRowContext;
 import io.crate.expression.symbol.Symbols;
 import io.crate.lucene.LuceneQueryBuilder;
+import io.crate.lucene.ZoneMap;
 import io.crate.metadata.NodeContext;
 import io.crate.metadata.RelationName;
 import io.crate.metadata.doc.DocSysColumns;
@@ -134,6 +139,9 @@ public class LuceneShardCollectorProvider extends ShardCollectorProvider {
             table,
             indexService.cache()
         );
+        if (!canMatch(searcher.item().getIndexReader(), queryContext.query())) {
+            return InMemoryBatchIterator.empty(SentinelRow.SENTINEL);
+        }
         InputFactory.Context<? extends LuceneCollectorExpression<?>> docCtx =
             docInputFactory.extractImplementations(collectTask.txnCtx(), collectPhase);
 
@@ -234,6 +242,17 @@ public class LuceneShardCollectorProvider extends ShardCollectorProvider {
         );
     }
 
+    /**
+     * Uses the min/max values of the shard to skip it if none of its segments can match the query.
+     */
+    private static boolean canMatch(IndexReader reader, Query query) {
+        try {
+            return ZoneMap.of(query).canMatch(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     static String formatSource(RoutedCollectPhase phase) {
         return phase.jobId().toString() + '-' + phase.phaseId() + '-' + phase.name();
     }
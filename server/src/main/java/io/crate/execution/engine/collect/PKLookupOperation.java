@@ -27,15 +27,15 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.UUID;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+import org.apache.lucene.index.LeafReader;
 import org.apache.lucene.index.StoredFields;
 import org.apache.lucene.index.Term;
+import org.elasticsearch.common.lucene.uid.VersionsAndSeqNoResolver.DocIdAndVersion;
 import org.elasticsearch.index.IndexNotFoundException;
 import org.elasticsearch.index.IndexService;
 import org.elasticsearch.index.VersionType;
@@ -46,7 +46,10 @@ import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.index.shard.ShardNotFoundException;
 import org.elasticsearch.indices.IndicesService;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
 
+import io.crate.common.collections.Iterables;
+import io.crate.common.collections.Lists;
 import io.crate.data.BatchIterator;
 import io.crate.data.CompositeBatchIterator;
 import io.crate.data.InMemoryBatchIterator;
@@ -68,6 +71,8 @@ import io.crate.planner.operators.PKAndVersion;
 
 public final class PKLookupOperation {
 
+    private static final int LOOKUP_BATCH_SIZE = 4096;
+
     private final IndicesService indicesService;
     private final ShardCollectSource shardCollectSource;
 
@@ -96,30 +101,95 @@ public final class PKLookupOperation {
             if (docIdAndVersion == null) {
                 return null;
             }
-            SourceFieldVisitor visitor = new SourceFieldVisitor();
             try {
-                StoredFields storedFields = docIdAndVersion.reader.storedFields();
-                storedFields.document(docIdAndVersion.docId, visitor);
+                return toDoc(shard, id, docIdAndVersion, docIdAndVersion.reader.storedFields(), sourceParser);
             } catch (IOException e) {
                 throw new UncheckedIOException(e);
             }
-            Map<String, Object> sourceMap;
-            if (sourceParser == null) {
-                sourceMap = Map.of();
-            } else {
-                sourceMap = sourceParser.parse(visitor.source());
+        }
+    }
+
+    /**
+     * Lazily looks up the documents of the primary keys in batches of {@code batchSize}.
+     * Within a batch the documents are returned in doc id order and not in the order of {@code pkAndVersions}.
+     * Missing documents are skipped.
+     */
+    @VisibleForTesting
+    static Iterable<Doc> lookupDocs(IndexShard shard,
+                                    List<PKAndVersion> pkAndVersions,
+                                    int batchSize,
+                                    @Nullable SourceParser sourceParser) {
+        return Iterables.concat(Iterables.transform(
+            Lists.partition(pkAndVersions, batchSize),
+            batch -> lookupDocs(shard, batch, sourceParser)
+        ));
+    }
+
+    /**
+     * Looks up the documents of multiple primary keys using {@link IndexShard#multiGet(List, BiConsumer)}.
+     * The documents are returned in doc id order, missing documents are skipped.
+     */
+    private static List<Doc> lookupDocs(IndexShard shard,
+                                List<PKAndVersion> pkAndVersions,
+                                @Nullable SourceParser sourceParser) {
+        ArrayList<Engine.Get> gets = new ArrayList<>(pkAndVersions.size());
+        for (PKAndVersion pkAndVersion : pkAndVersions) {
+            String id = pkAndVersion.id();
+            gets.add(new Engine.Get(id, new Term(DocSysColumns.Names.ID, Uid.encodeId(id)))
+                .version(pkAndVersion.version())
+                .versionType(VersionType.EXTERNAL)
+                .setIfSeqNo(pkAndVersion.seqNo())
+                .setIfPrimaryTerm(pkAndVersion.primaryTerm()));
+        }
+        ArrayList<Doc> docs = new ArrayList<>(gets.size());
+        shard.multiGet(gets, new BiConsumer<>() {
+
+            // Re-used while the documents of a segment are read, in doc id order
+            private LeafReader reader;
+            private StoredFields storedFields;
+
+            @Override
+            public void accept(Engine.Get get, @Nullable DocIdAndVersion docIdAndVersion) {
+                if (docIdAndVersion == null) {
+                    return;
+                }
+                try {
+                    if (docIdAndVersion.reader != reader) {
+                        reader = docIdAndVersion.reader;
+                        storedFields = reader.storedFields();
+                    }
+                    docs.add(toDoc(shard, get.id(), docIdAndVersion, storedFields, sourceParser));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
             }
-            return new Doc(
-                docIdAndVersion.docId,
-                shard.shardId().getIndexName(),
-                id,
-                docIdAndVersion.version,
-                docIdAndVersion.seqNo,
-                docIdAndVersion.primaryTerm,
-                sourceMap,
-                () -> visitor.source().utf8ToString()
-            );
+        });
+        return docs;
+    }
+
+    private static Doc toDoc(IndexShard shard,
+                             String id,
+                             DocIdAndVersion docIdAndVersion,
+                             StoredFields storedFields,
+                             @Nullable SourceParser sourceParser) throws IOException {
+        SourceFieldVisitor visitor = new SourceFieldVisitor();
+        storedFields.document(docIdAndVersion.docId, visitor);
+        Map<String, Object> sourceMap;
+        if (sourceParser == null) {
+            sourceMap = Map.of();
+        } else {
+            sourceMap = sourceParser.parse(visitor.source());
         }
+        return new Doc(
+            docIdAndVersion.docId,
+            shard.shardId().getIndexName(),
+            id,
+            docIdAndVersion.version,
+            docIdAndVersion.seqNo,
+            docIdAndVersion.primaryTerm,
+            sourceMap,
+            () -> visitor.source().utf8ToString()
+        );
     }
 
     public BatchIterator<Row> lookup(UUID jobId,
@@ -149,23 +219,14 @@ public final class PKLookupOperation {
                 }
                 throw new ShardNotFoundException(shardId);
             }
-            Stream<Row> rowStream = idsByShardEntry.getValue().stream()
-                .map(pkAndVersion -> lookupDoc(
-                    shard,
-                    pkAndVersion.id(),
-                    pkAndVersion.version(),
-                    VersionType.EXTERNAL,
-                    pkAndVersion.seqNo(),
-                    pkAndVersion.primaryTerm(),
-                    sourceParser
-                ))
-                .filter(Objects::nonNull)
-                .map(resultToRow);
+            // Documents are resolved in batches, each batch using one searcher
+            Iterable<Row> rows = Iterables.transform(
+                lookupDocs(shard, idsByShardEntry.getValue(), LOOKUP_BATCH_SIZE, sourceParser),
+                resultToRow
+            );
 
             if (projections.isEmpty()) {
-                final Iterable<Row> rowIterable = requiresScroll
-                    ? rowStream.map(row -> new RowN(row.materialize())).collect(Collectors.toList())
-                    : rowStream::iterator;
+                final Iterable<Row> rowIterable = requiresScroll ? materialize(rows) : rows;
                 iterators.add(InMemoryBatchIterator.of(rowIterable, SentinelRow.SENTINEL, true));
             } else {
                 ProjectorFactory projectorFactory;
@@ -185,11 +246,19 @@ public final class PKLookupOperation {
                     memoryManagerSupplier.get(),
                     projectorFactory);
                 final Iterable<Row> rowIterable = requiresScroll && !projectors.providesIndependentScroll()
-                    ? rowStream.map(row -> new RowN(row.materialize())).collect(Collectors.toList())
-                    : rowStream::iterator;
+                    ? materialize(rows)
+                    : rows;
                 iterators.add(projectors.wrap(InMemoryBatchIterator.of(rowIterable, SentinelRow.SENTINEL, true)));
             }
         }
         return CompositeBatchIterator.seqComposite(iterators);
     }
+
+    private static List<Row> materialize(Iterable<Row> rows) {
+        ArrayList<Row> result = new ArrayList<>();
+        for (Row row : rows) {
+            result.add(new RowN(row.materialize()));
+        }
+        return result;
+    }
 }
@@ -47,10 +47,12 @@ import io.crate.execution.engine.fetch.ReaderContext;
 import io.crate.expression.InputRow;
 import io.crate.expression.reference.doc.lucene.CollectorContext;
 import io.crate.expression.reference.doc.lucene.LuceneCollectorExpression;
+import io.crate.lucene.ZoneMap;
 
 /**
  * BatchIterator implementation which exposes the data stored in a lucene index.
  * It supports filtering the data using a lucene {@link Query} or via {@code minScore}.
+ * Segments which can't match the query according to their {@link ZoneMap} are skipped.
  * <p>
  * Row data depends on {@code inputs} and {@code expressions}. The data is unordered.
  */
@@ -64,6 +66,7 @@ public class LuceneBatchIterator implements BatchIterator<Row> {
     private final List<LeafReaderContext> leaves;
     private final InputRow row;
     private Weight weight;
+    private ZoneMap zoneMap;
     private final Float minScore;
 
     private Iterator<LeafReaderContext> leavesIt;
@@ -147,6 +150,9 @@ public class LuceneBatchIterator implements BatchIterator<Row> {
         }
         while (leavesIt.hasNext()) {
             LeafReaderContext leaf = leavesIt.next();
+            if (!zoneMap.canMatch(leaf.reader())) {
+                continue;
+            }
             Scorer scorer = weight.scorer(leaf);
             if (scorer == null) {
                 continue;
@@ -186,7 +192,9 @@ public class LuceneBatchIterator implements BatchIterator<Row> {
             expression.startCollect(collectorContext);
         }
         ScoreMode scoreMode = doScores ? ScoreMode.COMPLETE : ScoreMode.COMPLETE_NO_SCORES;
-        return indexSearcher.createWeight(indexSearcher.rewrite(query), scoreMode, 1f);
+        Query rewrittenQuery = indexSearcher.rewrite(query);
+        zoneMap = ZoneMap.of(rewrittenQuery);
+        return indexSearcher.createWeight(rewrittenQuery, scoreMode, 1f);
     }
 
     @Override
@@ -21,12 +21,14 @@
 
 package io.crate.execution.engine.collect.files;
 
+import static io.crate.analyze.CopyStatementSettings.INPUT_FORMAT_SETTING;
 import static io.crate.common.exceptions.Exceptions.rethrowUnchecked;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.net.URI;
@@ -34,10 +36,12 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
@@ -49,11 +53,12 @@ import org.elasticsearch.action.bulk.BackoffPolicy;
 import org.elasticsearch.common.settings.Settings;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-
 import org.jetbrains.annotations.VisibleForTesting;
+
 import io.crate.common.exceptions.Exceptions;
 import io.crate.common.unit.TimeValue;
 import io.crate.data.BatchIterator;
+import io.crate.data.breaker.RamAccounting;
 
 /**
  * BatchIterator to read lines from one or more {@link URI}s.
@@ -77,6 +82,18 @@ import io.crate.data.BatchIterator;
  * {@link #currentElement()} can be used in a "off-position", before the first {@link #moveNext()} call
  * to gain early access to the cursor.
  * </p>
+ *
+ * <p>
+ * Parquet files are read using a {@link ParquetRowReader}. Their rows are exposed via {@link LineCursor#row()}
+ * instead of a line, the line is null.
+ * </p>
+ *
+ * <p>
+ * The URIs assigned to a node can be further split across several local readers
+ * (see {@link ParallelFileReadingIterator}). Each URI is read by exactly one of them,
+ * the URIs are assigned to the local readers round-robin.
+ * The local readers share an {@link ExpandedUris} instance so that glob patterns are only expanded once.
+ * </p>
  */
 public class FileReadingIterator implements BatchIterator<FileReadingIterator.LineCursor> {
 
@@ -90,7 +107,14 @@ public class FileReadingIterator implements BatchIterator<FileReadingIterator.Li
     private final Boolean shared;
     private final int numReaders;
     private final int readerNumber;
+    private final int numLocalReaders;
+    private final int localReaderNumber;
+    private final ExpandedUris expandedUris;
     private final boolean compressed;
+    @Nullable
+    private final String format;
+    private final List<String> targetColumns;
+    private final RamAccounting ramAccounting;
     private final List<FileInput> fileInputs;
 
     private volatile Throwable killed;
@@ -99,6 +123,12 @@ public class FileReadingIterator implements BatchIterator<FileReadingIterator.Li
     private FileInput currentInput = null;
     private Iterator<URI> currentInputUriIterator = null;
     private BufferedReader currentReader = null;
+    private ParquetRowReader currentRowReader = null;
+
+    /**
+     * Position of the next URI assigned to this node, used to assign URIs round-robin to the local readers.
+     */
+    private long uriOrdinal = 0;
 
     @VisibleForTesting
     long watermark;
@@ -107,19 +137,53 @@ public class FileReadingIterator implements BatchIterator<FileReadingIterator.Li
     private final ScheduledExecutorService scheduler;
     private final Iterator<TimeValue> backOffPolicy;
 
+    /**
+     * Caches the expanded URIs of each {@link FileInput}.
+     * Shared by the local readers of a node, so that a glob pattern is listed only once and all readers
+     * see the same URIs in the same order.
+     */
+    public static final class ExpandedUris {
+
+        private final ConcurrentHashMap<URI, List<URI>> uris = new ConcurrentHashMap<>();
+
+        List<URI> get(FileInput fileInput) throws IOException {
+            try {
+                return uris.computeIfAbsent(fileInput.uri(), _ -> {
+                    try {
+                        return fileInput.expandUri();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
     public static class LineCursor {
         private URI uri;
         private long lineNumber;
         private String line;
+        private LinkedHashMap<String, Object> row;
         private IOException failure;
 
         public LineCursor() {
         }
 
         public LineCursor(URI uri, long lineNumber, @Nullable String line, @Nullable IOException failure) {
+            this(uri, lineNumber, line, null, failure);
+        }
+
+        public LineCursor(URI uri,
+                          long lineNumber,
+                          @Nullable String line,
+                          @Nullable LinkedHashMap<String, Object> row,
+                          @Nullable IOException failure) {
             this.uri = uri;
             this.lineNumber = lineNumber;
             this.line = line;
+            this.row = row;
             this.failure = failure;
         }
 
@@ -136,6 +200,14 @@ public class FileReadingIterator implements BatchIterator<FileReadingIterator.Li
             return line;
         }
 
+        /**
+         * The current row if the file is read row-wise instead of line-wise (Parquet)
+         */
+        @Nullable
+        public LinkedHashMap<String, Object> row() {
+            return row;
+        }
+
         @Nullable
         public IOException failure() {
             return failure;
@@ -143,17 +215,17 @@ public class FileReadingIterator implements BatchIterator<FileReadingIterator.Li
 
         @VisibleForTesting
         public LineCursor copy() {
-            return new LineCursor(uri, lineNumber, line, failure);
+            return new LineCursor(uri, lineNumber, line, row, failure);
         }
 
         @Override
         public String toString() {
-            return "LineCursor{" + uri + ":" + lineNumber + ":line=" + line + ", failure=" + failure + "}";
+            return "LineCursor{" + uri + ":" + lineNumber + ":line=" + line + ", row=" + row + ", failure=" + failure + "}";
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(uri, lineNumber, line, failure);
+            return Objects.hash(uri, lineNumber, line, row, failure);
         }
 
         @Override
@@ -171,6 +243,7 @@ public class FileReadingIterator implements BatchIterator<FileReadingIterator.Li
             return Objects.equals(uri, other.uri)
                 && lineNumber == other.lineNumber
                 && Objects.equals(line, other.line)
+                && Objects.equals(row, other.row)
                 && Objects.equals(failure, other.failure);
         }
     }
@@ -183,12 +256,48 @@ public class FileReadingIterator implements BatchIterator<FileReadingIterator.Li
                                int readerNumber,
                                Settings withClauseOptions,
                                ScheduledExecutorService scheduler) {
+        this(fileUris,
+             compression,
+             fileInputFactories,
+             shared,
+             numReaders,
+             readerNumber,
+             1,
+             0,
+             new ExpandedUris(),
+             List.of(),
+             RamAccounting.NO_ACCOUNTING,
+             withClauseOptions,
+             scheduler);
+    }
+
+    public FileReadingIterator(Collection<URI> fileUris,
+                               String compression,
+                               Map<String, FileInputFactory> fileInputFactories,
+                               Boolean shared,
+                               int numReaders,
+                               int readerNumber,
+                               int numLocalReaders,
+                               int localReaderNumber,
+                               ExpandedUris expandedUris,
+                               List<String> targetColumns,
+                               RamAccounting ramAccounting,
+                               Settings withClauseOptions,
+                               ScheduledExecutorService scheduler) {
+        assert localReaderNumber >= 0 && localReaderNumber < numLocalReaders
+            : "localReaderNumber must be within [0, numLocalReaders)";
         this.compressed = compression != null && compression.equalsIgnoreCase("gzip");
+        this.format = withClauseOptions.get(INPUT_FORMAT_SETTING.getKey());
+        this.targetColumns = targetColumns;
+        this.ramAccounting = ramAccounting;
         this.fileInputFactories = fileInputFactories;
         this.cursor = new LineCursor();
         this.shared = shared;
         this.numReaders = numReaders;
         this.readerNumber = readerNumber;
+        this.numLocalReaders = numLocalReaders;
+        this.localReaderNumber = localReaderNumber;
+        this.expandedUris = expandedUris;
         this.scheduler = scheduler;
         this.backOffPolicy = BackoffPolicy.exponentialBackoff(TimeValue.ZERO, MAX_SOCKET_TIMEOUT_RETRIES).iterator();
 
@@ -214,6 +323,7 @@ public class FileReadingIterator implements BatchIterator<FileReadingIterator.Li
         raiseIfKilled();
         reset();
         watermark = 0;
+        uriOrdinal = 0;
         fileInputsIterator = fileInputs.iterator();
     }
 
@@ -221,7 +331,17 @@ public class FileReadingIterator implements BatchIterator<FileReadingIterator.Li
     public boolean moveNext() {
         raiseIfKilled();
         try {
-            if (currentReader != null) {
+            if (currentRowReader != null) {
+                LinkedHashMap<String, Object> row = currentRowReader.readRow();
+                if (row == null) {
+                    closeReader();
+                    return moveNext();
+                }
+                cursor.lineNumber++;
+                cursor.row = row;
+                cursor.failure = null;
+                return true;
+            } else if (currentReader != null) {
                 String line;
                 try {
                     line = getLine(currentReader);
@@ -267,11 +387,14 @@ public class FileReadingIterator implements BatchIterator<FileReadingIterator.Li
 
     private void advanceToNextFileInput() throws IOException {
         currentInput = fileInputsIterator.next();
-        List<URI> uris = currentInput.expandUri().stream().filter(this::shouldBeReadByCurrentNode).toList();
+        List<URI> uris = expandedUris.get(currentInput).stream().filter(this::shouldBeReadByCurrentNode).toList();
         if (uris.size() > 0) {
-            currentInputUriIterator = uris.iterator();
-            advanceToNextUri(currentInput);
-        } else if (currentInput.isGlobbed()) {
+            currentInputUriIterator = uris.stream().filter(this::shouldBeReadByCurrentReader).toList().iterator();
+            if (currentInputUriIterator.hasNext()) {
+                advanceToNextUri(currentInput);
+            }
+        } else if (currentInput.isGlobbed() && localReaderNumber == 0) {
+            // Only the first local reader reports the failure, the others would see the same URIs
             URI uri = currentInput.uri();
             cursor.uri = uri;
             throw new IOException("Cannot find any URI matching: " + uri.toString());
@@ -287,14 +410,43 @@ public class FileReadingIterator implements BatchIterator<FileReadingIterator.Li
         }
     }
 
+    private boolean shouldBeReadByCurrentReader(URI uri) {
+        // All local readers see the same expanded URIs in the same order, so the ordinal is consistent across them
+        long ordinal = uriOrdinal++;
+        return numLocalReaders == 1 || ordinal % numLocalReaders == localReaderNumber;
+    }
+
     private void createReader(FileInput fileInput, URI uri) throws IOException {
         cursor.uri = uri;
         cursor.lineNumber = 0;
-        InputStream stream = fileInput.getStream(uri);
-        currentReader = createBufferedReader(stream);
+        cursor.line = null;
+        cursor.row = null;
+        if (isParquet(uri)) {
+            // Compression is part of the Parquet format
+            currentRowReader = new ParquetRowReader(fileInput, uri, targetColumns, ramAccounting);
+        } else {
+            InputStream stream = fileInput.getStream(uri);
+            currentReader = createBufferedReader(stream);
+        }
+    }
+
+    /**
+     * The format is only guessed from the extension if none is given explicitly
+     */
+    private boolean isParquet(URI uri) {
+        return format == null ? uri.toString().endsWith(".parquet") : format.equalsIgnoreCase("parquet");
     }
 
     private void closeReader() {
+        cursor.row = null;
+        if (currentRowReader != null) {
+            try {
+                currentRowReader.close();
+            } catch (IOException e) {
+                LOGGER.error("Unable to close reader for " + cursor.uri, e);
+            }
+            currentRowReader = null;
+        }
         if (currentReader != null) {
             try {
                 currentReader.close();
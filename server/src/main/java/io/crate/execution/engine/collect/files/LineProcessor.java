@@ -25,6 +25,7 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
 import java.util.List;
 
 import io.crate.analyze.CopyFromParserProperties;
@@ -50,6 +51,7 @@ public final class LineProcessor extends MappedForwardingBatchIterator<LineCurso
     private InputFormat inputFormat;
     private CSVLineParser csvLineParser;
     private boolean firstLine = true;
+    private long readNanos = 0;
 
     public LineProcessor(BatchIterator<LineCursor> source,
                          List<Input<?>> inputs,
@@ -98,14 +100,36 @@ public final class LineProcessor extends MappedForwardingBatchIterator<LineCurso
     }
 
     private static boolean isCSV(FileUriCollectPhase.InputFormat inputFormat, URI currentUri) {
-        return (inputFormat == FileUriCollectPhase.InputFormat.CSV) || currentUri.toString().endsWith(".csv");
+        // Parquet rows are exposed as parsed rows by the FileReadingIterator
+        return (inputFormat == FileUriCollectPhase.InputFormat.CSV)
+            || (inputFormat != FileUriCollectPhase.InputFormat.PARQUET && currentUri.toString().endsWith(".csv"));
+    }
+
+    /**
+     * Time spent reading lines or rows from the source, the rest of {@link #moveNext()} converts them.
+     */
+    public long readNanos() {
+        return readNanos;
     }
 
     @Override
     public boolean moveNext() {
         try {
-            while (source.moveNext()) {
+            while (true) {
+                long startNanos = System.nanoTime();
+                boolean hasNext = source.moveNext();
+                readNanos += System.nanoTime() - startNanos;
+                if (!hasNext) {
+                    return false;
+                }
                 LineCursor cursor = source.currentElement();
+                LinkedHashMap<String, Object> row = cursor.row();
+                if (row != null) {
+                    // Rows read from columnar files are already parsed
+                    lineContext.resetCurrentParsingFailure();
+                    lineContext.source(row);
+                    return true;
+                }
                 String line = cursor.line();
                 if (line == null) {
                     assert cursor.failure() != null : "If the line is null, there must be a failure";
@@ -126,7 +150,6 @@ public final class LineProcessor extends MappedForwardingBatchIterator<LineCurso
                 }
                 return true;
             }
-            return false;
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -0,0 +1,392 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.engine.collect.files;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import io.crate.common.annotations.GuardedBy;
+import io.crate.common.exceptions.Exceptions;
+import io.crate.data.BatchIterator;
+import io.crate.data.Row;
+import io.crate.data.RowN;
+
+/**
+ * BatchIterator which drives several sources concurrently, each on its own task of the given executor.
+ *
+ * <p>
+ * Used for {@code COPY FROM} with more than one reader per node or from remote files: every source is a
+ * {@link LineProcessor} on top of a {@link FileReadingIterator} that reads a disjoint subset of the URIs. Sources read, parse and
+ * materialize rows in batches. The order of rows of a single source is preserved, rows of different
+ * sources are interleaved in the order their batches complete.
+ * </p>
+ *
+ * <p>
+ * Each source has at most one batch in flight. A source only starts reading its next batch once the
+ * consumer picked up the previous one, which bounds memory to roughly {@code 2 * numSources * batchSize} rows.
+ * </p>
+ */
+public final class ParallelFileReadingIterator implements BatchIterator<Row> {
+
+    private static final Logger LOGGER = LogManager.getLogger(ParallelFileReadingIterator.class);
+
+    private final List<Source> sources;
+    private final Executor executor;
+    private final int batchSize;
+    private final RowN row;
+    private final Stats stats = new Stats();
+
+    @GuardedBy("this")
+    private final ArrayDeque<Batch> readyBatches = new ArrayDeque<>();
+
+    @GuardedBy("this")
+    private int numFinished = 0;
+
+    @GuardedBy("this")
+    @Nullable
+    private CompletableFuture<Void> batchAvailable = null;
+
+    private boolean started = false;
+    private List<Object[]> currentRows = List.of();
+    private int currentIdx = 0;
+
+    private volatile Throwable killed;
+
+    public ParallelFileReadingIterator(List<BatchIterator<Row>> sources,
+                                       int numColumns,
+                                       Executor executor,
+                                       int batchSize) {
+        assert !sources.isEmpty() : "Must have at least one source";
+        assert batchSize > 0 : "batchSize must be greater than 0";
+        this.sources = new ArrayList<>(sources.size());
+        for (BatchIterator<Row> source : sources) {
+            this.sources.add(new Source(source));
+        }
+        this.row = new RowN(numColumns);
+        this.executor = executor;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Row currentElement() {
+        return row;
+    }
+
+    @Override
+    public void moveToStart() {
+        throw new UnsupportedOperationException("ParallelFileReadingIterator doesn't support moveToStart");
+    }
+
+    @Override
+    public boolean moveNext() {
+        raiseIfKilled();
+        startIfNeeded();
+        while (true) {
+            if (currentIdx < currentRows.size()) {
+                row.cells(currentRows.get(currentIdx));
+                currentIdx++;
+                return true;
+            }
+            Batch batch;
+            synchronized (this) {
+                batch = readyBatches.poll();
+            }
+            if (batch == null) {
+                return false;
+            }
+            if (batch.failure != null) {
+                Exceptions.rethrowUnchecked(batch.failure);
+            }
+            currentRows = batch.rows;
+            currentIdx = 0;
+            if (!batch.last) {
+                // Let the source read ahead while the rows of the current batch are consumed
+                batch.source.scheduleRead();
+            }
+        }
+    }
+
+    private void startIfNeeded() {
+        if (!started) {
+            started = true;
+            for (Source source : sources) {
+                source.scheduleRead();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        killed = BatchIterator.CLOSED;
+        for (Source source : sources) {
+            source.closeIfIdle();
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("COPY FROM with {} readers: {}", sources.size(), stats);
+        }
+    }
+
+    @Override
+    public CompletableFuture<?> loadNextBatch() throws Exception {
+        raiseIfKilled();
+        startIfNeeded();
+        CompletableFuture<Void> future;
+        synchronized (this) {
+            if (!readyBatches.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            if (numFinished == sources.size()) {
+                throw new IllegalStateException("All batches already loaded");
+            }
+            if (batchAvailable == null) {
+                batchAvailable = new CompletableFuture<>();
+            }
+            future = batchAvailable;
+        }
+        long startNanos = System.nanoTime();
+        return future.whenComplete((ignored, err) -> stats.waitNanos.add(System.nanoTime() - startNanos));
+    }
+
+    @Override
+    public synchronized boolean allLoaded() {
+        return readyBatches.isEmpty() && numFinished == sources.size();
+    }
+
+    @Override
+    public boolean hasLazyResultSet() {
+        return true;
+    }
+
+    @Override
+    public void kill(@NotNull Throwable throwable) {
+        killed = throwable;
+        for (Source source : sources) {
+            source.delegate.kill(throwable);
+        }
+        CompletableFuture<Void> future;
+        synchronized (this) {
+            future = batchAvailable;
+            batchAvailable = null;
+        }
+        if (future != null) {
+            future.completeExceptionally(throwable);
+        }
+    }
+
+    public Stats stats() {
+        return stats;
+    }
+
+    private void publish(Source source, Batch batch) {
+        CompletableFuture<Void> future;
+        boolean closeSource;
+        synchronized (this) {
+            source.running = false;
+            closeSource = killed != null;
+            readyBatches.add(batch);
+            if (batch.last) {
+                numFinished++;
+            }
+            future = batchAvailable;
+            batchAvailable = null;
+        }
+        if (closeSource) {
+            source.close();
+        }
+        if (future != null) {
+            future.complete(null);
+        }
+    }
+
+    private void raiseIfKilled() {
+        if (killed != null) {
+            Exceptions.rethrowUnchecked(killed);
+        }
+    }
+
+    private record Batch(Source source, List<Object[]> rows, boolean last, @Nullable Throwable failure) {
+    }
+
+    private final class Source {
+
+        private final BatchIterator<Row> delegate;
+
+        /**
+         * Set if the delegate is a LineProcessor to split its time between reading and parsing
+         */
+        @Nullable
+        private final LineProcessor lineProcessor;
+
+        @GuardedBy("ParallelFileReadingIterator.this")
+        private boolean running = false;
+
+        @GuardedBy("ParallelFileReadingIterator.this")
+        private boolean closed = false;
+
+        Source(BatchIterator<Row> delegate) {
+            this.delegate = delegate;
+            this.lineProcessor = delegate instanceof LineProcessor processor ? processor : null;
+        }
+
+        void scheduleRead() {
+            synchronized (ParallelFileReadingIterator.this) {
+                assert !running : "Source must have at most one batch in flight";
+                running = true;
+            }
+            List<Object[]> rows = new ArrayList<>(batchSize);
+            try {
+                executor.execute(() -> read(rows));
+            } catch (Throwable t) {
+                publish(this, new Batch(this, rows, true, t));
+            }
+        }
+
+        private void read(List<Object[]> rows) {
+            try {
+                while (rows.size() < batchSize) {
+                    Throwable kill = killed;
+                    if (kill != null) {
+                        publish(this, new Batch(this, rows, true, kill));
+                        return;
+                    }
+                    long startNanos = System.nanoTime();
+                    long sourceReadNanos = lineProcessor == null ? 0 : lineProcessor.readNanos();
+                    boolean hasNext = delegate.moveNext();
+                    long movedNanos = System.nanoTime();
+                    long readNanos = lineProcessor == null
+                        ? movedNanos - startNanos
+                        : lineProcessor.readNanos() - sourceReadNanos;
+                    stats.readNanos.add(readNanos);
+                    stats.parseNanos.add(movedNanos - startNanos - readNanos);
+                    if (hasNext) {
+                        // Materializing parses the JSON of the line and evaluates the target columns
+                        rows.add(delegate.currentElement().materialize());
+                        stats.parseNanos.add(System.nanoTime() - movedNanos);
+                        stats.numRows.increment();
+                    } else if (delegate.allLoaded()) {
+                        publish(this, new Batch(this, rows, true, null));
+                        return;
+                    } else {
+                        delegate.loadNextBatch().whenComplete((ignored, err) -> {
+                            if (err == null) {
+                                try {
+                                    executor.execute(() -> read(rows));
+                                } catch (Throwable t) {
+                                    publish(this, new Batch(this, rows, true, t));
+                                }
+                            } else {
+                                publish(this, new Batch(this, rows, true, err));
+                            }
+                        });
+                        return;
+                    }
+                }
+                publish(this, new Batch(this, rows, false, null));
+            } catch (Throwable t) {
+                publish(this, new Batch(this, rows, true, t));
+            }
+        }
+
+        void closeIfIdle() {
+            synchronized (ParallelFileReadingIterator.this) {
+                if (running) {
+                    // Closed by the reading task once it finishes its batch
+                    return;
+                }
+            }
+            close();
+        }
+
+        void close() {
+            synchronized (ParallelFileReadingIterator.this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            delegate.close();
+        }
+    }
+
+    /**
+     * Per stage counters to see if reading, parsing or the downstream consumer is the bottleneck.
+     * Reading covers fetching and decompressing lines or rows from the files. Parsing covers converting
+     * CSV lines to JSON, parsing the JSON and evaluating the target columns.
+     * Exposed as {@code stats} of the collect operation in {@code sys.operations} and {@code sys.operations_log}.
+     */
+    public static final class Stats {
+
+        private final LongAdder numRows = new LongAdder();
+        private final LongAdder readNanos = new LongAdder();
+        private final LongAdder parseNanos = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+
+        public long numRows() {
+            return numRows.sum();
+        }
+
+        public long readNanos() {
+            return readNanos.sum();
+        }
+
+        public long parseNanos() {
+            return parseNanos.sum();
+        }
+
+        /**
+         * Time the consumer waited for the sources to produce a batch.
+         */
+        public long waitNanos() {
+            return waitNanos.sum();
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("rows", numRows());
+            map.put("read_ms", TimeUnit.NANOSECONDS.toMillis(readNanos()));
+            map.put("parse_ms", TimeUnit.NANOSECONDS.toMillis(parseNanos()));
+            map.put("wait_ms", TimeUnit.NANOSECONDS.toMillis(waitNanos()));
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{rows=" + numRows()
+                + ", readMs=" + TimeUnit.NANOSECONDS.toMillis(readNanos())
+                + ", parseMs=" + TimeUnit.NANOSECONDS.toMillis(parseNanos())
+                + ", waitMs=" + TimeUnit.NANOSECONDS.toMillis(waitNanos())
+                + "}";
+        }
+    }
+}
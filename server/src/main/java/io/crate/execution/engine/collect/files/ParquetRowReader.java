@@ -0,0 +1,134 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.engine.collect.files;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import org.elasticsearch.common.xcontent.DeprecationHandler;
+import org.elasticsearch.common.xcontent.NamedXContentRegistry;
+import org.elasticsearch.common.xcontent.XContentParser;
+import org.elasticsearch.common.xcontent.json.JsonXContent;
+import org.jetbrains.annotations.Nullable;
+
+import io.crate.data.breaker.RamAccounting;
+import io.crate.parquet.ParquetReader;
+
+/**
+ * Exposes the rows of a Parquet file as maps from column name to value, so that they can be processed like
+ * parsed JSON objects without encoding and parsing them as JSON lines.
+ *
+ * <p>
+ * Parquet requires random access to read the footer and the column chunks of the target columns.
+ * Local files are read in place, files from other sources are downloaded into a temporary file first.
+ * </p>
+ */
+final class ParquetRowReader implements Closeable {
+
+    private final ParquetReader reader;
+    private final List<String> columnNames;
+
+    ParquetRowReader(FileInput fileInput,
+                     URI uri,
+                     List<String> targetColumns,
+                     RamAccounting ramAccounting) throws IOException {
+        SeekableByteChannel channel = openChannel(fileInput, uri);
+        try {
+            this.reader = new ParquetReader(channel, targetColumns, ramAccounting);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.columnNames = reader.columnNames();
+    }
+
+    private static SeekableByteChannel openChannel(FileInput fileInput, URI uri) throws IOException {
+        if ("file".equals(uri.getScheme())) {
+            return FileChannel.open(Paths.get(uri), StandardOpenOption.READ);
+        }
+        Path tmpFile = Files.createTempFile("copy_from", ".parquet");
+        try (InputStream stream = fileInput.getStream(uri)) {
+            Files.copy(stream, tmpFile, StandardCopyOption.REPLACE_EXISTING);
+            return FileChannel.open(tmpFile, StandardOpenOption.READ, StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmpFile);
+            throw e;
+        }
+    }
+
+    /**
+     * @return the next row or null if all rows have been read
+     */
+    @Nullable
+    LinkedHashMap<String, Object> readRow() throws IOException {
+        if (!reader.nextRow()) {
+            return null;
+        }
+        LinkedHashMap<String, Object> row = LinkedHashMap.newLinkedHashMap(columnNames.size());
+        for (int i = 0; i < columnNames.size(); i++) {
+            Object value = reader.get(i);
+            if (value != null && reader.isJson(i)) {
+                value = parseJson(columnNames.get(i), (byte[]) value);
+            }
+            row.put(columnNames.get(i), value);
+        }
+        return row;
+    }
+
+    @Nullable
+    private static Object parseJson(String columnName, byte[] json) throws IOException {
+        try (XContentParser parser = JsonXContent.JSON_XCONTENT.createParser(
+                NamedXContentRegistry.EMPTY, DeprecationHandler.THROW_UNSUPPORTED_OPERATION, json)) {
+            XContentParser.Token token = parser.nextToken();
+            if (token == null) {
+                return null;
+            }
+            return switch (token) {
+                case START_OBJECT -> parser.mapOrdered();
+                case START_ARRAY -> parser.listOrderedMap();
+                case VALUE_STRING -> parser.text();
+                case VALUE_NUMBER -> parser.numberValue();
+                case VALUE_BOOLEAN -> parser.booleanValue();
+                case VALUE_NULL -> null;
+                default -> throw new IOException("Invalid JSON value in parquet column '" + columnName + "'");
+            };
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new IOException("Invalid JSON value in parquet column '" + columnName + "': " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
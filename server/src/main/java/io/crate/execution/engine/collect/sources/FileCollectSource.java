@@ -21,9 +21,11 @@
 
 package io.crate.execution.engine.collect.sources;
 
+import static io.crate.analyze.CopyStatementSettings.READERS_PER_NODE;
 import static java.util.Objects.requireNonNull;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -49,8 +51,10 @@ import io.crate.execution.dsl.phases.FileUriCollectPhase;
 import io.crate.execution.engine.collect.CollectTask;
 import io.crate.execution.engine.collect.files.FileInputFactory;
 import io.crate.execution.engine.collect.files.FileReadingIterator;
+import io.crate.execution.engine.collect.files.FileReadingIterator.ExpandedUris;
 import io.crate.execution.engine.collect.files.LineCollectorExpression;
 import io.crate.execution.engine.collect.files.LineProcessor;
+import io.crate.execution.engine.collect.files.ParallelFileReadingIterator;
 import io.crate.expression.InputFactory;
 import io.crate.expression.reference.file.FileLineReferenceResolver;
 import io.crate.expression.symbol.Symbol;
@@ -64,6 +68,11 @@ import io.crate.types.DataTypes;
 @Singleton
 public class FileCollectSource implements CollectSource {
 
+    /**
+     * Number of rows each reader reads and parses at once if there are several readers per node.
+     */
+    private static final int READ_BATCH_SIZE = 1_000;
+
     private final ClusterService clusterService;
     private final Map<String, FileInputFactory> fileInputFactoryMap;
     private final InputFactory inputFactory;
@@ -91,10 +100,6 @@ public class FileCollectSource implements CollectSource {
                                                              CollectTask collectTask,
                                                              boolean supportMoveToStart) {
         FileUriCollectPhase fileUriCollectPhase = (FileUriCollectPhase) collectPhase;
-        InputFactory.Context<LineCollectorExpression<?>> ctx =
-            inputFactory.ctxForRefs(txnCtx, FileLineReferenceResolver::getImplementation);
-        ctx.add(collectPhase.toCollect());
-
         Role user = requireNonNull(roles.findUser(txnCtx.sessionSettings().userName()), "User who invoked a statement must exist");
         List<URI> fileUris = targetUriToStringList(txnCtx, nodeCtx, fileUriCollectPhase.targetUri()).stream()
             .map(s -> {
@@ -105,6 +110,45 @@ public class FileCollectSource implements CollectSource {
                 return uri;
             })
             .toList();
+        CopyFromParserProperties parserProperties = fileUriCollectPhase.parserProperties();
+        // Skipping the first n lines is only well defined if the lines are read by a single reader
+        int readersPerNode = parserProperties.skipNumLines() > 0
+            ? 1
+            : READERS_PER_NODE.get(fileUriCollectPhase.withClauseOptions());
+        // Reading remote files blocks on the network, a single reader is also moved to a virtual thread
+        // so that it doesn't occupy a thread of the pool driving the collect phase
+        boolean readsRemoteFiles = fileUris.stream().anyMatch(uri -> !uri.getScheme().equals("file"));
+        if (supportMoveToStart || (readersPerNode == 1 && !readsRemoteFiles)) {
+            return CompletableFuture.completedFuture(
+                createLineProcessor(txnCtx, collectTask, fileUriCollectPhase, fileUris, 1, 0, new ExpandedUris()));
+        }
+        ExpandedUris expandedUris = new ExpandedUris();
+        List<BatchIterator<Row>> readers = new ArrayList<>(readersPerNode);
+        for (int i = 0; i < readersPerNode; i++) {
+            readers.add(
+                createLineProcessor(txnCtx, collectTask, fileUriCollectPhase, fileUris, readersPerNode, i, expandedUris));
+        }
+        ParallelFileReadingIterator iterator = new ParallelFileReadingIterator(
+            readers,
+            collectPhase.toCollect().size(),
+            threadPool.executor(ThreadPool.Names.BLOCKING_IO),
+            READ_BATCH_SIZE
+        );
+        collectTask.statsSupplier(iterator.stats()::toMap);
+        return CompletableFuture.completedFuture(iterator);
+    }
+
+    private LineProcessor createLineProcessor(TransactionContext txnCtx,
+                                              CollectTask collectTask,
+                                              FileUriCollectPhase fileUriCollectPhase,
+                                              List<URI> fileUris,
+                                              int numLocalReaders,
+                                              int localReaderNumber,
+                                              ExpandedUris expandedUris) {
+        // Each reader needs its own expressions, they are bound to the line context of the reader
+        InputFactory.Context<LineCollectorExpression<?>> ctx =
+            inputFactory.ctxForRefs(txnCtx, FileLineReferenceResolver::getImplementation);
+        ctx.add(fileUriCollectPhase.toCollect());
         FileReadingIterator fileReadingIterator = new FileReadingIterator(
             fileUris,
             fileUriCollectPhase.compression(),
@@ -112,11 +156,16 @@ public class FileCollectSource implements CollectSource {
             fileUriCollectPhase.sharedStorage(),
             fileUriCollectPhase.nodeIds().size(),
             getReaderNumber(fileUriCollectPhase.nodeIds(), clusterService.state().nodes().getLocalNodeId()),
+            numLocalReaders,
+            localReaderNumber,
+            expandedUris,
+            fileUriCollectPhase.targetColumns(),
+            collectTask.getRamAccounting(),
             fileUriCollectPhase.withClauseOptions(),
             threadPool.scheduler()
         );
         CopyFromParserProperties parserProperties = fileUriCollectPhase.parserProperties();
-        LineProcessor lineProcessor = new LineProcessor(
+        return new LineProcessor(
             parserProperties.skipNumLines() > 0
                 ? new SkippingBatchIterator<>(fileReadingIterator, (int) parserProperties.skipNumLines())
                 : fileReadingIterator,
@@ -126,7 +175,6 @@ public class FileCollectSource implements CollectSource {
             parserProperties,
             fileUriCollectPhase.targetColumns()
         );
-        return CompletableFuture.completedFuture(lineProcessor);
     }
 
     @VisibleForTesting
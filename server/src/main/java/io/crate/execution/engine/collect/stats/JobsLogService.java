@@ -49,7 +49,6 @@ import io.crate.analyze.expressions.ExpressionAnalysisContext;
 import io.crate.analyze.expressions.ExpressionAnalyzer;
 import io.crate.analyze.relations.NameFieldProvider;
 import io.crate.analyze.relations.TableRelation;
-import io.crate.common.collections.BlockingEvictingQueue;
 import io.crate.common.unit.TimeValue;
 import io.crate.data.Input;
 import io.crate.execution.engine.collect.NestableCollectExpression;
@@ -251,28 +250,23 @@ public class JobsLogService extends AbstractLifecycleComponent implements Provid
     }
 
     private <E extends ContextLog> LogSink<E> createSink(int size, TimeValue expiration, ToLongFunction<E> getElementSize, String breaker) {
-        Queue<E> q;
         long expirationMillis = expiration.millis();
-        final Runnable onClose;
         if (size == 0 && expirationMillis == 0) {
             return NoopLogSink.instance();
-        } else if (expirationMillis > 0) {
-            q = new ConcurrentLinkedDeque<>();
-            long delay = 0L;
-            long intervalInMs = clearInterval(expiration);
-            ScheduledFuture<?> scheduledFuture = TimeBasedQEviction.scheduleTruncate(
-                delay,
-                intervalInMs,
-                q,
-                scheduler,
-                expiration
-            );
-            onClose = () -> scheduledFuture.cancel(false);
-        } else {
-            q = new BlockingEvictingQueue<>(size);
-            onClose = () -> {
-            };
+        } else if (expirationMillis == 0) {
+            return new RingBufferSink<>(size, breakerService.getBreaker(breaker), getElementSize);
         }
+        Queue<E> q = new ConcurrentLinkedDeque<>();
+        long delay = 0L;
+        long intervalInMs = clearInterval(expiration);
+        ScheduledFuture<?> scheduledFuture = TimeBasedQEviction.scheduleTruncate(
+            delay,
+            intervalInMs,
+            q,
+            scheduler,
+            expiration
+        );
+        Runnable onClose = () -> scheduledFuture.cancel(false);
 
         RamAccountingQueue<E> accountingQueue = new RamAccountingQueue<>(q, breakerService.getBreaker(breaker), getElementSize);
         return new QueueSink<>(accountingQueue, () -> {
@@ -30,6 +30,7 @@ import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.StampedLock;
 import java.util.function.BooleanSupplier;
 import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -156,10 +157,18 @@ public class JobsLogs {
     }
 
     public void operationStarted(int operationId, UUID jobId, String name, LongSupplier bytesUsed) {
+        operationStarted(operationId, jobId, name, bytesUsed, Map::of);
+    }
+
+    public void operationStarted(int operationId,
+                                 UUID jobId,
+                                 String name,
+                                 LongSupplier bytesUsed,
+                                 Supplier<Map<String, Object>> stats) {
         if (isEnabled()) {
             operationsTable.put(
                 new OperationId(operationId, jobId),
-                new OperationContext(operationId, jobId, name, System.currentTimeMillis(), bytesUsed));
+                new OperationContext(operationId, jobId, name, System.currentTimeMillis(), bytesUsed, stats));
         }
     }
 
@@ -0,0 +1,175 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.engine.collect.stats;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+
+import io.crate.common.annotations.ThreadSafe;
+
+/**
+ * A fixed-size {@link LogSink} backed by a lock-free ring buffer.
+ * <p>
+ * Writers claim a sequence by incrementing a counter and overwrite the oldest entry once the buffer is full.
+ * Adding an entry doesn't allocate, so the cost of recording a log entry is constant.
+ * </p>
+ * <p>
+ * Each slot carries the sequence of its entry, which is reset while the slot is written.
+ * A writer only takes over a slot once the writer of the previous lap published its entry, so writers
+ * lapping each other on a slot can't interleave. This only waits if more than {@code capacity} writers are
+ * in flight at the same time.
+ * Iterating takes a snapshot and only includes entries whose sequence didn't change while they were copied,
+ * so a reader never sees an entry twice or out of order, even if writers lap it.
+ * </p>
+ * The memory used by the entries is accounted on the given breaker.
+ * If the limit of the breaker is reached, the buffer is cleared.
+ */
+@ThreadSafe
+public final class RingBufferSink<T> implements LogSink<T> {
+
+    private static final Logger LOGGER = LogManager.getLogger(RingBufferSink.class);
+
+    private static final long WRITING = -1L;
+
+    private final int capacity;
+    private final AtomicReferenceArray<T> entries;
+    private final AtomicLongArray sequences;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final CircuitBreaker breaker;
+    private final ToLongFunction<T> getElementSize;
+    private final LongAdder usedBytes = new LongAdder();
+    private final AtomicBoolean exceeded = new AtomicBoolean(false);
+
+    public RingBufferSink(int capacity, CircuitBreaker breaker, ToLongFunction<T> getElementSize) {
+        assert capacity > 0 : "capacity must be > 0";
+        this.capacity = capacity;
+        this.entries = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            // Sequence of a virtual previous lap, the first writer of a slot expects it
+            sequences.set(i, i - capacity);
+        }
+        this.breaker = breaker;
+        this.getElementSize = getElementSize;
+    }
+
+    @Override
+    public void add(T item) {
+        addBytes(getElementSize.applyAsLong(item));
+        long sequence = nextSequence.getAndIncrement();
+        int slot = (int) (sequence % capacity);
+        claim(slot, sequence - capacity);
+        T evicted = entries.getAndSet(slot, item);
+        sequences.set(slot, sequence);
+        if (evicted != null) {
+            addBytes(- getElementSize.applyAsLong(evicted));
+        }
+        if (breaker.getUsed() >= breaker.getLimit() && exceeded.compareAndSet(false, true)) {
+            if (LOGGER.isWarnEnabled()) {
+                LOGGER.warn("Memory limit for breaker [{}] was exceeded. Ring buffer with capacity [{}] is cleared.",
+                    breaker.getName(), capacity);
+            }
+            clear();
+            exceeded.set(false);
+        }
+    }
+
+    /**
+     * Waits until the slot holds the entry of the previous lap and marks it as being written.
+     */
+    private void claim(int slot, long previousSequence) {
+        int spins = 0;
+        while (sequences.compareAndSet(slot, previousSequence, WRITING) == false) {
+            if (spins < 100) {
+                spins++;
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    @Override
+    public void addAll(Iterable<T> iterable) {
+        for (T t : iterable) {
+            add(t);
+        }
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the entries, oldest first.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        long end = nextSequence.get();
+        long start = Math.max(0L, end - capacity);
+        List<T> snapshot = new ArrayList<>((int) (end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            int slot = (int) (sequence % capacity);
+            if (sequences.get(slot) != sequence) {
+                continue;
+            }
+            T entry = entries.get(slot);
+            if (entry != null && sequences.get(slot) == sequence) {
+                snapshot.add(entry);
+            }
+        }
+        return snapshot.iterator();
+    }
+
+    private void addBytes(long bytes) {
+        breaker.addWithoutBreaking(bytes);
+        usedBytes.add(bytes);
+    }
+
+    private void clear() {
+        for (int i = 0; i < capacity; i++) {
+            T evicted = entries.getAndSet(i, null);
+            if (evicted != null) {
+                addBytes(- getElementSize.applyAsLong(evicted));
+            }
+        }
+    }
+
+    /**
+     * @return the number of bytes accounted for the entries currently in the buffer
+     */
+    long usedBytes() {
+        return usedBytes.sum();
+    }
+
+    @Override
+    public void close() {
+        clear();
+    }
+}
@@ -58,7 +58,9 @@ import io.crate.exceptions.UnsupportedFeatureException;
 import io.crate.execution.dsl.projection.WriterProjection;
 import io.crate.execution.engine.collect.CollectExpression;
 import io.crate.metadata.ColumnIdent;
+import io.crate.parquet.ParquetWriter;
 import io.crate.server.xcontent.XContentHelper;
+import io.crate.types.DataType;
 
 /**
  * Collector implementation which writes the rows to the configured {@link FileOutput}
@@ -71,6 +73,8 @@ public class FileWriterCountCollector implements Collector<Row, long[], Iterable
     private final Executor executor;
     private final Iterable<CollectExpression<Row, ?>> collectExpressions;
     private final List<Input<?>> inputs;
+    @Nullable
+    private final List<DataType<?>> inputTypes;
     private final URI uri;
     private final FileOutput fileOutput;
     private final Map<String, Object> overwrites;
@@ -85,6 +89,7 @@ public class FileWriterCountCollector implements Collector<Row, long[], Iterable
                              String uriStr,
                              @Nullable WriterProjection.CompressionType compressionType,
                              @Nullable List<Input<?>> inputs,
+                             @Nullable List<DataType<?>> inputTypes,
                              Iterable<CollectExpression<Row, ?>> collectExpressions,
                              Map<ColumnIdent, Object> overwrites,
                              @Nullable List<String> outputNames,
@@ -94,6 +99,7 @@ public class FileWriterCountCollector implements Collector<Row, long[], Iterable
         this.executor = executor;
         this.collectExpressions = collectExpressions;
         this.inputs = inputs;
+        this.inputTypes = inputTypes;
         this.overwrites = toNestedStringObjectMap(overwrites);
         this.compressionType = compressionType;
         this.outputNames = outputNames;
@@ -156,6 +162,16 @@ public class FileWriterCountCollector implements Collector<Row, long[], Iterable
             if (!overwrites.isEmpty()) {
                 return new DocWriter(
                     fileOutput.acquireOutputStream(executor, uri, compressionType), collectExpressions, overwrites);
+            } else if (outputFormat.equals(WriterProjection.OutputFormat.PARQUET)) {
+                assert inputs != null && inputTypes != null && outputNames != null
+                    : "Parquet output requires columns";
+                return new ParquetRowWriter(
+                    fileOutput.acquireOutputStream(executor, uri, null),
+                    collectExpressions,
+                    inputs,
+                    inputTypes,
+                    outputNames,
+                    compressionType == WriterProjection.CompressionType.GZIP);
             } else if (outputFormat.equals(WriterProjection.OutputFormat.JSON_ARRAY)) {
                 return new ColumnRowWriter(fileOutput.acquireOutputStream(executor, uri, compressionType), collectExpressions, inputs);
             } else if (outputNames != null && outputFormat.equals(WriterProjection.OutputFormat.JSON_OBJECT)) {
@@ -361,4 +377,44 @@ public class FileWriterCountCollector implements Collector<Row, long[], Iterable
             }
         }
     }
+
+    static class ParquetRowWriter implements RowWriter {
+
+        private final Iterable<CollectExpression<Row, ?>> collectExpressions;
+        private final List<Input<?>> inputs;
+        private final ParquetWriter writer;
+
+        ParquetRowWriter(OutputStream outputStream,
+                         Iterable<CollectExpression<Row, ?>> collectExpressions,
+                         List<Input<?>> inputs,
+                         List<DataType<?>> inputTypes,
+                         List<String> outputNames,
+                         boolean gzip) throws IOException {
+            this.collectExpressions = collectExpressions;
+            this.inputs = inputs;
+            this.writer = new ParquetWriter(
+                outputStream, outputNames, inputTypes, gzip, ParquetWriter.DEFAULT_ROW_GROUP_SIZE);
+        }
+
+        @Override
+        public void write(Row row) {
+            for (CollectExpression<Row, ?> collectExpression : collectExpressions) {
+                collectExpression.setNextRow(row);
+            }
+            Object[] values = new Object[inputs.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = inputs.get(i).value();
+            }
+            try {
+                writer.write(values);
+            } catch (IOException e) {
+                throw new UnhandledServerException("Failed to write row to output", e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
 }
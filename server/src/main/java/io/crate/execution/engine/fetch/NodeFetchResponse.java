@@ -24,6 +24,7 @@ package io.crate.execution.engine.fetch;
 import java.io.IOException;
 import java.util.Objects;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.transport.TransportResponse;
@@ -42,9 +43,21 @@ public class NodeFetchResponse extends TransportResponse {
 
     @Nullable
     private final IntObjectMap<StreamBucket> fetched;
+    private final int queueSize;
+    private final long serviceTimeNanos;
 
     public NodeFetchResponse(@Nullable IntObjectMap<StreamBucket> fetched) {
+        this(fetched, 0, 0L);
+    }
+
+    /**
+     * @param queueSize number of tasks queued in the search executor of the responding node
+     * @param serviceTimeNanos time the responding node spent processing the request
+     */
+    public NodeFetchResponse(@Nullable IntObjectMap<StreamBucket> fetched, int queueSize, long serviceTimeNanos) {
         this.fetched = fetched;
+        this.queueSize = queueSize;
+        this.serviceTimeNanos = serviceTimeNanos;
     }
 
     @Nullable
@@ -52,6 +65,14 @@ public class NodeFetchResponse extends TransportResponse {
         return fetched;
     }
 
+    public int queueSize() {
+        return queueSize;
+    }
+
+    public long serviceTimeNanos() {
+        return serviceTimeNanos;
+    }
+
     public NodeFetchResponse(StreamInput in, IntObjectMap<Streamer<?>[]> streamers, RamAccounting ramAccounting) throws IOException {
         ramAccounting.addBytes(in.available());
         int numReaders = in.readVInt();
@@ -66,6 +87,13 @@ public class NodeFetchResponse extends TransportResponse {
         } else {
             fetched = null;
         }
+        if (in.getVersion().onOrAfter(Version.V_5_9_0)) {
+            queueSize = in.readVInt();
+            serviceTimeNanos = in.readVLong();
+        } else {
+            queueSize = 0;
+            serviceTimeNanos = 0L;
+        }
     }
 
     @Override
@@ -79,5 +107,9 @@ public class NodeFetchResponse extends TransportResponse {
                 cursor.value.writeTo(out);
             }
         }
+        if (out.getVersion().onOrAfter(Version.V_5_9_0)) {
+            out.writeVInt(queueSize);
+            out.writeVLong(serviceTimeNanos);
+        }
     }
 }
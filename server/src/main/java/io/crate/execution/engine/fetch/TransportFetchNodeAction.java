@@ -42,6 +42,7 @@ import io.crate.execution.engine.collect.stats.JobsLogs;
 import io.crate.execution.engine.distribution.StreamBucket;
 import io.crate.execution.jobs.TasksService;
 import io.crate.execution.support.NodeActionRequestHandler;
+import io.crate.execution.support.NodeResponseStats;
 import io.crate.execution.support.Transports;
 
 @Singleton
@@ -49,6 +50,8 @@ public class TransportFetchNodeAction extends TransportAction<NodeFetchRequest,
 
     private final Transports transports;
     private final NodeFetchOperation nodeFetchOperation;
+    private final ThreadPoolExecutor searchExecutor;
+    private final NodeResponseStats nodeResponseStats;
 
     @Inject
     public TransportFetchNodeAction(Settings settings,
@@ -57,11 +60,14 @@ public class TransportFetchNodeAction extends TransportAction<NodeFetchRequest,
                                     ThreadPool threadPool,
                                     JobsLogs jobsLogs,
                                     TasksService tasksService,
-                                    CircuitBreakerService circuitBreakerService) {
+                                    CircuitBreakerService circuitBreakerService,
+                                    NodeResponseStats nodeResponseStats) {
         super(FetchNodeAction.NAME);
         this.transports = transports;
+        this.nodeResponseStats = nodeResponseStats;
+        this.searchExecutor = (ThreadPoolExecutor) threadPool.executor(ThreadPool.Names.SEARCH);
         this.nodeFetchOperation = new NodeFetchOperation(
-            (ThreadPoolExecutor) threadPool.executor(ThreadPool.Names.SEARCH),
+            searchExecutor,
             EsExecutors.numberOfProcessors(settings),
             jobsLogs,
             tasksService,
@@ -84,22 +90,49 @@ public class TransportFetchNodeAction extends TransportAction<NodeFetchRequest,
 
     @Override
     public void doExecute(NodeFetchRequest nodeFetchRequest, ActionListener<NodeFetchResponse> listener) {
+        String nodeId = nodeFetchRequest.nodeId();
+        long startNanos = System.nanoTime();
+        nodeResponseStats.onRequestSent(nodeId);
+        ActionListener<NodeFetchResponse> statsListener = new ActionListener<>() {
+
+            @Override
+            public void onResponse(NodeFetchResponse response) {
+                nodeResponseStats.onResponse(
+                    nodeId,
+                    System.nanoTime() - startNanos,
+                    response.queueSize(),
+                    response.serviceTimeNanos()
+                );
+                listener.onResponse(response);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                nodeResponseStats.onFailure(nodeId);
+                listener.onFailure(e);
+            }
+        };
         transports.sendRequest(
             FetchNodeAction.NAME,
-            nodeFetchRequest.nodeId(),
+            nodeId,
             nodeFetchRequest.innerRequest(),
-            listener,
-            new ActionListenerResponseHandler<>(listener, nodeFetchRequest.createResponseReader())
+            statsListener,
+            new ActionListenerResponseHandler<>(statsListener, nodeFetchRequest.createResponseReader())
         );
     }
 
     private CompletableFuture<NodeFetchResponse> nodeOperation(final NodeFetchRequest.FetchRequest request) {
+        long startNanos = System.nanoTime();
         CompletableFuture<? extends IntObjectMap<StreamBucket>> resultFuture = nodeFetchOperation.fetch(
             request.jobId(),
             request.fetchPhaseId(),
             request.toFetch(),
             request.isCloseContext()
         );
-        return resultFuture.thenApply(NodeFetchResponse::new);
+        return resultFuture.thenApply(fetched -> new NodeFetchResponse(
+            fetched,
+            searchExecutor.getQueue().size(),
+            System.nanoTime() - startNanos
+        ));
     }
 }
@@ -169,7 +169,7 @@ public class ShardDMLExecutor<TReq extends ShardRequest<TReq, TItem>,
 
             @Override
             public void onFailure(Exception e) {
-                nodeLimit.onSample(startTime, true);
+                nodeLimit.onSample(startTime, NodeLimits.isOverloaded(e));
                 long totalBytesUsed = 0;
                 for (var item : request.items()) {
                     totalBytesUsed += item.ramBytesUsed();
@@ -26,10 +26,14 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 import org.apache.lucene.util.Accountable;
 import org.elasticsearch.common.lease.Releasable;
 import org.elasticsearch.index.shard.ShardId;
+import org.jetbrains.annotations.Nullable;
+
+import com.carrotsearch.hppc.ObjectIntHashMap;
 
 import io.crate.data.breaker.RamAccounting;
 import io.crate.execution.dml.ShardRequest;
@@ -45,16 +49,33 @@ public final class ShardedRequests<TReq extends ShardRequest<TReq, TItem>, TItem
 
     private final Function<ShardId, TReq> requestFactory;
     private final RamAccounting ramAccounting;
+    @Nullable
+    private final ToIntFunction<String> bulkSizeByNode;
+    @Nullable
+    private final ObjectIntHashMap<String> remainingItemsByNode;
 
     private int location = -1;
     private long usedMemoryEstimate = 0L;
+    private boolean bulkSizeReached = false;
 
     /**
      * @param requestFactory function to create a request
      */
     public ShardedRequests(Function<ShardId, TReq> requestFactory, RamAccounting ramAccounting) {
+        this(requestFactory, ramAccounting, null);
+    }
+
+    /**
+     * @param requestFactory function to create a request
+     * @param bulkSizeByNode max number of items per target node, see {@link #bulkSizeReached()}
+     */
+    public ShardedRequests(Function<ShardId, TReq> requestFactory,
+                           RamAccounting ramAccounting,
+                           @Nullable ToIntFunction<String> bulkSizeByNode) {
         this.requestFactory = requestFactory;
         this.ramAccounting = ramAccounting;
+        this.bulkSizeByNode = bulkSizeByNode;
+        this.remainingItemsByNode = bulkSizeByNode == null ? null : new ObjectIntHashMap<>();
     }
 
     public void add(TItem item, String indexName, String routing, RowSourceInfo rowSourceInfo) {
@@ -77,6 +98,27 @@ public final class ShardedRequests<TReq extends ShardRequest<TReq, TItem>, TItem
         location++;
         req.add(location, item);
         rowSourceInfos.add(rowSourceInfo);
+        if (remainingItemsByNode != null) {
+            String nodeId = shardLocation.nodeId;
+            int idx = remainingItemsByNode.indexOf(nodeId);
+            int remaining;
+            if (idx < 0) {
+                remaining = bulkSizeByNode.applyAsInt(nodeId) - 1;
+                remainingItemsByNode.indexInsert(idx, nodeId, remaining);
+            } else {
+                remaining = remainingItemsByNode.indexGet(idx) - 1;
+                remainingItemsByNode.indexReplace(idx, remaining);
+            }
+            bulkSizeReached |= remaining <= 0;
+        }
+    }
+
+    /**
+     * @return true if the items for any target node reached the bulk size of that node.
+     *         Always false if created without {@code bulkSizeByNode}
+     */
+    public boolean bulkSizeReached() {
+        return bulkSizeReached;
     }
 
     @Override
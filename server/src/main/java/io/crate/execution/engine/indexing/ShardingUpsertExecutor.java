@@ -66,6 +66,7 @@ import io.crate.execution.dml.upsert.ShardUpsertRequest;
 import io.crate.execution.dml.upsert.ShardUpsertRequest.Item;
 import io.crate.execution.engine.collect.CollectExpression;
 import io.crate.execution.engine.collect.RowShardResolver;
+import io.crate.execution.jobs.BulkSizeLimit;
 import io.crate.execution.jobs.NodeLimits;
 import io.crate.execution.support.RetryListener;
 
@@ -208,6 +209,7 @@ public class ShardingUpsertExecutor
 
             String nodeId = entry.getKey().nodeId;
             ConcurrencyLimit nodeLimit = nodeLimits.get(nodeId);
+            BulkSizeLimit bulkSizeLimit = nodeLimits.bulkSizeLimit(nodeId);
             ActionListener<ShardResponse> listener =
                 new ShardResponseActionListener(
                     numRequests,
@@ -216,13 +218,19 @@ public class ShardingUpsertExecutor
                     resultCollector.accumulator(),
                     requests.rowSourceInfos,
                     nodeLimit,
+                    bulkSizeLimit,
                     resultFuture);
 
             listener = new RetryListener<>(
                 scheduler,
                 l -> requestExecutor.execute(request, l),
                 listener,
-                BackoffPolicy.unlimitedDynamic(nodeLimit)
+                BackoffPolicy.unlimitedDynamic(nodeLimit),
+                () -> {
+                    // Target node write queue is full, shrink both the number of requests and their size
+                    nodeLimit.onRejected();
+                    bulkSizeLimit.onRejected();
+                }
             );
             requestExecutor.execute(request, listener);
         }
@@ -269,9 +277,15 @@ public class ShardingUpsertExecutor
         var reqBatchIterator = BatchIterators.chunks(
             batchIterator,
             bulkSize,
-            () -> new ShardedRequests<>(requestFactory, ramAccounting),
+            () -> new ShardedRequests<>(
+                requestFactory,
+                ramAccounting,
+                nodeId -> nodeLimits.bulkSizeLimit(nodeId).bulkSize(bulkSize)
+            ),
             grouper,
-            bulkShardCreationLimiter.or(isUsedBytesOverThreshold)
+            bulkShardCreationLimiter
+                .or(isUsedBytesOverThreshold)
+                .or(ShardedRequests::bulkSizeReached)
         );
         // If IO is involved the source iterator should pause when the target node reaches a concurrent job counter limit.
         // Without IO, we assume that the source iterates over in-memory structures which should be processed as
@@ -300,7 +314,7 @@ public class ShardingUpsertExecutor
         return executor.consumeIteratorAndExecute()
             .thenApply(upsertResults -> resultCollector.finisher().apply(upsertResults))
             .whenComplete((res, err) -> {
-                nodeLimit.onSample(startTime, err != null);
+                nodeLimit.onSample(startTime, NodeLimits.isOverloaded(err));
             });
     }
 
@@ -321,6 +335,7 @@ public class ShardingUpsertExecutor
         private final AtomicReference<Exception> interrupt;
         private final CompletableFuture<UpsertResults> upsertResultFuture;
         private final ConcurrencyLimit nodeLimit;
+        private final BulkSizeLimit bulkSizeLimit;
         private final long startTime;
 
         ShardResponseActionListener(AtomicInteger numRequests,
@@ -329,6 +344,7 @@ public class ShardingUpsertExecutor
                                     UpsertResultCollector.Accumulator resultAccumulator,
                                     List<RowSourceInfo> rowSourceInfos,
                                     ConcurrencyLimit nodeLimit,
+                                    BulkSizeLimit bulkSizeLimit,
                                     CompletableFuture<UpsertResults> upsertResultFuture) {
             this.numRequests = numRequests;
             this.interrupt = interrupt;
@@ -336,6 +352,7 @@ public class ShardingUpsertExecutor
             this.resultAccumulator = resultAccumulator;
             this.rowSourceInfos = rowSourceInfos;
             this.nodeLimit = nodeLimit;
+            this.bulkSizeLimit = bulkSizeLimit;
             this.startTime = nodeLimit.startSample();
             this.upsertResultFuture = upsertResultFuture;
         }
@@ -343,6 +360,7 @@ public class ShardingUpsertExecutor
         @Override
         public void onResponse(ShardResponse shardResponse) {
             nodeLimit.onSample(startTime, false);
+            bulkSizeLimit.onResponse();
             resultAccumulator.accept(upsertResults, shardResponse, rowSourceInfos);
             maybeSetInterrupt(shardResponse.failure());
             countdown();
@@ -350,7 +368,7 @@ public class ShardingUpsertExecutor
 
         @Override
         public void onFailure(Exception e) {
-            nodeLimit.onSample(startTime, true);
+            nodeLimit.onSample(startTime, NodeLimits.isOverloaded(e));
             countdown();
         }
 
@@ -0,0 +1,224 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.engine.join;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.carrotsearch.hppc.BitMixer;
+
+import io.crate.types.DataType;
+import io.crate.types.DataTypes;
+
+/**
+ * Summary of the join keys of the build side of an equi-join, used to skip rows of the probe side
+ * which cannot have a join partner.
+ *
+ * <p>
+ * If there are at most {@link #MAX_EXACT_KEYS} distinct keys, the keys are kept as they are and the filter is exact.
+ * Otherwise the filter consists of the minimum and maximum key and a bloom filter, which can have false positives
+ * but no false negatives. The join itself must therefore still evaluate the join condition.
+ * </p>
+ *
+ * The filter is transferred as an object value:
+ * <pre>
+ *     {"min": 1, "max": 10, "keys": [1, 4, 10]}
+ *     {"min": 1, "max": 100000, "bloom": [-8123, 1231, ...]}
+ * </pre>
+ */
+public final class RuntimeJoinFilter {
+
+    public static final String MIN = "min";
+    public static final String MAX = "max";
+    public static final String KEYS = "keys";
+    public static final String BLOOM = "bloom";
+
+    static final int MAX_EXACT_KEYS = 1024;
+
+    private static final int BITS_PER_KEY = 8;
+    private static final int MIN_BLOOM_BITS = 64;
+    private static final int MAX_BLOOM_BITS = 1 << 23;
+    private static final int NUM_HASHES = 3;
+
+    private static final Set<Integer> SUPPORTED_TYPES = Set.of(
+        DataTypes.INTEGER.id(),
+        DataTypes.LONG.id(),
+        DataTypes.TIMESTAMP.id(),
+        DataTypes.TIMESTAMPZ.id(),
+        DataTypes.STRING.id()
+    );
+
+    private final DataType<Object> type;
+    @Nullable
+    private final Object min;
+    @Nullable
+    private final Object max;
+    @Nullable
+    private final Set<Object> keys;
+    @Nullable
+    private final long[] bloom;
+
+    /**
+     * @return true if a filter can be created for join keys of the given type.
+     */
+    public static boolean supportsType(DataType<?> type) {
+        return SUPPORTED_TYPES.contains(type.id());
+    }
+
+    /**
+     * Creates the object value of a filter for the given distinct, non-null join keys.
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> build(Collection<?> distinctKeys, DataType<?> keyType) {
+        DataType<Object> type = (DataType<Object>) keyType;
+        HashMap<String, Object> filter = new HashMap<>();
+        Object min = null;
+        Object max = null;
+        for (Object key : distinctKeys) {
+            if (min == null || type.compare(key, min) < 0) {
+                min = key;
+            }
+            if (max == null || type.compare(key, max) > 0) {
+                max = key;
+            }
+        }
+        filter.put(MIN, min);
+        filter.put(MAX, max);
+        if (distinctKeys.size() <= MAX_EXACT_KEYS) {
+            filter.put(KEYS, new ArrayList<>(distinctKeys));
+            return filter;
+        }
+        long[] bits = new long[numBloomBits(distinctKeys.size()) / Long.SIZE];
+        for (Object key : distinctKeys) {
+            setBits(bits, key);
+        }
+        ArrayList<Long> bloom = new ArrayList<>(bits.length);
+        for (long word : bits) {
+            bloom.add(word);
+        }
+        filter.put(BLOOM, bloom);
+        return filter;
+    }
+
+    /**
+     * Decodes a filter created by {@link #build(Collection, DataType)}.
+     */
+    @SuppressWarnings("unchecked")
+    public RuntimeJoinFilter(Map<String, Object> filter, DataType<?> keyType) {
+        this.type = (DataType<Object>) keyType;
+        // Values can lose their exact type if the filter is streamed to other nodes
+        this.min = type.sanitizeValue(filter.get(MIN));
+        this.max = type.sanitizeValue(filter.get(MAX));
+        List<Object> keyList = (List<Object>) filter.get(KEYS);
+        if (keyList == null) {
+            this.keys = null;
+        } else {
+            this.keys = HashSet.newHashSet(keyList.size());
+            for (Object key : keyList) {
+                keys.add(type.sanitizeValue(key));
+            }
+        }
+        List<Number> bloomList = (List<Number>) filter.get(BLOOM);
+        if (bloomList == null) {
+            this.bloom = null;
+        } else {
+            this.bloom = new long[bloomList.size()];
+            for (int i = 0; i < bloom.length; i++) {
+                bloom[i] = bloomList.get(i).longValue();
+            }
+        }
+    }
+
+    @Nullable
+    public Object min() {
+        return min;
+    }
+
+    @Nullable
+    public Object max() {
+        return max;
+    }
+
+    /**
+     * @return the distinct keys if the filter is exact, otherwise null.
+     */
+    @Nullable
+    public Set<Object> keys() {
+        return keys;
+    }
+
+    /**
+     * @return false if there is no build side row with the given key, true if there might be one.
+     */
+    public boolean mightContain(@Nullable Object key) {
+        if (key == null) {
+            return false;
+        }
+        if (keys != null) {
+            return keys.contains(key);
+        }
+        if (min == null || type.compare(key, min) < 0 || type.compare(key, max) > 0) {
+            return false;
+        }
+        return bloom == null || bitsSet(bloom, key);
+    }
+
+    private static int numBloomBits(int numKeys) {
+        long bits = (long) numKeys * BITS_PER_KEY;
+        if (bits >= MAX_BLOOM_BITS) {
+            return MAX_BLOOM_BITS;
+        }
+        return Math.max(MIN_BLOOM_BITS, Integer.highestOneBit((int) bits - 1) << 1);
+    }
+
+    private static void setBits(long[] bits, Object key) {
+        long hash = BitMixer.mix64(key.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        int mask = bits.length * Long.SIZE - 1;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    private static boolean bitsSet(long[] bits, Object key) {
+        long hash = BitMixer.mix64(key.hashCode());
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        int mask = bits.length * Long.SIZE - 1;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
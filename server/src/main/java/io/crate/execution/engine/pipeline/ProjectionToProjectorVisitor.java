@@ -369,9 +369,11 @@ public class ProjectionToProjectorVisitor
         InputFactory.Context<CollectExpression<Row, ?>> ctx = inputFactory.ctxForInputColumns(context.txnCtx);
 
         List<Input<?>> inputs = null;
+        List<DataType<?>> inputTypes = null;
         if (!projection.inputs().isEmpty()) {
             ctx.add(projection.inputs());
             inputs = ctx.topLevelInputs();
+            inputTypes = Symbols.typeView(projection.inputs());
         }
 
         projection = projection.normalize(normalizer, context.txnCtx);
@@ -380,12 +382,14 @@ public class ProjectionToProjectorVisitor
         assert uri != null : "URI must not be null";
         assert shardId != null : "ShardId must be set to use WriterProjection";
         IndexParts indexParts = new IndexParts(shardId.getIndexName());
+        boolean parquet = projection.outputFormat() == WriterProjection.OutputFormat.PARQUET;
         String fileName = String.format(
             Locale.ENGLISH,
-            "%s_%s_%s.json",
+            "%s_%s_%s.%s",
             indexParts.getTable(),
             shardId.id(),
-            indexParts.getPartitionIdent()
+            indexParts.getPartitionIdent(),
+            parquet ? "parquet" : "json"
         );
 
         StringBuilder sb = new StringBuilder(uri);
@@ -393,7 +397,8 @@ public class ProjectionToProjectorVisitor
             sb.append("/");
         }
         sb.append(fileName);
-        if (projection.compressionType() == WriterProjection.CompressionType.GZIP) {
+        // Parquet compresses the pages within the file
+        if (projection.compressionType() == WriterProjection.CompressionType.GZIP && !parquet) {
             sb.append(".gz");
         }
         uri = sb.toString();
@@ -402,10 +407,11 @@ public class ProjectionToProjectorVisitor
             symbolMapToObject(projection.overwrites(), ctx, context.txnCtx);
 
         return new FileWriterProjector(
-            threadPool.generic(),
+            threadPool.executor(ThreadPool.Names.BLOCKING_IO),
             uri,
             projection.compressionType(),
             inputs,
+            inputTypes,
             ctx.expressions(),
             overwrites,
             projection.outputNames(),
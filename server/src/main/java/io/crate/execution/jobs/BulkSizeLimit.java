@@ -0,0 +1,68 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.jobs;
+
+/**
+ * Additive-increase/multiplicative-decrease window for the number of items
+ * sent to a node within one bulk request.
+ *
+ * <p>
+ * The window is a fraction of the bulk size requested by the statement. It is
+ * halved whenever the node rejects a request because its write queue is full
+ * and grows again by {@link #INCREASE} with every successful response.
+ * A healthy node therefore receives the full bulk size.
+ * </p>
+ */
+public final class BulkSizeLimit {
+
+    static final int MIN_BULK_SIZE = 10;
+
+    static final double MIN_FRACTION = 1.0 / 64;
+    static final double INCREASE = 1.0 / 32;
+    static final double DECREASE = 0.5;
+
+    private volatile double fraction = 1.0;
+
+    public synchronized void onResponse() {
+        fraction = Math.min(1.0, fraction + INCREASE);
+    }
+
+    public synchronized void onRejected() {
+        fraction = Math.max(MIN_FRACTION, fraction * DECREASE);
+    }
+
+    /**
+     * @param maxBulkSize bulk size requested by the statement
+     * @return number of items which should be sent to the node within one request.
+     */
+    public int bulkSize(int maxBulkSize) {
+        int bulkSize = (int) Math.ceil(maxBulkSize * fraction);
+        return Math.max(Math.min(MIN_BULK_SIZE, maxBulkSize), bulkSize);
+    }
+
+    /**
+     * Current window in percent of the requested bulk size
+     */
+    public int percent() {
+        return (int) Math.round(fraction * 100);
+    }
+}
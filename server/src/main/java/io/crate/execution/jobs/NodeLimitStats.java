@@ -0,0 +1,66 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.jobs;
+
+import java.io.IOException;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+
+/**
+ * Snapshot of the {@link NodeLimits} a node applies to DML requests sent to {@code targetNodeId}
+ *
+ * @param concurrencyLimit max number of requests in flight
+ * @param bulkSizePercent items per request in percent of the bulk size requested by a statement
+ */
+public record NodeLimitStats(String targetNodeId,
+                             int concurrencyLimit,
+                             int inflight,
+                             long rejected,
+                             int bulkSizePercent,
+                             long lastRttMs,
+                             long longRttMs) implements Writeable {
+
+    public NodeLimitStats(StreamInput in) throws IOException {
+        this(
+            in.readString(),
+            in.readVInt(),
+            in.readVInt(),
+            in.readVLong(),
+            in.readVInt(),
+            in.readVLong(),
+            in.readVLong()
+        );
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeString(targetNodeId);
+        out.writeVInt(concurrencyLimit);
+        out.writeVInt(inflight);
+        out.writeVLong(rejected);
+        out.writeVInt(bulkSizePercent);
+        out.writeVLong(lastRttMs);
+        out.writeVLong(longRttMs);
+    }
+}
@@ -21,27 +21,37 @@
 
 package io.crate.execution.jobs;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.jetbrains.annotations.Nullable;
 
 import io.crate.common.concurrent.ConcurrencyLimit;
+import io.crate.exceptions.SQLExceptions;
 
+import org.elasticsearch.ElasticsearchTimeoutException;
 import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.common.inject.Singleton;
 import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Setting.Property;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.transport.ReceiveTimeoutTransportException;
 
 /**
- * Tracks concurrency limits per node
+ * Tracks concurrency limits and bulk size windows per node
  */
 @Singleton
 public class NodeLimits {
 
     private volatile ConcurrencyLimit unknownNodelimit;
     private final Map<String, ConcurrencyLimit> limitsPerNode = new ConcurrentHashMap<>();
+    private final Map<String, BulkSizeLimit> bulkSizeLimitsPerNode = new ConcurrentHashMap<>();
+    private final BulkSizeLimit unknownNodeBulkSizeLimit = new BulkSizeLimit();
     private final ClusterSettings clusterSettings;
 
     public static final Setting<Integer> INITIAL_CONCURRENCY =
@@ -116,8 +126,59 @@ public class NodeLimits {
         return limitsPerNode.computeIfAbsent(nodeId, ignored -> newLimit());
     }
 
+    /**
+     * Retrieve the bulk size window for a node.
+     * Unlike the {@link ConcurrencyLimit} it is not reset on settings changes.
+     */
+    public BulkSizeLimit bulkSizeLimit(@Nullable String nodeId) {
+        if (nodeId == null) {
+            return unknownNodeBulkSizeLimit;
+        }
+        return bulkSizeLimitsPerNode.computeIfAbsent(nodeId, ignored -> new BulkSizeLimit());
+    }
+
+    /**
+     * Returns true if a failure indicates that the target node is overloaded: It rejected the request or didn't
+     * respond in time. Only these failures must be reported as dropped samples via
+     * {@link ConcurrencyLimit#onSample(long, boolean)}. Other failures, like constraint violations or parse errors,
+     * say nothing about the load of the node and must not decrease the limit.
+     */
+    public static boolean isOverloaded(@Nullable Throwable failure) {
+        if (failure == null) {
+            return false;
+        }
+        Throwable t = SQLExceptions.unwrap(failure);
+        return t instanceof EsRejectedExecutionException
+            || t instanceof ReceiveTimeoutTransportException
+            || t instanceof ElasticsearchTimeoutException
+            || t instanceof TimeoutException;
+    }
+
     public void nodeDisconnected(String nodeId) {
         limitsPerNode.remove(nodeId);
+        bulkSizeLimitsPerNode.remove(nodeId);
+    }
+
+    /**
+     * @return the current limits towards every node this node has sent requests to.
+     */
+    public List<NodeLimitStats> stats() {
+        List<NodeLimitStats> stats = new ArrayList<>(limitsPerNode.size());
+        for (var entry : limitsPerNode.entrySet()) {
+            String nodeId = entry.getKey();
+            ConcurrencyLimit limit = entry.getValue();
+            BulkSizeLimit bulkSizeLimit = bulkSizeLimitsPerNode.get(nodeId);
+            stats.add(new NodeLimitStats(
+                nodeId,
+                limit.getLimit(),
+                limit.numInflight(),
+                limit.numRejections(),
+                bulkSizeLimit == null ? 100 : bulkSizeLimit.percent(),
+                limit.getLastRtt(TimeUnit.MILLISECONDS),
+                limit.getLongRtt(TimeUnit.MILLISECONDS)
+            ));
+        }
+        return stats;
     }
 
     public long totalNumInflight() {
@@ -163,7 +163,7 @@ public class RootTask implements CompletionListenable<Void> {
             profilingFuture = new CompletableFuture<>();
         }
         for (Task task : orderedTasks) {
-            jobsLogs.operationStarted(task.id(), jobId, task.name(), task::bytesUsed);
+            jobsLogs.operationStarted(task.id(), jobId, task.name(), task::bytesUsed, task::stats);
             task.completionFuture().whenComplete(new TaskFinishedListener(task.id()));
         }
     }
@@ -21,6 +21,7 @@
 
 package io.crate.execution.jobs;
 
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import org.jetbrains.annotations.Nullable;
@@ -45,4 +46,11 @@ public interface Task extends CompletionListenable<Void>, Killable {
     int id();
 
     long bytesUsed();
+
+    /**
+     * Execution statistics of the task, exposed as {@code stats} in {@code sys.operations} and {@code sys.operations_log}
+     */
+    default Map<String, Object> stats() {
+        return Map.of();
+    }
 }
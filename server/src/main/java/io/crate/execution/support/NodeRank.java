@@ -0,0 +1,39 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.support;
+
+/**
+ * Snapshot of the {@link NodeResponseStats} of a node
+ *
+ * @param rank lower is better, see {@link NodeResponseStats#rank(String, int)}
+ * @param responseTimeMs moving average of the response time in milliseconds
+ * @param serviceTimeMs moving average of the time the node spent processing requests in milliseconds
+ * @param queueSize moving average of the queue size of the node
+ * @param outstandingRequests requests sent to the node which haven't received a response yet
+ */
+public record NodeRank(String nodeId,
+                       double rank,
+                       double responseTimeMs,
+                       double serviceTimeMs,
+                       double queueSize,
+                       int outstandingRequests) {
+}
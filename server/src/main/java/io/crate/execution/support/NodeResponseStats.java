@@ -0,0 +1,219 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.elasticsearch.cluster.ClusterChangedEvent;
+import org.elasticsearch.cluster.ClusterStateListener;
+import org.elasticsearch.cluster.node.DiscoveryNode;
+import org.elasticsearch.cluster.service.ClusterService;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
+
+/**
+ * Collects per node statistics about responses to requests sent from this node
+ * and ranks the nodes based on them.
+ *
+ * <p>
+ * The rank follows the C3 replica ranking (Suresh et al., NSDI 2015): An
+ * exponentially weighted moving average of the response time, the service time
+ * and the queue size of the remote node, combined with the number of requests
+ * this node has outstanding towards the remote node.
+ * A lower rank is better.
+ * </p>
+ *
+ * <p>
+ * Used by the {@link io.crate.metadata.RoutingProvider} to prefer the shard
+ * copies on the least loaded nodes.
+ * </p>
+ */
+public final class NodeResponseStats implements ClusterStateListener {
+
+    public static final Setting<Boolean> USE_ADAPTIVE_REPLICA_SELECTION = Setting.boolSetting(
+        "cluster.routing.use_adaptive_replica_selection",
+        true,
+        Property.Dynamic,
+        Property.NodeScope,
+        Property.Exposed
+    );
+
+    private static final double ALPHA = 0.3;
+    private static final int QUEUE_ADJUSTMENT_FACTOR = 3;
+
+    private final Map<String, Stats> statsPerNode = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+    private volatile int numClients = 1;
+
+    public NodeResponseStats(ClusterService clusterService) {
+        ClusterSettings clusterSettings = clusterService.getClusterSettings();
+        this.enabled = clusterSettings.get(USE_ADAPTIVE_REPLICA_SELECTION);
+        clusterSettings.addSettingsUpdateConsumer(USE_ADAPTIVE_REPLICA_SELECTION, value -> enabled = value);
+        clusterService.addListener(this);
+    }
+
+    @Override
+    public void clusterChanged(ClusterChangedEvent event) {
+        numClients = Math.max(1, event.state().nodes().getSize());
+        if (event.nodesRemoved()) {
+            for (DiscoveryNode node : event.nodesDelta().removedNodes()) {
+                statsPerNode.remove(node.getId());
+            }
+        }
+    }
+
+    /**
+     * @return true if shard copies should be selected based on the {@link #rank(String, int)} of their nodes.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void onRequestSent(String nodeId) {
+        statsPerNode.computeIfAbsent(nodeId, ignored -> new Stats()).outstanding.incrementAndGet();
+    }
+
+    /**
+     * @param responseTimeNanos time between sending the request and receiving the response
+     * @param queueSize number of tasks queued in the executor of the remote node that processed the request
+     * @param serviceTimeNanos time the remote node spent processing the request
+     */
+    public void onResponse(String nodeId, long responseTimeNanos, int queueSize, long serviceTimeNanos) {
+        // Stats are gone if the node left the cluster while the request was in flight
+        Stats stats = statsPerNode.get(nodeId);
+        if (stats != null) {
+            stats.outstanding.decrementAndGet();
+            stats.add(responseTimeNanos, queueSize, serviceTimeNanos);
+        }
+    }
+
+    public void onFailure(String nodeId) {
+        Stats stats = statsPerNode.get(nodeId);
+        if (stats != null) {
+            stats.outstanding.decrementAndGet();
+        }
+    }
+
+    /**
+     * @param pendingRequests requests about to be sent to the node, in addition to those already outstanding.
+     * @return the rank of the node. Nodes without statistics rank first, so that they get sampled.
+     */
+    public double rank(String nodeId, int pendingRequests) {
+        Stats stats = statsPerNode.get(nodeId);
+        if (stats == null) {
+            return 0.0;
+        }
+        return stats.rank(pendingRequests, numClients);
+    }
+
+    /**
+     * Moves the statistics of a node which wasn't selected half way towards the statistics of the selected node.
+     * Without this, a node that ranked badly once would never receive requests again and its stats would never
+     * recover.
+     */
+    public void adjustNotSelected(String nodeId, String selectedNodeId) {
+        Stats stats = statsPerNode.get(nodeId);
+        Stats selected = statsPerNode.get(selectedNodeId);
+        if (stats == null || selected == null || stats == selected) {
+            return;
+        }
+        double selectedResponseTime;
+        double selectedQueueSize;
+        synchronized (selected) {
+            if (!selected.hasSamples) {
+                return;
+            }
+            selectedResponseTime = selected.responseTime;
+            selectedQueueSize = selected.queueSize;
+        }
+        synchronized (stats) {
+            if (stats.hasSamples) {
+                stats.responseTime = (stats.responseTime + selectedResponseTime) / 2;
+                stats.queueSize = (stats.queueSize + selectedQueueSize) / 2;
+            }
+        }
+    }
+
+    public List<NodeRank> ranks() {
+        int clients = numClients;
+        List<NodeRank> ranks = new ArrayList<>(statsPerNode.size());
+        for (var entry : statsPerNode.entrySet()) {
+            Stats stats = entry.getValue();
+            synchronized (stats) {
+                ranks.add(new NodeRank(
+                    entry.getKey(),
+                    stats.hasSamples ? stats.rank(0, clients) : 0.0,
+                    stats.responseTime / TimeUnit.MILLISECONDS.toNanos(1),
+                    stats.serviceTime / TimeUnit.MILLISECONDS.toNanos(1),
+                    stats.queueSize,
+                    stats.outstanding.get()
+                ));
+            }
+        }
+        return ranks;
+    }
+
+    private static final class Stats {
+
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        private boolean hasSamples = false;
+        private double responseTime;
+        private double serviceTime;
+        private double queueSize;
+
+        synchronized void add(long responseTimeNanos, int queueSize, long serviceTimeNanos) {
+            if (hasSamples) {
+                this.responseTime = ewma(this.responseTime, responseTimeNanos);
+                this.serviceTime = ewma(this.serviceTime, serviceTimeNanos);
+                this.queueSize = ewma(this.queueSize, queueSize);
+            } else {
+                this.responseTime = responseTimeNanos;
+                this.serviceTime = serviceTimeNanos;
+                this.queueSize = queueSize;
+                this.hasSamples = true;
+            }
+        }
+
+        synchronized double rank(int pendingRequests, int numClients) {
+            if (!hasSamples) {
+                return 0.0;
+            }
+            double nanosPerMs = TimeUnit.MILLISECONDS.toNanos(1);
+            double responseTimeMs = responseTime / nanosPerMs;
+            double serviceTimeMs = serviceTime / nanosPerMs;
+            int concurrency = Math.max(0, outstanding.get()) + pendingRequests;
+            double queue = 1 + concurrency * numClients + queueSize;
+            return responseTimeMs - serviceTimeMs + Math.pow(queue, QUEUE_ADJUSTMENT_FACTOR) * serviceTimeMs;
+        }
+
+        private static double ewma(double current, double sample) {
+            return ALPHA * sample + (1 - ALPHA) * current;
+        }
+    }
+}
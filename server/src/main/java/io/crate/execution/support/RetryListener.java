@@ -41,15 +41,28 @@ public class RetryListener<TResp> implements ActionListener<TResp> {
     private final ActionListener<TResp> delegate;
     private final Iterator<TimeValue> delay;
     private final Runnable retryCommand;
+    private final Runnable onRetry;
 
     public RetryListener(ScheduledExecutorService scheduler,
                          Consumer<ActionListener<TResp>> command,
                          ActionListener<TResp> delegate,
                          Iterable<TimeValue> backOffPolicy) {
+        this(scheduler, command, delegate, backOffPolicy, () -> {});
+    }
+
+    /**
+     * @param onRetry invoked each time a retry is scheduled
+     */
+    public RetryListener(ScheduledExecutorService scheduler,
+                         Consumer<ActionListener<TResp>> command,
+                         ActionListener<TResp> delegate,
+                         Iterable<TimeValue> backOffPolicy,
+                         Runnable onRetry) {
         this.scheduler = scheduler;
         this.delegate = delegate;
         this.delay = backOffPolicy.iterator();
         this.retryCommand = () -> command.accept(this);
+        this.onRetry = onRetry;
     }
 
     @Override
@@ -65,6 +78,7 @@ public class RetryListener<TResp> implements ActionListener<TResp> {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Received " + throwable.getClass() + ", will retry again in {}ms", currentDelay);
             }
+            onRetry.run();
             scheduler.schedule(retryCommand, currentDelay, TimeUnit.MILLISECONDS);
         } else {
             delegate.onFailure(e);
@@ -24,9 +24,7 @@ package io.crate.expression.operator;
 import java.util.List;
 import java.util.regex.Pattern;
 
-import org.apache.lucene.index.Term;
 import org.apache.lucene.search.Query;
-import org.apache.lucene.search.TermQuery;
 import org.jetbrains.annotations.Nullable;
 
 import io.crate.data.Input;
@@ -35,7 +33,6 @@ import io.crate.expression.symbol.Function;
 import io.crate.expression.symbol.Literal;
 import io.crate.expression.symbol.Symbol;
 import io.crate.lucene.LuceneQueryBuilder;
-import io.crate.metadata.IndexType;
 import io.crate.metadata.NodeContext;
 import io.crate.metadata.Reference;
 import io.crate.metadata.Scalar;
@@ -131,14 +128,14 @@ public class LikeOperator extends Operator<String> {
             Object value = patternLiteral.value();
             assert value instanceof String
                 : "LikeOperator is registered for string types. Value must be a string";
-            if (((String) value).isEmpty()) {
-                return new TermQuery(new Term(ref.storageIdent(), ""));
-            }
             Character escapeChar = escapeFromSymbols.apply(args);
-            return caseSensitivity.likeQuery(ref.storageIdent(),
+            return LikeOperators.likeQuery(
+                ref,
                 (String) value,
                 escapeChar,
-                ref.indexType() != IndexType.NONE
+                caseSensitivity,
+                context,
+                () -> LuceneQueryBuilder.genericFunctionFilter(function, context)
             );
         }
         return null;
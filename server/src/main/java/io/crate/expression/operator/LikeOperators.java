@@ -21,19 +21,31 @@
 
 package io.crate.expression.operator;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 
 import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.PrefixQuery;
 import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.WildcardQuery;
 import org.jetbrains.annotations.Nullable;
 
 import io.crate.expression.operator.any.AnyLikeOperator;
 import io.crate.expression.operator.any.AnyNotLikeOperator;
 import io.crate.expression.operator.any.AnyOperator;
+import io.crate.lucene.LuceneQueryBuilder;
 import io.crate.lucene.match.CrateRegexQuery;
 import io.crate.metadata.FunctionType;
 import io.crate.metadata.Functions;
+import io.crate.metadata.IndexType;
+import io.crate.metadata.Reference;
 import io.crate.metadata.Scalar;
 import io.crate.metadata.functions.Signature;
 import io.crate.types.DataTypes;
@@ -49,6 +61,11 @@ public class LikeOperators {
 
     public static final char DEFAULT_ESCAPE = '\\';
 
+    /**
+     * Upper bound of trigrams used to pre-filter a pattern; more terms rarely narrow down the candidates any further.
+     */
+    static final int MAX_TRIGRAMS = 64;
+
     public static String likeOperatorName(boolean ignoreCase) {
         return ignoreCase ? OP_ILIKE : OP_LIKE;
     }
@@ -212,6 +229,29 @@ public class LikeOperators {
         return makePattern(pattern, caseSensitivity, escape).matcher(expression).matches();
     }
 
+    /**
+     * Matches each side as pattern against the other, for operators accepting patterns on both sides.
+     * A side ending with the escape character isn't a valid pattern and is only matched as a value.
+     */
+    public static boolean matchesEitherWay(String left, String right, Character escape, CaseSensitivity caseSensitivity) {
+        return (isValidPattern(right, escape) && matches(left, right, escape, caseSensitivity))
+            || (isValidPattern(left, escape) && matches(right, left, escape, caseSensitivity));
+    }
+
+    /**
+     * @return false if the pattern ends with an escape character which doesn't escape anything
+     */
+    public static boolean isValidPattern(String pattern, @Nullable Character escapeChar) {
+        if (escapeChar == null) {
+            return true;
+        }
+        int trailingEscapes = 0;
+        for (int i = pattern.length() - 1; i >= 0 && pattern.charAt(i) == escapeChar; i--) {
+            trailingEscapes++;
+        }
+        return trailingEscapes % 2 == 0;
+    }
+
     public static String patternToRegex(String patternString, @Nullable Character escapeChar) {
         StringBuilder regex = new StringBuilder(patternString.length() * 2);
         regex.append('^');
@@ -265,10 +305,133 @@ public class LikeOperators {
                 }
             }
         }
+        ensureNoDanglingEscape(escaped);
         regex.append('$');
         return regex.toString();
     }
 
+    private static void ensureNoDanglingEscape(boolean escaped) {
+        if (escaped) {
+            throw new IllegalArgumentException("LIKE pattern must not end with escape character");
+        }
+    }
+
+    /**
+     * Builds the query for {@code ref LIKE pattern} using the trigram index covering the column if there is one.
+     *
+     * @param patternFilter evaluates the pattern on the documents narrowed down by trigrams
+     * @return null if the pattern can't be matched using the index of the column
+     */
+    @Nullable
+    public static Query likeQuery(Reference ref,
+                                  String pattern,
+                                  @Nullable Character escapeChar,
+                                  CaseSensitivity caseSensitivity,
+                                  LuceneQueryBuilder.Context context,
+                                  Supplier<Query> patternFilter) {
+        String trigramField = context.trigramIndexField(ref);
+        if (trigramField != null
+            && !trigramField.equals(ref.storageIdent())
+            && caseSensitivity == CaseSensitivity.SENSITIVE
+            && ref.indexType() != IndexType.NONE) {
+            // Exact and prefix patterns are cheaper to match on the terms of the column itself
+            Query termOrPrefixQuery = termOrPrefixQuery(ref.storageIdent(), pattern, escapeChar);
+            if (termOrPrefixQuery != null) {
+                return termOrPrefixQuery;
+            }
+        }
+        if (trigramField != null) {
+            List<String> trigrams = trigrams(pattern, escapeChar);
+            if (!trigrams.isEmpty()) {
+                // Trigrams narrow down the candidates, the pattern itself is only evaluated on those
+                BooleanQuery.Builder query = new BooleanQuery.Builder();
+                for (String trigram : trigrams) {
+                    query.add(new TermQuery(new Term(trigramField, trigram)), Occur.FILTER);
+                }
+                query.add(patternFilter.get(), Occur.FILTER);
+                return query.build();
+            }
+            if (trigramField.equals(ref.storageIdent())) {
+                // The column itself only holds trigrams, there is no term to match the pattern against
+                return patternFilter.get();
+            }
+        }
+        if (pattern.isEmpty()) {
+            return new TermQuery(new Term(ref.storageIdent(), ""));
+        }
+        return caseSensitivity.likeQuery(ref.storageIdent(), pattern, escapeChar, ref.indexType() != IndexType.NONE);
+    }
+
+    /**
+     * Extracts the lower cased trigrams every value matching the pattern must contain.
+     * They match the terms created by the {@code trigram} analyzer.
+     * Literal runs shorter than 3 characters don't contribute any trigram.
+     */
+    public static List<String> trigrams(String pattern, @Nullable Character escapeChar) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        List<Integer> run = new ArrayList<>();
+        boolean escaped = false;
+        for (int i = 0; i < pattern.length(); ) {
+            int codePoint = pattern.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (escapeChar != null && !escaped && codePoint == escapeChar) {
+                escaped = true;
+                continue;
+            }
+            if (!escaped && (codePoint == '%' || codePoint == '_')) {
+                addTrigrams(run, trigrams);
+                run.clear();
+            } else {
+                run.add(Character.toLowerCase(codePoint));
+            }
+            escaped = false;
+        }
+        ensureNoDanglingEscape(escaped);
+        addTrigrams(run, trigrams);
+        return List.copyOf(trigrams);
+    }
+
+    /**
+     * @return a {@link TermQuery} if the pattern has no wildcards, a {@link PrefixQuery} if its only wildcards are
+     *         trailing {@code %}, otherwise null. Only valid for case sensitive matching.
+     */
+    @Nullable
+    public static Query termOrPrefixQuery(String fqColumn, String pattern, @Nullable Character escapeChar) {
+        StringBuilder value = new StringBuilder(pattern.length());
+        boolean escaped = false;
+        int i = 0;
+        for (; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (escapeChar != null && !escaped && c == escapeChar) {
+                escaped = true;
+                continue;
+            }
+            if (!escaped && (c == '%' || c == '_')) {
+                break;
+            }
+            value.append(c);
+            escaped = false;
+        }
+        if (i == pattern.length()) {
+            ensureNoDanglingEscape(escaped);
+            return new TermQuery(new Term(fqColumn, value.toString()));
+        }
+        for (int j = i; j < pattern.length(); j++) {
+            if (pattern.charAt(j) != '%') {
+                return null;
+            }
+        }
+        return new PrefixQuery(new Term(fqColumn, value.toString()));
+    }
+
+    private static void addTrigrams(List<Integer> run, Set<String> trigrams) {
+        for (int i = 0; i + 3 <= run.size() && trigrams.size() < MAX_TRIGRAMS; i++) {
+            StringBuilder sb = new StringBuilder(6);
+            sb.appendCodePoint(run.get(i)).appendCodePoint(run.get(i + 1)).appendCodePoint(run.get(i + 2));
+            trigrams.add(sb.toString());
+        }
+    }
+
     public static String convertSqlLikeToLuceneWildcard(String wildcardString) {
         // lucene uses * and ? as wildcard characters
         // but via SQL they are used as % and _
@@ -303,6 +466,7 @@ public class LikeOperators {
                 }
             }
         }
+        ensureNoDanglingEscape(escaped);
         return regex.toString();
     }
 }
@@ -30,8 +30,8 @@ import io.crate.expression.operator.LikeOperators;
 import io.crate.expression.operator.LikeOperators.CaseSensitivity;
 import io.crate.expression.symbol.Function;
 import io.crate.expression.symbol.Literal;
+import io.crate.lucene.LuceneQueryBuilder;
 import io.crate.lucene.LuceneQueryBuilder.Context;
-import io.crate.metadata.IndexType;
 import io.crate.metadata.Reference;
 import io.crate.metadata.functions.BoundSignature;
 import io.crate.metadata.functions.Signature;
@@ -58,14 +58,12 @@ public final class AnyLikeOperator extends AnyOperator {
     @Override
     boolean matches(Object probe, Object candidate) {
         // Accept both sides of arguments to be patterns
-        return LikeOperators.matches((String) probe, (String) candidate, LikeOperators.DEFAULT_ESCAPE, caseSensitivity) ||
-               LikeOperators.matches((String) candidate, (String) probe, LikeOperators.DEFAULT_ESCAPE, caseSensitivity);
+        return LikeOperators.matchesEitherWay((String) probe, (String) candidate, LikeOperators.DEFAULT_ESCAPE, caseSensitivity);
     }
 
     @Override
     protected Query refMatchesAnyArrayLiteral(Function any, Reference probe, Literal<?> candidates, Context context) {
         // col like ANY (['a', 'b']) --> or(like(col, 'a'), like(col, 'b'))
-        String fqn = probe.storageIdent();
         BooleanQuery.Builder booleanQuery = new BooleanQuery.Builder();
         booleanQuery.setMinimumNumberShouldMatch(1);
         Iterable<?> values = (Iterable<?>) candidates.value();
@@ -73,7 +71,18 @@ public final class AnyLikeOperator extends AnyOperator {
             if (value == null) {
                 continue;
             }
-            var likeQuery = caseSensitivity.likeQuery(fqn, (String) value, LikeOperators.DEFAULT_ESCAPE, probe.indexType() != IndexType.NONE);
+            if (!LikeOperators.isValidPattern((String) value, LikeOperators.DEFAULT_ESCAPE)) {
+                // Can still match with the column value as pattern
+                return null;
+            }
+            var likeQuery = LikeOperators.likeQuery(
+                probe,
+                (String) value,
+                LikeOperators.DEFAULT_ESCAPE,
+                caseSensitivity,
+                context,
+                () -> LuceneQueryBuilder.genericFunctionFilter(any, context)
+            );
             if (likeQuery == null) {
                 return null;
             }
@@ -84,6 +93,16 @@ public final class AnyLikeOperator extends AnyOperator {
 
     @Override
     protected Query literalMatchesAnyArrayRef(Function any, Literal<?> probe, Reference candidates, Context context) {
-        return caseSensitivity.likeQuery(candidates.storageIdent(), (String) probe.value(), LikeOperators.DEFAULT_ESCAPE, candidates.indexType() != IndexType.NONE);
+        if (!LikeOperators.isValidPattern((String) probe.value(), LikeOperators.DEFAULT_ESCAPE)) {
+            return null;
+        }
+        return LikeOperators.likeQuery(
+            candidates,
+            (String) probe.value(),
+            LikeOperators.DEFAULT_ESCAPE,
+            caseSensitivity,
+            context,
+            () -> LuceneQueryBuilder.genericFunctionFilter(any, context)
+        );
     }
 }
@@ -57,13 +57,14 @@ public final class AnyNotLikeOperator extends AnyOperator {
     @Override
     boolean matches(Object probe, Object candidate) {
         // Accept both sides of arguments to be patterns
-        return !LikeOperators.matches((String) probe, (String) candidate, LikeOperators.DEFAULT_ESCAPE, caseSensitivity) &&
-               !LikeOperators.matches((String) candidate, (String) probe, LikeOperators.DEFAULT_ESCAPE, caseSensitivity);
+        return !LikeOperators.matchesEitherWay((String) probe, (String) candidate, LikeOperators.DEFAULT_ESCAPE, caseSensitivity);
     }
 
     @Override
     protected Query refMatchesAnyArrayLiteral(Function any, Reference probe, Literal<?> candidates, Context context) {
         // col not like ANY (['a', 'b']) --> not(and(like(col, 'a'), like(col, 'b')))
+        // A trigram index can't be used here: trigrams only narrow down the documents matching a pattern,
+        // not the ones that don't match it
         String columnName = probe.storageIdent();
         BooleanQuery.Builder andLikeQueries = new BooleanQuery.Builder();
         Iterable<?> values = (Iterable<?>) candidates.value();
@@ -71,6 +72,9 @@ public final class AnyNotLikeOperator extends AnyOperator {
             if (value == null) {
                 continue;
             }
+            if (!LikeOperators.isValidPattern((String) value, LikeOperators.DEFAULT_ESCAPE)) {
+                return null;
+            }
             var likeQuery = caseSensitivity.likeQuery(columnName,
                 (String) value,
                 LikeOperators.DEFAULT_ESCAPE,
@@ -87,6 +91,9 @@ public final class AnyNotLikeOperator extends AnyOperator {
     @Override
     protected Query literalMatchesAnyArrayRef(Function any, Literal<?> probe, Reference candidates, Context context) {
         String pattern = (String) probe.value();
+        if (!LikeOperators.isValidPattern(pattern, LikeOperators.DEFAULT_ESCAPE)) {
+            return null;
+        }
         String regexString = LikeOperators.patternToRegex(pattern, LikeOperators.DEFAULT_ESCAPE);
         regexString = regexString.substring(1, regexString.length() - 1);
         String notLike = negateWildcard(regexString);
@@ -22,6 +22,7 @@
 package io.crate.expression.reference.sys.node;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.lucene.util.Constants;
@@ -38,6 +39,8 @@ import org.elasticsearch.monitor.process.ProcessStats;
 import org.elasticsearch.threadpool.ThreadPoolStats;
 
 import io.crate.common.collections.Lists;
+import io.crate.execution.jobs.NodeLimitStats;
+import io.crate.memory.OffHeapMemoryStats;
 import io.crate.monitor.ExtendedOsStats;
 import io.crate.protocols.ConnectionStats;
 import io.crate.types.DataTypes;
@@ -62,6 +65,8 @@ public class NodeStatsContext implements Writeable {
     private ExtendedOsStats extendedOsStats;
     private FsInfo fsInfo;
     private ThreadPoolStats threadPools;
+    private List<NodeLimitStats> dmlLimits = List.of();
+    private OffHeapMemoryStats offHeapStats;
     private ConnectionStats httpStats;
     private ConnectionStats psqlStats;
 
@@ -167,6 +172,14 @@ public class NodeStatsContext implements Writeable {
         return threadPools;
     }
 
+    public List<NodeLimitStats> dmlLimits() {
+        return dmlLimits;
+    }
+
+    public OffHeapMemoryStats offHeapStats() {
+        return offHeapStats;
+    }
+
     public String osName() {
         return osName;
     }
@@ -295,6 +308,14 @@ public class NodeStatsContext implements Writeable {
         this.threadPools = threadPools;
     }
 
+    public void dmlLimits(List<NodeLimitStats> dmlLimits) {
+        this.dmlLimits = dmlLimits;
+    }
+
+    public void offHeapStats(OffHeapMemoryStats offHeapStats) {
+        this.offHeapStats = offHeapStats;
+    }
+
     public void httpStats(ConnectionStats httpStats) {
         this.httpStats = httpStats;
     }
@@ -329,6 +350,10 @@ public class NodeStatsContext implements Writeable {
         this.fsInfo = in.readOptionalWriteable(FsInfo::new);
         this.extendedOsStats = in.readOptionalWriteable(ExtendedOsStats::new);
         this.threadPools = in.readOptionalWriteable(ThreadPoolStats::new);
+        if (in.getVersion().onOrAfter(Version.V_5_9_0)) {
+            this.dmlLimits = in.readList(NodeLimitStats::new);
+            this.offHeapStats = in.readOptionalWriteable(OffHeapMemoryStats::new);
+        }
         if (in.getVersion().onOrAfter(Version.V_5_8_0)) {
             this.httpStats = in.readOptionalWriteable(ConnectionStats::new);
             this.psqlStats = in.readOptionalWriteable(ConnectionStats::new);
@@ -387,6 +412,10 @@ public class NodeStatsContext implements Writeable {
         out.writeOptionalWriteable(fsInfo);
         out.writeOptionalWriteable(extendedOsStats);
         out.writeOptionalWriteable(threadPools);
+        if (out.getVersion().onOrAfter(Version.V_5_9_0)) {
+            out.writeList(dmlLimits);
+            out.writeOptionalWriteable(offHeapStats);
+        }
         if (out.getVersion().onOrAfter(Version.V_5_8_0)) {
             out.writeOptionalWriteable(httpStats);
             out.writeOptionalWriteable(psqlStats);
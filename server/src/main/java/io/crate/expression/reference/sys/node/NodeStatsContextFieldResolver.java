@@ -29,6 +29,7 @@ import java.net.UnknownHostException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -57,6 +58,10 @@ import org.elasticsearch.transport.TransportService;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.VisibleForTesting;
 
+import io.crate.execution.jobs.NodeLimitStats;
+import io.crate.execution.jobs.NodeLimits;
+import io.crate.memory.MemoryManagerFactory;
+import io.crate.memory.OffHeapMemoryStats;
 import io.crate.metadata.ColumnIdent;
 import io.crate.metadata.sys.SysNodesTableInfo;
 import io.crate.monitor.ExtendedNodeInfo;
@@ -80,6 +85,8 @@ public class NodeStatsContextFieldResolver {
     private final JvmService jvmService;
     private final FsService fsService;
     private final LongSupplier clusterStateVersion;
+    private final Supplier<List<NodeLimitStats>> dmlLimits;
+    private final Supplier<OffHeapMemoryStats> offHeapStats;
 
     @Inject
     @SuppressWarnings("unused")
@@ -89,7 +96,9 @@ public class NodeStatsContextFieldResolver {
                                          TransportService transportService,
                                          ThreadPool threadPool,
                                          ExtendedNodeInfo extendedNodeInfo,
-                                         PostgresNetty postgresNetty) {
+                                         PostgresNetty postgresNetty,
+                                         NodeLimits nodeLimits,
+                                         MemoryManagerFactory memoryManagerFactory) {
         this(
             clusterService::localNode,
             nodeService.getMonitorService(),
@@ -106,7 +115,9 @@ public class NodeStatsContextFieldResolver {
                 return boundTransportAddress.publishAddress();
             },
             transportService::stats,
-            () -> clusterService.state().version()
+            () -> clusterService.state().version(),
+            nodeLimits::stats,
+            memoryManagerFactory::offHeapStats
         );
     }
 
@@ -120,7 +131,9 @@ public class NodeStatsContextFieldResolver {
                                   Supplier<ConnectionStats> psqlStats,
                                   Supplier<TransportAddress> boundPostgresAddress,
                                   Supplier<ConnectionStats> transportStats,
-                                  LongSupplier clusterStateVersion) {
+                                  LongSupplier clusterStateVersion,
+                                  Supplier<List<NodeLimitStats>> dmlLimits,
+                                  Supplier<OffHeapMemoryStats> offHeapStats) {
         this.localNode = localNode;
         processService = monitorService.processService();
         osService = monitorService.osService();
@@ -134,6 +147,8 @@ public class NodeStatsContextFieldResolver {
         this.boundPostgresAddress = boundPostgresAddress;
         this.transportStats = transportStats;
         this.clusterStateVersion = clusterStateVersion;
+        this.dmlLimits = dmlLimits;
+        this.offHeapStats = offHeapStats;
     }
 
     public NodeStatsContext forTopColumnIdents(Collection<ColumnIdent> topColumnIdents) {
@@ -277,5 +292,17 @@ public class NodeStatsContextFieldResolver {
             public void accept(NodeStatsContext context) {
                 context.fsInfo(fsService.stats());
             }
+        }),
+        entry(SysNodesTableInfo.Columns.OVERLOAD_PROTECTION, new Consumer<>() {
+            @Override
+            public void accept(NodeStatsContext context) {
+                context.dmlLimits(dmlLimits.get());
+            }
+        }),
+        entry(SysNodesTableInfo.Columns.OFF_HEAP, new Consumer<>() {
+            @Override
+            public void accept(NodeStatsContext context) {
+                context.offHeapStats(offHeapStats.get());
+            }
         }));
 }
@@ -21,9 +21,11 @@
 
 package io.crate.expression.reference.sys.operation;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 public class OperationContext {
 
@@ -33,13 +35,24 @@ public class OperationContext {
 
     public final long started;
     private final LongSupplier bytesUsed;
+    private final Supplier<Map<String, Object>> stats;
 
     public OperationContext(int id, UUID jobId, String name, long started, LongSupplier bytesUsed) {
+        this(id, jobId, name, started, bytesUsed, Map::of);
+    }
+
+    public OperationContext(int id,
+                            UUID jobId,
+                            String name,
+                            long started,
+                            LongSupplier bytesUsed,
+                            Supplier<Map<String, Object>> stats) {
         this.id = id;
         this.jobId = jobId;
         this.name = name;
         this.started = started;
         this.bytesUsed = bytesUsed;
+        this.stats = stats;
     }
 
     public int id() {
@@ -62,6 +75,10 @@ public class OperationContext {
         return bytesUsed.getAsLong();
     }
 
+    public Map<String, Object> stats() {
+        return stats.get();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -28,6 +28,7 @@ import org.jetbrains.annotations.Nullable;
 import org.apache.lucene.util.Accountable;
 import org.apache.lucene.util.RamUsageEstimator;
 
+import java.util.Map;
 import java.util.UUID;
 
 public class OperationContextLog implements ContextLog, Accountable {
@@ -40,6 +41,7 @@ public class OperationContextLog implements ContextLog, Accountable {
     private final String name;
     private final long started;
     private final long usedBytes;
+    private final Map<String, Object> stats;
 
     public OperationContextLog(OperationContext operationContext, @Nullable String errorMessage) {
         // We don't want to have a reference to operationContext so that it can be GC'd
@@ -48,6 +50,7 @@ public class OperationContextLog implements ContextLog, Accountable {
         this.name = operationContext.name();
         this.started = operationContext.started();
         this.usedBytes = operationContext.usedBytes();
+        this.stats = operationContext.stats();
         this.errorMessage = errorMessage;
         this.ended = System.currentTimeMillis();
     }
@@ -77,6 +80,10 @@ public class OperationContextLog implements ContextLog, Accountable {
         return usedBytes;
     }
 
+    public Map<String, Object> stats() {
+        return stats;
+    }
+
     @Nullable
     public String errorMessage() {
         return errorMessage;
@@ -93,6 +100,9 @@ public class OperationContextLog implements ContextLog, Accountable {
         // OperationContext
         size += 60L; // 24 bytes (headers) + 4 bytes (id) + 16 bytes (uuid) + 8 bytes (started) + 8 bytes (usedBytes)
         size += name.length();
+        if (!stats.isEmpty()) {
+            size += RamUsageEstimator.sizeOfMap(stats);
+        }
 
         return RamUsageEstimator.alignObjectSize(size);
     }
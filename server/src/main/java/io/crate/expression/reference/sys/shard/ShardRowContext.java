@@ -35,6 +35,7 @@ import org.elasticsearch.index.shard.IllegalIndexShardStateException;
 import org.elasticsearch.index.shard.IndexShard;
 import org.elasticsearch.index.shard.IndexShardClosedException;
 import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.index.store.SearchableSnapshotDirectory;
 import org.elasticsearch.index.store.StoreStats;
 import org.jetbrains.annotations.Nullable;
 
@@ -378,4 +379,49 @@ public class ShardRowContext {
     public long flushPeriodicCount() {
         return indexShard.periodicFlushCount();
     }
+
+    @Nullable
+    private SearchableSnapshotDirectory snapshotDirectory() {
+        try {
+            return SearchableSnapshotDirectory.unwrap(indexShard.store().directory());
+        } catch (AlreadyClosedException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    public String snapshotCacheRepository() {
+        SearchableSnapshotDirectory directory = snapshotDirectory();
+        return directory == null ? null : directory.repository();
+    }
+
+    @Nullable
+    public String snapshotCacheSnapshot() {
+        SearchableSnapshotDirectory directory = snapshotDirectory();
+        return directory == null ? null : directory.snapshot();
+    }
+
+    @Nullable
+    public Long snapshotCacheHits() {
+        SearchableSnapshotDirectory directory = snapshotDirectory();
+        return directory == null ? null : directory.hits();
+    }
+
+    @Nullable
+    public Long snapshotCacheMisses() {
+        SearchableSnapshotDirectory directory = snapshotDirectory();
+        return directory == null ? null : directory.misses();
+    }
+
+    @Nullable
+    public Long snapshotCachePrefetches() {
+        SearchableSnapshotDirectory directory = snapshotDirectory();
+        return directory == null ? null : directory.prefetches();
+    }
+
+    @Nullable
+    public Long snapshotCacheBytesRead() {
+        SearchableSnapshotDirectory directory = snapshotDirectory();
+        return directory == null ? null : directory.bytesRead();
+    }
 }
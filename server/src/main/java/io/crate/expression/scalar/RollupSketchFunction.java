@@ -0,0 +1,146 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.expression.scalar;
+
+import static io.crate.metadata.functions.TypeVariableConstraint.typeVariable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.crate.data.Input;
+import io.crate.execution.engine.aggregation.AggregationFunction;
+import io.crate.expression.symbol.Literal;
+import io.crate.expression.symbol.Symbol;
+import io.crate.metadata.FunctionType;
+import io.crate.metadata.Functions;
+import io.crate.metadata.NodeContext;
+import io.crate.metadata.Scalar;
+import io.crate.metadata.TransactionContext;
+import io.crate.metadata.functions.BoundSignature;
+import io.crate.metadata.functions.Signature;
+import io.crate.rollup.RollupSketches;
+import io.crate.types.DataType;
+import io.crate.types.DataTypes;
+import io.crate.types.TypeSignature;
+
+/**
+ * Reads and merges the serialized aggregation states stored in the sketch columns of rollup tables.
+ *
+ * <pre>
+ *     _rollup_sketch_merge(function, states, value_type)
+ *     _rollup_sketch(function, states, value_type, result_type [, arg])
+ * </pre>
+ *
+ * {@code value_type} and {@code result_type} are typed {@code NULL} literals for the type of the column and
+ * the result of the aggregation. {@code arg} is the second argument of the aggregation, e.g. the fraction of a
+ * percentile. See {@link RollupSketches}.
+ */
+public class RollupSketchFunction extends Scalar<Object, Object> {
+
+    public static final String NAME = "_rollup_sketch";
+    public static final String MERGE_NAME = "_rollup_sketch_merge";
+
+    public static void register(Functions.Builder module) {
+        module.add(
+            Signature.builder(MERGE_NAME, FunctionType.SCALAR)
+                .argumentTypes(
+                    DataTypes.STRING.getTypeSignature(),
+                    DataTypes.STRING_ARRAY.getTypeSignature(),
+                    TypeSignature.parse("E"))
+                .returnType(DataTypes.STRING.getTypeSignature())
+                .features(Feature.DETERMINISTIC)
+                .typeVariableConstraints(typeVariable("E"))
+                .build(),
+            RollupSketchFunction::new
+        );
+        module.add(
+            Signature.builder(NAME, FunctionType.SCALAR)
+                .argumentTypes(
+                    DataTypes.STRING.getTypeSignature(),
+                    DataTypes.STRING_ARRAY.getTypeSignature(),
+                    TypeSignature.parse("E"),
+                    TypeSignature.parse("R"))
+                .returnType(TypeSignature.parse("R"))
+                .features(Feature.DETERMINISTIC)
+                .typeVariableConstraints(typeVariable("E"), typeVariable("R"))
+                .build(),
+            RollupSketchFunction::new
+        );
+        module.add(
+            Signature.builder(NAME, FunctionType.SCALAR)
+                .argumentTypes(
+                    DataTypes.STRING.getTypeSignature(),
+                    DataTypes.STRING_ARRAY.getTypeSignature(),
+                    TypeSignature.parse("E"),
+                    TypeSignature.parse("R"),
+                    TypeSignature.parse("A"))
+                .returnType(TypeSignature.parse("R"))
+                .features(Feature.DETERMINISTIC)
+                .typeVariableConstraints(typeVariable("E"), typeVariable("R"), typeVariable("A"))
+                .build(),
+            RollupSketchFunction::new
+        );
+    }
+
+    private AggregationFunction<Object, ?> aggregation;
+
+    private RollupSketchFunction(Signature signature, BoundSignature boundSignature) {
+        super(signature, boundSignature);
+    }
+
+    @Override
+    @SafeVarargs
+    @SuppressWarnings("unchecked")
+    public final Object evaluate(TransactionContext txnCtx, NodeContext nodeCtx, Input<Object>... args) {
+        String function = (String) args[0].value();
+        List<String> states = (List<String>) args[1].value();
+        if (function == null || states == null) {
+            return null;
+        }
+        AggregationFunction<Object, ?> aggregation = aggregation(nodeCtx.functions(), function);
+        if (signature.getName().name().equals(MERGE_NAME)) {
+            return RollupSketches.merge(aggregation, states);
+        }
+        return RollupSketches.terminate(aggregation, states, Arrays.copyOfRange(args, 4, args.length));
+    }
+
+    private AggregationFunction<Object, ?> aggregation(Functions functions, String function) {
+        AggregationFunction<Object, ?> result = aggregation;
+        if (result == null) {
+            List<DataType<?>> argTypes = boundSignature.argTypes();
+            DataType<?> valueType = argTypes.get(2);
+            if (signature.getName().name().equals(MERGE_NAME)) {
+                result = RollupSketches.aggregation(functions, function, valueType);
+            } else {
+                List<Symbol> args = new ArrayList<>(argTypes.size() - 3);
+                args.add(Literal.ofUnchecked(valueType, null));
+                for (int i = 4; i < argTypes.size(); i++) {
+                    args.add(Literal.ofUnchecked(argTypes.get(i), null));
+                }
+                result = RollupSketches.aggregation(functions, function, args);
+            }
+            aggregation = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.expression.scalar;
+
+import static io.crate.metadata.functions.TypeVariableConstraint.typeVariable;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.jetbrains.annotations.Nullable;
+
+import io.crate.data.Input;
+import io.crate.execution.engine.join.RuntimeJoinFilter;
+import io.crate.expression.operator.EqOperator;
+import io.crate.expression.symbol.Function;
+import io.crate.expression.symbol.Literal;
+import io.crate.expression.symbol.Symbol;
+import io.crate.lucene.LuceneQueryBuilder;
+import io.crate.lucene.LuceneQueryBuilder.Context;
+import io.crate.metadata.FunctionType;
+import io.crate.metadata.Functions;
+import io.crate.metadata.IndexType;
+import io.crate.metadata.NodeContext;
+import io.crate.metadata.Reference;
+import io.crate.metadata.Scalar;
+import io.crate.metadata.TransactionContext;
+import io.crate.metadata.functions.BoundSignature;
+import io.crate.metadata.functions.Signature;
+import io.crate.role.Roles;
+import io.crate.types.DataType;
+import io.crate.types.DataTypes;
+import io.crate.types.EqQuery;
+import io.crate.types.StorageSupport;
+import io.crate.types.TypeSignature;
+
+/**
+ * Filter on the probe side of an equi-join using the join keys of the build side.
+ *
+ * <pre>
+ *     _runtime_filter(probe_column, filter)
+ * </pre>
+ *
+ * {@code filter} is created by {@link RuntimeJoinFilter#build}. Evaluated per row it matches if the
+ * build side might contain the value. As a Lucene query it becomes a terms query if the filter contains
+ * the exact keys, otherwise a range query on min/max combined with a per document bloom filter check.
+ */
+public class RuntimeFilterFunction extends Scalar<Boolean, Object> {
+
+    public static final String NAME = "_runtime_filter";
+
+    public static final Signature SIGNATURE = Signature.builder(NAME, FunctionType.SCALAR)
+        .argumentTypes(
+            TypeSignature.parse("E"),
+            DataTypes.UNTYPED_OBJECT.getTypeSignature())
+        .returnType(DataTypes.BOOLEAN.getTypeSignature())
+        .features(EnumSet.of(Feature.DETERMINISTIC, Feature.NOTNULL))
+        .typeVariableConstraints(typeVariable("E"))
+        .build();
+
+    public static void register(Functions.Builder module) {
+        module.add(SIGNATURE, RuntimeFilterFunction::new);
+    }
+
+    public static Function of(Symbol probeColumn, Symbol filter) {
+        return new Function(SIGNATURE, List.of(probeColumn, filter), DataTypes.BOOLEAN);
+    }
+
+    @Nullable
+    private final RuntimeJoinFilter compiledFilter;
+
+    public RuntimeFilterFunction(Signature signature, BoundSignature boundSignature) {
+        this(signature, boundSignature, null);
+    }
+
+    private RuntimeFilterFunction(Signature signature,
+                                  BoundSignature boundSignature,
+                                  @Nullable RuntimeJoinFilter compiledFilter) {
+        super(signature, boundSignature);
+        this.compiledFilter = compiledFilter;
+    }
+
+    @Override
+    public Scalar<Boolean, Object> compile(List<Symbol> arguments, String currentUser, Roles roles) {
+        if (arguments.get(1) instanceof Literal<?> literal && literal.value() instanceof Map<?, ?> filter) {
+            return new RuntimeFilterFunction(signature, boundSignature, decode(filter));
+        }
+        return this;
+    }
+
+    @Override
+    @SafeVarargs
+    public final Boolean evaluate(TransactionContext txnCtx, NodeContext nodeCtx, Input<Object>... args) {
+        assert args.length == 2 : "number of args must be 2";
+        RuntimeJoinFilter filter = compiledFilter;
+        if (filter == null) {
+            Object filterValue = args[1].value();
+            if (filterValue == null) {
+                return false;
+            }
+            filter = decode((Map<?, ?>) filterValue);
+        }
+        return filter.mightContain(args[0].value());
+    }
+
+    @Override
+    @Nullable
+    public Query toQuery(Function function, Context context) {
+        List<Symbol> args = function.arguments();
+        if (!(args.get(0) instanceof Reference ref && args.get(1) instanceof Literal<?> literal)) {
+            return null;
+        }
+        if (!(literal.value() instanceof Map<?, ?> filterValue)) {
+            return new MatchNoDocsQuery("runtime filter is null");
+        }
+        RuntimeJoinFilter filter = decode(filterValue);
+        String field = ref.storageIdent();
+        if (filter.keys() != null) {
+            Query termsQuery = EqOperator.termsQuery(
+                field, ref.valueType(), filter.keys(), ref.hasDocValues(), ref.indexType());
+            return termsQuery == null ? new MatchNoDocsQuery("build side of join is empty") : termsQuery;
+        }
+        Query genericFunctionFilter = LuceneQueryBuilder.genericFunctionFilter(function, context);
+        Query rangeQuery = rangeQuery(ref, filter.min(), filter.max());
+        if (rangeQuery == null) {
+            return genericFunctionFilter;
+        }
+        return new BooleanQuery.Builder()
+            .add(rangeQuery, Occur.MUST)
+            .add(genericFunctionFilter, Occur.FILTER)
+            .build();
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    private static Query rangeQuery(Reference ref, Object min, Object max) {
+        StorageSupport<?> storageSupport = ref.valueType().storageSupport();
+        EqQuery<Object> eqQuery = storageSupport == null ? null : (EqQuery<Object>) storageSupport.eqQuery();
+        if (eqQuery == null || min == null) {
+            return null;
+        }
+        return eqQuery.rangeQuery(
+            ref.storageIdent(),
+            min,
+            max,
+            true,
+            true,
+            ref.hasDocValues(),
+            ref.indexType() != IndexType.NONE
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private RuntimeJoinFilter decode(Map<?, ?> filter) {
+        DataType<?> keyType = boundSignature.argTypes().get(0);
+        return new RuntimeJoinFilter((Map<String, Object>) filter, keyType);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.expression.scalar;
+
+import static io.crate.metadata.functions.TypeVariableConstraint.typeVariable;
+
+import io.crate.data.Input;
+import io.crate.metadata.FunctionType;
+import io.crate.metadata.Functions;
+import io.crate.metadata.NodeContext;
+import io.crate.metadata.Scalar;
+import io.crate.metadata.TransactionContext;
+import io.crate.metadata.functions.BoundSignature;
+import io.crate.metadata.functions.Signature;
+import io.crate.types.DataTypes;
+import io.crate.types.TypeSignature;
+
+/**
+ * Error bound of a {@code count}, {@code sum} or {@code avg} aggregation on a {@code TABLESAMPLE}.
+ *
+ * <pre>
+ *     sampling_error(aggregation)
+ * </pre>
+ *
+ * Only a marker: if {@code scale_sampled_aggregates} is enabled, the analyzer replaces it with an
+ * expression computing the half-width of the 95% confidence interval of the scaled aggregation.
+ * It is never evaluated.
+ */
+public class SamplingErrorFunction extends Scalar<Double, Object> {
+
+    public static final String NAME = "sampling_error";
+
+    public static void register(Functions.Builder module) {
+        module.add(
+            Signature.builder(NAME, FunctionType.SCALAR)
+                .argumentTypes(TypeSignature.parse("E"))
+                .returnType(DataTypes.DOUBLE.getTypeSignature())
+                .features(Feature.DETERMINISTIC)
+                .typeVariableConstraints(typeVariable("E"))
+                .build(),
+            SamplingErrorFunction::new
+        );
+    }
+
+    private SamplingErrorFunction(Signature signature, BoundSignature boundSignature) {
+        super(signature, boundSignature);
+    }
+
+    @Override
+    @SafeVarargs
+    public final Double evaluate(TransactionContext txnCtx, NodeContext nodeCtx, Input<Object>... args) {
+        throw new UnsupportedOperationException(
+            NAME + " is only supported with TABLESAMPLE and the session setting scale_sampled_aggregates enabled");
+    }
+}
@@ -252,6 +252,10 @@ public class ScalarFunctions implements FunctionsProvider {
         ParseURLFunction.register(builder);
 
         KnnMatch.register(builder);
+        TableSampleFunction.register(builder);
+        SamplingErrorFunction.register(builder);
+        RuntimeFilterFunction.register(builder);
+        RollupSketchFunction.register(builder);
         VectorSimilarityFunction.register(builder);
     }
 }
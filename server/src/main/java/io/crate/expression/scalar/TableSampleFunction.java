@@ -0,0 +1,145 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+
+package io.crate.expression.scalar;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.lucene.search.Query;
+import org.jetbrains.annotations.Nullable;
+
+import io.crate.data.Input;
+import io.crate.expression.symbol.Function;
+import io.crate.expression.symbol.Literal;
+import io.crate.expression.symbol.Symbol;
+import io.crate.lucene.LuceneQueryBuilder.Context;
+import io.crate.lucene.SampleQuery;
+import io.crate.metadata.FunctionType;
+import io.crate.metadata.Functions;
+import io.crate.metadata.NodeContext;
+import io.crate.metadata.Scalar;
+import io.crate.metadata.TransactionContext;
+import io.crate.metadata.functions.BoundSignature;
+import io.crate.metadata.functions.Signature;
+import io.crate.types.DataTypes;
+
+/**
+ * Filter used to implement {@code TABLESAMPLE}.
+ *
+ * <pre>
+ *     _tablesample(_docid, method, percentage, seed)
+ * </pre>
+ *
+ * The {@code _docid} argument ties the filter to the sampled table. As a Lucene query it becomes a
+ * {@link SampleQuery} which skips the documents or segments that are not part of the sample.
+ * Evaluated per row, {@code BERNOULLI} decides per {@code _docid} and {@code SYSTEM} per block of
+ * {@link #SYSTEM_BLOCK_SIZE} consecutive {@code _docid} values. The decisions are derived from a
+ * hash of the seed and the {@code _docid}, so with a seed they are repeatable too.
+ */
+public class TableSampleFunction extends Scalar<Boolean, Object> {
+
+    public static final String NAME = "_tablesample";
+
+    static final int SYSTEM_BLOCK_SIZE = 4096;
+
+    public static final Signature SIGNATURE = Signature.builder(NAME, FunctionType.SCALAR)
+        .argumentTypes(
+            DataTypes.INTEGER.getTypeSignature(),
+            DataTypes.STRING.getTypeSignature(),
+            DataTypes.DOUBLE.getTypeSignature(),
+            DataTypes.LONG.getTypeSignature())
+        .returnType(DataTypes.BOOLEAN.getTypeSignature())
+        .features(EnumSet.of(Feature.NOTNULL))
+        .build();
+
+    public static void register(Functions.Builder module) {
+        module.add(SIGNATURE, TableSampleFunction::new);
+    }
+
+    /**
+     * @param seed seed for the sample; if it is a null literal each execution uses a different sample.
+     */
+    public static Function of(Symbol docId, SampleQuery.Method method, Symbol percentage, Symbol seed) {
+        return new Function(
+            SIGNATURE,
+            List.of(docId, Literal.of(method.name()), percentage, seed),
+            DataTypes.BOOLEAN
+        );
+    }
+
+    /**
+     * Used instead of a seed without REPEATABLE, all rows of a block need the same decision and a row
+     * evaluated more than once must stay in or out of the sample.
+     */
+    private final long randomSeed = ThreadLocalRandom.current().nextLong();
+
+    public TableSampleFunction(Signature signature, BoundSignature boundSignature) {
+        super(signature, boundSignature);
+    }
+
+    @Override
+    public Symbol normalizeSymbol(Function symbol, TransactionContext txnCtx, NodeContext nodeCtx) {
+        // Evaluated per row, like random()
+        return symbol;
+    }
+
+    @Override
+    @SafeVarargs
+    public final Boolean evaluate(TransactionContext txnCtx, NodeContext nodeCtx, Input<Object>... args) {
+        assert args.length == 4 : "number of args must be 4";
+        double probability = probability((Number) args[2].value());
+        if (probability == 0.0 || probability == 1.0) {
+            return probability == 1.0;
+        }
+        SampleQuery.Method method = SampleQuery.Method.valueOf((String) args[1].value());
+        Number seed = (Number) args[3].value();
+        long docId = ((Number) args[0].value()).longValue();
+        long unit = method == SampleQuery.Method.SYSTEM ? docId / SYSTEM_BLOCK_SIZE : docId;
+        return SampleQuery.includes(seed == null ? randomSeed : seed.longValue(), unit, probability);
+    }
+
+    @Override
+    @Nullable
+    public Query toQuery(Function function, Context context) {
+        List<Symbol> args = function.arguments();
+        if (args.get(1) instanceof Literal<?> method
+                && args.get(2) instanceof Literal<?> percentage
+                && args.get(3) instanceof Literal<?> seed) {
+            Number seedValue = (Number) seed.value();
+            return new SampleQuery(
+                SampleQuery.Method.valueOf((String) method.value()),
+                probability((Number) percentage.value()),
+                seedValue == null ? ThreadLocalRandom.current().nextLong() : seedValue.longValue()
+            );
+        }
+        return null;
+    }
+
+    private static double probability(@Nullable Number percentage) {
+        if (percentage == null || percentage.doubleValue() < 0.0 || percentage.doubleValue() > 100.0) {
+            throw new IllegalArgumentException("TABLESAMPLE percentage must be between 0 and 100, got: " + percentage);
+        }
+        return percentage.doubleValue() / 100.0;
+    }
+}
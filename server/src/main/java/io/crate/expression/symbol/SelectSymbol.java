@@ -30,6 +30,7 @@ import io.crate.analyze.relations.AnalyzedRelation;
 import io.crate.expression.symbol.format.Style;
 import io.crate.types.ArrayType;
 import io.crate.types.DataType;
+import io.crate.types.DataTypes;
 
 /**
  * Symbol representing a sub-query
@@ -47,7 +48,13 @@ public class SelectSymbol implements Symbol {
     public enum ResultType {
         SINGLE_COLUMN_SINGLE_VALUE,
         SINGLE_COLUMN_MULTIPLE_VALUES,
-        SINGLE_COLUMN_EXISTS
+        SINGLE_COLUMN_EXISTS,
+
+        /**
+         * Join keys of the build side of an equi-join, summarized as
+         * {@link io.crate.execution.engine.join.RuntimeJoinFilter}
+         */
+        SINGLE_COLUMN_RUNTIME_FILTER
     }
 
     public SelectSymbol(AnalyzedRelation relation, ArrayType<?> dataType,
@@ -99,6 +106,9 @@ public class SelectSymbol implements Symbol {
         if (resultType == ResultType.SINGLE_COLUMN_SINGLE_VALUE) {
             return dataType.innerType();
         }
+        if (resultType == ResultType.SINGLE_COLUMN_RUNTIME_FILTER) {
+            return DataTypes.UNTYPED_OBJECT;
+        }
         return dataType;
     }
 
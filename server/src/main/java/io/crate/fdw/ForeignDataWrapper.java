@@ -25,11 +25,17 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Settings;
+import org.jetbrains.annotations.Nullable;
 
+import io.crate.analyze.OrderBy;
 import io.crate.data.BatchIterator;
 import io.crate.data.Row;
+import io.crate.expression.symbol.Function;
 import io.crate.expression.symbol.Symbol;
 import io.crate.fdw.ServersMetadata.Server;
+import io.crate.metadata.Reference;
+import io.crate.metadata.RelationName;
 import io.crate.metadata.TransactionContext;
 import io.crate.role.Role;
 
@@ -47,20 +53,65 @@ public interface ForeignDataWrapper {
         return List.of();
     }
 
+    /**
+     * Validates the combination of table options, in addition to the validation of the
+     * individual {@link #optionalTableOptions()}. Called on CREATE FOREIGN TABLE.
+     *
+     * @throws IllegalArgumentException if the options are invalid
+     */
+    default void validateTableOptions(RelationName tableName, List<Reference> columns, Settings tableOptions) {
+    }
+
     /**
      * Indicates if the query can be executed on the foreign server.
      *
      * If this returns `false` filtering must be done via dedicated filter operator
      * because the query parameter to
-     * {@link #getIterator(Role, Server, ForeignTable, TransactionContext, List, Symbol)}
+     * {@link #getIterator(Role, Server, ForeignTable, TransactionContext, List, Symbol, OrderBy, int)}
      * is ignored.
      **/
     boolean supportsQueryPushdown(Symbol query);
 
+    /**
+     * Indicates if a limit can be applied on the foreign server.
+     *
+     * The limit is only a hint, CrateDB still applies it to the result.
+     **/
+    default boolean supportsLimitPushdown() {
+        return false;
+    }
+
+    /**
+     * Indicates if the rows can be sorted on the foreign server with the same
+     * semantics as in CrateDB. Only used together with a limit.
+     **/
+    default boolean supportsOrderByPushdown(OrderBy orderBy) {
+        return false;
+    }
+
+    /**
+     * Indicates if the global aggregates can be computed on the foreign server.
+     *
+     * If this returns `true` the aggregates can be part of the collect symbols passed
+     * to {@link #getIterator(Role, Server, ForeignTable, TransactionContext, List, Symbol, OrderBy, int)}
+     * and the iterator must return a single row with their results.
+     **/
+    default boolean supportsAggregatePushdown(List<Function> aggregates) {
+        return false;
+    }
+
+    /**
+     * @param orderBy ordering to apply on the foreign server if
+     *                {@link #supportsOrderByPushdown(OrderBy)} returned true, otherwise null.
+     * @param limit max number of rows to fetch (including the offset) if
+     *              {@link #supportsLimitPushdown()} returned true, otherwise -1.
+     */
     CompletableFuture<BatchIterator<Row>> getIterator(Role user,
                                                       Server server,
                                                       ForeignTable foreignTable,
                                                       TransactionContext txnCtx,
                                                       List<Symbol> collect,
-                                                      Symbol query);
+                                                      Symbol query,
+                                                      @Nullable OrderBy orderBy,
+                                                      int limit);
 }
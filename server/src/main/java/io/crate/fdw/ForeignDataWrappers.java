@@ -35,6 +35,7 @@ import org.elasticsearch.common.inject.Singleton;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.threadpool.ThreadPool;
 
 import io.crate.data.BatchIterator;
 import io.crate.data.Row;
@@ -67,11 +68,12 @@ public class ForeignDataWrappers implements CollectSource {
     @Inject
     public ForeignDataWrappers(Settings settings,
                                ClusterService clusterService,
-                               NodeContext nodeContext) {
+                               NodeContext nodeContext,
+                               ThreadPool threadPool) {
         this.clusterService = clusterService;
         this.inputFactory = new InputFactory(nodeContext);
         this.wrappers = Map.of(
-            "jdbc", new JdbcForeignDataWrapper(settings, inputFactory)
+            "jdbc", new JdbcForeignDataWrapper(settings, inputFactory, threadPool)
         );
         this.roles = nodeContext.roles();
     }
@@ -132,7 +134,9 @@ public class ForeignDataWrappers implements CollectSource {
             foreignTable,
             txnCtx,
             collectPhase.toCollect(),
-            phase.query()
+            phase.query(),
+            phase.orderBy(),
+            phase.limit()
         );
     }
 }
@@ -31,6 +31,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
@@ -38,21 +39,29 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.IntSupplier;
 import java.util.function.LongSupplier;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.apache.lucene.util.Accountable;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import io.crate.analyze.OrderBy;
 import io.crate.common.collections.Lists;
 import io.crate.common.exceptions.Exceptions;
 import io.crate.data.BatchIterator;
 import io.crate.data.Row;
 import io.crate.data.RowN;
 import io.crate.exceptions.ConversionException;
+import io.crate.execution.engine.aggregation.impl.CountAggregation;
+import io.crate.execution.engine.pipeline.LimitAndOffset;
 import io.crate.expression.scalar.cast.CastMode;
+import io.crate.expression.symbol.Function;
 import io.crate.expression.symbol.RefReplacer;
 import io.crate.expression.symbol.Symbol;
 import io.crate.expression.symbol.SymbolType;
@@ -70,36 +79,110 @@ import io.crate.types.DataType;
 
 public class JdbcBatchIterator implements BatchIterator<Row> {
 
+    private static final Logger LOGGER = LogManager.getLogger(JdbcBatchIterator.class);
+
+    /**
+     * Number of rows fetched per {@link #loadNextBatch()} if no fetch size is set.
+     */
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * Restricts the rows read by a {@link JdbcBatchIterator} to {@code from <= column < to}.
+     * A missing lower bound also includes rows where the column is NULL, a missing upper bound is open-ended.
+     * Used to split a scan into several ranges that can be read in parallel.
+     */
+    record Range(Reference column, @Nullable Long from, @Nullable Long to) {
+
+        String toString(String quoteString) {
+            String column = new QuotedReference(this.column, quoteString).toString(Style.UNQUALIFIED);
+            if (from == null && to == null) {
+                return "true";
+            }
+            if (from == null) {
+                return "(" + column + " < " + to + " OR " + column + " IS NULL)";
+            }
+            if (to == null) {
+                return column + " >= " + from;
+            }
+            return "(" + column + " >= " + from + " AND " + column + " < " + to + ")";
+        }
+    }
+
     private final String url;
     private final Properties properties;
     private final Row row;
     private final Object[] cells;
-    private final List<Reference> columns;
+    private final List<Symbol> columns;
     private final Symbol query;
     private final RelationName table;
+    @Nullable
+    private final OrderBy orderBy;
+    private final int limit;
+    @Nullable
+    private final Range range;
+    private final int fetchSize;
+    private final Executor executor;
 
-    private Connection conn;
-    private PreparedStatement statement;
-    private ResultSet resultSet;
+    /**
+     * Rows of the current batch, filled by {@link #loadNextBatch()} on the executor.
+     * Loads happen-before the consumer continues, so the consumer thread can read them without synchronization.
+     */
+    private final List<Object[]> batch = new ArrayList<>();
+    private int position = 0;
+
+    // Connecting, executing and fetching happens on the executor, kill() can be called from any thread
+    private volatile Connection conn;
+    private volatile PreparedStatement statement;
+    private volatile ResultSet resultSet;
+    private volatile boolean exhausted = false;
+    private volatile CompletableFuture<?> loading = CompletableFuture.completedFuture(null);
     private volatile Throwable killed = null;
 
-    public JdbcBatchIterator(String url,
-                             Properties properties,
-                             List<Reference> columns,
-                             Symbol query,
-                             RelationName table) {
+    /**
+     * @param columns references or aggregates (see {@link JdbcForeignDataWrapper#supportsAggregatePushdown(List)})
+     * @param orderBy order to request from the foreign server. Only applied if there is a limit.
+     * @param limit maximum number of rows to request from the foreign server or {@link LimitAndOffset#NO_LIMIT}
+     * @param range optional range of a partitioned read
+     * @param fetchSize number of rows to fetch per round-trip. 0 uses the driver default.
+     * @param executor executor used to connect to the foreign server and to execute the query
+     */
+    JdbcBatchIterator(String url,
+                      Properties properties,
+                      List<Symbol> columns,
+                      Symbol query,
+                      RelationName table,
+                      @Nullable OrderBy orderBy,
+                      int limit,
+                      @Nullable Range range,
+                      int fetchSize,
+                      Executor executor) {
         this.url = url;
         this.properties = properties;
         this.columns = columns;
         this.query = query;
         this.table = table;
+        this.orderBy = orderBy;
+        this.limit = limit;
+        this.range = range;
+        this.fetchSize = fetchSize;
+        this.executor = executor;
         this.cells = new Object[columns.size()];
         this.row = new RowN(cells);
     }
 
     static String generateStatement(RelationName table,
-                                    List<Reference> columns,
+                                    List<? extends Symbol> columns,
+                                    Symbol query,
+                                    String quoteString) {
+        return generateStatement(table, columns, query, null, LimitAndOffset.NO_LIMIT, null, quoteString);
+    }
+
+    static String generateStatement(RelationName table,
+                                    List<? extends Symbol> columns,
                                     Symbol query,
+                                    @Nullable OrderBy orderBy,
+                                    int limit,
+                                    @Nullable Range range,
                                     String quoteString) {
         final String qs = quoteString.isBlank() ? "" : quoteString;
         StringBuilder relationName = new StringBuilder();
@@ -116,32 +199,60 @@ public class JdbcBatchIterator implements BatchIterator<Row> {
             .append(table.name())
             .append(qs);
 
-        return String.format(
+        String where = quote(query, qs);
+        if (range != null) {
+            where = "(" + where + ") AND " + range.toString(qs);
+        }
+        StringBuilder sb = new StringBuilder(String.format(
             Locale.ENGLISH,
             "SELECT %s FROM %s WHERE %s",
-            String.join(", ", Lists.mapLazy(
-                columns,
-                ref -> new QuotedReference(ref, qs).toString(Style.UNQUALIFIED))),
+            String.join(", ", Lists.mapLazy(columns, column -> quote(column, qs))),
             relationName.toString(),
-            RefReplacer.replaceRefs(
-                query,
-                ref -> new QuotedReference(ref, qs)).toString(Style.UNQUALIFIED)
-        );
+            where
+        ));
+        // The ordering only matters if there is a limit. The limit itself is applied via
+        // Statement.setMaxRows as there is no syntax for it that all databases support.
+        if (limit != LimitAndOffset.NO_LIMIT && orderBy != null) {
+            sb.append(" ORDER BY ");
+            List<Symbol> orderBySymbols = orderBy.orderBySymbols();
+            for (int i = 0; i < orderBySymbols.size(); i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                // Not all databases share the NULL ordering defaults of CrateDB or support NULLS FIRST/LAST
+                String column = quote(orderBySymbols.get(i), qs);
+                sb.append("CASE WHEN ")
+                    .append(column)
+                    .append(orderBy.nullsFirst()[i] ? " IS NULL THEN 0 ELSE 1 END, " : " IS NULL THEN 1 ELSE 0 END, ")
+                    .append(column)
+                    .append(orderBy.reverseFlags()[i] ? " DESC" : " ASC");
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String quote(Symbol symbol, String quoteString) {
+        if (symbol instanceof Function fn
+            && fn.name().equals(CountAggregation.NAME)
+            && fn.arguments().isEmpty()) {
+            return "count(*)";
+        }
+        return RefReplacer.replaceRefs(symbol, ref -> new QuotedReference(ref, quoteString)).toString(Style.UNQUALIFIED);
     }
 
     @Override
     public void kill(@NotNull Throwable throwable) {
-        try {
-            if (statement != null) {
-                statement.close();
-            }
-            if (conn != null) {
-                conn.close();
+        killed = throwable;
+        PreparedStatement stmt = statement;
+        if (stmt != null) {
+            try {
+                // Aborts a query which is still running on the foreign server
+                stmt.cancel();
+            } catch (SQLException e) {
+                throwable.addSuppressed(e);
             }
-        } catch (SQLException ignored) {
-            throwable.addSuppressed(ignored);
         }
-        killed = throwable;
+        closeAfterLoad();
     }
 
     @Override
@@ -152,41 +263,22 @@ public class JdbcBatchIterator implements BatchIterator<Row> {
     @Override
     public void moveToStart() {
         raiseIfKilled();
-        if (resultSet != null) {
-            try {
-                resultSet.beforeFirst();
-            } catch (SQLException e) {
-                resultSet = null;
-            }
-        }
+        // The result set is forward-only, the next load executes the query again
+        batch.clear();
+        position = 0;
+        resultSet = null;
+        exhausted = false;
     }
 
     @Override
     public boolean moveNext() {
         raiseIfKilled();
-        if (resultSet == null) {
-            return false;
-        }
-        try {
-            if (resultSet.next()) {
-                for (int i = 0; i < columns.size(); i ++) {
-                    Reference ref = columns.get(i);
-                    ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
-                    Object object = getObject(resultSet, i, resultSetMetaData.getColumnTypeName(i + 1));
-                    try {
-                        cells[i] = ref.valueType().implicitCast(object);
-                    } catch (ClassCastException | IllegalArgumentException e) {
-                        var conversionException = new ConversionException(object, ref.valueType());
-                        conversionException.addSuppressed(e);
-                        throw conversionException;
-                    }
-                }
-                return true;
-            }
+        if (position >= batch.size()) {
             return false;
-        } catch (SQLException e) {
-            throw Exceptions.toRuntimeException(e);
         }
+        Object[] values = batch.get(position++);
+        System.arraycopy(values, 0, cells, 0, cells.length);
+        return true;
     }
 
     @Override
@@ -194,9 +286,32 @@ public class JdbcBatchIterator implements BatchIterator<Row> {
         if (killed != null) {
             killed = BatchIterator.CLOSED;
         }
-        if (conn != null) {
+        CompletableFuture<?> load = loading;
+        if (load.isDone()) {
+            closeConnection();
+        } else {
+            closeAfterLoad();
+        }
+    }
+
+    /**
+     * Closes the connection once a load in progress completed, as the load may still open it or use it.
+     */
+    private void closeAfterLoad() {
+        loading.whenComplete((result, err) -> {
+            try {
+                closeConnection();
+            } catch (Exception e) {
+                LOGGER.warn("Failed to close connection to foreign server", e);
+            }
+        });
+    }
+
+    private void closeConnection() {
+        Connection connection = conn;
+        if (connection != null) {
             try {
-                conn.close();
+                connection.close();
             } catch (SQLException e) {
                 throw Exceptions.toRuntimeException(e);
             }
@@ -205,21 +320,94 @@ public class JdbcBatchIterator implements BatchIterator<Row> {
 
     @Override
     public CompletionStage<?> loadNextBatch() throws Exception {
+        if (exhausted) {
+            throw new IllegalStateException("All batches already loaded");
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        // Published before the load starts so that a concurrent kill() or close() waits for it
+        loading = future;
+        // Connecting, executing the query and fetching rows block until the foreign server responds
+        try {
+            executor.execute(() -> {
+                try {
+                    fetchBatch();
+                    future.complete(null);
+                } catch (Throwable t) {
+                    // A cancelled statement fails with a driver specific error
+                    Throwable killedBy = killed;
+                    future.completeExceptionally(killedBy == null ? t : killedBy);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private void fetchBatch() throws SQLException {
+        raiseIfKilled();
+        if (resultSet == null) {
+            executeQuery();
+        }
+        batch.clear();
+        position = 0;
+        int batchSize = fetchSize > 0 ? fetchSize : DEFAULT_BATCH_SIZE;
+        ResultSetMetaData resultSetMetaData = resultSet.getMetaData();
+        while (batch.size() < batchSize) {
+            if (!resultSet.next()) {
+                exhausted = true;
+                return;
+            }
+            Object[] values = new Object[columns.size()];
+            for (int i = 0; i < values.length; i++) {
+                DataType<?> type = columns.get(i).valueType();
+                Object object = getObject(resultSet, i, resultSetMetaData.getColumnTypeName(i + 1));
+                try {
+                    values[i] = type.implicitCast(object);
+                } catch (ClassCastException | IllegalArgumentException e) {
+                    var conversionException = new ConversionException(object, type);
+                    conversionException.addSuppressed(e);
+                    throw conversionException;
+                }
+            }
+            batch.add(values);
+        }
+    }
+
+    private void executeQuery() throws SQLException {
         if (conn == null) {
             conn = DriverManager.getConnection(url, properties);
         }
         if (statement == null) {
             DatabaseMetaData metaData = conn.getMetaData();
-            String sql = generateStatement(table, columns, query, metaData.getIdentifierQuoteString());
+            String sql = generateStatement(
+                table,
+                columns,
+                query,
+                orderBy,
+                limit,
+                range,
+                metaData.getIdentifierQuoteString()
+            );
+            if (fetchSize > 0) {
+                // Most drivers (e.g. PostgreSQL) ignore the fetch size and
+                // load the full result into memory if autocommit is enabled
+                conn.setAutoCommit(false);
+            }
             statement = conn.prepareStatement(sql);
+            if (fetchSize > 0) {
+                statement.setFetchSize(fetchSize);
+            }
+            if (limit != LimitAndOffset.NO_LIMIT) {
+                statement.setMaxRows(limit);
+            }
         }
         resultSet = statement.executeQuery();
-        return CompletableFuture.completedFuture(null);
     }
 
     @Override
     public boolean allLoaded() {
-        return resultSet != null;
+        return exhausted;
     }
 
     @Override
@@ -26,19 +26,35 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.UnknownHostException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.threadpool.ThreadPool;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
 
+import io.crate.analyze.OrderBy;
+import io.crate.common.collections.Lists;
 import io.crate.data.BatchIterator;
+import io.crate.data.CompositeBatchIterator;
 import io.crate.data.Row;
+import io.crate.exceptions.ColumnUnknownException;
 import io.crate.execution.dsl.projection.builder.InputColumns;
+import io.crate.execution.engine.aggregation.impl.CountAggregation;
+import io.crate.execution.engine.aggregation.impl.MaximumAggregation;
+import io.crate.execution.engine.aggregation.impl.MinimumAggregation;
+import io.crate.execution.engine.aggregation.impl.SumAggregation;
 import io.crate.execution.engine.collect.CollectExpression;
 import io.crate.execution.engine.pipeline.InputRowProjector;
+import io.crate.execution.engine.pipeline.LimitAndOffset;
 import io.crate.expression.InputFactory;
 import io.crate.expression.InputFactory.Context;
 import io.crate.expression.operator.AndOperator;
@@ -52,11 +68,14 @@ import io.crate.expression.predicate.NotPredicate;
 import io.crate.expression.symbol.Function;
 import io.crate.expression.symbol.Symbol;
 import io.crate.fdw.ServersMetadata.Server;
+import io.crate.metadata.ColumnIdent;
+import io.crate.metadata.FunctionType;
 import io.crate.metadata.Reference;
 import io.crate.metadata.RelationName;
 import io.crate.metadata.TransactionContext;
 import io.crate.metadata.settings.SessionSettings;
 import io.crate.role.Role;
+import io.crate.types.DataTypes;
 
 final class JdbcForeignDataWrapper implements ForeignDataWrapper {
 
@@ -74,16 +93,58 @@ final class JdbcForeignDataWrapper implements ForeignDataWrapper {
         LteOperator.NAME
     );
 
+    /**
+     * Aggregations that any foreign database accessible via jdbc must support
+     */
+    private static final Set<String> SAFE_AGGREGATES = Set.of(
+        CountAggregation.NAME,
+        SumAggregation.NAME,
+        MinimumAggregation.NAME,
+        MaximumAggregation.NAME
+    );
+
+    /**
+     * Types that sort the same way in any foreign database accessible via jdbc.
+     * (Strings depend on the collation, floating point types on the NaN handling)
+     * Also used to restrict the arguments of min/max pushdown.
+     */
+    private static final Set<Integer> SAFE_ORDER_BY_TYPES = Set.of(
+        DataTypes.BYTE.id(),
+        DataTypes.SHORT.id(),
+        DataTypes.INTEGER.id(),
+        DataTypes.LONG.id(),
+        DataTypes.TIMESTAMP.id(),
+        DataTypes.TIMESTAMPZ.id()
+    );
+
+    private static final Set<Integer> PARTITION_COLUMN_TYPES = Set.of(
+        DataTypes.BYTE.id(),
+        DataTypes.SHORT.id(),
+        DataTypes.INTEGER.id(),
+        DataTypes.LONG.id()
+    );
+
     private final InputFactory inputFactory;
     private final Settings settings;
+    private final ThreadPool threadPool;
     private final Setting<String> urlSetting = Setting.simpleString("url");
     private final List<Setting<?>> mandatoryServerOptions = List.of(urlSetting);
 
     private final Setting<String> schemaName = Setting.simpleString("schema_name");
     private final Setting<String> tableName = Setting.simpleString("table_name");
+    private final Setting<Integer> fetchSize = Setting.intSetting("fetch_size", 0, 0);
+    private final Setting<String> partitionColumn = Setting.simpleString("partition_column");
+    private final Setting<Long> lowerBound = Setting.longSetting("lower_bound", 0L, Long.MIN_VALUE);
+    private final Setting<Long> upperBound = Setting.longSetting("upper_bound", 0L, Long.MIN_VALUE);
+    private final Setting<Integer> numPartitions = Setting.intSetting("num_partitions", 1, 1);
     private final List<Setting<?>> optionalTableOptions = List.of(
         schemaName,
-        tableName
+        tableName,
+        fetchSize,
+        partitionColumn,
+        lowerBound,
+        upperBound,
+        numPartitions
     );
 
     private final Setting<String> foreignUser = Setting.simpleString("user");
@@ -93,9 +154,10 @@ final class JdbcForeignDataWrapper implements ForeignDataWrapper {
         foreignPw
     );
 
-    JdbcForeignDataWrapper(Settings settings, InputFactory inputFactory) {
+    JdbcForeignDataWrapper(Settings settings, InputFactory inputFactory, ThreadPool threadPool) {
         this.settings = settings;
         this.inputFactory = inputFactory;
+        this.threadPool = threadPool;
     }
 
     @Override
@@ -119,7 +181,9 @@ final class JdbcForeignDataWrapper implements ForeignDataWrapper {
                                                              ForeignTable foreignTable,
                                                              TransactionContext txnCtx,
                                                              List<Symbol> collect,
-                                                             Symbol query) {
+                                                             Symbol query,
+                                                             @Nullable OrderBy orderBy,
+                                                             int limit) {
         SessionSettings sessionSettings = txnCtx.sessionSettings();
         Settings userOptions = server.users().get(currentUser.name());
         if (userOptions == null) {
@@ -133,11 +197,19 @@ final class JdbcForeignDataWrapper implements ForeignDataWrapper {
             properties.setProperty("password", password);
         }
 
-        // It's unknown if/what kind of scalars are supported by the remote.
-        // Evaluate them locally and only fetch columns
-        List<Reference> refs = new ArrayList<>(collect.size());
-        for (var symbol : collect) {
-            symbol.visit(Reference.class, refs::add);
+        boolean aggregated = collect.stream().anyMatch(JdbcForeignDataWrapper::isAggregate);
+        List<Symbol> columns;
+        if (aggregated) {
+            assert supportsAggregatePushdown(Lists.map(collect, x -> (Function) x))
+                : "ForeignCollect must only contain aggregates where `supportsAggregatePushdown` is true";
+            columns = collect;
+        } else {
+            // It's unknown if/what kind of scalars are supported by the remote.
+            // Evaluate them locally and only fetch columns
+            columns = new ArrayList<>(collect.size());
+            for (var symbol : collect) {
+                symbol.visit(Reference.class, columns::add);
+            }
         }
 
         Settings options = server.options();
@@ -175,9 +247,30 @@ final class JdbcForeignDataWrapper implements ForeignDataWrapper {
 
         assert supportsQueryPushdown(query)
             : "ForeignCollect must only have a query where `supportsQueryPushDown` is true";
-        BatchIterator<Row> it = new JdbcBatchIterator(url, properties, refs, query, remoteName);
-        if (!refs.containsAll(collect)) {
-            var sourceRefs = new InputColumns.SourceSymbols(refs);
+        Settings tableOptions = foreignTable.options();
+        int fetchSize = this.fetchSize.get(tableOptions);
+        List<JdbcBatchIterator.Range> ranges = aggregated || limit != LimitAndOffset.NO_LIMIT
+            ? List.of()
+            : ranges(foreignTable.name(), foreignTable.references(), tableOptions);
+        // Reading from the foreign server is I/O bound, blocking calls run on virtual threads
+        Executor executor = threadPool.executor(ThreadPool.Names.BLOCKING_IO);
+        BatchIterator<Row> it;
+        if (ranges.isEmpty()) {
+            it = new JdbcBatchIterator(url, properties, columns, query, remoteName, orderBy, limit, null, fetchSize, executor);
+        } else {
+            List<BatchIterator<Row>> iterators = Lists.map(
+                ranges,
+                range -> new JdbcBatchIterator(url, properties, columns, query, remoteName, null, limit, range, fetchSize, executor)
+            );
+            // Use one thread per range
+            it = CompositeBatchIterator.asyncComposite(
+                executor,
+                iterators::size,
+                iterators
+            );
+        }
+        if (!columns.containsAll(collect)) {
+            var sourceRefs = new InputColumns.SourceSymbols(columns);
             List<Symbol> inputColumns = InputColumns.create(collect, sourceRefs);
             Context<CollectExpression<Row, ?>> inputCtx = inputFactory.ctxForInputColumns(txnCtx, inputColumns);
             InputRowProjector inputRowProjector = new InputRowProjector(inputCtx.topLevelInputs(), inputCtx.expressions());
@@ -186,8 +279,108 @@ final class JdbcForeignDataWrapper implements ForeignDataWrapper {
         return CompletableFuture.completedFuture(it);
     }
 
+    @Override
+    public void validateTableOptions(RelationName tableName, List<Reference> columns, Settings tableOptions) {
+        Map<ColumnIdent, Reference> references = new HashMap<>();
+        for (Reference column : columns) {
+            references.put(column.column(), column);
+        }
+        ranges(tableName, references, tableOptions);
+    }
+
+    /**
+     * Splits the scan into `num_partitions` ranges on the `partition_column` in the style of
+     * {@code [.., lower_bound + stride), [lower_bound + stride, lower_bound + 2 * stride), .., [upper_bound - stride, ..)}.
+     * The bounds only define the stride, no rows are filtered.
+     *
+     * @return an empty list if the table isn't configured for partitioned reads.
+     */
+    @VisibleForTesting
+    List<JdbcBatchIterator.Range> ranges(RelationName tableName,
+                                         Map<ColumnIdent, Reference> columns,
+                                         Settings tableOptions) {
+        String columnName = partitionColumn.get(tableOptions);
+        int numPartitions = this.numPartitions.get(tableOptions);
+        if (columnName.isEmpty() || numPartitions <= 1) {
+            return List.of();
+        }
+        Reference column = columns.get(ColumnIdent.fromPath(columnName));
+        if (column == null) {
+            throw new ColumnUnknownException(ColumnIdent.fromPath(columnName), tableName);
+        }
+        if (!PARTITION_COLUMN_TYPES.contains(column.valueType().id())) {
+            throw new IllegalArgumentException(String.format(
+                Locale.ENGLISH,
+                "partition_column `%s` of foreign table `%s` must be of an integral type, not `%s`",
+                columnName,
+                tableName,
+                column.valueType().getName()
+            ));
+        }
+        long lower = lowerBound.get(tableOptions);
+        long upper = upperBound.get(tableOptions);
+        if (upper <= lower) {
+            throw new IllegalArgumentException(String.format(
+                Locale.ENGLISH,
+                "upper_bound of foreign table `%s` must be greater than lower_bound",
+                tableName
+            ));
+        }
+        // The span may exceed Long.MAX_VALUE (e.g. for lower_bound = Long.MIN_VALUE) but always fits
+        // into an unsigned long. lower + i * stride stays within [lower, upper] with wrap-around arithmetic.
+        long span = upper - lower;
+        if (Long.compareUnsigned(span, numPartitions) < 0) {
+            numPartitions = (int) span;
+        }
+        long stride = Long.divideUnsigned(span, numPartitions);
+        List<JdbcBatchIterator.Range> ranges = new ArrayList<>(numPartitions);
+        for (int i = 0; i < numPartitions; i++) {
+            Long from = i == 0 ? null : lower + i * stride;
+            Long to = i == numPartitions - 1 ? null : lower + (i + 1) * stride;
+            ranges.add(new JdbcBatchIterator.Range(column, from, to));
+        }
+        return ranges;
+    }
+
     @Override
     public boolean supportsQueryPushdown(Symbol query) {
         return !query.any(x -> x instanceof Function fn && !SAFE_FUNCTIONS.contains(fn.name()));
     }
+
+    @Override
+    public boolean supportsLimitPushdown() {
+        return true;
+    }
+
+    @Override
+    public boolean supportsOrderByPushdown(OrderBy orderBy) {
+        for (Symbol symbol : orderBy.orderBySymbols()) {
+            if (!(symbol instanceof Reference ref) || !SAFE_ORDER_BY_TYPES.contains(ref.valueType().id())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean supportsAggregatePushdown(List<Function> aggregates) {
+        for (Function aggregate : aggregates) {
+            if (!SAFE_AGGREGATES.contains(aggregate.name())
+                || aggregate.filter() != null
+                || !aggregate.arguments().stream().allMatch(arg -> arg instanceof Reference)) {
+                return false;
+            }
+            boolean comparesValues = aggregate.name().equals(MinimumAggregation.NAME)
+                || aggregate.name().equals(MaximumAggregation.NAME);
+            if (comparesValues
+                && !aggregate.arguments().stream().allMatch(arg -> SAFE_ORDER_BY_TYPES.contains(arg.valueType().id()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAggregate(Symbol symbol) {
+        return symbol instanceof Function fn && fn.signature().getType() == FunctionType.AGGREGATE;
+    }
 }
@@ -61,6 +61,7 @@ import io.crate.expression.symbol.format.Style;
 import io.crate.metadata.ColumnIdent;
 import io.crate.metadata.DocReferences;
 import io.crate.metadata.FunctionImplementation;
+import io.crate.metadata.IndexReference;
 import io.crate.metadata.IndexType;
 import io.crate.metadata.NodeContext;
 import io.crate.metadata.Reference;
@@ -214,6 +215,26 @@ public class LuceneQueryBuilder {
             return table.getReadReference(column);
         }
 
+        /**
+         * @return the storage field of a {@code trigram} index covering the given column
+         *         or null if the column isn't covered by one.
+         */
+        @Nullable
+        public String trigramIndexField(Reference ref) {
+            if (table.getReference(ref.column()) instanceof IndexReference indexRef
+                && indexRef.columns().isEmpty()
+                && IndexType.TRIGRAM.equals(indexRef.analyzer())) {
+                return indexRef.storageIdent();
+            }
+            for (IndexReference indexRef : table.indexColumns()) {
+                if (IndexType.TRIGRAM.equals(indexRef.analyzer())
+                    && Reference.indexOf(indexRef.columns(), ref.column()) > -1) {
+                    return indexRef.storageIdent();
+                }
+            }
+            return null;
+        }
+
         public TransactionContext transactionContext() {
             return txnCtx;
         }
@@ -0,0 +1,174 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+
+package io.crate.lucene;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Objects;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.ConstantScoreScorer;
+import org.apache.lucene.search.ConstantScoreWeight;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryVisitor;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.TwoPhaseIterator;
+import org.apache.lucene.search.Weight;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.index.shard.ShardUtils;
+
+import com.carrotsearch.hppc.BitMixer;
+
+/**
+ * Query matching a random sample of the documents.
+ *
+ * <ul>
+ * <li>{@link Method#BERNOULLI} includes each document with the given probability. The decision
+ * for a document is a hash of the seed and the document, so it doesn't depend on the order in which
+ * the documents are visited. This keeps the sample stable if the query is part of a conjunction
+ * which leapfrogs over the documents.</li>
+ * <li>{@link Method#SYSTEM} includes or excludes whole segments. Excluded segments are skipped
+ * entirely.</li>
+ * </ul>
+ *
+ * The decisions are derived from {@code seed}, the shard and the docBase of a segment, so the same
+ * seed results in the same sample as long as the segments of the shards don't change. Any write,
+ * refresh or merge can change the sample. Mixing in the shard makes sure that the shards of a table
+ * and the copies of a table with the same seed are sampled independently.
+ */
+public final class SampleQuery extends Query {
+
+    public enum Method {
+        BERNOULLI,
+        SYSTEM
+    }
+
+    private final Method method;
+    private final double probability;
+    private final long seed;
+
+    /**
+     * @param probability probability for a document (or segment) to be part of the sample, between 0 and 1.
+     */
+    public SampleQuery(Method method, double probability, long seed) {
+        if (probability < 0.0 || probability > 1.0) {
+            throw new IllegalArgumentException("probability must be between 0 and 1, got: " + probability);
+        }
+        this.method = method;
+        this.probability = probability;
+        this.seed = seed;
+    }
+
+    @Override
+    public Weight createWeight(IndexSearcher searcher, ScoreMode scoreMode, float boost) throws IOException {
+        return new ConstantScoreWeight(this, boost) {
+
+            @Override
+            public Scorer scorer(LeafReaderContext context) throws IOException {
+                int maxDoc = context.reader().maxDoc();
+                long segmentSeed = segmentSeed(seed, context);
+                return switch (method) {
+                    case SYSTEM -> includes(segmentSeed, 0L, probability)
+                        ? new ConstantScoreScorer(this, score(), scoreMode, DocIdSetIterator.all(maxDoc))
+                        : null;
+                    case BERNOULLI -> {
+                        DocIdSetIterator approximation = DocIdSetIterator.all(maxDoc);
+                        TwoPhaseIterator twoPhase = new TwoPhaseIterator(approximation) {
+
+                            @Override
+                            public boolean matches() {
+                                return includes(segmentSeed, approximation.docID(), probability);
+                            }
+
+                            @Override
+                            public float matchCost() {
+                                return 10;
+                            }
+                        };
+                        yield new ConstantScoreScorer(this, score(), scoreMode, twoPhase);
+                    }
+                };
+            }
+
+            @Override
+            public boolean isCacheable(LeafReaderContext ctx) {
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Decides if the unit (a document or a block of documents) is part of the sample.
+     * The same seed and unit always result in the same decision.
+     */
+    public static boolean includes(long seed, long unit, double probability) {
+        long hash = BitMixer.mix64(seed ^ BitMixer.mix64(unit));
+        // Top 53 bits as uniformly distributed double in [0, 1)
+        return (hash >>> 11) * 0x1.0p-53 < probability;
+    }
+
+    private static long segmentSeed(long seed, LeafReaderContext context) {
+        ShardId shardId = ShardUtils.extractShardId(context.reader());
+        long shardSeed = shardId == null ? seed : seed ^ BitMixer.mix64(shardId.hashCode());
+        return shardSeed ^ (31L * context.docBase + 1);
+    }
+
+    @Override
+    public Query rewrite(IndexSearcher indexSearcher) throws IOException {
+        if (probability == 0.0) {
+            return new MatchNoDocsQuery("sample probability is 0");
+        }
+        if (probability == 1.0) {
+            return new MatchAllDocsQuery();
+        }
+        return super.rewrite(indexSearcher);
+    }
+
+    @Override
+    public void visit(QueryVisitor visitor) {
+        visitor.visitLeaf(this);
+    }
+
+    @Override
+    public String toString(String field) {
+        return String.format(Locale.ENGLISH, "sample(%s, %s, %d)", method, probability, seed);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return sameClassAs(o)
+            && method == ((SampleQuery) o).method
+            && probability == ((SampleQuery) o).probability
+            && seed == ((SampleQuery) o).seed;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(classHash(), method, probability, seed);
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.lucene;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.PointValues;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.FieldExistsQuery;
+import org.apache.lucene.search.IndexOrDocValuesQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.PointInSetQuery;
+import org.apache.lucene.search.PointRangeQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.ArrayUtil.ByteArrayComparator;
+
+/**
+ * Min/max bounds and missing values a document must have to match a query.
+ *
+ * <p>
+ * The bounds are extracted from the point queries which are required by the query and checked against
+ * the min and max point values of a segment (or of all segments of a shard) to skip them without creating
+ * a scorer. Required {@code NOT (field exists)} clauses are checked against the number of documents with a
+ * value, a segment where every document has a value can't match them.
+ * </p>
+ *
+ * <p>
+ * Only looks at the query structure, any clause that isn't understood is treated as "can match".
+ * </p>
+ */
+public final class ZoneMap {
+
+    private static final ZoneMap MATCH_ALL = new ZoneMap(List.of(), List.of(), false);
+    private static final ZoneMap MATCH_NONE = new ZoneMap(List.of(), List.of(), true);
+
+    private record Bounds(String field, int numDims, int bytesPerDim, byte[] lower, byte[] upper) {
+
+        boolean intersects(byte[] minPackedValue, byte[] maxPackedValue) {
+            ByteArrayComparator comparator = ArrayUtil.getUnsignedComparator(bytesPerDim);
+            for (int dim = 0; dim < numDims; dim++) {
+                int offset = dim * bytesPerDim;
+                if (comparator.compare(lower, offset, maxPackedValue, offset) > 0
+                    || comparator.compare(upper, offset, minPackedValue, offset) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final List<Bounds> bounds;
+    private final List<String> missingFields;
+    private final boolean matchNone;
+
+    private ZoneMap(List<Bounds> bounds, List<String> missingFields, boolean matchNone) {
+        this.bounds = bounds;
+        this.missingFields = missingFields;
+        this.matchNone = matchNone;
+    }
+
+    public static ZoneMap of(Query query) {
+        ArrayList<Bounds> bounds = new ArrayList<>();
+        ArrayList<String> missingFields = new ArrayList<>();
+        if (!collect(query, bounds, missingFields)) {
+            return MATCH_NONE;
+        }
+        if (bounds.isEmpty() && missingFields.isEmpty()) {
+            return MATCH_ALL;
+        }
+        return new ZoneMap(List.copyOf(bounds), List.copyOf(missingFields), false);
+    }
+
+    /**
+     * @return false if the query can't match any document.
+     */
+    private static boolean collect(Query query, List<Bounds> bounds, List<String> missingFields) {
+        if (query instanceof MatchNoDocsQuery) {
+            return false;
+        }
+        if (query instanceof ConstantScoreQuery constantScoreQuery) {
+            return collect(constantScoreQuery.getQuery(), bounds, missingFields);
+        }
+        if (query instanceof BoostQuery boostQuery) {
+            return collect(boostQuery.getQuery(), bounds, missingFields);
+        }
+        if (query instanceof IndexOrDocValuesQuery indexOrDocValuesQuery) {
+            return collect(indexOrDocValuesQuery.getIndexQuery(), bounds, missingFields);
+        }
+        if (query instanceof PointRangeQuery rangeQuery) {
+            bounds.add(new Bounds(
+                rangeQuery.getField(),
+                rangeQuery.getNumDims(),
+                rangeQuery.getBytesPerDim(),
+                rangeQuery.getLowerPoint(),
+                rangeQuery.getUpperPoint()
+            ));
+            return true;
+        }
+        if (query instanceof PointInSetQuery setQuery) {
+            return collectSetBounds(setQuery, bounds);
+        }
+        if (query instanceof BooleanQuery booleanQuery) {
+            for (BooleanClause clause : booleanQuery.clauses()) {
+                Query clauseQuery = clause.getQuery();
+                switch (clause.getOccur()) {
+                    case MUST, FILTER -> {
+                        if (!collect(clauseQuery, bounds, missingFields)) {
+                            return false;
+                        }
+                    }
+                    case MUST_NOT -> {
+                        if (clauseQuery instanceof FieldExistsQuery fieldExistsQuery) {
+                            missingFields.add(fieldExistsQuery.getField());
+                        }
+                    }
+                    case SHOULD -> {
+                        // A disjunction can match if any clause matches, ignore them
+                    }
+                    default -> throw new AssertionError("Unexpected occur: " + clause.getOccur());
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean collectSetBounds(PointInSetQuery setQuery, List<Bounds> bounds) {
+        int numDims = setQuery.getNumDims();
+        int bytesPerDim = setQuery.getBytesPerDim();
+        ByteArrayComparator comparator = ArrayUtil.getUnsignedComparator(bytesPerDim);
+        byte[] lower = null;
+        byte[] upper = null;
+        for (byte[] point : setQuery.getPackedPoints()) {
+            if (lower == null) {
+                lower = point.clone();
+                upper = point.clone();
+                continue;
+            }
+            for (int dim = 0; dim < numDims; dim++) {
+                int offset = dim * bytesPerDim;
+                if (comparator.compare(point, offset, lower, offset) < 0) {
+                    System.arraycopy(point, offset, lower, offset, bytesPerDim);
+                }
+                if (comparator.compare(point, offset, upper, offset) > 0) {
+                    System.arraycopy(point, offset, upper, offset, bytesPerDim);
+                }
+            }
+        }
+        if (lower == null) {
+            return false;
+        }
+        bounds.add(new Bounds(setQuery.getField(), numDims, bytesPerDim, lower, upper));
+        return true;
+    }
+
+    /**
+     * @return false if no document of the segment can match the query.
+     */
+    public boolean canMatch(LeafReader reader) throws IOException {
+        if (matchNone) {
+            return false;
+        }
+        for (Bounds b : bounds) {
+            PointValues values = reader.getPointValues(b.field);
+            if (values == null || values.getDocCount() == 0) {
+                return false;
+            }
+            if (values.getNumDimensions() != b.numDims || values.getBytesPerDimension() != b.bytesPerDim) {
+                // Leave it to the query to deal with the mismatch
+                continue;
+            }
+            if (!b.intersects(values.getMinPackedValue(), values.getMaxPackedValue())) {
+                return false;
+            }
+        }
+        for (String field : missingFields) {
+            PointValues values = reader.getPointValues(field);
+            if (values != null && values.getDocCount() == reader.maxDoc()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return false if no document of any segment of the reader can match the query.
+     */
+    public boolean canMatch(IndexReader reader) throws IOException {
+        if (matchNone) {
+            return false;
+        }
+        if (bounds.isEmpty() && missingFields.isEmpty()) {
+            return true;
+        }
+        for (LeafReaderContext leaf : reader.leaves()) {
+            if (canMatch(leaf.reader())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
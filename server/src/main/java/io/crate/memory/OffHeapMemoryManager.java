@@ -21,30 +21,86 @@
 
 package io.crate.memory;
 
-import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
-
 import java.util.ArrayList;
+import java.util.function.IntConsumer;
+
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.VisibleForTesting;
+
+import io.netty.buffer.ByteBuf;
 
+/**
+ * A MemoryManager that allocates zeroed buffers outside of the heap.
+ *
+ * <p>
+ * Small buffers are carved out of pages of {@link #PAGE_SIZE} bytes taken from a
+ * {@link OffHeapMemoryPool}. This avoids a native allocation per aggregation
+ * state and lets all states of an operation be released at once.
+ * Buffers larger than a quarter page are taken from the pool individually.
+ * </p>
+ *
+ * <p>
+ * Like {@link OnHeapMemoryManager} it accounts the memory of each page via an
+ * injected {@code IntConsumer}, which is also responsible to de-account it eventually.
+ * The returned buffers have a fixed capacity and cannot grow.
+ * </p>
+ */
 public final class OffHeapMemoryManager implements MemoryManager {
 
+    @VisibleForTesting
+    static final int PAGE_SIZE = 64 * 1024;
+
+    private static final int MAX_SLICE_SIZE = PAGE_SIZE / 4;
+
+    private final OffHeapMemoryPool pool;
+    private final IntConsumer accountBytes;
     private final ArrayList<ByteBuf> allocatedBuffers = new ArrayList<>();
 
-    public OffHeapMemoryManager() {
+    @Nullable
+    private ByteBuf currentPage;
+    private int pageOffset;
+
+    /**
+     * @param accountBytes A consumer that will be called with the number of bytes taken from the pool.
+     */
+    public OffHeapMemoryManager(OffHeapMemoryPool pool, IntConsumer accountBytes) {
+        this.pool = pool;
+        this.accountBytes = accountBytes;
     }
 
     @Override
     public ByteBuf allocate(int capacity) {
-        ByteBuf byteBuf = Unpooled.directBuffer(capacity);
-        allocatedBuffers.add(byteBuf);
-        return byteBuf;
+        if (capacity > MAX_SLICE_SIZE) {
+            return zeroed(newBuffer(capacity));
+        }
+        if (currentPage == null || PAGE_SIZE - pageOffset < capacity) {
+            // Remaining space of the previous page is wasted, it is at most a quarter page
+            currentPage = newBuffer(PAGE_SIZE);
+            pageOffset = 0;
+        }
+        ByteBuf slice = currentPage.slice(pageOffset, capacity);
+        pageOffset += capacity;
+        return zeroed(slice);
+    }
+
+    private ByteBuf newBuffer(int capacity) {
+        accountBytes.accept(capacity);
+        ByteBuf buffer = pool.allocate(capacity);
+        allocatedBuffers.add(buffer);
+        return buffer;
+    }
+
+    private static ByteBuf zeroed(ByteBuf buffer) {
+        // Pooled memory is re-used, consumers expect a fresh buffer
+        return buffer.setZero(0, buffer.capacity()).clear();
     }
 
     @Override
     public void close() {
         for (ByteBuf buffer : allocatedBuffers) {
-            buffer.release();
+            pool.release(buffer);
         }
         allocatedBuffers.clear();
+        currentPage = null;
     }
 }
@@ -0,0 +1,65 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.memory;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+/**
+ * Node wide pool of direct memory used by {@link OffHeapMemoryManager} instances.
+ *
+ * <p>
+ * Uses a dedicated {@link PooledByteBufAllocator}, so that memory released by one
+ * query can be re-used by the next one and the memory used for query execution
+ * can be told apart from the memory used by the network layer.
+ * </p>
+ */
+public final class OffHeapMemoryPool {
+
+    private final PooledByteBufAllocator allocator;
+    private final LongAdder usedBytes = new LongAdder();
+
+    public OffHeapMemoryPool() {
+        this(new PooledByteBufAllocator(true));
+    }
+
+    OffHeapMemoryPool(PooledByteBufAllocator allocator) {
+        this.allocator = allocator;
+    }
+
+    ByteBuf allocate(int capacity) {
+        ByteBuf buffer = allocator.directBuffer(capacity, capacity);
+        usedBytes.add(capacity);
+        return buffer;
+    }
+
+    void release(ByteBuf buffer) {
+        usedBytes.add(-buffer.capacity());
+        buffer.release();
+    }
+
+    public OffHeapMemoryStats stats() {
+        return new OffHeapMemoryStats(usedBytes.sum(), allocator.metric().usedDirectMemory());
+    }
+}
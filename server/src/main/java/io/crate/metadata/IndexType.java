@@ -32,6 +32,11 @@ public enum IndexType {
     PLAIN,
     NONE;
 
+    /**
+     * Index method which is a shortcut for a {@link #FULLTEXT} index using the built-in {@code trigram} analyzer.
+     */
+    public static final String TRIGRAM = "trigram";
+
     private static final List<IndexType> VALUES = List.of(values());
 
     static IndexType fromStream(StreamInput in) throws IOException {
@@ -40,7 +45,7 @@ public enum IndexType {
 
     public static IndexType of(String indexMethod) {
         return switch (indexMethod.toLowerCase(Locale.ENGLISH)) {
-            case "fulltext" -> IndexType.FULLTEXT;
+            case "fulltext", TRIGRAM -> IndexType.FULLTEXT;
             case "off" -> IndexType.NONE;
             case "plain" -> IndexType.PLAIN;
             default -> IndexType.PLAIN;
@@ -38,6 +38,7 @@ import io.crate.expression.udf.UserDefinedFunctionsMetadata;
 import io.crate.fdw.ForeignTablesMetadata;
 import io.crate.fdw.ServersMetadata;
 import io.crate.license.License;
+import io.crate.metadata.view.MaterializedViewsMetadata;
 import io.crate.metadata.view.ViewsMetadata;
 import io.crate.replication.logical.metadata.PublicationsMetadata;
 import io.crate.replication.logical.metadata.SubscriptionsMetadata;
@@ -69,6 +70,16 @@ public class MetadataModule extends AbstractModule {
             ViewsMetadata.TYPE,
             in -> readDiffFrom(Metadata.Custom.class, ViewsMetadata.TYPE, in)
         ));
+        entries.add(new NamedWriteableRegistry.Entry(
+            Metadata.Custom.class,
+            MaterializedViewsMetadata.TYPE,
+            MaterializedViewsMetadata::new
+        ));
+        entries.add(new NamedWriteableRegistry.Entry(
+            NamedDiff.class,
+            MaterializedViewsMetadata.TYPE,
+            in -> readDiffFrom(Metadata.Custom.class, MaterializedViewsMetadata.TYPE, in)
+        ));
         entries.add(new NamedWriteableRegistry.Entry(
             Metadata.Custom.class,
             UsersMetadata.TYPE,
@@ -161,6 +172,11 @@ public class MetadataModule extends AbstractModule {
             new ParseField(ViewsMetadata.TYPE),
             ViewsMetadata::fromXContent
         ));
+        entries.add(new NamedXContentRegistry.Entry(
+            Metadata.Custom.class,
+            new ParseField(MaterializedViewsMetadata.TYPE),
+            MaterializedViewsMetadata::fromXContent
+        ));
         entries.add(new NamedXContentRegistry.Entry(
             Metadata.Custom.class,
             new ParseField(UsersMetadata.TYPE),
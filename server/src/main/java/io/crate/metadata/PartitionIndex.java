@@ -0,0 +1,361 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.metadata;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.jetbrains.annotations.Nullable;
+
+import io.crate.expression.operator.AndOperator;
+import io.crate.expression.operator.EqOperator;
+import io.crate.expression.operator.GtOperator;
+import io.crate.expression.operator.GteOperator;
+import io.crate.expression.operator.LtOperator;
+import io.crate.expression.operator.LteOperator;
+import io.crate.expression.operator.OrOperator;
+import io.crate.expression.operator.any.AnyEqOperator;
+import io.crate.expression.symbol.Function;
+import io.crate.expression.symbol.Literal;
+import io.crate.expression.symbol.Symbol;
+import io.crate.types.ArrayType;
+import io.crate.types.DataType;
+
+/**
+ * Partitions of a table, with the values of each partition column sorted to
+ * look up the partitions which can match a query in {@code O(log n + k)}
+ * instead of evaluating the query against every partition.
+ *
+ * <p>
+ * Instances are immutable. The sorted columns are built lazily on the first
+ * lookup because the types of the partition columns are only known to the
+ * {@link io.crate.metadata.doc.DocTableInfo}.
+ * </p>
+ *
+ * @see PartitionIndexes
+ */
+public final class PartitionIndex {
+
+    private final List<PartitionName> partitions;
+
+    @Nullable
+    private volatile SortedColumns sortedColumns;
+
+    PartitionIndex(List<PartitionName> partitions) {
+        this.partitions = partitions;
+    }
+
+    /**
+     * @return a new index without the partitions in {@code removed} and with the partitions in {@code added}.
+     */
+    PartitionIndex withChanges(Collection<PartitionName> added, Set<String> removed) {
+        ArrayList<PartitionName> newPartitions = new ArrayList<>(partitions.size() + added.size());
+        for (PartitionName partition : partitions) {
+            if (!removed.contains(partition.asIndexName())) {
+                newPartitions.add(partition);
+            }
+        }
+        newPartitions.addAll(added);
+        return new PartitionIndex(newPartitions);
+    }
+
+    public List<PartitionName> partitions() {
+        return partitions;
+    }
+
+    /**
+     * Returns the partitions which can match the query. The result is a superset, the query still needs to be
+     * evaluated against each partition.
+     *
+     * <p>
+     * Only equality, range and {@code = ANY} comparisons of a partition column with a literal, combined with
+     * {@code AND} and {@code OR}, are used to narrow down the partitions.
+     * </p>
+     *
+     * @return the partitions or null if the query can't be used to narrow down the partitions.
+     */
+    @Nullable
+    public List<PartitionName> lookup(Symbol query, List<Reference> partitionColumns) {
+        SortedColumns columns = sortedColumns(partitionColumns);
+        if (columns == null) {
+            return null;
+        }
+        BitSet matches = columns.lookup(query);
+        if (matches == null) {
+            return null;
+        }
+        ArrayList<PartitionName> result = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            result.add(partitions.get(i));
+        }
+        return result;
+    }
+
+    @Nullable
+    private SortedColumns sortedColumns(List<Reference> partitionColumns) {
+        SortedColumns columns = sortedColumns;
+        if (columns == null || !columns.partitionColumns.equals(partitionColumns)) {
+            columns = SortedColumns.build(partitions, partitionColumns);
+            sortedColumns = columns;
+        }
+        return columns.columns == null ? null : columns;
+    }
+
+    private static final class SortedColumns {
+
+        private final List<Reference> partitionColumns;
+        private final int numPartitions;
+
+        /**
+         * Null if the partition values couldn't be converted to the column types
+         */
+        @Nullable
+        private final SortedColumn[] columns;
+
+        private SortedColumns(List<Reference> partitionColumns, int numPartitions, @Nullable SortedColumn[] columns) {
+            this.partitionColumns = partitionColumns;
+            this.numPartitions = numPartitions;
+            this.columns = columns;
+        }
+
+        static SortedColumns build(List<PartitionName> partitions, List<Reference> partitionColumns) {
+            SortedColumn[] columns = new SortedColumn[partitionColumns.size()];
+            for (int i = 0; i < columns.length; i++) {
+                SortedColumn column = SortedColumn.build(partitions, i, partitionColumns.get(i).valueType());
+                if (column == null) {
+                    return new SortedColumns(partitionColumns, partitions.size(), null);
+                }
+                columns[i] = column;
+            }
+            return new SortedColumns(partitionColumns, partitions.size(), columns);
+        }
+
+        @Nullable
+        BitSet lookup(Symbol query) {
+            if (!(query instanceof Function function)) {
+                return null;
+            }
+            String name = function.name();
+            List<Symbol> args = function.arguments();
+            if (name.equals(AndOperator.NAME)) {
+                BitSet result = null;
+                for (Symbol arg : args) {
+                    BitSet matches = lookup(arg);
+                    if (matches != null) {
+                        if (result == null) {
+                            result = matches;
+                        } else {
+                            result.and(matches);
+                        }
+                    }
+                }
+                return result;
+            }
+            if (name.equals(OrOperator.NAME)) {
+                BitSet result = new BitSet(numPartitions);
+                for (Symbol arg : args) {
+                    BitSet matches = lookup(arg);
+                    if (matches == null) {
+                        return null;
+                    }
+                    result.or(matches);
+                }
+                return result;
+            }
+            if (args.size() != 2) {
+                return null;
+            }
+            if (name.equals(AnyEqOperator.NAME)) {
+                return lookupAnyEq(args.get(0), args.get(1));
+            }
+            Symbol left = args.get(0);
+            Symbol right = args.get(1);
+            if (left instanceof Literal<?> && right instanceof Reference) {
+                return lookupComparison(flip(name), right, left);
+            }
+            return lookupComparison(name, left, right);
+        }
+
+        @Nullable
+        private BitSet lookupComparison(String name, Symbol left, Symbol right) {
+            SortedColumn column = column(left);
+            if (column == null || !(right instanceof Literal<?> literal) || !literal.valueType().equals(column.type)) {
+                return null;
+            }
+            Object value = literal.value();
+            BitSet result = new BitSet(numPartitions);
+            if (value == null) {
+                // Comparisons with null never match
+                return result;
+            }
+            switch (name) {
+                case EqOperator.NAME -> column.addRange(result, column.lowerBound(value), column.upperBound(value));
+                case GtOperator.NAME -> column.addRange(result, column.upperBound(value), column.size());
+                case GteOperator.NAME -> column.addRange(result, column.lowerBound(value), column.size());
+                case LtOperator.NAME -> column.addRange(result, 0, column.lowerBound(value));
+                case LteOperator.NAME -> column.addRange(result, 0, column.upperBound(value));
+                default -> {
+                    return null;
+                }
+            }
+            return result;
+        }
+
+        @Nullable
+        private BitSet lookupAnyEq(Symbol left, Symbol right) {
+            SortedColumn column = column(left);
+            if (column == null
+                || !(right instanceof Literal<?> literal)
+                || !(literal.valueType() instanceof ArrayType<?> arrayType)
+                || !arrayType.innerType().equals(column.type)) {
+                return null;
+            }
+            BitSet result = new BitSet(numPartitions);
+            if (literal.value() instanceof List<?> values) {
+                for (Object value : values) {
+                    if (value != null) {
+                        column.addRange(result, column.lowerBound(value), column.upperBound(value));
+                    }
+                }
+            }
+            return result;
+        }
+
+        @Nullable
+        private SortedColumn column(Symbol symbol) {
+            if (symbol instanceof Reference ref) {
+                for (int i = 0; i < partitionColumns.size(); i++) {
+                    if (partitionColumns.get(i).column().equals(ref.column())) {
+                        return columns[i];
+                    }
+                }
+            }
+            return null;
+        }
+
+        private static String flip(String comparison) {
+            return switch (comparison) {
+                case GtOperator.NAME -> LtOperator.NAME;
+                case GteOperator.NAME -> LteOperator.NAME;
+                case LtOperator.NAME -> GtOperator.NAME;
+                case LteOperator.NAME -> GteOperator.NAME;
+                default -> comparison;
+            };
+        }
+    }
+
+    /**
+     * The non-null values of a partition column in ascending order, with the position of their partition.
+     */
+    private static final class SortedColumn {
+
+        private final DataType<Object> type;
+        private final Object[] values;
+        private final int[] positions;
+
+        private SortedColumn(DataType<Object> type, Object[] values, int[] positions) {
+            this.type = type;
+            this.values = values;
+            this.positions = positions;
+        }
+
+        @Nullable
+        @SuppressWarnings("unchecked")
+        static SortedColumn build(List<PartitionName> partitions, int columnIdx, DataType<?> columnType) {
+            DataType<Object> type = (DataType<Object>) columnType;
+            record Entry(Object value, int position) {}
+
+            ArrayList<Entry> entries = new ArrayList<>(partitions.size());
+            for (int i = 0; i < partitions.size(); i++) {
+                List<String> partitionValues = partitions.get(i).values();
+                if (partitionValues.size() <= columnIdx) {
+                    return null;
+                }
+                Object value;
+                try {
+                    value = type.implicitCast(partitionValues.get(columnIdx));
+                } catch (RuntimeException e) {
+                    return null;
+                }
+                if (value != null) {
+                    entries.add(new Entry(value, i));
+                }
+            }
+            entries.sort((a, b) -> type.compare(a.value, b.value));
+            Object[] values = new Object[entries.size()];
+            int[] positions = new int[entries.size()];
+            for (int i = 0; i < values.length; i++) {
+                Entry entry = entries.get(i);
+                values[i] = entry.value;
+                positions[i] = entry.position;
+            }
+            return new SortedColumn(type, values, positions);
+        }
+
+        int size() {
+            return values.length;
+        }
+
+        /**
+         * @return index of the first value {@code >= value}
+         */
+        int lowerBound(Object value) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (type.compare(values[mid], value) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @return index of the first value {@code > value}
+         */
+        int upperBound(Object value) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (type.compare(values[mid], value) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        void addRange(BitSet result, int from, int to) {
+            for (int i = from; i < to; i++) {
+                result.set(positions[i]);
+            }
+        }
+    }
+}
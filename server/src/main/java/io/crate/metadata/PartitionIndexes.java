@@ -0,0 +1,128 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.metadata;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.elasticsearch.cluster.ClusterChangedEvent;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Maintains a {@link PartitionIndex} per partitioned table.
+ *
+ * The indexes are updated incrementally with the partitions created and deleted in each
+ * {@link ClusterChangedEvent}, so that the partition names don't have to be decoded again
+ * for every query.
+ */
+public final class PartitionIndexes {
+
+    private record Snapshot(@Nullable Metadata metadata, Map<RelationName, PartitionIndex> indexes) {
+    }
+
+    private static final PartitionIndex EMPTY = new PartitionIndex(List.of());
+
+    private volatile Snapshot snapshot = new Snapshot(null, Map.of());
+
+    public void update(ClusterChangedEvent event) {
+        Snapshot current = snapshot;
+        Metadata metadata = event.state().metadata();
+        if (metadata == current.metadata) {
+            return;
+        }
+        if (event.previousState().metadata() != current.metadata) {
+            snapshot = new Snapshot(metadata, build(metadata));
+            return;
+        }
+        Map<RelationName, List<PartitionName>> added = new HashMap<>();
+        Map<RelationName, Set<String>> removed = new HashMap<>();
+        for (String indexName : event.indicesCreated()) {
+            if (IndexParts.isPartitioned(indexName)) {
+                PartitionName partitionName = PartitionName.fromIndexOrTemplate(indexName);
+                added.computeIfAbsent(partitionName.relationName(), k -> new ArrayList<>()).add(partitionName);
+            }
+        }
+        // Not using event.indicesDeleted(), it relies on tombstones if the previous state wasn't recovered yet
+        for (IndexMetadata indexMetadata : event.previousState().metadata()) {
+            String indexName = indexMetadata.getIndex().getName();
+            if (IndexParts.isPartitioned(indexName) && !metadata.hasIndex(indexName)) {
+                RelationName relationName = PartitionName.fromIndexOrTemplate(indexName).relationName();
+                removed.computeIfAbsent(relationName, k -> new HashSet<>()).add(indexName);
+            }
+        }
+        if (added.isEmpty() && removed.isEmpty()) {
+            snapshot = new Snapshot(metadata, current.indexes);
+            return;
+        }
+        Map<RelationName, PartitionIndex> indexes = new HashMap<>(current.indexes);
+        Set<RelationName> changedTables = new HashSet<>(added.keySet());
+        changedTables.addAll(removed.keySet());
+        for (RelationName relationName : changedTables) {
+            PartitionIndex partitionIndex = indexes.getOrDefault(relationName, new PartitionIndex(List.of()));
+            partitionIndex = partitionIndex.withChanges(
+                added.getOrDefault(relationName, List.of()),
+                removed.getOrDefault(relationName, Set.of())
+            );
+            if (partitionIndex.partitions().isEmpty()) {
+                indexes.remove(relationName);
+            } else {
+                indexes.put(relationName, partitionIndex);
+            }
+        }
+        snapshot = new Snapshot(metadata, Map.copyOf(indexes));
+    }
+
+    /**
+     * @return the index of the given table if it reflects the given metadata, otherwise null.
+     *         Contains all partitions, including closed ones.
+     */
+    @Nullable
+    public PartitionIndex get(RelationName relationName, Metadata metadata) {
+        Snapshot current = snapshot;
+        if (current.metadata != metadata) {
+            return null;
+        }
+        return current.indexes.getOrDefault(relationName, EMPTY);
+    }
+
+    private static Map<RelationName, PartitionIndex> build(Metadata metadata) {
+        Map<RelationName, List<PartitionName>> partitions = new HashMap<>();
+        for (IndexMetadata indexMetadata : metadata) {
+            String indexName = indexMetadata.getIndex().getName();
+            if (IndexParts.isPartitioned(indexName)) {
+                PartitionName partitionName = PartitionName.fromIndexOrTemplate(indexName);
+                partitions.computeIfAbsent(partitionName.relationName(), k -> new ArrayList<>()).add(partitionName);
+            }
+        }
+        Map<RelationName, PartitionIndex> indexes = HashMap.newHashMap(partitions.size());
+        for (var entry : partitions.entrySet()) {
+            indexes.put(entry.getKey(), new PartitionIndex(entry.getValue()));
+        }
+        return Map.copyOf(indexes);
+    }
+}
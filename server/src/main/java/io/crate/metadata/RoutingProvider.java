@@ -26,13 +26,16 @@ import static org.elasticsearch.cluster.routing.OperationRouting.calculateScaled
 import static org.elasticsearch.cluster.routing.OperationRouting.generateShardId;
 import static org.elasticsearch.cluster.routing.OperationRouting.indexMetadata;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.elasticsearch.cluster.ClusterState;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
@@ -40,6 +43,7 @@ import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.node.DiscoveryNodes;
 import org.elasticsearch.cluster.routing.IndexRoutingTable;
 import org.elasticsearch.cluster.routing.IndexShardRoutingTable;
+import org.elasticsearch.cluster.routing.PlainShardIterator;
 import org.elasticsearch.cluster.routing.ShardIterator;
 import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.common.collect.ImmutableOpenMap;
@@ -52,6 +56,7 @@ import com.carrotsearch.hppc.IntArrayList;
 import com.carrotsearch.hppc.IntIndexedContainer;
 
 import io.crate.exceptions.UnavailableShardsException;
+import io.crate.execution.support.NodeResponseStats;
 
 /**
  * This component can be used to get the Routing for indices.
@@ -60,12 +65,21 @@ import io.crate.exceptions.UnavailableShardsException;
  * {@link #forIndices(ClusterState, String[], Map, boolean, ShardSelection)}
  * will always return the same results for the same arguments, because {@code random} is used to fixate a seed.
  *
+ * If {@link NodeResponseStats} are provided and no awareness attributes are configured, the copy of a shard
+ * on the node with the lowest {@link NodeResponseStats#rank(String, int)} is preferred.
+ * In that case results may change between calls as the ranks change, unless the instance is created via
+ * {@link #withStableSelection()}, which remembers the copy chosen for each shard.
+ *
  * The implementation is similar to {@link org.elasticsearch.cluster.routing.OperationRouting}.
  */
 public final class RoutingProvider {
 
     private final int seed;
     private final List<String> awarenessAttributes;
+    @Nullable
+    private final NodeResponseStats nodeResponseStats;
+    @Nullable
+    private final Map<ShardId, String> selectedNodes;
 
     public enum ShardSelection {
         ANY,
@@ -80,8 +94,42 @@ public final class RoutingProvider {
      *                   across different (replica) shards
      */
     public RoutingProvider(int randomSeed, List<String> awarenessAttributes) {
+        this(randomSeed, awarenessAttributes, null);
+    }
+
+    /**
+     * @param nodeResponseStats used to rank shard copies by the load of their nodes. Ignored if null or disabled.
+     */
+    public RoutingProvider(int randomSeed,
+                           List<String> awarenessAttributes,
+                           @Nullable NodeResponseStats nodeResponseStats) {
         this.awarenessAttributes = awarenessAttributes;
         this.seed = randomSeed;
+        this.nodeResponseStats = nodeResponseStats != null && nodeResponseStats.isEnabled() ? nodeResponseStats : null;
+        this.selectedNodes = null;
+    }
+
+    private RoutingProvider(int seed,
+                            List<String> awarenessAttributes,
+                            @Nullable NodeResponseStats nodeResponseStats,
+                            Map<ShardId, String> selectedNodes) {
+        this.seed = seed;
+        this.awarenessAttributes = awarenessAttributes;
+        this.nodeResponseStats = nodeResponseStats;
+        this.selectedNodes = selectedNodes;
+    }
+
+    /**
+     * Returns a RoutingProvider which remembers the copy chosen by rank for each shard and keeps
+     * choosing it, as long as it is still active.
+     * Used for all routings of a statement: Operations like the fetch phase of a query-then-fetch
+     * rely on all routings of the same shard pointing to the same node.
+     */
+    public RoutingProvider withStableSelection() {
+        if (selectedNodes != null) {
+            return this;
+        }
+        return new RoutingProvider(seed, awarenessAttributes, nodeResponseStats, new ConcurrentHashMap<>());
     }
 
     public Routing forRandomMasterOrDataNode(RelationName relationName, DiscoveryNodes nodes) {
@@ -109,7 +157,11 @@ public final class RoutingProvider {
         IndexShardRoutingTable routingTable = state.routingTable().shardRoutingTable(shardId);
         ShardRouting shardRouting;
         if (awarenessAttributes.isEmpty()) {
-            shardRouting = routingTable.activeInitializingShardsIt(seed).nextOrNull();
+            ShardIterator shardIt = routingTable.activeInitializingShardsIt(seed);
+            if (nodeResponseStats != null) {
+                shardIt = rankShards(shardIt, nodeResponseStats, selectedNodes, null);
+            }
+            shardRouting = shardIt.nextOrNull();
         } else {
             shardRouting = routingTable
                 .preferAttributesActiveInitializingShardsIt(awarenessAttributes, state.nodes(), seed)
@@ -131,13 +183,19 @@ public final class RoutingProvider {
             return new Routing(Collections.emptyMap());
         }
         Map<String, Map<String, IntIndexedContainer>> locations = new TreeMap<>();
+        // Number of shards selected per node, so that shards are spread across copies
+        // instead of all going to the node that currently ranks best
+        Map<String, Integer> selectedPerNode = new HashMap<>();
 
         for (IndexShardRoutingTable shard : shards) {
             final ShardIterator shardIt;
             switch (shardSelection) {
                 case ANY:
                     if (awarenessAttributes.isEmpty()) {
-                        shardIt = shard.activeInitializingShardsIt(seed);
+                        ShardIterator activeInitializingShardsIt = shard.activeInitializingShardsIt(seed);
+                        shardIt = nodeResponseStats == null
+                            ? activeInitializingShardsIt
+                            : rankShards(activeInitializingShardsIt, nodeResponseStats, selectedNodes, selectedPerNode);
                     } else {
                         shardIt = shard.preferAttributesActiveInitializingShardsIt(
                             awarenessAttributes, state.nodes(), seed);
@@ -157,6 +215,63 @@ public final class RoutingProvider {
         return new Routing(locations);
     }
 
+    /**
+     * Moves the active shard copy on the node with the lowest rank to the front.
+     * The order of the other copies is kept.
+     *
+     * @param selectedNodes node of the copy previously chosen per shard. If the copy is still active
+     *                      it is chosen again, otherwise the newly chosen copy is recorded.
+     * @param selectedPerNode number of shards already selected per node for the current routing.
+     *                        Updated with the selected copy.
+     */
+    private static ShardIterator rankShards(ShardIterator shardIt,
+                                            NodeResponseStats nodeResponseStats,
+                                            @Nullable Map<ShardId, String> selectedNodes,
+                                            @Nullable Map<String, Integer> selectedPerNode) {
+        if (shardIt.size() <= 1) {
+            return shardIt;
+        }
+        String previousNodeId = selectedNodes == null ? null : selectedNodes.get(shardIt.shardId());
+        List<ShardRouting> shards = new ArrayList<>(shardIt.size());
+        int bestIdx = -1;
+        int previousIdx = -1;
+        double bestRank = Double.MAX_VALUE;
+        for (ShardRouting shardRouting : shardIt) {
+            if (shardRouting.active()) {
+                String nodeId = shardRouting.currentNodeId();
+                if (nodeId.equals(previousNodeId)) {
+                    previousIdx = shards.size();
+                }
+                int pending = selectedPerNode == null ? 0 : selectedPerNode.getOrDefault(nodeId, 0);
+                double rank = nodeResponseStats.rank(nodeId, pending);
+                if (rank < bestRank) {
+                    bestRank = rank;
+                    bestIdx = shards.size();
+                }
+            }
+            shards.add(shardRouting);
+        }
+        if (previousIdx != -1) {
+            bestIdx = previousIdx;
+        }
+        if (bestIdx == -1) {
+            return shardIt;
+        }
+        ShardRouting best = shards.remove(bestIdx);
+        shards.add(0, best);
+        String bestNodeId = best.currentNodeId();
+        for (int i = 1; i < shards.size(); i++) {
+            nodeResponseStats.adjustNotSelected(shards.get(i).currentNodeId(), bestNodeId);
+        }
+        if (selectedPerNode != null) {
+            selectedPerNode.merge(bestNodeId, 1, Integer::sum);
+        }
+        if (selectedNodes != null) {
+            selectedNodes.put(shardIt.shardId(), bestNodeId);
+        }
+        return new PlainShardIterator(shardIt.shardId(), shards);
+    }
+
     private static void fillLocationsFromShardIterator(boolean ignoreMissingShards,
                                                        Map<String, Map<String, IntIndexedContainer>> locations,
                                                        ShardIterator shardIterator) {
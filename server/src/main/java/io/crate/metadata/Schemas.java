@@ -102,6 +102,7 @@ public class Schemas extends AbstractLifecycleComponent implements Iterable<Sche
     private final Roles roles;
     private final Map<String, SchemaInfo> schemas = new ConcurrentHashMap<>();
     private final Map<String, SchemaInfo> builtInSchemas;
+    private final PartitionIndexes partitionIndexes = new PartitionIndexes();
 
     public Schemas(Map<String, SchemaInfo> builtInSchemas,
                    ClusterService clusterService,
@@ -342,6 +343,14 @@ public class Schemas extends AbstractLifecycleComponent implements Iterable<Sche
         return schemaInfo;
     }
 
+    /**
+     * @return the {@link PartitionIndex} of a partitioned table or null if it isn't up to date with {@code metadata}
+     */
+    @Nullable
+    public PartitionIndex partitionIndex(RelationName relationName, Metadata metadata) {
+        return partitionIndexes.get(relationName, metadata);
+    }
+
     @NotNull
     public Iterator<SchemaInfo> iterator() {
         return schemas.values().iterator();
@@ -352,6 +361,7 @@ public class Schemas extends AbstractLifecycleComponent implements Iterable<Sche
         if (!event.metadataChanged()) {
             return;
         }
+        partitionIndexes.update(event);
 
         Set<String> newCurrentSchemas = getNewCurrentSchemas(event.state().metadata());
         synchronized (schemas) {
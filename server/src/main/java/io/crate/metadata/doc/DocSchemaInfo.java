@@ -49,6 +49,7 @@ import com.carrotsearch.hppc.cursors.ObjectCursor;
 import com.carrotsearch.hppc.cursors.ObjectObjectCursor;
 
 import io.crate.blob.v2.BlobIndex;
+import io.crate.common.collections.Sets;
 import io.crate.exceptions.ResourceUnknownException;
 import io.crate.metadata.IndexParts;
 import io.crate.metadata.PartitionName;
@@ -56,6 +57,7 @@ import io.crate.metadata.RelationName;
 import io.crate.metadata.Schemas;
 import io.crate.metadata.table.SchemaInfo;
 import io.crate.metadata.table.TableInfo;
+import io.crate.metadata.view.MaterializedViewsMetadata;
 import io.crate.metadata.view.ViewInfo;
 import io.crate.metadata.view.ViewInfoFactory;
 import io.crate.metadata.view.ViewsMetadata;
@@ -238,25 +240,30 @@ public class DocSchemaInfo implements SchemaInfo {
     public void update(ClusterChangedEvent event) {
         assert event.metadataChanged() : "metadataChanged must be true if update is called";
 
-        // search for aliases of deleted and created indices, they must be invalidated also
         Metadata prevMetadata = event.previousState().metadata();
+        Metadata newMetadata = event.state().metadata();
+        ImmutableOpenMap<String, IndexTemplateMetadata> newTemplates = newMetadata.templates();
+        ImmutableOpenMap<String, IndexTemplateMetadata> prevTemplates = prevMetadata.templates();
+
+        // partitioned tables are built from their template only, adding or removing
+        // partitions doesn't require a rebuild as long as the template is unchanged
+        Set<String> unchangedPartitionedTables = getUnchangedPartitionedTables(prevTemplates, newTemplates);
+
+        // search for aliases of deleted and created indices, they must be invalidated also
         for (Index index : event.indicesDeleted()) {
-            invalidateFromIndex(index, prevMetadata);
+            invalidateFromIndex(index, prevMetadata, unchangedPartitionedTables);
         }
-        Metadata newMetadata = event.state().metadata();
         for (String index : event.indicesCreated()) {
-            invalidateAliases(newMetadata.index(index).getAliases());
+            invalidateAliases(newMetadata.index(index).getAliases(), unchangedPartitionedTables);
         }
 
         // search for templates with changed meta data => invalidate template aliases
-        ImmutableOpenMap<String, IndexTemplateMetadata> newTemplates = newMetadata.templates();
-        ImmutableOpenMap<String, IndexTemplateMetadata> prevTemplates = prevMetadata.templates();
         if (!newTemplates.equals(prevTemplates)) {
             for (ObjectCursor<IndexTemplateMetadata> cursor : newTemplates.values()) {
-                invalidateAliases(cursor.value.aliases());
+                invalidateAliases(cursor.value.aliases(), unchangedPartitionedTables);
             }
             for (ObjectCursor<IndexTemplateMetadata> cursor : prevTemplates.values()) {
-                invalidateAliases(cursor.value.aliases());
+                invalidateAliases(cursor.value.aliases(), unchangedPartitionedTables);
             }
         }
 
@@ -266,6 +273,9 @@ public class DocSchemaInfo implements SchemaInfo {
         ImmutableOpenMap<String, IndexMetadata> indices = newMetadata.indices();
         while (currentTablesIt.hasNext()) {
             String tableName = currentTablesIt.next();
+            if (unchangedPartitionedTables.contains(tableName)) {
+                continue;
+            }
             String indexName = getIndexName(tableName);
 
             IndexMetadata newIndexMetadata = newMetadata.index(indexName);
@@ -276,8 +286,8 @@ public class DocSchemaInfo implements SchemaInfo {
                 if (oldIndexMetadata != null && ClusterChangedEvent.indexMetadataChanged(oldIndexMetadata, newIndexMetadata)) {
                     docTableByName.remove(tableName);
                     // invalidate aliases of changed indices
-                    invalidateAliases(newIndexMetadata.getAliases());
-                    invalidateAliases(oldIndexMetadata.getAliases());
+                    invalidateAliases(newIndexMetadata.getAliases(), unchangedPartitionedTables);
+                    invalidateAliases(oldIndexMetadata.getAliases(), unchangedPartitionedTables);
                 } else {
                     // this is the case if a single partition has been modified using alter table <t> partition (...)
                     String possibleTemplateName = PartitionName.templateName(name(), tableName);
@@ -301,6 +311,50 @@ public class DocSchemaInfo implements SchemaInfo {
         for (String updatedTable : tablesAffectedByPublicationsChange) {
             docTableByName.remove(updatedTable);
         }
+
+        // Tables of materialized views don't support DML
+        Set<String> prevViews = materializedViews(prevMetadata);
+        Set<String> newViews = materializedViews(newMetadata);
+        if (!prevViews.equals(newViews)) {
+            for (String view : Sets.union(prevViews, newViews)) {
+                docTableByName.remove(view);
+            }
+        }
+    }
+
+    /**
+     * @return the names of the materialized views of this schema
+     */
+    private Set<String> materializedViews(Metadata metadata) {
+        MaterializedViewsMetadata views = metadata.custom(MaterializedViewsMetadata.TYPE);
+        if (views == null) {
+            return Set.of();
+        }
+        Set<String> result = new HashSet<>();
+        for (String fqn : views.names()) {
+            RelationName name = RelationName.fromIndexName(fqn);
+            if (schemaName.equals(name.schema())) {
+                result.add(name.name());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return names of the cached partitioned tables of this schema whose template
+     *         is the same in both metadata versions
+     */
+    private Set<String> getUnchangedPartitionedTables(ImmutableOpenMap<String, IndexTemplateMetadata> prevTemplates,
+                                                      ImmutableOpenMap<String, IndexTemplateMetadata> newTemplates) {
+        Set<String> result = new HashSet<>();
+        for (String tableName : docTableByName.keySet()) {
+            String templateName = PartitionName.templateName(schemaName, tableName);
+            IndexTemplateMetadata newTemplate = newTemplates.get(templateName);
+            if (newTemplate != null && newTemplate.equals(prevTemplates.get(templateName))) {
+                result.add(tableName);
+            }
+        }
+        return result;
     }
 
     @VisibleForTesting
@@ -385,9 +439,13 @@ public class DocSchemaInfo implements SchemaInfo {
      */
     @VisibleForTesting
     void invalidateFromIndex(Index index, Metadata metadata) {
+        invalidateFromIndex(index, metadata, Set.of());
+    }
+
+    private void invalidateFromIndex(Index index, Metadata metadata, Set<String> retained) {
         IndexMetadata indexMetadata = metadata.index(index);
         if (indexMetadata != null) {
-            invalidateAliases(indexMetadata.getAliases());
+            invalidateAliases(indexMetadata.getAliases(), retained);
         }
     }
 
@@ -399,10 +457,14 @@ public class DocSchemaInfo implements SchemaInfo {
         }
     }
 
-    private void invalidateAliases(ImmutableOpenMap<String, AliasMetadata> aliases) {
+    private void invalidateAliases(ImmutableOpenMap<String, AliasMetadata> aliases, Set<String> retained) {
         assert aliases != null : "aliases must not be null";
         if (aliases.size() > 0) {
-            aliases.keysIt().forEachRemaining(docTableByName::remove);
+            aliases.keysIt().forEachRemaining(alias -> {
+                if (!retained.contains(alias)) {
+                    docTableByName.remove(alias);
+                }
+            });
         }
     }
 
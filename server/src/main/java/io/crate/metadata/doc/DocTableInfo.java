@@ -325,7 +325,9 @@ public class DocTableInfo implements TableInfo, ShardedTable, StoredTable {
             }
             return null;
         } catch (NumberFormatException ex) {
-            return getReference(ColumnIdent.fromPath(storageIdent));
+            ColumnIdent column = ColumnIdent.fromPath(storageIdent);
+            Reference ref = getReference(column);
+            return ref == null ? indexColumn(column) : ref;
         }
     }
 
@@ -71,6 +71,7 @@ import io.crate.metadata.RelationName;
 import io.crate.metadata.RowGranularity;
 import io.crate.metadata.SimpleReference;
 import io.crate.metadata.table.Operation;
+import io.crate.metadata.view.MaterializedViewsMetadata;
 import io.crate.replication.logical.metadata.PublicationsMetadata;
 import io.crate.server.xcontent.XContentHelper;
 import io.crate.sql.parser.SqlParser;
@@ -305,6 +306,7 @@ public class DocTableInfoFactory {
             metaMap
         );
         PublicationsMetadata publicationsMetadata = metadata.custom(PublicationsMetadata.TYPE);
+        MaterializedViewsMetadata materializedViews = metadata.custom(MaterializedViewsMetadata.TYPE);
         ColumnIdent clusteredBy = getClusteredBy(primaryKeys, Maps.get(metaMap, "routing"));
         return new DocTableInfo(
             relation,
@@ -325,7 +327,8 @@ public class DocTableInfoFactory {
             Operation.buildFromIndexSettingsAndState(
                 tableParameters,
                 state,
-                publicationsMetadata == null ? false : publicationsMetadata.isPublished(relation)
+                publicationsMetadata == null ? false : publicationsMetadata.isPublished(relation),
+                materializedViews != null && materializedViews.contains(relation)
             ),
             tableVersion
         );
@@ -26,6 +26,7 @@ import static io.crate.Constants.DEFAULT_DATE_STYLE;
 import java.util.HashSet;
 import java.util.Set;
 
+import io.crate.action.sql.ResourceGroups;
 import io.crate.common.unit.TimeValue;
 import io.crate.metadata.SearchPath;
 import io.crate.planner.optimizer.LoadedRules;
@@ -48,6 +49,10 @@ public class CoordinatorSessionSettings extends SessionSettings {
     private String applicationName;
     private String dateStyle;
     private TimeValue statementTimeout;
+    private String resourceGroup;
+    private boolean materializedViewRewriteEnabled;
+    private boolean rollupRewriteEnabled;
+    private boolean scaleSampledAggregates;
 
     public CoordinatorSessionSettings(Role authenticatedUser, String... searchPath) {
         this(authenticatedUser, authenticatedUser, Set.of(), searchPath);
@@ -90,6 +95,7 @@ public class CoordinatorSessionSettings extends SessionSettings {
         this.excludedOptimizerRules = new HashSet<>(excludedOptimizerRules);
         this.dateStyle = DEFAULT_DATE_STYLE;
         this.statementTimeout = TimeValue.ZERO;
+        this.resourceGroup = ResourceGroups.DEFAULT_GROUP;
         this.memoryLimit = memoryLimit;
     }
 
@@ -167,6 +173,42 @@ public class CoordinatorSessionSettings extends SessionSettings {
         this.statementTimeout = statementTimeout;
     }
 
+    @Override
+    public String resourceGroup() {
+        return resourceGroup;
+    }
+
+    public void setResourceGroup(String resourceGroup) {
+        this.resourceGroup = resourceGroup;
+    }
+
+    @Override
+    public boolean materializedViewRewriteEnabled() {
+        return materializedViewRewriteEnabled;
+    }
+
+    public void setMaterializedViewRewriteEnabled(boolean materializedViewRewriteEnabled) {
+        this.materializedViewRewriteEnabled = materializedViewRewriteEnabled;
+    }
+
+    @Override
+    public boolean rollupRewriteEnabled() {
+        return rollupRewriteEnabled;
+    }
+
+    public void setRollupRewriteEnabled(boolean rollupRewriteEnabled) {
+        this.rollupRewriteEnabled = rollupRewriteEnabled;
+    }
+
+    @Override
+    public boolean scaleSampledAggregates() {
+        return scaleSampledAggregates;
+    }
+
+    public void setScaleSampledAggregates(boolean scaleSampledAggregates) {
+        this.scaleSampledAggregates = scaleSampledAggregates;
+    }
+
     public void memoryLimit(int memoryLimit) {
         this.memoryLimit = memoryLimit;
     }
@@ -36,6 +36,7 @@ import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
 
+import io.crate.action.sql.ResourceGroups;
 import io.crate.common.collections.Lists;
 import io.crate.types.DataTypes;
 
@@ -96,6 +97,7 @@ public final class CrateSettings {
     public static boolean isValidSetting(String name) {
         return isLoggingSetting(name) ||
                isArchivedSetting(name) ||
+               isResourceGroupSetting(name) ||
                EXPOSED_SETTING_NAMES.contains(name) ||
                EXPOSED_SETTING_NAMES.stream().noneMatch(s -> s.startsWith(name + ".")) == false;
     }
@@ -107,6 +109,9 @@ public final class CrateSettings {
         if (isArchivedSetting(prefix)) {
             return Collections.singletonList(prefix);
         }
+        if (isResourceGroupSetting(prefix)) {
+            return Collections.singletonList(prefix);
+        }
         List<String> filteredList = new ArrayList<>();
         for (String key : EXPOSED_SETTING_NAMES) {
             if (key.startsWith(prefix)) {
@@ -153,6 +158,10 @@ public final class CrateSettings {
         return name.startsWith(LOGGER_SETTINGS_PREFIX);
     }
 
+    private static boolean isResourceGroupSetting(String name) {
+        return ResourceGroups.MAX_CONCURRENCY.match(name) || ResourceGroups.MAX_QUEUED.match(name);
+    }
+
     private static boolean isArchivedSetting(String name) {
         return name.startsWith(ARCHIVED_SETTINGS_PREFIX);
     }
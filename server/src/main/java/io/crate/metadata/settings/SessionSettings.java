@@ -130,6 +130,26 @@ public class SessionSettings implements Writeable {
         return TimeValue.ZERO;
     }
 
+    public String resourceGroup() {
+        // Only available on coordinator
+        return null;
+    }
+
+    public boolean materializedViewRewriteEnabled() {
+        // Only available on coordinator
+        return false;
+    }
+
+    public boolean rollupRewriteEnabled() {
+        // Only available on coordinator
+        return false;
+    }
+
+    public boolean scaleSampledAggregates() {
+        // Only available on coordinator
+        return false;
+    }
+
     /**
      * memory.operation_limit
      **/
@@ -32,9 +32,11 @@ import java.util.Set;
 import org.elasticsearch.cluster.metadata.MetadataCreateIndexService;
 import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.common.inject.Singleton;
+import org.elasticsearch.common.settings.Settings;
 import org.joda.time.Period;
 import org.joda.time.PeriodType;
 
+import io.crate.action.sql.ResourceGroups;
 import io.crate.action.sql.Sessions;
 import io.crate.common.collections.MapBuilder;
 import io.crate.common.unit.TimeValue;
@@ -118,10 +120,67 @@ public class SessionSettingRegistry {
         DataTypes.INTEGER
     );
 
+    static final String RESOURCE_GROUP_KEY = "resource_group";
+
+    private static SessionSetting<String> resourceGroup(ResourceGroups resourceGroups) {
+        return new SessionSetting<>(
+            RESOURCE_GROUP_KEY,
+            inputs -> {
+                String group = DataTypes.STRING.implicitCast(inputs[0]);
+                if (group == null) {
+                    return ResourceGroups.DEFAULT_GROUP;
+                }
+                if (!resourceGroups.exists(group)) {
+                    throw new IllegalArgumentException("Resource group `" + group + "` does not exist");
+                }
+                return group;
+            },
+            CoordinatorSessionSettings::setResourceGroup,
+            SessionSettings::resourceGroup,
+            () -> ResourceGroups.DEFAULT_GROUP,
+            "Resource group used for admission control of the statements of the session",
+            DataTypes.STRING
+        );
+    }
+
+    static final SessionSetting<Boolean> MATERIALIZED_VIEW_REWRITE = new SessionSetting<>(
+        "enable_materialized_view_rewrite",
+        inputs -> DataTypes.BOOLEAN.implicitCast(inputs[0]),
+        CoordinatorSessionSettings::setMaterializedViewRewriteEnabled,
+        s -> Boolean.toString(s.materializedViewRewriteEnabled()),
+        () -> String.valueOf(false),
+        "Answers queries matching the definition of a materialized view from the view.",
+        DataTypes.BOOLEAN
+    );
+
+    static final SessionSetting<Boolean> ROLLUP_REWRITE = new SessionSetting<>(
+        "enable_rollup_rewrite",
+        inputs -> DataTypes.BOOLEAN.implicitCast(inputs[0]),
+        CoordinatorSessionSettings::setRollupRewriteEnabled,
+        s -> Boolean.toString(s.rollupRewriteEnabled()),
+        () -> String.valueOf(false),
+        "Answers aggregations compatible with a rollup of a table from the rollup table.",
+        DataTypes.BOOLEAN
+    );
+
+    static final SessionSetting<Boolean> SCALE_SAMPLED_AGGREGATES = new SessionSetting<>(
+        "scale_sampled_aggregates",
+        inputs -> DataTypes.BOOLEAN.implicitCast(inputs[0]),
+        CoordinatorSessionSettings::setScaleSampledAggregates,
+        s -> Boolean.toString(s.scaleSampledAggregates()),
+        () -> String.valueOf(false),
+        "Scales count and sum aggregations on a TABLESAMPLE by the sampling fraction.",
+        DataTypes.BOOLEAN
+    );
+
     private final Map<String, SessionSetting<?>> settings;
 
     @Inject
     public SessionSettingRegistry(Set<SessionSettingProvider> sessionSettingProviders) {
+        this(sessionSettingProviders, new ResourceGroups(Settings.EMPTY));
+    }
+
+    public SessionSettingRegistry(Set<SessionSettingProvider> sessionSettingProviders, ResourceGroups resourceGroups) {
         var builder = MapBuilder.<String, SessionSetting<?>>treeMapBuilder()
             .put(SEARCH_PATH_KEY,
                  new SessionSetting<>(
@@ -230,7 +289,11 @@ public class SessionSettingRegistry {
             .put(APPLICATION_NAME.name(), APPLICATION_NAME)
             .put(DATE_STYLE.name(), DATE_STYLE)
             .put(STATEMENT_TIMEOUT.name(), STATEMENT_TIMEOUT)
-            .put(MEMORY_LIMIT.name(), MEMORY_LIMIT);
+            .put(MEMORY_LIMIT.name(), MEMORY_LIMIT)
+            .put(RESOURCE_GROUP_KEY, resourceGroup(resourceGroups))
+            .put(MATERIALIZED_VIEW_REWRITE.name(), MATERIALIZED_VIEW_REWRITE)
+            .put(ROLLUP_REWRITE.name(), ROLLUP_REWRITE)
+            .put(SCALE_SAMPLED_AGGREGATES.name(), SCALE_SAMPLED_AGGREGATES);
 
         for (var providers : sessionSettingProviders) {
             for (var setting : providers.sessionSettings()) {
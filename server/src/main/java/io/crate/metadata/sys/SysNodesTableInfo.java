@@ -34,6 +34,7 @@ import org.elasticsearch.monitor.fs.FsInfo;
 import org.elasticsearch.monitor.jvm.JvmStats;
 import org.elasticsearch.threadpool.ThreadPoolStats;
 
+import io.crate.execution.jobs.NodeLimitStats;
 import io.crate.expression.reference.sys.node.NodeStatsContext;
 import io.crate.metadata.ColumnIdent;
 import io.crate.metadata.RelationName;
@@ -62,6 +63,8 @@ public class SysNodesTableInfo {
     private static final String SYS_COL_OS_INFO = "os_info";
     private static final String SYS_COL_PROCESS = "process";
     private static final String SYS_COL_FS = "fs";
+    private static final String SYS_COL_OVERLOAD_PROTECTION = "overload_protection";
+    private static final String SYS_COL_OFF_HEAP = "off_heap";
 
     public static class Columns {
         public static final ColumnIdent ID = ColumnIdent.of(SYS_COL_ID);
@@ -94,6 +97,10 @@ public class SysNodesTableInfo {
         public static final ColumnIdent PROCESS = ColumnIdent.of(SYS_COL_PROCESS);
 
         public static final ColumnIdent FS = ColumnIdent.of(SYS_COL_FS);
+
+        public static final ColumnIdent OVERLOAD_PROTECTION = ColumnIdent.of(SYS_COL_OVERLOAD_PROTECTION);
+
+        public static final ColumnIdent OFF_HEAP = ColumnIdent.of(SYS_COL_OFF_HEAP);
     }
 
 
@@ -130,6 +137,10 @@ public class SysNodesTableInfo {
             .add("max", LONG, x -> x.jvmStats().getMem().getHeapMax().getBytes())
             .add("probe_timestamp", TIMESTAMPZ, x -> x.jvmStats().getTimestamp())
         .endObject()
+        .startObject("off_heap")
+            .add("used", LONG, x -> x.offHeapStats().usedBytes())
+            .add("pooled", LONG, x -> x.offHeapStats().pooledBytes())
+        .endObject()
         .startObject("version")
             .add("number", STRING, x -> x.version().externalNumber())
             .add("build_hash", STRING, x -> x.build().hash())
@@ -234,6 +245,17 @@ public class SysNodesTableInfo {
                 .add("path", STRING, FsInfo.Path::getPath)
             .endObjectArray()
         .endObject()
+        .startObject("overload_protection")
+            .startObjectArray("dml", NodeStatsContext::dmlLimits)
+                .add("target_node_id", STRING, NodeLimitStats::targetNodeId)
+                .add("concurrency_limit", INTEGER, NodeLimitStats::concurrencyLimit)
+                .add("inflight", INTEGER, NodeLimitStats::inflight)
+                .add("rejected", LONG, NodeLimitStats::rejected)
+                .add("bulk_size_percent", INTEGER, NodeLimitStats::bulkSizePercent)
+                .add("last_rtt_ms", LONG, NodeLimitStats::lastRttMs)
+                .add("long_rtt_ms", LONG, NodeLimitStats::longRttMs)
+            .endObjectArray()
+        .endObject()
         .setPrimaryKeys(ColumnIdent.of("id"))
         .build();
 }
@@ -24,6 +24,7 @@ package io.crate.metadata.sys;
 import static io.crate.types.DataTypes.LONG;
 import static io.crate.types.DataTypes.STRING;
 import static io.crate.types.DataTypes.TIMESTAMPZ;
+import static io.crate.types.DataTypes.UNTYPED_OBJECT;
 
 import io.crate.expression.reference.sys.operation.OperationContextLog;
 import io.crate.metadata.RelationName;
@@ -41,6 +42,7 @@ public class SysOperationsLogTableInfo {
         .add("started", TIMESTAMPZ, OperationContextLog::started)
         .add("ended", TIMESTAMPZ, OperationContextLog::ended)
         .add("used_bytes", LONG, OperationContextLog::usedBytes)
+        .add("stats", UNTYPED_OBJECT, OperationContextLog::stats)
         .add("error", STRING, OperationContextLog::errorMessage)
         .withRouting((state, routingProvider, sessionSettings) -> Routing.forTableOnAllNodes(IDENT, state.nodes()))
         .build();
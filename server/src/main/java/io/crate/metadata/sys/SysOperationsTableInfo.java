@@ -24,6 +24,7 @@ package io.crate.metadata.sys;
 import static io.crate.types.DataTypes.LONG;
 import static io.crate.types.DataTypes.STRING;
 import static io.crate.types.DataTypes.TIMESTAMPZ;
+import static io.crate.types.DataTypes.UNTYPED_OBJECT;
 
 import java.util.function.Supplier;
 
@@ -45,6 +46,7 @@ public class SysOperationsTableInfo {
             .add("name", STRING, OperationContext::name)
             .add("started", TIMESTAMPZ, OperationContext::started)
             .add("used_bytes", LONG, OperationContext::usedBytes)
+        .add("stats", UNTYPED_OBJECT, OperationContext::stats)
             .startObject("node")
                 .add("id", STRING, ignored -> localNode.get().getId())
                 .add("name", STRING, ignored -> localNode.get().getName())
@@ -0,0 +1,63 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+
+package io.crate.metadata.sys;
+
+import static io.crate.types.DataTypes.INTEGER;
+import static io.crate.types.DataTypes.LONG;
+import static io.crate.types.DataTypes.STRING;
+
+import java.util.function.Supplier;
+
+import org.elasticsearch.cluster.node.DiscoveryNode;
+
+import io.crate.metadata.IndexParts;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.Routing;
+import io.crate.metadata.SystemTable;
+import io.crate.replication.logical.ShardReplicationChangesTracker;
+
+public class SysReplicationShardsTableInfo {
+
+    public static final RelationName IDENT = new RelationName(SysSchemaInfo.NAME, "replication_shards");
+
+    public static SystemTable<ShardReplicationChangesTracker> create(Supplier<DiscoveryNode> localNode) {
+        return SystemTable.<ShardReplicationChangesTracker>builder(IDENT)
+            .add("table_schema", STRING, r -> new IndexParts(r.shardId().getIndexName()).getSchema())
+            .add("table_name", STRING, r -> new IndexParts(r.shardId().getIndexName()).getTable())
+            .add("partition_ident", STRING, r -> new IndexParts(r.shardId().getIndexName()).getPartitionIdent())
+            .add("shard_id", INTEGER, r -> r.shardId().id())
+            .startObject("node")
+                .add("id", STRING, ignored -> localNode.get().getId())
+                .add("name", STRING, ignored -> localNode.get().getName())
+            .endObject()
+            .add("subscription_name", STRING, ShardReplicationChangesTracker::subscriptionName)
+            .add("publisher_checkpoint", LONG, ShardReplicationChangesTracker::leaderCheckpoint)
+            .add("replayed_checkpoint", LONG, ShardReplicationChangesTracker::replayedCheckpoint)
+            .add("lag", LONG, ShardReplicationChangesTracker::lag)
+            .add("batch_size", INTEGER, ShardReplicationChangesTracker::batchSize)
+            .add("batches_in_flight", INTEGER, ShardReplicationChangesTracker::batchesInFlight)
+            .add("bytes_in_flight", LONG, ShardReplicationChangesTracker::bytesInFlight)
+            .withRouting((state, routingProvider, sessionSettings) -> Routing.forTableOnAllNodes(IDENT, state.nodes()))
+            .build();
+    }
+}
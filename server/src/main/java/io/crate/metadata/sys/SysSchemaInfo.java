@@ -66,6 +66,9 @@ public class SysSchemaInfo implements SchemaInfo {
             Map.entry(SysHealth.IDENT.name(), SysHealth.INSTANCE),
             Map.entry(SysMetricsTableInfo.NAME.name(), SysMetricsTableInfo.create(localNode)),
             Map.entry(SysSegmentsTableInfo.IDENT.name(), SysSegmentsTableInfo.create(clusterService::localNode)),
+            Map.entry(SysReplicationShardsTableInfo.IDENT.name(), SysReplicationShardsTableInfo.create(localNode)),
+            Map.entry(SysNodeRanksTableInfo.IDENT.name(), SysNodeRanksTableInfo.create(localNode)),
+            Map.entry(SysResourceGroupsTableInfo.IDENT.name(), SysResourceGroupsTableInfo.create(localNode)),
             Map.entry(
                 SysUsersTableInfo.IDENT.name(),
                 SysUsersTableInfo.create(() -> clusterService.state().metadata().clusterUUID())),
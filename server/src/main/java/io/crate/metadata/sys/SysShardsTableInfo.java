@@ -97,6 +97,7 @@ public class SysShardsTableInfo {
         static final ColumnIdent TRANSLOG_STATS = ColumnIdent.of("translog_stats");
         static final ColumnIdent RETENTION_LEASES = ColumnIdent.of("retention_leases");
         static final ColumnIdent FLUSH_STATS = ColumnIdent.of("flush_stats");
+        static final ColumnIdent SNAPSHOT_CACHE = ColumnIdent.of("snapshot_cache");
     }
 
     public static Map<ColumnIdent, RowCollectExpressionFactory<UnassignedShard>> unassignedShardsExpressions() {
@@ -121,7 +122,8 @@ public class SysShardsTableInfo {
             entry(Columns.SEQ_NO_STATS, NestedNullObjectExpression::new),
             entry(Columns.TRANSLOG_STATS, NestedNullObjectExpression::new),
             entry(Columns.RETENTION_LEASES, NestedNullObjectExpression::new),
-            entry(Columns.FLUSH_STATS, NestedNullObjectExpression::new)
+            entry(Columns.FLUSH_STATS, NestedNullObjectExpression::new),
+            entry(Columns.SNAPSHOT_CACHE, NestedNullObjectExpression::new)
         );
     }
 
@@ -194,6 +196,14 @@ public class SysShardsTableInfo {
                 .add("periodic_count", LONG, ShardRowContext::flushPeriodicCount)
                 .add("total_time_ns", LONG, ShardRowContext::flushTotalTimeNs)
             .endObject()
+            .startObject(Columns.SNAPSHOT_CACHE.name())
+                .add("repository", STRING, ShardRowContext::snapshotCacheRepository)
+                .add("snapshot", STRING, ShardRowContext::snapshotCacheSnapshot)
+                .add("hits", LONG, ShardRowContext::snapshotCacheHits)
+                .add("misses", LONG, ShardRowContext::snapshotCacheMisses)
+                .add("prefetches", LONG, ShardRowContext::snapshotCachePrefetches)
+                .add("bytes_read", LONG, ShardRowContext::snapshotCacheBytesRead)
+            .endObject()
             .setPrimaryKeys(
                 Columns.SCHEMA_NAME,
                 Columns.TABLE_NAME,
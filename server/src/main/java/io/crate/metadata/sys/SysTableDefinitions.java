@@ -36,8 +36,10 @@ import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.inject.Inject;
 import org.elasticsearch.repositories.RepositoriesService;
 
+import io.crate.action.sql.Sessions;
 import io.crate.execution.engine.collect.files.SummitsIterable;
 import io.crate.execution.engine.collect.stats.JobsLogs;
+import io.crate.execution.support.NodeResponseStats;
 import io.crate.expression.reference.StaticTableDefinition;
 import io.crate.expression.reference.sys.check.SysCheck;
 import io.crate.expression.reference.sys.check.SysChecker;
@@ -47,6 +49,7 @@ import io.crate.expression.reference.sys.shard.SysAllocations;
 import io.crate.expression.reference.sys.snapshot.SysSnapshots;
 import io.crate.metadata.RelationName;
 import io.crate.metadata.SystemTable;
+import io.crate.replication.logical.ShardReplicationService;
 import io.crate.role.Permission;
 import io.crate.role.Role;
 import io.crate.role.Roles;
@@ -69,7 +72,10 @@ public class SysTableDefinitions {
                                RepositoriesService repositoriesService,
                                SysSnapshots sysSnapshots,
                                SysAllocations sysAllocations,
-                               ShardSegments shardSegmentInfos) {
+                               ShardSegments shardSegmentInfos,
+                               ShardReplicationService shardReplicationService,
+                               NodeResponseStats nodeResponseStats,
+                               Sessions sessions) {
         Supplier<DiscoveryNode> localNode = clusterService::localNode;
         var sysClusterTableInfo = (SystemTable<Void>) sysSchemaInfo.getTableInfo(SysClusterTableInfo.IDENT.name());
         assert sysClusterTableInfo != null : "sys.cluster table must exist in sys schema";
@@ -221,6 +227,30 @@ public class SysTableDefinitions {
                     SysSegmentsTableInfo.create(clusterService::localNode).expressions(),
                     true
                 )
+            ),
+            Map.entry(
+                SysReplicationShardsTableInfo.IDENT,
+                new StaticTableDefinition<>(
+                    () -> completedFuture(shardReplicationService.trackers()),
+                    SysReplicationShardsTableInfo.create(localNode).expressions(),
+                    false
+                )
+            ),
+            Map.entry(
+                SysNodeRanksTableInfo.IDENT,
+                new StaticTableDefinition<>(
+                    () -> completedFuture(nodeResponseStats.ranks()),
+                    SysNodeRanksTableInfo.create(localNode).expressions(),
+                    false
+                )
+            ),
+            Map.entry(
+                SysResourceGroupsTableInfo.IDENT,
+                new StaticTableDefinition<>(
+                    () -> completedFuture(sessions.resourceGroups().groups()),
+                    SysResourceGroupsTableInfo.create(localNode).expressions(),
+                    false
+                )
             )
         );
     }
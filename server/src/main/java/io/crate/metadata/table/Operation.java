@@ -30,6 +30,7 @@ import java.util.Set;
 
 import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.store.SearchableSnapshotDirectory;
 
 import io.crate.common.collections.MapBuilder;
 import io.crate.common.collections.Sets;
@@ -79,6 +80,9 @@ public enum Operation {
     public static final EnumSet<Operation> PUBLISHED_IN_LOGICAL_REPLICATION = EnumSet.of(
         READ, UPDATE, INSERT, DELETE, DROP, ALTER, ALTER_BLOCKS, ALTER_CLOSE, ALTER_REROUTE, REFRESH,
         SHOW_CREATE, COPY_TO, OPTIMIZE, RESTORE_SNAPSHOT, CREATE_SNAPSHOT);
+    public static final EnumSet<Operation> MOUNTED_FROM_SNAPSHOT = EnumSet.of(
+        READ, DROP, SHOW_CREATE, COPY_TO, CREATE_SNAPSHOT);
+    public static final EnumSet<Operation> MATERIALIZED_VIEW = EnumSet.complementOf(EnumSet.of(UPDATE, INSERT, DELETE));
 
     private final String representation;
 
@@ -97,6 +101,16 @@ public enum Operation {
     public static EnumSet<Operation> buildFromIndexSettingsAndState(Settings settings,
                                                                     IndexMetadata.State state,
                                                                     boolean isPublished) {
+        return buildFromIndexSettingsAndState(settings, state, isPublished, false);
+    }
+
+    /**
+     * @param isMaterializedView if true, the table holds the rows of a materialized view which are only written by refreshes
+     */
+    public static EnumSet<Operation> buildFromIndexSettingsAndState(Settings settings,
+                                                                    IndexMetadata.State state,
+                                                                    boolean isPublished,
+                                                                    boolean isMaterializedView) {
         if (state == IndexMetadata.State.CLOSE) {
             return CLOSED_OPERATIONS;
         }
@@ -112,6 +126,13 @@ public enum Operation {
             operations = PUBLISHED_IN_LOGICAL_REPLICATION;
         }
 
+        if (SearchableSnapshotDirectory.isMounted(settings)) {
+            operations = Sets.intersection(MOUNTED_FROM_SNAPSHOT, operations);
+        }
+        if (isMaterializedView) {
+            operations = Sets.intersection(MATERIALIZED_VIEW, operations);
+        }
+
         for (Map.Entry<String, EnumSet<Operation>> entry : BLOCK_SETTING_TO_OPERATIONS_MAP.entrySet()) {
             if (!settings.getAsBoolean(entry.getKey(), false)) {
                 continue;
@@ -139,6 +160,12 @@ public enum Operation {
             } else if (relationInfo.supportedOperations().equals(PUBLISHED_IN_LOGICAL_REPLICATION)) {
                 exceptionMessage = "The relation \"%s\" doesn't allow %s operations, because it is included in a " +
                                    "logical replication publication.";
+            } else if (relationInfo.supportedOperations().equals(MOUNTED_FROM_SNAPSHOT)) {
+                exceptionMessage = "The relation \"%s\" doesn't allow %s operations, because it is mounted from a " +
+                                   "snapshot.";
+            } else if (relationInfo.supportedOperations().equals(MATERIALIZED_VIEW)) {
+                exceptionMessage = "The relation \"%s\" doesn't allow %s operations, because it is a materialized " +
+                                   "view. Use REFRESH MATERIALIZED VIEW to update it.";
             } else {
                 exceptionMessage = "The relation \"%s\" doesn't support or allow %s operations";
             }
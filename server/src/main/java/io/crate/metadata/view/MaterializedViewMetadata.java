@@ -0,0 +1,96 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.metadata.view;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.jetbrains.annotations.Nullable;
+
+import io.crate.metadata.SearchPath;
+
+/**
+ * Definition of a materialized view. The rows of the view are stored in a regular table with the same name.
+ *
+ * @param checkpoints the max sequence number of each primary shard of the source tables at the time of the last refresh,
+ *                    keyed by {@code <table>/<partitionIdent>/<shardId>}. Empty if the view must be fully recomputed.
+ * @param refresh the refresh which is currently in progress, if any.
+ */
+public record MaterializedViewMetadata(
+        String stmt,
+        @Nullable String owner,
+        SearchPath searchPath,
+        Map<String, Long> checkpoints,
+        @Nullable RefreshInProgress refresh) implements Writeable {
+
+    /**
+     * A refresh builds the new rows of a view in a staging table which replaces the table of the view once it's complete.
+     *
+     * @param nodeId the ephemeral id of the node running the refresh. The refresh is abandoned if the node leaves the cluster.
+     * @param stagingTable the name of the staging table, in the schema of the view.
+     */
+    public record RefreshInProgress(String nodeId, String stagingTable) implements Writeable {
+
+        public static RefreshInProgress of(StreamInput in) throws IOException {
+            return new RefreshInProgress(in.readString(), in.readString());
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeString(nodeId);
+            out.writeString(stagingTable);
+        }
+    }
+
+    public MaterializedViewMetadata(String stmt, @Nullable String owner, SearchPath searchPath, Map<String, Long> checkpoints) {
+        this(stmt, owner, searchPath, checkpoints, null);
+    }
+
+    public static MaterializedViewMetadata of(StreamInput in) throws IOException {
+        String stmt = in.readString();
+        String owner = in.readOptionalString();
+        SearchPath searchPath = SearchPath.createSearchPathFrom(in);
+        Map<String, Long> checkpoints = in.readMap(StreamInput::readString, StreamInput::readZLong);
+        RefreshInProgress refresh = in.readOptionalWriteable(RefreshInProgress::of);
+        return new MaterializedViewMetadata(stmt, owner, searchPath, checkpoints, refresh);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeString(stmt);
+        out.writeOptionalString(owner);
+        searchPath.writeTo(out);
+        out.writeMap(checkpoints, StreamOutput::writeString, StreamOutput::writeZLong);
+        out.writeOptionalWriteable(refresh);
+    }
+
+    public MaterializedViewMetadata withCheckpoints(Map<String, Long> checkpoints) {
+        return new MaterializedViewMetadata(stmt, owner, searchPath, checkpoints, refresh);
+    }
+
+    public MaterializedViewMetadata withRefresh(@Nullable RefreshInProgress refresh) {
+        return new MaterializedViewMetadata(stmt, owner, searchPath, checkpoints, refresh);
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.metadata.view;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.elasticsearch.ElasticsearchParseException;
+import org.elasticsearch.Version;
+import org.elasticsearch.cluster.AbstractNamedDiffable;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentParser;
+import org.elasticsearch.common.xcontent.XContentParser.Token;
+import org.jetbrains.annotations.Nullable;
+
+import io.crate.metadata.RelationName;
+import io.crate.metadata.SearchPath;
+import io.crate.metadata.view.MaterializedViewMetadata.RefreshInProgress;
+
+public class MaterializedViewsMetadata extends AbstractNamedDiffable<Metadata.Custom> implements Metadata.Custom {
+
+    public static final String TYPE = "materialized_views";
+
+    private final Map<String, MaterializedViewMetadata> viewByName;
+
+    MaterializedViewsMetadata(Map<String, MaterializedViewMetadata> viewByName) {
+        this.viewByName = viewByName;
+    }
+
+    public MaterializedViewsMetadata(StreamInput in) throws IOException {
+        int numViews = in.readVInt();
+        viewByName = HashMap.newHashMap(numViews);
+        for (int i = 0; i < numViews; i++) {
+            viewByName.put(in.readString(), MaterializedViewMetadata.of(in));
+        }
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVInt(viewByName.size());
+        for (Map.Entry<String, MaterializedViewMetadata> view : viewByName.entrySet()) {
+            out.writeString(view.getKey());
+            view.getValue().writeTo(out);
+        }
+    }
+
+    @Override
+    public EnumSet<Metadata.XContentContext> context() {
+        return EnumSet.of(Metadata.XContentContext.GATEWAY, Metadata.XContentContext.SNAPSHOT);
+    }
+
+    @Override
+    public String getWriteableName() {
+        return TYPE;
+    }
+
+    @Override
+    public Version getMinimalSupportedVersion() {
+        return Version.V_5_9_0;
+    }
+
+    /*
+     * MaterializedViewsMetadata XContent has the following structure:
+     *
+     * <pre>
+     *     {
+     *       "materialized_views": {
+     *         "doc.my_view": {
+     *           "stmt": "SELECT x, count(*) FROM t1 GROUP BY x",
+     *           "owner": "user_a",
+     *           "searchpath": ["doc"],
+     *           "checkpoints": {
+     *             "doc.t1//0": 42
+     *           },
+     *           "refresh": {
+     *             "node_id": "Ss8sBYQ8S9ucKE6eVA8S2A",
+     *             "staging_table": "my_view_refresh_5fa1c3"
+     *           }
+     *         }
+     *       }
+     *     }
+     * </pre>
+     */
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject(TYPE);
+        for (Map.Entry<String, MaterializedViewMetadata> entry : viewByName.entrySet()) {
+            MaterializedViewMetadata view = entry.getValue();
+            builder.startObject(entry.getKey());
+            {
+                builder.field("stmt", view.stmt());
+                builder.field("owner", view.owner());
+                builder.startArray("searchpath");
+                for (String schema : view.searchPath().showPath()) {
+                    builder.value(schema);
+                }
+                builder.endArray();
+                builder.startObject("checkpoints");
+                for (Map.Entry<String, Long> checkpoint : view.checkpoints().entrySet()) {
+                    builder.field(checkpoint.getKey(), checkpoint.getValue());
+                }
+                builder.endObject();
+                RefreshInProgress refresh = view.refresh();
+                if (refresh != null) {
+                    builder.startObject("refresh");
+                    builder.field("node_id", refresh.nodeId());
+                    builder.field("staging_table", refresh.stagingTable());
+                    builder.endObject();
+                }
+            }
+            builder.endObject();
+        }
+        builder.endObject();
+        return builder;
+    }
+
+    public static MaterializedViewsMetadata fromXContent(XContentParser parser) throws IOException {
+        Map<String, MaterializedViewMetadata> views = new HashMap<>();
+
+        if (parser.nextToken() == Token.FIELD_NAME && parser.currentName().equals(TYPE)) {
+            if (parser.nextToken() == Token.START_OBJECT) {
+                while (parser.nextToken() == Token.FIELD_NAME) {
+                    String viewName = parser.currentName();
+                    if (parser.nextToken() == Token.START_OBJECT) {
+                        String stmt = null;
+                        String owner = null;
+                        SearchPath searchPath = null;
+                        Map<String, Long> checkpoints = new HashMap<>();
+                        RefreshInProgress refresh = null;
+                        while (parser.nextToken() != Token.END_OBJECT) {
+                            String fieldName = parser.currentName();
+                            parser.nextToken();
+                            switch (fieldName) {
+                                case "stmt" -> stmt = parser.text();
+                                case "owner" -> owner = parser.textOrNull();
+                                case "searchpath" -> {
+                                    List<String> paths = new ArrayList<>();
+                                    while (parser.nextToken() != Token.END_ARRAY) {
+                                        paths.add(parser.text());
+                                    }
+                                    searchPath = SearchPath.createSearchPathFrom(paths.toArray(String[]::new));
+                                }
+                                case "checkpoints" -> {
+                                    while (parser.nextToken() == Token.FIELD_NAME) {
+                                        String key = parser.currentName();
+                                        parser.nextToken();
+                                        checkpoints.put(key, parser.longValue());
+                                    }
+                                }
+                                case "refresh" -> refresh = parseRefresh(parser);
+                                default -> parser.skipChildren();
+                            }
+                        }
+                        if (stmt == null) {
+                            throw new ElasticsearchParseException(
+                                "failed to parse materialized views, expected field 'stmt' in object");
+                        }
+                        views.put(viewName, new MaterializedViewMetadata(
+                            stmt,
+                            owner,
+                            searchPath == null ? SearchPath.pathWithPGCatalogAndDoc() : searchPath,
+                            checkpoints,
+                            refresh
+                        ));
+                    }
+                }
+            }
+            if (parser.nextToken() != Token.END_OBJECT) {
+                // each custom metadata is packed inside an object.
+                // each custom must move the parser to the end otherwise possible following customs won't be read
+                throw new ElasticsearchParseException(
+                    "failed to parse materialized views, expected an object token at the end");
+            }
+        }
+        return new MaterializedViewsMetadata(views);
+    }
+
+    private static RefreshInProgress parseRefresh(XContentParser parser) throws IOException {
+        String nodeId = null;
+        String stagingTable = null;
+        while (parser.nextToken() == Token.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            parser.nextToken();
+            switch (fieldName) {
+                case "node_id" -> nodeId = parser.text();
+                case "staging_table" -> stagingTable = parser.text();
+                default -> parser.skipChildren();
+            }
+        }
+        if (nodeId == null || stagingTable == null) {
+            throw new ElasticsearchParseException(
+                "failed to parse materialized views, expected fields 'node_id' and 'staging_table' in refresh");
+        }
+        return new RefreshInProgress(nodeId, stagingTable);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        MaterializedViewsMetadata that = (MaterializedViewsMetadata) o;
+        return viewByName.equals(that.viewByName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(viewByName);
+    }
+
+    public boolean contains(RelationName relationName) {
+        return viewByName.containsKey(relationName.fqn());
+    }
+
+    public Iterable<String> names() {
+        return viewByName.keySet();
+    }
+
+    @Nullable
+    public MaterializedViewMetadata get(RelationName name) {
+        return viewByName.get(name.fqn());
+    }
+
+    /**
+     * @return A copy of the MaterializedViewsMetadata with the view added (or replaced in case it already existed)
+     */
+    public static MaterializedViewsMetadata put(@Nullable MaterializedViewsMetadata prevViews,
+                                                RelationName name,
+                                                MaterializedViewMetadata view) {
+        HashMap<String, MaterializedViewMetadata> newViewByName = prevViews == null
+            ? new HashMap<>()
+            : new HashMap<>(prevViews.viewByName);
+        newViewByName.put(name.fqn(), view);
+        return new MaterializedViewsMetadata(newViewByName);
+    }
+
+    /**
+     * @return A copy of the MaterializedViewsMetadata without the given view, or this instance if it doesn't exist.
+     */
+    public MaterializedViewsMetadata remove(RelationName name) {
+        if (!contains(name)) {
+            return this;
+        }
+        HashMap<String, MaterializedViewMetadata> newViewByName = new HashMap<>(viewByName);
+        newViewByName.remove(name.fqn());
+        return new MaterializedViewsMetadata(newViewByName);
+    }
+
+    /**
+     * @return A copy of the MaterializedViewsMetadata with the view moved to {@code target},
+     *         or this instance if the source doesn't exist.
+     */
+    public MaterializedViewsMetadata rename(RelationName source, RelationName target) {
+        MaterializedViewMetadata view = get(source);
+        if (view == null) {
+            return this;
+        }
+        HashMap<String, MaterializedViewMetadata> newViewByName = new HashMap<>(viewByName);
+        newViewByName.remove(source.fqn());
+        newViewByName.put(target.fqn(), view);
+        return new MaterializedViewsMetadata(newViewByName);
+    }
+}
@@ -29,6 +29,7 @@ import io.crate.metadata.FulltextAnalyzerResolver;
 import io.crate.protocols.postgres.PostgresNetty;
 import io.crate.replication.logical.ShardReplicationService;
 import io.crate.replication.logical.repository.PublisherRestoreService;
+import io.crate.rollup.RollupService;
 import io.crate.statistics.TableStatsService;
 
 public class CrateCommonModule extends AbstractModule {
@@ -42,5 +43,6 @@ public class CrateCommonModule extends AbstractModule {
         bind(DanglingArtifactsService.class).asEagerSingleton();
         bind(PublisherRestoreService.class).asEagerSingleton();
         bind(ShardReplicationService.class).asEagerSingleton();
+        bind(RollupService.class).asEagerSingleton();
     }
 }
@@ -0,0 +1,95 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.parquet;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants of the <a href="https://github.com/apache/parquet-format">Parquet file format</a>.
+ * Field ids refer to the structs defined in {@code parquet.thrift}.
+ */
+final class ParquetFormat {
+
+    static final byte[] MAGIC = "PAR1".getBytes(StandardCharsets.US_ASCII);
+
+    // Type
+    static final int BOOLEAN = 0;
+    static final int INT32 = 1;
+    static final int INT64 = 2;
+    static final int INT96 = 3;
+    static final int FLOAT = 4;
+    static final int DOUBLE = 5;
+    static final int BYTE_ARRAY = 6;
+    static final int FIXED_LEN_BYTE_ARRAY = 7;
+
+    // FieldRepetitionType
+    static final int REQUIRED = 0;
+    static final int OPTIONAL = 1;
+    static final int REPEATED = 2;
+
+    // ConvertedType
+    static final int CONVERTED_NONE = -1;
+    static final int UTF8 = 0;
+    static final int DECIMAL = 5;
+    static final int DATE = 6;
+    static final int TIMESTAMP_MILLIS = 9;
+    static final int TIMESTAMP_MICROS = 10;
+    static final int INT_8 = 15;
+    static final int INT_16 = 16;
+    static final int JSON = 19;
+
+    // CompressionCodec
+    static final int UNCOMPRESSED = 0;
+    static final int SNAPPY = 1;
+    static final int GZIP = 2;
+
+    // Encoding
+    static final int PLAIN = 0;
+    static final int PLAIN_DICTIONARY = 2;
+    static final int RLE = 3;
+    static final int RLE_DICTIONARY = 8;
+
+    private static final String[] ENCODING_NAMES = {
+        "PLAIN", "GROUP_VAR_INT", "PLAIN_DICTIONARY", "RLE", "BIT_PACKED", "DELTA_BINARY_PACKED",
+        "DELTA_LENGTH_BYTE_ARRAY", "DELTA_BYTE_ARRAY", "RLE_DICTIONARY", "BYTE_STREAM_SPLIT"
+    };
+
+    private static final String[] CODEC_NAMES = {
+        "UNCOMPRESSED", "SNAPPY", "GZIP", "LZO", "BROTLI", "LZ4", "ZSTD", "LZ4_RAW"
+    };
+
+    // PageType
+    static final int DATA_PAGE = 0;
+    static final int DICTIONARY_PAGE = 2;
+    static final int DATA_PAGE_V2 = 3;
+
+    private ParquetFormat() {
+    }
+
+    static String encodingName(int encoding) {
+        return encoding >= 0 && encoding < ENCODING_NAMES.length ? ENCODING_NAMES[encoding] : Integer.toString(encoding);
+    }
+
+    static String codecName(int codec) {
+        return codec >= 0 && codec < CODEC_NAMES.length ? CODEC_NAMES[codec] : Integer.toString(codec);
+    }
+}
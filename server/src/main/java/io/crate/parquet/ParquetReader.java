@@ -0,0 +1,566 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.parquet;
+
+import static io.crate.parquet.ThriftCompactReader.getInt;
+import static io.crate.parquet.ThriftCompactReader.getList;
+import static io.crate.parquet.ThriftCompactReader.getLong;
+import static io.crate.parquet.ThriftCompactReader.getString;
+import static io.crate.parquet.ThriftCompactReader.getStruct;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.lucene.util.RamUsageEstimator;
+import org.jetbrains.annotations.Nullable;
+
+import io.crate.data.breaker.RamAccounting;
+
+/**
+ * Reads rows from a Parquet file.
+ *
+ * <p>
+ * This is not a complete implementation of the format, but covers the files written by
+ * {@link ParquetWriter} and the default settings of common writers. It doesn't depend on
+ * parquet-mr, which requires Hadoop on the classpath. Files using anything else fail with an
+ * {@link IOException} naming the unsupported feature.
+ * </p>
+ *
+ * <p>
+ * Only the requested top level columns are read, the column chunks of other columns are skipped.
+ * Nested and repeated columns are not supported. Supported are PLAIN and dictionary encoded
+ * data pages (v1 and v2), compressed with SNAPPY, GZIP or not at all. Other encodings, like the
+ * DELTA encodings, and other codecs, like ZSTD or LZ4, are not supported.
+ * </p>
+ *
+ * <p>
+ * Values are converted to their Java representation: integers to {@link Integer} or {@link Long},
+ * strings to {@link String}, dates and timestamps to epoch milliseconds, decimals to {@link BigDecimal}.
+ * Columns annotated as JSON are returned as raw UTF-8 encoded JSON bytes, see {@link #isJson(int)}.
+ * </p>
+ *
+ * <p>
+ * The values of one row group are held in memory at a time. They are accounted via the given
+ * {@link RamAccounting} before the row group is decoded.
+ * </p>
+ */
+public final class ParquetReader implements Closeable {
+
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+    private static final long JULIAN_EPOCH_OFFSET_DAYS = 2_440_588L;
+
+    /**
+     * There is no ConvertedType for nanosecond timestamps, use a private marker.
+     */
+    private static final int TIMESTAMP_NANOS = 1000;
+
+    /**
+     * Estimated heap usage per decoded value on top of its encoded size: the array slot and the boxed object.
+     */
+    private static final long BYTES_PER_VALUE = RamUsageEstimator.NUM_BYTES_OBJECT_REF
+        + RamUsageEstimator.NUM_BYTES_OBJECT_HEADER
+        + Long.BYTES;
+
+    private final SeekableByteChannel channel;
+    private final RamAccounting ramAccounting;
+    private final List<ColumnInfo> columns;
+    private final List<Map<Integer, Object>> rowGroups;
+
+    private int nextRowGroup = 0;
+    private Object[][] rowGroupValues;
+    private int rowGroupNumRows = 0;
+    private int rowInGroup = -1;
+
+    /**
+     * @param columns names of the columns to read. All columns are read if null or empty.
+     */
+    public ParquetReader(SeekableByteChannel channel,
+                         @Nullable Collection<String> columns,
+                         RamAccounting ramAccounting) throws IOException {
+        this.channel = channel;
+        this.ramAccounting = ramAccounting;
+        long size = channel.size();
+        int magicLength = ParquetFormat.MAGIC.length;
+        if (size < 2 * magicLength + 4) {
+            throw new IOException("Not a parquet file: file is too small");
+        }
+        byte[] tail = read(size - 4 - magicLength, 4 + magicLength);
+        if (!Arrays.equals(tail, 4, tail.length, ParquetFormat.MAGIC, 0, magicLength)) {
+            throw new IOException("Not a parquet file: missing magic bytes");
+        }
+        int footerLength = (tail[0] & 0xFF) | (tail[1] & 0xFF) << 8 | (tail[2] & 0xFF) << 16 | (tail[3] & 0xFF) << 24;
+        if (footerLength <= 0 || footerLength > size - 2 * magicLength - 4) {
+            throw new IOException("Not a parquet file: invalid footer length " + footerLength);
+        }
+        byte[] footer = read(size - 4 - magicLength - footerLength, footerLength);
+        Map<Integer, Object> fileMetadata = new ThriftCompactReader(footer, 0).readStruct();
+        this.columns = selectColumns(getList(fileMetadata, 2), columns);
+        this.rowGroups = new ArrayList<>();
+        for (Object rowGroup : getList(fileMetadata, 4)) {
+            @SuppressWarnings("unchecked")
+            Map<Integer, Object> rg = (Map<Integer, Object>) rowGroup;
+            rowGroups.add(rg);
+        }
+    }
+
+    public List<String> columnNames() {
+        List<String> names = new ArrayList<>(columns.size());
+        for (ColumnInfo column : columns) {
+            names.add(column.name);
+        }
+        return names;
+    }
+
+    /**
+     * @return true if the values of the column are raw JSON bytes
+     */
+    public boolean isJson(int column) {
+        return columns.get(column).convertedType == ParquetFormat.JSON;
+    }
+
+    public boolean nextRow() throws IOException {
+        rowInGroup++;
+        while (rowInGroup >= rowGroupNumRows) {
+            if (nextRowGroup >= rowGroups.size()) {
+                return false;
+            }
+            loadRowGroup(rowGroups.get(nextRowGroup++));
+            rowInGroup = 0;
+        }
+        return true;
+    }
+
+    @Nullable
+    public Object get(int column) {
+        return rowGroupValues[column][rowInGroup];
+    }
+
+    @Override
+    public void close() throws IOException {
+        rowGroupValues = null;
+        ramAccounting.release();
+        channel.close();
+    }
+
+    private static List<ColumnInfo> selectColumns(List<Object> schema, @Nullable Collection<String> requested) throws IOException {
+        if (schema.isEmpty()) {
+            throw new IOException("Invalid parquet file: schema is empty");
+        }
+        Map<String, ColumnInfo> topLevelColumns = new HashMap<>();
+        List<String> order = new ArrayList<>();
+        @SuppressWarnings("unchecked")
+        Map<Integer, Object> root = (Map<Integer, Object>) schema.get(0);
+        int numChildren = getInt(root, 5, 0);
+        int idx = 1;
+        for (int child = 0; child < numChildren && idx < schema.size(); child++) {
+            @SuppressWarnings("unchecked")
+            Map<Integer, Object> element = (Map<Integer, Object>) schema.get(idx);
+            String name = getString(element, 4);
+            int childChildren = getInt(element, 5, 0);
+            boolean nested = childChildren > 0 || getInt(element, 3, ParquetFormat.REQUIRED) == ParquetFormat.REPEATED;
+            topLevelColumns.put(name, new ColumnInfo(
+                name,
+                nested,
+                getInt(element, 1, -1),
+                getInt(element, 2, 0),
+                getInt(element, 3, ParquetFormat.REQUIRED),
+                convertedType(element),
+                getInt(element, 7, 0)
+            ));
+            order.add(name);
+            idx += 1 + countDescendants(schema, idx);
+        }
+        List<String> names = requested == null || requested.isEmpty() ? order : List.copyOf(requested);
+        List<ColumnInfo> result = new ArrayList<>(names.size());
+        for (String name : names) {
+            ColumnInfo column = topLevelColumns.get(name);
+            if (column == null) {
+                // missing columns are read as null
+                column = new ColumnInfo(name, false, -1, 0, ParquetFormat.OPTIONAL, ParquetFormat.CONVERTED_NONE, 0);
+            } else if (column.nested) {
+                throw new IOException("Nested or repeated parquet column '" + name + "' is not supported");
+            }
+            result.add(column);
+        }
+        return result;
+    }
+
+    private static int countDescendants(List<Object> schema, int idx) {
+        @SuppressWarnings("unchecked")
+        Map<Integer, Object> element = (Map<Integer, Object>) schema.get(idx);
+        int numChildren = getInt(element, 5, 0);
+        int count = 0;
+        for (int i = 0; i < numChildren; i++) {
+            int childIdx = idx + 1 + count;
+            count += 1 + countDescendants(schema, childIdx);
+        }
+        return count;
+    }
+
+    /**
+     * Newer writers may only set the LogicalType, map the relevant ones to the ConvertedType equivalent.
+     */
+    private static int convertedType(Map<Integer, Object> element) {
+        int convertedType = getInt(element, 6, ParquetFormat.CONVERTED_NONE);
+        Map<Integer, Object> logicalType = getStruct(element, 10);
+        if (convertedType != ParquetFormat.CONVERTED_NONE || logicalType == null) {
+            return convertedType;
+        }
+        if (logicalType.containsKey(1)) {
+            return ParquetFormat.UTF8;
+        } else if (logicalType.containsKey(5)) {
+            return ParquetFormat.DECIMAL;
+        } else if (logicalType.containsKey(6)) {
+            return ParquetFormat.DATE;
+        } else if (logicalType.containsKey(8)) {
+            Map<Integer, Object> unit = getStruct(getStruct(logicalType, 8), 2);
+            if (unit != null && unit.containsKey(2)) {
+                return ParquetFormat.TIMESTAMP_MICROS;
+            } else if (unit != null && unit.containsKey(3)) {
+                return TIMESTAMP_NANOS;
+            }
+            return ParquetFormat.TIMESTAMP_MILLIS;
+        } else if (logicalType.containsKey(12)) {
+            return ParquetFormat.JSON;
+        }
+        return convertedType;
+    }
+
+    private void loadRowGroup(Map<Integer, Object> rowGroup) throws IOException {
+        long numRows = getLong(rowGroup, 3, 0);
+        if (numRows > Integer.MAX_VALUE) {
+            throw new IOException("Row groups with more than " + Integer.MAX_VALUE + " rows are not supported");
+        }
+        rowGroupNumRows = (int) numRows;
+        Map<String, Map<Integer, Object>> chunks = new HashMap<>();
+        for (Object chunk : getList(rowGroup, 1)) {
+            @SuppressWarnings("unchecked")
+            Map<Integer, Object> metadata = getStruct((Map<Integer, Object>) chunk, 3);
+            if (metadata == null) {
+                throw new IOException("Parquet files with column chunks in external files are not supported");
+            }
+            List<Object> path = getList(metadata, 3);
+            if (path.size() == 1) {
+                chunks.put(new String((byte[]) path.get(0), StandardCharsets.UTF_8), metadata);
+            }
+        }
+        // Release the previous row group before accounting the next one
+        rowGroupValues = null;
+        ramAccounting.release();
+        long estimatedBytes = (long) rowGroupNumRows * columns.size() * BYTES_PER_VALUE;
+        for (ColumnInfo column : columns) {
+            Map<Integer, Object> metadata = chunks.get(column.name);
+            if (metadata != null) {
+                estimatedBytes += getLong(metadata, 6, 0);
+            }
+        }
+        ramAccounting.addBytes(estimatedBytes);
+        rowGroupValues = new Object[columns.size()][];
+        for (int i = 0; i < columns.size(); i++) {
+            ColumnInfo column = columns.get(i);
+            Map<Integer, Object> metadata = chunks.get(column.name);
+            if (metadata == null) {
+                rowGroupValues[i] = new Object[rowGroupNumRows];
+            } else {
+                rowGroupValues[i] = readColumnChunk(column, metadata, rowGroupNumRows);
+            }
+        }
+    }
+
+    private Object[] readColumnChunk(ColumnInfo column, Map<Integer, Object> metadata, int numRows) throws IOException {
+        long dataPageOffset = getLong(metadata, 9, -1);
+        long dictionaryPageOffset = getLong(metadata, 11, -1);
+        long start = dictionaryPageOffset >= 0 && dictionaryPageOffset < dataPageOffset
+            ? dictionaryPageOffset
+            : dataPageOffset;
+        long length = getLong(metadata, 7, 0);
+        if (start < 0 || length <= 0 || length > Integer.MAX_VALUE) {
+            throw new IOException("Invalid column chunk for column '" + column.name + "'");
+        }
+        int codec = getInt(metadata, 4, ParquetFormat.UNCOMPRESSED);
+        byte[] chunk = read(start, (int) length);
+
+        Object[] values = new Object[numRows];
+        Object[] dictionary = null;
+        int valueIdx = 0;
+        int pos = 0;
+        while (valueIdx < numRows && pos < chunk.length) {
+            ThriftCompactReader headerReader = new ThriftCompactReader(chunk, pos);
+            Map<Integer, Object> pageHeader = headerReader.readStruct();
+            pos = headerReader.position();
+            int pageType = getInt(pageHeader, 1, -1);
+            int uncompressedSize = getInt(pageHeader, 2, 0);
+            int compressedSize = getInt(pageHeader, 3, 0);
+            if (compressedSize < 0 || pos + compressedSize > chunk.length) {
+                throw new IOException("Invalid page in column chunk of column '" + column.name + "'");
+            }
+            int pageStart = pos;
+            pos += compressedSize;
+            switch (pageType) {
+                case ParquetFormat.DICTIONARY_PAGE: {
+                    Map<Integer, Object> header = getStruct(pageHeader, 7);
+                    int numValues = header == null ? 0 : getInt(header, 1, 0);
+                    byte[] data = decompress(codec, chunk, pageStart, compressedSize, uncompressedSize);
+                    dictionary = new Object[numValues];
+                    decodePlain(column, data, 0, data.length, dictionary, numValues);
+                    break;
+                }
+                case ParquetFormat.DATA_PAGE: {
+                    Map<Integer, Object> header = getStruct(pageHeader, 5);
+                    int numValues = getInt(header, 1, 0);
+                    int encoding = getInt(header, 2, ParquetFormat.PLAIN);
+                    byte[] data = decompress(codec, chunk, pageStart, compressedSize, uncompressedSize);
+                    int dataPos = 0;
+                    int[] defLevels = null;
+                    if (column.repetition == ParquetFormat.OPTIONAL) {
+                        int levelsLength = readIntLE(data, 0);
+                        defLevels = RleBitPackedHybrid.decode(data, 4, 4 + levelsLength, 1, numValues);
+                        dataPos = 4 + levelsLength;
+                    }
+                    valueIdx = decodeValues(
+                        column, encoding, data, dataPos, data.length, defLevels, numValues, dictionary, values, valueIdx);
+                    break;
+                }
+                case ParquetFormat.DATA_PAGE_V2: {
+                    Map<Integer, Object> header = getStruct(pageHeader, 8);
+                    int numValues = getInt(header, 1, 0);
+                    int encoding = getInt(header, 4, ParquetFormat.PLAIN);
+                    int defLevelsLength = getInt(header, 5, 0);
+                    int repLevelsLength = getInt(header, 6, 0);
+                    boolean isCompressed = !Boolean.FALSE.equals(header.get(7));
+                    int levelsEnd = pageStart + repLevelsLength + defLevelsLength;
+                    int[] defLevels = null;
+                    if (column.repetition == ParquetFormat.OPTIONAL) {
+                        defLevels = RleBitPackedHybrid.decode(
+                            chunk, pageStart + repLevelsLength, levelsEnd, 1, numValues);
+                    }
+                    int valuesLength = compressedSize - repLevelsLength - defLevelsLength;
+                    byte[] data = isCompressed
+                        ? decompress(codec, chunk, levelsEnd, valuesLength, uncompressedSize - repLevelsLength - defLevelsLength)
+                        : Arrays.copyOfRange(chunk, levelsEnd, levelsEnd + valuesLength);
+                    valueIdx = decodeValues(
+                        column, encoding, data, 0, data.length, defLevels, numValues, dictionary, values, valueIdx);
+                    break;
+                }
+                default:
+                    // index pages and unknown page types can be skipped
+                    break;
+            }
+        }
+        return values;
+    }
+
+    private static int decodeValues(ColumnInfo column,
+                                    int encoding,
+                                    byte[] data,
+                                    int pos,
+                                    int end,
+                                    @Nullable int[] defLevels,
+                                    int numValues,
+                                    @Nullable Object[] dictionary,
+                                    Object[] values,
+                                    int valueIdx) throws IOException {
+        numValues = Math.min(numValues, values.length - valueIdx);
+        int numNonNull = numValues;
+        if (defLevels != null) {
+            numNonNull = 0;
+            for (int i = 0; i < numValues; i++) {
+                numNonNull += defLevels[i];
+            }
+        }
+        Object[] decoded = new Object[numNonNull];
+        if (encoding == ParquetFormat.PLAIN) {
+            decodePlain(column, data, pos, end, decoded, numNonNull);
+        } else if (encoding == ParquetFormat.PLAIN_DICTIONARY || encoding == ParquetFormat.RLE_DICTIONARY) {
+            if (dictionary == null) {
+                throw new IOException("Dictionary encoded page without dictionary in column '" + column.name + "'");
+            }
+            if (numNonNull > 0) {
+                int bitWidth = data[pos];
+                int[] indices = RleBitPackedHybrid.decode(data, pos + 1, end, bitWidth, numNonNull);
+                for (int i = 0; i < numNonNull; i++) {
+                    if (indices[i] >= dictionary.length) {
+                        throw new IOException("Invalid dictionary index in column '" + column.name + "'");
+                    }
+                    decoded[i] = dictionary[indices[i]];
+                }
+            }
+        } else {
+            throw new IOException("Unsupported parquet encoding " + ParquetFormat.encodingName(encoding)
+                + " in column '" + column.name + "', supported are PLAIN and dictionary encodings");
+        }
+        int nonNullIdx = 0;
+        for (int i = 0; i < numValues; i++) {
+            if (defLevels == null || defLevels[i] == 1) {
+                values[valueIdx] = decoded[nonNullIdx++];
+            }
+            valueIdx++;
+        }
+        return valueIdx;
+    }
+
+    private static void decodePlain(ColumnInfo column, byte[] data, int pos, int end, Object[] values, int numValues)
+        throws IOException {
+
+        int valueWidth = switch (column.physicalType) {
+            case ParquetFormat.INT32, ParquetFormat.FLOAT -> 4;
+            case ParquetFormat.INT64, ParquetFormat.DOUBLE -> 8;
+            case ParquetFormat.INT96 -> 12;
+            case ParquetFormat.FIXED_LEN_BYTE_ARRAY -> column.typeLength;
+            default -> 0;
+        };
+        for (int i = 0; i < numValues; i++) {
+            if (column.physicalType == ParquetFormat.BOOLEAN) {
+                int bytePos = pos + (i >>> 3);
+                if (bytePos >= end) {
+                    throw new IOException("Unexpected end of data in column '" + column.name + "'");
+                }
+                values[i] = (data[bytePos] & (1 << (i & 7))) != 0;
+                continue;
+            }
+            int length = valueWidth;
+            if (column.physicalType == ParquetFormat.BYTE_ARRAY) {
+                length = readIntLE(data, pos);
+                pos += 4;
+            }
+            if (length < 0 || pos + length > end) {
+                throw new IOException("Unexpected end of data in column '" + column.name + "'");
+            }
+            values[i] = convert(column, data, pos, length);
+            pos += length;
+        }
+    }
+
+    private static Object convert(ColumnInfo column, byte[] data, int pos, int length) throws IOException {
+        switch (column.physicalType) {
+            case ParquetFormat.INT32: {
+                int value = readIntLE(data, pos);
+                return switch (column.convertedType) {
+                    case ParquetFormat.DATE -> value * MILLIS_PER_DAY;
+                    case ParquetFormat.DECIMAL -> BigDecimal.valueOf(value, column.scale);
+                    default -> value;
+                };
+            }
+            case ParquetFormat.INT64: {
+                long value = readLongLE(data, pos);
+                return switch (column.convertedType) {
+                    case ParquetFormat.TIMESTAMP_MICROS -> Math.floorDiv(value, 1000L);
+                    case TIMESTAMP_NANOS -> Math.floorDiv(value, 1_000_000L);
+                    case ParquetFormat.DECIMAL -> BigDecimal.valueOf(value, column.scale);
+                    default -> value;
+                };
+            }
+            case ParquetFormat.INT96: {
+                long nanosOfDay = readLongLE(data, pos);
+                long julianDay = readIntLE(data, pos + 8) & 0xFFFFFFFFL;
+                return (julianDay - JULIAN_EPOCH_OFFSET_DAYS) * MILLIS_PER_DAY + nanosOfDay / 1_000_000L;
+            }
+            case ParquetFormat.FLOAT:
+                return Float.intBitsToFloat(readIntLE(data, pos));
+            case ParquetFormat.DOUBLE:
+                return Double.longBitsToDouble(readLongLE(data, pos));
+            case ParquetFormat.BYTE_ARRAY:
+            case ParquetFormat.FIXED_LEN_BYTE_ARRAY: {
+                byte[] bytes = Arrays.copyOfRange(data, pos, pos + length);
+                if (column.convertedType == ParquetFormat.DECIMAL) {
+                    return new BigDecimal(new BigInteger(bytes), column.scale);
+                } else if (column.convertedType == ParquetFormat.JSON) {
+                    return bytes;
+                } else if (column.physicalType == ParquetFormat.FIXED_LEN_BYTE_ARRAY) {
+                    return Base64.getEncoder().encodeToString(bytes);
+                }
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            default:
+                throw new IOException("Unsupported parquet type " + column.physicalType + " of column '" + column.name + "'");
+        }
+    }
+
+    private static byte[] decompress(int codec, byte[] data, int offset, int length, int uncompressedLength)
+        throws IOException {
+
+        switch (codec) {
+            case ParquetFormat.UNCOMPRESSED:
+                return Arrays.copyOfRange(data, offset, offset + length);
+            case ParquetFormat.SNAPPY:
+                return Snappy.uncompress(data, offset, length);
+            case ParquetFormat.GZIP:
+                try (var in = new GZIPInputStream(new ByteArrayInputStream(data, offset, length))) {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(uncompressedLength, 32));
+                    in.transferTo(out);
+                    return out.toByteArray();
+                }
+            default:
+                throw new IOException("Unsupported parquet compression codec " + ParquetFormat.codecName(codec)
+                    + ", supported are SNAPPY, GZIP and UNCOMPRESSED");
+        }
+    }
+
+    private byte[] read(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        channel.position(position);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Unexpected end of parquet file");
+            }
+        }
+        return buffer.array();
+    }
+
+    private static int readIntLE(byte[] data, int pos) throws IOException {
+        if (pos + 4 > data.length) {
+            throw new IOException("Unexpected end of parquet data");
+        }
+        return (data[pos] & 0xFF)
+            | (data[pos + 1] & 0xFF) << 8
+            | (data[pos + 2] & 0xFF) << 16
+            | (data[pos + 3] & 0xFF) << 24;
+    }
+
+    private static long readLongLE(byte[] data, int pos) throws IOException {
+        return (readIntLE(data, pos) & 0xFFFFFFFFL) | ((long) readIntLE(data, pos + 4) << 32);
+    }
+
+    private record ColumnInfo(String name,
+                              boolean nested,
+                              int physicalType,
+                              int typeLength,
+                              int repetition,
+                              int convertedType,
+                              int scale) {
+    }
+}
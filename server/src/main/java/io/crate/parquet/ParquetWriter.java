@@ -0,0 +1,395 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.parquet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentFactory;
+
+import io.crate.types.BooleanType;
+import io.crate.types.ByteType;
+import io.crate.types.CharacterType;
+import io.crate.types.DataType;
+import io.crate.types.DateType;
+import io.crate.types.DoubleType;
+import io.crate.types.FloatType;
+import io.crate.types.IntegerType;
+import io.crate.types.LongType;
+import io.crate.types.ShortType;
+import io.crate.types.StringType;
+import io.crate.types.TimestampType;
+
+/**
+ * Writes rows into a Parquet file.
+ *
+ * <p>
+ * Rows are buffered per column and written as one row group once the buffered data exceeds the row group size.
+ * Each column chunk consists of a single PLAIN encoded data page, optionally compressed with GZIP.
+ * All columns are flat and {@code OPTIONAL}. Types without a Parquet counterpart, like objects and arrays,
+ * are written as JSON. {@code TIMESTAMP WITH TIME ZONE} is written as UTC adjusted timestamp,
+ * {@code TIMESTAMP WITHOUT TIME ZONE} as local timestamp.
+ * </p>
+ */
+public final class ParquetWriter implements Closeable {
+
+    public static final long DEFAULT_ROW_GROUP_SIZE = 16 * 1024 * 1024;
+
+    private static final String CREATED_BY = "CrateDB";
+
+    private final OutputStream out;
+    private final List<Column> columns;
+    private final boolean gzip;
+    private final long rowGroupSize;
+    private final List<byte[]> rowGroups = new ArrayList<>();
+
+    private long position = 0;
+    private long numRows = 0;
+    private int rowsInGroup = 0;
+    private boolean closed = false;
+
+    public ParquetWriter(OutputStream out,
+                         List<String> names,
+                         List<DataType<?>> types,
+                         boolean gzip,
+                         long rowGroupSize) throws IOException {
+        assert names.size() == types.size() : "Must have a name for each type";
+        this.out = out;
+        this.gzip = gzip;
+        this.rowGroupSize = rowGroupSize;
+        this.columns = new ArrayList<>(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            columns.add(new Column(names.get(i), ColumnType.of(types.get(i))));
+        }
+        write(ParquetFormat.MAGIC);
+    }
+
+    public void write(Object[] values) throws IOException {
+        assert values.length == columns.size() : "Must have a value for each column";
+        long bufferedBytes = 0;
+        for (int i = 0; i < values.length; i++) {
+            Column column = columns.get(i);
+            column.add(values[i]);
+            bufferedBytes += column.bufferedBytes();
+        }
+        rowsInGroup++;
+        numRows++;
+        if (bufferedBytes >= rowGroupSize) {
+            flushRowGroup();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (rowsInGroup > 0) {
+                flushRowGroup();
+            }
+            ThriftCompactWriter footer = new ThriftCompactWriter().beginStruct()
+                .i32(1, 1)
+                .beginList(2, ThriftCompactWriter.TYPE_STRUCT, columns.size() + 1);
+            footer.beginStruct()
+                .string(4, "schema")
+                .i32(5, columns.size())
+                .endStruct();
+            for (Column column : columns) {
+                footer.beginStruct()
+                    .i32(1, column.type.physicalType)
+                    .i32(3, ParquetFormat.OPTIONAL)
+                    .string(4, column.name);
+                if (column.type.convertedType != ParquetFormat.CONVERTED_NONE) {
+                    footer.i32(6, column.type.convertedType);
+                }
+                if (column.type == ColumnType.TIMESTAMP || column.type == ColumnType.TIMESTAMP_LOCAL) {
+                    // LogicalType.TIMESTAMP(isAdjustedToUTC, unit = MILLIS)
+                    footer.beginStruct(10)
+                        .beginStruct(8)
+                            .bool(1, column.type == ColumnType.TIMESTAMP)
+                            .beginStruct(2)
+                                .beginStruct(1)
+                                .endStruct()
+                            .endStruct()
+                        .endStruct()
+                        .endStruct();
+                }
+                footer.endStruct();
+            }
+            footer.i64(3, numRows)
+                .beginList(4, ThriftCompactWriter.TYPE_STRUCT, rowGroups.size());
+            for (byte[] rowGroup : rowGroups) {
+                footer.raw(rowGroup);
+            }
+            byte[] bytes = footer
+                .string(6, CREATED_BY)
+                .endStruct()
+                .toByteArray();
+            write(bytes);
+            writeIntLE(out, bytes.length);
+            position += 4;
+            write(ParquetFormat.MAGIC);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void flushRowGroup() throws IOException {
+        ThriftCompactWriter rowGroup = new ThriftCompactWriter().beginStruct()
+            .beginList(1, ThriftCompactWriter.TYPE_STRUCT, columns.size());
+        long totalByteSize = 0;
+        for (Column column : columns) {
+            byte[] body = column.pageBody();
+            byte[] data = gzip ? gzip(body) : body;
+            byte[] pageHeader = new ThriftCompactWriter().beginStruct()
+                .i32(1, ParquetFormat.DATA_PAGE)
+                .i32(2, body.length)
+                .i32(3, data.length)
+                .beginStruct(5)
+                    .i32(1, rowsInGroup)
+                    .i32(2, ParquetFormat.PLAIN)
+                    .i32(3, ParquetFormat.RLE)
+                    .i32(4, ParquetFormat.RLE)
+                .endStruct()
+                .endStruct()
+                .toByteArray();
+            long dataPageOffset = position;
+            write(pageHeader);
+            write(data);
+            long uncompressedSize = pageHeader.length + body.length;
+            long compressedSize = pageHeader.length + data.length;
+            totalByteSize += uncompressedSize;
+
+            rowGroup.beginStruct()
+                .i64(2, dataPageOffset)
+                .beginStruct(3)
+                    .i32(1, column.type.physicalType)
+                    .beginList(2, ThriftCompactWriter.TYPE_I32, 2)
+                        .i32Element(ParquetFormat.PLAIN)
+                        .i32Element(ParquetFormat.RLE)
+                    .beginList(3, ThriftCompactWriter.TYPE_BINARY, 1)
+                        .stringElement(column.name)
+                    .i32(4, gzip ? ParquetFormat.GZIP : ParquetFormat.UNCOMPRESSED)
+                    .i64(5, rowsInGroup)
+                    .i64(6, uncompressedSize)
+                    .i64(7, compressedSize)
+                    .i64(9, dataPageOffset)
+                    .beginStruct(12)
+                        .i64(3, column.numNulls)
+                    .endStruct()
+                .endStruct()
+                .endStruct();
+            column.reset();
+        }
+        rowGroup
+            .i64(2, totalByteSize)
+            .i64(3, rowsInGroup)
+            .endStruct();
+        rowGroups.add(rowGroup.toByteArray());
+        rowsInGroup = 0;
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        out.write(bytes);
+        position += bytes.length;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(compressed)) {
+            gzipOut.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static void writeIntLE(OutputStream out, int value) throws IOException {
+        out.write(value & 0xFF);
+        out.write((value >>> 8) & 0xFF);
+        out.write((value >>> 16) & 0xFF);
+        out.write((value >>> 24) & 0xFF);
+    }
+
+    private enum ColumnType {
+        BOOLEAN(ParquetFormat.BOOLEAN, ParquetFormat.CONVERTED_NONE),
+        BYTE(ParquetFormat.INT32, ParquetFormat.INT_8),
+        SHORT(ParquetFormat.INT32, ParquetFormat.INT_16),
+        INTEGER(ParquetFormat.INT32, ParquetFormat.CONVERTED_NONE),
+        LONG(ParquetFormat.INT64, ParquetFormat.CONVERTED_NONE),
+        FLOAT(ParquetFormat.FLOAT, ParquetFormat.CONVERTED_NONE),
+        DOUBLE(ParquetFormat.DOUBLE, ParquetFormat.CONVERTED_NONE),
+        STRING(ParquetFormat.BYTE_ARRAY, ParquetFormat.UTF8),
+        DATE(ParquetFormat.INT32, ParquetFormat.DATE),
+        TIMESTAMP(ParquetFormat.INT64, ParquetFormat.TIMESTAMP_MILLIS),
+        // The TIMESTAMP_MILLIS converted type implies UTC adjusted values, local timestamps only have a logical type
+        TIMESTAMP_LOCAL(ParquetFormat.INT64, ParquetFormat.CONVERTED_NONE),
+        JSON(ParquetFormat.BYTE_ARRAY, ParquetFormat.JSON);
+
+        private final int physicalType;
+        private final int convertedType;
+
+        ColumnType(int physicalType, int convertedType) {
+            this.physicalType = physicalType;
+            this.convertedType = convertedType;
+        }
+
+        static ColumnType of(DataType<?> type) {
+            return switch (type.id()) {
+                case BooleanType.ID -> BOOLEAN;
+                case ByteType.ID -> BYTE;
+                case ShortType.ID -> SHORT;
+                case IntegerType.ID -> INTEGER;
+                case LongType.ID -> LONG;
+                case FloatType.ID -> FLOAT;
+                case DoubleType.ID -> DOUBLE;
+                case StringType.ID, CharacterType.ID -> STRING;
+                case DateType.ID -> DATE;
+                case TimestampType.ID_WITH_TZ -> TIMESTAMP;
+                case TimestampType.ID_WITHOUT_TZ -> TIMESTAMP_LOCAL;
+                default -> JSON;
+            };
+        }
+    }
+
+    private static final class Column {
+
+        private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+        private final String name;
+        private final ColumnType type;
+        private final ByteArrayOutputStream values = new ByteArrayOutputStream();
+        private final BitSet defined = new BitSet();
+
+        private int numValues = 0;
+        private int numNulls = 0;
+        private int numBooleans = 0;
+        private int currentBooleanByte = 0;
+
+        Column(String name, ColumnType type) {
+            this.name = name;
+            this.type = type;
+        }
+
+        void add(Object value) throws IOException {
+            if (value == null) {
+                numNulls++;
+                numValues++;
+                return;
+            }
+            defined.set(numValues);
+            numValues++;
+            switch (type) {
+                case BOOLEAN -> {
+                    if ((Boolean) value) {
+                        currentBooleanByte |= 1 << (numBooleans & 7);
+                    }
+                    numBooleans++;
+                    if ((numBooleans & 7) == 0) {
+                        values.write(currentBooleanByte);
+                        currentBooleanByte = 0;
+                    }
+                }
+                case BYTE, SHORT, INTEGER -> writeIntLE(values, ((Number) value).intValue());
+                case LONG, TIMESTAMP, TIMESTAMP_LOCAL -> writeLongLE(((Number) value).longValue());
+                case FLOAT -> writeIntLE(values, Float.floatToIntBits(((Number) value).floatValue()));
+                case DOUBLE -> writeLongLE(Double.doubleToLongBits(((Number) value).doubleValue()));
+                case DATE -> writeIntLE(values, (int) Math.floorDiv(((Number) value).longValue(), MILLIS_PER_DAY));
+                case STRING -> writeBytes(value.toString().getBytes(StandardCharsets.UTF_8));
+                case JSON -> {
+                    ByteArrayOutputStream json = new ByteArrayOutputStream();
+                    try (XContentBuilder builder = XContentFactory.json(json)) {
+                        builder.value(value);
+                    }
+                    writeBytes(json.toByteArray());
+                }
+                default -> throw new AssertionError("Unexpected column type: " + type);
+            }
+        }
+
+        long bufferedBytes() {
+            return values.size() + numValues / 8;
+        }
+
+        byte[] pageBody() throws IOException {
+            ByteArrayOutputStream levels = new ByteArrayOutputStream();
+            int i = 0;
+            while (i < numValues) {
+                boolean isDefined = defined.get(i);
+                int next = isDefined ? defined.nextClearBit(i) : defined.nextSetBit(i);
+                if (next == -1 || next > numValues) {
+                    next = numValues;
+                }
+                RleBitPackedHybrid.writeRun(levels, next - i, isDefined ? 1 : 0);
+                i = next;
+            }
+            if (type == ColumnType.BOOLEAN && (numBooleans & 7) != 0) {
+                values.write(currentBooleanByte);
+                currentBooleanByte = 0;
+            }
+            ByteArrayOutputStream body = new ByteArrayOutputStream(4 + levels.size() + values.size());
+            int levelsLength = levels.size();
+            body.write(levelsLength & 0xFF);
+            body.write((levelsLength >>> 8) & 0xFF);
+            body.write((levelsLength >>> 16) & 0xFF);
+            body.write((levelsLength >>> 24) & 0xFF);
+            levels.writeTo(body);
+            values.writeTo(body);
+            return body.toByteArray();
+        }
+
+        void reset() {
+            values.reset();
+            defined.clear();
+            numValues = 0;
+            numNulls = 0;
+            numBooleans = 0;
+            currentBooleanByte = 0;
+        }
+
+        private void writeBytes(byte[] bytes) {
+            writeIntLE(values, bytes.length);
+            values.write(bytes, 0, bytes.length);
+        }
+
+        private void writeLongLE(long value) {
+            for (int i = 0; i < 8; i++) {
+                values.write((int) (value >>> (8 * i)) & 0xFF);
+            }
+        }
+
+        private static void writeIntLE(ByteArrayOutputStream out, int value) {
+            out.write(value & 0xFF);
+            out.write((value >>> 8) & 0xFF);
+            out.write((value >>> 16) & 0xFF);
+            out.write((value >>> 24) & 0xFF);
+        }
+    }
+}
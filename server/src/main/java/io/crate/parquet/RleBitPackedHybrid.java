@@ -0,0 +1,108 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.parquet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+/**
+ * The RLE / bit-packing hybrid encoding used by Parquet for definition levels and dictionary indices.
+ */
+final class RleBitPackedHybrid {
+
+    private RleBitPackedHybrid() {
+    }
+
+    /**
+     * Decodes {@code numValues} values starting at {@code pos}.
+     */
+    static int[] decode(byte[] data, int pos, int end, int bitWidth, int numValues) throws IOException {
+        int[] values = new int[numValues];
+        if (bitWidth == 0) {
+            return values;
+        }
+        int byteWidth = (bitWidth + 7) / 8;
+        int idx = 0;
+        while (idx < numValues) {
+            long header = 0;
+            int shift = 0;
+            while (true) {
+                if (pos >= end) {
+                    throw new IOException("Unexpected end of RLE/bit-packed data");
+                }
+                byte b = data[pos++];
+                header |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    break;
+                }
+                shift += 7;
+            }
+            if ((header & 1) == 1) {
+                int numGroups = (int) (header >>> 1);
+                int numBytes = numGroups * bitWidth;
+                if (pos + numBytes > end) {
+                    throw new IOException("Unexpected end of RLE/bit-packed data");
+                }
+                int numPacked = numGroups * 8;
+                long bitPos = (long) pos * 8;
+                for (int i = 0; i < numPacked && idx < numValues; i++) {
+                    int value = 0;
+                    for (int bit = 0; bit < bitWidth; bit++) {
+                        long p = bitPos + (long) i * bitWidth + bit;
+                        if ((data[(int) (p >>> 3)] & (1 << (p & 7))) != 0) {
+                            value |= 1 << bit;
+                        }
+                    }
+                    values[idx++] = value;
+                }
+                pos += numBytes;
+            } else {
+                int runLength = (int) (header >>> 1);
+                if (pos + byteWidth > end) {
+                    throw new IOException("Unexpected end of RLE/bit-packed data");
+                }
+                int value = 0;
+                for (int i = 0; i < byteWidth; i++) {
+                    value |= (data[pos++] & 0xFF) << (8 * i);
+                }
+                for (int i = 0; i < runLength && idx < numValues; i++) {
+                    values[idx++] = value;
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Writes a single RLE run of {@code value}, which must fit into one byte.
+     */
+    static void writeRun(ByteArrayOutputStream out, int runLength, int value) {
+        assert value >= 0 && value < 256 : "Only values up to a bit width of 8 are supported";
+        long header = (long) runLength << 1;
+        while ((header & ~0x7FL) != 0) {
+            out.write((int) ((header & 0x7F) | 0x80));
+            header >>>= 7;
+        }
+        out.write((int) header);
+        out.write(value);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.parquet;
+
+import java.io.IOException;
+
+/**
+ * Decompressor for the raw <a href="https://github.com/google/snappy/blob/main/format_description.txt">Snappy format</a>,
+ * the default compression codec of most Parquet writers.
+ */
+final class Snappy {
+
+    private Snappy() {
+    }
+
+    static byte[] uncompress(byte[] input, int offset, int length) throws IOException {
+        int pos = offset;
+        int end = offset + length;
+        long uncompressedLength = 0;
+        int shift = 0;
+        while (true) {
+            if (pos >= end || shift > 28) {
+                throw new IOException("Invalid snappy data: corrupt length");
+            }
+            byte b = input[pos++];
+            uncompressedLength |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+            shift += 7;
+        }
+        if (uncompressedLength > Integer.MAX_VALUE) {
+            throw new IOException("Invalid snappy data: length " + uncompressedLength + " is too large");
+        }
+        byte[] output = new byte[(int) uncompressedLength];
+        int outPos = 0;
+        while (pos < end) {
+            int tag = input[pos++] & 0xFF;
+            int copyLength;
+            int copyOffset;
+            switch (tag & 0x03) {
+                case 0:
+                    int literalLength = tag >>> 2;
+                    if (literalLength >= 60) {
+                        int numBytes = literalLength - 59;
+                        literalLength = readLittleEndian(input, pos, numBytes, end);
+                        pos += numBytes;
+                    }
+                    literalLength++;
+                    if (literalLength > end - pos || literalLength > output.length - outPos) {
+                        throw new IOException("Invalid snappy data: literal exceeds bounds");
+                    }
+                    System.arraycopy(input, pos, output, outPos, literalLength);
+                    pos += literalLength;
+                    outPos += literalLength;
+                    continue;
+                case 1:
+                    copyLength = ((tag >>> 2) & 0x07) + 4;
+                    copyOffset = ((tag >>> 5) << 8) | readLittleEndian(input, pos, 1, end);
+                    pos += 1;
+                    break;
+                case 2:
+                    copyLength = (tag >>> 2) + 1;
+                    copyOffset = readLittleEndian(input, pos, 2, end);
+                    pos += 2;
+                    break;
+                default:
+                    copyLength = (tag >>> 2) + 1;
+                    copyOffset = readLittleEndian(input, pos, 4, end);
+                    pos += 4;
+                    break;
+            }
+            if (copyOffset <= 0 || copyOffset > outPos || copyLength > output.length - outPos) {
+                throw new IOException("Invalid snappy data: copy exceeds bounds");
+            }
+            // Copies may overlap with the output they produce, so copy byte by byte
+            for (int i = 0; i < copyLength; i++) {
+                output[outPos] = output[outPos - copyOffset];
+                outPos++;
+            }
+        }
+        if (outPos != output.length) {
+            throw new IOException("Invalid snappy data: expected " + output.length + " bytes but got " + outPos);
+        }
+        return output;
+    }
+
+    private static int readLittleEndian(byte[] input, int pos, int numBytes, int end) throws IOException {
+        if (pos + numBytes > end) {
+            throw new IOException("Invalid snappy data: unexpected end of input");
+        }
+        int value = 0;
+        for (int i = 0; i < numBytes; i++) {
+            value |= (input[pos + i] & 0xFF) << (8 * i);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.parquet;
+
+import static io.crate.parquet.ThriftCompactWriter.TYPE_BINARY;
+import static io.crate.parquet.ThriftCompactWriter.TYPE_BOOLEAN_FALSE;
+import static io.crate.parquet.ThriftCompactWriter.TYPE_BOOLEAN_TRUE;
+import static io.crate.parquet.ThriftCompactWriter.TYPE_BYTE;
+import static io.crate.parquet.ThriftCompactWriter.TYPE_DOUBLE;
+import static io.crate.parquet.ThriftCompactWriter.TYPE_I16;
+import static io.crate.parquet.ThriftCompactWriter.TYPE_I32;
+import static io.crate.parquet.ThriftCompactWriter.TYPE_I64;
+import static io.crate.parquet.ThriftCompactWriter.TYPE_LIST;
+import static io.crate.parquet.ThriftCompactWriter.TYPE_MAP;
+import static io.crate.parquet.ThriftCompactWriter.TYPE_SET;
+import static io.crate.parquet.ThriftCompactWriter.TYPE_STRUCT;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Minimal reader for the Thrift compact protocol.
+ *
+ * <p>
+ * Structs are decoded generically into a map from field id to value.
+ * Values are {@link Boolean}, {@link Integer}, {@link Long}, {@link Double}, {@code byte[]},
+ * {@link List} or, for nested structs, again a {@link Map}.
+ * </p>
+ */
+final class ThriftCompactReader {
+
+    private final byte[] buffer;
+    private int pos;
+
+    ThriftCompactReader(byte[] buffer, int pos) {
+        this.buffer = buffer;
+        this.pos = pos;
+    }
+
+    int position() {
+        return pos;
+    }
+
+    Map<Integer, Object> readStruct() throws IOException {
+        Map<Integer, Object> struct = new HashMap<>();
+        int lastFieldId = 0;
+        while (true) {
+            int header = readByte() & 0xFF;
+            if (header == 0) {
+                return struct;
+            }
+            int type = header & 0x0F;
+            int delta = header >>> 4;
+            int fieldId = delta == 0 ? (int) unzigzag(readVarLong()) : lastFieldId + delta;
+            lastFieldId = fieldId;
+            struct.put(fieldId, readValue(type, false));
+        }
+    }
+
+    private Object readValue(int type, boolean inCollection) throws IOException {
+        switch (type) {
+            case TYPE_BOOLEAN_TRUE:
+                return inCollection ? readByte() == 1 : true;
+            case TYPE_BOOLEAN_FALSE:
+                return inCollection ? readByte() == 1 : false;
+            case TYPE_BYTE:
+                return (int) readByte();
+            case TYPE_I16:
+            case TYPE_I32:
+                return (int) unzigzag(readVarLong());
+            case TYPE_I64:
+                return unzigzag(readVarLong());
+            case TYPE_DOUBLE:
+                ensureAvailable(8);
+                long bits = 0;
+                for (int i = 0; i < 8; i++) {
+                    bits |= (buffer[pos++] & 0xFFL) << (8 * i);
+                }
+                return Double.longBitsToDouble(bits);
+            case TYPE_BINARY:
+                int length = (int) readVarLong();
+                ensureAvailable(length);
+                byte[] bytes = new byte[length];
+                System.arraycopy(buffer, pos, bytes, 0, length);
+                pos += length;
+                return bytes;
+            case TYPE_LIST:
+            case TYPE_SET:
+                int listHeader = readByte() & 0xFF;
+                int size = listHeader >>> 4;
+                if (size == 15) {
+                    size = (int) readVarLong();
+                }
+                int elementType = listHeader & 0x0F;
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(elementType, true));
+                }
+                return list;
+            case TYPE_MAP:
+                int numEntries = (int) readVarLong();
+                Map<Object, Object> map = new HashMap<>();
+                if (numEntries > 0) {
+                    int kvTypes = readByte() & 0xFF;
+                    for (int i = 0; i < numEntries; i++) {
+                        Object key = readValue(kvTypes >>> 4, true);
+                        map.put(key, readValue(kvTypes & 0x0F, true));
+                    }
+                }
+                return map;
+            case TYPE_STRUCT:
+                return readStruct();
+            default:
+                throw new IOException("Invalid thrift type " + type);
+        }
+    }
+
+    private byte readByte() throws IOException {
+        ensureAvailable(1);
+        return buffer[pos++];
+    }
+
+    private long readVarLong() throws IOException {
+        long result = 0;
+        int shift = 0;
+        while (true) {
+            byte b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new IOException("Invalid varint");
+            }
+        }
+    }
+
+    private void ensureAvailable(int numBytes) throws IOException {
+        if (numBytes < 0 || pos + numBytes > buffer.length) {
+            throw new IOException("Unexpected end of thrift data");
+        }
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static int getInt(Map<Integer, Object> struct, int fieldId, int defaultValue) {
+        Object value = struct.get(fieldId);
+        return value == null ? defaultValue : ((Number) value).intValue();
+    }
+
+    static long getLong(Map<Integer, Object> struct, int fieldId, long defaultValue) {
+        Object value = struct.get(fieldId);
+        return value == null ? defaultValue : ((Number) value).longValue();
+    }
+
+    @Nullable
+    static String getString(Map<Integer, Object> struct, int fieldId) {
+        Object value = struct.get(fieldId);
+        return value == null ? null : new String((byte[]) value, StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    static Map<Integer, Object> getStruct(Map<Integer, Object> struct, int fieldId) {
+        return (Map<Integer, Object>) struct.get(fieldId);
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<Object> getList(Map<Integer, Object> struct, int fieldId) {
+        Object value = struct.get(fieldId);
+        return value == null ? List.of() : (List<Object>) value;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.parquet;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+
+/**
+ * Minimal writer for the Thrift compact protocol, used to encode Parquet page headers and the file footer.
+ * Fields of a struct must be written in ascending order of their ids.
+ */
+final class ThriftCompactWriter {
+
+    static final int TYPE_BOOLEAN_TRUE = 1;
+    static final int TYPE_BOOLEAN_FALSE = 2;
+    static final int TYPE_BYTE = 3;
+    static final int TYPE_I16 = 4;
+    static final int TYPE_I32 = 5;
+    static final int TYPE_I64 = 6;
+    static final int TYPE_DOUBLE = 7;
+    static final int TYPE_BINARY = 8;
+    static final int TYPE_LIST = 9;
+    static final int TYPE_SET = 10;
+    static final int TYPE_MAP = 11;
+    static final int TYPE_STRUCT = 12;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ArrayDeque<Integer> lastFieldIds = new ArrayDeque<>();
+    private int lastFieldId = 0;
+
+    /**
+     * Starts a struct which is not a field of another struct; the top level struct or a list element.
+     */
+    ThriftCompactWriter beginStruct() {
+        lastFieldIds.push(lastFieldId);
+        lastFieldId = 0;
+        return this;
+    }
+
+    ThriftCompactWriter beginStruct(int fieldId) {
+        fieldHeader(TYPE_STRUCT, fieldId);
+        return beginStruct();
+    }
+
+    ThriftCompactWriter endStruct() {
+        out.write(0);
+        lastFieldId = lastFieldIds.pop();
+        return this;
+    }
+
+    ThriftCompactWriter i32(int fieldId, int value) {
+        fieldHeader(TYPE_I32, fieldId);
+        writeVarLong(zigzag(value));
+        return this;
+    }
+
+    ThriftCompactWriter i64(int fieldId, long value) {
+        fieldHeader(TYPE_I64, fieldId);
+        writeVarLong(zigzag(value));
+        return this;
+    }
+
+    ThriftCompactWriter bool(int fieldId, boolean value) {
+        fieldHeader(value ? TYPE_BOOLEAN_TRUE : TYPE_BOOLEAN_FALSE, fieldId);
+        return this;
+    }
+
+    ThriftCompactWriter binary(int fieldId, byte[] value) {
+        fieldHeader(TYPE_BINARY, fieldId);
+        writeBinary(value);
+        return this;
+    }
+
+    ThriftCompactWriter string(int fieldId, String value) {
+        return binary(fieldId, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    ThriftCompactWriter beginList(int fieldId, int elementType, int size) {
+        fieldHeader(TYPE_LIST, fieldId);
+        if (size < 15) {
+            out.write((size << 4) | elementType);
+        } else {
+            out.write(0xF0 | elementType);
+            writeVarLong(size);
+        }
+        return this;
+    }
+
+    ThriftCompactWriter i32Element(int value) {
+        writeVarLong(zigzag(value));
+        return this;
+    }
+
+    ThriftCompactWriter stringElement(String value) {
+        writeBinary(value.getBytes(StandardCharsets.UTF_8));
+        return this;
+    }
+
+    /**
+     * Appends already encoded data, for example a struct encoded by another writer as a list element.
+     */
+    ThriftCompactWriter raw(byte[] encoded) {
+        out.write(encoded, 0, encoded.length);
+        return this;
+    }
+
+    byte[] toByteArray() {
+        assert lastFieldIds.isEmpty() : "All structs must be closed";
+        return out.toByteArray();
+    }
+
+    private void fieldHeader(int type, int fieldId) {
+        int delta = fieldId - lastFieldId;
+        if (delta > 0 && delta <= 15) {
+            out.write((delta << 4) | type);
+        } else {
+            out.write(type);
+            writeVarLong(zigzag(fieldId));
+        }
+        lastFieldId = fieldId;
+    }
+
+    private void writeBinary(byte[] value) {
+        writeVarLong(value.length);
+        out.write(value, 0, value.length);
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
@@ -96,6 +96,11 @@ public class CreateForeignTablePlan implements Plan {
             }
             optionsBuilder.put(optionName, toValue.apply(symbol));
         }
+        Settings tableOptions = optionsBuilder.build();
+        for (Setting<?> option : foreignDataWrapper.optionalTableOptions()) {
+            // Parses and validates the value
+            option.get(tableOptions);
+        }
         if (!options.isEmpty()) {
             throw new IllegalArgumentException(String.format(
                 Locale.ENGLISH,
@@ -117,12 +122,13 @@ public class CreateForeignTablePlan implements Plan {
             var reference = refBuilder.build(columns, tableName, paramBinder, toValue);
             references.add(reference);
         }
+        foreignDataWrapper.validateTableOptions(tableName, references, tableOptions);
         return new CreateForeignTableRequest(
             tableName,
             createTable.ifNotExists(),
             references,
             createTable.server(),
-            optionsBuilder.build()
+            tableOptions
         );
     }
 
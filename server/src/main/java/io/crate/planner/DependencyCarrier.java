@@ -40,6 +40,7 @@ import io.crate.execution.ddl.RepositoryService;
 import io.crate.execution.ddl.TransportSwapRelationsAction;
 import io.crate.execution.ddl.tables.AlterTableOperation;
 import io.crate.execution.ddl.tables.TransportDropTableAction;
+import io.crate.execution.ddl.views.MaterializedViewOperation;
 import io.crate.execution.ddl.views.TransportCreateViewAction;
 import io.crate.execution.ddl.views.TransportDropViewAction;
 import io.crate.execution.dsl.projection.builder.ProjectionBuilder;
@@ -55,6 +56,7 @@ import io.crate.replication.logical.action.TransportAlterPublicationAction;
 import io.crate.replication.logical.action.TransportCreatePublicationAction;
 import io.crate.replication.logical.action.TransportCreateSubscriptionAction;
 import io.crate.replication.logical.action.TransportDropPublicationAction;
+import io.crate.rollup.RollupService;
 import io.crate.statistics.TransportAnalyzeAction;
 
 /**
@@ -79,6 +81,8 @@ public class DependencyCarrier {
     private final TransportDropUserDefinedFunctionAction dropFunctionAction;
     private final Provider<TransportAnalyzeAction> analyzeAction;
     private final AlterTableOperation alterTableOperation;
+    private final MaterializedViewOperation materializedViewOperation;
+    private final RollupService rollupService;
     private final FulltextAnalyzerResolver fulltextAnalyzerResolver;
     private final RepositoryService repositoryService;
     private final RepositoryParamValidator repositoryParamValidator;
@@ -109,6 +113,8 @@ public class DependencyCarrier {
                              TransportDropUserDefinedFunctionAction dropFunctionAction,
                              Provider<TransportAnalyzeAction> analyzeAction,
                              AlterTableOperation alterTableOperation,
+                             MaterializedViewOperation materializedViewOperation,
+                             RollupService rollupService,
                              FulltextAnalyzerResolver fulltextAnalyzerResolver,
                              RepositoryService repositoryService,
                              RepositoryParamValidator repositoryParamValidator,
@@ -136,6 +142,8 @@ public class DependencyCarrier {
         this.dropFunctionAction = dropFunctionAction;
         this.analyzeAction = analyzeAction;
         this.alterTableOperation = alterTableOperation;
+        this.materializedViewOperation = materializedViewOperation;
+        this.rollupService = rollupService;
         this.fulltextAnalyzerResolver = fulltextAnalyzerResolver;
         this.repositoryService = repositoryService;
         this.repositoryParamValidator = repositoryParamValidator;
@@ -218,6 +226,14 @@ public class DependencyCarrier {
         return alterTableOperation;
     }
 
+    public MaterializedViewOperation materializedViewOperation() {
+        return materializedViewOperation;
+    }
+
+    public RollupService rollupService() {
+        return rollupService;
+    }
+
     public RepositoryParamValidator repositoryParamValidator() {
         return repositoryParamValidator;
     }
@@ -58,6 +58,7 @@ import io.crate.analyze.AnalyzedCreateRepository;
 import io.crate.analyze.AnalyzedCreateRole;
 import io.crate.analyze.AnalyzedCreateServer;
 import io.crate.analyze.AnalyzedCreateSnapshot;
+import io.crate.analyze.AnalyzedCreateMaterializedView;
 import io.crate.analyze.AnalyzedCreateTable;
 import io.crate.analyze.AnalyzedCreateTableAs;
 import io.crate.analyze.AnalyzedCreateUserMapping;
@@ -82,6 +83,7 @@ import io.crate.analyze.AnalyzedInsertStatement;
 import io.crate.analyze.AnalyzedKill;
 import io.crate.analyze.AnalyzedOptimizeTable;
 import io.crate.analyze.AnalyzedPromoteReplica;
+import io.crate.analyze.AnalyzedRefreshMaterializedView;
 import io.crate.analyze.AnalyzedRefreshTable;
 import io.crate.analyze.AnalyzedRerouteAllocateReplicaShard;
 import io.crate.analyze.AnalyzedRerouteCancelShard;
@@ -104,6 +106,7 @@ import io.crate.analyze.NumberOfShards;
 import io.crate.analyze.relations.AnalyzedRelation;
 import io.crate.data.Row;
 import io.crate.execution.ddl.tables.TableCreator;
+import io.crate.execution.support.NodeResponseStats;
 import io.crate.fdw.ForeignDataWrappers;
 import io.crate.metadata.CoordinatorTxnCtx;
 import io.crate.metadata.NodeContext;
@@ -182,6 +185,8 @@ public class Planner extends AnalyzedStatementVisitor<PlannerContext, Plan> {
     private final ForeignDataWrappers foreignDataWrappers;
     private final SessionSettingRegistry sessionSettingRegistry;
     private final NodeContext nodeCtx;
+    @Nullable
+    private final NodeResponseStats nodeResponseStats;
 
     private List<String> awarenessAttributes;
 
@@ -194,7 +199,8 @@ public class Planner extends AnalyzedStatementVisitor<PlannerContext, Plan> {
                    TableCreator tableCreator,
                    RoleManager roleManager,
                    ForeignDataWrappers foreignDataWrappers,
-                   SessionSettingRegistry sessionSettingRegistry) {
+                   SessionSettingRegistry sessionSettingRegistry,
+                   @Nullable NodeResponseStats nodeResponseStats) {
         this.clusterService = clusterService;
         this.nodeCtx = nodeCtx;
         this.tableStats = tableStats;
@@ -208,6 +214,7 @@ public class Planner extends AnalyzedStatementVisitor<PlannerContext, Plan> {
         this.roleManager = roleManager;
         this.foreignDataWrappers = foreignDataWrappers;
         this.sessionSettingRegistry = sessionSettingRegistry;
+        this.nodeResponseStats = nodeResponseStats;
         initAwarenessAttributes(settings);
     }
 
@@ -249,6 +256,11 @@ public class Planner extends AnalyzedStatementVisitor<PlannerContext, Plan> {
         return awarenessAttributes;
     }
 
+    @Nullable
+    public NodeResponseStats nodeResponseStats() {
+        return nodeResponseStats;
+    }
+
     public ClusterState currentClusterState() {
         return clusterService.state();
     }
@@ -582,6 +594,16 @@ public class Planner extends AnalyzedStatementVisitor<PlannerContext, Plan> {
         return new CreateViewPlan(createViewStmt);
     }
 
+    @Override
+    public Plan visitCreateMaterializedView(AnalyzedCreateMaterializedView createView, PlannerContext context) {
+        return new CreateMaterializedViewPlan(createView, tableCreator, numberOfShards);
+    }
+
+    @Override
+    public Plan visitRefreshMaterializedView(AnalyzedRefreshMaterializedView refreshView, PlannerContext context) {
+        return new RefreshMaterializedViewPlan(refreshView);
+    }
+
     @Override
     public Plan visitDropView(AnalyzedDropView dropView, PlannerContext context) {
         return new DropViewPlan(dropView);
@@ -51,10 +51,11 @@ public class PlannerContext {
     }
 
     public static PlannerContext forSubPlan(PlannerContext context, int fetchSize) {
+        RoutingProvider routingProvider = context.routingBuilder.routingProvider();
         return new PlannerContext(
             context.clusterState,
-            context.routingProvider,
-            new RoutingBuilder(context.clusterState, context.routingProvider),
+            routingProvider,
+            new RoutingBuilder(context.clusterState, routingProvider),
             UUIDs.dirtyUUID(),
             context.coordinatorTxnCtx,
             context.nodeCtx,
@@ -51,7 +51,16 @@ final class RoutingBuilder {
 
     RoutingBuilder(ClusterState clusterState, RoutingProvider routingProvider) {
         this.clusterState = clusterState;
-        this.routingProvider = routingProvider;
+        // Repeated allocations of the same shard within a statement must use the same copy
+        this.routingProvider = routingProvider.withStableSelection();
+    }
+
+    /**
+     * @return the RoutingProvider used by this builder. Sub-plans of the same statement must use it
+     *         to keep choosing the same shard copies.
+     */
+    RoutingProvider routingProvider() {
+        return routingProvider;
     }
 
     /**
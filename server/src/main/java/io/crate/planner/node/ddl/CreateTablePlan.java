@@ -21,19 +21,29 @@
 
 package io.crate.planner.node.ddl;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import io.crate.analyze.AnalyzedCreateTable;
 import io.crate.analyze.BoundCreateTable;
 import io.crate.analyze.NumberOfShards;
+import io.crate.common.collections.Lists;
 import io.crate.data.InMemoryBatchIterator;
 import io.crate.data.Row;
 import io.crate.data.Row1;
 import io.crate.data.RowConsumer;
 import io.crate.data.SentinelRow;
+import io.crate.exceptions.RelationAlreadyExists;
 import io.crate.execution.ddl.tables.TableCreator;
+import io.crate.expression.symbol.Symbol;
+import io.crate.metadata.Functions;
+import io.crate.metadata.Reference;
+import io.crate.metadata.Schemas;
 import io.crate.planner.DependencyCarrier;
 import io.crate.planner.Plan;
 import io.crate.planner.PlannerContext;
 import io.crate.planner.operators.SubQueryResults;
+import io.crate.rollup.Rollup;
 
 public class CreateTablePlan implements Plan {
 
@@ -66,7 +76,11 @@ public class CreateTablePlan implements Plan {
             params,
             subQueryResults
         );
+        List<Rollup> rollups = rollups(boundCreateTable, dependencies.schemas(), dependencies.nodeContext().functions());
         tableCreator.create(boundCreateTable, plannerContext.clusterState().nodes().getMinNodeVersion())
+            .thenCompose(rowCount -> rollups.isEmpty() || rowCount == null
+                ? CompletableFuture.completedFuture(rowCount)
+                : dependencies.rollupService().createTargets(rollups).thenApply(ignored -> rowCount))
             .whenComplete((rowCount, err) -> {
                 if (err == null) {
                     consumer.accept(InMemoryBatchIterator.of(new Row1(rowCount == null ? -1 : rowCount), null), null);
@@ -77,4 +91,27 @@ public class CreateTablePlan implements Plan {
                 }
             });
     }
+
+    private static List<Rollup> rollups(BoundCreateTable createTable, Schemas schemas, Functions functions) {
+        String definition = Rollup.SETTING.get(createTable.tableParameter().settings());
+        List<Rollup> rollups = Rollup.of(
+            createTable.tableName(),
+            definition,
+            createTable.columns().values(),
+            Lists.map(createTable.primaryKeys(), Reference::column),
+            Lists.map(createTable.partitionedByColumns(), Symbol::toColumn)
+        );
+        if (!rollups.isEmpty()) {
+            // All rollups share the sketches
+            rollups.get(0).validateSketches(functions);
+        }
+        if (!createTable.ifNotExists() || !schemas.tableExists(createTable.tableName())) {
+            for (Rollup rollup : rollups) {
+                if (schemas.tableExists(rollup.target())) {
+                    throw new RelationAlreadyExists(rollup.target());
+                }
+            }
+        }
+        return rollups;
+    }
 }
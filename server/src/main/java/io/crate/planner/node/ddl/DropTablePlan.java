@@ -23,6 +23,8 @@ package io.crate.planner.node.ddl;
 
 import static io.crate.data.SentinelRow.SENTINEL;
 
+import java.util.List;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.elasticsearch.index.IndexNotFoundException;
@@ -35,10 +37,14 @@ import io.crate.data.Row1;
 import io.crate.data.RowConsumer;
 import io.crate.exceptions.SQLExceptions;
 import io.crate.execution.ddl.tables.DropTableRequest;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.Schemas;
+import io.crate.metadata.doc.DocTableInfo;
 import io.crate.planner.DependencyCarrier;
 import io.crate.planner.Plan;
 import io.crate.planner.PlannerContext;
 import io.crate.planner.operators.SubQueryResults;
+import io.crate.rollup.Rollup;
 
 public class DropTablePlan implements Plan {
 
@@ -70,6 +76,7 @@ public class DropTablePlan implements Plan {
                               Row params,
                               SubQueryResults subQueryResults) {
         var request = new DropTableRequest(dropTable.tableName());
+        List<RelationName> rollups = rollupTargets(dependencies.schemas(), dropTable.tableName());
         dependencies.transportDropTableAction().execute(request).whenComplete((response, err) -> {
             if (err == null) {
                 if (!response.isAcknowledged() && LOGGER.isWarnEnabled()) {
@@ -77,7 +84,12 @@ public class DropTablePlan implements Plan {
                         LOGGER.warn("Dropping table {} was not acknowledged. This could lead to inconsistent state.", dropTable.tableName());
                     }
                 }
-                consumer.accept(InMemoryBatchIterator.of(ROW_ONE, SENTINEL), null);
+                if (rollups.isEmpty()) {
+                    consumer.accept(InMemoryBatchIterator.of(ROW_ONE, SENTINEL), null);
+                } else {
+                    dependencies.rollupService().dropTargets(rollups).whenComplete((ignored, dropErr) ->
+                        consumer.accept(dropErr == null ? InMemoryBatchIterator.of(ROW_ONE, SENTINEL) : null, dropErr));
+                }
             } else {
                 err = SQLExceptions.unwrap(err);
                 if (dropTable.dropIfExists() && err instanceof IndexNotFoundException) {
@@ -88,4 +100,11 @@ public class DropTablePlan implements Plan {
             }
         });
     }
+
+    private static List<RelationName> rollupTargets(Schemas schemas, RelationName tableName) {
+        if (schemas.tableExists(tableName) && schemas.getTableInfo(tableName) instanceof DocTableInfo table) {
+            return Rollup.targets(table);
+        }
+        return List.of();
+    }
 }
@@ -21,8 +21,11 @@
 
 package io.crate.planner.operators;
 
+import static io.crate.analyze.SymbolEvaluator.evaluate;
+
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.SequencedCollection;
 import java.util.Set;
 
@@ -35,6 +38,7 @@ import io.crate.data.Row;
 import io.crate.execution.dsl.phases.ForeignCollectPhase;
 import io.crate.execution.dsl.projection.builder.ProjectionBuilder;
 import io.crate.execution.engine.pipeline.LimitAndOffset;
+import io.crate.expression.symbol.Function;
 import io.crate.expression.symbol.SelectSymbol;
 import io.crate.expression.symbol.Symbol;
 import io.crate.fdw.ForeignDataWrapper;
@@ -43,6 +47,7 @@ import io.crate.metadata.RelationName;
 import io.crate.planner.DependencyCarrier;
 import io.crate.planner.ExecutionPlan;
 import io.crate.planner.PlannerContext;
+import io.crate.types.DataTypes;
 
 public class ForeignCollect implements LogicalPlan {
 
@@ -51,17 +56,56 @@ public class ForeignCollect implements LogicalPlan {
     private final List<Symbol> toCollect;
     private final WhereClause where;
     private final String executeAs;
+    private final boolean aggregated;
+    @Nullable
+    private final OrderBy orderBy;
+    @Nullable
+    private final Symbol limit;
+    @Nullable
+    private final Symbol offset;
 
     public ForeignCollect(ForeignDataWrapper fdw,
                           ForeignTableRelation relation,
                           List<Symbol> toCollect,
                           WhereClause where,
                           String executeAs) {
+        this(fdw, relation, toCollect, where, executeAs, false, null, null, null);
+    }
+
+    private ForeignCollect(ForeignDataWrapper fdw,
+                           ForeignTableRelation relation,
+                           List<Symbol> toCollect,
+                           WhereClause where,
+                           String executeAs,
+                           boolean aggregated,
+                           @Nullable OrderBy orderBy,
+                           @Nullable Symbol limit,
+                           @Nullable Symbol offset) {
         this.fdw = fdw;
         this.relation = relation;
         this.toCollect = toCollect;
         this.where = where;
         this.executeAs = executeAs;
+        this.aggregated = aggregated;
+        this.orderBy = orderBy;
+        this.limit = limit;
+        this.offset = offset;
+    }
+
+    /**
+     * @return a ForeignCollect which fetches at most limit + offset rows in the given order from the foreign server.
+     */
+    public ForeignCollect withLimit(Symbol limit, Symbol offset, @Nullable OrderBy orderBy) {
+        assert !aggregated && this.limit == null : "Can't push a limit into an aggregated or limited ForeignCollect";
+        return new ForeignCollect(fdw, relation, toCollect, where, executeAs, false, orderBy, limit, offset);
+    }
+
+    /**
+     * @return a ForeignCollect which computes the global aggregates on the foreign server.
+     */
+    public ForeignCollect withAggregates(List<Function> aggregates) {
+        assert !aggregated && limit == null : "Can't push aggregates into an aggregated or limited ForeignCollect";
+        return new ForeignCollect(fdw, relation, List.copyOf(aggregates), where, executeAs, true, null, null, null);
     }
 
     @Override
@@ -77,6 +121,26 @@ public class ForeignCollect implements LogicalPlan {
                                SubQueryResults subQueryResults) {
 
         var binder = new SubQueryAndParamBinder(params, subQueryResults);
+        int limitAndOffset = LimitAndOffset.NO_LIMIT;
+        if (this.limit != null) {
+            int pushedLimit = Objects.requireNonNullElse(
+                DataTypes.INTEGER.sanitizeValue(evaluate(
+                    plannerContext.transactionContext(),
+                    plannerContext.nodeContext(),
+                    this.limit,
+                    params,
+                    subQueryResults)),
+                LimitAndOffset.NO_LIMIT);
+            int pushedOffset = Objects.requireNonNullElse(
+                DataTypes.INTEGER.sanitizeValue(evaluate(
+                    plannerContext.transactionContext(),
+                    plannerContext.nodeContext(),
+                    this.offset,
+                    params,
+                    subQueryResults)),
+                LimitAndOffset.NO_OFFSET);
+            limitAndOffset = Limit.limitAndOffset(pushedLimit, pushedOffset);
+        }
         ForeignCollectPhase phase = new ForeignCollectPhase(
             plannerContext.jobId(),
             plannerContext.nextExecutionPhaseId(),
@@ -84,7 +148,9 @@ public class ForeignCollect implements LogicalPlan {
             relation.relationName(),
             Lists.map(toCollect, binder),
             where.map(binder).queryOrFallback(),
-            executeAs
+            executeAs,
+            limitAndOffset == LimitAndOffset.NO_LIMIT || orderBy == null ? null : orderBy.map(binder),
+            limitAndOffset
         );
         return new io.crate.planner.node.dql.Collect(
             phase,
@@ -108,6 +174,18 @@ public class ForeignCollect implements LogicalPlan {
         return where;
     }
 
+    /**
+     * @return true if the outputs are global aggregates computed on the foreign server.
+     */
+    public boolean aggregated() {
+        return aggregated;
+    }
+
+    @Nullable
+    public Symbol limit() {
+        return limit;
+    }
+
     @Override
     public List<Symbol> outputs() {
         return toCollect;
@@ -129,7 +207,8 @@ public class ForeignCollect implements LogicalPlan {
         if (outputsToKeep.containsAll(toCollect)) {
             return this;
         }
-        return new ForeignCollect(fdw, relation, List.copyOf(outputsToKeep), where, executeAs);
+        return new ForeignCollect(
+            fdw, relation, List.copyOf(outputsToKeep), where, executeAs, aggregated, orderBy, limit, offset);
     }
 
     public String executeAs() {
@@ -159,8 +238,22 @@ public class ForeignCollect implements LogicalPlan {
             .text(" | [")
             .text(Lists.joinOn(", ", toCollect, Symbol::toString))
             .text("] | ")
-            .text(where.queryOrFallback().toString())
-            .text("]");
+            .text(where.queryOrFallback().toString());
+        if (orderBy != null) {
+            printContext
+                .text(" | OrderBy[")
+                .text(orderBy.explainRepresentation())
+                .text("]");
+        }
+        if (limit != null) {
+            printContext
+                .text(" | Limit[")
+                .text(limit.toString())
+                .text(";")
+                .text(offset.toString())
+                .text("]");
+        }
+        printContext.text("]");
         printStats(printContext);
     }
 }
@@ -695,7 +695,7 @@ public class InsertFromValues implements LogicalPlan {
                             compressedResult.update(shardResponse);
                         }
                     } else {
-                        nodeLimit.onSample(startTime, true);
+                        nodeLimit.onSample(startTime, NodeLimits.isOverloaded(throwable));
                         lastFailure.set(throwable);
                     }
                     countdown.accept(request);
@@ -703,7 +703,7 @@ public class InsertFromValues implements LogicalPlan {
 
                 @Override
                 public void onFailure(Exception e) {
-                    nodeLimit.onSample(startTime, true);
+                    nodeLimit.onSample(startTime, NodeLimits.isOverloaded(e));
                     Throwable t = SQLExceptions.unwrap(e);
                     if (!partitionWasDeleted(t, request.index())) {
                         synchronized (compressedResult) {
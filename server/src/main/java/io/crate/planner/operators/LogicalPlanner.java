@@ -92,11 +92,15 @@ import io.crate.planner.optimizer.iterative.IterativeOptimizer;
 import io.crate.planner.optimizer.rule.DeduplicateOrder;
 import io.crate.planner.optimizer.rule.EliminateCrossJoin;
 import io.crate.planner.optimizer.rule.EquiJoinToLookupJoin;
+import io.crate.planner.optimizer.rule.EquiJoinToRuntimeFilter;
 import io.crate.planner.optimizer.rule.MergeAggregateAndCollectToCount;
+import io.crate.planner.optimizer.rule.MergeAggregateAndForeignCollect;
 import io.crate.planner.optimizer.rule.MergeAggregateRenameAndCollectToCount;
 import io.crate.planner.optimizer.rule.MergeFilterAndCollect;
 import io.crate.planner.optimizer.rule.MergeFilterAndForeignCollect;
 import io.crate.planner.optimizer.rule.MergeFilters;
+import io.crate.planner.optimizer.rule.MergeLimitAndForeignCollect;
+import io.crate.planner.optimizer.rule.MergeLimitOrderAndForeignCollect;
 import io.crate.planner.optimizer.rule.MoveConstantJoinConditionsBeneathJoin;
 import io.crate.planner.optimizer.rule.MoveFilterBeneathCorrelatedJoin;
 import io.crate.planner.optimizer.rule.MoveFilterBeneathEval;
@@ -157,6 +161,9 @@ public class LogicalPlanner {
         new MoveLimitBeneathEval(),
         new MergeFilterAndCollect(),
         new MergeFilterAndForeignCollect(),
+        new MergeLimitAndForeignCollect(),
+        new MergeLimitOrderAndForeignCollect(),
+        new MergeAggregateAndForeignCollect(),
         new RewriteFilterOnOuterJoinToInnerJoin(),
         new MoveOrderBeneathUnion(),
         new MoveOrderBeneathNestedLoop(),
@@ -168,6 +175,7 @@ public class LogicalPlanner {
         new MoveConstantJoinConditionsBeneathJoin(),
         new EliminateCrossJoin(),
         new EquiJoinToLookupJoin(),
+        new EquiJoinToRuntimeFilter(),
         new RewriteJoinPlan()
     );
 
@@ -196,7 +196,7 @@ public class EquiJoinToLookupJoin implements Rule<JoinPlan> {
         return MultiPhase.createIfNeeded(subQueries, largerSideWithLookup);
     }
 
-    private static boolean applyOptimization(long lhsNumDocs, long rhsNumDocs) {
+    static boolean applyOptimization(long lhsNumDocs, long rhsNumDocs) {
         if ((lhsNumDocs == -1L || rhsNumDocs == -1L) ||
             (lhsNumDocs == 0 || rhsNumDocs == 0) ||
             lhsNumDocs == rhsNumDocs) {
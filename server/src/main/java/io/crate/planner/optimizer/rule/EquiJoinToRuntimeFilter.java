@@ -0,0 +1,157 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.planner.optimizer.rule;
+
+import static io.crate.common.collections.Iterables.getOnlyElement;
+import static io.crate.planner.optimizer.matcher.Pattern.typeOf;
+
+import java.util.List;
+import java.util.Map;
+
+import io.crate.analyze.relations.PlannedRelation;
+import io.crate.execution.engine.join.RuntimeJoinFilter;
+import io.crate.expression.scalar.RuntimeFilterFunction;
+import io.crate.expression.symbol.SelectSymbol;
+import io.crate.expression.symbol.Symbol;
+import io.crate.metadata.RelationName;
+import io.crate.planner.operators.EquiJoinDetector;
+import io.crate.planner.operators.Eval;
+import io.crate.planner.operators.Filter;
+import io.crate.planner.operators.JoinConditionSymbolsExtractor;
+import io.crate.planner.operators.JoinPlan;
+import io.crate.planner.operators.LogicalPlan;
+import io.crate.planner.operators.MultiPhase;
+import io.crate.planner.operators.RootRelationBoundary;
+import io.crate.planner.optimizer.Rule;
+import io.crate.planner.optimizer.costs.PlanStats;
+import io.crate.planner.optimizer.iterative.GroupReferenceResolver;
+import io.crate.planner.optimizer.matcher.Captures;
+import io.crate.planner.optimizer.matcher.Pattern;
+import io.crate.sql.tree.JoinType;
+import io.crate.types.ArrayType;
+
+/**
+ * This rule pre-filters the larger relation of an equi-inner-join with a
+ * {@link RuntimeJoinFilter} created from the join keys of the smaller relation.
+ * The filter is pushed into the collect of the larger relation, where it becomes
+ * a terms query or a range query combined with a bloom filter, e.g.:
+ * Join[INNER | (id = id)] (rows=100)
+ *  ├ Collect[doc.t1 | [id] | true] (rows=100000)
+ *  └ Collect[doc.t2 | [id] | true] (rows=1000)
+ * to:
+ * Join[INNER | (id = id)]
+ *  ├ MultiPhase
+ *  │  └ Collect[doc.t1 | [id] | _runtime_filter(id, (doc.t2))]
+ *  │  └ Collect[doc.t2 | [id] | true]
+ *  └ Collect[doc.t2 | [id] | true]
+ *
+ * Unlike {@link EquiJoinToLookupJoin} the filter can have false positives,
+ * so the join is always kept.
+ */
+public class EquiJoinToRuntimeFilter implements Rule<JoinPlan> {
+
+    private final Pattern<JoinPlan> pattern = typeOf(JoinPlan.class).with(j ->
+            j.isLookUpJoinRuleApplied() == false &&
+            // only inner-equi-joins
+            j.joinType() == JoinType.INNER &&
+            j.joinCondition() != null &&
+            EquiJoinDetector.isEquiJoin(j.joinCondition()) &&
+            // no nested subqueries
+            j.lhs().relationNames().size() == 1 &&
+            j.rhs().relationNames().size() == 1
+    );
+
+    @Override
+    public boolean defaultEnabled() {
+        return false;
+    }
+
+    @Override
+    public Pattern<JoinPlan> pattern() {
+        return pattern;
+    }
+
+    @Override
+    public LogicalPlan apply(JoinPlan plan,
+                             Captures captures,
+                             Rule.Context context) {
+
+        LogicalPlan lhs = plan.lhs();
+        LogicalPlan rhs = plan.rhs();
+
+        PlanStats planStats = context.planStats();
+
+        long lhsNumDocs = planStats.get(lhs).numDocs();
+        long rhsNumDocs = planStats.get(rhs).numDocs();
+
+        if (EquiJoinToLookupJoin.applyOptimization(lhsNumDocs, rhsNumDocs) == false) {
+            return null;
+        }
+
+        boolean rhsIsLarger = rhsNumDocs > lhsNumDocs;
+        LogicalPlan buildSide = rhsIsLarger ? lhs : rhs;
+        LogicalPlan probeSide = rhsIsLarger ? rhs : lhs;
+
+        if (context.resolvePlan().apply(probeSide) instanceof MultiPhase) {
+            // Already filtered by a lookup-join or a runtime filter
+            return null;
+        }
+
+        Map<RelationName, List<Symbol>> equiJoinCondition = JoinConditionSymbolsExtractor.extract(plan.joinCondition());
+        List<Symbol> buildSideColumns = equiJoinCondition.get(getOnlyElement(buildSide.relationNames()));
+        List<Symbol> probeSideColumns = equiJoinCondition.get(getOnlyElement(probeSide.relationNames()));
+        if (buildSideColumns == null || buildSideColumns.size() != 1
+            || probeSideColumns == null || probeSideColumns.size() != 1) {
+            return null;
+        }
+        Symbol buildSideColumn = buildSideColumns.get(0);
+        Symbol probeSideColumn = probeSideColumns.get(0);
+        if (buildSideColumn.valueType().equals(probeSideColumn.valueType()) == false
+            || RuntimeJoinFilter.supportsType(buildSideColumn.valueType()) == false) {
+            return null;
+        }
+
+        buildSide = GroupReferenceResolver.resolveFully(context.resolvePlan(), buildSide);
+        var runtimeFilter = new SelectSymbol(
+            new PlannedRelation(buildSide),
+            new ArrayType<>(buildSideColumn.valueType()),
+            SelectSymbol.ResultType.SINGLE_COLUMN_RUNTIME_FILTER,
+            false
+        );
+        var filteredProbeSide = new Filter(probeSide, RuntimeFilterFunction.of(probeSideColumn, runtimeFilter));
+        var buildSideKeys = new RootRelationBoundary(
+            Eval.create(buildSide.pruneOutputsExcept(List.of(buildSideColumn)), List.of(buildSideColumn)));
+        LogicalPlan newProbeSide = MultiPhase.createIfNeeded(Map.of(buildSideKeys, runtimeFilter), filteredProbeSide);
+
+        return new JoinPlan(
+            rhsIsLarger ? lhs : newProbeSide,
+            rhsIsLarger ? newProbeSide : rhs,
+            plan.joinType(),
+            plan.joinCondition(),
+            plan.isFiltered(),
+            plan.isRewriteFilterOnOuterJoinToInnerJoinDone(),
+            true,
+            plan.moveConstantJoinConditionRuleApplied(),
+            plan.lookUpJoin()
+        );
+    }
+}
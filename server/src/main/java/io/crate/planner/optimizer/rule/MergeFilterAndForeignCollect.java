@@ -48,7 +48,8 @@ public class MergeFilterAndForeignCollect implements Rule<Filter> {
     public MergeFilterAndForeignCollect() {
         this.collectCapture = new Capture<>();
         this.pattern = typeOf(Filter.class)
-            .with(source(), typeOf(ForeignCollect.class).capturedAs(collectCapture));
+            .with(source(), typeOf(ForeignCollect.class).capturedAs(collectCapture)
+                .with(collect -> collect.limit() == null && !collect.aggregated()));
     }
 
     @Override
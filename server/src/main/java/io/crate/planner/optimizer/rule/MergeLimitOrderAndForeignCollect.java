@@ -0,0 +1,80 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+
+package io.crate.planner.optimizer.rule;
+
+import static io.crate.planner.optimizer.matcher.Pattern.typeOf;
+import static io.crate.planner.optimizer.matcher.Patterns.source;
+
+import io.crate.planner.operators.ForeignCollect;
+import io.crate.planner.operators.Limit;
+import io.crate.planner.operators.LogicalPlan;
+import io.crate.planner.operators.Order;
+import io.crate.planner.optimizer.Rule;
+import io.crate.planner.optimizer.matcher.Capture;
+import io.crate.planner.optimizer.matcher.Captures;
+import io.crate.planner.optimizer.matcher.Pattern;
+
+/**
+ * Like {@link MergeLimitAndForeignCollect} but for `Limit -> Order -> ForeignCollect`.
+ * The foreign server returns the top `limit + offset` rows,
+ * `Limit -> Order` are kept on top to merge and page them.
+ */
+public class MergeLimitOrderAndForeignCollect implements Rule<Limit> {
+
+    private final Capture<Order> orderCapture;
+    private final Capture<ForeignCollect> collectCapture;
+    private final Pattern<Limit> pattern;
+
+    public MergeLimitOrderAndForeignCollect() {
+        this.orderCapture = new Capture<>();
+        this.collectCapture = new Capture<>();
+        this.pattern = typeOf(Limit.class)
+            .with(source(), typeOf(Order.class).capturedAs(orderCapture)
+                .with(source(), typeOf(ForeignCollect.class).capturedAs(collectCapture)
+                    .with(collect -> collect.limit() == null && !collect.aggregated())));
+    }
+
+    @Override
+    public Pattern<Limit> pattern() {
+        return pattern;
+    }
+
+    @Override
+    public LogicalPlan apply(Limit limit,
+                             Captures captures,
+                             Rule.Context ruleContext) {
+        Order order = captures.get(orderCapture);
+        ForeignCollect collect = captures.get(collectCapture);
+        if (collect.fdw().supportsLimitPushdown() && collect.fdw().supportsOrderByPushdown(order.orderBy())) {
+            return new Limit(
+                new Order(
+                    collect.withLimit(limit.limit(), limit.offset(), order.orderBy()),
+                    order.orderBy()
+                ),
+                limit.limit(),
+                limit.offset()
+            );
+        }
+        return null;
+    }
+}
@@ -218,13 +218,25 @@ public final class CopyToPlan implements Plan {
             table,
             metadata);
 
+        Settings settings = Settings.builder().put(copyTo.properties().map(eval)).build();
+
+        WriterProjection.CompressionType compressionType =
+            settingAsEnum(WriterProjection.CompressionType.class, COMPRESSION_SETTING.get(settings));
+        WriterProjection.OutputFormat outputFormat =
+            settingAsEnum(WriterProjection.OutputFormat.class, OUTPUT_FORMAT_SETTING.get(settings));
+
+        List<? extends Symbol> columns = copyTo.columns();
+        if (columns.isEmpty() && outputFormat == WriterProjection.OutputFormat.PARQUET) {
+            // Parquet requires typed columns, export all top level columns instead of the raw source
+            columns = table.columns();
+        }
         List<Symbol> outputs = new ArrayList<>();
         Map<ColumnIdent, Symbol> overwrites = null;
         boolean columnsDefined = false;
-        final List<String> outputNames = new ArrayList<>(copyTo.columns().size());
-        if (!copyTo.columns().isEmpty()) {
+        final List<String> outputNames = new ArrayList<>(columns.size());
+        if (!columns.isEmpty()) {
             // TODO: remove outputNames?
-            for (Symbol symbol : copyTo.columns()) {
+            for (Symbol symbol : columns) {
                 assert symbol instanceof Reference : "Only references are expected here";
                 symbol.visit(Reference.class, r -> outputNames.add(r.column().sqlFqn()));
                 outputs.add(DocReferences.toSourceLookup(symbol));
@@ -255,13 +267,6 @@ public final class CopyToPlan implements Plan {
             outputs = List.of(toCollect);
         }
 
-        Settings settings = Settings.builder().put(copyTo.properties().map(eval)).build();
-
-        WriterProjection.CompressionType compressionType =
-            settingAsEnum(WriterProjection.CompressionType.class, COMPRESSION_SETTING.get(settings));
-        WriterProjection.OutputFormat outputFormat =
-            settingAsEnum(WriterProjection.OutputFormat.class, OUTPUT_FORMAT_SETTING.get(settings));
-
         if (!columnsDefined && outputFormat == WriterProjection.OutputFormat.JSON_ARRAY) {
             throw new UnsupportedFeatureException("Output format not supported without specifying columns.");
         }
@@ -0,0 +1,66 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+
+package io.crate.replication.logical;
+
+/**
+ * Derives the number of operations to request per batch of changes from the
+ * size of previously received operations, so that all batches a shard has in
+ * flight stay within a byte budget.
+ */
+final class AdaptiveBatchSize {
+
+    static final int MIN_BATCH_SIZE = 16;
+
+    /**
+     * Weight of the most recent batch in the exponential moving average of the operation size.
+     */
+    private static final double ALPHA = 0.3;
+
+    private double avgOperationSize = -1;
+
+    synchronized void onBatch(int numOperations, long sizeInBytes) {
+        if (numOperations == 0) {
+            return;
+        }
+        double operationSize = (double) sizeInBytes / numOperations;
+        if (avgOperationSize < 0) {
+            avgOperationSize = operationSize;
+        } else {
+            avgOperationSize = ALPHA * operationSize + (1 - ALPHA) * avgOperationSize;
+        }
+    }
+
+    /**
+     * @param maxBatchSize upper bound, configured by {@link LogicalReplicationSettings#REPLICATION_CHANGE_BATCH_SIZE}
+     * @param maxBytesInFlight byte budget shared by all concurrent batches
+     * @param maxConcurrentBatches number of batches sharing the byte budget
+     */
+    synchronized int batchSize(int maxBatchSize, long maxBytesInFlight, int maxConcurrentBatches) {
+        if (avgOperationSize <= 0) {
+            return maxBatchSize;
+        }
+        double bytesPerBatch = (double) maxBytesInFlight / maxConcurrentBatches;
+        long batchSize = (long) (bytesPerBatch / avgOperationSize);
+        return (int) Math.max(Math.min(MIN_BATCH_SIZE, maxBatchSize), Math.min(batchSize, maxBatchSize));
+    }
+}
@@ -61,6 +61,30 @@ public class LogicalReplicationSettings {
         Property.Exposed
     );
 
+    /**
+     * Controls how many batches of changes a subscriber shard may fetch and replay concurrently.
+     */
+    public static final Setting<Integer> REPLICATION_MAX_CONCURRENT_BATCHES = Setting.intSetting(
+        "replication.logical.max_concurrent_batches", 2, 1, 16,
+        Property.Dynamic,
+        Property.NodeScope,
+        Property.Exposed
+    );
+
+    /**
+     * Upper bound of fetched but not yet replayed changes per subscriber shard.
+     * The number of operations requested per batch is derived from it.
+     */
+    public static final Setting<ByteSizeValue> REPLICATION_MAX_BYTES_IN_FLIGHT =
+        Setting.byteSizeSetting("replication.logical.max_bytes_in_flight",
+            new ByteSizeValue(64, ByteSizeUnit.MB),
+            new ByteSizeValue(1, ByteSizeUnit.MB),
+            new ByteSizeValue(1, ByteSizeUnit.GB),
+            Property.Dynamic,
+            Property.NodeScope,
+            Property.Exposed
+        );
+
     public static final Setting<ByteSizeValue> REPLICATION_RECOVERY_CHUNK_SIZE =
         Setting.byteSizeSetting("replication.logical.recovery.chunk_size",
             new ByteSizeValue(1, ByteSizeUnit.MB),
@@ -153,16 +177,22 @@ public class LogicalReplicationSettings {
     private int batchSize;
     private int maxConcurrentFileChunks;
     private TimeValue pollDelay;
+    private int maxConcurrentBatches;
+    private ByteSizeValue maxBytesInFlight;
     private ByteSizeValue recoveryChunkSize;
 
     public LogicalReplicationSettings(Settings settings, ClusterService clusterService) {
         batchSize = REPLICATION_CHANGE_BATCH_SIZE.get(settings);
         pollDelay = REPLICATION_READ_POLL_DURATION.get(settings);
+        maxConcurrentBatches = REPLICATION_MAX_CONCURRENT_BATCHES.get(settings);
+        maxBytesInFlight = REPLICATION_MAX_BYTES_IN_FLIGHT.get(settings);
         recoveryChunkSize = REPLICATION_RECOVERY_CHUNK_SIZE.get(settings);
         maxConcurrentFileChunks = REPLICATION_RECOVERY_MAX_CONCURRENT_FILE_CHUNKS.get(settings);
 
         clusterService.getClusterSettings().addSettingsUpdateConsumer(REPLICATION_CHANGE_BATCH_SIZE, this::batchSize);
         clusterService.getClusterSettings().addSettingsUpdateConsumer(REPLICATION_READ_POLL_DURATION, this::pollDelay);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(REPLICATION_MAX_CONCURRENT_BATCHES, this::maxConcurrentBatches);
+        clusterService.getClusterSettings().addSettingsUpdateConsumer(REPLICATION_MAX_BYTES_IN_FLIGHT, this::maxBytesInFlight);
         clusterService.getClusterSettings().addSettingsUpdateConsumer(REPLICATION_RECOVERY_CHUNK_SIZE, this::recoveryChunkSize);
         clusterService.getClusterSettings().addSettingsUpdateConsumer(REPLICATION_RECOVERY_MAX_CONCURRENT_FILE_CHUNKS, this::maxConcurrentFileChunks);
     }
@@ -183,6 +213,22 @@ public class LogicalReplicationSettings {
         this.pollDelay = pollDelay;
     }
 
+    public int maxConcurrentBatches() {
+        return maxConcurrentBatches;
+    }
+
+    private void maxConcurrentBatches(int maxConcurrentBatches) {
+        this.maxConcurrentBatches = maxConcurrentBatches;
+    }
+
+    public ByteSizeValue maxBytesInFlight() {
+        return maxBytesInFlight;
+    }
+
+    private void maxBytesInFlight(ByteSizeValue maxBytesInFlight) {
+        this.maxBytesInFlight = maxBytesInFlight;
+    }
+
     public ByteSizeValue recoveryChunkSize() {
         return recoveryChunkSize;
     }
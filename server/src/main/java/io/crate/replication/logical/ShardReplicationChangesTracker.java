@@ -28,6 +28,7 @@ import java.util.Deque;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
@@ -39,6 +40,7 @@ import org.elasticsearch.action.support.replication.ReplicationResponse;
 import org.elasticsearch.action.support.replication.ReplicationResponse.ShardInfo;
 import org.elasticsearch.client.Client;
 import org.elasticsearch.cluster.block.ClusterBlockException;
+import org.elasticsearch.index.seqno.LocalCheckpointTracker;
 import org.elasticsearch.index.shard.IndexShard;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.index.translog.Translog;
@@ -49,6 +51,7 @@ import org.elasticsearch.threadpool.ThreadPool;
 import org.jetbrains.annotations.Nullable;
 
 import io.crate.action.FutureActionListener;
+import io.crate.common.annotations.GuardedBy;
 import io.crate.common.unit.TimeValue;
 import io.crate.exceptions.SQLExceptions;
 import io.crate.execution.support.RetryListener;
@@ -77,9 +80,20 @@ public class ShardReplicationChangesTracker implements Closeable {
     private final Deque<SeqNoRange> missingBatches = new ArrayDeque<>();
     private final AtomicLong observedSeqNoAtLeader;
     private final AtomicLong seqNoAlreadyRequested;
+    private final LocalCheckpointTracker replayedSeqNos;
+    private final AdaptiveBatchSize adaptiveBatchSize = new AdaptiveBatchSize();
+    private final AtomicLong bytesInFlight = new AtomicLong();
+    private final AtomicBoolean renewingRetentionLease = new AtomicBoolean(false);
 
+    @GuardedBy("this")
+    private int batchesInFlight = 0;
+    @GuardedBy("this")
+    private boolean pollScheduled = false;
+
+    private volatile int batchSize;
     private volatile Scheduler.Cancellable cancellable;
     private volatile boolean closed = false;
+    private volatile boolean stopped = false;
 
 
     public ShardReplicationChangesTracker(String subscriptionName,
@@ -99,6 +113,8 @@ public class ShardReplicationChangesTracker implements Closeable {
         var seqNoStats = indexShard.seqNoStats();
         this.observedSeqNoAtLeader = new AtomicLong(seqNoStats.getGlobalCheckpoint());
         this.seqNoAlreadyRequested = new AtomicLong(seqNoStats.getMaxSeqNo());
+        this.replayedSeqNos = new LocalCheckpointTracker(seqNoStats.getMaxSeqNo(), seqNoStats.getMaxSeqNo());
+        this.batchSize = replicationSettings.batchSize();
     }
 
     record SeqNoRange(long fromSeqNo, long toSeqNo) {
@@ -106,9 +122,7 @@ public class ShardReplicationChangesTracker implements Closeable {
 
     public void start() {
         LOGGER.debug("[{}] Spawning the shard changes reader", shardId);
-        var retryRunnable = newRunnable();
-        cancellable = retryRunnable;
-        retryRunnable.run();
+        newRunnable().run();
     }
 
     private RetryRunnable newRunnable() {
@@ -120,22 +134,62 @@ public class ShardReplicationChangesTracker implements Closeable {
         );
     }
 
+    /**
+     * Fills the pipeline with up to {@link LogicalReplicationSettings#maxConcurrentBatches()} batches.
+     * Each batch is fetched and replayed independently, completion of a batch triggers the next poll
+     * right away. Only if there is nothing left to fetch, the next poll is delayed by
+     * {@link LogicalReplicationSettings#pollDelay()}.
+     * <p>
+     * If the subscriber caught up with the publisher, a single request remains in flight and the
+     * publisher holds it until new operations are available. (See {@link ShardChangesAction})
+     */
     private void pollAndProcessPendingChanges() {
-        if (closed) {
+        if (closed || stopped) {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("[{}] ShardReplicationChangesTracker closed. Stopping tracking", shardId);
             }
             return;
         }
-        SeqNoRange rangeToFetch = getNextSeqNoRange();
-        if (rangeToFetch == null) {
-            cancellable = threadPool.scheduleUnlessShuttingDown(
-                replicationSettings.pollDelay(),
-                ThreadPool.Names.LOGICAL_REPLICATION,
-                newRunnable()
-            );
+        int maxConcurrentBatches = replicationSettings.maxConcurrentBatches();
+        long maxBytesInFlight = replicationSettings.maxBytesInFlight().getBytes();
+        while (true) {
+            SeqNoRange rangeToFetch;
+            synchronized (this) {
+                if (batchesInFlight >= maxConcurrentBatches || bytesInFlight.get() >= maxBytesInFlight) {
+                    return;
+                }
+                rangeToFetch = getNextSeqNoRange();
+                if (rangeToFetch == null) {
+                    if (batchesInFlight == 0) {
+                        schedulePoll();
+                    }
+                    return;
+                }
+                batchesInFlight++;
+            }
+            fetchAndReplay(rangeToFetch);
+        }
+    }
+
+    @GuardedBy("this")
+    private void schedulePoll() {
+        if (pollScheduled || closed || stopped) {
             return;
         }
+        pollScheduled = true;
+        cancellable = threadPool.scheduleUnlessShuttingDown(
+            replicationSettings.pollDelay(),
+            ThreadPool.Names.LOGICAL_REPLICATION,
+            () -> {
+                synchronized (this) {
+                    pollScheduled = false;
+                }
+                newRunnable().run();
+            }
+        );
+    }
+
+    private void fetchAndReplay(SeqNoRange rangeToFetch) {
         long fromSeqNo = rangeToFetch.fromSeqNo();
         long toSeqNo = rangeToFetch.toSeqNo();
 
@@ -150,7 +204,7 @@ public class ShardReplicationChangesTracker implements Closeable {
             }
             return remoteClient.execute(ShardChangesAction.INSTANCE, getPendingChangesRequest);
         });
-        var futureReplicationResponse = futurePendingChanges.thenCompose(this::replayChanges);
+        var futureReplicationResponse = futurePendingChanges.thenCompose(this::accountAndReplayChanges);
         futureReplicationResponse.whenComplete((replicationResp, e) -> {
             if (e == null) {
                 var pendingChanges = futurePendingChanges.join();
@@ -161,7 +215,16 @@ public class ShardReplicationChangesTracker implements Closeable {
                 } else {
                     lastSeqNo = translogOps.get(translogOps.size() - 1).seqNo();
                 }
-                updateBatchFetched(true, fromSeqNo, toSeqNo, lastSeqNo, pendingChanges.lastSyncedGlobalCheckpoint());
+                for (Operation op : translogOps) {
+                    replayedSeqNos.markSeqNoAsProcessed(op.seqNo());
+                }
+                synchronized (this) {
+                    batchesInFlight--;
+                    updateBatchFetched(true, fromSeqNo, toSeqNo, lastSeqNo, pendingChanges.lastSyncedGlobalCheckpoint());
+                }
+                renewRetentionLease();
+                // Method is called inside a transport thread (response listener), so dispatch away
+                newRunnable().run();
             } else {
                 var t = SQLExceptions.unwrap(e);
                 if (!closed && SQLExceptions.maybeTemporary(t)) {
@@ -174,23 +237,52 @@ public class ShardReplicationChangesTracker implements Closeable {
                             t.getMessage()
                         );
                     }
-                    updateBatchFetched(false, fromSeqNo, toSeqNo, fromSeqNo - 1, -1);
-                } else if (t instanceof InvalidShardEngineException) {
-                    if (LOGGER.isDebugEnabled()) {
-                        LOGGER.debug("Shard is not accepting replayed changes, engine changed", t);
+                    synchronized (this) {
+                        batchesInFlight--;
+                        updateBatchFetched(false, fromSeqNo, toSeqNo, fromSeqNo - 1, -1);
+                        schedulePoll();
                     }
                 } else {
-                    LOGGER.warn(
-                        "[{}] Error during tracking of upstream shard changes for subscription '{}'. Tracking stopped: {}",
-                        shardId,
-                        subscriptionName,
-                        t
-                    );
+                    stopped = true;
+                    synchronized (this) {
+                        batchesInFlight--;
+                    }
+                    if (t instanceof InvalidShardEngineException) {
+                        if (LOGGER.isDebugEnabled()) {
+                            LOGGER.debug("Shard is not accepting replayed changes, engine changed", t);
+                        }
+                    } else {
+                        LOGGER.warn(
+                            "[{}] Error during tracking of upstream shard changes for subscription '{}'. Tracking stopped: {}",
+                            shardId,
+                            subscriptionName,
+                            t
+                        );
+                    }
                 }
             }
         });
     }
 
+    /**
+     * Replays the changes and accounts their size to the bytes in flight until the replay finished.
+     */
+    private CompletableFuture<ReplicationResponse> accountAndReplayChanges(ShardChangesAction.Response response) {
+        List<Translog.Operation> translogOps = response.changes();
+        long bytes = 0;
+        for (Translog.Operation op : translogOps) {
+            bytes += op.estimateSize();
+        }
+        adaptiveBatchSize.onBatch(translogOps.size(), bytes);
+        batchSize = adaptiveBatchSize.batchSize(
+            replicationSettings.batchSize(),
+            replicationSettings.maxBytesInFlight().getBytes(),
+            replicationSettings.maxConcurrentBatches()
+        );
+        long batchBytes = bytes;
+        bytesInFlight.addAndGet(batchBytes);
+        return replayChanges(response).whenComplete((ignored, err) -> bytesInFlight.addAndGet(-batchBytes));
+    }
 
     private CompletableFuture<ReplicationResponse> replayChanges(ShardChangesAction.Response response) {
         List<Translog.Operation> translogOps = response.changes();
@@ -228,6 +320,7 @@ public class ShardReplicationChangesTracker implements Closeable {
      * Provides a range of operations to be fetched next.
      */
     @Nullable
+    @GuardedBy("this")
     private SeqNoRange getNextSeqNoRange() {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("[{}] Waiting to get batch. requested: {}, leader: {}",
@@ -250,7 +343,7 @@ public class ShardReplicationChangesTracker implements Closeable {
             return missingBatch;
         } else {
             // return the next batch to fetch and update seqNoAlreadyRequested.
-            var batchSize = replicationSettings.batchSize();
+            var batchSize = this.batchSize;
             var fromSeq = seqNoAlreadyRequested.getAndAdd(batchSize) + 1;
             var toSeq = fromSeq + batchSize - 1;
             if (LOGGER.isDebugEnabled()) {
@@ -265,6 +358,7 @@ public class ShardReplicationChangesTracker implements Closeable {
      * In case of any failure(or we didn't get complete batch), we make sure that we're fetching the
      * missing operations in the next batch.
      */
+    @GuardedBy("this")
     private void updateBatchFetched(boolean success,
                                     long fromSeqNoRequested,
                                     long toSeqNoRequested,
@@ -321,55 +415,93 @@ public class ShardReplicationChangesTracker implements Closeable {
                 missingBatches.add(new SeqNoRange(fromSeqNoRequested, toSeqNoRequested));
             }
         }
-        renewLeasesThenReschedule(toSeqNoReceived);
     }
 
-    private void renewLeasesThenReschedule(long toSeqNoReceived) {
-        // Renew retention lease with global checkpoint so that any shard that picks up shard replication task
-        // has data until then.
-        // Method is called inside a transport thread (response listener), so dispatch away
-        threadPool.executor(ThreadPool.Names.LOGICAL_REPLICATION).execute(() ->
-            shardReplicationService.getRemoteClusterClient(shardId.getIndex(), subscriptionName).thenAccept(remoteClient ->
-                RetentionLeaseHelper.renewRetentionLease(
-                    shardId,
-                    toSeqNoReceived,
-                    clusterName,
-                    remoteClient,
-                    ActionListener.wrap(
-                        r -> {
-                            if (!closed) {
-                                cancellable = threadPool.scheduleUnlessShuttingDown(
-                                    replicationSettings.pollDelay(),
-                                    ThreadPool.Names.LOGICAL_REPLICATION,
-                                    newRunnable()
-                                );
-                            }
-                        },
-                        e -> {
-                            var t = SQLExceptions.unwrap(e);
-                            boolean isClosed = closed; // one volatile read
-                            if (!isClosed && SQLExceptions.maybeTemporary(t)) {
-                                LOGGER.info(
-                                    "[{}] Temporary error during renewal of retention leases for subscription '{}'. Retrying: {}:{}",
-                                    shardId,
-                                    subscriptionName,
-                                    t.getClass().getSimpleName(),
-                                    t.getMessage()
-                                );
-                                cancellable = threadPool.scheduleUnlessShuttingDown(
-                                    replicationSettings.pollDelay(),
-                                    ThreadPool.Names.LOGICAL_REPLICATION,
-                                    () -> renewLeasesThenReschedule(toSeqNoReceived)
-                                );
-                            } else if (isClosed) {
-                                LOGGER.debug("Exception renewing retention lease. Stopping tracking (closed=true)");
-                            } else {
-                                LOGGER.warn("Exception renewing retention lease. Stopping tracking (closed=false)");
-                            }
+    /**
+     * Renew retention lease with the checkpoint of the replayed operations so that any shard that picks up
+     * shard replication task has data until then.
+     * <p>
+     * Batches can complete out of order, only the contiguous range of replayed operations is safe to release.
+     * Renewals are not stacked, if one is already in progress the next completed batch renews the lease.
+     */
+    private void renewRetentionLease() {
+        if (closed || renewingRetentionLease.compareAndSet(false, true) == false) {
+            return;
+        }
+        long replayedCheckpoint = replayedSeqNos.getProcessedCheckpoint();
+        shardReplicationService.getRemoteClusterClient(shardId.getIndex(), subscriptionName).whenComplete((remoteClient, err) -> {
+            if (err != null) {
+                renewingRetentionLease.set(false);
+                return;
+            }
+            RetentionLeaseHelper.renewRetentionLease(
+                shardId,
+                replayedCheckpoint,
+                clusterName,
+                remoteClient,
+                ActionListener.wrap(
+                    r -> renewingRetentionLease.set(false),
+                    e -> {
+                        renewingRetentionLease.set(false);
+                        var t = SQLExceptions.unwrap(e);
+                        if (closed) {
+                            LOGGER.debug("Exception renewing retention lease (closed=true)");
+                        } else if (SQLExceptions.maybeTemporary(t)) {
+                            LOGGER.info(
+                                "[{}] Temporary error during renewal of retention leases for subscription '{}'. Renewing with next batch: {}:{}",
+                                shardId,
+                                subscriptionName,
+                                t.getClass().getSimpleName(),
+                                t.getMessage()
+                            );
+                        } else {
+                            LOGGER.warn("[{}] Exception renewing retention lease for subscription '{}': {}", shardId, subscriptionName, t);
                         }
-                    )
+                    }
                 )
-            ));
+            );
+        });
+    }
+
+    public ShardId shardId() {
+        return shardId;
+    }
+
+    public String subscriptionName() {
+        return subscriptionName;
+    }
+
+    /**
+     * Latest global checkpoint of the publisher shard that was observed by this subscriber shard.
+     */
+    public long leaderCheckpoint() {
+        return observedSeqNoAtLeader.get();
+    }
+
+    /**
+     * Checkpoint up to which all operations of the publisher shard have been replayed.
+     */
+    public long replayedCheckpoint() {
+        return replayedSeqNos.getProcessedCheckpoint();
+    }
+
+    /**
+     * Number of operations the subscriber shard is behind the publisher shard.
+     */
+    public long lag() {
+        return Math.max(0L, leaderCheckpoint() - replayedCheckpoint());
+    }
+
+    public int batchSize() {
+        return batchSize;
+    }
+
+    public synchronized int batchesInFlight() {
+        return batchesInFlight;
+    }
+
+    public long bytesInFlight() {
+        return bytesInFlight.get();
     }
 
     @Override
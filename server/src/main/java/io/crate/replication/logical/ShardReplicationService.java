@@ -80,6 +80,13 @@ public class ShardReplicationService implements Closeable, IndexEventListener {
         }
     }
 
+    /**
+     * Trackers of all subscribed primary shards allocated on this node.
+     */
+    public Iterable<ShardReplicationChangesTracker> trackers() {
+        return shards.values();
+    }
+
     CompletableFuture<Client> getRemoteClusterClient(Index index, String subscriptionName) {
         var subscription = logicalReplicationService.subscriptions().get(subscriptionName);
         if (subscription == null) {
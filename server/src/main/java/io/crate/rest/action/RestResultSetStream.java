@@ -0,0 +1,487 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.rest.action;
+
+import static io.crate.action.sql.Session.UNNAMED;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.ClosedChannelException;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.common.xcontent.json.JsonXContent;
+import org.elasticsearch.http.netty4.cors.Netty4CorsConfig;
+import org.elasticsearch.http.netty4.cors.Netty4CorsHandler;
+import org.jetbrains.annotations.Nullable;
+
+import io.crate.action.sql.BaseResultReceiver;
+import io.crate.action.sql.Session;
+import io.crate.common.CheckedFunction;
+import io.crate.breaker.TypedRowAccounting;
+import io.crate.data.Row;
+import io.crate.data.breaker.RamAccounting;
+import io.crate.data.breaker.RowAccounting;
+import io.crate.expression.symbol.Symbol;
+import io.crate.expression.symbol.Symbols;
+import io.crate.protocols.http.Headers;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.HttpVersion;
+
+/**
+ * Sends the result set of a statement as chunked HTTP response while the statement is still executing.
+ *
+ * <p>
+ * The statement is executed with a fetch size of {@link #PAGE_SIZE} rows. Each page is serialized into its own
+ * buffer and written as one HTTP chunk. The execution stays suspended until the chunk has been written and the
+ * channel is writable again, so a slow client slows down the execution instead of making the node buffer the
+ * full result set.
+ * </p>
+ *
+ * <p>
+ * The response header is sent together with the first chunk. A failure before that completes {@link #start()}
+ * exceptionally so that a regular error response can be sent. A later failure is written as last line in the
+ * {@link Format#NDJSON} format and aborts the response by closing the connection in the {@link Format#JSON}
+ * format.
+ * </p>
+ *
+ * <p>
+ * Rows are serialized by the threads executing the statement, the writes complete on the event loop of the channel.
+ * {@code responseSent} and {@code finished} are shared between them, waiting for writability is confined to the
+ * event loop.
+ * </p>
+ */
+final class RestResultSetStream {
+
+    private static final Logger LOGGER = LogManager.getLogger(RestResultSetStream.class);
+
+    static final int PAGE_SIZE = 1000;
+
+    enum Format {
+
+        /**
+         * Same document as a regular response, but sent in chunks.
+         */
+        JSON(XContentType.JSON.mediaType()),
+
+        /**
+         * A line with the columns, one line per row and a line with the row count and duration.
+         */
+        NDJSON("application/x-ndjson; charset=UTF-8");
+
+        private final String mediaType;
+
+        Format(String mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        static Format of(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    "Unsupported format: " + value + ", supported formats are: [json, ndjson]");
+            }
+        }
+    }
+
+    private final ChannelHandlerContext ctx;
+    private final Session session;
+    private final Format format;
+    private final List<Symbol> fields;
+    private final long startTimeNs;
+    private final boolean includeTypes;
+    private final RamAccounting ramAccounting;
+    private final RowAccounting<Row> rowAccounting;
+    private final CheckedFunction<Throwable, XContentBuilder, IOException> errorToXContent;
+    private final HttpResponse response;
+    private final boolean closeConnection;
+    private final PageOutputStream out;
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+    /**
+     * Builder for the whole response in {@link Format#JSON}, null in {@link Format#NDJSON}
+     */
+    @Nullable
+    private XContentBuilder builder;
+    @Nullable
+    private ResultToXContentBuilder resultBuilder;
+
+    private final AtomicBoolean finished = new AtomicBoolean(false);
+    private final ChannelFutureListener onChannelClosed = ignored -> channelClosed();
+
+    private long rowCount;
+    private volatile boolean responseSent;
+
+    /**
+     * Only accessed on the event loop
+     */
+    private boolean resumeOnWritable;
+
+    RestResultSetStream(ChannelHandlerContext ctx,
+                        FullHttpRequest request,
+                        Netty4CorsConfig corsConfig,
+                        Session session,
+                        Format format,
+                        List<Symbol> fields,
+                        long startTimeNs,
+                        boolean includeTypes,
+                        RamAccounting ramAccounting,
+                        CheckedFunction<Throwable, XContentBuilder, IOException> errorToXContent) {
+        this.ctx = ctx;
+        this.session = session;
+        this.format = format;
+        this.fields = fields;
+        this.startTimeNs = startTimeNs;
+        this.includeTypes = includeTypes;
+        this.ramAccounting = ramAccounting;
+        this.rowAccounting = new TypedRowAccounting(Symbols.typeView(fields), ramAccounting);
+        this.errorToXContent = errorToXContent;
+        this.out = new PageOutputStream(ctx.alloc());
+
+        HttpVersion httpVersion = request.protocolVersion();
+        this.response = new DefaultHttpResponse(httpVersion, HttpResponseStatus.OK);
+        response.headers().add(HttpHeaderNames.CONTENT_TYPE, format.mediaType);
+        Netty4CorsHandler.setCorsResponseHeaders(request, response, corsConfig);
+        if (httpVersion.equals(HttpVersion.HTTP_1_0)) {
+            // HTTP/1.0 has no chunked transfer encoding, the end of the response is signaled by closing the connection
+            this.closeConnection = true;
+        } else {
+            HttpUtil.setTransferEncodingChunked(response, true);
+            this.closeConnection = Headers.isCloseConnection(request);
+        }
+    }
+
+    /**
+     * Starts the execution of the bound {@link Session#UNNAMED} portal.
+     *
+     * @return future which completes once the response has been sent.
+     *         It fails if the execution failed before any part of the response was sent.
+     */
+    CompletableFuture<Void> start() {
+        ctx.channel().closeFuture().addListener(onChannelClosed);
+        try {
+            writeHead();
+            session.execute(UNNAMED, PAGE_SIZE, new PageReceiver());
+            session.sync().whenComplete((ignored, t) -> {
+                if (t != null) {
+                    fail(t);
+                }
+            });
+        } catch (Throwable t) {
+            fail(t);
+        }
+        return result;
+    }
+
+    /**
+     * Must be called on changes of the channel writability, resumes the execution if it waits for the channel.
+     */
+    void channelWritabilityChanged() {
+        assert ctx.executor().inEventLoop() : "Must be called on the event loop";
+        if (resumeOnWritable && ctx.channel().isWritable()) {
+            resumeOnWritable = false;
+            resume();
+        }
+    }
+
+    /**
+     * Stops the execution if the client went away while it waits for the channel to become writable.
+     * Otherwise either a page write is in flight or the execution is running and will write a page, its
+     * failure is handled by {@link #onPageWritten(ChannelFuture)}.
+     */
+    private void channelClosed() {
+        assert ctx.executor().inEventLoop() : "Channel close listener must run on the event loop";
+        if (resumeOnWritable && finished.compareAndSet(false, true)) {
+            resumeOnWritable = false;
+            session.close((byte) 'P', UNNAMED);
+            release();
+            result.completeExceptionally(new ClosedChannelException());
+        }
+    }
+
+    private void writeHead() throws IOException {
+        if (format == Format.JSON) {
+            builder = new XContentBuilder(JsonXContent.JSON_XCONTENT, out);
+            resultBuilder = ResultToXContentBuilder.builder(builder).cols(fields);
+            if (includeTypes) {
+                resultBuilder.colTypes(fields);
+            }
+            resultBuilder.startRows();
+        } else {
+            try (XContentBuilder line = newLine()) {
+                ResultToXContentBuilder head = ResultToXContentBuilder.builder(line).cols(fields);
+                if (includeTypes) {
+                    head.colTypes(fields);
+                }
+                head.build();
+            }
+        }
+    }
+
+    private void writeRow(Row row) throws IOException {
+        if (resultBuilder == null) {
+            try (XContentBuilder line = newLine()) {
+                line.startArray();
+                for (int i = 0; i < fields.size(); i++) {
+                    line.value(row.get(i));
+                }
+                line.endArray();
+            }
+        } else {
+            resultBuilder.addRow(row, fields.size());
+        }
+    }
+
+    private void writeTail() throws IOException {
+        if (resultBuilder == null) {
+            try (XContentBuilder line = newLine()) {
+                ResultToXContentBuilder.builder(line)
+                    .rowCount(rowCount)
+                    .duration(startTimeNs)
+                    .build();
+            }
+        } else {
+            resultBuilder
+                .finishRows()
+                .rowCount(rowCount)
+                .duration(startTimeNs)
+                .build();
+        }
+    }
+
+    private XContentBuilder newLine() throws IOException {
+        return new XContentBuilder(JsonXContent.JSON_XCONTENT, out).lfAtEnd();
+    }
+
+    private ChannelFuture writePage(boolean last) throws IOException {
+        if (builder != null) {
+            builder.flush();
+        }
+        ByteBuf page = out.takePage();
+        if (responseSent == false) {
+            responseSent = true;
+            ctx.write(response);
+        }
+        ChannelFuture future = ctx.writeAndFlush(last ? new DefaultLastHttpContent(page) : new DefaultHttpContent(page));
+        // The page is owned by the channel now, the rows no longer occupy memory on our side
+        ramAccounting.release();
+        return future;
+    }
+
+    private void onPageWritten(ChannelFuture future) {
+        if (future.isSuccess() == false) {
+            // Client went away, stop the execution
+            LOGGER.debug("Failed to send result page", future.cause());
+            if (finished.compareAndSet(false, true)) {
+                session.close((byte) 'P', UNNAMED);
+                release();
+                result.completeExceptionally(future.cause());
+            }
+            return;
+        }
+        if (ctx.channel().isWritable()) {
+            // Not resuming in-line to avoid nesting the consumption of pages
+            ctx.executor().execute(this::resume);
+        } else {
+            resumeOnWritable = true;
+        }
+    }
+
+    private void resume() {
+        if (finished.get()) {
+            return;
+        }
+        try {
+            session.execute(UNNAMED, PAGE_SIZE, new PageReceiver());
+        } catch (Throwable t) {
+            fail(t);
+        }
+    }
+
+    private void allFinished() {
+        if (finished.compareAndSet(false, true) == false) {
+            return;
+        }
+        ChannelFuture future;
+        try {
+            writeTail();
+            future = writePage(true);
+        } catch (Throwable t) {
+            sendFailure(t);
+            return;
+        }
+        if (closeConnection) {
+            future.addListener(ChannelFutureListener.CLOSE);
+        }
+        finish();
+    }
+
+    private void fail(Throwable t) {
+        if (finished.compareAndSet(false, true)) {
+            sendFailure(t);
+        }
+    }
+
+    private void sendFailure(Throwable t) {
+        if (responseSent == false) {
+            release();
+            result.completeExceptionally(t);
+            return;
+        }
+        if (format == Format.NDJSON) {
+            out.release();
+            try (XContentBuilder error = errorToXContent.apply(t)) {
+                BytesReference.bytes(error).writeTo(out);
+                out.write('\n');
+                ChannelFuture future = ctx.writeAndFlush(new DefaultLastHttpContent(out.takePage()));
+                if (closeConnection) {
+                    future.addListener(ChannelFutureListener.CLOSE);
+                }
+            } catch (IOException e) {
+                LOGGER.error("Error sending failure", e);
+                ctx.close();
+            }
+        } else {
+            // The rows have been partially sent, the only way left to signal the failure is to abort the response.
+            ctx.close();
+        }
+        finish();
+    }
+
+    private void finish() {
+        release();
+        result.complete(null);
+    }
+
+    private void release() {
+        ctx.channel().closeFuture().removeListener(onChannelClosed);
+        out.release();
+        ramAccounting.close();
+    }
+
+    private class PageReceiver extends BaseResultReceiver {
+
+        @Override
+        public void setNextRow(Row row) {
+            rowAccounting.accountForAndMaybeBreak(row);
+            try {
+                writeRow(row);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rowCount++;
+        }
+
+        @Override
+        public void batchFinished() {
+            ChannelFuture future;
+            try {
+                future = writePage(false);
+            } catch (Throwable t) {
+                fail(t);
+                return;
+            }
+            // Completing this receiver allows to resume the execution with the next one
+            super.allFinished();
+            future.addListener(f -> onPageWritten((ChannelFuture) f));
+        }
+
+        @Override
+        public void allFinished() {
+            RestResultSetStream.this.allFinished();
+            super.allFinished();
+        }
+
+        @Override
+        public void fail(Throwable t) {
+            RestResultSetStream.this.fail(t);
+            super.fail(t);
+        }
+    }
+
+    /**
+     * Collects the serialized rows of a page, a new buffer is allocated for each page.
+     */
+    private static final class PageOutputStream extends OutputStream {
+
+        private final ByteBufAllocator allocator;
+
+        @Nullable
+        private ByteBuf page;
+
+        PageOutputStream(ByteBufAllocator allocator) {
+            this.allocator = allocator;
+        }
+
+        @Override
+        public void write(int b) {
+            page().writeByte(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            page().writeBytes(b, off, len);
+        }
+
+        private ByteBuf page() {
+            if (page == null) {
+                page = allocator.buffer();
+            }
+            return page;
+        }
+
+        ByteBuf takePage() {
+            ByteBuf result = page == null ? Unpooled.EMPTY_BUFFER : page;
+            page = null;
+            return result;
+        }
+
+        void release() {
+            if (page != null) {
+                page.release();
+                page = null;
+            }
+        }
+    }
+}
@@ -92,6 +92,9 @@ public class SqlHttpHandler extends SimpleChannelInboundHandler<FullHttpRequest>
 
     private Session session;
 
+    @Nullable
+    private volatile RestResultSetStream activeStream;
+
     public SqlHttpHandler(Settings settings,
                           Sessions sessions,
                           Function<String, CircuitBreaker> circuitBreakerProvider,
@@ -110,8 +113,7 @@ public class SqlHttpHandler extends SimpleChannelInboundHandler<FullHttpRequest>
         if (request.uri().startsWith("/_sql")) {
             Session session = ensureSession(request);
             Map<String, List<String>> parameters = new QueryStringDecoder(request.uri()).parameters();
-            ByteBuf content = request.content();
-            handleSQLRequest(session, content, paramContainFlag(parameters, "types"))
+            handleSQLRequest(session, ctx, request, parameters)
                 .whenComplete((result, t) -> {
                     try {
                         sendResponse(session, ctx, request, parameters, result, t);
@@ -135,6 +137,15 @@ public class SqlHttpHandler extends SimpleChannelInboundHandler<FullHttpRequest>
         return values != null && (values.equals(singletonList("")) || values.equals(singletonList("true")));
     }
 
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        RestResultSetStream stream = activeStream;
+        if (stream != null) {
+            stream.channelWritabilityChanged();
+        }
+        super.channelWritabilityChanged(ctx);
+    }
+
     @Override
     public void channelUnregistered(ChannelHandlerContext ctx) throws Exception {
         if (session != null) {
@@ -148,8 +159,12 @@ public class SqlHttpHandler extends SimpleChannelInboundHandler<FullHttpRequest>
                               ChannelHandlerContext ctx,
                               FullHttpRequest request,
                               Map<String, List<String>> parameters,
-                              XContentBuilder result,
+                              @Nullable XContentBuilder result,
                               @Nullable Throwable t) {
+        if (t == null && result == null) {
+            // Result has been streamed, see RestResultSetStream
+            return;
+        }
         final HttpVersion httpVersion = request.protocolVersion();
         final DefaultFullHttpResponse resp;
         final ByteBuf content;
@@ -158,9 +173,7 @@ public class SqlHttpHandler extends SimpleChannelInboundHandler<FullHttpRequest>
             resp = new DefaultFullHttpResponse(httpVersion, HttpResponseStatus.OK, content);
             resp.headers().add(HttpHeaderNames.CONTENT_TYPE, result.contentType().mediaType());
         } else {
-            AccessControl accessControl = roles.getAccessControl(session.sessionSettings());
-            var throwable = SQLExceptions.prepareForClientTransmission(accessControl, t);
-            HttpError httpError = HttpError.fromThrowable(throwable);
+            HttpError httpError = toHttpError(session, t);
             String mediaType;
             boolean includeErrorTrace = paramContainFlag(parameters, "error_trace");
             try (XContentBuilder contentBuilder = httpError.toXContent(includeErrorTrace)) {
@@ -188,13 +201,25 @@ public class SqlHttpHandler extends SimpleChannelInboundHandler<FullHttpRequest>
         ctx.writeAndFlush(resp, promise);
     }
 
-    private CompletableFuture<XContentBuilder> handleSQLRequest(Session session, ByteBuf content, boolean includeTypes) {
+    private HttpError toHttpError(Session session, Throwable t) {
+        AccessControl accessControl = roles.getAccessControl(session.sessionSettings());
+        var throwable = SQLExceptions.prepareForClientTransmission(accessControl, t);
+        return HttpError.fromThrowable(throwable);
+    }
+
+    private CompletableFuture<XContentBuilder> handleSQLRequest(Session session,
+                                                                ChannelHandlerContext ctx,
+                                                                FullHttpRequest request,
+                                                                Map<String, List<String>> parameters) {
         SQLRequestParseContext parseContext;
+        RestResultSetStream.Format streamFormat;
         try {
-            parseContext = SQLRequestParser.parseSource(Netty4Utils.toBytesReference(content));
+            parseContext = SQLRequestParser.parseSource(Netty4Utils.toBytesReference(request.content()));
+            streamFormat = streamFormat(parameters);
         } catch (Throwable t) {
             return CompletableFuture.failedFuture(t);
         }
+        boolean includeTypes = paramContainFlag(parameters, "types");
         List<Object> args = parseContext.args();
         List<List<Object>> bulkArgs = parseContext.bulkArgs();
         if (bothProvided(args, bulkArgs)) {
@@ -203,7 +228,8 @@ public class SqlHttpHandler extends SimpleChannelInboundHandler<FullHttpRequest>
         }
         try {
             if (args != null || bulkArgs == null) {
-                return executeSimpleRequest(session, parseContext.stmt(), args, includeTypes);
+                return executeSimpleRequest(
+                    session, parseContext.stmt(), args, includeTypes, streamFormat, ctx, request, parameters);
             } else {
                 return executeBulkRequest(session, parseContext.stmt(), bulkArgs);
             }
@@ -212,6 +238,18 @@ public class SqlHttpHandler extends SimpleChannelInboundHandler<FullHttpRequest>
         }
     }
 
+    /**
+     * @return the format in which the result set is streamed or null if the result should be sent as a whole.
+     */
+    @Nullable
+    private static RestResultSetStream.Format streamFormat(Map<String, List<String>> parameters) {
+        List<String> format = parameters.get("format");
+        if (format == null || format.size() != 1 || format.get(0).equalsIgnoreCase("json")) {
+            return paramContainFlag(parameters, "stream") ? RestResultSetStream.Format.JSON : null;
+        }
+        return RestResultSetStream.Format.of(format.get(0));
+    }
+
     @VisibleForTesting
     Session ensureSession(FullHttpRequest request) {
         String defaultSchema = request.headers().get(REQUEST_HEADER_SCHEMA);
@@ -230,7 +268,11 @@ public class SqlHttpHandler extends SimpleChannelInboundHandler<FullHttpRequest>
     private CompletableFuture<XContentBuilder> executeSimpleRequest(Session session,
                                                                     String stmt,
                                                                     List<Object> args,
-                                                                    boolean includeTypes) throws IOException {
+                                                                    boolean includeTypes,
+                                                                    @Nullable RestResultSetStream.Format streamFormat,
+                                                                    ChannelHandlerContext ctx,
+                                                                    FullHttpRequest request,
+                                                                    Map<String, List<String>> parameters) throws IOException {
         long startTimeInNs = System.nanoTime();
         session.parse(UNNAMED, stmt, emptyList());
         session.bind(UNNAMED, UNNAMED, args == null ? emptyList() : args, null);
@@ -244,6 +286,25 @@ public class SqlHttpHandler extends SimpleChannelInboundHandler<FullHttpRequest>
             RamAccounting ramAccounting = new BlockBasedRamAccounting(
                 b -> breaker.addEstimateBytesAndMaybeBreak(b, "http-result"),
                 MAX_BLOCK_SIZE_IN_BYTES);
+            if (streamFormat != null) {
+                boolean includeErrorTrace = paramContainFlag(parameters, "error_trace");
+                RestResultSetStream stream = new RestResultSetStream(
+                    ctx,
+                    request,
+                    corsConfig,
+                    session,
+                    streamFormat,
+                    resultFields,
+                    startTimeInNs,
+                    includeTypes,
+                    ramAccounting,
+                    t -> toHttpError(session, t).toXContent(includeErrorTrace)
+                );
+                activeStream = stream;
+                return stream.start()
+                    .whenComplete((ignored, t) -> activeStream = null)
+                    .thenApply(ignored -> null);
+            }
             resultReceiver = new RestResultSetReceiver(
                 JsonXContent.builder(),
                 resultFields,
@@ -0,0 +1,576 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.rollup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
+
+import io.crate.common.collections.Lists;
+import io.crate.expression.scalar.RollupSketchFunction;
+import io.crate.metadata.ColumnIdent;
+import io.crate.metadata.Functions;
+import io.crate.metadata.Reference;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.doc.DocTableInfo;
+import io.crate.sql.Identifiers;
+import io.crate.types.DataType;
+import io.crate.types.DataTypes;
+import io.crate.types.TimestampType;
+
+/**
+ * A rollup pre-aggregates the rows of a table into buckets of a fixed time {@link Interval} per distinct
+ * combination of dimension values. The buckets are stored in a companion table named
+ * {@code <table>_rollup_<interval>} which is maintained while rows are inserted into the source table.
+ *
+ * <p>
+ * Rollups are declared with the {@code rollups} table parameter, e.g.
+ * {@code rollups = 'minute(ts), hour(ts) dimensions (device) measures (v) sketches (percentile(v))'}.
+ * All rollups of a table share the columns named by the clauses:
+ * </p>
+ * <ul>
+ *  <li>Dimensions are top-level {@code TEXT}, {@code BOOLEAN}, {@code IP} or integral columns</li>
+ *  <li>Measures are top-level numeric columns. For each measure the companion table stores
+ *  the count of non-null values, their sum, minimum and maximum.</li>
+ *  <li>Sketches store the partial state of an aggregation of a top-level column, see {@link RollupSketches}</li>
+ * </ul>
+ * Primary key, partition, generated columns and columns with a default expression can't be part of a rollup.
+ */
+public record Rollup(RelationName source,
+                     Interval interval,
+                     Reference timestamp,
+                     List<Reference> dimensions,
+                     List<Reference> measures,
+                     List<Sketch> sketches) {
+
+    /**
+     * The partial states of the aggregation {@code function} over {@code column}.
+     */
+    public record Sketch(String function, Reference column) {
+    }
+
+    public static final Setting<String> SETTING = Setting.simpleString(
+        "index.rollups",
+        Rollup::validate,
+        Property.IndexScope,
+        Property.Final
+    );
+
+    private static final Set<Integer> DIMENSION_TYPES = Set.of(
+        DataTypes.STRING.id(),
+        DataTypes.BOOLEAN.id(),
+        DataTypes.IP.id(),
+        DataTypes.BYTE.id(),
+        DataTypes.SHORT.id(),
+        DataTypes.INTEGER.id(),
+        DataTypes.LONG.id()
+    );
+
+    public static final String ROLLUP_KEY = "rollup_key";
+    public static final String ROW_COUNT = "row_count";
+
+    private static final Pattern DEFINITION = Pattern.compile("\\s*([a-zA-Z]+)\\s*\\(\\s*([a-zA-Z_][a-zA-Z0-9_]*)\\s*\\)\\s*");
+    private static final Pattern CLAUSE = Pattern.compile("\\b(dimensions|measures|sketches)\\s*\\(", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SKETCH = Pattern.compile("\\s*([a-zA-Z_]+)\\s*\\(\\s*([a-zA-Z_][a-zA-Z0-9_]*)\\s*\\)\\s*");
+    private static final Pattern COLUMN = Pattern.compile("\\s*([a-zA-Z_][a-zA-Z0-9_]*)\\s*");
+
+    public enum Interval {
+        SECOND(1000L),
+        MINUTE(60 * 1000L),
+        HOUR(60 * 60 * 1000L),
+        DAY(24 * 60 * 60 * 1000L);
+
+        private final long millis;
+
+        Interval(long millis) {
+            this.millis = millis;
+        }
+
+        public long millis() {
+            return millis;
+        }
+
+        public long truncate(long epochMillis) {
+            return Math.floorDiv(epochMillis, millis) * millis;
+        }
+
+        public String lowerCaseName() {
+            return name().toLowerCase(Locale.ENGLISH);
+        }
+
+        public static Interval of(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ENGLISH));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                    "Invalid rollup interval '" + name + "'. Supported intervals are: second, minute, hour and day");
+            }
+        }
+    }
+
+    /**
+     * The companion table which stores the buckets of this rollup.
+     */
+    public RelationName target() {
+        return target(source, interval);
+    }
+
+    private static RelationName target(RelationName source, Interval interval) {
+        return new RelationName(source.schema(), source.name() + "_rollup_" + interval.lowerCaseName());
+    }
+
+    /**
+     * The companion tables of the rollups of a table.
+     */
+    public static List<RelationName> targets(DocTableInfo table) {
+        return Lists.map(parse(SETTING.get(table.parameters())).definitions(), def -> target(table.ident(), def.interval()));
+    }
+
+    /**
+     * Restricts the rollup to the columns which exist in its companion table.
+     * Columns added to the source table after the companion table has been created are not part of the rollup.
+     */
+    public Rollup withColumnsOf(DocTableInfo target) {
+        List<Reference> targetDimensions = dimensions.stream()
+            .filter(dimension -> target.getReference(dimension.column()) != null)
+            .toList();
+        List<Reference> targetMeasures = measures.stream()
+            .filter(measure -> target.getReference(ColumnIdent.of(countColumn(measure))) != null)
+            .toList();
+        List<Sketch> targetSketches = sketches.stream()
+            .filter(sketch -> target.getReference(ColumnIdent.of(sketchColumn(sketch))) != null)
+            .toList();
+        return new Rollup(source, interval, timestamp, targetDimensions, targetMeasures, targetSketches);
+    }
+
+    public static String countColumn(Reference measure) {
+        return measure.column().name() + "_count";
+    }
+
+    public static String sumColumn(Reference measure) {
+        return measure.column().name() + "_sum";
+    }
+
+    public static String minColumn(Reference measure) {
+        return measure.column().name() + "_min";
+    }
+
+    public static String maxColumn(Reference measure) {
+        return measure.column().name() + "_max";
+    }
+
+    public static String sketchColumn(Sketch sketch) {
+        return sketch.column().column().name() + "_" + sketch.function();
+    }
+
+    /**
+     * The type of the sum of a measure, matching the return type of the {@code sum} aggregation.
+     */
+    public static DataType<?> sumType(Reference measure) {
+        DataType<?> type = measure.valueType();
+        if (type.id() == DataTypes.FLOAT.id() || type.id() == DataTypes.DOUBLE.id()) {
+            return type;
+        }
+        return DataTypes.LONG;
+    }
+
+    /**
+     * The columns of the companion table, in the order in which values are written.
+     */
+    public List<String> targetColumns() {
+        List<String> columns = new ArrayList<>(3 + dimensions.size() + measures.size() * 4 + sketches.size());
+        columns.add(ROLLUP_KEY);
+        columns.add(timestamp.column().name());
+        for (Reference dimension : dimensions) {
+            columns.add(dimension.column().name());
+        }
+        columns.add(ROW_COUNT);
+        for (Reference measure : measures) {
+            columns.add(countColumn(measure));
+            columns.add(sumColumn(measure));
+            columns.add(minColumn(measure));
+            columns.add(maxColumn(measure));
+        }
+        for (Sketch sketch : sketches) {
+            columns.add(sketchColumn(sketch));
+        }
+        return columns;
+    }
+
+    public String createTargetStmt() {
+        StringBuilder sb = new StringBuilder("CREATE TABLE ")
+            .append(target().sqlFqn())
+            .append(" (")
+            .append(ROLLUP_KEY).append(" TEXT PRIMARY KEY, ");
+        appendColumn(sb, timestamp.column().name(), timestamp.valueType());
+        for (Reference dimension : dimensions) {
+            appendColumn(sb, dimension.column().name(), dimension.valueType());
+        }
+        appendColumn(sb, ROW_COUNT, DataTypes.LONG);
+        for (Reference measure : measures) {
+            appendColumn(sb, countColumn(measure), DataTypes.LONG);
+            appendColumn(sb, sumColumn(measure), sumType(measure));
+            appendColumn(sb, minColumn(measure), measure.valueType());
+            appendColumn(sb, maxColumn(measure), measure.valueType());
+        }
+        for (Sketch sketch : sketches) {
+            // States are only read as a whole
+            sb.append(Identifiers.quoteIfNeeded(sketchColumn(sketch)))
+                .append(" TEXT INDEX OFF STORAGE WITH (columnstore = false), ");
+        }
+        sb.setLength(sb.length() - 2);
+        return sb.append(")").toString();
+    }
+
+    private static void appendColumn(StringBuilder sb, String name, DataType<?> type) {
+        sb.append(Identifiers.quoteIfNeeded(name)).append(" ").append(type.getName()).append(", ");
+    }
+
+    /**
+     * Statement to merge a bucket into the companion table; Takes the values of {@link #targetColumns()}
+     * as parameters. Meant to be executed as bulk operation to get the result of each bucket.
+     */
+    public String upsertStmt() {
+        List<String> columns = targetColumns();
+        String quotedColumns = columns.stream().map(Identifiers::quoteIfNeeded).collect(Collectors.joining(", "));
+        String row = columns.stream().map(c -> "?").collect(Collectors.joining(", ", "(", ")"));
+        StringBuilder sb = new StringBuilder("INSERT INTO ")
+            .append(target().sqlFqn())
+            .append(" (").append(quotedColumns).append(") VALUES ")
+            .append(row);
+        sb.append(" ON CONFLICT (").append(ROLLUP_KEY).append(") DO UPDATE SET ");
+        sb.append(ROW_COUNT).append(" = ").append(ROW_COUNT).append(" + excluded.").append(ROW_COUNT);
+        for (Reference measure : measures) {
+            String count = Identifiers.quoteIfNeeded(countColumn(measure));
+            String sum = Identifiers.quoteIfNeeded(sumColumn(measure));
+            String min = Identifiers.quoteIfNeeded(minColumn(measure));
+            String max = Identifiers.quoteIfNeeded(maxColumn(measure));
+            sb.append(", ").append(count).append(" = ").append(count).append(" + excluded.").append(count);
+            sb.append(", ").append(sum).append(" = ");
+            if (sumType(measure).id() == DataTypes.LONG.id()) {
+                appendSaturatedSum(sb, sum);
+            } else {
+                sb.append("coalesce(")
+                    .append(sum).append(" + excluded.").append(sum).append(", ")
+                    .append(sum).append(", excluded.").append(sum).append(")");
+            }
+            sb.append(", ").append(min).append(" = least(").append(min).append(", excluded.").append(min).append(")");
+            sb.append(", ").append(max).append(" = greatest(").append(max).append(", excluded.").append(max).append(")");
+        }
+        for (Sketch sketch : sketches) {
+            String state = Identifiers.quoteIfNeeded(sketchColumn(sketch));
+            sb.append(", ").append(state).append(" = ").append(RollupSketchFunction.MERGE_NAME).append("('")
+                .append(sketch.function()).append("', [")
+                .append(state).append(", excluded.").append(state).append("], NULL::")
+                .append(sketch.column().valueType().getName()).append(")");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Adds the sums like {@link RollupAccumulator} does, saturating at the bounds of {@code BIGINT}.
+     * The conditions are evaluated in order, so the bound checks can't overflow.
+     */
+    private static void appendSaturatedSum(StringBuilder sb, String sum) {
+        String max = Long.toString(Long.MAX_VALUE);
+        String min = "(-" + max + " - 1)";
+        String excluded = "excluded." + sum;
+        sb.append("CASE")
+            .append(" WHEN ").append(sum).append(" IS NULL THEN ").append(excluded)
+            .append(" WHEN ").append(excluded).append(" IS NULL THEN ").append(sum)
+            .append(" WHEN ").append(excluded).append(" > 0 THEN CASE WHEN ")
+                .append(sum).append(" > ").append(max).append(" - ").append(excluded)
+                .append(" THEN ").append(max)
+                .append(" ELSE ").append(sum).append(" + ").append(excluded).append(" END")
+            .append(" WHEN ").append(sum).append(" < ").append(min).append(" - ").append(excluded)
+                .append(" THEN ").append(min)
+            .append(" ELSE ").append(sum).append(" + ").append(excluded)
+            .append(" END");
+    }
+
+    private static void validate(String definition) {
+        parse(definition);
+    }
+
+    /**
+     * @return the intervals and timestamp column names of the rollups and the names of the columns of the clauses
+     */
+    static Spec parse(String definition) {
+        if (definition.isBlank()) {
+            return new Spec(List.of(), List.of(), List.of(), List.of());
+        }
+        Matcher clause = CLAUSE.matcher(definition);
+        int pos = clause.find() ? clause.start() : definition.length();
+        List<Definition> definitions = parseIntervals(definition.substring(0, pos));
+        Map<String, List<String>> clauses = new HashMap<>();
+        while (!definition.substring(pos).isBlank()) {
+            if (!clause.find(pos) || !definition.substring(pos, clause.start()).isBlank()) {
+                throw new IllegalArgumentException("Invalid rollup definition '" + definition.substring(pos).trim() +
+                    "'. Expected: dimensions (<columns>), measures (<columns>) or sketches (<function>(<column>), ...)");
+            }
+            String keyword = clause.group(1).toLowerCase(Locale.ENGLISH);
+            int end = closingParenthesis(definition, clause.end());
+            if (end < 0) {
+                throw new IllegalArgumentException("Missing closing parenthesis of rollup " + keyword);
+            }
+            if (clauses.put(keyword, items(definition.substring(clause.end(), end))) != null) {
+                throw new IllegalArgumentException("Rollup " + keyword + " are defined more than once");
+            }
+            pos = end + 1;
+        }
+        List<String> dimensions = Lists.map(clauses.getOrDefault("dimensions", List.of()), Rollup::parseColumn);
+        List<String> measures = Lists.map(clauses.getOrDefault("measures", List.of()), Rollup::parseColumn);
+        List<SketchDefinition> sketches = Lists.map(clauses.getOrDefault("sketches", List.of()), Rollup::parseSketch);
+        return new Spec(definitions, dimensions, measures, sketches);
+    }
+
+    private static List<Definition> parseIntervals(String intervals) {
+        List<Definition> result = new ArrayList<>();
+        Set<Interval> seen = new HashSet<>();
+        for (String part : intervals.split(",")) {
+            Matcher matcher = DEFINITION.matcher(part);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException(
+                    "Invalid rollup definition '" + part.trim() + "'. Expected: <interval>(<timestamp column>)");
+            }
+            Interval interval = Interval.of(matcher.group(1));
+            if (!seen.add(interval)) {
+                throw new IllegalArgumentException("Rollup interval '" + interval.lowerCaseName() + "' is defined more than once");
+            }
+            result.add(new Definition(interval, matcher.group(2).toLowerCase(Locale.ENGLISH)));
+        }
+        return result;
+    }
+
+    private static int closingParenthesis(String definition, int start) {
+        int depth = 1;
+        for (int i = start; i < definition.length(); i++) {
+            char c = definition.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<String> items(String list) {
+        return list.isBlank() ? List.of() : List.of(list.split(","));
+    }
+
+    private static String parseColumn(String item) {
+        Matcher matcher = COLUMN.matcher(item);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid rollup column '" + item.trim() + "'");
+        }
+        return matcher.group(1).toLowerCase(Locale.ENGLISH);
+    }
+
+    private static SketchDefinition parseSketch(String item) {
+        Matcher matcher = SKETCH.matcher(item);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(
+                "Invalid rollup sketch '" + item.trim() + "'. Expected: <function>(<column>)");
+        }
+        String function = matcher.group(1).toLowerCase(Locale.ENGLISH);
+        if (!RollupSketches.FUNCTIONS.contains(function)) {
+            throw new IllegalArgumentException("Unsupported rollup sketch function '" + function +
+                "'. Supported functions are: " + RollupSketches.HYPERLOGLOG_DISTINCT + " and " + RollupSketches.PERCENTILE);
+        }
+        return new SketchDefinition(function, matcher.group(2).toLowerCase(Locale.ENGLISH));
+    }
+
+    record Spec(List<Definition> definitions,
+                List<String> dimensions,
+                List<String> measures,
+                List<SketchDefinition> sketches) {
+    }
+
+    record Definition(Interval interval, String timestamp) {
+    }
+
+    record SketchDefinition(String function, String column) {
+    }
+
+    public static List<Rollup> of(DocTableInfo table) {
+        return of(
+            table.ident(),
+            SETTING.get(table.parameters()),
+            table.columns(),
+            table.primaryKey(),
+            table.partitionedBy()
+        );
+    }
+
+    /**
+     * Creates the rollups of a table.
+     *
+     * @param columns the columns of the table. Only top-level columns are considered.
+     * @throws IllegalArgumentException if the definition is invalid for the given columns
+     */
+    public static List<Rollup> of(RelationName source,
+                                  String definition,
+                                  Collection<Reference> columns,
+                                  List<ColumnIdent> primaryKey,
+                                  List<ColumnIdent> partitionedBy) {
+        Spec spec = parse(definition);
+        if (spec.definitions().isEmpty()) {
+            return List.of();
+        }
+        Set<String> used = new HashSet<>();
+        List<Reference> dimensions = new ArrayList<>(spec.dimensions().size());
+        for (String name : spec.dimensions()) {
+            Reference ref = column(source, columns, primaryKey, partitionedBy, "dimension", name);
+            if (!DIMENSION_TYPES.contains(ref.valueType().id())) {
+                throw new IllegalArgumentException(
+                    "Rollup dimension column '" + name + "' must be a TEXT, BOOLEAN, IP or integral column");
+            }
+            if (!used.add(name)) {
+                throw new IllegalArgumentException("Column '" + name + "' is used more than once as rollup dimension or measure");
+            }
+            dimensions.add(ref);
+        }
+        List<Reference> measures = new ArrayList<>(spec.measures().size());
+        for (String name : spec.measures()) {
+            Reference ref = column(source, columns, primaryKey, partitionedBy, "measure", name);
+            if (!DataTypes.isNumericPrimitive(ref.valueType())) {
+                throw new IllegalArgumentException("Rollup measure column '" + name + "' must be a numeric column");
+            }
+            if (!used.add(name)) {
+                throw new IllegalArgumentException("Column '" + name + "' is used more than once as rollup dimension or measure");
+            }
+            measures.add(ref);
+        }
+        List<Sketch> sketches = new ArrayList<>(spec.sketches().size());
+        for (SketchDefinition def : spec.sketches()) {
+            Reference ref = column(source, columns, primaryKey, partitionedBy, "sketch", def.column());
+            if (!DataTypes.isPrimitive(ref.valueType())) {
+                throw new IllegalArgumentException("Rollup sketch column '" + def.column() + "' must be a primitive column");
+            }
+            Sketch sketch = new Sketch(def.function(), ref);
+            if (sketches.contains(sketch)) {
+                throw new IllegalArgumentException(
+                    "Rollup sketch '" + def.function() + "(" + def.column() + ")' is defined more than once");
+            }
+            sketches.add(sketch);
+        }
+        List<Rollup> rollups = new ArrayList<>(spec.definitions().size());
+        for (Definition def : spec.definitions()) {
+            Reference timestamp = null;
+            for (Reference ref : columns) {
+                if (ref.column().isRoot() && ref.column().name().equals(def.timestamp())) {
+                    timestamp = ref;
+                    break;
+                }
+            }
+            if (timestamp == null) {
+                throw new IllegalArgumentException(
+                    "Rollup timestamp column '" + def.timestamp() + "' doesn't exist in table '" + source.sqlFqn() + "'");
+            }
+            int typeId = timestamp.valueType().id();
+            if ((typeId != TimestampType.ID_WITH_TZ && typeId != TimestampType.ID_WITHOUT_TZ)
+                || !isPlain(timestamp)
+                || partitionedBy.contains(timestamp.column())) {
+                throw new IllegalArgumentException(
+                    "Rollup timestamp column '" + def.timestamp() +
+                    "' must be a TIMESTAMP column without a default expression and must not be a generated or partition column");
+            }
+            rollups.add(new Rollup(
+                source,
+                def.interval(),
+                timestamp,
+                List.copyOf(dimensions),
+                List.copyOf(measures),
+                List.copyOf(sketches)
+            ));
+        }
+        Rollup rollup = rollups.get(0);
+        Set<String> names = new HashSet<>();
+        for (Reference ref : columns) {
+            if (ref.column().isRoot()) {
+                names.add(ref.column().name());
+            }
+        }
+        for (String targetColumn : rollup.targetColumns()) {
+            boolean isSourceColumn = targetColumn.equals(rollup.timestamp.column().name())
+                || rollup.dimensions.stream().anyMatch(d -> d.column().name().equals(targetColumn));
+            if (!isSourceColumn && names.contains(targetColumn)) {
+                throw new IllegalArgumentException(
+                    "Column '" + targetColumn + "' of table '" + source.sqlFqn() + "' conflicts with a column of its rollups");
+            }
+        }
+        return rollups;
+    }
+
+    /**
+     * Validates that the sketches can be built for the types of their columns.
+     */
+    public void validateSketches(Functions functions) {
+        for (Sketch sketch : sketches) {
+            try {
+                RollupSketches.aggregation(functions, sketch.function(), sketch.column().valueType());
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Rollup sketch '" + sketch.function() + "(" +
+                    sketch.column().column().name() + ")' is not supported: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    private static Reference column(RelationName source,
+                                    Collection<Reference> columns,
+                                    List<ColumnIdent> primaryKey,
+                                    List<ColumnIdent> partitionedBy,
+                                    String kind,
+                                    String name) {
+        for (Reference ref : columns) {
+            ColumnIdent column = ref.column();
+            if (column.isRoot() && column.name().equals(name)) {
+                if (column.isSystemColumn()
+                    || primaryKey.contains(column)
+                    || partitionedBy.contains(column)
+                    || !isPlain(ref)) {
+                    throw new IllegalArgumentException("Rollup " + kind + " column '" + name +
+                        "' must not be a primary key, partition or generated column or have a default expression");
+                }
+                return ref;
+            }
+        }
+        throw new IllegalArgumentException(
+            "Rollup " + kind + " column '" + name + "' doesn't exist in table '" + source.sqlFqn() + "'");
+    }
+
+    private static boolean isPlain(Reference ref) {
+        return !ref.isGenerated() && ref.defaultExpression() == null;
+    }
+}
@@ -0,0 +1,426 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.rollup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.util.RamUsageEstimator;
+
+import io.crate.data.breaker.RamAccounting;
+import io.crate.execution.engine.aggregation.AggregationFunction;
+import io.crate.metadata.Functions;
+import io.crate.metadata.Reference;
+import io.crate.rollup.Rollup.Sketch;
+import io.crate.types.DataType;
+import io.crate.types.DataTypes;
+
+/**
+ * Aggregates rows into the buckets of {@link Rollup}s.
+ * <p>
+ * Not thread-safe.
+ * </p>
+ */
+public final class RollupAccumulator {
+
+    private final Functions functions;
+    private final Map<Rollup, Map<String, Bucket>> buckets = new HashMap<>();
+    private final Map<List<Reference>, Map<Rollup, int[]>> positionsByColumns = new IdentityHashMap<>();
+    private final Map<Rollup, List<AggregationFunction<Object, ?>>> sketchAggregations = new HashMap<>();
+    private int numBuckets = 0;
+    private long ramBytesUsed = 0;
+
+    /**
+     * Tracks the memory of the sketch states, see {@link #ramBytesUsed()}.
+     */
+    private final RamAccounting ramAccounting = new RamAccounting() {
+
+        @Override
+        public void addBytes(long bytes) {
+            ramBytesUsed += bytes;
+        }
+
+        @Override
+        public long totalBytes() {
+            return ramBytesUsed;
+        }
+
+        @Override
+        public void release() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    /**
+     * @param functions used to look up the aggregations of the sketches of the rollups
+     */
+    public RollupAccumulator(Functions functions) {
+        this.functions = functions;
+    }
+
+    /**
+     * Adds a row to the buckets of the rollup.
+     *
+     * @param columns the columns of the values. Columns which are not part of the rollup are ignored,
+     *                rollup columns which are missing are treated as null.
+     *                Must be the same instance for rows with the same columns.
+     */
+    public void add(Rollup rollup, List<Reference> columns, Object[] values) {
+        int[] positions = positionsByColumns
+            .computeIfAbsent(columns, k -> new HashMap<>())
+            .computeIfAbsent(rollup, r -> positions(r, columns));
+
+        Object timestamp = valueAt(values, positions[0]);
+        Long bucketStart = timestamp == null ? null : rollup.interval().truncate(((Number) timestamp).longValue());
+        int numDimensions = rollup.dimensions().size();
+        Object[] dimensions = new Object[numDimensions];
+        for (int i = 0; i < numDimensions; i++) {
+            dimensions[i] = valueAt(values, positions[1 + i]);
+        }
+        String key = key(bucketStart, dimensions);
+        Bucket bucket = buckets
+            .computeIfAbsent(rollup, r -> new HashMap<>())
+            .computeIfAbsent(key, k -> {
+                numBuckets++;
+                ramBytesUsed += Bucket.ramBytes(rollup, k, dimensions);
+                return new Bucket(bucketStart, dimensions, rollup.measures().size(), rollup.sketches().size());
+            });
+        bucket.rowCount++;
+        List<Reference> measures = rollup.measures();
+        for (int i = 0; i < measures.size(); i++) {
+            Object value = valueAt(values, positions[1 + numDimensions + i]);
+            if (value != null) {
+                bucket.add(i, measures.get(i).valueType(), (Number) value);
+            }
+        }
+        List<Sketch> sketches = rollup.sketches();
+        if (!sketches.isEmpty()) {
+            List<AggregationFunction<Object, ?>> aggregations = sketchAggregations(rollup);
+            int offset = 1 + numDimensions + measures.size();
+            for (int i = 0; i < sketches.size(); i++) {
+                Object value = valueAt(values, positions[offset + i]);
+                if (value != null) {
+                    AggregationFunction<Object, ?> aggregation = aggregations.get(i);
+                    Object state = bucket.sketchStates[i] == null
+                        ? RollupSketches.newState(aggregation, ramAccounting)
+                        : bucket.sketchStates[i];
+                    bucket.sketchStates[i] = RollupSketches.iterate(
+                        sketches.get(i).function(),
+                        aggregation,
+                        ramAccounting,
+                        state,
+                        value
+                    );
+                }
+            }
+        }
+    }
+
+    private List<AggregationFunction<Object, ?>> sketchAggregations(Rollup rollup) {
+        return sketchAggregations.computeIfAbsent(rollup, r -> r.sketches().stream()
+            .<AggregationFunction<Object, ?>>map(
+                sketch -> RollupSketches.aggregation(functions, sketch.function(), sketch.column().valueType()))
+            .toList());
+    }
+
+    /**
+     * Adds all buckets of another accumulator to this one.
+     */
+    public void addAll(RollupAccumulator other) {
+        // Over-estimates if buckets are merged
+        ramBytesUsed += other.ramBytesUsed;
+        for (var entry : other.buckets.entrySet()) {
+            Rollup rollup = entry.getKey();
+            Map<String, Bucket> targetBuckets = buckets.computeIfAbsent(rollup, r -> new HashMap<>());
+            for (var bucketEntry : entry.getValue().entrySet()) {
+                Bucket existing = targetBuckets.putIfAbsent(bucketEntry.getKey(), bucketEntry.getValue());
+                if (existing == null) {
+                    numBuckets++;
+                } else {
+                    existing.merge(bucketEntry.getValue(), rollup.measures(), sketchAggregations(rollup));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds rows as returned by {@link #rows(Rollup)}.
+     */
+    public void addRows(Rollup rollup, List<Object[]> rows) {
+        Map<String, Bucket> targetBuckets = buckets.computeIfAbsent(rollup, r -> new HashMap<>());
+        List<Reference> measures = rollup.measures();
+        List<AggregationFunction<Object, ?>> aggregations = sketchAggregations(rollup);
+        int numDimensions = rollup.dimensions().size();
+        for (Object[] row : rows) {
+            int idx = 2;
+            Object[] dimensions = new Object[numDimensions];
+            for (int i = 0; i < numDimensions; i++) {
+                dimensions[i] = row[idx++];
+            }
+            Bucket bucket = new Bucket((Long) row[1], dimensions, measures.size(), aggregations.size());
+            bucket.rowCount = (long) row[idx++];
+            for (int i = 0; i < measures.size(); i++) {
+                bucket.counts[i] = (long) row[idx++];
+                bucket.sums[i] = (Number) row[idx++];
+                bucket.mins[i] = (Number) row[idx++];
+                bucket.maxs[i] = (Number) row[idx++];
+            }
+            for (int i = 0; i < aggregations.size(); i++) {
+                String state = (String) row[idx++];
+                if (state != null) {
+                    bucket.sketchStates[i] = RollupSketches.deserialize(aggregations.get(i), state);
+                    // The serialized state is about as large as the state
+                    ramBytesUsed += state.length();
+                }
+            }
+            String key = (String) row[0];
+            Bucket existing = targetBuckets.putIfAbsent(key, bucket);
+            if (existing == null) {
+                numBuckets++;
+                ramBytesUsed += Bucket.ramBytes(rollup, key, dimensions);
+            } else {
+                existing.merge(bucket, measures, aggregations);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return numBuckets == 0;
+    }
+
+    public int numBuckets() {
+        return numBuckets;
+    }
+
+    /**
+     * @return an estimate of the memory used by the buckets
+     */
+    public long ramBytesUsed() {
+        return ramBytesUsed;
+    }
+
+    public Iterable<Rollup> rollups() {
+        return buckets.keySet();
+    }
+
+    /**
+     * @return the rows to write into the companion table of the rollup, see {@link Rollup#targetColumns()}.
+     */
+    public List<Object[]> rows(Rollup rollup) {
+        Map<String, Bucket> rollupBuckets = buckets.getOrDefault(rollup, Map.of());
+        List<Object[]> rows = new ArrayList<>(rollupBuckets.size());
+        List<Reference> measures = rollup.measures();
+        List<AggregationFunction<Object, ?>> aggregations = rollup.sketches().isEmpty() ? List.of() : sketchAggregations(rollup);
+        int numColumns = rollup.targetColumns().size();
+        for (var entry : rollupBuckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            Object[] row = new Object[numColumns];
+            int idx = 0;
+            row[idx++] = entry.getKey();
+            row[idx++] = bucket.timestamp;
+            for (Object dimension : bucket.dimensions) {
+                row[idx++] = dimension;
+            }
+            row[idx++] = bucket.rowCount;
+            for (int i = 0; i < measures.size(); i++) {
+                DataType<?> type = measures.get(i).valueType();
+                row[idx++] = bucket.counts[i];
+                row[idx++] = bucket.sums[i] == null ? null : Rollup.sumType(measures.get(i)).sanitizeValue(bucket.sums[i]);
+                row[idx++] = bucket.mins[i] == null ? null : type.sanitizeValue(bucket.mins[i]);
+                row[idx++] = bucket.maxs[i] == null ? null : type.sanitizeValue(bucket.maxs[i]);
+            }
+            for (int i = 0; i < aggregations.size(); i++) {
+                Object state = bucket.sketchStates[i];
+                row[idx++] = state == null ? null : RollupSketches.serialize(aggregations.get(i), state);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static int[] positions(Rollup rollup, List<Reference> columns) {
+        List<Reference> dimensions = rollup.dimensions();
+        List<Reference> measures = rollup.measures();
+        List<Sketch> sketches = rollup.sketches();
+        int[] positions = new int[1 + dimensions.size() + measures.size() + sketches.size()];
+        positions[0] = indexOf(columns, rollup.timestamp());
+        for (int i = 0; i < dimensions.size(); i++) {
+            positions[1 + i] = indexOf(columns, dimensions.get(i));
+        }
+        for (int i = 0; i < measures.size(); i++) {
+            positions[1 + dimensions.size() + i] = indexOf(columns, measures.get(i));
+        }
+        for (int i = 0; i < sketches.size(); i++) {
+            positions[1 + dimensions.size() + measures.size() + i] = indexOf(columns, sketches.get(i).column());
+        }
+        return positions;
+    }
+
+    private static int indexOf(List<Reference> columns, Reference ref) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).column().equals(ref.column())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Object valueAt(Object[] values, int position) {
+        return position < 0 || position >= values.length ? null : values[position];
+    }
+
+    /**
+     * Identifies a bucket by its start and dimension values.
+     * Values are prefixed with their length to avoid collisions, nulls are encoded as {@code -}.
+     */
+    static String key(Long bucketStart, Object[] dimensions) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(bucketStart == null ? "-" : bucketStart);
+        for (Object dimension : dimensions) {
+            sb.append('|');
+            if (dimension == null) {
+                sb.append('-');
+            } else {
+                String value = dimension.toString();
+                sb.append(value.length()).append(':').append(value);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Sums of integral measures saturate at the bounds of {@code BIGINT} instead of failing the write.
+     */
+    static long saturatedAdd(long a, long b) {
+        long result = a + b;
+        if (((a ^ result) & (b ^ result)) < 0) {
+            return a < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return result;
+    }
+
+    private static final class Bucket {
+
+        private static final long SHALLOW_SIZE = RamUsageEstimator.shallowSizeOfInstance(Bucket.class);
+        private static final long MEASURE_SIZE = Long.BYTES
+            + 3L * (RamUsageEstimator.NUM_BYTES_OBJECT_REF + RamUsageEstimator.NUM_BYTES_OBJECT_HEADER + Long.BYTES);
+
+        private final Long timestamp;
+        private final Object[] dimensions;
+        private final long[] counts;
+        private final Number[] sums;
+        private final Number[] mins;
+        private final Number[] maxs;
+        private final Object[] sketchStates;
+        private long rowCount;
+
+        Bucket(Long timestamp, Object[] dimensions, int numMeasures, int numSketches) {
+            this.timestamp = timestamp;
+            this.dimensions = dimensions;
+            this.counts = new long[numMeasures];
+            this.sums = new Number[numMeasures];
+            this.mins = new Number[numMeasures];
+            this.maxs = new Number[numMeasures];
+            this.sketchStates = new Object[numSketches];
+        }
+
+        /**
+         * @return the memory of a bucket and its key without its sketch states
+         */
+        @SuppressWarnings("unchecked")
+        static long ramBytes(Rollup rollup, String key, Object[] dimensions) {
+            long bytes = SHALLOW_SIZE + RamUsageEstimator.sizeOf(key) + RamUsageEstimator.shallowSizeOf(dimensions);
+            List<Reference> dimensionColumns = rollup.dimensions();
+            for (int i = 0; i < dimensions.length; i++) {
+                bytes += ((DataType<Object>) dimensionColumns.get(i).valueType()).valueBytes(dimensions[i]);
+            }
+            int numMeasures = rollup.measures().size();
+            bytes += 4L * RamUsageEstimator.NUM_BYTES_ARRAY_HEADER + numMeasures * MEASURE_SIZE;
+            bytes += RamUsageEstimator.NUM_BYTES_ARRAY_HEADER
+                + (long) rollup.sketches().size() * RamUsageEstimator.NUM_BYTES_OBJECT_REF;
+            return bytes;
+        }
+
+        void add(int measure, DataType<?> type, Number value) {
+            counts[measure]++;
+            boolean isFloatingPoint = isFloatingPoint(type);
+            sums[measure] = sum(sums[measure], value, isFloatingPoint);
+            if (mins[measure] == null || compare(value, mins[measure], isFloatingPoint) < 0) {
+                mins[measure] = value;
+            }
+            if (maxs[measure] == null || compare(value, maxs[measure], isFloatingPoint) > 0) {
+                maxs[measure] = value;
+            }
+        }
+
+        void merge(Bucket other, List<Reference> measures, List<AggregationFunction<Object, ?>> sketchAggregations) {
+            rowCount += other.rowCount;
+            for (int i = 0; i < sketchStates.length; i++) {
+                if (sketchStates[i] == null) {
+                    sketchStates[i] = other.sketchStates[i];
+                } else if (other.sketchStates[i] != null) {
+                    sketchStates[i] = RollupSketches.reduce(sketchAggregations.get(i), sketchStates[i], other.sketchStates[i]);
+                }
+            }
+            for (int i = 0; i < measures.size(); i++) {
+                if (other.counts[i] == 0) {
+                    continue;
+                }
+                boolean isFloatingPoint = isFloatingPoint(measures.get(i).valueType());
+                counts[i] += other.counts[i];
+                sums[i] = sum(sums[i], other.sums[i], isFloatingPoint);
+                if (mins[i] == null || compare(other.mins[i], mins[i], isFloatingPoint) < 0) {
+                    mins[i] = other.mins[i];
+                }
+                if (maxs[i] == null || compare(other.maxs[i], maxs[i], isFloatingPoint) > 0) {
+                    maxs[i] = other.maxs[i];
+                }
+            }
+        }
+
+        private static boolean isFloatingPoint(DataType<?> type) {
+            return type.id() == DataTypes.FLOAT.id() || type.id() == DataTypes.DOUBLE.id();
+        }
+
+        private static Number sum(Number current, Number value, boolean isFloatingPoint) {
+            if (current == null) {
+                return isFloatingPoint ? (Number) value.doubleValue() : (Number) value.longValue();
+            }
+            if (isFloatingPoint) {
+                return current.doubleValue() + value.doubleValue();
+            }
+            return saturatedAdd(current.longValue(), value.longValue());
+        }
+
+        private static int compare(Number a, Number b, boolean isFloatingPoint) {
+            return isFloatingPoint
+                ? Double.compare(a.doubleValue(), b.doubleValue())
+                : Long.compare(a.longValue(), b.longValue());
+        }
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.rollup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.breaker.CircuitBreakingException;
+import org.elasticsearch.common.component.AbstractLifecycleComponent;
+import org.elasticsearch.common.inject.Inject;
+import org.elasticsearch.common.inject.Provider;
+import org.elasticsearch.common.inject.Singleton;
+import org.elasticsearch.indices.breaker.CircuitBreakerService;
+import org.elasticsearch.indices.breaker.HierarchyCircuitBreakerService;
+import org.elasticsearch.threadpool.Scheduler;
+import org.elasticsearch.threadpool.ThreadPool;
+
+import io.crate.action.sql.BaseResultReceiver;
+import io.crate.action.sql.CollectingResultReceiver;
+import io.crate.action.sql.Session;
+import io.crate.action.sql.Sessions;
+import io.crate.common.unit.TimeValue;
+import io.crate.data.Row;
+import io.crate.data.Row1;
+import io.crate.exceptions.RelationUnknown;
+import io.crate.metadata.Functions;
+import io.crate.metadata.NodeContext;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.Schemas;
+import io.crate.metadata.doc.DocTableInfo;
+
+/**
+ * Collects the rollup buckets of rows inserted on this node and periodically merges them into
+ * the companion tables of the rollups.
+ * <p>
+ * Pending buckets are only kept in memory, they're lost if the node stops unexpectedly.
+ * Their memory is accounted on the query circuit breaker. New buckets are dropped if the breaker trips or
+ * if there are {@link #MAX_PENDING_BUCKETS} pending buckets, e.g. because the companion tables can't be written.
+ * </p>
+ */
+@Singleton
+public class RollupService extends AbstractLifecycleComponent {
+
+    private static final Logger LOGGER = LogManager.getLogger(RollupService.class);
+
+    static final TimeValue FLUSH_INTERVAL = TimeValue.timeValueSeconds(1);
+    static final int FLUSH_THRESHOLD = 10_000;
+    static final int MAX_PENDING_BUCKETS = 100_000;
+    static final int MAX_ROWS_PER_STATEMENT = 500;
+
+    private static final String UNNAMED = "";
+    private static final String BREAKER_LABEL = "rollups";
+
+    private final Provider<Sessions> sessions;
+    private final Schemas schemas;
+    private final Functions functions;
+    private final ThreadPool threadPool;
+    private final CircuitBreaker breaker;
+
+    private RollupAccumulator pending;
+    private long droppedBuckets = 0;
+    private Scheduler.Cancellable flushRoutine;
+
+    @Inject
+    public RollupService(Provider<Sessions> sessions,
+                         NodeContext nodeCtx,
+                         ThreadPool threadPool,
+                         CircuitBreakerService circuitBreakerService) {
+        this.sessions = sessions;
+        this.schemas = nodeCtx.schemas();
+        this.functions = nodeCtx.functions();
+        this.threadPool = threadPool;
+        this.breaker = circuitBreakerService.getBreaker(HierarchyCircuitBreakerService.QUERY);
+        this.pending = newAccumulator();
+    }
+
+    public RollupAccumulator newAccumulator() {
+        return new RollupAccumulator(functions);
+    }
+
+    /**
+     * @return the rollups of the table which have a companion table.
+     */
+    public List<Rollup> rollups(DocTableInfo table) {
+        return rollups(table, schemas);
+    }
+
+    public static List<Rollup> rollups(DocTableInfo table, Schemas schemas) {
+        if (Rollup.SETTING.get(table.parameters()).isEmpty()) {
+            return List.of();
+        }
+        List<Rollup> rollups;
+        try {
+            rollups = Rollup.of(table);
+        } catch (IllegalArgumentException e) {
+            // The timestamp column may have been dropped
+            return List.of();
+        }
+        List<Rollup> result = new ArrayList<>(rollups.size());
+        for (Rollup rollup : rollups) {
+            try {
+                DocTableInfo target = schemas.getTableInfo(rollup.target());
+                result.add(rollup.withColumnsOf(target));
+            } catch (RelationUnknown e) {
+                // Dropped companion tables aren't maintained anymore
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds buckets which will be merged into the companion tables with the next flush.
+     * Never fails, the buckets are dropped if they can't be added.
+     */
+    public void add(RollupAccumulator accumulator) {
+        if (accumulator.isEmpty()) {
+            return;
+        }
+        try {
+            if (addPending(accumulator) >= FLUSH_THRESHOLD) {
+                threadPool.generic().execute(this::flush);
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Failed to add buckets to rollup tables", e);
+        }
+    }
+
+    /**
+     * @return the number of pending buckets
+     */
+    private synchronized int addPending(RollupAccumulator accumulator) {
+        if (pending.numBuckets() >= MAX_PENDING_BUCKETS) {
+            droppedBuckets += accumulator.numBuckets();
+            return pending.numBuckets();
+        }
+        try {
+            breaker.addEstimateBytesAndMaybeBreak(accumulator.ramBytesUsed(), BREAKER_LABEL);
+        } catch (CircuitBreakingException e) {
+            droppedBuckets += accumulator.numBuckets();
+            return pending.numBuckets();
+        }
+        pending.addAll(accumulator);
+        return pending.numBuckets();
+    }
+
+    /**
+     * Merges all pending buckets into the companion tables.
+     * Buckets which couldn't be written are kept for the next flush if the companion table still exists.
+     */
+    public CompletableFuture<Void> flush() {
+        RollupAccumulator buckets;
+        synchronized (this) {
+            if (droppedBuckets > 0) {
+                LOGGER.warn("Dropped {} rollup buckets, there were too many pending buckets or not enough memory",
+                    droppedBuckets);
+                droppedBuckets = 0;
+            }
+            if (pending.isEmpty()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            buckets = pending;
+            pending = newAccumulator();
+        }
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        for (Rollup rollup : buckets.rollups()) {
+            List<Object[]> rows = buckets.rows(rollup);
+            for (int i = 0; i < rows.size(); i += MAX_ROWS_PER_STATEMENT) {
+                List<Object[]> chunk = rows.subList(i, Math.min(rows.size(), i + MAX_ROWS_PER_STATEMENT));
+                futures.add(upsert(rollup, chunk).thenAccept(failedRows -> {
+                    if (failedRows.isEmpty()) {
+                        return;
+                    }
+                    if (schemas.tableExists(rollup.target())) {
+                        LOGGER.warn("Failed to write {} buckets into rollup table {}, will retry",
+                            failedRows.size(), rollup.target());
+                        RollupAccumulator retry = newAccumulator();
+                        retry.addRows(rollup, failedRows);
+                        addPending(retry);
+                    }
+                }));
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+            .exceptionally(err -> null)
+            .whenComplete((result, err) -> breaker.addWithoutBreaking(-buckets.ramBytesUsed()));
+    }
+
+    /**
+     * Merges the rows into the companion table with a bulk operation, which reports the result of each row.
+     * Rows which were written must not be retried, the upsert adds their values to the stored bucket.
+     *
+     * @return the rows which weren't written
+     */
+    private CompletableFuture<List<Object[]>> upsert(Rollup rollup, List<Object[]> rows) {
+        long[] rowCounts = new long[rows.size()];
+        Arrays.fill(rowCounts, Row1.ERROR);
+        Session session = sessions.get().newSystemSession();
+        CompletableFuture<?> result;
+        try {
+            session.parse(UNNAMED, rollup.upsertStmt(), List.of());
+            for (int i = 0; i < rows.size(); i++) {
+                int idx = i;
+                session.bind(UNNAMED, UNNAMED, Arrays.asList(rows.get(i)), null);
+                session.execute(UNNAMED, 0, new BaseResultReceiver() {
+
+                    @Override
+                    public void setNextRow(Row row) {
+                        rowCounts[idx] = (long) row.get(0);
+                    }
+                });
+            }
+            result = session.sync();
+        } catch (Throwable t) {
+            result = CompletableFuture.failedFuture(t);
+        }
+        return result.handle((ignored, err) -> {
+            session.close();
+            if (err != null) {
+                LOGGER.debug("Failed to write buckets into rollup table " + rollup.target(), err);
+            }
+            List<Object[]> failedRows = new ArrayList<>();
+            for (int i = 0; i < rowCounts.length; i++) {
+                if (rowCounts[i] == Row1.ERROR) {
+                    failedRows.add(rows.get(i));
+                }
+            }
+            return failedRows;
+        });
+    }
+
+    /**
+     * Creates the companion tables of the rollups.
+     */
+    public CompletableFuture<Long> createTargets(List<Rollup> rollups) {
+        CompletableFuture<Long> result = CompletableFuture.completedFuture(0L);
+        for (Rollup rollup : rollups) {
+            result = result.thenCompose(ignored -> exec(rollup.createTargetStmt(), Row.EMPTY));
+        }
+        return result;
+    }
+
+    /**
+     * Drops the companion tables of the rollups of a table.
+     */
+    public CompletableFuture<Long> dropTargets(List<RelationName> targets) {
+        CompletableFuture<Long> result = CompletableFuture.completedFuture(0L);
+        for (RelationName target : targets) {
+            result = result.thenCompose(ignored -> exec("DROP TABLE IF EXISTS " + target.sqlFqn(), Row.EMPTY));
+        }
+        return result;
+    }
+
+    private CompletableFuture<Long> exec(String stmt, Row params) {
+        var rowCountReceiver = new CollectingResultReceiver<>(Collectors.summingLong(row -> (long) row.get(0)));
+        try (var session = sessions.get().newSystemSession()) {
+            session.quickExec(stmt, rowCountReceiver, params);
+        } catch (Throwable t) {
+            return CompletableFuture.failedFuture(t);
+        }
+        return rowCountReceiver.completionFuture();
+    }
+
+    @Override
+    protected void doStart() {
+        flushRoutine = threadPool.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL, ThreadPool.Names.GENERIC);
+    }
+
+    @Override
+    protected void doStop() {
+        if (flushRoutine != null) {
+            flushRoutine.cancel();
+            flushRoutine = null;
+        }
+        flush();
+    }
+
+    @Override
+    protected void doClose() {
+    }
+}
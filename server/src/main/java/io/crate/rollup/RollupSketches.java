@@ -0,0 +1,190 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.rollup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+
+import io.crate.Streamer;
+import io.crate.data.Input;
+import io.crate.data.breaker.RamAccounting;
+import io.crate.execution.engine.aggregation.AggregationFunction;
+import io.crate.expression.symbol.Literal;
+import io.crate.expression.symbol.Symbol;
+import io.crate.memory.MemoryManager;
+import io.crate.memory.OnHeapMemoryManager;
+import io.crate.metadata.FunctionImplementation;
+import io.crate.metadata.Functions;
+import io.crate.metadata.SearchPath;
+import io.crate.types.DataType;
+
+/**
+ * Sketches store the partial state of an aggregation per bucket of a rollup, serialized with the streamer
+ * of the {@link AggregationFunction#partialType()} into a {@code TEXT} column.
+ * <p>
+ * Supported are {@code hyperloglog_distinct} with the default precision and {@code percentile}.
+ * The fractions of a percentile are applied when the states are read, see {@link #terminate}.
+ * </p>
+ */
+public final class RollupSketches {
+
+    public static final String HYPERLOGLOG_DISTINCT = "hyperloglog_distinct";
+    public static final String PERCENTILE = "percentile";
+    public static final Set<String> FUNCTIONS = Set.of(HYPERLOGLOG_DISTINCT, PERCENTILE);
+
+    /**
+     * Placeholder fraction for percentile states built at ingest, states without fractions are treated as empty.
+     */
+    private static final Literal<Double> INGEST_FRACTION = Literal.of(0.5);
+
+    private static final MemoryManager MEMORY_MANAGER = new OnHeapMemoryManager(bytes -> {});
+
+    private RollupSketches() {
+    }
+
+    /**
+     * @return the aggregation which builds the states of a sketch for values of the given type.
+     * @throws IllegalArgumentException if the function doesn't support the type
+     */
+    public static AggregationFunction<Object, ?> aggregation(Functions functions, String function, DataType<?> valueType) {
+        Literal<?> value = Literal.ofUnchecked(valueType, null);
+        List<Symbol> args = function.equals(PERCENTILE) ? List.of(value, INGEST_FRACTION) : List.of(value);
+        return aggregation(functions, function, args);
+    }
+
+    /**
+     * @return the aggregation of a query reading sketches. Must be the function the sketch was built with.
+     */
+    @SuppressWarnings("unchecked")
+    public static AggregationFunction<Object, ?> aggregation(Functions functions, String function, List<Symbol> args) {
+        FunctionImplementation impl = functions.get(null, function, args, SearchPath.pathWithPGCatalogAndDoc());
+        if (!(impl instanceof AggregationFunction<?, ?> aggregation)) {
+            throw new IllegalArgumentException("Rollup sketch function '" + function + "' must be an aggregation");
+        }
+        return (AggregationFunction<Object, ?>) aggregation;
+    }
+
+    /**
+     * Whether a query aggregation with the given arguments after the column can be answered from a sketch.
+     */
+    public static boolean canAnswer(String function, List<Symbol> extraArgs) {
+        return switch (function) {
+            case HYPERLOGLOG_DISTINCT -> extraArgs.isEmpty();
+            case PERCENTILE -> extraArgs.size() == 1 && extraArgs.get(0) instanceof Literal<?>;
+            default -> false;
+        };
+    }
+
+    static Object newState(AggregationFunction<Object, ?> aggregation, RamAccounting ramAccounting) {
+        return aggregation.newState(ramAccounting, Version.CURRENT, Version.CURRENT, MEMORY_MANAGER);
+    }
+
+    /**
+     * Adds a value to the state of a sketch built by {@link #aggregation(Functions, String, DataType)}.
+     */
+    static Object iterate(String function,
+                          AggregationFunction<Object, ?> aggregation,
+                          RamAccounting ramAccounting,
+                          Object state,
+                          Object value) {
+        Input<?> input = () -> value;
+        return function.equals(PERCENTILE)
+            ? aggregation.iterate(ramAccounting, MEMORY_MANAGER, state, input, INGEST_FRACTION)
+            : aggregation.iterate(ramAccounting, MEMORY_MANAGER, state, input);
+    }
+
+    static Object reduce(AggregationFunction<Object, ?> aggregation, Object state1, Object state2) {
+        return aggregation.reduce(RamAccounting.NO_ACCOUNTING, state1, state2);
+    }
+
+    /**
+     * Merges serialized states, ignoring nulls.
+     *
+     * @return the serialized merged state or null if there are no states
+     */
+    public static String merge(AggregationFunction<Object, ?> aggregation, List<String> states) {
+        Object merged = null;
+        for (String state : states) {
+            if (state != null) {
+                Object value = deserialize(aggregation, state);
+                merged = merged == null ? value : reduce(aggregation, merged, value);
+            }
+        }
+        return merged == null ? null : serialize(aggregation, merged);
+    }
+
+    /**
+     * Computes the result of a query aggregation from serialized states.
+     *
+     * @param extraArgs the arguments of the query aggregation after the column, e.g. the fraction of a percentile
+     */
+    public static Object terminate(AggregationFunction<Object, ?> aggregation, List<String> states, Input<?>[] extraArgs) {
+        Input<?>[] args = new Input<?>[1 + extraArgs.length];
+        args[0] = () -> null;
+        System.arraycopy(extraArgs, 0, args, 1, extraArgs.length);
+        // Initializes the state with the arguments of the query
+        Object result = aggregation.iterate(
+            RamAccounting.NO_ACCOUNTING,
+            MEMORY_MANAGER,
+            newState(aggregation, RamAccounting.NO_ACCOUNTING),
+            args
+        );
+        for (String state : states) {
+            if (state != null) {
+                result = reduce(aggregation, result, deserialize(aggregation, state));
+            }
+        }
+        return aggregation.terminatePartial(RamAccounting.NO_ACCOUNTING, result);
+    }
+
+    static String serialize(AggregationFunction<Object, ?> aggregation, Object state) {
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            Version.writeVersion(Version.CURRENT, out);
+            streamer(aggregation).writeValueTo(out, state);
+            return Base64.getEncoder().encodeToString(BytesReference.toBytes(out.bytes()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Object deserialize(AggregationFunction<Object, ?> aggregation, String state) {
+        try (StreamInput in = StreamInput.wrap(Base64.getDecoder().decode(state))) {
+            in.setVersion(Version.readVersion(in));
+            return streamer(aggregation).readValueFrom(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Streamer<Object> streamer(AggregationFunction<Object, ?> aggregation) {
+        return (Streamer<Object>) aggregation.partialType().streamer();
+    }
+}
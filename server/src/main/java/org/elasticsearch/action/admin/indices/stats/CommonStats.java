@@ -21,11 +21,13 @@ package org.elasticsearch.action.admin.indices.stats;
 
 import org.apache.lucene.store.AlreadyClosedException;
 import org.jetbrains.annotations.Nullable;
+import org.elasticsearch.Version;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.index.shard.DocsStats;
 import org.elasticsearch.index.shard.IndexShard;
+import org.elasticsearch.index.shard.ShardLoadStats;
 import org.elasticsearch.index.store.StoreStats;
 
 import java.io.IOException;
@@ -38,6 +40,9 @@ public class CommonStats implements Writeable {
     @Nullable
     public StoreStats store;
 
+    @Nullable
+    public ShardLoadStats load;
+
     public CommonStats() {
         this(CommonStatsFlags.NONE);
     }
@@ -53,6 +58,9 @@ public class CommonStats implements Writeable {
                 case Store:
                     store = new StoreStats();
                     break;
+                case Load:
+                    load = new ShardLoadStats();
+                    break;
                 default:
                     throw new IllegalStateException("Unknown Flag: " + flag);
             }
@@ -70,6 +78,9 @@ public class CommonStats implements Writeable {
                     case Store:
                         store = indexShard.storeStats();
                         break;
+                    case Load:
+                        load = indexShard.loadStats();
+                        break;
                     default:
                         throw new IllegalStateException("Unknown Flag: " + flag);
                 }
@@ -82,12 +93,18 @@ public class CommonStats implements Writeable {
     public CommonStats(StreamInput in) throws IOException {
         docs = in.readOptionalWriteable(DocsStats::new);
         store = in.readOptionalWriteable(StoreStats::new);
+        if (in.getVersion().onOrAfter(Version.V_5_9_0)) {
+            load = in.readOptionalWriteable(ShardLoadStats::new);
+        }
     }
 
     @Override
     public void writeTo(StreamOutput out) throws IOException {
         out.writeOptionalWriteable(docs);
         out.writeOptionalWriteable(store);
+        if (out.getVersion().onOrAfter(Version.V_5_9_0)) {
+            out.writeOptionalWriteable(load);
+        }
     }
 
     public void add(CommonStats stats) {
@@ -107,6 +124,14 @@ public class CommonStats implements Writeable {
         } else {
             store.add(stats.getStore());
         }
+        if (load == null) {
+            if (stats.getLoad() != null) {
+                load = new ShardLoadStats();
+                load.add(stats.getLoad());
+            }
+        } else {
+            load.add(stats.getLoad());
+        }
     }
 
     @Nullable
@@ -118,4 +143,9 @@ public class CommonStats implements Writeable {
     public StoreStats getStore() {
         return store;
     }
+
+    @Nullable
+    public ShardLoadStats getLoad() {
+        return load;
+    }
 }
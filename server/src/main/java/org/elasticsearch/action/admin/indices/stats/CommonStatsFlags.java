@@ -194,7 +194,8 @@ public class CommonStatsFlags implements Writeable, Cloneable {
 
     public enum Flag {
         Store(0),
-        Docs(9);
+        Docs(9),
+        Load(20);
 
         private final int index;
 
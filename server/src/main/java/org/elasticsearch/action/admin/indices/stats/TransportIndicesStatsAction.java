@@ -112,6 +112,9 @@ public class TransportIndicesStatsAction extends TransportBroadcastByNodeAction<
         if (request.store()) {
             flags.set(CommonStatsFlags.Flag.Store);
         }
+        if (request.load()) {
+            flags.set(CommonStatsFlags.Flag.Load);
+        }
 
         CommitStats commitStats;
         SeqNoStats seqNoStats;
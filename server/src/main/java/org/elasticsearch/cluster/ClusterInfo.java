@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.util.Map;
 import java.util.Objects;
 
+import org.elasticsearch.Version;
 import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.common.collect.ImmutableOpenMap;
 import org.elasticsearch.common.io.stream.StreamInput;
@@ -49,6 +50,7 @@ public class ClusterInfo implements Writeable {
     public static final ClusterInfo EMPTY = new ClusterInfo();
     final ImmutableOpenMap<ShardRouting, String> routingToDataPath;
     final ImmutableOpenMap<NodeAndPath, ReservedSpace> reservedSpace;
+    final ImmutableOpenMap<String, ShardLoad> shardLoads;
 
     protected ClusterInfo() {
         this(
@@ -56,6 +58,7 @@ public class ClusterInfo implements Writeable {
             ImmutableOpenMap.of(),
             ImmutableOpenMap.of(),
             ImmutableOpenMap.of(),
+            ImmutableOpenMap.of(),
             ImmutableOpenMap.of());
     }
 
@@ -74,11 +77,27 @@ public class ClusterInfo implements Writeable {
                        ImmutableOpenMap<String, Long> shardSizes,
                        ImmutableOpenMap<ShardRouting, String> routingToDataPath,
                        ImmutableOpenMap<NodeAndPath, ReservedSpace> reservedSpace) {
+        this(leastAvailableSpaceUsage, mostAvailableSpaceUsage, shardSizes, routingToDataPath, reservedSpace, ImmutableOpenMap.of());
+    }
+
+    /**
+     * Creates a new ClusterInfo instance including the recent load of the shards.
+     *
+     * @param shardLoads a shardkey to write and search rate mapping per shard.
+     * @see #ClusterInfo(ImmutableOpenMap, ImmutableOpenMap, ImmutableOpenMap, ImmutableOpenMap, ImmutableOpenMap)
+     */
+    public ClusterInfo(ImmutableOpenMap<String, DiskUsage> leastAvailableSpaceUsage,
+                       ImmutableOpenMap<String, DiskUsage> mostAvailableSpaceUsage,
+                       ImmutableOpenMap<String, Long> shardSizes,
+                       ImmutableOpenMap<ShardRouting, String> routingToDataPath,
+                       ImmutableOpenMap<NodeAndPath, ReservedSpace> reservedSpace,
+                       ImmutableOpenMap<String, ShardLoad> shardLoads) {
         this.leastAvailableSpaceUsage = leastAvailableSpaceUsage;
         this.shardSizes = shardSizes;
         this.mostAvailableSpaceUsage = mostAvailableSpaceUsage;
         this.routingToDataPath = routingToDataPath;
         this.reservedSpace = reservedSpace;
+        this.shardLoads = shardLoads;
     }
 
     public ClusterInfo(StreamInput in) throws IOException {
@@ -92,6 +111,12 @@ public class ClusterInfo implements Writeable {
         } else {
             reservedSpaceMap = Map.of();
         }
+        Map<String, ShardLoad> shardLoadMap;
+        if (in.getVersion().onOrAfter(Version.V_5_9_0)) {
+            shardLoadMap = in.readMap(StreamInput::readString, ShardLoad::new);
+        } else {
+            shardLoadMap = Map.of();
+        }
 
         ImmutableOpenMap.Builder<String, DiskUsage> leastBuilder = ImmutableOpenMap.builder();
         this.leastAvailableSpaceUsage = leastBuilder.putAll(leastMap).build();
@@ -103,6 +128,8 @@ public class ClusterInfo implements Writeable {
         this.routingToDataPath = routingBuilder.putAll(routingMap).build();
         ImmutableOpenMap.Builder<NodeAndPath, ReservedSpace> reservedSpaceBuilder = ImmutableOpenMap.builder();
         this.reservedSpace = reservedSpaceBuilder.putAll(reservedSpaceMap).build();
+        ImmutableOpenMap.Builder<String, ShardLoad> shardLoadBuilder = ImmutableOpenMap.builder();
+        this.shardLoads = shardLoadBuilder.putAll(shardLoadMap).build();
     }
 
     @Override
@@ -118,6 +145,9 @@ public class ClusterInfo implements Writeable {
         if (out.getVersion().onOrAfter(StoreStats.RESERVED_BYTES_VERSION)) {
             out.writeMap(this.reservedSpace);
         }
+        if (out.getVersion().onOrAfter(Version.V_5_9_0)) {
+            out.writeMap(this.shardLoads, StreamOutput::writeString, (o, v) -> v.writeTo(o));
+        }
     }
 
 
@@ -159,6 +189,14 @@ public class ClusterInfo implements Writeable {
         return shardSize == null ? defaultValue : shardSize;
     }
 
+    /**
+     * Returns the recent write and search rate of the given shard routing or {@link ShardLoad#EMPTY} if that metric is not available.
+     */
+    public ShardLoad getShardLoad(ShardRouting shardRouting) {
+        ShardLoad shardLoad = shardLoads.get(shardIdentifierFromRouting(shardRouting));
+        return shardLoad == null ? ShardLoad.EMPTY : shardLoad;
+    }
+
     /**
      * Returns the reserved space for each shard on the given node/path pair
      */
@@ -212,6 +250,59 @@ public class ClusterInfo implements Writeable {
         }
     }
 
+    /**
+     * Represents the recent load of a shard as operations per second
+     */
+    public static class ShardLoad implements Writeable {
+
+        public static final ShardLoad EMPTY = new ShardLoad(0.0, 0.0);
+
+        private final double writesPerSecond;
+        private final double searchesPerSecond;
+
+        public ShardLoad(double writesPerSecond, double searchesPerSecond) {
+            this.writesPerSecond = writesPerSecond;
+            this.searchesPerSecond = searchesPerSecond;
+        }
+
+        ShardLoad(StreamInput in) throws IOException {
+            this.writesPerSecond = in.readDouble();
+            this.searchesPerSecond = in.readDouble();
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeDouble(writesPerSecond);
+            out.writeDouble(searchesPerSecond);
+        }
+
+        public double writesPerSecond() {
+            return writesPerSecond;
+        }
+
+        public double searchesPerSecond() {
+            return searchesPerSecond;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            ShardLoad that = (ShardLoad) o;
+            return writesPerSecond == that.writesPerSecond && searchesPerSecond == that.searchesPerSecond;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(writesPerSecond, searchesPerSecond);
+        }
+
+        @Override
+        public String toString() {
+            return "ShardLoad{writesPerSecond=" + writesPerSecond + ", searchesPerSecond=" + searchesPerSecond + "}";
+        }
+    }
+
     /**
      * Represents the total amount of "reserved" space on a particular data path, together with the set of shards considered.
      */
@@ -32,6 +32,7 @@ import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.jetbrains.annotations.Nullable;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.LatchedActionListener;
 import org.elasticsearch.action.admin.cluster.node.stats.NodeStats;
@@ -54,6 +55,7 @@ import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.concurrent.AbstractRunnable;
 import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.index.shard.ShardLoadStats;
 import org.elasticsearch.index.store.StoreStats;
 import org.elasticsearch.monitor.fs.FsInfo;
 import org.elasticsearch.threadpool.ThreadPool;
@@ -71,8 +73,10 @@ import io.crate.common.unit.TimeValue;
  * Listens for changes in the number of data nodes and immediately submits a
  * ClusterInfoUpdateJob if a node has been added.
  *
- * Every time the timer runs, gathers information about the disk usage and
- * shard sizes across the cluster.
+ * Every time the timer runs, gathers information about the disk usage,
+ * shard sizes and the write and search rates of the shards across the cluster.
+ * The rates are derived from the operation counters of consecutive samples and
+ * smoothed with an exponentially weighted moving average.
  */
 public class InternalClusterInfoService implements ClusterInfoService, ClusterStateListener {
 
@@ -92,6 +96,7 @@ public class InternalClusterInfoService implements ClusterInfoService, ClusterSt
     volatile ImmutableOpenMap<String, DiskUsage> leastAvailableSpaceUsages;
     volatile ImmutableOpenMap<String, DiskUsage> mostAvailableSpaceUsages;
     private volatile IndicesStatsSummary indicesStatsSummary;
+    private volatile Map<String, LoadSample> loadSamples = Map.of();
     private final AtomicReference<RefreshAndRescheduleRunnable> refreshAndRescheduleRunnable = new AtomicReference<>();
     private volatile boolean enabled;
     private volatile TimeValue fetchTimeout;
@@ -180,7 +185,8 @@ public class InternalClusterInfoService implements ClusterInfoService, ClusterSt
     public ClusterInfo getClusterInfo() {
         final IndicesStatsSummary indicesStatsSummary = this.indicesStatsSummary; // single volatile read
         return new ClusterInfo(leastAvailableSpaceUsages, mostAvailableSpaceUsages,
-            indicesStatsSummary.shardSizes, indicesStatsSummary.shardRoutingToDataPath, indicesStatsSummary.reservedSpace);
+            indicesStatsSummary.shardSizes, indicesStatsSummary.shardRoutingToDataPath, indicesStatsSummary.reservedSpace,
+            indicesStatsSummary.shardLoads);
     }
 
 
@@ -206,6 +212,7 @@ public class InternalClusterInfoService implements ClusterInfoService, ClusterSt
         final IndicesStatsRequest indicesStatsRequest = new IndicesStatsRequest();
         indicesStatsRequest.clear();
         indicesStatsRequest.store(true);
+        indicesStatsRequest.load(true);
         indicesStatsRequest.indicesOptions(IndicesOptions.STRICT_EXPAND_OPEN_CLOSED);
 
         client.admin().indices().stats(indicesStatsRequest).whenComplete(new LatchedActionListener<>(listener, latch));
@@ -270,10 +277,16 @@ public class InternalClusterInfoService implements ClusterInfoService, ClusterSt
                 final ImmutableOpenMap.Builder<ClusterInfo.NodeAndPath, ClusterInfo.ReservedSpace> rsrvdSpace = ImmutableOpenMap.builder();
                 reservedSpaceBuilders.forEach((nodeAndPath, builder) -> rsrvdSpace.put(nodeAndPath, builder.build()));
 
+                final Map<String, LoadSample> newLoadSamples = new HashMap<>();
+                final ImmutableOpenMap.Builder<String, ClusterInfo.ShardLoad> shardLoads = ImmutableOpenMap.builder();
+                buildShardLoads(stats, loadSamples, System.nanoTime(), newLoadSamples, shardLoads);
+                loadSamples = newLoadSamples;
+
                 indicesStatsSummary = new IndicesStatsSummary(
                     shardSizeByIdentifierBuilder.build(),
                     dataPathByShardRoutingBuilder.build(),
-                    rsrvdSpace.build());
+                    rsrvdSpace.build(),
+                    shardLoads.build());
             }
 
             @Override
@@ -290,6 +303,7 @@ public class InternalClusterInfoService implements ClusterInfoService, ClusterSt
                     }
                     // we empty the usages list, to be safe - we don't know what's going on.
                     indicesStatsSummary = IndicesStatsSummary.EMPTY;
+                    loadSamples = Map.of();
                 }
             }
         });
@@ -354,6 +368,40 @@ public class InternalClusterInfoService implements ClusterInfoService, ClusterSt
         }
     }
 
+    /**
+     * Derives the write and search rate of every shard copy from the difference of its operation counters to the
+     * previous sample. Rates of copies sharing the same shard identifier are averaged.
+     *
+     * @param previousSamples samples of the last refresh, keyed by node id and shard identifier
+     * @param newSamples receives the samples of this refresh
+     */
+    static void buildShardLoads(ShardStats[] stats,
+                                Map<String, LoadSample> previousSamples,
+                                long nowNanos,
+                                Map<String, LoadSample> newSamples,
+                                ImmutableOpenMap.Builder<String, ClusterInfo.ShardLoad> shardLoads) {
+        Map<String, double[]> sums = new HashMap<>();
+        for (ShardStats s : stats) {
+            ShardLoadStats loadStats = s.getStats().getLoad();
+            if (loadStats == null) {
+                continue;
+            }
+            ShardRouting shardRouting = s.getShardRouting();
+            String shardIdentifier = ClusterInfo.shardIdentifierFromRouting(shardRouting);
+            String sampleKey = shardRouting.currentNodeId() + shardIdentifier;
+            LoadSample sample = LoadSample.next(previousSamples.get(sampleKey), loadStats, nowNanos);
+            newSamples.put(sampleKey, sample);
+            double[] sum = sums.computeIfAbsent(shardIdentifier, k -> new double[3]);
+            sum[0] += sample.writesPerSecond;
+            sum[1] += sample.searchesPerSecond;
+            sum[2]++;
+        }
+        for (var entry : sums.entrySet()) {
+            double[] sum = entry.getValue();
+            shardLoads.put(entry.getKey(), new ClusterInfo.ShardLoad(sum[0] / sum[2], sum[1] / sum[2]));
+        }
+    }
+
     static void fillDiskUsagePerNode(Logger logger,
                                      List<NodeStats> nodeStatsArray,
                                      ImmutableOpenMap.Builder<String, DiskUsage> newLeastAvaiableUsages,
@@ -418,20 +466,72 @@ public class InternalClusterInfoService implements ClusterInfoService, ClusterSt
         }
     }
 
+    /**
+     * Operation counters of a shard copy at the time of a refresh along with the smoothed rates derived from them.
+     */
+    static final class LoadSample {
+
+        /**
+         * Weight of the most recent rate in the moving average
+         */
+        static final double ALPHA = 0.5;
+
+        final long writeOperations;
+        final long searchOperations;
+        final long nanos;
+        final double writesPerSecond;
+        final double searchesPerSecond;
+
+        LoadSample(long writeOperations, long searchOperations, long nanos, double writesPerSecond, double searchesPerSecond) {
+            this.writeOperations = writeOperations;
+            this.searchOperations = searchOperations;
+            this.nanos = nanos;
+            this.writesPerSecond = writesPerSecond;
+            this.searchesPerSecond = searchesPerSecond;
+        }
+
+        static LoadSample next(@Nullable LoadSample previous, ShardLoadStats stats, long nowNanos) {
+            long writes = stats.getWriteOperations();
+            long searches = stats.getSearchOperations();
+            if (previous == null || nowNanos <= previous.nanos) {
+                return new LoadSample(writes, searches, nowNanos, 0.0, 0.0);
+            }
+            double seconds = (nowNanos - previous.nanos) / (double) TimeUnit.SECONDS.toNanos(1);
+            // Counters start over if a shard copy is re-created on the same node; keep the old rate in that case
+            double writeRate = writes < previous.writeOperations
+                ? previous.writesPerSecond
+                : ewma(previous.writesPerSecond, (writes - previous.writeOperations) / seconds);
+            double searchRate = searches < previous.searchOperations
+                ? previous.searchesPerSecond
+                : ewma(previous.searchesPerSecond, (searches - previous.searchOperations) / seconds);
+            return new LoadSample(writes, searches, nowNanos, writeRate, searchRate);
+        }
+
+        private static double ewma(double previousRate, double currentRate) {
+            return ALPHA * currentRate + (1 - ALPHA) * previousRate;
+        }
+    }
+
     private static class IndicesStatsSummary {
-        static final IndicesStatsSummary EMPTY
-            = new IndicesStatsSummary(ImmutableOpenMap.of(), ImmutableOpenMap.of(), ImmutableOpenMap.of());
+        static final IndicesStatsSummary EMPTY = new IndicesStatsSummary(
+            ImmutableOpenMap.of(),
+            ImmutableOpenMap.of(),
+            ImmutableOpenMap.of(),
+            ImmutableOpenMap.of());
 
         final ImmutableOpenMap<String, Long> shardSizes;
         final ImmutableOpenMap<ShardRouting, String> shardRoutingToDataPath;
         final ImmutableOpenMap<ClusterInfo.NodeAndPath, ClusterInfo.ReservedSpace> reservedSpace;
+        final ImmutableOpenMap<String, ClusterInfo.ShardLoad> shardLoads;
 
         IndicesStatsSummary(ImmutableOpenMap<String, Long> shardSizes,
                             ImmutableOpenMap<ShardRouting, String> shardRoutingToDataPath,
-                            ImmutableOpenMap<ClusterInfo.NodeAndPath, ClusterInfo.ReservedSpace> reservedSpace) {
+                            ImmutableOpenMap<ClusterInfo.NodeAndPath, ClusterInfo.ReservedSpace> reservedSpace,
+                            ImmutableOpenMap<String, ClusterInfo.ShardLoad> shardLoads) {
             this.shardSizes = shardSizes;
             this.shardRoutingToDataPath = shardRoutingToDataPath;
             this.reservedSpace = reservedSpace;
+            this.shardLoads = shardLoads;
         }
     }
 
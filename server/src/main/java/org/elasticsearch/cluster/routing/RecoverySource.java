@@ -214,6 +214,13 @@ public abstract class RecoverySource implements Writeable, ToXContentObject {
      * recovery from a snapshot
      */
     public static class SnapshotRecoverySource extends RecoverySource {
+
+        /**
+         * Restore UUID of shards which are recovered from a snapshot without a restore operation,
+         * e.g. lost shards of a table mounted from a snapshot.
+         */
+        public static final String NO_API_RESTORE_UUID = "_no_api_";
+
         private final String restoreUUID;
         private final Snapshot snapshot;
         private final IndexId index;
@@ -36,6 +36,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.util.ArrayUtil;
 import org.apache.lucene.util.IntroSorter;
+import org.elasticsearch.cluster.ClusterInfo;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.cluster.metadata.Metadata;
 import org.elasticsearch.cluster.routing.RoutingNode;
@@ -65,16 +66,25 @@ import io.crate.common.collections.Tuple;
 
 /**
  * The {@link BalancedShardsAllocator} re-balances the nodes allocations
- * within an cluster based on a {@link WeightFunction}. The clusters balance is defined by four parameters which can be set
- * in the cluster update API that allows changes in real-time:
+ * within an cluster based on a {@link WeightFunction}. The clusters balance is defined by the following parameters which can be
+ * set in the cluster update API that allows changes in real-time:
  * <ul><li><code>cluster.routing.allocation.balance.shard</code> - The <b>shard balance</b> defines the weight factor
  * for shards allocated on a {@link RoutingNode}</li>
  * <li><code>cluster.routing.allocation.balance.index</code> - The <b>index balance</b> defines a factor to the number
  * of {@link org.elasticsearch.cluster.routing.ShardRouting}s per index allocated on a specific node</li>
+ * <li><code>cluster.routing.allocation.balance.write_load</code> - The <b>write load balance</b> defines a factor to the
+ * recent write rate of the shards allocated on a node</li>
+ * <li><code>cluster.routing.allocation.balance.search_load</code> - The <b>search load balance</b> defines a factor to the
+ * recent search rate of the shards allocated on a node</li>
+ * <li><code>cluster.routing.allocation.balance.disk_usage</code> - The <b>disk usage balance</b> defines a factor to the
+ * size of the shards allocated on a node</li>
  * <li><code>cluster.routing.allocation.balance.threshold</code> - A <b>threshold</b> to set the minimal optimization
  * value of operations that should be performed</li>
  * </ul>
  * <p>
+ * The load factors default to {@code 0.0}, in which case only shard counts are balanced. The shard loads and sizes are
+ * taken from the {@link ClusterInfo} of the allocation.
+ * <p>
  * These parameters are combined in a {@link WeightFunction} that allows calculation of node weights which
  * are used to re-balance shards based on global as well as per-index factors.
  */
@@ -89,7 +99,21 @@ public class BalancedShardsAllocator implements ShardsAllocator {
     public static final Setting<Float> THRESHOLD_SETTING =
         Setting.floatSetting("cluster.routing.allocation.balance.threshold", 1.0f, 0.0f,
             Property.Dynamic, Property.NodeScope, Property.Exposed);
+    public static final Setting<Float> WRITE_LOAD_BALANCE_FACTOR_SETTING =
+        Setting.floatSetting("cluster.routing.allocation.balance.write_load", 0.0f, 0.0f,
+            Property.Dynamic, Property.NodeScope, Property.Exposed);
+    public static final Setting<Float> SEARCH_LOAD_BALANCE_FACTOR_SETTING =
+        Setting.floatSetting("cluster.routing.allocation.balance.search_load", 0.0f, 0.0f,
+            Property.Dynamic, Property.NodeScope, Property.Exposed);
+    public static final Setting<Float> DISK_USAGE_BALANCE_FACTOR_SETTING =
+        Setting.floatSetting("cluster.routing.allocation.balance.disk_usage", 0.0f, 0.0f,
+            Property.Dynamic, Property.NodeScope, Property.Exposed);
 
+    private volatile float indexBalance;
+    private volatile float shardBalance;
+    private volatile float writeLoadBalance;
+    private volatile float searchLoadBalance;
+    private volatile float diskUsageBalance;
     private volatile WeightFunction weightFunction;
     private volatile float threshold;
 
@@ -99,14 +123,37 @@ public class BalancedShardsAllocator implements ShardsAllocator {
 
     @Inject
     public BalancedShardsAllocator(Settings settings, ClusterSettings clusterSettings) {
+        writeLoadBalance = WRITE_LOAD_BALANCE_FACTOR_SETTING.get(settings);
+        searchLoadBalance = SEARCH_LOAD_BALANCE_FACTOR_SETTING.get(settings);
+        diskUsageBalance = DISK_USAGE_BALANCE_FACTOR_SETTING.get(settings);
         setWeightFunction(INDEX_BALANCE_FACTOR_SETTING.get(settings), SHARD_BALANCE_FACTOR_SETTING.get(settings));
         setThreshold(THRESHOLD_SETTING.get(settings));
         clusterSettings.addSettingsUpdateConsumer(INDEX_BALANCE_FACTOR_SETTING, SHARD_BALANCE_FACTOR_SETTING, this::setWeightFunction);
+        clusterSettings.addSettingsUpdateConsumer(WRITE_LOAD_BALANCE_FACTOR_SETTING, this::setWriteLoadBalance);
+        clusterSettings.addSettingsUpdateConsumer(SEARCH_LOAD_BALANCE_FACTOR_SETTING, this::setSearchLoadBalance);
+        clusterSettings.addSettingsUpdateConsumer(DISK_USAGE_BALANCE_FACTOR_SETTING, this::setDiskUsageBalance);
         clusterSettings.addSettingsUpdateConsumer(THRESHOLD_SETTING, this::setThreshold);
     }
 
     private void setWeightFunction(float indexBalance, float shardBalanceFactor) {
-        weightFunction = new WeightFunction(indexBalance, shardBalanceFactor);
+        weightFunction = new WeightFunction(indexBalance, shardBalanceFactor, writeLoadBalance, searchLoadBalance, diskUsageBalance);
+        this.indexBalance = indexBalance;
+        this.shardBalance = shardBalanceFactor;
+    }
+
+    private void setWriteLoadBalance(float writeLoadBalance) {
+        weightFunction = new WeightFunction(indexBalance, shardBalance, writeLoadBalance, searchLoadBalance, diskUsageBalance);
+        this.writeLoadBalance = writeLoadBalance;
+    }
+
+    private void setSearchLoadBalance(float searchLoadBalance) {
+        weightFunction = new WeightFunction(indexBalance, shardBalance, writeLoadBalance, searchLoadBalance, diskUsageBalance);
+        this.searchLoadBalance = searchLoadBalance;
+    }
+
+    private void setDiskUsageBalance(float diskUsageBalance) {
+        weightFunction = new WeightFunction(indexBalance, shardBalance, writeLoadBalance, searchLoadBalance, diskUsageBalance);
+        this.diskUsageBalance = diskUsageBalance;
     }
 
     private void setThreshold(float threshold) {
@@ -161,10 +208,13 @@ public class BalancedShardsAllocator implements ShardsAllocator {
 
     /**
      * This class is the primary weight function used to create balanced over nodes and shards in the cluster.
-     * Currently this function has 3 properties:
+     * Currently this function has 5 properties:
      * <ul>
      * <li><code>index balance</code> - balance property over shards per index</li>
      * <li><code>shard balance</code> - balance property over shards per cluster</li>
+     * <li><code>write load balance</code> - balance property over the write rate per cluster</li>
+     * <li><code>search load balance</code> - balance property over the search rate per cluster</li>
+     * <li><code>disk usage balance</code> - balance property over the shard sizes per cluster</li>
      * </ul>
      * <p>
      * Each of these properties are expressed as factor such that the properties factor defines the relative importance of the property for the
@@ -181,25 +231,73 @@ public class BalancedShardsAllocator implements ShardsAllocator {
      * </li>
      * </ul>
      * <code>weight(node, index) = weight<sub>index</sub>(node, index) + weight<sub>node</sub>(node, index)</code>
+     * <p>
+     * The load properties are expressed in shards, dividing the deviation of the node from the average by the average
+     * load of a shard, e.g.:
+     * <ul>
+     * <li>
+     * <code>weight<sub>write</sub>(node) = writeLoadBalance * (node.writeLoad() - avgWriteLoadPerNode) / avgWriteLoadPerShard</code>
+     * </li>
+     * </ul>
      */
     private static class WeightFunction {
 
         private final float theta0;
         private final float theta1;
+        private final float theta2;
+        private final float theta3;
+        private final float theta4;
 
-        WeightFunction(float indexBalance, float shardBalance) {
-            float sum = indexBalance + shardBalance;
+        WeightFunction(float indexBalance, float shardBalance, float writeLoadBalance, float searchLoadBalance, float diskUsageBalance) {
+            float sum = indexBalance + shardBalance + writeLoadBalance + searchLoadBalance + diskUsageBalance;
             if (sum <= 0.0f) {
                 throw new IllegalArgumentException("Balance factors must sum to a value > 0 but was: " + sum);
             }
             theta0 = shardBalance / sum;
             theta1 = indexBalance / sum;
+            theta2 = writeLoadBalance / sum;
+            theta3 = searchLoadBalance / sum;
+            theta4 = diskUsageBalance / sum;
+        }
+
+        boolean loadAware() {
+            return theta2 > 0.0f || theta3 > 0.0f || theta4 > 0.0f;
         }
 
         float weight(Balancer balancer, ModelNode node, String index) {
             final float weightShard = node.numShards() - balancer.avgShardsPerNode();
             final float weightIndex = node.numShards(index) - balancer.avgShardsPerNode(index);
-            return theta0 * weightShard + theta1 * weightIndex;
+            return theta0 * weightShard + theta1 * weightIndex + loadWeight(balancer, node);
+        }
+
+        private float loadWeight(Balancer balancer, ModelNode node) {
+            if (loadAware() == false) {
+                return 0.0f;
+            }
+            return theta2 * normalize(node.writeLoad() - balancer.avgWriteLoadPerNode, balancer.avgWriteLoadPerShard)
+                + theta3 * normalize(node.searchLoad() - balancer.avgSearchLoadPerNode, balancer.avgSearchLoadPerShard)
+                + theta4 * normalize(node.diskUsage() - balancer.avgDiskUsagePerNode, balancer.avgDiskUsagePerShard);
+        }
+
+        /**
+         * Returns by how much the weight of a node changes if the given shard is added to or removed from it.
+         * Without load properties this is {@code 1.0} for every shard.
+         */
+        float shardWeight(Balancer balancer, ShardRouting shard) {
+            float shardWeight = theta0 + theta1;
+            if (loadAware() == false) {
+                return shardWeight;
+            }
+            ClusterInfo clusterInfo = balancer.allocation.clusterInfo();
+            ClusterInfo.ShardLoad shardLoad = clusterInfo.getShardLoad(shard);
+            return shardWeight
+                + theta2 * normalize(shardLoad.writesPerSecond(), balancer.avgWriteLoadPerShard)
+                + theta3 * normalize(shardLoad.searchesPerSecond(), balancer.avgSearchLoadPerShard)
+                + theta4 * normalize(clusterInfo.getShardSize(shard, 0L), balancer.avgDiskUsagePerShard);
+        }
+
+        private static float normalize(double value, double avgPerShard) {
+            return avgPerShard > 0.0 ? (float) (value / avgPerShard) : 0.0f;
         }
     }
 
@@ -216,6 +314,12 @@ public class BalancedShardsAllocator implements ShardsAllocator {
         private final float threshold;
         private final Metadata metadata;
         private final float avgShardsPerNode;
+        private final double avgWriteLoadPerNode;
+        private final double avgWriteLoadPerShard;
+        private final double avgSearchLoadPerNode;
+        private final double avgSearchLoadPerShard;
+        private final double avgDiskUsagePerNode;
+        private final double avgDiskUsagePerShard;
         private final NodeSorter sorter;
 
         public Balancer(Logger logger, RoutingAllocation allocation, WeightFunction weight, float threshold) {
@@ -227,6 +331,22 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             this.metadata = allocation.metadata();
             avgShardsPerNode = ((float) metadata.getTotalNumberOfShards()) / routingNodes.size();
             nodes = Collections.unmodifiableMap(buildModelFromAssigned());
+            int assignedShards = 0;
+            double writeLoad = 0.0;
+            double searchLoad = 0.0;
+            double diskUsage = 0.0;
+            for (ModelNode node : nodes.values()) {
+                assignedShards += node.numShards();
+                writeLoad += node.writeLoad();
+                searchLoad += node.searchLoad();
+                diskUsage += node.diskUsage();
+            }
+            avgWriteLoadPerNode = writeLoad / nodes.size();
+            avgSearchLoadPerNode = searchLoad / nodes.size();
+            avgDiskUsagePerNode = diskUsage / nodes.size();
+            avgWriteLoadPerShard = assignedShards == 0 ? 0.0 : writeLoad / assignedShards;
+            avgSearchLoadPerShard = assignedShards == 0 ? 0.0 : searchLoad / assignedShards;
+            avgDiskUsagePerShard = assignedShards == 0 ? 0.0 : diskUsage / assignedShards;
             sorter = newNodeSorter();
         }
 
@@ -339,6 +459,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             // balance the shard, if a better node can be found
             final String idxName = shard.getIndexName();
             final float currentWeight = weight.weight(this, currentNode, idxName);
+            final float shardWeight = weight.shardWeight(this, shard);
             final AllocationDeciders deciders = allocation.deciders();
             Type rebalanceDecisionType = Type.NO;
             ModelNode assignedNode = null;
@@ -349,7 +470,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
                 if (node == currentNode) {
                     continue; // skip over node we're currently allocated to
                 }
-                final Decision canAllocate = deciders.canAllocate(shard, node.getRoutingNode(), allocation);
+                Decision canAllocate = deciders.canAllocate(shard, node.getRoutingNode(), allocation);
                 // the current weight of the node in the cluster, as computed by the weight function;
                 // this is a comparison of the number of shards on this node to the number of shards
                 // that should be on each node on average (both taking the cluster as a whole into account
@@ -370,7 +491,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
                     boolean deltaAboveThreshold = lessThan(currentDelta, threshold) == false;
                     // calculate the delta of the weights of the two nodes if we were to add the shard to the
                     // node in question and move it away from the node that currently holds it.
-                    boolean betterWeightWithShardAdded = nodeWeight + 1.0f < currentWeight;
+                    boolean betterWeightWithShardAdded = nodeWeight + shardWeight < currentWeight;
                     rebalanceConditionsMet = deltaAboveThreshold && betterWeightWithShardAdded;
                     // if the simulated weight delta with the shard moved away is better than the weight delta
                     // with the shard remaining on the current node, and we are allowed to allocate to the
@@ -382,6 +503,9 @@ public class BalancedShardsAllocator implements ShardsAllocator {
                         assignedNode = node;
                     }
                 }
+                if (weight.loadAware()) {
+                    canAllocate = withWeightExplanation(canAllocate, node, nodeWeight, currentNode, currentWeight, shardWeight);
+                }
                 Tuple<ModelNode, Decision> nodeResult = new Tuple<>(node, canAllocate);
                 if (rebalanceConditionsMet) {
                     betterBalanceNodes.add(nodeResult);
@@ -423,6 +547,37 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             }
         }
 
+        /**
+         * Adds the weights that led to a rebalance decision to the decision of a node, so that the allocation explain
+         * output shows why a shard would be moved if the load of the shards is taken into account.
+         */
+        private Decision withWeightExplanation(Decision canAllocate,
+                                               ModelNode node,
+                                               float nodeWeight,
+                                               ModelNode currentNode,
+                                               float currentWeight,
+                                               float shardWeight) {
+            Decision.Multi decision = new Decision.Multi();
+            for (Decision d : canAllocate.getDecisions()) {
+                decision.add(d);
+            }
+            decision.add(Decision.single(
+                Type.YES,
+                "balancer",
+                "node weight [%.2f] (shards [%d], write load [%.2f/s], search load [%.2f/s], disk usage [%d bytes]), " +
+                "current node [%s] weight [%.2f], shard weight [%.2f]",
+                nodeWeight,
+                node.numShards(),
+                node.writeLoad(),
+                node.searchLoad(),
+                (long) node.diskUsage(),
+                currentNode.getNodeId(),
+                currentWeight,
+                shardWeight
+            ));
+            return decision;
+        }
+
         /**
          * Balances the nodes on the cluster model according to the weight
          * function. The configured threshold is the minimum delta between the
@@ -505,7 +660,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
                              */
                             logger.trace("Couldn't find shard to relocate from node [{}] to node [{}]",
                                 maxNode.getNodeId(), minNode.getNodeId());
-                        } else if (tryRelocateShard(minNode, maxNode, index)) {
+                        } else if (tryRelocateShard(minNode, maxNode, index, delta)) {
                             /*
                              * TODO we could be a bit smarter here, we don't need to fully sort necessarily
                              * we could just find the place to insert linearly but the win might be minor
@@ -703,7 +858,7 @@ public class BalancedShardsAllocator implements ShardsAllocator {
         private Map<String, ModelNode> buildModelFromAssigned() {
             Map<String, ModelNode> nodes = new HashMap<>();
             for (RoutingNode rn : routingNodes) {
-                ModelNode node = new ModelNode(rn);
+                ModelNode node = new ModelNode(rn, allocation.clusterInfo());
                 nodes.put(rn.nodeId(), node);
                 for (ShardRouting shard : rn) {
                     assert rn.nodeId().equals(shard.currentNodeId());
@@ -946,15 +1101,21 @@ public class BalancedShardsAllocator implements ShardsAllocator {
          * Tries to find a relocation from the max node to the minimal node for an arbitrary shard of the given index on the
          * balance model. Iff this method returns a <code>true</code> the relocation has already been executed on the
          * simulation model as well as on the cluster.
+         * Shards whose weight is not below the weight delta of the two nodes are skipped, as moving them would not bring
+         * the nodes closer to the balance. Heavier shards are tried first.
          */
-        private boolean tryRelocateShard(ModelNode minNode, ModelNode maxNode, String idx) {
+        private boolean tryRelocateShard(ModelNode minNode, ModelNode maxNode, String idx, float delta) {
             final ModelIndex index = maxNode.getIndex(idx);
             if (index != null) {
                 logger.trace("Try relocating shard of [{}] from [{}] to [{}]", idx, maxNode.getNodeId(), minNode.getNodeId());
+                final Comparator<ShardRouting> byDescendingShardWeight =
+                    Comparator.comparingDouble((ShardRouting shard) -> weight.shardWeight(this, shard)).reversed();
                 final Iterable<ShardRouting> shardRoutings = StreamSupport.stream(index.spliterator(), false)
                     .filter(ShardRouting::started) // cannot rebalance unassigned, initializing or relocating shards anyway
                     .filter(maxNode::containsShard)
-                    .sorted(BY_DESCENDING_SHARD_ID) // check in descending order of shard id so that the decision is deterministic
+                    .filter(shard -> weight.shardWeight(this, shard) < delta)
+                    // check in descending order of shard weight and id so that the decision is deterministic
+                    .sorted(byDescendingShardWeight.thenComparing(BY_DESCENDING_SHARD_ID))
                     ::iterator;
 
                 final AllocationDeciders deciders = allocation.deciders();
@@ -998,10 +1159,15 @@ public class BalancedShardsAllocator implements ShardsAllocator {
     static class ModelNode implements Iterable<ModelIndex> {
         private final Map<String, ModelIndex> indices = new HashMap<>();
         private int numShards = 0;
+        private double writeLoad = 0.0;
+        private double searchLoad = 0.0;
+        private double diskUsage = 0.0;
         private final RoutingNode routingNode;
+        private final ClusterInfo clusterInfo;
 
-        ModelNode(RoutingNode routingNode) {
+        ModelNode(RoutingNode routingNode, ClusterInfo clusterInfo) {
             this.routingNode = routingNode;
+            this.clusterInfo = clusterInfo;
         }
 
         public ModelIndex getIndex(String indexId) {
@@ -1025,6 +1191,27 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             return index == null ? 0 : index.numShards();
         }
 
+        /**
+         * Returns the summed up recent write rate of the shards on this node
+         */
+        public double writeLoad() {
+            return writeLoad;
+        }
+
+        /**
+         * Returns the summed up recent search rate of the shards on this node
+         */
+        public double searchLoad() {
+            return searchLoad;
+        }
+
+        /**
+         * Returns the summed up size in bytes of the shards on this node
+         */
+        public double diskUsage() {
+            return diskUsage;
+        }
+
         public int highestPrimary(String index) {
             ModelIndex idx = indices.get(index);
             if (idx != null) {
@@ -1041,6 +1228,10 @@ public class BalancedShardsAllocator implements ShardsAllocator {
             }
             index.addShard(shard);
             numShards++;
+            ClusterInfo.ShardLoad shardLoad = clusterInfo.getShardLoad(shard);
+            writeLoad += shardLoad.writesPerSecond();
+            searchLoad += shardLoad.searchesPerSecond();
+            diskUsage += clusterInfo.getShardSize(shard, 0L);
         }
 
         public void removeShard(ShardRouting shard) {
@@ -1052,6 +1243,10 @@ public class BalancedShardsAllocator implements ShardsAllocator {
                 }
             }
             numShards--;
+            ClusterInfo.ShardLoad shardLoad = clusterInfo.getShardLoad(shard);
+            writeLoad -= shardLoad.writesPerSecond();
+            searchLoad -= shardLoad.searchesPerSecond();
+            diskUsage -= clusterInfo.getShardSize(shard, 0L);
         }
 
         @Override
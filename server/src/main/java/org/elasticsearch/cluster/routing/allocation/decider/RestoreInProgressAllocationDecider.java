@@ -46,6 +46,9 @@ public class RestoreInProgressAllocationDecider extends AllocationDecider {
         }
 
         RecoverySource.SnapshotRecoverySource source = (RecoverySource.SnapshotRecoverySource) recoverySource;
+        if (RecoverySource.SnapshotRecoverySource.NO_API_RESTORE_UUID.equals(source.restoreUUID())) {
+            return allocation.decision(Decision.YES, NAME, "not an API-level restore");
+        }
         final RestoreInProgress restoresInProgress = allocation.custom(RestoreInProgress.TYPE);
 
         if (restoresInProgress != null) {
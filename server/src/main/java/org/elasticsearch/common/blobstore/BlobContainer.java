@@ -137,6 +137,32 @@ public interface BlobContainer {
         writeBlob(blobName, inputStream, blobSize, failIfAlreadyExists);
     }
 
+    /**
+     * Tests whether a blob of the given size can be written in parts of {@code partSize} bytes using
+     * {@link #startMultipartUpload(String, long, long)}.
+     */
+    default boolean supportsMultipartUpload(long blobSize, long partSize) {
+        return false;
+    }
+
+    /**
+     * Starts writing a new blob in parts which can be uploaded concurrently.
+     * All parts except for the last one have a length of {@code partSize} bytes.
+     * An existing blob with the same name is overwritten once the upload completes.
+     *
+     * @throws UnsupportedOperationException if {@link #supportsMultipartUpload(long, long)} returns false
+     */
+    default MultipartUpload startMultipartUpload(String blobName, long blobSize, long partSize) throws IOException {
+        throw new UnsupportedOperationException("Multipart uploads are not supported by " + getClass().getSimpleName());
+    }
+
+    /**
+     * Returns true if {@link #readBlob(String, long, long)} is supported and reading ranges of a blob concurrently is cheap.
+     */
+    default boolean supportsRangedReads() {
+        return false;
+    }
+
     /**
      * Deletes this container and all its contents from the repository.
      * @throws IOException on failure
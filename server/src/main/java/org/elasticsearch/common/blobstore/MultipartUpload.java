@@ -0,0 +1,54 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package org.elasticsearch.common.blobstore;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A blob that is written in parts, started via {@link BlobContainer#startMultipartUpload(String, long, long)}.
+ * <p>
+ * Parts can be uploaded concurrently and in any order. The blob only becomes visible once {@link #complete()} succeeds.
+ * </p>
+ */
+public interface MultipartUpload {
+
+    /**
+     * Uploads a single part of the blob. Implementations must allow concurrent calls for different parts.
+     *
+     * @param partNumber zero based number of the part
+     * @param position   offset of the part within the blob; {@code partNumber * partSize}
+     * @param input      the content of the part
+     * @param length     the number of bytes to read from {@code input}
+     */
+    void uploadPart(int partNumber, long position, InputStream input, long length) throws IOException;
+
+    /**
+     * Assembles all uploaded parts into the blob. Must only be called once all parts have been uploaded.
+     */
+    void complete() throws IOException;
+
+    /**
+     * Discards all uploaded parts. It is safe to call this after a failed {@link #complete()} or more than once.
+     */
+    void abort() throws IOException;
+}
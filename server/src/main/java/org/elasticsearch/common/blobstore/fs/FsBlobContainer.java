@@ -23,16 +23,20 @@ import org.elasticsearch.common.UUIDs;
 import org.elasticsearch.common.blobstore.BlobContainer;
 import org.elasticsearch.common.blobstore.BlobMetadata;
 import org.elasticsearch.common.blobstore.BlobPath;
+import org.elasticsearch.common.blobstore.MultipartUpload;
 import org.elasticsearch.common.blobstore.support.AbstractBlobContainer;
 import org.elasticsearch.common.blobstore.support.PlainBlobMetadata;
 import io.crate.common.io.IOUtils;
 import org.elasticsearch.common.io.Streams;
 
+import java.io.EOFException;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileAlreadyExistsException;
@@ -202,6 +206,64 @@ public class FsBlobContainer extends AbstractBlobContainer {
         }
     }
 
+    @Override
+    public boolean supportsMultipartUpload(long blobSize, long partSize) {
+        return partSize > 0;
+    }
+
+    /**
+     * Parts are written with positional writes into a temporary file which is moved to its final name on completion.
+     */
+    @Override
+    public MultipartUpload startMultipartUpload(String blobName, long blobSize, long partSize) throws IOException {
+        final String tempBlob = tempBlobName(blobName);
+        final FileChannel channel = FileChannel.open(path.resolve(tempBlob), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        return new MultipartUpload() {
+
+            @Override
+            public void uploadPart(int partNumber, long position, InputStream input, long length) throws IOException {
+                final int bufferSize = blobStore.bufferSizeInBytes();
+                final ByteBuffer buffer = ByteBuffer.allocate(length < bufferSize ? Math.toIntExact(length) : bufferSize);
+                long written = 0;
+                while (written < length) {
+                    final int toRead = (int) Math.min(buffer.capacity(), length - written);
+                    final int read = input.readNBytes(buffer.array(), 0, toRead);
+                    if (read < toRead) {
+                        throw new EOFException("Part [" + partNumber + "] of blob [" + blobName + "] ended after ["
+                            + (written + read) + "] of [" + length + "] bytes");
+                    }
+                    buffer.position(0).limit(read);
+                    while (buffer.hasRemaining()) {
+                        written += channel.write(buffer, position + written);
+                    }
+                }
+            }
+
+            @Override
+            public void complete() throws IOException {
+                try (channel) {
+                    channel.force(true);
+                }
+                moveBlobAtomic(tempBlob, blobName, false);
+                IOUtils.fsync(path, true);
+            }
+
+            @Override
+            public void abort() throws IOException {
+                try {
+                    channel.close();
+                } finally {
+                    deleteBlobsIgnoringIfNotExists(Collections.singletonList(tempBlob));
+                }
+            }
+        };
+    }
+
+    @Override
+    public boolean supportsRangedReads() {
+        return true;
+    }
+
     private void writeToPath(InputStream inputStream, Path tempBlobPath, long blobSize) throws IOException {
         try (OutputStream outputStream = Files.newOutputStream(tempBlobPath, StandardOpenOption.CREATE_NEW)) {
             final int bufferSize = blobStore.bufferSizeInBytes();
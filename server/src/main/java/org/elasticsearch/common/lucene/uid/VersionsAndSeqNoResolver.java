@@ -23,6 +23,7 @@ import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.LeafReader;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.Term;
+import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.CloseableThreadLocal;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 
@@ -145,6 +146,47 @@ public final class VersionsAndSeqNoResolver {
         return null;
     }
 
+    /**
+     * Load the internal doc IDs and versions for multiple uids, returning an array aligned with {@code uids}
+     * which contains null for the uids that weren't found.
+     * The uids must be sorted, so that the term seeks within each segment are in ascending order.
+     * Each uid is still looked up with a separate seek.
+     */
+    public static DocIdAndVersion[] loadDocIdsAndVersions(IndexReader reader,
+                                                          String uidField,
+                                                          List<BytesRef> uids,
+                                                          boolean loadSeqNo) throws IOException {
+        assert isSorted(uids) : "uids must be sorted";
+        PerThreadIDVersionAndSeqNoLookup[] lookups = getLookupState(reader, uidField);
+        List<LeafReaderContext> leaves = reader.leaves();
+        DocIdAndVersion[] result = new DocIdAndVersion[uids.size()];
+        int missing = uids.size();
+        // iterate backwards to optimize for the frequently updated documents
+        // which are likely to be in the last segments
+        for (int i = leaves.size() - 1; i >= 0 && missing > 0; i--) {
+            final LeafReaderContext leaf = leaves.get(i);
+            PerThreadIDVersionAndSeqNoLookup lookup = lookups[leaf.ord];
+            for (int j = 0; j < result.length; j++) {
+                if (result[j] == null) {
+                    result[j] = lookup.lookupVersion(uids.get(j), loadSeqNo, leaf);
+                    if (result[j] != null) {
+                        missing--;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static boolean isSorted(List<BytesRef> uids) {
+        for (int i = 1; i < uids.size(); i++) {
+            if (uids.get(i - 1).compareTo(uids.get(i)) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Loads the internal docId and sequence number of the latest copy for a given uid from the provided reader.
      * The result is either null or the live and latest version of the given uid.
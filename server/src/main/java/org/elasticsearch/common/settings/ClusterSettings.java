@@ -78,6 +78,7 @@ import org.elasticsearch.gateway.PersistedClusterStateService;
 import org.elasticsearch.http.HttpTransportSettings;
 import org.elasticsearch.http.netty4.Netty4HttpServerTransport;
 import org.elasticsearch.index.IndexModule;
+import org.elasticsearch.index.store.SnapshotBlockCache;
 import org.elasticsearch.indices.IndexingMemoryController;
 import org.elasticsearch.indices.IndicesQueryCache;
 import org.elasticsearch.indices.IndicesService;
@@ -102,6 +103,7 @@ import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.transport.TransportSettings;
 import org.elasticsearch.transport.netty4.Netty4Transport;
 
+import io.crate.action.sql.ResourceGroups;
 import io.crate.action.sql.Sessions;
 import io.crate.auth.AuthSettings;
 import io.crate.blob.v2.BlobIndicesService;
@@ -109,6 +111,7 @@ import io.crate.cluster.gracefulstop.DecommissioningService;
 import io.crate.execution.engine.collect.stats.JobsLogService;
 import io.crate.execution.engine.indexing.ShardingUpsertExecutor;
 import io.crate.execution.jobs.NodeLimits;
+import io.crate.execution.support.NodeResponseStats;
 import io.crate.fdw.ForeignDataWrappers;
 import io.crate.legacy.LegacySettings;
 import io.crate.memory.MemoryManagerFactory;
@@ -208,9 +211,13 @@ public final class ClusterSettings extends AbstractScopedSettings {
     public static final Set<Setting<?>> BUILT_IN_CLUSTER_SETTINGS = Set.of(
         AwarenessAllocationDecider.CLUSTER_ROUTING_ALLOCATION_AWARENESS_ATTRIBUTE_SETTING,
         AwarenessAllocationDecider.CLUSTER_ROUTING_ALLOCATION_AWARENESS_FORCE_GROUP_SETTING,
+        NodeResponseStats.USE_ADAPTIVE_REPLICA_SELECTION,
         BalancedShardsAllocator.INDEX_BALANCE_FACTOR_SETTING,
         BalancedShardsAllocator.SHARD_BALANCE_FACTOR_SETTING,
         BalancedShardsAllocator.THRESHOLD_SETTING,
+        BalancedShardsAllocator.WRITE_LOAD_BALANCE_FACTOR_SETTING,
+        BalancedShardsAllocator.SEARCH_LOAD_BALANCE_FACTOR_SETTING,
+        BalancedShardsAllocator.DISK_USAGE_BALANCE_FACTOR_SETTING,
         ClusterRebalanceAllocationDecider.CLUSTER_ROUTING_ALLOCATION_ALLOW_REBALANCE_SETTING,
         ConcurrentRebalanceAllocationDecider.CLUSTER_ROUTING_ALLOCATION_CLUSTER_CONCURRENT_REBALANCE_SETTING,
         DanglingIndicesState.AUTO_IMPORT_DANGLING_INDICES_SETTING,
@@ -224,6 +231,8 @@ public final class ClusterSettings extends AbstractScopedSettings {
         IndicesQueryCache.INDICES_CACHE_QUERY_SIZE_SETTING,
         IndicesQueryCache.INDICES_CACHE_QUERY_COUNT_SETTING,
         IndicesQueryCache.INDICES_QUERIES_CACHE_ALL_SEGMENTS_SETTING,
+        SnapshotBlockCache.SIZE_SETTING,
+        SnapshotBlockCache.BLOCK_SIZE_SETTING,
         IndicesService.WRITE_DANGLING_INDICES_INFO_SETTING,
         Metadata.SETTING_READ_ONLY_SETTING,
         Metadata.SETTING_READ_ONLY_ALLOW_DELETE_SETTING,
@@ -235,6 +244,7 @@ public final class ClusterSettings extends AbstractScopedSettings {
         RecoverySettings.INDICES_RECOVERY_INTERNAL_ACTION_TIMEOUT_SETTING,
         RecoverySettings.INDICES_RECOVERY_INTERNAL_LONG_ACTION_TIMEOUT_SETTING,
         RecoverySettings.INDICES_RECOVERY_MAX_CONCURRENT_FILE_CHUNKS_SETTING,
+        RecoverySettings.INDICES_RECOVERY_MAX_CONCURRENT_SNAPSHOT_FILE_DOWNLOADS_PER_NODE_SETTING,
         RecoverySettings.INDICES_RECOVERY_MAX_CONCURRENT_OPERATIONS_SETTING,
         ThrottlingAllocationDecider.CLUSTER_ROUTING_ALLOCATION_NODE_INITIAL_PRIMARIES_RECOVERIES_SETTING,
         ThrottlingAllocationDecider.CLUSTER_ROUTING_ALLOCATION_NODE_CONCURRENT_INCOMING_RECOVERIES_SETTING,
@@ -449,6 +459,8 @@ public final class ClusterSettings extends AbstractScopedSettings {
         Sessions.NODE_READ_ONLY_SETTING,
         Sessions.STATEMENT_TIMEOUT,
         Sessions.MEMORY_LIMIT,
+        ResourceGroups.MAX_CONCURRENCY,
+        ResourceGroups.MAX_QUEUED,
         PostgresNetty.PSQL_ENABLED_SETTING,
         PostgresNetty.PSQL_PORT_SETTING,
         AuthSettings.AUTH_HOST_BASED_ENABLED_SETTING,
@@ -467,6 +479,8 @@ public final class ClusterSettings extends AbstractScopedSettings {
         BlobIndicesService.SETTING_BLOBS_PATH,
         LogicalReplicationSettings.REPLICATION_CHANGE_BATCH_SIZE,
         LogicalReplicationSettings.REPLICATION_READ_POLL_DURATION,
+        LogicalReplicationSettings.REPLICATION_MAX_CONCURRENT_BATCHES,
+        LogicalReplicationSettings.REPLICATION_MAX_BYTES_IN_FLIGHT,
         LogicalReplicationSettings.REPLICATION_RECOVERY_CHUNK_SIZE,
         LogicalReplicationSettings.REPLICATION_RECOVERY_MAX_CONCURRENT_FILE_CHUNKS,
         LegacySettings.LEGACY_TABLE_FUNCTION_COLUMN_NAMING,
@@ -38,11 +38,13 @@ import org.elasticsearch.index.MergePolicyConfig;
 import org.elasticsearch.index.MergeSchedulerConfig;
 import org.elasticsearch.index.engine.EngineConfig;
 import org.elasticsearch.index.store.FsDirectoryFactory;
+import org.elasticsearch.index.store.SearchableSnapshotDirectory;
 import org.elasticsearch.index.store.Store;
 
 import io.crate.blob.v2.BlobIndicesService;
 import io.crate.metadata.doc.DocTableInfo;
 import io.crate.replication.logical.LogicalReplicationSettings;
+import io.crate.rollup.Rollup;
 
 /**
  * Encapsulates all valid index level settings.
@@ -109,9 +111,15 @@ public final class IndexScopedSettings extends AbstractScopedSettings {
         Store.INDEX_STORE_STATS_REFRESH_INTERVAL_SETTING,
         DocTableInfo.TOTAL_COLUMNS_LIMIT,
         DocTableInfo.DEPTH_LIMIT_SETTING,
+        Rollup.SETTING,
         IndexModule.INDEX_STORE_TYPE_SETTING,
         IndexModule.INDEX_QUERY_CACHE_ENABLED_SETTING,
         FsDirectoryFactory.INDEX_LOCK_FACTOR_SETTING,
+        SearchableSnapshotDirectory.REPOSITORY_NAME_SETTING,
+        SearchableSnapshotDirectory.SNAPSHOT_NAME_SETTING,
+        SearchableSnapshotDirectory.SNAPSHOT_UUID_SETTING,
+        SearchableSnapshotDirectory.INDEX_NAME_SETTING,
+        SearchableSnapshotDirectory.INDEX_UUID_SETTING,
         EngineConfig.INDEX_CODEC_SETTING,
         IndexMetadata.SETTING_WAIT_FOR_ACTIVE_SHARDS,
         IndexService.RETENTION_LEASE_SYNC_INTERVAL_SETTING,
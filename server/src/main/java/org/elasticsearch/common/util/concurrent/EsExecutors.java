@@ -107,6 +107,13 @@ public class EsExecutors {
         );
     }
 
+    /**
+     * Creates an executor which runs each task on a new virtual thread, see {@link EsVirtualThreadExecutor}.
+     */
+    public static EsVirtualThreadExecutor newVirtualThreadPerTask(String name, String threadNamePrefix) {
+        return new EsVirtualThreadExecutor(name, threadNamePrefix);
+    }
+
     /**
      * Checks if the runnable arose from asynchronous submission of a task to an executor. If an uncaught exception was thrown
      * during the execution of this task, we need to inspect this runnable and see if it is an error that should be propagated
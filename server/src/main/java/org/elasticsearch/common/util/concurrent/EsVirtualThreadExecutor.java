@@ -0,0 +1,138 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package org.elasticsearch.common.util.concurrent;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.elasticsearch.common.metrics.CounterMetric;
+
+/**
+ * Executor which runs each task on a new virtual thread.
+ *
+ * <p>
+ * Meant for tasks which block on I/O, like reading from an object store or a foreign database.
+ * A virtual thread blocked on I/O doesn't occupy a platform thread unless it is pinned to it,
+ * e.g. because it blocks while holding a monitor.
+ * </p>
+ *
+ * <p>
+ * The number of concurrent tasks isn't limited, callers must bound the work they submit.
+ * </p>
+ */
+public final class EsVirtualThreadExecutor extends AbstractExecutorService {
+
+    private final String name;
+    private final ExecutorService delegate;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger largest = new AtomicInteger();
+    private final CounterMetric completed = new CounterMetric();
+    private final CounterMetric rejected = new CounterMetric();
+
+    EsVirtualThreadExecutor(String name, String threadNamePrefix) {
+        this.name = name;
+        AtomicLong threadNumber = new AtomicLong();
+        this.delegate = Executors.newThreadPerTaskExecutor(
+            runnable -> Thread.ofVirtual()
+                .name(threadNamePrefix + "[V#" + threadNumber.incrementAndGet() + "]")
+                .unstarted(runnable)
+        );
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        int numActive = active.incrementAndGet();
+        largest.accumulateAndGet(numActive, Math::max);
+        try {
+            delegate.execute(() -> {
+                try {
+                    command.run();
+                } finally {
+                    active.decrementAndGet();
+                    completed.inc();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            active.decrementAndGet();
+            rejected.inc();
+            throw new EsRejectedExecutionException("rejected execution of " + command + " on " + name, delegate.isShutdown());
+        }
+    }
+
+    /**
+     * @return the number of tasks which are currently running, each on its own virtual thread.
+     */
+    public int getActiveCount() {
+        return active.get();
+    }
+
+    /**
+     * @return the largest number of tasks which have ever run concurrently.
+     */
+    public int getLargestPoolSize() {
+        return largest.get();
+    }
+
+    public long getCompletedTaskCount() {
+        return completed.count();
+    }
+
+    public long getRejectedCount() {
+        return rejected.count();
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public String toString() {
+        return "EsVirtualThreadExecutor[name=" + name + ", active=" + active.get() + ", completed=" + completed.count() + "]";
+    }
+}
@@ -56,7 +56,13 @@ public abstract class BaseGatewayShardAllocator {
     public void allocateUnassigned(ShardRouting shardRouting, RoutingAllocation allocation,
                                    ExistingShardsAllocator.UnassignedAllocationHandler unassignedAllocationHandler) {
         final AllocateUnassignedDecision allocateUnassignedDecision = makeAllocationDecision(shardRouting, allocation, logger);
+        applyDecision(shardRouting, allocateUnassignedDecision, allocation, unassignedAllocationHandler);
+    }
 
+    protected void applyDecision(ShardRouting shardRouting,
+                                 AllocateUnassignedDecision allocateUnassignedDecision,
+                                 RoutingAllocation allocation,
+                                 ExistingShardsAllocator.UnassignedAllocationHandler unassignedAllocationHandler) {
         if (allocateUnassignedDecision.isDecisionTaken() == false) {
             // no decision was taken by this allocator
             return;
@@ -30,6 +30,7 @@ import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.routing.UnassignedInfo;
 import org.elasticsearch.cluster.routing.UnassignedInfo.AllocationStatus;
 import org.elasticsearch.cluster.routing.allocation.AllocateUnassignedDecision;
+import org.elasticsearch.cluster.routing.allocation.ExistingShardsAllocator;
 import org.elasticsearch.cluster.routing.allocation.NodeAllocationResult;
 import org.elasticsearch.cluster.routing.allocation.NodeAllocationResult.ShardStoreInfo;
 import org.elasticsearch.cluster.routing.allocation.RoutingAllocation;
@@ -38,6 +39,7 @@ import org.elasticsearch.cluster.routing.allocation.decider.Decision.Type;
 import org.elasticsearch.env.ShardLockObtainFailedException;
 import org.elasticsearch.gateway.AsyncShardFetch.FetchResult;
 import org.elasticsearch.gateway.TransportNodesListGatewayStartedShards.NodeGatewayStartedShards;
+import org.elasticsearch.index.store.SearchableSnapshotDirectory;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -75,6 +77,31 @@ public abstract class PrimaryShardAllocator extends BaseGatewayShardAllocator {
                     || shard.recoverySource().getType() == RecoverySource.Type.SNAPSHOT);
     }
 
+    @Override
+    protected void applyDecision(ShardRouting shardRouting,
+                                 AllocateUnassignedDecision allocateUnassignedDecision,
+                                 RoutingAllocation allocation,
+                                 ExistingShardsAllocator.UnassignedAllocationHandler unassignedAllocationHandler) {
+        if (allocateUnassignedDecision.isDecisionTaken()
+            && allocateUnassignedDecision.getAllocationStatus() == AllocationStatus.NO_VALID_SHARD_COPY
+            && shardRouting.recoverySource().getType() == RecoverySource.Type.EXISTING_STORE) {
+            IndexMetadata indexMetadata = allocation.metadata().getIndexSafe(shardRouting.index());
+            if (SearchableSnapshotDirectory.isMounted(indexMetadata.getSettings())) {
+                // The local files of a mounted index only hold the commit point, all other files are read from the
+                // snapshot. Instead of waiting for a lost copy, let BalancedShardsAllocator recover it from the snapshot
+                logger.debug("[{}][{}]: no copy of mounted index found, will recover from snapshot",
+                             shardRouting.index(), shardRouting.id());
+                unassignedAllocationHandler.updateUnassigned(
+                    shardRouting.unassignedInfo(),
+                    SearchableSnapshotDirectory.recoverySource(indexMetadata),
+                    allocation.changes()
+                );
+                return;
+            }
+        }
+        super.applyDecision(shardRouting, allocateUnassignedDecision, allocation, unassignedAllocationHandler);
+    }
+
     @Override
     public AllocateUnassignedDecision makeAllocationDecision(final ShardRouting unassignedShard,
                                                              final RoutingAllocation allocation,
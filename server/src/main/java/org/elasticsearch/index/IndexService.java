@@ -240,6 +240,13 @@ public class IndexService extends AbstractIndexComponent implements IndicesClust
         return indexAnalyzers;
     }
 
+    /**
+     * Analyzer used to index documents, picks the analyzer of the column per field.
+     */
+    public Analyzer indexAnalyzer() {
+        return indexAnalyzer;
+    }
+
     public synchronized void close(final String reason, boolean delete) throws IOException {
         if (closed.compareAndSet(false, true)) {
             deleted.compareAndSet(false, delete);
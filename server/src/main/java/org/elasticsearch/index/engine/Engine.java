@@ -25,6 +25,7 @@ import static org.elasticsearch.index.seqno.SequenceNumbers.UNASSIGNED_SEQ_NO;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.Comparator;
@@ -39,6 +40,7 @@ import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
@@ -58,6 +60,7 @@ import org.apache.lucene.search.QueryCache;
 import org.apache.lucene.search.QueryCachingPolicy;
 import org.apache.lucene.search.ReferenceManager;
 import org.apache.lucene.store.AlreadyClosedException;
+import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.SetOnce;
 import org.elasticsearch.common.CheckedRunnable;
 import org.elasticsearch.common.bytes.BytesReference;
@@ -485,26 +488,11 @@ public abstract class Engine implements Closeable {
         }
 
         if (docIdAndVersion != null) {
-            if (get.versionType().isVersionConflictForReads(docIdAndVersion.version, get.version())) {
-                Releasables.close(searcher);
-                throw new VersionConflictEngineException(
-                    shardId,
-                    get.id(),
-                    get.versionType().explainConflictForReads(docIdAndVersion.version, get.version())
-                );
-            }
-            if (get.getIfSeqNo() != SequenceNumbers.UNASSIGNED_SEQ_NO && (
-                get.getIfSeqNo() != docIdAndVersion.seqNo || get.getIfPrimaryTerm() != docIdAndVersion.primaryTerm)) {
-
+            try {
+                ensureNoReadConflict(get, docIdAndVersion);
+            } catch (VersionConflictEngineException e) {
                 Releasables.close(searcher);
-                throw new VersionConflictEngineException(
-                    shardId,
-                    get.id(),
-                    get.getIfSeqNo(),
-                    get.getIfPrimaryTerm(),
-                    docIdAndVersion.seqNo,
-                    docIdAndVersion.primaryTerm
-                );
+                throw e;
             }
         }
 
@@ -520,6 +508,82 @@ public abstract class Engine implements Closeable {
 
     public abstract GetResult get(Get get, BiFunction<String, SearcherScope, Searcher> searcherFactory) throws EngineException;
 
+    /**
+     * Resolves multiple gets. The consumer is called once per get with the found document or null if it doesn't
+     * exist. The {@link DocIdAndVersion} is only valid within the consumer call.
+     */
+    public void multiGet(List<Get> gets,
+                         BiFunction<String, SearcherScope, Searcher> searcherFactory,
+                         BiConsumer<Get, DocIdAndVersion> consumer) throws EngineException {
+        for (Get get : gets) {
+            try (GetResult result = get(get, searcherFactory)) {
+                consumer.accept(get, result.docIdAndVersion());
+            }
+        }
+    }
+
+    /**
+     * Resolves all gets with a single searcher.
+     * The uids are looked up in sorted order, so the term seeks within each segment only move forward, and the
+     * consumer is called in doc id order so that stored fields can be read sequentially.
+     */
+    protected final void multiGetFromSearcher(List<Get> gets,
+                                              BiFunction<String, SearcherScope, Searcher> searcherFactory,
+                                              SearcherScope scope,
+                                              BiConsumer<Get, DocIdAndVersion> consumer) throws EngineException {
+        if (gets.isEmpty()) {
+            return;
+        }
+        Get[] sortedGets = gets.toArray(new Get[0]);
+        Arrays.sort(sortedGets, Comparator.comparing(get -> get.uid().bytes()));
+        List<BytesRef> uids = new ArrayList<>(sortedGets.length);
+        for (Get get : sortedGets) {
+            uids.add(get.uid().bytes());
+        }
+        try (Searcher searcher = searcherFactory.apply("multi_get", scope)) {
+            final DocIdAndVersion[] docs;
+            try {
+                docs = VersionsAndSeqNoResolver.loadDocIdsAndVersions(
+                    searcher.getIndexReader(), sortedGets[0].uid().field(), uids, true);
+            } catch (Exception e) {
+                throw new EngineException(shardId, "Couldn't resolve version", e);
+            }
+            Integer[] docOrder = new Integer[docs.length];
+            for (int i = 0; i < docOrder.length; i++) {
+                docOrder[i] = i;
+                if (docs[i] != null) {
+                    ensureNoReadConflict(sortedGets[i], docs[i]);
+                }
+            }
+            Arrays.sort(docOrder, Comparator.comparingInt(i -> docs[i] == null ? -1 : docs[i].docBase + docs[i].docId));
+            for (int i : docOrder) {
+                consumer.accept(sortedGets[i], docs[i]);
+            }
+        }
+    }
+
+    private void ensureNoReadConflict(Get get, DocIdAndVersion docIdAndVersion) {
+        if (get.versionType().isVersionConflictForReads(docIdAndVersion.version, get.version())) {
+            throw new VersionConflictEngineException(
+                shardId,
+                get.id(),
+                get.versionType().explainConflictForReads(docIdAndVersion.version, get.version())
+            );
+        }
+        if (get.getIfSeqNo() != SequenceNumbers.UNASSIGNED_SEQ_NO && (
+            get.getIfSeqNo() != docIdAndVersion.seqNo || get.getIfPrimaryTerm() != docIdAndVersion.primaryTerm)) {
+
+            throw new VersionConflictEngineException(
+                shardId,
+                get.id(),
+                get.getIfSeqNo(),
+                get.getIfPrimaryTerm(),
+                docIdAndVersion.seqNo,
+                docIdAndVersion.primaryTerm
+            );
+        }
+    }
+
 
     /**
      * Returns a new searcher instance. The consumer of this
@@ -22,6 +22,7 @@ package org.elasticsearch.index.engine;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -36,6 +37,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.LongConsumer;
 import java.util.function.LongSupplier;
@@ -86,6 +88,7 @@ import org.elasticsearch.common.lucene.index.ElasticsearchDirectoryReader;
 import org.elasticsearch.common.lucene.uid.Versions;
 import org.elasticsearch.common.lucene.uid.VersionsAndSeqNoResolver;
 import org.elasticsearch.common.lucene.uid.VersionsAndSeqNoResolver.DocIdAndSeqNo;
+import org.elasticsearch.common.lucene.uid.VersionsAndSeqNoResolver.DocIdAndVersion;
 import org.elasticsearch.common.metrics.CounterMetric;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.concurrent.AbstractRunnable;
@@ -705,6 +708,31 @@ public class InternalEngine extends Engine {
         }
     }
 
+    @Override
+    public void multiGet(List<Get> gets,
+                         BiFunction<String, SearcherScope, Engine.Searcher> searcherFactory,
+                         BiConsumer<Get, DocIdAndVersion> consumer) throws EngineException {
+        try (ReleasableLock ignored = readLock.acquire()) {
+            ensureOpen();
+            List<Get> getsFromSearcher = new ArrayList<>(gets.size());
+            for (Get get : gets) {
+                VersionValue versionValue;
+                try (Releasable ignore = versionMap.acquireLock(get.uid().bytes())) {
+                    versionValue = getVersionFromMap(get.uid().bytes());
+                }
+                if (versionValue == null) {
+                    getsFromSearcher.add(get);
+                } else {
+                    // Pending change which may not be visible to the searcher yet, needs a realtime get
+                    try (GetResult result = get(get, searcherFactory)) {
+                        consumer.accept(get, result.docIdAndVersion());
+                    }
+                }
+            }
+            multiGetFromSearcher(getsFromSearcher, searcherFactory, SearcherScope.INTERNAL, consumer);
+        }
+    }
+
     /**
      * the status of the current doc version in lucene, compared to the version in an incoming
      * operation
@@ -25,6 +25,7 @@ import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
@@ -40,6 +41,7 @@ import org.apache.lucene.store.Lock;
 import org.elasticsearch.Version;
 import org.elasticsearch.common.lucene.Lucene;
 import org.elasticsearch.common.lucene.index.ElasticsearchDirectoryReader;
+import org.elasticsearch.common.lucene.uid.VersionsAndSeqNoResolver.DocIdAndVersion;
 import org.elasticsearch.common.util.concurrent.ReleasableLock;
 import org.elasticsearch.index.seqno.SeqNoStats;
 import org.elasticsearch.index.seqno.SequenceNumbers;
@@ -225,6 +227,13 @@ public class ReadOnlyEngine extends Engine {
         return getFromSearcher(get, searcherFactory, SearcherScope.EXTERNAL);
     }
 
+    @Override
+    public void multiGet(List<Get> gets,
+                         BiFunction<String, SearcherScope, Engine.Searcher> searcherFactory,
+                         BiConsumer<Get, DocIdAndVersion> consumer) throws EngineException {
+        multiGetFromSearcher(gets, searcherFactory, SearcherScope.EXTERNAL, consumer);
+    }
+
     @Override
     protected ReferenceManager<ElasticsearchDirectoryReader> getReferenceManager(SearcherScope scope) {
         return readerManager;
@@ -89,6 +89,7 @@ import org.elasticsearch.common.CheckedRunnable;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.lease.Releasable;
 import org.elasticsearch.common.lucene.Lucene;
+import org.elasticsearch.common.lucene.uid.VersionsAndSeqNoResolver.DocIdAndVersion;
 import org.elasticsearch.common.metrics.CounterMetric;
 import org.elasticsearch.common.metrics.MeanMetric;
 import org.elasticsearch.common.settings.Settings;
@@ -214,6 +215,7 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
     private final MeanMetric refreshMetric = new MeanMetric();
     private final MeanMetric flushMetric = new MeanMetric();
     private final CounterMetric periodicFlushMetric = new CounterMetric();
+    private final CounterMetric searchOperations = new CounterMetric();
 
     private final ShardEventListener shardEventListener = new ShardEventListener();
 
@@ -982,6 +984,14 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         return getEngine().get(get, this::acquireSearcher);
     }
 
+    /**
+     * @see Engine#multiGet(List, java.util.function.BiFunction, BiConsumer)
+     */
+    public void multiGet(List<Engine.Get> gets, BiConsumer<Engine.Get, DocIdAndVersion> consumer) {
+        readAllowed();
+        getEngine().multiGet(gets, this::acquireSearcher, consumer);
+    }
+
     /**
      * Writes all indexing changes to disk and opens a new searcher reflecting all changes.  This can throw {@link AlreadyClosedException}.
      */
@@ -1025,6 +1035,15 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
         return getEngine().getSeqNoStats(replicationTracker.getGlobalCheckpoint());
     }
 
+    /**
+     * @return {@link ShardLoadStats}
+     * @throws AlreadyClosedException if shard is closed
+     */
+    public ShardLoadStats loadStats() {
+        long maxSeqNo = getEngine().getSeqNoStats(replicationTracker.getGlobalCheckpoint()).getMaxSeqNo();
+        return new ShardLoadStats(Math.max(0L, maxSeqNo + 1), searchOperations.count());
+    }
+
     public TranslogStats translogStats() {
         return getEngine().getTranslogStats();
     }
@@ -1186,6 +1205,7 @@ public class IndexShard extends AbstractIndexShardComponent implements IndicesCl
     }
 
     public Engine.Searcher acquireSearcher(String source) {
+        searchOperations.inc();
         return acquireSearcher(source, Engine.SearcherScope.EXTERNAL);
     }
 
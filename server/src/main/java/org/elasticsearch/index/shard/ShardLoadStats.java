@@ -0,0 +1,80 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package org.elasticsearch.index.shard;
+
+import java.io.IOException;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+
+/**
+ * Monotonic operation counters of a shard copy.
+ * Consumers sample them periodically to derive write and search rates.
+ */
+public final class ShardLoadStats implements Writeable {
+
+    private long writeOperations;
+    private long searchOperations;
+
+    public ShardLoadStats() {
+        this(0, 0);
+    }
+
+    public ShardLoadStats(long writeOperations, long searchOperations) {
+        this.writeOperations = writeOperations;
+        this.searchOperations = searchOperations;
+    }
+
+    public ShardLoadStats(StreamInput in) throws IOException {
+        writeOperations = in.readVLong();
+        searchOperations = in.readVLong();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVLong(writeOperations);
+        out.writeVLong(searchOperations);
+    }
+
+    public void add(ShardLoadStats other) {
+        if (other == null) {
+            return;
+        }
+        this.writeOperations += other.writeOperations;
+        this.searchOperations += other.searchOperations;
+    }
+
+    /**
+     * Number of write operations processed by the shard, derived from the max sequence number.
+     */
+    public long getWriteOperations() {
+        return writeOperations;
+    }
+
+    /**
+     * Number of searchers acquired on the shard since it was opened.
+     */
+    public long getSearchOperations() {
+        return searchOperations;
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package org.elasticsearch.index.store;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.apache.lucene.index.IndexFileNames;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FilterDirectory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexInput;
+import org.apache.lucene.store.IndexOutput;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.cluster.routing.RecoverySource;
+import org.elasticsearch.common.blobstore.BlobContainer;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.index.snapshots.blobstore.BlobStoreIndexShardSnapshot;
+import org.elasticsearch.index.snapshots.blobstore.BlobStoreIndexShardSnapshot.FileInfo;
+import org.elasticsearch.repositories.IndexId;
+import org.elasticsearch.repositories.RepositoriesService;
+import org.elasticsearch.repositories.Repository;
+import org.elasticsearch.repositories.blobstore.BlobStoreRepository;
+import org.elasticsearch.snapshots.Snapshot;
+import org.elasticsearch.snapshots.SnapshotId;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A directory for shards of tables which have been mounted from a snapshot
+ * using {@code RESTORE SNAPSHOT ... WITH (mount = true)}.
+ *
+ * <p>
+ * Only the commit point ({@code segments_N}) is restored to the local
+ * directory. All other files of the shard snapshot are read lazily from the
+ * repository in blocks of {@link SnapshotBlockCache#blockSize()} bytes which are
+ * kept in the node level {@link SnapshotBlockCache}.
+ * </p>
+ */
+public final class SearchableSnapshotDirectory extends FilterDirectory {
+
+    public static final String STORE_TYPE = "snapshot";
+
+    public static final Setting<String> REPOSITORY_NAME_SETTING = Setting.simpleString(
+        "index.store.snapshot.repository_name", Property.IndexScope, Property.PrivateIndex, Property.Final);
+
+    public static final Setting<String> SNAPSHOT_NAME_SETTING = Setting.simpleString(
+        "index.store.snapshot.snapshot_name", Property.IndexScope, Property.PrivateIndex, Property.Final);
+
+    public static final Setting<String> SNAPSHOT_UUID_SETTING = Setting.simpleString(
+        "index.store.snapshot.snapshot_uuid", Property.IndexScope, Property.PrivateIndex, Property.Final);
+
+    public static final Setting<String> INDEX_NAME_SETTING = Setting.simpleString(
+        "index.store.snapshot.index_name", Property.IndexScope, Property.PrivateIndex, Property.Final);
+
+    public static final Setting<String> INDEX_UUID_SETTING = Setting.simpleString(
+        "index.store.snapshot.index_uuid", Property.IndexScope, Property.PrivateIndex, Property.Final);
+
+    public static final List<Setting<String>> SETTINGS = List.of(
+        REPOSITORY_NAME_SETTING,
+        SNAPSHOT_NAME_SETTING,
+        SNAPSHOT_UUID_SETTING,
+        INDEX_NAME_SETTING,
+        INDEX_UUID_SETTING
+    );
+
+    public static boolean isMounted(Settings indexSettings) {
+        return STORE_TYPE.equals(indexSettings.get("index.store.type"));
+    }
+
+    /**
+     * Returns the names of the indices which are mounted from a snapshot of the given repository.
+     *
+     * @param snapshotIds if not null, only indices mounted from one of these snapshots are returned
+     */
+    public static List<String> mountedIndices(Metadata metadata,
+                                              String repository,
+                                              @Nullable Collection<SnapshotId> snapshotIds) {
+        List<String> indices = new ArrayList<>();
+        for (IndexMetadata indexMetadata : metadata) {
+            Settings settings = indexMetadata.getSettings();
+            if (isMounted(settings) == false || repository.equals(REPOSITORY_NAME_SETTING.get(settings)) == false) {
+                continue;
+            }
+            if (snapshotIds == null || snapshotIds.contains(snapshotId(settings))) {
+                indices.add(indexMetadata.getIndex().getName());
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * Returns the source to recover a shard of a mounted index from the snapshot it has been mounted from.
+     * This source isn't tied to a restore operation.
+     */
+    public static RecoverySource.SnapshotRecoverySource recoverySource(IndexMetadata indexMetadata) {
+        Settings settings = indexMetadata.getSettings();
+        return new RecoverySource.SnapshotRecoverySource(
+            RecoverySource.SnapshotRecoverySource.NO_API_RESTORE_UUID,
+            new Snapshot(REPOSITORY_NAME_SETTING.get(settings), snapshotId(settings)),
+            indexMetadata.getCreationVersion(),
+            new IndexId(INDEX_NAME_SETTING.get(settings), INDEX_UUID_SETTING.get(settings))
+        );
+    }
+
+    private static SnapshotId snapshotId(Settings indexSettings) {
+        return new SnapshotId(SNAPSHOT_NAME_SETTING.get(indexSettings), SNAPSHOT_UUID_SETTING.get(indexSettings));
+    }
+
+    /**
+     * Returns the {@link SearchableSnapshotDirectory} wrapped by the given directory or null
+     */
+    public static SearchableSnapshotDirectory unwrap(Directory directory) {
+        while (directory instanceof FilterDirectory filterDirectory) {
+            if (directory instanceof SearchableSnapshotDirectory snapshotDirectory) {
+                return snapshotDirectory;
+            }
+            directory = filterDirectory.getDelegate();
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if the file is read from the repository instead of being restored
+     */
+    public static boolean isReadFromRepository(String fileName) {
+        return fileName.startsWith(IndexFileNames.SEGMENTS) == false;
+    }
+
+    private final Supplier<RepositoriesService> repositoriesService;
+    private final Settings indexSettings;
+    private final ShardId shardId;
+    private final SnapshotBlockCache cache;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder prefetches = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+
+    private volatile Map<String, FileInfo> files;
+    private BlobContainer container;
+
+    public SearchableSnapshotDirectory(Directory in,
+                                       Supplier<RepositoriesService> repositoriesService,
+                                       Settings indexSettings,
+                                       ShardId shardId,
+                                       SnapshotBlockCache cache) {
+        super(in);
+        this.repositoriesService = repositoriesService;
+        this.indexSettings = indexSettings;
+        this.shardId = shardId;
+        this.cache = cache;
+    }
+
+    public String repository() {
+        return REPOSITORY_NAME_SETTING.get(indexSettings);
+    }
+
+    public String snapshot() {
+        return SNAPSHOT_NAME_SETTING.get(indexSettings);
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long prefetches() {
+        return prefetches.sum();
+    }
+
+    public long bytesRead() {
+        return bytesRead.sum();
+    }
+
+    private Map<String, FileInfo> files() throws IOException {
+        Map<String, FileInfo> result = files;
+        if (result == null) {
+            synchronized (this) {
+                result = files;
+                if (result == null) {
+                    result = loadFiles();
+                    files = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    private Map<String, FileInfo> loadFiles() throws IOException {
+        String repositoryName = repository();
+        Repository repository = repositoriesService.get().repository(repositoryName);
+        if (repository instanceof BlobStoreRepository == false) {
+            throw new IOException("Repository [" + repositoryName + "] of a mounted table must be a blob store repository");
+        }
+        BlobStoreRepository blobStoreRepository = (BlobStoreRepository) repository;
+        IndexId indexId = new IndexId(INDEX_NAME_SETTING.get(indexSettings), INDEX_UUID_SETTING.get(indexSettings));
+        SnapshotId snapshotId = snapshotId(indexSettings);
+        container = blobStoreRepository.shardContainer(indexId, shardId.id());
+        BlobStoreIndexShardSnapshot shardSnapshot = blobStoreRepository.loadShardSnapshot(container, snapshotId);
+        Map<String, FileInfo> result = new HashMap<>();
+        for (FileInfo fileInfo : shardSnapshot.indexFiles()) {
+            if (isReadFromRepository(fileInfo.physicalName())) {
+                result.put(fileInfo.physicalName(), fileInfo);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the snapshot file for the given name if it isn't stored in the local directory
+     */
+    private FileInfo snapshotFile(String name) throws IOException {
+        if (isReadFromRepository(name) == false || localFileExists(name)) {
+            return null;
+        }
+        return files().get(name);
+    }
+
+    private boolean localFileExists(String name) throws IOException {
+        try {
+            in.fileLength(name);
+            return true;
+        } catch (NoSuchFileException | FileNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String[] listAll() throws IOException {
+        TreeSet<String> names = new TreeSet<>(files().keySet());
+        names.addAll(List.of(in.listAll()));
+        return names.toArray(String[]::new);
+    }
+
+    @Override
+    public long fileLength(String name) throws IOException {
+        FileInfo fileInfo = snapshotFile(name);
+        return fileInfo == null ? in.fileLength(name) : fileInfo.length();
+    }
+
+    @Override
+    public void deleteFile(String name) throws IOException {
+        if (snapshotFile(name) == null) {
+            in.deleteFile(name);
+        }
+        // files of the snapshot are never deleted
+    }
+
+    @Override
+    public void sync(Collection<String> names) throws IOException {
+        // files of the snapshot are never written locally and don't need to be synced
+        Set<String> localFiles = Set.of(in.listAll());
+        in.sync(names.stream().filter(localFiles::contains).toList());
+    }
+
+    @Override
+    public IndexOutput createOutput(String name, IOContext context) throws IOException {
+        return in.createOutput(name, context);
+    }
+
+    @Override
+    public IndexInput openInput(String name, IOContext context) throws IOException {
+        ensureOpen();
+        FileInfo fileInfo = snapshotFile(name);
+        if (fileInfo == null) {
+            return in.openInput(name, context);
+        }
+        return new SearchableSnapshotIndexInput(this, fileInfo, 0L, fileInfo.length());
+    }
+
+    @Override
+    public String toString() {
+        return "snapshot(" + repository() + "/" + snapshot() + ")" + "[" + in + "]";
+    }
+
+    /**
+     * Returns the block of the file which contains the given position, loading it from the repository on a cache miss
+     */
+    byte[] block(FileInfo fileInfo, long block) throws IOException {
+        if (fileInfo.name().startsWith(BlobStoreRepository.VIRTUAL_DATA_BLOB_PREFIX)) {
+            // content of tiny files is stored within the shard snapshot metadata
+            BytesRef hash = fileInfo.metadata().hash();
+            int start = hash.offset + (int) (block * cache.blockSize());
+            return Arrays.copyOfRange(hash.bytes, start, Math.min(start + cache.blockSize(), hash.offset + hash.length));
+        }
+        SnapshotBlockCache.Key key = key(fileInfo, block);
+        byte[] bytes = cache.getIfPresent(key);
+        if (bytes != null) {
+            hits.increment();
+            return bytes;
+        }
+        misses.increment();
+        return cache.get(key, () -> readBlock(fileInfo, block));
+    }
+
+    /**
+     * Loads the given block into the cache in the background
+     */
+    void prefetch(FileInfo fileInfo, long block) {
+        if (fileInfo.name().startsWith(BlobStoreRepository.VIRTUAL_DATA_BLOB_PREFIX)) {
+            return;
+        }
+        if (cache.prefetch(key(fileInfo, block), () -> readBlock(fileInfo, block))) {
+            prefetches.increment();
+        }
+    }
+
+    int blockSize() {
+        return cache.blockSize();
+    }
+
+    private SnapshotBlockCache.Key key(FileInfo fileInfo, long block) {
+        return new SnapshotBlockCache.Key(repository(), fileInfo.name(), block);
+    }
+
+    private byte[] readBlock(FileInfo fileInfo, long block) throws IOException {
+        files();
+        long start = block * cache.blockSize();
+        int length = (int) Math.min(cache.blockSize(), fileInfo.length() - start);
+        byte[] bytes = new byte[length];
+        // all parts but the last one have the size of the first part
+        long partBytes = fileInfo.partBytes(0);
+        int offset = 0;
+        while (offset < length) {
+            long position = start + offset;
+            int part = (int) (position / partBytes);
+            long positionInPart = position - part * partBytes;
+            int toRead = (int) Math.min(length - offset, fileInfo.partBytes(part) - positionInPart);
+            try (InputStream stream = container.readBlob(fileInfo.partName(part), positionInPart, toRead)) {
+                int read = stream.readNBytes(bytes, offset, toRead);
+                if (read != toRead) {
+                    throw new IOException("Unexpected end of blob [" + fileInfo.partName(part) + "] of file ["
+                        + fileInfo.physicalName() + "] at position [" + (positionInPart + read) + "]");
+                }
+            }
+            offset += toRead;
+        }
+        bytesRead.add(length);
+        return bytes;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package org.elasticsearch.index.store;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.elasticsearch.index.IndexSettings;
+import org.elasticsearch.index.shard.ShardPath;
+import org.elasticsearch.plugins.IndexStorePlugin;
+import org.elasticsearch.repositories.RepositoriesService;
+
+/**
+ * Creates the directories of shards using the {@link SearchableSnapshotDirectory#STORE_TYPE} store type.
+ */
+public class SearchableSnapshotDirectoryFactory implements IndexStorePlugin.DirectoryFactory {
+
+    private final Supplier<RepositoriesService> repositoriesService;
+    private final SnapshotBlockCache cache;
+
+    public SearchableSnapshotDirectoryFactory(Supplier<RepositoriesService> repositoriesService, SnapshotBlockCache cache) {
+        this.repositoriesService = repositoriesService;
+        this.cache = cache;
+    }
+
+    @Override
+    public Directory newDirectory(IndexSettings indexSettings, ShardPath shardPath) throws IOException {
+        final Path location = shardPath.resolveIndex();
+        Files.createDirectories(location);
+        Directory local = FSDirectory.open(location, indexSettings.getValue(FsDirectoryFactory.INDEX_LOCK_FACTOR_SETTING));
+        return new SearchableSnapshotDirectory(
+            local,
+            repositoriesService,
+            indexSettings.getSettings(),
+            shardPath.getShardId(),
+            cache
+        );
+    }
+}
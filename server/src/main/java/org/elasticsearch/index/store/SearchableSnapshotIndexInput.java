@@ -0,0 +1,100 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package org.elasticsearch.index.store;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.apache.lucene.store.BufferedIndexInput;
+import org.apache.lucene.store.IndexInput;
+import org.elasticsearch.index.snapshots.blobstore.BlobStoreIndexShardSnapshot.FileInfo;
+
+/**
+ * Reads a file of a shard snapshot through the block cache of a {@link SearchableSnapshotDirectory}.
+ * Sequential reads prefetch the block following the one currently read.
+ */
+final class SearchableSnapshotIndexInput extends BufferedIndexInput {
+
+    private final SearchableSnapshotDirectory directory;
+    private final FileInfo fileInfo;
+    private final long offset;
+    private final long length;
+
+    private long lastBlock = -1L;
+
+    SearchableSnapshotIndexInput(SearchableSnapshotDirectory directory, FileInfo fileInfo, long offset, long length) {
+        super("snapshot(" + fileInfo.physicalName() + ")", BufferedIndexInput.BUFFER_SIZE);
+        this.directory = directory;
+        this.fileInfo = fileInfo;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    protected void readInternal(ByteBuffer b) throws IOException {
+        long position = offset + getFilePointer();
+        if (position + b.remaining() > offset + length) {
+            throw new EOFException("read past EOF: " + this);
+        }
+        int blockSize = directory.blockSize();
+        while (b.hasRemaining()) {
+            long block = position / blockSize;
+            byte[] bytes = directory.block(fileInfo, block);
+            int positionInBlock = (int) (position - block * blockSize);
+            int toCopy = Math.min(b.remaining(), bytes.length - positionInBlock);
+            if (toCopy <= 0) {
+                throw new EOFException("read past EOF: " + this);
+            }
+            b.put(bytes, positionInBlock, toCopy);
+            position += toCopy;
+            if (lastBlock >= 0 && block == lastBlock + 1 && (block + 1) * blockSize < fileInfo.length()) {
+                directory.prefetch(fileInfo, block + 1);
+            }
+            lastBlock = block;
+        }
+    }
+
+    @Override
+    protected void seekInternal(long pos) throws IOException {
+        if (pos > length) {
+            throw new EOFException("seek past EOF: " + this);
+        }
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public IndexInput slice(String sliceDescription, long offset, long length) throws IOException {
+        if (offset < 0 || length < 0 || offset + length > this.length) {
+            throw new IllegalArgumentException("slice() " + sliceDescription + " out of bounds: " + this);
+        }
+        return new SearchableSnapshotIndexInput(directory, fileInfo, this.offset + offset, length);
+    }
+
+    @Override
+    public void close() {
+    }
+}
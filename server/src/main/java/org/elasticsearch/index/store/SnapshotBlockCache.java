@@ -0,0 +1,204 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package org.elasticsearch.index.store;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.breaker.CircuitBreakingException;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.indices.breaker.BreakerSettings;
+import org.elasticsearch.indices.breaker.CircuitBreakerService;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+/**
+ * Node level cache for blocks of files read from a snapshot repository by
+ * {@link SearchableSnapshotDirectory}. The cache is bounded by the total
+ * size of the cached blocks and evicts the least recently used blocks first.
+ * <p>
+ * The blocks are on heap and accounted on the {@link #BREAKER} circuit breaker,
+ * so that they count towards the parent breaker. A block that would trip the
+ * breaker is returned to the reader without being cached.
+ * </p>
+ */
+public final class SnapshotBlockCache {
+
+    private static final Logger LOGGER = LogManager.getLogger(SnapshotBlockCache.class);
+
+    public static final String BREAKER = "searchable_snapshot_cache";
+
+    public static final Setting<ByteSizeValue> SIZE_SETTING =
+        Setting.memorySizeSetting("indices.searchable_snapshots.cache.size", "5%", Property.NodeScope);
+
+    public static final Setting<ByteSizeValue> BLOCK_SIZE_SETTING = Setting.byteSizeSetting(
+        "indices.searchable_snapshots.cache.block_size",
+        new ByteSizeValue(128, ByteSizeUnit.KB),
+        new ByteSizeValue(4, ByteSizeUnit.KB),
+        new ByteSizeValue(16, ByteSizeUnit.MB),
+        Property.NodeScope
+    );
+
+    /**
+     * Loads a block which is missing in the cache
+     */
+    @FunctionalInterface
+    public interface BlockLoader {
+        byte[] load() throws IOException;
+    }
+
+    /**
+     * @param file unique name of the file within the repository
+     * @param block index of the block within the file
+     */
+    record Key(String repository, String file, long block) {
+    }
+
+    private final Cache<Key, byte[]> cache;
+    private final Set<Key> pendingPrefetches = ConcurrentHashMap.newKeySet();
+    private final int blockSize;
+    private final Executor prefetchExecutor;
+    private final CircuitBreaker breaker;
+
+    public SnapshotBlockCache(Settings settings, Executor prefetchExecutor, CircuitBreakerService breakerService) {
+        this(
+            SIZE_SETTING.get(settings).getBytes(),
+            (int) BLOCK_SIZE_SETTING.get(settings).getBytes(),
+            prefetchExecutor,
+            registerBreaker(breakerService, SIZE_SETTING.get(settings).getBytes())
+        );
+    }
+
+    SnapshotBlockCache(long maxSizeInBytes, int blockSize, Executor prefetchExecutor, CircuitBreaker breaker) {
+        LOGGER.debug("using searchable snapshot cache with size [{}] and block size [{}]",
+            new ByteSizeValue(maxSizeInBytes), new ByteSizeValue(blockSize));
+        this.blockSize = blockSize;
+        this.prefetchExecutor = prefetchExecutor;
+        this.breaker = breaker;
+        this.cache = Caffeine.newBuilder()
+            .maximumWeight(maxSizeInBytes)
+            .weigher((Key key, byte[] block) -> block.length)
+            .removalListener((Key key, byte[] block, RemovalCause cause) -> {
+                if (block != null) {
+                    breaker.addWithoutBreaking(-block.length);
+                }
+            })
+            .executor(Runnable::run)
+            .build();
+    }
+
+    private static CircuitBreaker registerBreaker(CircuitBreakerService breakerService, long maxSizeInBytes) {
+        // The cache is bounded by its size already, the breaker only trips if the parent breaker does
+        breakerService.registerBreaker(new BreakerSettings(BREAKER, maxSizeInBytes, CircuitBreaker.Type.MEMORY));
+        return breakerService.getBreaker(BREAKER);
+    }
+
+    public int blockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Returns the cached block or null if the block isn't cached
+     */
+    byte[] getIfPresent(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Returns the cached block or loads it. Concurrent requests for the same
+     * block wait for a single load.
+     */
+    byte[] get(Key key, BlockLoader loader) throws IOException {
+        byte[][] uncached = new byte[1][];
+        byte[] block;
+        try {
+            block = cache.get(key, k -> {
+                byte[] loaded;
+                try {
+                    loaded = loader.load();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                try {
+                    breaker.addEstimateBytesAndMaybeBreak(loaded.length, "searchable snapshot block");
+                    return loaded;
+                } catch (CircuitBreakingException e) {
+                    uncached[0] = loaded;
+                    return null;
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (block != null) {
+            return block;
+        }
+        // Either this or a concurrent load of the same block didn't fit into the breaker
+        return uncached[0] == null ? loader.load() : uncached[0];
+    }
+
+    /**
+     * Loads the block in the background unless it is already cached or
+     * being loaded.
+     *
+     * @return true if a load was scheduled
+     */
+    boolean prefetch(Key key, BlockLoader loader) {
+        if (cache.getIfPresent(key) != null || pendingPrefetches.add(key) == false) {
+            return false;
+        }
+        try {
+            prefetchExecutor.execute(() -> {
+                try {
+                    get(key, loader);
+                } catch (Exception e) {
+                    LOGGER.debug("Failed to prefetch block [{}] of [{}]", key.block(), key.file());
+                } finally {
+                    pendingPrefetches.remove(key);
+                }
+            });
+            return true;
+        } catch (Exception e) {
+            pendingPrefetches.remove(key);
+            return false;
+        }
+    }
+
+    /**
+     * Total size in bytes of all cached blocks
+     */
+    public long sizeInBytes() {
+        return cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L);
+    }
+}
@@ -21,12 +21,15 @@ package org.elasticsearch.indices.analysis;
 
 import org.apache.lucene.analysis.Analyzer;
 import org.apache.lucene.analysis.CharArraySet;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.Tokenizer;
 import org.apache.lucene.analysis.classic.ClassicAnalyzer;
 import org.apache.lucene.analysis.core.KeywordAnalyzer;
 import org.apache.lucene.analysis.core.SimpleAnalyzer;
 import org.apache.lucene.analysis.core.StopAnalyzer;
 import org.apache.lucene.analysis.core.WhitespaceAnalyzer;
 import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.ngram.NGramTokenizer;
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.elasticsearch.Version;
 import org.elasticsearch.indices.analysis.PreBuiltCacheFactory.CachingStrategy;
@@ -84,6 +87,24 @@ public enum PreBuiltAnalyzers {
         protected Analyzer create(Version version) {
             return new ClassicAnalyzer();
         }
+    },
+
+    /**
+     * Splits the whole value into overlapping, lower cased 3-grams.
+     * Used by {@code INDEX USING trigram} to accelerate {@code LIKE} and {@code ILIKE} on substrings.
+     */
+    TRIGRAM {
+        @Override
+        protected Analyzer create(Version version) {
+            return new Analyzer() {
+
+                @Override
+                protected TokenStreamComponents createComponents(String fieldName) {
+                    Tokenizer tokenizer = new NGramTokenizer(3, 3);
+                    return new TokenStreamComponents(tokenizer, new LowerCaseFilter(tokenizer));
+                }
+            };
+        }
     };
 
     protected abstract Analyzer create(Version version);
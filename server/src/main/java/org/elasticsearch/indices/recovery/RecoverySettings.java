@@ -23,6 +23,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.store.RateLimiter;
 import org.apache.lucene.store.RateLimiter.SimpleRateLimiter;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.breaker.NoopCircuitBreaker;
 import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Setting.Property;
@@ -31,6 +33,8 @@ import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import io.crate.common.unit.TimeValue;
 
+import java.util.concurrent.Semaphore;
+
 public class RecoverySettings {
 
     private static final Logger LOGGER = LogManager.getLogger(RecoverySettings.class);
@@ -51,6 +55,13 @@ public class RecoverySettings {
     public static final Setting<Integer> INDICES_RECOVERY_MAX_CONCURRENT_OPERATIONS_SETTING =
         Setting.intSetting("indices.recovery.max_concurrent_operations", 1, 1, 4, Property.Dynamic, Property.NodeScope);
 
+    /**
+     * Controls the maximum number of parts of files which are downloaded concurrently from snapshot repositories
+     * by all restores of this node.
+     */
+    public static final Setting<Integer> INDICES_RECOVERY_MAX_CONCURRENT_SNAPSHOT_FILE_DOWNLOADS_PER_NODE_SETTING =
+        Setting.intSetting("indices.recovery.max_concurrent_snapshot_file_downloads_per_node", 25, 1, Property.NodeScope);
+
     /**
      * how long to wait before retrying after issues cause by cluster state syncing between nodes
      * i.e., local node is not yet known on remote node, remote shard not yet started etc.
@@ -113,7 +124,17 @@ public class RecoverySettings {
 
     private volatile ByteSizeValue chunkSize = DEFAULT_CHUNK_SIZE;
 
+    private final Semaphore snapshotFileDownloadPermits;
+    private final CircuitBreaker restoreBreaker;
+
     public RecoverySettings(Settings settings, ClusterSettings clusterSettings) {
+        this(settings, clusterSettings, new NoopCircuitBreaker(CircuitBreaker.REQUEST));
+    }
+
+    public RecoverySettings(Settings settings, ClusterSettings clusterSettings, CircuitBreaker restoreBreaker) {
+        this.restoreBreaker = restoreBreaker;
+        this.snapshotFileDownloadPermits = new Semaphore(
+            INDICES_RECOVERY_MAX_CONCURRENT_SNAPSHOT_FILE_DOWNLOADS_PER_NODE_SETTING.get(settings));
 
         this.retryDelayStateSync = INDICES_RECOVERY_RETRY_DELAY_STATE_SYNC_SETTING.get(settings);
         this.maxConcurrentFileChunks = INDICES_RECOVERY_MAX_CONCURRENT_FILE_CHUNKS_SETTING.get(settings);
@@ -176,6 +197,20 @@ public class RecoverySettings {
         return internalActionLongTimeout;
     }
 
+    /**
+     * Permits for downloading parts of files from snapshot repositories, shared by all restores of this node.
+     */
+    public Semaphore snapshotFileDownloadPermits() {
+        return snapshotFileDownloadPermits;
+    }
+
+    /**
+     * Breaker accounting for the parts of files which restores buffer in memory.
+     */
+    public CircuitBreaker restoreBreaker() {
+        return restoreBreaker;
+    }
+
     public ByteSizeValue getChunkSize() {
         return chunkSize;
     }
@@ -125,6 +125,9 @@ import org.elasticsearch.http.netty4.Netty4HttpServerTransport;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.analysis.AnalysisRegistry;
 import org.elasticsearch.index.engine.EngineFactory;
+import org.elasticsearch.index.store.SearchableSnapshotDirectory;
+import org.elasticsearch.index.store.SearchableSnapshotDirectoryFactory;
+import org.elasticsearch.index.store.SnapshotBlockCache;
 import org.elasticsearch.indices.IndicesModule;
 import org.elasticsearch.indices.IndicesService;
 import org.elasticsearch.indices.ShardLimitValidator;
@@ -165,6 +168,7 @@ import org.elasticsearch.transport.TransportService;
 import org.elasticsearch.transport.netty4.Netty4Transport;
 import org.jetbrains.annotations.Nullable;
 
+import io.crate.action.sql.ResourceGroups;
 import io.crate.action.sql.Sessions;
 import io.crate.analyze.Analyzer;
 import io.crate.analyze.NumberOfShards;
@@ -190,6 +194,7 @@ import io.crate.execution.engine.collect.stats.JobsLogService;
 import io.crate.execution.jobs.JobModule;
 import io.crate.execution.jobs.TasksService;
 import io.crate.execution.jobs.transport.NodeDisconnectJobMonitorService;
+import io.crate.execution.support.NodeResponseStats;
 import io.crate.expression.reference.sys.check.SysChecksModule;
 import io.crate.expression.reference.sys.check.node.SysNodeChecksModule;
 import io.crate.expression.udf.UserDefinedFunctionService;
@@ -228,6 +233,7 @@ import io.crate.role.RoleManager;
 import io.crate.role.RoleManagerService;
 import io.crate.role.Roles;
 import io.crate.role.RolesService;
+import io.crate.rollup.RollupService;
 import io.crate.statistics.TableStats;
 import io.crate.types.DataTypes;
 
@@ -340,8 +346,10 @@ public class Node implements Closeable {
                 classpathPlugins
             );
             this.settings = pluginsService.updatedSettings();
+            ResourceGroups resourceGroups = new ResourceGroups(settings);
             SessionSettingRegistry sessionSettingRegistry = new SessionSettingRegistry(
-                Set.of(LoadedRules.INSTANCE)
+                Set.of(LoadedRules.INSTANCE),
+                resourceGroups
             );
             final Functions functions = Functions.load(
                 settings,
@@ -501,12 +509,17 @@ public class Node implements Closeable {
                     .collect(Collectors.toList());
 
 
-            final Map<String, IndexStorePlugin.DirectoryFactory> indexStoreFactories =
+            final Map<String, IndexStorePlugin.DirectoryFactory> indexStoreFactories = new HashMap<>(
                 pluginsService.filterPlugins(IndexStorePlugin.class)
                     .stream()
                     .map(IndexStorePlugin::getDirectoryFactories)
                     .flatMap(m -> m.entrySet().stream())
-                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+            final SnapshotBlockCache snapshotBlockCache = new SnapshotBlockCache(settings, threadPool.generic(), circuitBreakerService);
+            indexStoreFactories.put(
+                SearchableSnapshotDirectory.STORE_TYPE,
+                new SearchableSnapshotDirectoryFactory(repositoriesServiceReference::get, snapshotBlockCache)
+            );
 
             IndexScopedSettings indexScopedSettings = settingsModule.getIndexScopedSettings();
             final IndicesService indicesService = new IndicesService(
@@ -656,7 +669,11 @@ public class Node implements Closeable {
 
             LogicalReplicationSettings replicationSettings = new LogicalReplicationSettings(settings, clusterService);
 
-            final RecoverySettings recoverySettings = new RecoverySettings(settings, settingsModule.getClusterSettings());
+            final RecoverySettings recoverySettings = new RecoverySettings(
+                settings,
+                settingsModule.getClusterSettings(),
+                circuitBreakerService.getBreaker(CircuitBreaker.REQUEST)
+            );
             RepositoriesModule repositoriesModule = new RepositoriesModule(
                 this.environment,
                 pluginsService.filterPlugins(RepositoryPlugin.class),
@@ -736,6 +753,7 @@ public class Node implements Closeable {
             AtomicReference<Injector> injectorRef = new AtomicReference<>();
             Provider<DependencyCarrier> dependencyCarrier = () -> injectorRef.get().getInstance(DependencyCarrier.class);
 
+            NodeResponseStats nodeResponseStats = new NodeResponseStats(clusterService);
             Planner planner = new Planner(
                 settings,
                 clusterService,
@@ -744,8 +762,9 @@ public class Node implements Closeable {
                 new NumberOfShards(clusterService),
                 new TableCreator(client),
                 rolesManager,
-                new ForeignDataWrappers(settings, clusterService, nodeContext),
-                sessionSettingRegistry
+                new ForeignDataWrappers(settings, clusterService, nodeContext, threadPool),
+                sessionSettingRegistry,
+                nodeResponseStats
             );
             RepositoryService repositoryService = new RepositoryService(clusterService, client);
             Analyzer analyzer = new Analyzer(
@@ -772,7 +791,8 @@ public class Node implements Closeable {
                 jobsLogService.get(),
                 settings,
                 clusterService,
-                sessionSettingRegistry
+                sessionSettingRegistry,
+                resourceGroups
             );
             final HttpServerTransport httpServerTransport = newHttpTransport(
                 networkService,
@@ -795,6 +815,7 @@ public class Node implements Closeable {
                     b.bind(Analyzer.class).toInstance(analyzer);
                     b.bind(Sessions.class).toInstance(sessions);
                     b.bind(Planner.class).toInstance(planner);
+                    b.bind(NodeResponseStats.class).toInstance(nodeResponseStats);
                     b.bind(JobsLogService.class).toInstance(jobsLogService);
                     b.bind(RepositoryService.class).toInstance(repositoryService);
                     b.bind(RoleManager.class).toInstance(rolesManager);
@@ -1007,6 +1028,7 @@ public class Node implements Closeable {
         injector.getInstance(TasksService.class).start();
         injector.getInstance(DanglingArtifactsService.class).start();
         injector.getInstance(SslContextProviderService.class).start();
+        injector.getInstance(RollupService.class).start();
         injector.getInstance(IndicesService.class).start();
         injector.getInstance(IndicesClusterStateService.class).start();
         injector.getInstance(SnapshotsService.class).start();
@@ -1145,6 +1167,8 @@ public class Node implements Closeable {
         logger.info("stopping ...");
 
         injector.getInstance(HttpServerTransport.class).stop();
+        // flush pending rollup buckets while the cluster is still reachable
+        injector.getInstance(RollupService.class).stop();
 
         injector.getInstance(UserDefinedFunctionService.class).start();
         injector.getInstance(SnapshotsService.class).stop();
@@ -1263,6 +1287,8 @@ public class Node implements Closeable {
         toClose.add(injector.getInstance(DanglingArtifactsService.class));
         toClose.add(() -> stopWatch.stop().start("ssl_context_provider_service"));
         toClose.add(injector.getInstance(SslContextProviderService.class));
+        toClose.add(() -> stopWatch.stop().start("rollup_service"));
+        toClose.add(injector.getInstance(RollupService.class));
         toClose.add(() -> stopWatch.stop().start("blob_service"));
         toClose.add(injector.getInstance(BlobService.class));
         toClose.add(() -> stopWatch.stop().start("netty_bootstrap"));
@@ -54,6 +54,7 @@ import org.elasticsearch.cluster.service.ClusterService;
 import org.elasticsearch.common.component.AbstractLifecycleComponent;
 import org.elasticsearch.common.regex.Regex;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.store.SearchableSnapshotDirectory;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.transport.TransportService;
 
@@ -492,6 +493,11 @@ public class RepositoriesService extends AbstractLifecycleComponent implements C
         if (isRepositoryInUse(clusterState, repository)) {
             throw new IllegalStateException("trying to modify or unregister repository that is currently used");
         }
+        List<String> mountedIndices = SearchableSnapshotDirectory.mountedIndices(clusterState.metadata(), repository, null);
+        if (mountedIndices.isEmpty() == false) {
+            throw new IllegalStateException("trying to modify or unregister repository [" + repository
+                + "] that is used by the mounted indices " + mountedIndices);
+        }
     }
 
     public Collection<Repository> getRepositoriesList() {
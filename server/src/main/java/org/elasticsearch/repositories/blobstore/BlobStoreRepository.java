@@ -21,12 +21,15 @@ package org.elasticsearch.repositories.blobstore;
 
 import static org.elasticsearch.index.snapshots.blobstore.BlobStoreIndexShardSnapshot.FileInfo.canonicalName;
 
+import java.io.EOFException;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -37,10 +40,14 @@ import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -49,6 +56,7 @@ import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
+import java.util.zip.CRC32;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -80,17 +88,22 @@ import org.elasticsearch.cluster.metadata.RepositoryMetadata;
 import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.routing.allocation.AllocationService;
 import org.elasticsearch.cluster.service.ClusterService;
+import org.elasticsearch.common.CheckedRunnable;
 import org.elasticsearch.common.Numbers;
 import org.elasticsearch.common.UUIDs;
 import org.elasticsearch.common.blobstore.BlobContainer;
 import org.elasticsearch.common.blobstore.BlobMetadata;
 import org.elasticsearch.common.blobstore.BlobPath;
 import org.elasticsearch.common.blobstore.BlobStore;
+import org.elasticsearch.common.blobstore.MultipartUpload;
 import org.elasticsearch.common.blobstore.fs.FsBlobContainer;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.breaker.CircuitBreakingException;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.component.AbstractLifecycleComponent;
 import org.elasticsearch.common.compress.NotXContentException;
+import org.elasticsearch.common.hash.CRC32Combine;
 import org.elasticsearch.common.io.Streams;
 import org.elasticsearch.common.lease.Releasable;
 import org.elasticsearch.common.lucene.Lucene;
@@ -116,6 +129,7 @@ import org.elasticsearch.index.snapshots.blobstore.RateLimitingInputStream;
 import org.elasticsearch.index.snapshots.blobstore.SlicedInputStream;
 import org.elasticsearch.index.snapshots.blobstore.SnapshotFiles;
 import org.elasticsearch.index.store.Store;
+import org.elasticsearch.index.store.SearchableSnapshotDirectory;
 import org.elasticsearch.index.store.StoreFileMetadata;
 import org.elasticsearch.indices.recovery.RecoverySettings;
 import org.elasticsearch.indices.recovery.RecoveryState;
@@ -137,6 +151,7 @@ import org.elasticsearch.threadpool.ThreadPool;
 import org.jetbrains.annotations.Nullable;
 
 import io.crate.action.FutureActionListener;
+import io.crate.common.CheckedSupplier;
 import io.crate.common.collections.Tuple;
 import io.crate.common.exceptions.Exceptions;
 import io.crate.common.unit.TimeValue;
@@ -187,7 +202,7 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
      * {@link BlobStoreIndexShardSnapshots}. This is the case for files for which {@link StoreFileMetadata#hashEqualsContents()} is
      * {@code true}.
      */
-    private static final String VIRTUAL_DATA_BLOB_PREFIX = "v__";
+    public static final String VIRTUAL_DATA_BLOB_PREFIX = "v__";
 
     /**
      * When set to true metadata files are stored in compressed format. This setting doesn’t affect index
@@ -203,8 +218,27 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
         ByteSizeValue.parseBytesSizeValue("128kb", "io_buffer_size"), ByteSizeValue.parseBytesSizeValue("8kb", "buffer_size"),
         ByteSizeValue.parseBytesSizeValue("16mb", "io_buffer_size"), Setting.Property.NodeScope);
 
+    /**
+     * Size of the parts in which files are uploaded and restored concurrently.
+     * Files up to this size are transferred as a single stream.
+     */
+    public static final Setting<ByteSizeValue> PART_SIZE_SETTING = Setting.byteSizeSetting("part_size",
+        new ByteSizeValue(8, ByteSizeUnit.MB), new ByteSizeValue(1, ByteSizeUnit.KB), new ByteSizeValue(1, ByteSizeUnit.GB),
+        Setting.Property.NodeScope);
+
+    /**
+     * Maximum number of files or parts of files of a single shard which are uploaded or restored concurrently.
+     * The number of concurrent transfers of a node is bounded by the size of the snapshot thread pool.
+     */
+    public static final Setting<Integer> MAX_CONCURRENT_TRANSFERS_PER_SHARD_SETTING = Setting.intSetting(
+        "max_concurrent_transfers_per_shard", 5, 1, Setting.Property.NodeScope);
+
     private final boolean compress;
 
+    private final long partSize;
+
+    private final int maxConcurrentTransfersPerShard;
+
     private final RateLimiter snapshotRateLimiter;
 
     private final RateLimiter restoreRateLimiter;
@@ -301,6 +335,8 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
         readOnly = metadata.settings().getAsBoolean("readonly", false);
         this.basePath = basePath;
         bufferSize = Math.toIntExact(IO_BUFFER_SIZE_SETTING.get(metadata.settings()).getBytes());
+        partSize = PART_SIZE_SETTING.get(metadata.settings()).getBytes();
+        maxConcurrentTransfersPerShard = MAX_CONCURRENT_TRANSFERS_PER_SHARD_SETTING.get(metadata.settings());
     }
 
     @Override
@@ -1883,38 +1919,359 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
                 allFilesUploadedListener.onResponse(Collections.emptyList());
                 return;
             }
+            final BlockingQueue<CheckedRunnable<Exception>> uploads = new LinkedBlockingQueue<>();
+            for (BlobStoreIndexShardSnapshot.FileInfo fileInfo : filesToSnapshot) {
+                addFileUploads(uploads, fileInfo, shardContainer, indexId, snapshotId, snapshotStatus, store);
+            }
             final Executor executor = threadPool.executor(ThreadPool.Names.SNAPSHOT);
             int maximumPoolSize = executor instanceof ThreadPoolExecutor
                 ? ((ThreadPoolExecutor) executor).getMaximumPoolSize()
                 : 1;
             // Start as many workers as fit into the snapshot pool at once at the most
-            final int workers = Math.min(maximumPoolSize, indexIncrementalFileCount);
-            final ActionListener<Void> filesListener = fileQueueListener(filesToSnapshot, workers, allFilesUploadedListener);
+            final int workers = Math.min(Math.min(maximumPoolSize, maxConcurrentTransfersPerShard), Math.max(1, uploads.size()));
+            final ActionListener<Void> filesListener = fileQueueListener(uploads, workers, allFilesUploadedListener);
             for (int i = 0; i < workers; ++i) {
-                executeOneFileSnapshot(store, snapshotId, indexId, snapshotStatus, filesToSnapshot, executor, filesListener);
+                executeOneFileSnapshot(store, snapshotStatus, uploads, executor, filesListener);
             }
         } catch (Exception e) {
             listener.onFailure(e);
         }
     }
 
-    private void executeOneFileSnapshot(Store store, SnapshotId snapshotId, IndexId indexId, IndexShardSnapshotStatus snapshotStatus,
-                                        BlockingQueue<BlobStoreIndexShardSnapshot.FileInfo> filesToSnapshot, Executor executor,
+    private void executeOneFileSnapshot(Store store, IndexShardSnapshotStatus snapshotStatus,
+                                        BlockingQueue<CheckedRunnable<Exception>> uploads, Executor executor,
                                         ActionListener<Void> listener) throws InterruptedException {
         final ShardId shardId = store.shardId();
-        final BlobStoreIndexShardSnapshot.FileInfo snapshotFileInfo = filesToSnapshot.poll(0L, TimeUnit.MILLISECONDS);
-        if (snapshotFileInfo == null) {
+        final CheckedRunnable<Exception> upload = uploads.poll(0L, TimeUnit.MILLISECONDS);
+        if (upload == null) {
             listener.onResponse(null);
         } else {
             executor.execute(ActionRunnable.wrap(listener, l -> {
                 try (Releasable ignored = incrementStoreRef(store, snapshotStatus, shardId)) {
-                    snapshotFile(snapshotFileInfo, indexId, shardId, snapshotId, snapshotStatus, store);
-                    executeOneFileSnapshot(store, snapshotId, indexId, snapshotStatus, filesToSnapshot, executor, l);
+                    upload.run();
+                    executeOneFileSnapshot(store, snapshotStatus, uploads, executor, l);
                 }
             }));
         }
     }
 
+    /**
+     * Adds the uploads of a file to the queue. If the blob container supports multipart uploads, blobs larger than
+     * the part size are split into parts which are uploaded concurrently. Otherwise the file is uploaded as a single stream.
+     */
+    private void addFileUploads(BlockingQueue<CheckedRunnable<Exception>> uploads,
+                                BlobStoreIndexShardSnapshot.FileInfo fileInfo,
+                                BlobContainer shardContainer,
+                                IndexId indexId,
+                                SnapshotId snapshotId,
+                                IndexShardSnapshotStatus snapshotStatus,
+                                Store store) {
+        final ShardId shardId = store.shardId();
+        final long[] blobPartSizes = new long[fileInfo.numberOfParts()];
+        boolean multipart = false;
+        for (int i = 0; i < blobPartSizes.length; i++) {
+            blobPartSizes[i] = multipartPartSize(shardContainer, fileInfo.partBytes(i));
+            multipart |= blobPartSizes[i] > 0;
+        }
+        if (multipart) {
+            final MultipartFileUpload fileUpload =
+                new MultipartFileUpload(fileInfo, blobPartSizes, shardContainer, shardId, snapshotId, snapshotStatus, store);
+            for (FilePart part : fileUpload.parts) {
+                uploads.add(() -> fileUpload.upload(part));
+            }
+        } else {
+            uploads.add(() -> snapshotFile(fileInfo, indexId, shardId, snapshotId, snapshotStatus, store));
+        }
+    }
+
+    /**
+     * Returns the size of the parts in which a blob is uploaded or -1 if it is uploaded as a single stream.
+     * The part size is increased if the blob container doesn't support the configured size, e.g. because
+     * the blob would consist of too many parts.
+     */
+    private long multipartPartSize(BlobContainer container, long blobSize) {
+        for (long size = partSize; size < blobSize; size *= 2) {
+            if (container.supportsMultipartUpload(blobSize, size)) {
+                return size;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Splits the blobs of a file into parts.
+     *
+     * @param blobPartSizes the part size for each blob of the file; a blob with a part size &lt;= 0 is a single part
+     */
+    private static List<FilePart> fileParts(BlobStoreIndexShardSnapshot.FileInfo fileInfo, long[] blobPartSizes) {
+        final List<FilePart> parts = new ArrayList<>();
+        long offset = 0;
+        for (int blob = 0; blob < fileInfo.numberOfParts(); blob++) {
+            final long blobSize = fileInfo.partBytes(blob);
+            final long blobPartSize = blobPartSizes[blob];
+            if (blobPartSize <= 0) {
+                parts.add(new FilePart(parts.size(), blob, -1, 0, offset, blobSize));
+            } else {
+                int partNumber = 0;
+                for (long position = 0; position < blobSize; position += blobPartSize) {
+                    final long length = Math.min(blobPartSize, blobSize - position);
+                    parts.add(new FilePart(parts.size(), blob, partNumber++, position, offset + position, length));
+                }
+            }
+            offset += blobSize;
+        }
+        return parts;
+    }
+
+    /**
+     * A range of a file which is transferred independently of the other ranges.
+     *
+     * @param index      position of the part within all parts of the file
+     * @param blob       index of the blob, see {@link BlobStoreIndexShardSnapshot.FileInfo#partName(int)}
+     * @param partNumber number of the part within the blob or -1 if the part spans the whole blob
+     * @param position   offset of the part within the blob
+     * @param offset     offset of the part within the file
+     * @param length     length of the part
+     */
+    private record FilePart(int index, int blob, int partNumber, long position, long offset, long length) {
+    }
+
+    /**
+     * Upload of a file whose blobs are written in parts by concurrent workers.
+     * <p>
+     * A file can't be read through a single verifying input if its parts are read concurrently. Instead the checksum
+     * of each part is computed while it's uploaded. Once all parts are uploaded the checksums are combined and
+     * verified against the checksum of the file. The multipart uploads of the blobs are only completed after the
+     * checksum has been verified, a mismatch aborts them.
+     * </p>
+     */
+    private final class MultipartFileUpload {
+
+        private final BlobStoreIndexShardSnapshot.FileInfo fileInfo;
+        private final long[] blobPartSizes;
+        private final BlobContainer container;
+        private final ShardId shardId;
+        private final SnapshotId snapshotId;
+        private final IndexShardSnapshotStatus snapshotStatus;
+        private final Store store;
+        private final List<FilePart> parts;
+        private final MultipartUpload[] blobUploads;
+        private final long[] checksums;
+        private int remainingParts;
+        private boolean failed = false;
+
+        MultipartFileUpload(BlobStoreIndexShardSnapshot.FileInfo fileInfo,
+                            long[] blobPartSizes,
+                            BlobContainer container,
+                            ShardId shardId,
+                            SnapshotId snapshotId,
+                            IndexShardSnapshotStatus snapshotStatus,
+                            Store store) {
+            this.fileInfo = fileInfo;
+            this.blobPartSizes = blobPartSizes;
+            this.container = container;
+            this.shardId = shardId;
+            this.snapshotId = snapshotId;
+            this.snapshotStatus = snapshotStatus;
+            this.store = store;
+            this.parts = fileParts(fileInfo, blobPartSizes);
+            this.blobUploads = new MultipartUpload[blobPartSizes.length];
+            this.checksums = new long[parts.size()];
+            this.remainingParts = parts.size();
+        }
+
+        void upload(FilePart part) throws Exception {
+            try {
+                final long checksumLength = checksumLength(part);
+                final long checksum;
+                try (IndexInput indexInput = store.directory().openInput(fileInfo.physicalName(), IOContext.READONCE)) {
+                    indexInput.seek(part.offset());
+                    final ChecksumInputStream checksumStream =
+                        new ChecksumInputStream(new InputStreamIndexInput(indexInput, part.length()), checksumLength);
+                    final InputStream inputStream = abortableSnapshotStream(checksumStream, fileInfo, shardId, snapshotId, snapshotStatus);
+                    final String blobName = fileInfo.partName(part.blob());
+                    LOGGER.trace(() -> new ParameterizedMessage("[{}] Writing part [{}] of [{}] to [{}]",
+                        metadata.name(), part.partNumber(), blobName, container.path()));
+                    if (part.partNumber() < 0) {
+                        container.writeBlob(blobName, inputStream, part.length(), false);
+                    } else {
+                        blobUpload(part.blob()).uploadPart(part.partNumber(), part.position(), inputStream, part.length());
+                    }
+                    if (checksumStream.checksummedBytes() != checksumLength) {
+                        throw new IOException("Part [" + part.index() + "] of [" + fileInfo.physicalName() + "] was not fully uploaded");
+                    }
+                    checksum = checksumStream.checksum();
+                }
+                onPartUploaded(part, checksum);
+            } catch (Exception e) {
+                onFailure(e);
+                throw e;
+            }
+        }
+
+        /**
+         * The checksum in the footer of a Lucene file covers all bytes except for the trailing checksum itself
+         */
+        private long checksumLength(FilePart part) {
+            final long checksummedFileBytes = fileInfo.length() - Long.BYTES;
+            return Math.max(0, Math.min(part.length(), checksummedFileBytes - part.offset()));
+        }
+
+        private MultipartUpload blobUpload(int blob) throws IOException {
+            synchronized (this) {
+                if (failed) {
+                    throw new IOException("Upload of [" + fileInfo.physicalName() + "] failed");
+                }
+                if (blobUploads[blob] == null) {
+                    blobUploads[blob] = container.startMultipartUpload(
+                        fileInfo.partName(blob), fileInfo.partBytes(blob), blobPartSizes[blob]);
+                }
+                return blobUploads[blob];
+            }
+        }
+
+        private void onPartUploaded(FilePart part, long checksum) throws IOException {
+            synchronized (this) {
+                checksums[part.index()] = checksum;
+                if (--remainingParts > 0) {
+                    return;
+                }
+            }
+            // A failing verification leaves the uploads in place to be aborted by onFailure
+            verifyChecksum();
+            for (int blob = 0; blob < blobUploads.length; blob++) {
+                final MultipartUpload blobUpload;
+                synchronized (this) {
+                    blobUpload = blobUploads[blob];
+                }
+                if (blobUpload != null) {
+                    blobUpload.complete();
+                    synchronized (this) {
+                        blobUploads[blob] = null;
+                    }
+                }
+            }
+            snapshotStatus.addProcessedFile(fileInfo.length());
+        }
+
+        private void verifyChecksum() throws IOException {
+            long checksum = 0;
+            for (FilePart part : parts) {
+                checksum = CRC32Combine.combine(checksum, checksums[part.index()], checksumLength(part));
+            }
+            final String actualChecksum = Store.digestToString(checksum);
+            if (actualChecksum.equals(fileInfo.metadata().checksum()) == false) {
+                throw new CorruptIndexException("checksum failed (hardware problem?) : expected=" + fileInfo.metadata().checksum() +
+                    " actual=" + actualChecksum, fileInfo.physicalName());
+            }
+        }
+
+        private void onFailure(Exception e) {
+            final List<MultipartUpload> uploadsToAbort = new ArrayList<>();
+            synchronized (this) {
+                if (failed) {
+                    return;
+                }
+                failed = true;
+                for (MultipartUpload blobUpload : blobUploads) {
+                    if (blobUpload != null) {
+                        uploadsToAbort.add(blobUpload);
+                    }
+                }
+            }
+            for (MultipartUpload blobUpload : uploadsToAbort) {
+                try {
+                    blobUpload.abort();
+                } catch (Exception abortException) {
+                    LOGGER.warn(() -> new ParameterizedMessage("[{}] [{}] failed to abort upload of [{}]",
+                        shardId, snapshotId, fileInfo.physicalName()), abortException);
+                }
+            }
+            failStoreIfCorrupted(store, e);
+            snapshotStatus.addProcessedFile(0);
+        }
+    }
+
+    /**
+     * Computes the CRC32 checksum of the first {@code checksumLength} bytes read from a stream.
+     * Bytes which are read again after a {@link #reset()} are only accounted once.
+     */
+    private static final class ChecksumInputStream extends FilterInputStream {
+
+        private final CRC32 crc = new CRC32();
+        private final long checksumLength;
+        private long position = 0;
+        private long markPosition = 0;
+        private long checksummed = 0;
+
+        ChecksumInputStream(InputStream in, long checksumLength) {
+            super(in);
+            this.checksumLength = checksumLength;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b != -1) {
+                if (position == checksummed && checksummed < checksumLength) {
+                    crc.update(b);
+                    checksummed++;
+                }
+                position++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int read = super.read(b, off, len);
+            if (read > 0) {
+                final long end = Math.min(position + read, checksumLength);
+                if (end > checksummed) {
+                    crc.update(b, off + (int) (checksummed - position), (int) (end - checksummed));
+                    checksummed = end;
+                }
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Read skipped bytes to include them in the checksum
+            final byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            long skipped = 0;
+            while (skipped < n) {
+                final int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public synchronized void mark(int readlimit) {
+            super.mark(readlimit);
+            markPosition = position;
+        }
+
+        @Override
+        public synchronized void reset() throws IOException {
+            super.reset();
+            position = markPosition;
+        }
+
+        long checksummedBytes() {
+            return checksummed;
+        }
+
+        long checksum() {
+            return crc.getValue();
+        }
+    }
+
     private static Releasable incrementStoreRef(Store store, IndexShardSnapshotStatus snapshotStatus, ShardId shardId) {
         if (store.tryIncRef() == false) {
             if (snapshotStatus.isAborted()) {
@@ -1946,13 +2303,30 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
             (l, e) -> l.onFailure(new IndexShardRestoreFailedException(shardId, "failed to restore snapshot [" + snapshotId + "]", e)));
         final Executor executor = threadPool.executor(ThreadPool.Names.SNAPSHOT);
         final BlobContainer container = shardContainer(indexId, snapshotShardId);
+        // Bounds the number of parts that are downloaded or buffered concurrently for this shard
+        final Semaphore partPermits = new Semaphore(maxConcurrentTransfersPerShard);
         executor.execute(ActionRunnable.wrap(restoreListener, l -> {
             final BlobStoreIndexShardSnapshot snapshot = loadShardSnapshot(container, snapshotId);
             final SnapshotFiles snapshotFiles = new SnapshotFiles(snapshot.snapshot(), snapshot.indexFiles(), null);
             new FileRestoreContext(metadata.name(), shardId, snapshotId, recoveryState) {
                 @Override
-                protected void restoreFiles(List<BlobStoreIndexShardSnapshot.FileInfo> filesToRecover, Store store,
+                protected void restoreFiles(List<BlobStoreIndexShardSnapshot.FileInfo> snapshotFilesToRecover, Store store,
                                             ActionListener<Void> listener) {
+                    final List<BlobStoreIndexShardSnapshot.FileInfo> filesToRecover;
+                    if (SearchableSnapshotDirectory.unwrap(store.directory()) == null) {
+                        filesToRecover = snapshotFilesToRecover;
+                    } else {
+                        // Shards of mounted indices only restore the commit point,
+                        // all other files are read from the repository when accessed
+                        filesToRecover = new ArrayList<>();
+                        for (BlobStoreIndexShardSnapshot.FileInfo fileInfo : snapshotFilesToRecover) {
+                            if (SearchableSnapshotDirectory.isReadFromRepository(fileInfo.physicalName())) {
+                                recoveryState.getIndex().addRecoveredBytesToFile(fileInfo.physicalName(), fileInfo.length());
+                            } else {
+                                filesToRecover.add(fileInfo);
+                            }
+                        }
+                    }
                     if (filesToRecover.isEmpty()) {
                         listener.onResponse(null);
                     } else {
@@ -1960,7 +2334,8 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
                         int maxPoolSize = executor instanceof ThreadPoolExecutor
                             ? ((ThreadPoolExecutor) executor).getMaximumPoolSize()
                             : 1;
-                        final int workers = Math.min(maxPoolSize, snapshotFiles.indexFiles().size());
+                        final int workers = Math.min(
+                            Math.min(maxPoolSize, maxConcurrentTransfersPerShard), snapshotFiles.indexFiles().size());
                         final BlockingQueue<BlobStoreIndexShardSnapshot.FileInfo> files = new LinkedBlockingQueue<>(filesToRecover);
                         final ActionListener<Void> allFilesListener = fileQueueListener(files, workers, listener.map(v -> null));
                         // restore the files from the snapshot to the Lucene store
@@ -2002,6 +2377,8 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
                             final BytesRef hash = fileInfo.metadata().hash();
                             indexOutput.writeBytes(hash.bytes, hash.offset, hash.length);
                             recoveryState.getIndex().addRecoveredBytesToFile(fileInfo.physicalName(), hash.length);
+                        } else if (fileInfo.length() > partSize && container.supportsRangedReads()) {
+                            restoreFileInParts(fileInfo, store, indexOutput);
                         } else {
                             try (InputStream stream = maybeRateLimitRestores(new SlicedInputStream(fileInfo.numberOfParts()) {
                                 @Override
@@ -2037,6 +2414,108 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
                     }
                 }
 
+                /**
+                 * Downloads the parts of a file concurrently and writes them to the output in order.
+                 * Besides the permits of the shard every part holds a permit of the node and is accounted in the restore breaker
+                 * until it is written. Only the part which is written next is waited for, the parts after it are prefetched
+                 * if permits and memory are available.
+                 */
+                private void restoreFileInParts(BlobStoreIndexShardSnapshot.FileInfo fileInfo,
+                                                Store store,
+                                                IndexOutput indexOutput) throws IOException {
+                    final long[] blobPartSizes = new long[fileInfo.numberOfParts()];
+                    Arrays.fill(blobPartSizes, partSize);
+                    final List<FilePart> parts = fileParts(fileInfo, blobPartSizes);
+                    final List<PartFetch> fetches = new ArrayList<>(parts.size());
+                    int next = 0;
+                    try {
+                        while (next < parts.size()) {
+                            if (fetches.size() == next) {
+                                // Nothing is held at this point, so waiting for permits can't block the restores holding them
+                                fetches.add(fetchPart(fileInfo, parts.get(next), true));
+                            }
+                            while (fetches.size() < parts.size()) {
+                                final PartFetch fetch = fetchPart(fileInfo, parts.get(fetches.size()), false);
+                                if (fetch == null) {
+                                    break;
+                                }
+                                fetches.add(fetch);
+                            }
+                            final PartFetch fetch = fetches.get(next);
+                            final byte[] bytes = fetch.await();
+                            ensureNotClosing(store);
+                            indexOutput.writeBytes(bytes, 0, bytes.length);
+                            recoveryState.getIndex().addRecoveredBytesToFile(fileInfo.physicalName(), bytes.length);
+                            fetch.release();
+                            next++;
+                        }
+                    } finally {
+                        for (int i = next; i < fetches.size(); i++) {
+                            fetches.get(i).cancel();
+                        }
+                    }
+                }
+
+                /**
+                 * Starts the download of a part on the snapshot pool.
+                 * @param required if true, waits for the permits and fails if the breaker trips,
+                 *                 otherwise returns null if no permits or memory are available.
+                 */
+                @Nullable
+                private PartFetch fetchPart(BlobStoreIndexShardSnapshot.FileInfo fileInfo,
+                                            FilePart part,
+                                            boolean required) throws IOException {
+                    final Semaphore nodePermits = recoverySettings.snapshotFileDownloadPermits();
+                    final CircuitBreaker breaker = recoverySettings.restoreBreaker();
+                    if (required) {
+                        acquire(partPermits, fileInfo);
+                        try {
+                            acquire(nodePermits, fileInfo);
+                        } catch (IOException e) {
+                            partPermits.release();
+                            throw e;
+                        }
+                    } else if (partPermits.tryAcquire() == false) {
+                        return null;
+                    } else if (nodePermits.tryAcquire() == false) {
+                        partPermits.release();
+                        return null;
+                    }
+                    try {
+                        breaker.addEstimateBytesAndMaybeBreak(part.length(), "restore:" + fileInfo.physicalName());
+                    } catch (CircuitBreakingException e) {
+                        nodePermits.release();
+                        partPermits.release();
+                        if (required) {
+                            throw e;
+                        }
+                        return null;
+                    }
+                    final PartFetch fetch = new PartFetch(() -> readPart(fileInfo, part), () -> {
+                        breaker.addWithoutBreaking(-part.length());
+                        nodePermits.release();
+                        partPermits.release();
+                    });
+                    try {
+                        executor.execute(fetch);
+                    } catch (RejectedExecutionException e) {
+                        // The part is downloaded by the thread waiting for it
+                    }
+                    return fetch;
+                }
+
+                private byte[] readPart(BlobStoreIndexShardSnapshot.FileInfo fileInfo, FilePart part) throws IOException {
+                    final String blobName = fileInfo.partName(part.blob());
+                    try (InputStream stream = maybeRateLimitRestores(container.readBlob(blobName, part.position(), part.length()))) {
+                        final byte[] bytes = stream.readNBytes(Math.toIntExact(part.length()));
+                        if (bytes.length != part.length()) {
+                            throw new EOFException("Blob [" + blobName + "] ended after [" + (part.position() + bytes.length) +
+                                "] bytes, expected [" + (part.position() + part.length()) + "]");
+                        }
+                        return bytes;
+                    }
+                }
+
                 void ensureNotClosing(final Store store) throws AlreadyClosedException {
                     assert store.refCount() > 0;
                     if (store.isClosing()) {
@@ -2048,7 +2527,79 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
         }));
     }
 
-    private static ActionListener<Void> fileQueueListener(BlockingQueue<BlobStoreIndexShardSnapshot.FileInfo> files, int workers,
+    private static void acquire(Semaphore permits, BlobStoreIndexShardSnapshot.FileInfo fileInfo) throws IOException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while restoring [" + fileInfo.physicalName() + "]");
+        }
+    }
+
+    /**
+     * Download of a part of a file which is restored in parts.
+     * The download runs on the snapshot pool or on the thread waiting for it, whichever gets to it first.
+     * This way restores waiting for their parts can't starve the pool which is supposed to download them.
+     */
+    private static final class PartFetch implements Runnable {
+
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+        private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+        private final CheckedSupplier<byte[], IOException> download;
+        private final Runnable release;
+
+        PartFetch(CheckedSupplier<byte[], IOException> download, Runnable release) {
+            this.download = download;
+            this.release = release;
+        }
+
+        @Override
+        public void run() {
+            if (claimed.compareAndSet(false, true)) {
+                try {
+                    result.complete(download.get());
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            }
+        }
+
+        byte[] await() throws IOException {
+            run();
+            try {
+                return result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the download of a part");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException ioException) {
+                    throw ioException;
+                }
+                throw Exceptions.toRuntimeException(e.getCause());
+            }
+        }
+
+        /**
+         * Releases the permits and memory of a part after it was written
+         */
+        void release() {
+            release.run();
+        }
+
+        /**
+         * Abandons the part. Releases the permits and memory right away if the download didn't start yet,
+         * otherwise once it finished.
+         */
+        void cancel() {
+            if (claimed.compareAndSet(false, true)) {
+                release.run();
+            } else {
+                result.whenComplete((_, _) -> release.run());
+            }
+        }
+    }
+
+    private static ActionListener<Void> fileQueueListener(BlockingQueue<?> files, int workers,
                                                           ActionListener<Collection<Void>> listener) {
         return ActionListener.delegateResponse(new GroupedActionListener<>(listener, workers), (l, e) -> {
             files.clear(); // Stop uploading the remaining files if we run into any exception
@@ -2275,29 +2826,8 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
             for (int i = 0; i < fileInfo.numberOfParts(); i++) {
                 final long partBytes = fileInfo.partBytes(i);
 
-                InputStream inputStream = new InputStreamIndexInput(indexInput, partBytes);
-                // Make reads abortable by mutating the snapshotStatus object
-                inputStream = new FilterInputStream(maybeRateLimitSnapshots(inputStream)) {
-                    @Override
-                    public int read() throws IOException {
-                        checkAborted();
-                        return super.read();
-                    }
-
-                    @Override
-                    public int read(byte[] b, int off, int len) throws IOException {
-                        checkAborted();
-                        return super.read(b, off, len);
-                    }
-
-                    private void checkAborted() {
-                        if (snapshotStatus.isAborted()) {
-                            LOGGER.debug("[{}] [{}] Aborted on the file [{}], exiting", shardId,
-                                snapshotId, fileInfo.physicalName());
-                            throw new AbortedSnapshotException();
-                        }
-                    }
-                };
+                final InputStream inputStream = abortableSnapshotStream(
+                    new InputStreamIndexInput(indexInput, partBytes), fileInfo, shardId, snapshotId, snapshotStatus);
                 final String partName = fileInfo.partName(i);
                 LOGGER.trace(() ->
                         new ParameterizedMessage("[{}] Writing [{}] to [{}]", metadata.name(), partName, shardContainer.path()));
@@ -2312,6 +2842,37 @@ public abstract class BlobStoreRepository extends AbstractLifecycleComponent imp
         }
     }
 
+    /**
+     * Rate limits reads of the given stream and makes them abortable by mutating the snapshotStatus object
+     */
+    private InputStream abortableSnapshotStream(InputStream inputStream,
+                                                BlobStoreIndexShardSnapshot.FileInfo fileInfo,
+                                                ShardId shardId,
+                                                SnapshotId snapshotId,
+                                                IndexShardSnapshotStatus snapshotStatus) {
+        return new FilterInputStream(maybeRateLimitSnapshots(inputStream)) {
+            @Override
+            public int read() throws IOException {
+                checkAborted();
+                return super.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                checkAborted();
+                return super.read(b, off, len);
+            }
+
+            private void checkAborted() {
+                if (snapshotStatus.isAborted()) {
+                    LOGGER.debug("[{}] [{}] Aborted on the file [{}], exiting", shardId,
+                        snapshotId, fileInfo.physicalName());
+                    throw new AbortedSnapshotException();
+                }
+            }
+        };
+    }
+
     private static void failStoreIfCorrupted(Store store, Exception e) {
         if (Lucene.isCorruptionException(e)) {
             try {
@@ -19,6 +19,7 @@
 
 package org.elasticsearch.snapshots;
 
+import static io.crate.analyze.SnapshotSettings.MOUNT;
 import static io.crate.analyze.SnapshotSettings.SCHEMA_RENAME_PATTERN;
 import static io.crate.analyze.SnapshotSettings.SCHEMA_RENAME_REPLACEMENT;
 import static io.crate.analyze.SnapshotSettings.TABLE_RENAME_PATTERN;
@@ -94,12 +95,15 @@ import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.settings.Settings.Builder;
 import org.elasticsearch.index.Index;
+import org.elasticsearch.index.IndexModule;
 import org.elasticsearch.index.IndexNotFoundException;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.shard.IndexShard;
 import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.index.store.SearchableSnapshotDirectory;
 import org.elasticsearch.indices.ShardLimitValidator;
 import org.elasticsearch.plugins.MetadataUpgrader;
+import org.elasticsearch.repositories.IndexId;
 import org.elasticsearch.repositories.RepositoriesService;
 import org.elasticsearch.repositories.Repository;
 import org.elasticsearch.repositories.RepositoryData;
@@ -483,6 +487,7 @@ public class RestoreService implements ClusterStateApplier {
                     ImmutableOpenMap.builder();
                 final Version minIndexCompatibilityVersion = currentState.nodes().getMaxNodeVersion()
                     .minimumIndexCompatibilityVersion();
+                final boolean mount = MOUNT.get(request.settings());
                 for (Map.Entry<String, String> indexEntry : indices.entrySet()) {
                     String index = indexEntry.getValue();
                     boolean partial = checkPartial(index);
@@ -540,6 +545,20 @@ public class RestoreService implements ClusterStateApplier {
                                 || currentState.nodes().getMinNodeVersion().onOrAfter(Version.V_5_1_0)) {
                             indexSettingsBuilder.put(IndexMetadata.SETTING_HISTORY_UUID, UUIDs.randomBase64UUID());
                         }
+                        if (mount) {
+                            // Shards of a mounted index are read-only and read their files from the repository,
+                            // see SearchableSnapshotDirectory and Operation.MOUNTED_FROM_SNAPSHOT
+                            IndexId indexId = recoverySource.index();
+                            indexSettingsBuilder
+                                .put(IndexModule.INDEX_STORE_TYPE_SETTING.getKey(), SearchableSnapshotDirectory.STORE_TYPE)
+                                .put(SearchableSnapshotDirectory.REPOSITORY_NAME_SETTING.getKey(), snapshot.getRepository())
+                                .put(SearchableSnapshotDirectory.SNAPSHOT_NAME_SETTING.getKey(), snapshotId.getName())
+                                .put(SearchableSnapshotDirectory.SNAPSHOT_UUID_SETTING.getKey(), snapshotId.getUUID())
+                                .put(SearchableSnapshotDirectory.INDEX_NAME_SETTING.getKey(), indexId.getName())
+                                .put(SearchableSnapshotDirectory.INDEX_UUID_SETTING.getKey(), indexId.getId())
+                                .put(IndexMetadata.SETTING_NUMBER_OF_REPLICAS, 0)
+                                .put(AutoExpandReplicas.SETTING_KEY, "false");
+                        }
                         indexMdBuilder.settings(indexSettingsBuilder);
 
                         shardLimitValidator.validateShardLimit(snapshotIndexMetadata.getSettings(), currentState);
@@ -560,6 +579,10 @@ public class RestoreService implements ClusterStateApplier {
                         mdBuilder.put(updatedIndexMetadata, true);
                         renamedIndex = updatedIndexMetadata.getIndex();
                     } else {
+                        if (mount) {
+                            throw new SnapshotRestoreException(snapshot, "cannot mount index [" + renamedIndexName
+                                + "] because an index with the same name already exists in the cluster");
+                        }
                         validateExistingIndex(currentIndexMetadata, snapshotIndexMetadata, renamedIndexName, partial);
                         // Index exists and it's closed - open it in metadata and start recovery
                         IndexMetadata.Builder indexMdBuilder = IndexMetadata.builder(snapshotIndexMetadata).state(IndexMetadata.State.OPEN);
@@ -91,6 +91,7 @@ import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.index.Index;
 import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.index.store.SearchableSnapshotDirectory;
 import org.elasticsearch.repositories.IndexId;
 import org.elasticsearch.repositories.RepositoriesService;
 import org.elasticsearch.repositories.Repository;
@@ -1466,6 +1467,15 @@ public class SnapshotsService extends AbstractLifecycleComponent implements Clus
                         );
                     }
                 }
+                // the files of tables mounted from a snapshot are read from the repository on demand
+                List<String> mountedIndices = SearchableSnapshotDirectory.mountedIndices(
+                    currentState.metadata(), repoName, snapshotIds);
+                if (mountedIndices.isEmpty() == false) {
+                    throw new SnapshotException(
+                        new Snapshot(repoName, snapshotIds.get(0)),
+                        "cannot delete snapshot while it is used by the mounted indices " + mountedIndices
+                    );
+                }
                 final SnapshotsInProgress snapshots = currentState.custom(SnapshotsInProgress.TYPE, SnapshotsInProgress.EMPTY);
                 // Snapshot ids that will have to be physically deleted from the repository
                 final Set<SnapshotId> snapshotIdsRequiringCleanup = new HashSet<>(snapshotIds);
@@ -32,6 +32,7 @@ import org.elasticsearch.common.unit.SizeValue;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
 import org.elasticsearch.common.util.concurrent.EsThreadPoolExecutor;
+import org.elasticsearch.common.util.concurrent.EsVirtualThreadExecutor;
 import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.common.util.concurrent.XRejectedExecutionHandler;
 import org.elasticsearch.node.Node;
@@ -74,12 +75,14 @@ public class ThreadPool implements Scheduler {
         public static final String FETCH_SHARD_STARTED = "fetch_shard_started";
         public static final String FETCH_SHARD_STORE = "fetch_shard_store";
         public static final String LOGICAL_REPLICATION = "logical_replication";
+        public static final String BLOCKING_IO = "blocking_io";
     }
 
     public enum ThreadPoolType {
         DIRECT("direct"),
         FIXED("fixed"),
-        SCALING("scaling");
+        SCALING("scaling"),
+        VIRTUAL("virtual");
 
         private final String type;
 
@@ -125,7 +128,8 @@ public class ThreadPool implements Scheduler {
         Map.entry(Names.FORCE_MERGE, ThreadPoolType.FIXED),
         Map.entry(Names.FETCH_SHARD_STARTED, ThreadPoolType.SCALING),
         Map.entry(Names.FETCH_SHARD_STORE, ThreadPoolType.SCALING),
-        Map.entry(Names.LOGICAL_REPLICATION, ThreadPoolType.FIXED)
+        Map.entry(Names.LOGICAL_REPLICATION, ThreadPoolType.FIXED),
+        Map.entry(Names.BLOCKING_IO, ThreadPoolType.VIRTUAL)
     );
 
     private final Map<String, ExecutorHolder> executors;
@@ -172,6 +176,8 @@ public class ThreadPool implements Scheduler {
         builders.put(Names.FETCH_SHARD_STORE,
                 new ScalingExecutorBuilder(Names.FETCH_SHARD_STORE, 1, 2 * availableProcessors, TimeValue.timeValueMinutes(5)));
         builders.put(Names.LOGICAL_REPLICATION, new FixedExecutorBuilder(settings, Names.LOGICAL_REPLICATION, searchThreadPoolSize(availableProcessors), 100));
+        // sources and sinks which block on I/O, e.g. COPY FROM/TO object stores or foreign tables
+        builders.put(Names.BLOCKING_IO, new VirtualExecutorBuilder(Names.BLOCKING_IO));
         this.builders = Collections.unmodifiableMap(builders);
 
         final Map<String, ExecutorHolder> executors = new HashMap<>();
@@ -240,6 +246,14 @@ public class ThreadPool implements Scheduler {
                 if (rejectedExecutionHandler instanceof XRejectedExecutionHandler) {
                     rejected = ((XRejectedExecutionHandler) rejectedExecutionHandler).rejected();
                 }
+            } else if (holder.executor() instanceof EsVirtualThreadExecutor virtualThreadExecutor) {
+                // Each task runs on its own thread, tasks are never queued
+                active = virtualThreadExecutor.getActiveCount();
+                threads = active;
+                queue = 0;
+                largest = virtualThreadExecutor.getLargestPoolSize();
+                completed = virtualThreadExecutor.getCompletedTaskCount();
+                rejected = virtualThreadExecutor.getRejectedCount();
             }
             stats.add(new ThreadPoolStats.Stats(name, threads, queue, active, rejected, largest, completed));
         }
@@ -335,8 +349,8 @@ public class ThreadPool implements Scheduler {
         scheduler.shutdown();
         for (ExecutorHolder executorHolder : executors.values()) {
             Executor executor = executorHolder.executor();
-            if (executor instanceof ThreadPoolExecutor) {
-                ((ThreadPoolExecutor) executor).shutdown();
+            if (executor instanceof ExecutorService executorService) {
+                executorService.shutdown();
             }
         }
     }
@@ -346,8 +360,8 @@ public class ThreadPool implements Scheduler {
         scheduler.shutdownNow();
         for (ExecutorHolder executorHolder : executors.values()) {
             Executor executor = executorHolder.executor();
-            if (executor instanceof ThreadPoolExecutor) {
-                ((ThreadPoolExecutor) executor).shutdownNow();
+            if (executor instanceof ExecutorService executorService) {
+                executorService.shutdownNow();
             }
         }
     }
@@ -356,8 +370,8 @@ public class ThreadPool implements Scheduler {
         boolean result = scheduler.awaitTermination(timeout, unit);
         for (ExecutorHolder executorHolder : executors.values()) {
             Executor executor = executorHolder.executor();
-            if (executor instanceof ThreadPoolExecutor) {
-                result &= ((ThreadPoolExecutor) executor).awaitTermination(timeout, unit);
+            if (executor instanceof ExecutorService executorService) {
+                result &= executorService.awaitTermination(timeout, unit);
             }
         }
         cachedTimeThread.join(unit.toMillis(timeout));
@@ -506,8 +520,10 @@ public class ThreadPool implements Scheduler {
         public final Info info;
 
         ExecutorHolder(Executor executor, Info info) {
-            assert executor instanceof EsThreadPoolExecutor || executor == EsExecutors.directExecutor()
-                : "Executor must either be the DIRECT_EXECUTOR or an instance of EsThreadPoolExecutor";
+            assert executor instanceof EsThreadPoolExecutor
+                || executor instanceof EsVirtualThreadExecutor
+                || executor == EsExecutors.directExecutor()
+                : "Executor must either be the DIRECT_EXECUTOR or an instance of EsThreadPoolExecutor or EsVirtualThreadExecutor";
             this.executor = executor;
             this.info = info;
         }
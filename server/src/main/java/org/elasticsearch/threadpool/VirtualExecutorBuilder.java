@@ -0,0 +1,72 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package org.elasticsearch.threadpool;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.EsExecutors;
+import org.elasticsearch.node.Node;
+
+/**
+ * A builder for executors which run each task on a new virtual thread.
+ */
+public final class VirtualExecutorBuilder extends ExecutorBuilder<VirtualExecutorBuilder.VirtualExecutorSettings> {
+
+    public VirtualExecutorBuilder(String name) {
+        super(name);
+    }
+
+    @Override
+    public List<Setting<?>> getRegisteredSettings() {
+        return List.of();
+    }
+
+    @Override
+    VirtualExecutorSettings getSettings(Settings settings) {
+        return new VirtualExecutorSettings(Node.NODE_NAME_SETTING.get(settings));
+    }
+
+    @Override
+    ThreadPool.ExecutorHolder build(VirtualExecutorSettings settings) {
+        ThreadPool.Info info = new ThreadPool.Info(name(), ThreadPool.ThreadPoolType.VIRTUAL);
+        var executor = EsExecutors.newVirtualThreadPerTask(
+            settings.nodeName + "/" + name(),
+            EsExecutors.threadName(settings.nodeName, name())
+        );
+        return new ThreadPool.ExecutorHolder(executor, info);
+    }
+
+    @Override
+    String formatInfo(ThreadPool.Info info) {
+        return String.format(Locale.ROOT, "name [%s], type [%s]", info.getName(), info.getThreadPoolType().getType());
+    }
+
+    static class VirtualExecutorSettings extends ExecutorBuilder.ExecutorSettings {
+
+        VirtualExecutorSettings(String nodeName) {
+            super(nodeName);
+        }
+    }
+}
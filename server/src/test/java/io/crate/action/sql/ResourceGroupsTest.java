@@ -0,0 +1,194 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+
+package io.crate.action.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.test.ESTestCase;
+import org.junit.Test;
+
+import io.crate.action.sql.ResourceGroups.ResourceGroup;
+
+public class ResourceGroupsTest extends ESTestCase {
+
+    private final ClusterSettings clusterSettings =
+        new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
+
+    private static ResourceGroup group(ResourceGroups resourceGroups, String name) {
+        return resourceGroups.groups().stream().filter(g -> g.name().equals(name)).findFirst().orElseThrow();
+    }
+
+    @Test
+    public void test_statements_are_queued_once_max_concurrency_is_reached() {
+        Settings settings = Settings.builder()
+            .put("resource_groups.etl.max_concurrency", 1)
+            .build();
+        ResourceGroups resourceGroups = new ResourceGroups(settings, clusterSettings);
+        AtomicInteger started = new AtomicInteger();
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        CompletableFuture<Object> second = new CompletableFuture<>();
+
+        CompletableFuture<?> firstResult = resourceGroups.admit("etl", Runnable::run, () -> {
+            started.incrementAndGet();
+            return first;
+        });
+        CompletableFuture<?> secondResult = resourceGroups.admit("etl", Runnable::run, () -> {
+            started.incrementAndGet();
+            return second;
+        });
+        ResourceGroup etl = group(resourceGroups, "etl");
+        assertThat(started.get()).isEqualTo(1);
+        assertThat(etl.running()).isEqualTo(1);
+        assertThat(etl.queued()).isEqualTo(1);
+
+        first.complete(1);
+        assertThat(firstResult.getNow(null)).isEqualTo(1);
+        assertThat(started.get()).isEqualTo(2);
+        assertThat(etl.running()).isEqualTo(1);
+        assertThat(etl.queued()).isEqualTo(0);
+        assertThat(secondResult).isNotDone();
+
+        second.complete(2);
+        assertThat(secondResult.getNow(null)).isEqualTo(2);
+        assertThat(etl.running()).isEqualTo(0);
+        assertThat(etl.admitted()).isEqualTo(2L);
+    }
+
+    @Test
+    public void test_statements_are_rejected_if_queue_is_full() {
+        Settings settings = Settings.builder()
+            .put("resource_groups.etl.max_concurrency", 1)
+            .put("resource_groups.etl.max_queued", 0)
+            .build();
+        ResourceGroups resourceGroups = new ResourceGroups(settings, clusterSettings);
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        resourceGroups.admit("etl", Runnable::run, () -> first);
+
+        assertThatThrownBy(() -> resourceGroups.admit("etl", Runnable::run, () -> CompletableFuture.completedFuture(null)))
+            .isExactlyInstanceOf(EsRejectedExecutionException.class)
+            .hasMessage("Resource group `etl` reached its limit of 1 running and 0 queued statements");
+        assertThat(group(resourceGroups, "etl").rejected()).isEqualTo(1L);
+
+        first.complete(null);
+        assertThat(resourceGroups.admit("etl", Runnable::run, () -> CompletableFuture.completedFuture(1)).join()).isEqualTo(1);
+    }
+
+    @Test
+    public void test_failing_execution_releases_its_slot() {
+        Settings settings = Settings.builder()
+            .put("resource_groups.etl.max_concurrency", 1)
+            .build();
+        ResourceGroups resourceGroups = new ResourceGroups(settings, clusterSettings);
+        assertThatThrownBy(() -> resourceGroups.admit("etl", Runnable::run, () -> {
+            throw new IllegalStateException("planning failed");
+        })).isExactlyInstanceOf(IllegalStateException.class);
+        assertThat(group(resourceGroups, "etl").running()).isEqualTo(0);
+    }
+
+    @Test
+    public void test_raising_max_concurrency_starts_queued_statements() {
+        ResourceGroups resourceGroups = new ResourceGroups(Settings.EMPTY, clusterSettings);
+        clusterSettings.applySettings(Settings.builder().put("resource_groups.etl.max_concurrency", 1).build());
+
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        resourceGroups.admit("etl", Runnable::run, () -> first);
+        CompletableFuture<?> second = resourceGroups.admit("etl", Runnable::run, () -> CompletableFuture.completedFuture(2));
+        assertThat(second).isNotDone();
+
+        clusterSettings.applySettings(Settings.builder().put("resource_groups.etl.max_concurrency", 2).build());
+        assertThat(second.getNow(null)).isEqualTo(2);
+    }
+
+    @Test
+    public void test_unknown_groups_are_admitted_via_default_group() {
+        Settings settings = Settings.builder()
+            .put("resource_groups.default.max_concurrency", 1)
+            .build();
+        ResourceGroups resourceGroups = new ResourceGroups(settings, clusterSettings);
+        assertThat(resourceGroups.exists("adhoc")).isFalse();
+
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        resourceGroups.admit("adhoc", Runnable::run, () -> first);
+        CompletableFuture<?> second = resourceGroups.admit("adhoc", Runnable::run, () -> CompletableFuture.completedFuture(2));
+        assertThat(second).isNotDone();
+        assertThat(group(resourceGroups, ResourceGroups.DEFAULT_GROUP).queued()).isEqualTo(1);
+        assertThat(resourceGroups.groups()).extracting(ResourceGroup::name).containsExactly(ResourceGroups.DEFAULT_GROUP);
+
+        first.complete(1);
+        assertThat(second.getNow(null)).isEqualTo(2);
+    }
+
+    @Test
+    public void test_queued_statements_are_started_using_the_executor() {
+        Settings settings = Settings.builder()
+            .put("resource_groups.etl.max_concurrency", 1)
+            .build();
+        ResourceGroups resourceGroups = new ResourceGroups(settings, clusterSettings);
+        ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        resourceGroups.admit("etl", tasks::add, () -> first);
+        CompletableFuture<?> second = resourceGroups.admit("etl", tasks::add, () -> CompletableFuture.completedFuture(2));
+        assertThat(tasks).isEmpty();
+
+        first.complete(1);
+        assertThat(second).isNotDone();
+        assertThat(tasks).hasSize(1);
+        assertThat(group(resourceGroups, "etl").running()).isEqualTo(1);
+
+        tasks.poll().run();
+        assertThat(second.getNow(null)).isEqualTo(2);
+        assertThat(group(resourceGroups, "etl").running()).isEqualTo(0);
+    }
+
+    @Test
+    public void test_cancelled_statements_are_removed_from_the_queue() {
+        Settings settings = Settings.builder()
+            .put("resource_groups.etl.max_concurrency", 1)
+            .build();
+        ResourceGroups resourceGroups = new ResourceGroups(settings, clusterSettings);
+        AtomicInteger started = new AtomicInteger();
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        resourceGroups.admit("etl", Runnable::run, () -> first);
+        CompletableFuture<?> second = resourceGroups.admit("etl", Runnable::run, () -> {
+            started.incrementAndGet();
+            return CompletableFuture.completedFuture(2);
+        });
+        ResourceGroup etl = group(resourceGroups, "etl");
+        assertThat(etl.queued()).isEqualTo(1);
+
+        second.cancel(false);
+        assertThat(etl.queued()).isEqualTo(0);
+
+        first.complete(1);
+        assertThat(started.get()).isEqualTo(0);
+        assertThat(etl.running()).isEqualTo(0);
+    }
+}
@@ -77,7 +77,8 @@ public class SessionsTest extends CrateDummyClusterServiceUnitTest {
             new JobsLogs(() -> false),
             Settings.EMPTY,
             clusterService,
-            sessionSettingRegistry
+            sessionSettingRegistry,
+            new ResourceGroups(Settings.EMPTY)
         );
 
         KeyData keyData = new KeyData(10, 20);
@@ -141,7 +142,8 @@ public class SessionsTest extends CrateDummyClusterServiceUnitTest {
                 .put("statement_timeout", "30s")
                 .build(),
             clusterService,
-            sessionSettingRegistry
+            sessionSettingRegistry,
+            new ResourceGroups(Settings.EMPTY)
         );
         Session session = sessions.newSession("doc", Role.CRATE_USER);
         assertThat(session.sessionSettings().statementTimeout())
@@ -167,7 +169,8 @@ public class SessionsTest extends CrateDummyClusterServiceUnitTest {
             new JobsLogs(() -> false),
             Settings.EMPTY,
             clusterService,
-            sessionSettingRegistry
+            sessionSettingRegistry,
+            new ResourceGroups(Settings.EMPTY)
         );
         return sessions;
     }
@@ -0,0 +1,100 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.action.sql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.elasticsearch.common.breaker.MemoryCircuitBreaker;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.test.ESTestCase;
+import org.junit.Test;
+
+import io.crate.common.collections.Lists;
+import io.crate.types.DataTypes;
+
+public class SpillingRowBufferTest extends ESTestCase {
+
+    private static final String PADDING = "x".repeat(1000);
+
+    @Test
+    public void test_buffered_rows_exceeding_breaker_limit_are_spilled_to_disk() throws Exception {
+        MemoryCircuitBreaker breaker = new MemoryCircuitBreaker(
+            new ByteSizeValue(8, ByteSizeUnit.MB),
+            1.0,
+            LogManager.getLogger(SpillingRowBufferTest.class)
+        );
+        int numRows = 20_000;
+        try (SpillingRowBuffer rows = new SpillingRowBuffer(
+                List.of(DataTypes.INTEGER, DataTypes.STRING), breaker, 64 * 1024)) {
+            for (int i = 0; i < numRows; i++) {
+                rows.add(new Object[] { i, PADDING + i });
+            }
+            assertThat(rows).hasSize(numRows);
+            for (int i = 0; i < 100; i++) {
+                int idx = randomIntBetween(0, numRows - 1);
+                assertThat(rows.get(idx)).containsExactly(idx, PADDING + idx);
+            }
+            List<Object[]> reversed = Lists.reverse(rows.subList(10, 20));
+            assertThat(reversed.get(0)).containsExactly(19, PADDING + 19);
+            assertThat(reversed.get(9)).containsExactly(10, PADDING + 10);
+            assertThat(rows.get(numRows - 1)).containsExactly(numRows - 1, PADDING + (numRows - 1));
+        }
+        assertThat(breaker.getUsed()).isEqualTo(0L);
+    }
+
+    @Test
+    public void test_rows_below_page_size_stay_in_memory() throws Exception {
+        MemoryCircuitBreaker breaker = new MemoryCircuitBreaker(
+            new ByteSizeValue(8, ByteSizeUnit.MB),
+            1.0,
+            LogManager.getLogger(SpillingRowBufferTest.class)
+        );
+        try (SpillingRowBuffer rows = new SpillingRowBuffer(List.of(DataTypes.INTEGER), breaker, 1024 * 1024)) {
+            Object[] row = new Object[] { 1 };
+            rows.add(row);
+            assertThat(rows.get(0)).isSameAs(row);
+            assertThat(breaker.getUsed()).isGreaterThan(0L);
+        }
+        assertThat(breaker.getUsed()).isEqualTo(0L);
+    }
+
+    @Test
+    public void test_rows_must_match_the_types() throws Exception {
+        MemoryCircuitBreaker breaker = new MemoryCircuitBreaker(
+            new ByteSizeValue(8, ByteSizeUnit.MB),
+            1.0,
+            LogManager.getLogger(SpillingRowBufferTest.class)
+        );
+        try (SpillingRowBuffer rows = new SpillingRowBuffer(List.of(DataTypes.INTEGER), breaker, 1024 * 1024)) {
+            assertThatThrownBy(() -> rows.add(new Object[] { 1, 2 }))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Row must have 1 cells to be buffered, got: 2");
+            assertThat(rows).isEmpty();
+        }
+        assertThat(breaker.getUsed()).isEqualTo(0L);
+    }
+}
@@ -661,6 +661,28 @@ public class CreateAlterTableStatementAnalyzerTest extends CrateDummyClusterServ
         assertThat(ft_mapping.get("sources")).isEqualTo(List.of("content"));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_create_table_with_trigram_index_column() {
+        BoundCreateTable analysis = analyze(
+            "create table foo (id integer primary key, content string, INDEX content_trgm using trigram (content))");
+        Map<String, Object> mapping = TestingHelpers.toMapping(analysis);
+        Map<String, Object> mappingProperties = (Map<String, Object>) mapping.get("properties");
+
+        Map<String, Object> trgmMapping = (Map<String, Object>) mappingProperties.get("content_trgm");
+        assertThat(trgmMapping.get("type")).isEqualTo("text");
+        assertThat(trgmMapping.get("analyzer")).isEqualTo("trigram");
+        assertThat(trgmMapping.get("sources")).isEqualTo(List.of("content"));
+    }
+
+    @Test
+    public void test_trigram_index_does_not_support_custom_analyzer() {
+        assertThatThrownBy(
+            () -> analyze("create table foo (content string index using trigram with (analyzer = 'german'))"))
+            .isExactlyInstanceOf(IllegalArgumentException.class)
+            .hasMessage("The `trigram` index method of `content` doesn't support a custom analyzer");
+    }
+
     @Test
     public void testCreateTableWithIndexColumnOverNonString() {
         assertThatThrownBy(
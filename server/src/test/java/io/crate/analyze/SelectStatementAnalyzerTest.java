@@ -209,8 +209,10 @@ public class SelectStatementAnalyzerTest extends CrateDummyClusterServiceUnitTes
             "load",
             "mem",
             "name",
+            "off_heap",
             "os",
             "os_info",
+            "overload_protection",
             "port",
             "process",
             "rest_url",
@@ -2853,4 +2855,102 @@ public class SelectStatementAnalyzerTest extends CrateDummyClusterServiceUnitTes
                 .hasDataType(DataTypes.INTEGER)
         );
     }
+
+    @Test
+    public void test_tablesample_adds_sample_filter_to_where_clause() throws Exception {
+        var executor = SQLExecutor.of(clusterService)
+            .addTable("create table t1 (x int)")
+            .addTable("create table t2 (x int)");
+        QueriedSelectRelation relation = executor.analyze(
+            "select * from t1 tablesample bernoulli (10) where x > 1");
+        assertThat(relation.where()).isSQL(
+            "(_tablesample(doc.t1._docid, 'BERNOULLI', 10.0, NULL) AND (doc.t1.x > 1))");
+
+        relation = executor.analyze(
+            "select * from t1 a tablesample system (2.5) repeatable (42), t2 where a.x = t2.x");
+        assertThat(relation.where()).isSQL(
+            "(_tablesample(a._docid, 'SYSTEM', 2.5, 42::bigint) AND (a.x = doc.t2.x))");
+    }
+
+    @Test
+    public void test_tablesample_validation() throws Exception {
+        var executor = SQLExecutor.of(clusterService)
+            .addTable("create table t1 (x int)")
+            .addTable("create table t2 (x int)");
+        assertThatThrownBy(() -> executor.analyze("select * from t1 tablesample bernoulli (101)"))
+            .isExactlyInstanceOf(IllegalArgumentException.class)
+            .hasMessage("TABLESAMPLE percentage must be between 0 and 100, got: 101.0");
+        assertThatThrownBy(() -> executor.analyze("select * from sys.nodes tablesample bernoulli (10)"))
+            .isExactlyInstanceOf(UnsupportedFeatureException.class)
+            .hasMessage("TABLESAMPLE is only supported on user tables");
+        assertThatThrownBy(() -> executor.analyze(
+                "select * from t1 tablesample bernoulli (10) left join t2 on t1.x = t2.x"))
+            .isExactlyInstanceOf(UnsupportedFeatureException.class)
+            .hasMessage("TABLESAMPLE is not supported in combination with outer joins");
+    }
+
+    @Test
+    public void test_tablesample_aggregates_are_scaled_if_enabled() throws Exception {
+        var executor = SQLExecutor.of(clusterService)
+            .addTable("create table t1 (x int, y double)")
+            .addTable("create table t2 (x int)");
+        String stmt = "select count(*), sum(x), sum(y), avg(y) from t1 tablesample bernoulli (10)";
+        QueriedSelectRelation relation = executor.analyze(stmt);
+        assertThat(relation.outputs()).satisfiesExactly(
+            x -> assertThat(x).isAggregation("count"),
+            x -> assertThat(x).isAggregation("sum"),
+            x -> assertThat(x).isAggregation("sum"),
+            x -> assertThat(x).isAggregation("avg")
+        );
+
+        executor.getSessionSettings().setScaleSampledAggregates(true);
+        relation = executor.analyze(stmt);
+        assertThat(relation.outputs()).satisfiesExactly(
+            x -> assertThat(x)
+                .isAlias("count(*)", y -> assertThat(y).isFunction("round"))
+                .hasDataType(DataTypes.LONG),
+            x -> assertThat(x)
+                .isAlias("sum(x)", y -> assertThat(y).isFunction("round"))
+                .hasDataType(DataTypes.LONG),
+            x -> assertThat(x)
+                .isAlias("sum(y)", y -> assertThat(y).isFunction("divide"))
+                .hasDataType(DataTypes.DOUBLE),
+            x -> assertThat(x).isAggregation("avg")
+        );
+
+        assertThatThrownBy(() -> executor.analyze(
+                "select count(*) from t1 tablesample bernoulli (10), t2 where t1.x = t2.x"))
+            .isExactlyInstanceOf(UnsupportedFeatureException.class)
+            .hasMessage("Scaling sampled aggregates is only supported on queries on a single table with TABLESAMPLE");
+    }
+
+    @Test
+    public void test_sampling_error_of_scaled_aggregates() throws Exception {
+        var executor = SQLExecutor.of(clusterService)
+            .addTable("create table t1 (x int, y double)");
+        String stmt = "select sampling_error(count(*)), sampling_error(sum(x)), sampling_error(avg(y)) " +
+            "from t1 tablesample bernoulli (10)";
+        assertThatThrownBy(() -> executor.analyze(stmt))
+            .isExactlyInstanceOf(UnsupportedFeatureException.class)
+            .hasMessage("sampling_error is only supported on a TABLESAMPLE with scale_sampled_aggregates enabled");
+
+        executor.getSessionSettings().setScaleSampledAggregates(true);
+        QueriedSelectRelation relation = executor.analyze(stmt);
+        assertThat(relation.outputs()).satisfiesExactly(
+            x -> assertThat(x)
+                .isAlias("sampling_error(count(*))", y -> assertThat(y).isFunction("divide"))
+                .hasDataType(DataTypes.DOUBLE),
+            x -> assertThat(x)
+                .isAlias("sampling_error(sum(x))", y -> assertThat(y).isFunction("divide"))
+                .hasDataType(DataTypes.DOUBLE),
+            x -> assertThat(x)
+                .isAlias("sampling_error(avg(y))", y -> assertThat(y).isFunction("multiply"))
+                .hasDataType(DataTypes.DOUBLE)
+        );
+
+        assertThatThrownBy(() -> executor.analyze(
+                "select count(*), sampling_error(max(x)) from t1 tablesample bernoulli (10)"))
+            .isExactlyInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("sampling_error requires a count, sum or avg aggregation as argument");
+    }
 }
@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.elasticsearch.cluster.ClusterState;
@@ -52,8 +53,11 @@ import io.crate.exceptions.RelationUnknown;
 import io.crate.exceptions.UnauthorizedException;
 import io.crate.expression.udf.UserDefinedFunctionMetadata;
 import io.crate.metadata.RelationName;
+import io.crate.metadata.SearchPath;
 import io.crate.metadata.cluster.DDLClusterStateService;
 import io.crate.metadata.settings.CoordinatorSessionSettings;
+import io.crate.metadata.view.MaterializedViewMetadata;
+import io.crate.metadata.view.MaterializedViewsMetadata;
 import io.crate.planner.Plan;
 import io.crate.protocols.postgres.TransactionState;
 import io.crate.role.Permission;
@@ -690,6 +694,36 @@ public class AccessControlMayExecuteTest extends CrateDummyClusterServiceUnitTes
         assertAskedForTable(Permission.DQL, "sys.cluster");
     }
 
+    @Test
+    public void test_create_materialized_view_requires_ddl_on_schema_and_dql_on_source() {
+        analyze("create materialized view target_schema.mv as select name, count(*) from doc.users group by name");
+        assertAskedForSchema(Permission.DDL, "target_schema");
+        assertAskedForTable(Permission.DQL, "doc.users");
+    }
+
+    @Test
+    public void test_refresh_materialized_view_requires_dml_on_view_and_dql_of_owner_on_source() throws Exception {
+        e.addTable("create table doc.mv (name text, cnt bigint)");
+        ClusterState state = clusterService.state();
+        MaterializedViewMetadata view = new MaterializedViewMetadata(
+            "SELECT name, count(*) AS cnt FROM doc.users GROUP BY name",
+            ddlOnlyUser.name(),
+            SearchPath.pathWithPGCatalogAndDoc(),
+            Map.of()
+        );
+        ClusterServiceUtils.setState(clusterService, ClusterState.builder(state)
+            .metadata(Metadata.builder(state.metadata())
+                .putCustom(
+                    MaterializedViewsMetadata.TYPE,
+                    MaterializedViewsMetadata.put(null, new RelationName("doc", "mv"), view)))
+            .build());
+
+        // The owner lost the privileges on the source table
+        assertThatThrownBy(() -> analyze("refresh materialized view mv"));
+        assertAskedForTable(Permission.DML, "doc.mv");
+        assertAskedForTable(Permission.DQL, "doc.users", ddlOnlyUser);
+    }
+
     @Test
     public void test_optimize_table_is_allowed_with_ddl_privileges_on_table() {
         analyze("optimize table users");
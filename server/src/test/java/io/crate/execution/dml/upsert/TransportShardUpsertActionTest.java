@@ -83,6 +83,7 @@ import io.crate.metadata.SimpleReference;
 import io.crate.metadata.doc.DocTableInfo;
 import io.crate.metadata.settings.SessionSettings;
 import io.crate.netty.NettyBootstrap;
+import io.crate.rollup.RollupService;
 import io.crate.sql.tree.ColumnPolicy;
 import io.crate.test.integration.CrateDummyClusterServiceUnitTest;
 import io.crate.types.DataTypes;
@@ -123,7 +124,7 @@ public class TransportShardUpsertActionTest extends CrateDummyClusterServiceUnit
                                                  ShardStateAction shardStateAction,
                                                  NodeContext nodeCtx) {
             super(Settings.EMPTY, threadPool, clusterService, transportService, mock(TransportAddColumnAction.class),
-                tasksService, indicesService, shardStateAction, nodeCtx);
+                tasksService, indicesService, shardStateAction, nodeCtx, mock(RollupService.class));
         }
 
         @Override
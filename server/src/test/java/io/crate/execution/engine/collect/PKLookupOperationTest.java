@@ -0,0 +1,68 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.engine.collect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.elasticsearch.common.lucene.uid.Versions;
+import org.elasticsearch.index.seqno.SequenceNumbers;
+import org.elasticsearch.index.shard.IndexShard;
+import org.elasticsearch.index.shard.IndexShardTestCase;
+import org.junit.Test;
+
+import io.crate.expression.reference.Doc;
+import io.crate.planner.operators.PKAndVersion;
+
+public class PKLookupOperationTest extends IndexShardTestCase {
+
+    private static PKAndVersion pk(String id) {
+        return new PKAndVersion(id, Versions.MATCH_ANY, SequenceNumbers.UNASSIGNED_SEQ_NO, SequenceNumbers.UNASSIGNED_PRIMARY_TERM);
+    }
+
+    @Test
+    public void test_lookup_in_batches_returns_docs_in_doc_id_order_per_batch() throws Exception {
+        IndexShard shard = newStartedShard();
+        try {
+            for (int i = 0; i < 10; i++) {
+                indexDoc(shard, Integer.toString(i));
+                if (i == 4) {
+                    // Spread the documents across two segments
+                    flushShard(shard);
+                }
+            }
+            shard.refresh("test");
+
+            List<PKAndVersion> pks = List.of(pk("9"), pk("3"), pk("7"), pk("1"), pk("42"), pk("5"), pk("0"));
+            List<String> ids = new ArrayList<>();
+            for (Doc doc : PKLookupOperation.lookupDocs(shard, pks, 2, null)) {
+                ids.add(doc.getId());
+            }
+            // Batches are [9, 3], [7, 1], [42, 5], [0]; the missing 42 is skipped
+            assertThat(ids).containsExactly("3", "9", "1", "7", "5", "0");
+        } finally {
+            closeShards(shard);
+        }
+    }
+}
@@ -38,11 +38,13 @@ import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -56,8 +58,10 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
 import io.crate.data.BatchIterator;
+import io.crate.data.breaker.RamAccounting;
 import io.crate.data.testing.BatchIteratorTester;
 import io.crate.data.testing.BatchIteratorTester.ResultOrder;
+import io.crate.execution.engine.collect.files.FileReadingIterator.ExpandedUris;
 import io.crate.execution.engine.collect.files.FileReadingIterator.LineCursor;
 
 public class FileReadingIteratorTest extends ESTestCase {
@@ -273,4 +277,74 @@ public class FileReadingIteratorTest extends ESTestCase {
                 assertThat(fi.currentElement().line()).isEqualTo("4");
             });
     }
+
+    @Test
+    public void test_local_readers_read_disjoint_subsets_of_the_uris() throws Exception {
+        Path dir = createTempDir();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Path file = dir.resolve("file" + i + ".json");
+            Files.write(file, List.of("line" + i));
+            expected.add("line" + i);
+        }
+        List<URI> fileUris = List.of(FileReadingIterator.toURI(dir.toUri() + "*.json"));
+        AtomicInteger numExpansions = new AtomicInteger();
+        FileInputFactory countingFactory = (uri, withClauseOptions) -> {
+            FileInput fileInput = new LocalFsFileInputFactory().create(uri, withClauseOptions);
+            return new FileInput() {
+
+                @Override
+                public List<URI> expandUri() throws IOException {
+                    numExpansions.incrementAndGet();
+                    return fileInput.expandUri();
+                }
+
+                @Override
+                public InputStream getStream(URI uri) throws IOException {
+                    return fileInput.getStream(uri);
+                }
+
+                @Override
+                public boolean isGlobbed() {
+                    return fileInput.isGlobbed();
+                }
+
+                @Override
+                public URI uri() {
+                    return fileInput.uri();
+                }
+
+                @Override
+                public boolean sharedStorageDefault() {
+                    return fileInput.sharedStorageDefault();
+                }
+            };
+        };
+
+        ExpandedUris expandedUris = new ExpandedUris();
+        List<String> result = new ArrayList<>();
+        for (int localReaderNumber = 0; localReaderNumber < 3; localReaderNumber++) {
+            var it = new FileReadingIterator(
+                fileUris,
+                null,
+                Map.of(LocalFsFileInputFactory.NAME, countingFactory),
+                false,
+                1,
+                0,
+                3,
+                localReaderNumber,
+                expandedUris,
+                List.of(),
+                RamAccounting.NO_ACCOUNTING,
+                Settings.EMPTY,
+                THREAD_POOL.scheduler()
+            );
+            List<String> lines = it.map(LineCursor::line).toList().get(5, TimeUnit.SECONDS);
+            // Round-robin assignment of 10 files to 3 readers
+            assertThat(lines).hasSize(localReaderNumber == 0 ? 4 : 3);
+            result.addAll(lines);
+        }
+        assertThat(result).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(numExpansions.get()).isEqualTo(1);
+    }
 }
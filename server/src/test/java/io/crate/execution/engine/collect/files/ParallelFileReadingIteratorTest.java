@@ -0,0 +1,134 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.engine.collect.files;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.After;
+import org.junit.Test;
+
+import io.crate.data.BatchIterator;
+import io.crate.data.ForwardingBatchIterator;
+import io.crate.data.Row;
+import io.crate.data.testing.BatchSimulatingIterator;
+import io.crate.data.testing.FailingBatchIterator;
+import io.crate.data.testing.TestingBatchIterators;
+
+public class ParallelFileReadingIteratorTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(3);
+
+    @After
+    public void shutdownExecutor() throws Exception {
+        executor.shutdownNow();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void test_returns_rows_of_all_sources_and_keeps_order_per_source() throws Exception {
+        List<BatchIterator<Row>> sources = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            sources.add(new BatchSimulatingIterator<>(TestingBatchIterators.range(i * 100, (i + 1) * 100), 7, 15, executor));
+        }
+        var it = new ParallelFileReadingIterator(sources, 1, executor, 10);
+
+        List<Integer> result = it.map(row -> (Integer) row.get(0)).toList().get(5, TimeUnit.SECONDS);
+
+        assertThat(result).containsExactlyInAnyOrderElementsOf(IntStream.range(0, 300).boxed().toList());
+        for (int i = 0; i < 3; i++) {
+            int lower = i * 100;
+            assertThat(result.stream().filter(x -> x >= lower && x < lower + 100).toList())
+                .isSorted();
+        }
+        assertThat(it.stats().numRows()).isEqualTo(300L);
+        assertThat(it.stats().toMap())
+            .containsEntry("rows", 300L)
+            .containsOnlyKeys("rows", "read_ms", "parse_ms", "wait_ms");
+    }
+
+    @Test
+    public void test_source_failure_is_propagated_to_consumer() throws Exception {
+        List<BatchIterator<Row>> sources = List.of(
+            TestingBatchIterators.range(0, 50),
+            new FailingBatchIterator<>(TestingBatchIterators.range(50, 100), 20)
+        );
+        var it = new ParallelFileReadingIterator(sources, 1, executor, 10);
+
+        assertThatThrownBy(() -> it.map(row -> (Integer) row.get(0)).toList().get(5, TimeUnit.SECONDS))
+            .isExactlyInstanceOf(ExecutionException.class)
+            .hasCauseExactlyInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void test_close_closes_all_sources() throws Exception {
+        AtomicInteger closed = new AtomicInteger();
+        List<BatchIterator<Row>> sources = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            BatchIterator<Row> delegate = TestingBatchIterators.range(0, 20);
+            sources.add(new ForwardingBatchIterator<>() {
+
+                @Override
+                protected BatchIterator<Row> delegate() {
+                    return delegate;
+                }
+
+                @Override
+                public void close() {
+                    closed.incrementAndGet();
+                    super.close();
+                }
+            });
+        }
+        var it = new ParallelFileReadingIterator(sources, 1, executor, 5);
+        assertThat(it.map(row -> (Integer) row.get(0)).toList().get(5, TimeUnit.SECONDS)).hasSize(40);
+
+        it.close();
+
+        assertThat(closed.get()).isEqualTo(2);
+        assertThatThrownBy(it::moveNext).isSameAs(BatchIterator.CLOSED);
+    }
+
+    @Test
+    public void test_kill_fails_pending_load() throws Exception {
+        var it = new ParallelFileReadingIterator(
+            List.of(new BatchSimulatingIterator<>(TestingBatchIterators.range(0, 20), 2, 10, executor)),
+            1,
+            executor,
+            5
+        );
+        InterruptedException kill = new InterruptedException("KILLED");
+        it.kill(kill);
+
+        assertThatThrownBy(it::moveNext).isSameAs(kill);
+        it.close();
+    }
+}
@@ -83,7 +83,7 @@ public class JobsLogsTest extends CrateDummyClusterServiceUnitTest {
             assertThat(stats.jobsLogExpiration).isEqualTo(JobsLogService.STATS_JOBS_LOG_EXPIRATION_SETTING.getDefault(Settings.EMPTY));
             assertThat(stats.operationsLogExpiration).isEqualTo(JobsLogService.STATS_OPERATIONS_LOG_EXPIRATION_SETTING.getDefault(Settings.EMPTY));
             assertThat(stats.get().jobsLog()).isExactlyInstanceOf(FilteredLogSink.class);
-            assertThat(stats.get().operationsLog()).isExactlyInstanceOf(QueueSink.class);
+            assertThat(stats.get().operationsLog()).isExactlyInstanceOf(RingBufferSink.class);
         }
     }
 
@@ -154,7 +154,7 @@ public class JobsLogsTest extends CrateDummyClusterServiceUnitTest {
             assertThat(stats.jobsLogSize).isEqualTo(100);
             assertThat(stats.get().jobsLog()).isExactlyInstanceOf(FilteredLogSink.class);
             assertThat(stats.operationsLogSize).isEqualTo(100);
-            assertThat(stats.get().operationsLog()).isExactlyInstanceOf(QueueSink.class);
+            assertThat(stats.get().operationsLog()).isExactlyInstanceOf(RingBufferSink.class);
         }
     }
 
@@ -169,14 +169,10 @@ public class JobsLogsTest extends CrateDummyClusterServiceUnitTest {
             Supplier<LogSink<JobContextLog>> jobsLogSink = () -> (LogSink<JobContextLog>) stats.get().jobsLog();
             Supplier<LogSink<OperationContextLog>> operationsLogSink = () -> (LogSink<OperationContextLog>) stats.get().operationsLog();
 
-            // sinks are still of type QueueSink
+            // size bound sinks are ring buffers
             assertThat(jobsLogSink.get()).isExactlyInstanceOf(FilteredLogSink.class);
-            assertThat(operationsLogSink.get()).isExactlyInstanceOf(QueueSink.class);
-
-            assertThat(inspectRamAccountingQueue((QueueSink<?>) ((FilteredLogSink<?>) jobsLogSink.get()).delegate))
-                .isExactlyInstanceOf(BlockingEvictingQueue.class);
-            assertThat(inspectRamAccountingQueue((QueueSink<?>) operationsLogSink.get()))
-                .isExactlyInstanceOf(BlockingEvictingQueue.class);
+            assertThat(((FilteredLogSink<?>) jobsLogSink.get()).delegate).isExactlyInstanceOf(RingBufferSink.class);
+            assertThat(operationsLogSink.get()).isExactlyInstanceOf(RingBufferSink.class);
 
             clusterSettings.applySettings(Settings.builder()
                 .put(JobsLogService.STATS_JOBS_LOG_EXPIRATION_SETTING.getKey(), "10s")
@@ -205,11 +201,8 @@ public class JobsLogsTest extends CrateDummyClusterServiceUnitTest {
                 .put(JobsLogService.STATS_ENABLED_SETTING.getKey(), true)
                 .build());
             assertThat(jobsLogSink.get()).isExactlyInstanceOf(FilteredLogSink.class);
-            assertThat(inspectRamAccountingQueue((QueueSink<?>) ((FilteredLogSink<JobContextLog>) jobsLogSink.get()).delegate))
-                .isExactlyInstanceOf(BlockingEvictingQueue.class);
-            assertThat(operationsLogSink.get()).isExactlyInstanceOf(QueueSink.class);
-            assertThat(inspectRamAccountingQueue((QueueSink<?>) operationsLogSink.get()))
-                .isExactlyInstanceOf(BlockingEvictingQueue.class);
+            assertThat(((FilteredLogSink<JobContextLog>) jobsLogSink.get()).delegate).isExactlyInstanceOf(RingBufferSink.class);
+            assertThat(operationsLogSink.get()).isExactlyInstanceOf(RingBufferSink.class);
 
             // disable stats
             clusterSettings.applySettings(Settings.builder()
@@ -0,0 +1,115 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.engine.collect.stats;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.elasticsearch.test.ESTestCase;
+import org.junit.Test;
+
+public class RingBufferSinkTest extends ESTestCase {
+
+    @Test
+    public void test_oldest_entries_are_overwritten_once_full() {
+        RingBufferSink<Integer> sink = new RingBufferSink<>(3, RamAccountingQueueSinkTest.breaker(), x -> 0);
+        for (int i = 0; i < 5; i++) {
+            sink.add(i);
+        }
+        assertThat(sink).containsExactly(2, 3, 4);
+    }
+
+    @Test
+    public void test_iterator_is_a_snapshot() {
+        RingBufferSink<Integer> sink = new RingBufferSink<>(3, RamAccountingQueueSinkTest.breaker(), x -> 0);
+        sink.add(1);
+        sink.add(2);
+        var it = sink.iterator();
+        sink.add(3);
+        sink.add(4);
+        List<Integer> entries = new ArrayList<>();
+        it.forEachRemaining(entries::add);
+        assertThat(entries).containsExactly(1, 2);
+    }
+
+    @Test
+    public void test_concurrent_adds_keep_exactly_capacity_entries() throws Exception {
+        RingBufferSink<Integer> sink = new RingBufferSink<>(15_000, RamAccountingQueueSinkTest.breaker(), x -> 0);
+        int numThreads = 50;
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        List<Thread> threads = new ArrayList<>(numThreads);
+        for (int i = 0; i < numThreads; i++) {
+            Thread t = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    sink.add(j);
+                }
+                latch.countDown();
+            });
+            t.start();
+            threads.add(t);
+        }
+        latch.await();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(sink).hasSize(15_000);
+    }
+
+    @Test
+    public void test_writers_lapping_each_other_keep_slots_consistent() throws Exception {
+        int capacity = 4;
+        RingBufferSink<Integer> sink = new RingBufferSink<>(capacity, RamAccountingQueueSinkTest.breaker(), x -> 10L);
+        int numThreads = 16;
+        List<Thread> threads = new ArrayList<>(numThreads);
+        for (int i = 0; i < numThreads; i++) {
+            Thread t = new Thread(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    sink.add(j);
+                }
+            });
+            t.start();
+            threads.add(t);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // An entry whose slot carries the sequence of another entry would be skipped by the iterator
+        assertThat(sink).hasSize(capacity);
+        assertThat(sink.usedBytes()).isEqualTo(capacity * 10L);
+    }
+
+    @Test
+    public void test_evicted_and_closed_entries_release_accounted_memory() {
+        RingBufferSink<Integer> sink = new RingBufferSink<>(2, RamAccountingQueueSinkTest.breaker(), x -> 10L);
+        sink.add(1);
+        sink.add(2);
+        assertThat(sink.usedBytes()).isEqualTo(20L);
+        sink.add(3);
+        assertThat(sink.usedBytes()).isEqualTo(20L);
+        sink.close();
+        assertThat(sink.usedBytes()).isEqualTo(0L);
+        assertThat(sink).isEmpty();
+    }
+}
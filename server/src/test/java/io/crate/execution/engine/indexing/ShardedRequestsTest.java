@@ -0,0 +1,72 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.engine.indexing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.UUID;
+
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.test.ESTestCase;
+import org.junit.Test;
+
+import io.crate.data.breaker.RamAccounting;
+import io.crate.execution.dml.delete.ShardDeleteRequest;
+
+public class ShardedRequestsTest extends ESTestCase {
+
+    @Test
+    public void test_bulk_size_is_reached_once_a_node_receives_its_bulk_size() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        Map<String, Integer> bulkSizes = Map.of("n1", 3, "n2", 2);
+        var requests = new ShardedRequests<ShardDeleteRequest, ShardDeleteRequest.Item>(
+            shardId -> new ShardDeleteRequest(shardId, jobId),
+            RamAccounting.NO_ACCOUNTING,
+            bulkSizes::get
+        );
+        ShardLocation n1 = new ShardLocation(new ShardId("t", "_na_", 0), "n1");
+        ShardLocation n2 = new ShardLocation(new ShardId("t", "_na_", 1), "n2");
+
+        requests.add(new ShardDeleteRequest.Item("id1"), n1, RowSourceInfo.EMPTY_INSTANCE);
+        requests.add(new ShardDeleteRequest.Item("id2"), n2, RowSourceInfo.EMPTY_INSTANCE);
+        requests.add(new ShardDeleteRequest.Item("id3"), n1, RowSourceInfo.EMPTY_INSTANCE);
+        assertThat(requests.bulkSizeReached()).isFalse();
+
+        requests.add(new ShardDeleteRequest.Item("id4"), n2, RowSourceInfo.EMPTY_INSTANCE);
+        assertThat(requests.bulkSizeReached()).isTrue();
+    }
+
+    @Test
+    public void test_bulk_size_is_never_reached_without_bulk_size_per_node() throws Exception {
+        UUID jobId = UUID.randomUUID();
+        var requests = new ShardedRequests<ShardDeleteRequest, ShardDeleteRequest.Item>(
+            shardId -> new ShardDeleteRequest(shardId, jobId),
+            RamAccounting.NO_ACCOUNTING
+        );
+        ShardLocation n1 = new ShardLocation(new ShardId("t", "_na_", 0), "n1");
+        for (int i = 0; i < 10; i++) {
+            requests.add(new ShardDeleteRequest.Item("id" + i), n1, RowSourceInfo.EMPTY_INSTANCE);
+        }
+        assertThat(requests.bulkSizeReached()).isFalse();
+    }
+}
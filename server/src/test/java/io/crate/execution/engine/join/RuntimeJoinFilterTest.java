@@ -0,0 +1,94 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.engine.join;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import io.crate.types.DataTypes;
+
+public class RuntimeJoinFilterTest {
+
+    @Test
+    public void test_few_keys_are_kept_exact() {
+        Map<String, Object> value = RuntimeJoinFilter.build(List.of(3, 10, 7), DataTypes.INTEGER);
+        assertThat(value)
+            .containsEntry(RuntimeJoinFilter.MIN, 3)
+            .containsEntry(RuntimeJoinFilter.MAX, 10)
+            .doesNotContainKey(RuntimeJoinFilter.BLOOM);
+
+        var filter = new RuntimeJoinFilter(value, DataTypes.INTEGER);
+        assertThat(filter.keys()).containsExactlyInAnyOrder(3, 7, 10);
+        assertThat(filter.mightContain(7)).isTrue();
+        assertThat(filter.mightContain(5)).isFalse();
+        assertThat(filter.mightContain(null)).isFalse();
+    }
+
+    @Test
+    public void test_many_keys_use_min_max_and_bloom_filter() {
+        List<Long> keys = new ArrayList<>();
+        for (long i = 0; i < 10_000; i++) {
+            keys.add(i * 2);
+        }
+        Map<String, Object> value = RuntimeJoinFilter.build(keys, DataTypes.LONG);
+        assertThat(value).doesNotContainKey(RuntimeJoinFilter.KEYS);
+
+        var filter = new RuntimeJoinFilter(value, DataTypes.LONG);
+        assertThat(filter.keys()).isNull();
+        assertThat(filter.min()).isEqualTo(0L);
+        assertThat(filter.max()).isEqualTo(19_998L);
+        for (Long key : keys) {
+            assertThat(filter.mightContain(key)).isTrue();
+        }
+        assertThat(filter.mightContain(-1L)).isFalse();
+        assertThat(filter.mightContain(20_000L)).isFalse();
+
+        int falsePositives = 0;
+        for (long i = 0; i < 10_000; i++) {
+            if (filter.mightContain(i * 2 + 1)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(1_000);
+    }
+
+    @Test
+    public void test_streamed_values_are_sanitized_to_key_type() {
+        Map<String, Object> value = RuntimeJoinFilter.build(List.of(1L, 2L), DataTypes.TIMESTAMPZ);
+        value.put(RuntimeJoinFilter.KEYS, List.of(1, 2));
+
+        var filter = new RuntimeJoinFilter(value, DataTypes.TIMESTAMPZ);
+        assertThat(filter.mightContain(2L)).isTrue();
+    }
+
+    @Test
+    public void test_empty_build_side_matches_nothing() {
+        var filter = new RuntimeJoinFilter(RuntimeJoinFilter.build(List.of(), DataTypes.STRING), DataTypes.STRING);
+        assertThat(filter.keys()).isEmpty();
+        assertThat(filter.mightContain("foo")).isFalse();
+    }
+}
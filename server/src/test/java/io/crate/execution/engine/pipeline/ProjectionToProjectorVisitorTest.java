@@ -35,6 +35,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.StreamSupport;
 
 import org.elasticsearch.client.ElasticsearchClient;
@@ -85,6 +86,7 @@ import io.crate.metadata.SearchPath;
 import io.crate.metadata.TransactionContext;
 import io.crate.metadata.functions.Signature;
 import io.crate.test.integration.CrateDummyClusterServiceUnitTest;
+import io.crate.types.DataType;
 import io.crate.types.DataTypes;
 
 public class ProjectionToProjectorVisitorTest extends CrateDummyClusterServiceUnitTest {
@@ -279,6 +281,56 @@ public class ProjectionToProjectorVisitorTest extends CrateDummyClusterServiceUn
         );
     }
 
+    private static Aggregation aggregation(String name, DataType<?> argType, DataType<?> returnType, int input) {
+        Signature signature = Signature.builder(name, FunctionType.AGGREGATE)
+            .argumentTypes(argType.getTypeSignature())
+            .returnType(returnType.getTypeSignature())
+            .features(Scalar.Feature.DETERMINISTIC)
+            .build();
+        return new Aggregation(signature, returnType, List.of(new InputColumn(input, argType)));
+    }
+
+    @Test
+    public void test_group_projector_keeps_fixed_width_states_in_pages() throws Exception {
+        List<Aggregation> aggregations = List.of(
+            aggregation("sum", DataTypes.LONG, DataTypes.LONG, 1),
+            aggregation("min", DataTypes.LONG, DataTypes.LONG, 1),
+            aggregation("max", DataTypes.DOUBLE, DataTypes.DOUBLE, 2),
+            aggregation("avg", DataTypes.DOUBLE, DataTypes.DOUBLE, 2),
+            new Aggregation(
+                CountAggregation.SIGNATURE,
+                CountAggregation.SIGNATURE.getReturnType().createType(),
+                List.of(new InputColumn(1, DataTypes.LONG)))
+        );
+        GroupProjection projection = new GroupProjection(
+            List.of(new InputColumn(0, DataTypes.STRING)), aggregations, AggregateMode.ITER_FINAL, RowGranularity.CLUSTER);
+        AtomicLong allocatedBytes = new AtomicLong();
+        Projector projector = visitor.create(
+            projection,
+            txnCtx,
+            RamAccounting.NO_ACCOUNTING,
+            new OnHeapMemoryManager(allocatedBytes::addAndGet),
+            UUID.randomUUID()
+        );
+
+        List<Object[]> rows = new ArrayList<>();
+        rows.add($("a", 1L, 1.5));
+        rows.add($("a", null, 3.0));
+        rows.add($("b", null, null));
+        rows.add($("a", 4L, -1.5));
+        TestingRowConsumer consumer = new TestingRowConsumer();
+        consumer.accept(projector.apply(InMemoryBatchIterator.of(new CollectionBucket(rows), SENTINEL, true)), null);
+
+        List<Object[]> resultRows = StreamSupport.stream(consumer.getBucket().spliterator(), false)
+            .map(Row::materialize)
+            .toList();
+        assertThat(resultRows).containsExactlyInAnyOrder(
+            new Object[] { "a", 5L, 1L, 3.0, 1.0, 2L },
+            new Object[] { "b", null, null, null, null, 0L }
+        );
+        assertThat(allocatedBytes.get()).isEqualTo(16 * 1024L);
+    }
+
     @Test
     public void testFilterProjection() throws Exception {
         List<Symbol> arguments = Arrays.asList(Literal.of(2), new InputColumn(1));
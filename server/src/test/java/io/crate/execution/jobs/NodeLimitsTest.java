@@ -24,12 +24,18 @@ package io.crate.execution.jobs;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.concurrent.CompletionException;
+
+import org.elasticsearch.ElasticsearchTimeoutException;
 import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
 import org.elasticsearch.test.ESTestCase;
 import org.junit.Test;
 
 import io.crate.common.concurrent.ConcurrencyLimit;
+import io.crate.exceptions.ConversionException;
+import io.crate.types.DataTypes;
 
 
 public class NodeLimitsTest extends ESTestCase {
@@ -62,4 +68,78 @@ public class NodeLimitsTest extends ESTestCase {
         assertThat(limit.getLimit()).isEqualTo(5);
         assertThat(updatedLimit.getLimit()).isEqualTo(10);
     }
+
+    @Test
+    public void test_bulk_size_is_halved_on_rejection_and_recovers_additively() throws Exception {
+        BulkSizeLimit bulkSizeLimit = nodeLimits.bulkSizeLimit("n1");
+        assertThat(bulkSizeLimit.bulkSize(1000)).isEqualTo(1000);
+
+        bulkSizeLimit.onRejected();
+        bulkSizeLimit.onRejected();
+        assertThat(bulkSizeLimit.bulkSize(1000)).isEqualTo(250);
+        assertThat(bulkSizeLimit.percent()).isEqualTo(25);
+
+        for (int i = 0; i < 8; i++) {
+            bulkSizeLimit.onResponse();
+        }
+        assertThat(bulkSizeLimit.bulkSize(1000)).isEqualTo(500);
+
+        for (int i = 0; i < 100; i++) {
+            bulkSizeLimit.onResponse();
+        }
+        assertThat(bulkSizeLimit.bulkSize(1000)).isEqualTo(1000);
+    }
+
+    @Test
+    public void test_bulk_size_does_not_drop_below_min_bulk_size() throws Exception {
+        BulkSizeLimit bulkSizeLimit = nodeLimits.bulkSizeLimit("n1");
+        for (int i = 0; i < 20; i++) {
+            bulkSizeLimit.onRejected();
+        }
+        assertThat(bulkSizeLimit.bulkSize(100)).isEqualTo(BulkSizeLimit.MIN_BULK_SIZE);
+        assertThat(bulkSizeLimit.bulkSize(10_000)).isEqualTo((int) (10_000 * BulkSizeLimit.MIN_FRACTION) + 1);
+        assertThat(bulkSizeLimit.bulkSize(5)).isEqualTo(5);
+    }
+
+    @Test
+    public void test_rejections_decrease_concurrency_limit_and_are_exposed_in_stats() throws Exception {
+        ConcurrencyLimit limit = nodeLimits.get("n1");
+        nodeLimits.bulkSizeLimit("n1").onRejected();
+        limit.onRejected();
+        limit.onRejected();
+
+        assertThat(limit.getLimit()).isEqualTo(4);
+        assertThat(nodeLimits.stats()).satisfiesExactly(
+            stats -> {
+                assertThat(stats.targetNodeId()).isEqualTo("n1");
+                assertThat(stats.concurrencyLimit()).isEqualTo(4);
+                assertThat(stats.rejected()).isEqualTo(2L);
+                assertThat(stats.bulkSizePercent()).isEqualTo(50);
+            }
+        );
+
+        nodeLimits.nodeDisconnected("n1");
+        assertThat(nodeLimits.stats()).isEmpty();
+        assertThat(nodeLimits.bulkSizeLimit("n1").percent()).isEqualTo(100);
+    }
+
+    @Test
+    public void test_only_rejections_and_timeouts_are_reported_as_dropped_samples() throws Exception {
+        assertThat(NodeLimits.isOverloaded(null)).isFalse();
+        assertThat(NodeLimits.isOverloaded(new EsRejectedExecutionException("queue full"))).isTrue();
+        assertThat(NodeLimits.isOverloaded(
+            new CompletionException(new EsRejectedExecutionException("queue full")))).isTrue();
+        assertThat(NodeLimits.isOverloaded(new ElasticsearchTimeoutException("timed out"))).isTrue();
+        assertThat(NodeLimits.isOverloaded(new IllegalArgumentException("invalid value"))).isFalse();
+        assertThat(NodeLimits.isOverloaded(new ConversionException("a", DataTypes.INTEGER))).isFalse();
+
+        ConcurrencyLimit limit = nodeLimits.get("n1");
+        long startTime = limit.startSample();
+        limit.onSample(startTime, NodeLimits.isOverloaded(new IllegalArgumentException("invalid value")));
+        assertThat(limit.getLimit()).isEqualTo(5);
+
+        startTime = limit.startSample();
+        limit.onSample(startTime, NodeLimits.isOverloaded(new EsRejectedExecutionException("queue full")));
+        assertThat(limit.getLimit()).isEqualTo(4);
+    }
 }
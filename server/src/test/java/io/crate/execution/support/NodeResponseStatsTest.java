@@ -0,0 +1,104 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.execution.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.cluster.ClusterChangedEvent;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.node.DiscoveryNode;
+import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.junit.Test;
+
+import io.crate.test.integration.CrateDummyClusterServiceUnitTest;
+
+public class NodeResponseStatsTest extends CrateDummyClusterServiceUnitTest {
+
+    private static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void test_node_with_lower_response_time_and_queue_size_ranks_better() {
+        NodeResponseStats stats = new NodeResponseStats(clusterService);
+        stats.onRequestSent("n1");
+        stats.onResponse("n1", 50 * MS, 10, 5 * MS);
+        stats.onRequestSent("n2");
+        stats.onResponse("n2", 5 * MS, 0, 1 * MS);
+
+        assertThat(stats.rank("n2", 0)).isLessThan(stats.rank("n1", 0));
+        assertThat(stats.rank("n3", 0))
+            .as("Nodes without stats rank first")
+            .isEqualTo(0.0);
+    }
+
+    @Test
+    public void test_outstanding_and_pending_requests_increase_rank() {
+        NodeResponseStats stats = new NodeResponseStats(clusterService);
+        stats.onRequestSent("n1");
+        stats.onResponse("n1", 2 * MS, 0, 1 * MS);
+        double rank = stats.rank("n1", 0);
+
+        double rankWithPending = stats.rank("n1", 1);
+        assertThat(rankWithPending).isGreaterThan(rank);
+        stats.onRequestSent("n1");
+        assertThat(stats.rank("n1", 0)).isEqualTo(rankWithPending);
+        stats.onFailure("n1");
+        assertThat(stats.rank("n1", 0)).isEqualTo(rank);
+    }
+
+    @Test
+    public void test_stats_of_not_selected_node_move_towards_selected_node() {
+        NodeResponseStats stats = new NodeResponseStats(clusterService);
+        stats.onRequestSent("n1");
+        stats.onResponse("n1", 100 * MS, 8, 1 * MS);
+        stats.onRequestSent("n2");
+        stats.onResponse("n2", 10 * MS, 0, 1 * MS);
+
+        stats.adjustNotSelected("n1", "n2");
+
+        NodeRank n1 = stats.ranks().stream().filter(r -> r.nodeId().equals("n1")).findFirst().orElseThrow();
+        assertThat(n1.responseTimeMs()).isEqualTo(55.0);
+        assertThat(n1.queueSize()).isEqualTo(4.0);
+        assertThat(n1.serviceTimeMs()).isEqualTo(1.0);
+        assertThat(n1.outstandingRequests()).isEqualTo(0);
+    }
+
+    @Test
+    public void test_stats_of_nodes_which_left_the_cluster_are_removed() {
+        NodeResponseStats stats = new NodeResponseStats(clusterService);
+        stats.onRequestSent("n1");
+        stats.onRequestSent("n2");
+        assertThat(stats.ranks()).hasSize(2);
+
+        ClusterState previous = ClusterState.builder(clusterService.state())
+            .nodes(DiscoveryNodes.builder(clusterService.state().nodes())
+                .add(new DiscoveryNode("n2", buildNewFakeTransportAddress(), Version.CURRENT)))
+            .build();
+        stats.clusterChanged(new ClusterChangedEvent("test", clusterService.state(), previous));
+
+        assertThat(stats.ranks()).extracting(NodeRank::nodeId).containsExactly("n1");
+        stats.onResponse("n2", MS, 0, MS);
+        assertThat(stats.ranks()).extracting(NodeRank::nodeId).containsExactly("n1");
+    }
+}
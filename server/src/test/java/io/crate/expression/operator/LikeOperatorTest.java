@@ -23,6 +23,8 @@ package io.crate.expression.operator;
 
 import static io.crate.expression.operator.LikeOperators.DEFAULT_ESCAPE;
 import static io.crate.expression.operator.LikeOperators.patternToRegex;
+import static io.crate.expression.operator.LikeOperators.termOrPrefixQuery;
+import static io.crate.expression.operator.LikeOperators.trigrams;
 import static io.crate.testing.Asserts.isLiteral;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -109,6 +111,16 @@ public class LikeOperatorTest extends ScalarTestCase {
         assertThat(patternToRegex(expression, DEFAULT_ESCAPE)).isEqualTo("^fo.bar$");
     }
 
+    @Test
+    public void test_trigrams_of_pattern() {
+        assertThat(trigrams("%Arthur%", DEFAULT_ESCAPE)).containsExactly("art", "rth", "thu", "hur");
+        assertThat(trigrams("ab_cd%efg", DEFAULT_ESCAPE)).containsExactly("efg");
+        assertThat(trigrams("%ab\\%cd%", DEFAULT_ESCAPE)).containsExactly("ab%", "b%c", "%cd");
+        assertThat(trigrams("%ab\\%cd%", null)).containsExactly("ab\\");
+        assertThat(trigrams("%aaaa%aaa", DEFAULT_ESCAPE)).containsExactly("aaa");
+        assertThat(trigrams("%", DEFAULT_ESCAPE)).isEmpty();
+    }
+
     @Test
     public void testLikeOnMultilineStatement() throws Exception {
         String stmt = "SELECT date_trunc('day', ts), sum(num_steps) as num_steps, count(*) as num_records \n" +
@@ -219,6 +231,21 @@ public class LikeOperatorTest extends ScalarTestCase {
             .hasMessageContaining("ESCAPE must be a single character");
     }
 
+    @Test
+    public void test_like_pattern_ending_with_escape_character_throws_error() {
+        assertThatThrownBy(() -> assertEvaluate("'Test\\' LIKE 'Test\\'", true))
+            .isExactlyInstanceOf(IllegalArgumentException.class)
+            .hasMessage("LIKE pattern must not end with escape character");
+        assertThatThrownBy(() -> assertEvaluate("'Test' ILIKE 'Tesx' ESCAPE 'x'", true))
+            .isExactlyInstanceOf(IllegalArgumentException.class)
+            .hasMessage("LIKE pattern must not end with escape character");
+        assertThatThrownBy(() -> trigrams("%Arthur\\", DEFAULT_ESCAPE))
+            .isExactlyInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> termOrPrefixQuery("name", "Arthur\\", DEFAULT_ESCAPE))
+            .isExactlyInstanceOf(IllegalArgumentException.class);
+        assertEvaluate("'Test\\' LIKE 'Test\\\\'", true);
+    }
+
     @Test
     public void test_like_with_empty_escape_disables_escaping() {
         assertEvaluate("'Test' LIKE 'T\\%' ESCAPE ''", false);
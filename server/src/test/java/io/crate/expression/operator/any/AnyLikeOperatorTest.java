@@ -134,6 +134,14 @@ public class AnyLikeOperatorTest extends ScalarTestCase {
         assertNormalize("'foobar' ilike any (['%O_a%'])", isLiteral(true));
     }
 
+    @Test
+    public void test_side_ending_with_escape_character_is_only_matched_as_value() {
+        assertEvaluate("'foo\\' like any (['foo%'])", true);
+        assertEvaluate("'foo%' like any (['foo\\'])", true);
+        assertEvaluate("'foo\\' like any (['foo\\'])", false);
+        assertEvaluate("'foo\\' not like any (['bar%'])", true);
+    }
+
     @Test
     public void test_non_string_values() {
         assertNormalize("1 like any ([1, null, 2])", isLiteral(true));
@@ -31,6 +31,7 @@ import java.io.IOException;
 import java.net.Inet4Address;
 import java.net.UnknownHostException;
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 
 import org.elasticsearch.cluster.node.DiscoveryNode;
@@ -43,6 +44,8 @@ import org.junit.Before;
 import org.junit.Test;
 
 import io.crate.execution.engine.collect.NestableCollectExpression;
+import io.crate.execution.jobs.NodeLimitStats;
+import io.crate.memory.OffHeapMemoryStats;
 import io.crate.metadata.ColumnIdent;
 import io.crate.metadata.expressions.RowCollectExpressionFactory;
 import io.crate.metadata.sys.SysNodesTableInfo;
@@ -76,7 +79,9 @@ public class NodeStatsContextFieldResolverTest {
             () -> new ConnectionStats(11, 22, 33, 44, 55, 66),
             () -> postgresAddress,
             () -> new ConnectionStats(111, 222, 333, 444, 555, 666),
-            () -> 1L
+            () -> 1L,
+            () -> List.of(new NodeLimitStats("n2", 7, 3, 1, 50, 12L, 10L)),
+            () -> new OffHeapMemoryStats(1024L, 4096L)
         );
     }
 
@@ -145,6 +150,42 @@ public class NodeStatsContextFieldResolverTest {
         assertThat(total.value()).isEqualTo(222L);
     }
 
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void test_overload_protection_dml_limits_can_be_retrieved() {
+        NodeStatsContext statsContext = resolver.forTopColumnIdents(
+            List.of(SysNodesTableInfo.Columns.OVERLOAD_PROTECTION));
+        RowCollectExpressionFactory<NodeStatsContext> expressionFactory =
+            SysNodesTableInfo.INSTANCE.expressions().get(SysNodesTableInfo.Columns.OVERLOAD_PROTECTION);
+        NestableCollectExpression<NodeStatsContext, ?> expression = expressionFactory.create();
+
+        NestableCollectExpression dml = (NestableCollectExpression) expression.getChild("dml");
+        NestableCollectExpression bulkSizePercent = (NestableCollectExpression) dml.getChild("bulk_size_percent");
+        bulkSizePercent.setNextRow(statsContext);
+        assertThat(bulkSizePercent.value()).isEqualTo(List.of(50));
+
+        NestableCollectExpression concurrencyLimit = (NestableCollectExpression) dml.getChild("concurrency_limit");
+        concurrencyLimit.setNextRow(statsContext);
+        assertThat(concurrencyLimit.value()).isEqualTo(List.of(7));
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void test_off_heap_memory_can_be_retrieved() {
+        NodeStatsContext statsContext = resolver.forTopColumnIdents(List.of(SysNodesTableInfo.Columns.OFF_HEAP));
+        RowCollectExpressionFactory<NodeStatsContext> expressionFactory =
+            SysNodesTableInfo.INSTANCE.expressions().get(SysNodesTableInfo.Columns.OFF_HEAP);
+        NestableCollectExpression<NodeStatsContext, ?> expression = expressionFactory.create();
+
+        NestableCollectExpression used = (NestableCollectExpression) expression.getChild("used");
+        used.setNextRow(statsContext);
+        assertThat(used.value()).isEqualTo(1024L);
+
+        NestableCollectExpression pooled = (NestableCollectExpression) expression.getChild("pooled");
+        pooled.setNextRow(statsContext);
+        assertThat(pooled.value()).isEqualTo(4096L);
+    }
+
     @Test
     public void testColumnIdentsResolution() {
         NodeStatsContext context = resolver.forTopColumnIdents(Set.of(
@@ -25,6 +25,7 @@ import static io.crate.testing.Asserts.assertThat;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -45,6 +46,8 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import io.crate.execution.jobs.NodeLimitStats;
+import io.crate.memory.OffHeapMemoryStats;
 import io.crate.monitor.ExtendedNodeInfo;
 import io.crate.protocols.ConnectionStats;
 
@@ -95,6 +98,8 @@ public class NodeStatsContextTest extends ESTestCase {
         assertThat(ctx2.fsInfo().getIoStats().getTotalOperations()).isEqualTo(ctx1.fsInfo().getIoStats().getTotalOperations());
         assertThat(ctx2.extendedOsStats().uptime()).isEqualTo(ctx1.extendedOsStats().uptime());
         assertThat(ctx2.threadPools().getFirst().getActive()).isEqualTo(ctx1.threadPools().getFirst().getActive());
+        assertThat(ctx2.dmlLimits()).isEqualTo(ctx1.dmlLimits());
+        assertThat(ctx2.offHeapStats()).isEqualTo(ctx1.offHeapStats());
         assertThat(ctx2.httpStats().total()).isEqualTo(ctx1.httpStats().total());
         assertThat(ctx2.psqlStats().receivedBytes()).isEqualTo(ctx1.psqlStats().receivedBytes());
         assertThat(ctx2.transportStats().sentMsgs()).isEqualTo(ctx1.transportStats().sentMsgs());
@@ -207,6 +212,8 @@ public class NodeStatsContextTest extends ESTestCase {
             new FsInfo.Path[] {new FsInfo.Path("foo", "bar", 1, 2, 3)}));
         ctx.extendedOsStats(extendedNodeInfo.osStats());
         ctx.threadPools(threadPool.stats());
+        ctx.dmlLimits(List.of(new NodeLimitStats("n2", 7, 3, 1, 50, 12L, 10L)));
+        ctx.offHeapStats(new OffHeapMemoryStats(1024L, 4096L));
         ctx.httpStats(new ConnectionStats(1, 2, 3, 4, 5, 6));
         ctx.psqlStats(new ConnectionStats(11, 22, 33, 44, 55, 66));
         ctx.transportStats(new ConnectionStats(111, 222, 333, 444, 555, 666));
@@ -0,0 +1,92 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.expression.scalar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.elasticsearch.Version;
+import org.junit.Test;
+
+import io.crate.execution.engine.join.RuntimeJoinFilter;
+import io.crate.testing.QueryTester;
+import io.crate.types.DataTypes;
+
+public class RuntimeFilterFunctionTest extends ScalarTestCase {
+
+    @Test
+    public void test_evaluate_with_exact_keys() throws Exception {
+        assertEvaluate("_runtime_filter(2, {min=1, max=3, keys=[1, 3]})", false);
+        assertEvaluate("_runtime_filter(3, {min=1, max=3, keys=[1, 3]})", true);
+        assertEvaluate("_runtime_filter(null, {min=1, max=3, keys=[1, 3]})", false);
+    }
+
+    @Test
+    public void test_exact_keys_become_terms_query() throws Exception {
+        QueryTester.Builder builder = new QueryTester.Builder(
+            THREAD_POOL,
+            clusterService,
+            Version.CURRENT,
+            "create table tbl (x int)"
+        );
+        builder.indexValues("x", 1, 2, 3, null);
+        try (QueryTester tester = builder.build()) {
+            Map<String, Object> filter = RuntimeJoinFilter.build(List.of(1, 3), DataTypes.INTEGER);
+            Query query = tester.toQuery("_runtime_filter(x, ?)", filter);
+            assertThat(query).hasToString("x:{1 3}");
+            assertThat(tester.runQuery("x", "_runtime_filter(x, ?)", filter))
+                .containsExactlyInAnyOrder(1, 3);
+        }
+    }
+
+    @Test
+    public void test_bloom_filter_becomes_range_query_with_row_filter() throws Exception {
+        QueryTester.Builder builder = new QueryTester.Builder(
+            THREAD_POOL,
+            clusterService,
+            Version.CURRENT,
+            "create table tbl (x bigint)"
+        );
+        List<Long> keys = new ArrayList<>();
+        for (long i = 1; i <= 2000; i++) {
+            keys.add(i * 10);
+            builder.indexValue("x", i);
+        }
+        try (QueryTester tester = builder.build()) {
+            Map<String, Object> filter = RuntimeJoinFilter.build(keys, DataTypes.LONG);
+            Query query = tester.toQuery("_runtime_filter(x, ?)", filter);
+            assertThat(query).isExactlyInstanceOf(BooleanQuery.class);
+            assertThat(query.toString()).startsWith("+x:[10 TO 20000] #");
+
+            List<Object> result = tester.runQuery("x", "_runtime_filter(x, ?)", filter);
+            for (long i = 10; i <= 2000; i += 10) {
+                assertThat(result).contains(i);
+            }
+            assertThat(result).doesNotContain(1L, 9L).hasSizeLessThan(1000);
+        }
+    }
+}
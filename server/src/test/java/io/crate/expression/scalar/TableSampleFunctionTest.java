@@ -0,0 +1,117 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+
+package io.crate.expression.scalar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.apache.lucene.search.Query;
+import org.elasticsearch.Version;
+import org.junit.Test;
+
+import io.crate.data.Input;
+import io.crate.expression.symbol.Literal;
+import io.crate.lucene.SampleQuery;
+import io.crate.metadata.functions.BoundSignature;
+import io.crate.testing.QueryTester;
+import io.crate.types.DataTypes;
+
+public class TableSampleFunctionTest extends ScalarTestCase {
+
+    @Test
+    public void test_evaluate_with_zero_or_hundred_percent() throws Exception {
+        assertEvaluate("_tablesample(1, 'BERNOULLI', 0.0, null)", false);
+        assertEvaluate("_tablesample(1, 'BERNOULLI', 100.0, null)", true);
+    }
+
+    @Test
+    public void test_evaluate_with_invalid_percentage() throws Exception {
+        assertThatThrownBy(() -> assertEvaluate("_tablesample(1, 'SYSTEM', 200.0, null)", true))
+            .isExactlyInstanceOf(IllegalArgumentException.class)
+            .hasMessage("TABLESAMPLE percentage must be between 0 and 100, got: 200.0");
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private boolean evaluate(TableSampleFunction function, int docId, String method, Long seed) {
+        Input[] args = new Input[] {
+            Literal.of(docId),
+            Literal.of(method),
+            Literal.of(10.0),
+            Literal.of(DataTypes.LONG, seed)
+        };
+        return function.evaluate(txnCtx, sqlExpressions.nodeCtx, args);
+    }
+
+    @Test
+    public void test_evaluate_honors_seed_and_method() throws Exception {
+        var signature = TableSampleFunction.SIGNATURE;
+        var function1 = new TableSampleFunction(signature, BoundSignature.sameAsUnbound(signature));
+        var function2 = new TableSampleFunction(signature, BoundSignature.sameAsUnbound(signature));
+        int numDocs = 10 * TableSampleFunction.SYSTEM_BLOCK_SIZE;
+        int sampled = 0;
+        for (int docId = 0; docId < numDocs; docId++) {
+            boolean included = evaluate(function1, docId, "BERNOULLI", 42L);
+            assertThat(evaluate(function2, docId, "BERNOULLI", 42L)).isEqualTo(included);
+            if (included) {
+                sampled++;
+            }
+        }
+        // expected 4096 with a standard deviation of 61
+        assertThat(sampled).isBetween(3700, 4500);
+
+        for (int block = 0; block < 10; block++) {
+            int firstDocId = block * TableSampleFunction.SYSTEM_BLOCK_SIZE;
+            boolean included = evaluate(function1, firstDocId, "SYSTEM", null);
+            for (int docId = firstDocId + 1; docId < firstDocId + TableSampleFunction.SYSTEM_BLOCK_SIZE; docId += 97) {
+                assertThat(evaluate(function1, docId, "SYSTEM", null)).isEqualTo(included);
+            }
+        }
+    }
+
+    @Test
+    public void test_evaluate_without_seed_decides_once_per_docid() throws Exception {
+        var signature = TableSampleFunction.SIGNATURE;
+        var function = new TableSampleFunction(signature, BoundSignature.sameAsUnbound(signature));
+        for (int docId = 0; docId < 1000; docId++) {
+            boolean included = evaluate(function, docId, "BERNOULLI", null);
+            assertThat(evaluate(function, docId, "BERNOULLI", null)).isEqualTo(included);
+        }
+    }
+
+    @Test
+    public void test_tablesample_query_builder() throws Exception {
+        QueryTester.Builder builder = new QueryTester.Builder(
+            THREAD_POOL,
+            clusterService,
+            Version.CURRENT,
+            "create table tbl (x int)"
+        );
+        builder.indexValues("x", 1, 2, 3);
+        try (QueryTester tester = builder.build()) {
+            Query query = tester.toQuery("_tablesample(_docid, 'SYSTEM', 25.0, 42)");
+            assertThat(query).isEqualTo(new SampleQuery(SampleQuery.Method.SYSTEM, 0.25, 42L));
+            assertThat(tester.runQuery("x", "_tablesample(_docid, 'BERNOULLI', 100.0, null)"))
+                .containsExactlyInAnyOrder(1, 2, 3);
+        }
+    }
+}
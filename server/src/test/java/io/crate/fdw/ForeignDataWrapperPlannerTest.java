@@ -35,6 +35,7 @@ import io.crate.exceptions.OperationOnInaccessibleRelationException;
 import io.crate.planner.CreateForeignTablePlan;
 import io.crate.planner.CreateServerPlan;
 import io.crate.planner.CreateUserMappingPlan;
+import io.crate.planner.operators.LogicalPlan;
 import io.crate.test.integration.CrateDummyClusterServiceUnitTest;
 import io.crate.testing.SQLExecutor;
 
@@ -85,7 +86,7 @@ public class ForeignDataWrapperPlannerTest extends CrateDummyClusterServiceUnitT
         CreateForeignTablePlan plan = e.plan(stmt);
         assertThatThrownBy(() -> e.execute(plan).getResult())
             .hasMessageContaining(
-                "Unsupported options for foreign table doc.tbl using fdw `jdbc`: invalid. Valid options are: schema_name, table_name");
+                "Unsupported options for foreign table doc.tbl using fdw `jdbc`: invalid. Valid options are: schema_name, table_name, fetch_size, partition_column, lower_bound, upper_bound, num_partitions");
     }
 
     @Test
@@ -169,4 +170,71 @@ public class ForeignDataWrapperPlannerTest extends CrateDummyClusterServiceUnitT
             x -> assertThat(x).isFunction("subscript")
         );
     }
+
+    @Test
+    public void test_limit_order_and_aggregates_are_pushed_down_to_jdbc_foreign_table() throws Exception {
+        Settings options = Settings.builder()
+            .put("url", "jdbc:postgresql://localhost:5432/")
+            .build();
+        var e = SQLExecutor.of(clusterService)
+            .addServer("pg", "jdbc", "crate", options)
+            .addForeignTable("create foreign table tbl (x int, name text) server pg");
+
+        LogicalPlan plan = e.logicalPlan("select x from tbl where x > 1 limit 10 offset 2");
+        assertThat(plan).hasOperators(
+            "Limit[10::bigint;2::bigint]",
+            "  └ ForeignCollect[doc.tbl | [x] | (x > 1) | Limit[10::bigint;2::bigint]]"
+        );
+        plan = e.logicalPlan("select x from tbl order by x desc limit 10");
+        assertThat(plan).hasOperators(
+            "Limit[10::bigint;0]",
+            "  └ OrderBy[x DESC]",
+            "    └ ForeignCollect[doc.tbl | [x] | true | OrderBy[x DESC] | Limit[10::bigint;0]]"
+        );
+        plan = e.logicalPlan("select count(*), max(x) from tbl where x > 1");
+        assertThat(plan).hasOperators(
+            "ForeignCollect[doc.tbl | [count(*), max(x)] | (x > 1)]"
+        );
+    }
+
+    @Test
+    public void test_unsafe_order_and_aggregates_are_not_pushed_down_to_jdbc_foreign_table() throws Exception {
+        Settings options = Settings.builder()
+            .put("url", "jdbc:postgresql://localhost:5432/")
+            .build();
+        var e = SQLExecutor.of(clusterService)
+            .addServer("pg", "jdbc", "crate", options)
+            .addForeignTable("create foreign table tbl (x int, name text) server pg");
+
+        // Text ordering depends on the collation of the foreign database
+        LogicalPlan plan = e.logicalPlan("select name from tbl order by name limit 10");
+        assertThat(plan).hasOperators(
+            "Limit[10::bigint;0]",
+            "  └ OrderBy[name ASC]",
+            "    └ ForeignCollect[doc.tbl | [name] | true]"
+        );
+        plan = e.logicalPlan("select avg(x) from tbl");
+        assertThat(plan).hasOperators(
+            "HashAggregate[avg(x)]",
+            "  └ ForeignCollect[doc.tbl | [x] | true]"
+        );
+        plan = e.logicalPlan("select count(*) filter (where x > 1) from tbl");
+        assertThat(plan).hasOperators(
+            "HashAggregate[count(*) FILTER (WHERE (x > 1))]",
+            "  └ ForeignCollect[doc.tbl | [(x > 1)] | true]"
+        );
+    }
+
+    @Test
+    public void test_cannot_create_foreign_table_with_invalid_option_value() throws Exception {
+        Settings options = Settings.builder()
+            .put("url", "jdbc:postgresql://localhost:5432/")
+            .build();
+        var e = SQLExecutor.of(clusterService)
+            .addServer("pg", "jdbc", "crate", options);
+        CreateForeignTablePlan plan = e.plan("create foreign table tbl (x int) server pg options (num_partitions 0)");
+        assertThatThrownBy(() -> e.execute(plan).getResult())
+            .isExactlyInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Failed to parse value [0] for setting [num_partitions] must be >= 1");
+    }
 }
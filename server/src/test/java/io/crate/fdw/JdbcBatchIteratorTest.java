@@ -27,6 +27,8 @@ import java.util.List;
 
 import org.junit.Test;
 
+import io.crate.analyze.OrderBy;
+import io.crate.execution.engine.pipeline.LimitAndOffset;
 import io.crate.expression.symbol.Symbol;
 import io.crate.metadata.ColumnIdent;
 import io.crate.metadata.Reference;
@@ -72,5 +74,68 @@ public class JdbcBatchIteratorTest extends CrateDummyClusterServiceUnitTest {
             //
             .isEqualTo("SELECT x FROM doc.summits WHERE ((x > 10) AND (x < 40))");
     }
-}
 
+    @Test
+    public void test_generate_statement_with_order_and_range() throws Exception {
+        var e = SQLExecutor.of(clusterService)
+            .addTable("create table doc.summits (x int, y bigint)");
+        DocTableInfo table = e.resolveTableInfo("doc.summits");
+        Reference x = table.getReadReference(ColumnIdent.of("x"));
+        Reference y = table.getReadReference(ColumnIdent.of("y"));
+        Symbol query = e.asSymbol("x > 10");
+        OrderBy orderBy = new OrderBy(List.of(y, x), new boolean[] { true, false }, new boolean[] { true, false });
+
+        String statement = JdbcBatchIterator.generateStatement(
+            table.ident(),
+            List.of(x),
+            query,
+            orderBy,
+            5,
+            null,
+            "\""
+        );
+        assertThat(statement).isEqualTo(
+            "SELECT \"x\" FROM \"doc\".\"summits\" WHERE (\"x\" > 10) " +
+            "ORDER BY CASE WHEN \"y\" IS NULL THEN 0 ELSE 1 END, \"y\" DESC, " +
+            "CASE WHEN \"x\" IS NULL THEN 1 ELSE 0 END, \"x\" ASC");
+
+        statement = JdbcBatchIterator.generateStatement(
+            table.ident(),
+            List.of(x),
+            query,
+            null,
+            LimitAndOffset.NO_LIMIT,
+            new JdbcBatchIterator.Range(y, null, 100L),
+            "\""
+        );
+        assertThat(statement).isEqualTo(
+            "SELECT \"x\" FROM \"doc\".\"summits\" WHERE ((\"x\" > 10)) AND (\"y\" < 100 OR \"y\" IS NULL)");
+
+        statement = JdbcBatchIterator.generateStatement(
+            table.ident(),
+            List.of(x),
+            query,
+            null,
+            LimitAndOffset.NO_LIMIT,
+            new JdbcBatchIterator.Range(y, 100L, 200L),
+            "\""
+        );
+        assertThat(statement).isEqualTo(
+            "SELECT \"x\" FROM \"doc\".\"summits\" WHERE ((\"x\" > 10)) AND (\"y\" >= 100 AND \"y\" < 200)");
+    }
+
+    @Test
+    public void test_generate_statement_with_aggregates() throws Exception {
+        var e = SQLExecutor.of(clusterService)
+            .addTable("create table doc.summits (x int)");
+        DocTableInfo table = e.resolveTableInfo("doc.summits");
+        List<Symbol> aggregates = List.of(e.asSymbol("count(*)"), e.asSymbol("sum(x)"));
+        String statement = JdbcBatchIterator.generateStatement(
+            table.ident(),
+            aggregates,
+            e.asSymbol("true"),
+            "\""
+        );
+        assertThat(statement).isEqualTo("SELECT count(*), sum(\"x\") FROM \"doc\".\"summits\" WHERE true");
+    }
+}
@@ -22,6 +22,7 @@
 package io.crate.fdw;
 
 import static io.crate.testing.TestingHelpers.createNodeContext;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.List;
@@ -30,7 +31,10 @@ import java.util.Map;
 import org.elasticsearch.common.settings.Settings;
 import org.junit.Test;
 
+import io.crate.exceptions.ColumnUnknownException;
+import io.crate.execution.engine.pipeline.LimitAndOffset;
 import io.crate.expression.InputFactory;
+import io.crate.expression.symbol.Function;
 import io.crate.expression.symbol.Literal;
 import io.crate.fdw.ServersMetadata.Server;
 import io.crate.metadata.ColumnIdent;
@@ -44,6 +48,7 @@ import io.crate.metadata.SimpleReference;
 import io.crate.role.Role;
 import io.crate.role.metadata.RolesHelper;
 import io.crate.test.integration.CrateDummyClusterServiceUnitTest;
+import io.crate.testing.SQLExecutor;
 import io.crate.types.DataTypes;
 
 public class JdbcForeignDataWrapperTest extends CrateDummyClusterServiceUnitTest {
@@ -52,7 +57,7 @@ public class JdbcForeignDataWrapperTest extends CrateDummyClusterServiceUnitTest
     public void test_cannot_access_localhost_as_regular_user() throws Exception {
         Role arthur = RolesHelper.userOf("arthur");
         NodeContext nodeCtx = createNodeContext(List.of(arthur));
-        var fdw = new JdbcForeignDataWrapper(Settings.EMPTY, new InputFactory(nodeCtx));
+        var fdw = new JdbcForeignDataWrapper(Settings.EMPTY, new InputFactory(nodeCtx), THREAD_POOL);
         Settings options = Settings.builder()
             .put("url", "jdbc:postgresql://localhost:5432/")
             .build();
@@ -68,7 +73,7 @@ public class JdbcForeignDataWrapperTest extends CrateDummyClusterServiceUnitTest
         );
         Map<ColumnIdent, Reference> references = Map.of(nameRef.column(), nameRef);
         ForeignTable foreignTable = new ForeignTable(relationName, references, server.name(), Settings.EMPTY);
-        assertThatThrownBy(() -> fdw.getIterator(arthur, server, foreignTable, txnCtx, List.of(nameRef), Literal.BOOLEAN_TRUE))
+        assertThatThrownBy(() -> fdw.getIterator(arthur, server, foreignTable, txnCtx, List.of(nameRef), Literal.BOOLEAN_TRUE, null, LimitAndOffset.NO_LIMIT))
             .hasMessage("Only a super user can connect to localhost unless `fdw.allow_local` is set to true");
     }
 
@@ -76,7 +81,7 @@ public class JdbcForeignDataWrapperTest extends CrateDummyClusterServiceUnitTest
     public void test_can_access_remote_as_regular_user() throws Exception {
         Role arthur = RolesHelper.userOf("arthur");
         NodeContext nodeCtx = createNodeContext(List.of(arthur));
-        var fdw = new JdbcForeignDataWrapper(Settings.EMPTY, new InputFactory(nodeCtx));
+        var fdw = new JdbcForeignDataWrapper(Settings.EMPTY, new InputFactory(nodeCtx), THREAD_POOL);
         Settings options = Settings.builder()
             .put("url", "jdbc:postgresql://192.0.2.0:5432/postgres")
             .build();
@@ -93,7 +98,72 @@ public class JdbcForeignDataWrapperTest extends CrateDummyClusterServiceUnitTest
         Map<ColumnIdent, Reference> references = Map.of(nameRef.column(), nameRef);
         ForeignTable foreignTable = new ForeignTable(relationName, references, server.name(), Settings.EMPTY);
         // validates that no exception is thrown
-        fdw.getIterator(arthur, server, foreignTable, txnCtx, List.of(nameRef), Literal.BOOLEAN_TRUE);
+        fdw.getIterator(arthur, server, foreignTable, txnCtx, List.of(nameRef), Literal.BOOLEAN_TRUE, null, LimitAndOffset.NO_LIMIT);
+    }
+
+    @Test
+    public void test_partition_options_are_validated() throws Exception {
+        var fdw = new JdbcForeignDataWrapper(Settings.EMPTY, new InputFactory(createNodeContext()), THREAD_POOL);
+        RelationName relationName = new RelationName("doc", "remote");
+        Reference nameRef = new SimpleReference(
+            new ReferenceIdent(relationName, "name"),
+            RowGranularity.DOC,
+            DataTypes.STRING,
+            1,
+            null
+        );
+        Settings options = Settings.builder()
+            .put("partition_column", "name")
+            .put("upper_bound", 10)
+            .put("num_partitions", 2)
+            .build();
+        assertThatThrownBy(() -> fdw.validateTableOptions(relationName, List.of(nameRef), options))
+            .isExactlyInstanceOf(IllegalArgumentException.class)
+            .hasMessage("partition_column `name` of foreign table `doc.remote` must be of an integral type, not `text`");
+
+        Settings unknownColumn = Settings.builder().put(options).put("partition_column", "id").build();
+        assertThatThrownBy(() -> fdw.validateTableOptions(relationName, List.of(nameRef), unknownColumn))
+            .isExactlyInstanceOf(ColumnUnknownException.class);
     }
-}
 
+    @Test
+    public void test_ranges_cover_the_full_long_domain_without_overflow() throws Exception {
+        var fdw = new JdbcForeignDataWrapper(Settings.EMPTY, new InputFactory(createNodeContext()), THREAD_POOL);
+        RelationName relationName = new RelationName("doc", "remote");
+        Reference idRef = new SimpleReference(
+            new ReferenceIdent(relationName, "id"),
+            RowGranularity.DOC,
+            DataTypes.LONG,
+            1,
+            null
+        );
+        Settings options = Settings.builder()
+            .put("partition_column", "id")
+            .put("lower_bound", Long.MIN_VALUE)
+            .put("upper_bound", Long.MAX_VALUE)
+            .put("num_partitions", 4)
+            .build();
+        List<JdbcBatchIterator.Range> ranges = fdw.ranges(relationName, Map.of(idRef.column(), idRef), options);
+        assertThat(ranges).satisfiesExactly(
+            r -> assertThat(r.to()).isEqualTo(-4611686018427387905L),
+            r -> assertThat(r.from()).isEqualTo(-4611686018427387905L),
+            r -> assertThat(r.from()).isEqualTo(-2L),
+            r -> assertThat(r.from()).isEqualTo(4611686018427387901L)
+        );
+        for (int i = 1; i < ranges.size(); i++) {
+            assertThat(ranges.get(i).from()).isEqualTo(ranges.get(i - 1).to());
+        }
+        assertThat(ranges.get(3).to()).isNull();
+    }
+
+    @Test
+    public void test_min_max_are_only_pushed_down_for_types_with_the_same_ordering() throws Exception {
+        var fdw = new JdbcForeignDataWrapper(Settings.EMPTY, new InputFactory(createNodeContext()), THREAD_POOL);
+        var e = SQLExecutor.of(clusterService)
+            .addTable("create table doc.t (name text, x int)");
+        assertThat(fdw.supportsAggregatePushdown(List.of((Function) e.asSymbol("max(x)")))).isTrue();
+        assertThat(fdw.supportsAggregatePushdown(List.of((Function) e.asSymbol("count(name)")))).isTrue();
+        assertThat(fdw.supportsAggregatePushdown(List.of((Function) e.asSymbol("min(name)")))).isFalse();
+        assertThat(fdw.supportsAggregatePushdown(List.of((Function) e.asSymbol("max(name)")))).isFalse();
+    }
+}
@@ -190,6 +190,82 @@ public class CopyIntegrationTest extends SQLHttpIntegrationTest {
         assertThat(response).hasRowCount(1L);
     }
 
+    @Test
+    public void test_copy_from_with_multiple_readers_per_node() throws Exception {
+        execute("create table t (id int primary key, name string) with (number_of_replicas = 0)");
+        File tmpFolder = folder.newFolder("multiple_readers");
+        for (int i = 0; i < 5; i++) {
+            List<String> lines = new ArrayList<>();
+            for (int j = 0; j < 100; j++) {
+                lines.add("{\"id\": " + (i * 100 + j) + ", \"name\": \"name" + j + "\"}");
+            }
+            Files.write(new File(tmpFolder, "data" + i + ".json").toPath(), lines, StandardCharsets.UTF_8);
+        }
+
+        execute("copy t from ? with (readers_per_node = 3, shared = true)",
+            new Object[]{Paths.get(tmpFolder.toURI()).toUri().toString() + "*.json"});
+        assertThat(response).hasRowCount(500L);
+        execute("refresh table t");
+        execute("select count(*), count(distinct id) from t");
+        assertThat(response).hasRows("500| 500");
+    }
+
+    @Test
+    public void test_copy_to_and_from_parquet() throws Exception {
+        execute("create table t (id int primary key, name text, score double, ts timestamp with time zone, o object as (x int))" +
+                " clustered into 2 shards with (number_of_replicas = 0)");
+        execute("insert into t (id, name, score, ts, o) values " +
+                "(1, 'Arthur', 1.5, '2024-01-01T10:00:00Z', {x = 1}), " +
+                "(2, null, 2.5, null, null), " +
+                "(3, 'Trillian', null, '2024-01-03T10:00:00Z', {x = 3})");
+        execute("refresh table t");
+
+        File tmpExport = folder.newFolder("parquet_export");
+        String uriTemplate = Paths.get(tmpExport.toURI()).toUri().toString();
+        execute("copy t to directory ? with (format = 'parquet', compression = 'gzip')", new Object[]{uriTemplate});
+        assertThat(response).hasRowCount(3L);
+        assertThat(tmpExport.list()).allSatisfy(name -> assertThat(name).endsWith(".parquet"));
+
+        execute("create table t2 (id int primary key, name text, score double, ts timestamp with time zone, o object as (x int))" +
+                " with (number_of_replicas = 0)");
+        execute("copy t2 from ? with (shared = true)", new Object[]{uriTemplate + "*"});
+        assertThat(response).hasRowCount(3L);
+        execute("refresh table t2");
+        execute("select id, name, score, ts, o from t order by id");
+        Object[][] expectedRows = response.rows();
+        execute("select id, name, score, ts, o from t2 order by id");
+        assertThat(response.rows()).isEqualTo(expectedRows);
+        assertThat(response).hasRows(
+            "1| Arthur| 1.5| " + expectedRows[0][3] + "| {x=1}",
+            "2| NULL| 2.5| NULL| NULL",
+            "3| Trillian| NULL| " + expectedRows[2][3] + "| {x=3}");
+
+        execute("create table t3 (id int primary key, name text) with (number_of_replicas = 0)");
+        execute("copy t3 (id) from ? with (shared = true, format = 'parquet')", new Object[]{uriTemplate + "*"});
+        assertThat(response).hasRowCount(3L);
+        execute("refresh table t3");
+        execute("select id, name from t3 order by id");
+        assertThat(response).hasRows(
+            "1| NULL",
+            "2| NULL",
+            "3| NULL");
+    }
+
+    @Test
+    public void test_explicit_format_takes_precedence_over_parquet_extension() throws Exception {
+        execute("create table t (id int primary key, name text) with (number_of_replicas = 0)");
+        Path file = folder.newFolder("json_named_parquet").toPath().resolve("data.parquet");
+        Files.writeString(file, "{\"id\": 1, \"name\": \"Arthur\"}\n{\"id\": 2, \"name\": \"Trillian\"}\n");
+
+        execute("copy t from ? with (format = 'json')", new Object[]{file.toUri().toString()});
+        assertThat(response).hasRowCount(2L);
+        execute("refresh table t");
+        execute("select id, name from t order by id");
+        assertThat(response).hasRows(
+            "1| Arthur",
+            "2| Trillian");
+    }
+
     @Test
     public void testCopyFromWithOverwriteDuplicates() throws Exception {
         execute("create table t (id int primary key) with (number_of_replicas = 0)");
@@ -34,6 +34,7 @@ import io.crate.protocols.postgres.PGErrorStatus;
 import io.crate.protocols.postgres.PostgresNetty;
 import io.crate.role.Role;
 import io.crate.role.Roles;
+import io.crate.testing.UseRandomizedOptimizerRules;
 import io.netty.handler.codec.http.HttpResponseStatus;
 
 public class ForeignDataWrapperITest extends IntegTestCase {
@@ -429,4 +430,85 @@ public class ForeignDataWrapperITest extends IntegTestCase {
             .isExactlyInstanceOf(RuntimeException.class)
             .hasMessageContaining("FATAL: trust authentication failed for user \"foreign-user-a\"");
     }
+
+    @Test
+    @UseRandomizedOptimizerRules(0)
+    public void test_limit_order_and_aggregates_are_pushed_down_and_reads_can_be_partitioned() throws Exception {
+        execute("create table doc.tbl (x int, y int)");
+        execute("insert into doc.tbl (x, y) values (1, 1), (2, 2), (42, 42), (null, 3)");
+        execute("refresh table doc.tbl");
+
+        PostgresNetty postgresNetty = cluster().getInstance(PostgresNetty.class);
+        int port = postgresNetty.boundAddress().publishAddress().getPort();
+        String url = "jdbc:postgresql://127.0.0.1:" + port + '/';
+        execute("create server pg foreign data wrapper jdbc options (url ?)", new Object[] { url });
+        execute(
+            """
+            CREATE FOREIGN TABLE doc.dummy (x int, y int)
+            SERVER pg
+            OPTIONS (schema_name 'doc', table_name 'tbl', fetch_size '2')
+            """
+        );
+
+        execute("explain select x from doc.dummy where x > 1 order by x desc limit 1");
+        assertThat(response).hasLines(
+            "Limit[1::bigint;0] (rows=unknown)",
+            "  └ OrderBy[x DESC] (rows=unknown)",
+            "    └ ForeignCollect[doc.dummy | [x] | (x > 1) | OrderBy[x DESC] | Limit[1::bigint;0]] (rows=unknown)"
+        );
+        execute("select x from doc.dummy where x > 1 order by x desc limit 1");
+        assertThat(response).hasRows("42");
+
+        execute("select x, y from doc.dummy order by y limit 2 offset 1");
+        assertThat(response).hasRows(
+            "2| 2",
+            "NULL| 3"
+        );
+
+        execute("explain select count(*), count(x), sum(y), min(x), max(x) from doc.dummy where y > 1");
+        assertThat(response).hasLines(
+            "ForeignCollect[doc.dummy | [count(*), count(x), sum(y), min(x), max(x)] | (y > 1)] (rows=unknown)"
+        );
+        execute("select count(*), count(x), sum(y), min(x), max(x) from doc.dummy where y > 1");
+        assertThat(response).hasRows("3| 2| 47| 2| 42");
+
+        // Without a limit the rows are fetched in several batches of fetch_size rows
+        execute("select x, y from doc.dummy order by y");
+        assertThat(response).hasRows(
+            "1| 1",
+            "2| 2",
+            "NULL| 3",
+            "42| 42"
+        );
+
+        execute(
+            """
+            CREATE FOREIGN TABLE doc.partitioned (x int, y int)
+            SERVER pg
+            OPTIONS (
+                schema_name 'doc',
+                table_name 'tbl',
+                partition_column 'x',
+                lower_bound '0',
+                upper_bound '10',
+                num_partitions '3'
+            )
+            """
+        );
+        execute("select x, y from doc.partitioned order by y");
+        assertThat(response).hasRows(
+            "1| 1",
+            "2| 2",
+            "NULL| 3",
+            "42| 42"
+        );
+
+        assertSQLError(() -> execute(
+            """
+            CREATE FOREIGN TABLE doc.invalid (x int, y text)
+            SERVER pg
+            OPTIONS (partition_column 'y', upper_bound '10', num_partitions '3')
+            """))
+            .hasMessageContaining("partition_column `y` of foreign table `doc.invalid` must be of an integral type, not `text`");
+    }
 }
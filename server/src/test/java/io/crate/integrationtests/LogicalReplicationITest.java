@@ -411,6 +411,31 @@ public class LogicalReplicationITest extends LogicalReplicationITestCase {
         }, 10, TimeUnit.SECONDS);
     }
 
+    @Test
+    public void test_replication_lag_of_subscribed_shards_is_exposed() throws Exception {
+        executeOnPublisher("CREATE TABLE doc.t1 (id INT) CLUSTERED INTO 2 SHARDS WITH(" +
+                           defaultTableSettings() +
+                           ")");
+        createPublication("pub1", false, List.of("doc.t1"));
+        createSubscription("sub1", "pub1");
+
+        var bulkArgs = new Object[50][1];
+        for (int i = 0; i < bulkArgs.length; i++) {
+            bulkArgs[i][0] = i;
+        }
+        executeBulkOnPublisher("INSERT INTO doc.t1 (id) VALUES (?)", bulkArgs);
+
+        assertBusy(() -> {
+            var res = executeOnSubscriber(
+                "SELECT table_name, shard_id, subscription_name, lag, replayed_checkpoint = publisher_checkpoint" +
+                " FROM sys.replication_shards ORDER BY shard_id");
+            assertThat(res).hasRows(
+                "t1| 0| sub1| 0| true",
+                "t1| 1| sub1| 0| true"
+            );
+        }, 10, TimeUnit.SECONDS);
+    }
+
     @Test
     public void test_write_to_subscribed_table_is_forbidden() throws Exception {
         executeOnPublisher("CREATE TABLE doc.t1 (id INT) WITH(" +
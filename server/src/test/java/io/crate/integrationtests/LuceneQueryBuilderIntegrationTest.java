@@ -448,4 +448,45 @@ public class LuceneQueryBuilderIntegrationTest extends IntegTestCase {
             .as("query doesn't match")
             .hasRowCount(0L);
     }
+
+    @Test
+    public void test_tablesample_returns_a_sample_of_the_rows() throws Exception {
+        execute("create table t (x int) clustered into 2 shards with (number_of_replicas = 0)");
+        execute("insert into t (x) select * from generate_series(1, 1000)");
+        execute("refresh table t");
+
+        execute("select count(*) from t tablesample bernoulli (10) repeatable (1)");
+        long count = (long) response.rows()[0][0];
+        // expected 100 with a standard deviation of ~9.5
+        assertThat(count).isBetween(50L, 150L);
+        // count(x) doesn't use the count(*) optimization, it collects the rows
+        assertThat(execute("select count(x) from t tablesample bernoulli (10) repeatable (1)"))
+            .hasRows(count + "");
+
+        assertThat(execute("select count(*) from t tablesample bernoulli (100)")).hasRows("1000");
+        assertThat(execute("select count(x) from t tablesample system (0)")).hasRows("0");
+    }
+
+    @Test
+    public void test_tablesample_scales_aggregates_and_returns_error_bounds() throws Exception {
+        execute("create table t (x int) clustered into 2 shards with (number_of_replicas = 0)");
+        execute("insert into t (x) select * from generate_series(1, 1000)");
+        execute("refresh table t");
+
+        try (var session = sqlExecutor.newSession()) {
+            execute("set scale_sampled_aggregates = true", session);
+            execute("select count(*), sampling_error(count(*)), sum(x), sampling_error(sum(x)) " +
+                    "from t tablesample bernoulli (10) repeatable (1)", session);
+            assertThat(response).hasColumns(
+                "count(*)", "sampling_error(count(*))", "sum(x)", "sampling_error(sum(x))");
+            // 1000 rows, the error bound of the count is about 1.96 * sqrt(0.9 * 100) / 0.1 = 186
+            assertThat((long) response.rows()[0][0]).isBetween(500L, 1500L);
+            assertThat((double) response.rows()[0][1]).isBetween(100.0, 300.0);
+            assertThat((long) response.rows()[0][2]).isBetween(250_000L, 750_000L);
+
+            execute("select count(*), sampling_error(count(*)), sum(x), avg(x), sampling_error(avg(x)) " +
+                    "from t tablesample bernoulli (100)", session);
+            assertThat(response).hasRows("1000| 0.0| 500500| 500.5| 0.0");
+        }
+    }
 }
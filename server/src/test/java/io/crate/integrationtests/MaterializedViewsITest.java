@@ -0,0 +1,189 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.integrationtests;
+
+import static io.crate.testing.Asserts.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+
+import org.elasticsearch.cluster.service.ClusterService;
+import org.elasticsearch.test.IntegTestCase;
+import org.junit.Test;
+
+import io.crate.execution.ddl.views.RefreshMaterializedViewRequest;
+import io.crate.execution.ddl.views.RefreshMaterializedViewRequest.Stage;
+import io.crate.execution.ddl.views.TransportRefreshMaterializedViewAction;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.view.MaterializedViewMetadata.RefreshInProgress;
+import io.crate.metadata.view.MaterializedViewsMetadata;
+
+public class MaterializedViewsITest extends IntegTestCase {
+
+    @Test
+    public void test_materialized_view_can_be_created_refreshed_and_dropped() {
+        execute("create table t1 (x int, y int)");
+        execute("insert into t1 (x, y) values (1, 10), (1, 20), (2, 5)");
+        execute("refresh table t1");
+
+        execute("create materialized view mv as select x, sum(y) as total from t1 group by x");
+        assertThat(response).hasRowCount(2);
+        RelationName name = new RelationName(sqlExecutor.getCurrentSchema(), "mv");
+        for (ClusterService clusterService : cluster().getInstances(ClusterService.class)) {
+            MaterializedViewsMetadata views = clusterService.state().metadata().custom(MaterializedViewsMetadata.TYPE);
+            assertThat(views.get(name).checkpoints()).isNotEmpty();
+        }
+        assertThat(execute("select x, total from mv order by x")).hasRows(
+            "1| 30",
+            "2| 5"
+        );
+
+        execute("insert into t1 (x, y) values (3, 1)");
+        execute("refresh table t1");
+        assertThat(execute("select x, total from mv order by x")).hasRows(
+            "1| 30",
+            "2| 5"
+        );
+        execute("refresh materialized view mv");
+        assertThat(response).hasRowCount(3);
+        assertThat(execute("select x, total from mv order by x")).hasRows(
+            "1| 30",
+            "2| 5",
+            "3| 1"
+        );
+
+        // Nothing changed, nothing to do
+        execute("refresh materialized view mv");
+        assertThat(response).hasRowCount(0);
+
+        execute("drop materialized view mv");
+        for (ClusterService clusterService : cluster().getInstances(ClusterService.class)) {
+            MaterializedViewsMetadata views = clusterService.state().metadata().custom(MaterializedViewsMetadata.TYPE);
+            assertThat(views.contains(name)).isFalse();
+        }
+        execute("drop materialized view if exists mv");
+    }
+
+    @Test
+    public void test_refresh_only_recomputes_changed_partitions() {
+        execute("create table p (part int, v int) partitioned by (part)");
+        execute("insert into p (part, v) values (1, 1), (2, 2), (3, 3)");
+        execute("refresh table p");
+
+        execute("create materialized view mv as select part, count(*) as cnt, sum(v) as total from p group by part");
+        assertThat(response).hasRowCount(3);
+
+        execute("insert into p (part, v) values (2, 20)");
+        execute("delete from p where part = 3");
+        execute("refresh materialized view mv");
+        assertThat(response).hasRowCount(1);
+        assertThat(execute("select part, cnt, total from mv order by part")).hasRows(
+            "1| 1| 1",
+            "2| 2| 22"
+        );
+    }
+
+    @Test
+    public void test_query_matching_materialized_view_is_answered_from_view_if_enabled() {
+        execute("create table t1 (x int)");
+        execute("insert into t1 (x) values (1), (2)");
+        execute("refresh table t1");
+        execute("create materialized view mv as select count(*) from t1");
+
+        execute("insert into t1 (x) values (3)");
+        execute("refresh table t1");
+        assertThat(execute("select count(*) from t1")).hasRows("3");
+
+        try (var session = sqlExecutor.newSession()) {
+            execute("set enable_materialized_view_rewrite = true", session);
+            assertThat(execute("SELECT COUNT(*)  FROM t1", session)).hasRows("2");
+            assertThat(execute("select count(*) from t1 where x > 1", session)).hasRows("2");
+
+            execute("refresh materialized view mv", session);
+            assertThat(execute("select count(*) from t1", session)).hasRows("3");
+        }
+    }
+
+    @Test
+    public void test_materialized_view_statements_reject_regular_tables() {
+        execute("create table t1 (x int)");
+        assertThatThrownBy(() -> execute("refresh materialized view t1"))
+            .hasMessageContaining("is not a materialized view");
+        assertThatThrownBy(() -> execute("drop materialized view t1"))
+            .hasMessageContaining("is not a materialized view");
+    }
+
+    @Test
+    public void test_rows_of_materialized_view_can_only_be_changed_by_refresh() {
+        execute("create table t1 (x int)");
+        execute("insert into t1 (x) values (1), (2)");
+        execute("refresh table t1");
+        execute("create materialized view mv as select x from t1");
+
+        assertThatThrownBy(() -> execute("insert into mv (x) values (3)"))
+            .hasMessageContaining("because it is a materialized view");
+        assertThatThrownBy(() -> execute("update mv set x = 3"))
+            .hasMessageContaining("because it is a materialized view");
+        assertThatThrownBy(() -> execute("delete from mv"))
+            .hasMessageContaining("because it is a materialized view");
+
+        execute("insert into t1 (x) values (3)");
+        execute("refresh table t1");
+        execute("refresh materialized view mv");
+        assertThat(execute("select x from mv order by x")).hasRows("1", "2", "3");
+
+        // The staging table of the refresh replaced the table of the view
+        assertThat(execute("select table_name from information_schema.tables where table_name like 'mv%'"))
+            .hasRows("mv");
+        RelationName name = new RelationName(sqlExecutor.getCurrentSchema(), "mv");
+        for (ClusterService clusterService : cluster().getInstances(ClusterService.class)) {
+            MaterializedViewsMetadata views = clusterService.state().metadata().custom(MaterializedViewsMetadata.TYPE);
+            assertThat(views.get(name).refresh()).isNull();
+        }
+    }
+
+    @Test
+    public void test_refresh_takes_over_refresh_of_node_which_left_the_cluster() throws Exception {
+        execute("create table t1 (x int)");
+        execute("insert into t1 (x) values (1)");
+        execute("refresh table t1");
+        execute("create materialized view mv as select x from t1");
+
+        // Leftover of a refresh of a node which crashed
+        execute("create table mv_refresh_0 (x int)");
+        RelationName name = new RelationName(sqlExecutor.getCurrentSchema(), "mv");
+        var refreshAction = cluster().getInstance(TransportRefreshMaterializedViewAction.class);
+        refreshAction.execute(new RefreshMaterializedViewRequest(
+            name,
+            new RefreshInProgress("gone", "mv_refresh_0"),
+            Stage.START,
+            Map.of()
+        )).get();
+
+        execute("insert into t1 (x) values (2)");
+        execute("refresh table t1");
+        execute("refresh materialized view mv");
+        assertThat(execute("select x from mv order by x")).hasRows("1", "2");
+        assertThat(execute("select table_name from information_schema.tables where table_name like 'mv%'"))
+            .hasRows("mv");
+    }
+}
@@ -24,14 +24,18 @@ package io.crate.integrationtests;
 import static io.crate.testing.Asserts.assertThat;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.lucene.util.Constants;
 import org.elasticsearch.Version;
 import org.elasticsearch.env.NodeEnvironment;
 import org.elasticsearch.test.IntegTestCase;
+import org.elasticsearch.threadpool.ThreadPool;
 import org.junit.Test;
 
 import io.crate.common.collections.Lists;
@@ -101,6 +105,58 @@ public class NodeStatsITest extends IntegTestCase {
         assertThat((Integer) queues.getFirst()).isGreaterThanOrEqualTo(0);
     }
 
+    @Test
+    public void test_blocking_io_thread_pool_runs_tasks_on_virtual_threads() throws Exception {
+        for (ThreadPool threadPool : cluster().getInstances(ThreadPool.class)) {
+            ExecutorService executor = (ExecutorService) threadPool.executor(ThreadPool.Names.BLOCKING_IO);
+            assertThat(executor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS)).isTrue();
+        }
+        execute("""
+            select
+                thread_pools['name'] = 'blocking_io',
+                thread_pools['completed'] >= 1,
+                thread_pools['largest'] >= 1,
+                thread_pools['queue'] = 0
+            from (select unnest(thread_pools) as thread_pools from sys.nodes) t
+            where thread_pools['name'] = 'blocking_io'
+            """);
+        assertThat(response).hasRows(
+            "true| true| true| true",
+            "true| true| true| true"
+        );
+    }
+
+    @Test
+    public void test_off_heap_memory_stats() throws Exception {
+        execute("select off_heap['used'], off_heap['pooled'] from sys.nodes");
+        assertThat(response).hasRowCount(2L);
+        for (Object[] row : response.rows()) {
+            assertThat((long) row[0]).isGreaterThanOrEqualTo(0L);
+            assertThat((long) row[1]).isGreaterThanOrEqualTo(0L);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void test_overload_protection_exposes_dml_limits_per_target_node() throws Exception {
+        execute("create table tbl (x int) clustered into 4 shards with (number_of_replicas = 0)");
+        execute("insert into tbl (x) select b from generate_series(1, 100) as t(b)");
+        execute("refresh table tbl");
+        execute("select count(*) from tbl");
+        assertThat(response).hasRows("100");
+
+        execute("select overload_protection['dml']['target_node_id'], overload_protection['dml']['bulk_size_percent'] " +
+                "from sys.nodes");
+        List<String> targetNodes = new ArrayList<>();
+        for (Object[] row : response.rows()) {
+            targetNodes.addAll((List<String>) row[0]);
+            for (Object bulkSizePercent : (List<?>) row[1]) {
+                assertThat((Integer) bulkSizePercent).isBetween(1, 100);
+            }
+        }
+        assertThat(targetNodes).isNotEmpty();
+    }
+
     @Test
     @UseJdbc(0) // because of json some values are transfered as integer instead of long
     public void testSysNodesOs() throws Exception {
@@ -525,6 +525,45 @@ public class PostgresITest extends IntegTestCase {
         }
     }
 
+    @Test
+    public void test_open_portals_do_not_block_statements_of_their_resource_group() throws Exception {
+        int maxConcurrency = 2;
+        execute("set global transient \"resource_groups.api.max_concurrency\" = " + maxConcurrency);
+        try (Connection conn = DriverManager.getConnection(url(RW), properties)) {
+            conn.createStatement().execute("set resource_group = 'api'");
+            conn.createStatement().execute("set statement_timeout = '10s'");
+            conn.setAutoCommit(false);
+            List<Statement> statements = new ArrayList<>();
+            List<ResultSet> resultSets = new ArrayList<>();
+            for (int i = 0; i < maxConcurrency; i++) {
+                Statement st = conn.createStatement();
+                st.setFetchSize(2);
+                ResultSet resultSet = st.executeQuery("select * from generate_series(1, 10)");
+                assertThat(resultSet.next()).isTrue();
+                statements.add(st);
+                resultSets.add(resultSet);
+            }
+
+            ResultSet select30Result = conn.createStatement().executeQuery("select 30");
+            assertThat(select30Result.next()).isTrue();
+            assertThat(select30Result.getInt(1)).isEqualTo(30);
+
+            for (ResultSet resultSet : resultSets) {
+                int rows = 1;
+                while (resultSet.next()) {
+                    rows++;
+                }
+                assertThat(rows).isEqualTo(10);
+                resultSet.close();
+            }
+            for (Statement st : statements) {
+                st.close();
+            }
+        } finally {
+            execute("reset global \"resource_groups.api.max_concurrency\"");
+        }
+    }
+
     @Test
     public void testCloseConnectionWithUnfinishedResultSetDoesNotLeaveAnyPendingOperations() throws Exception {
         try (Connection conn = DriverManager.getConnection(url(RW), properties)) {
@@ -120,4 +120,35 @@ public class QueryThenFetchIntegrationTest extends IntegTestCase {
         assertThat(printedTable(response.rows())).isEqualTo("0\n1\n2\n3\n4\n5\n6\n7\n8\n9\n10\n11\n12\n13\n14\n15\n16\n17\n18\n19\n20\n21\n");
         assertThat(response.rowCount()).isEqualTo((long) docCount);
     }
+
+    @Test
+    public void test_fetch_responses_are_used_to_rank_nodes() {
+        execute("create table t (b byte, name string) clustered into 2 shards with (number_of_replicas = 0)");
+        execute("insert into t (name, b) values ('Marvin', 0), ('Trillian', 1), ('Arthur', 2), ('Max', 3)");
+        execute("refresh table t");
+
+        execute("select * from t order by b limit 2");
+        assertThat(response.rowCount()).isEqualTo(2L);
+
+        execute("select count(*) from sys.node_ranks where response_time > 0 and outstanding_requests = 0");
+        assertThat((long) response.rows()[0][0]).isGreaterThan(0L);
+    }
+
+    @Test
+    public void test_self_join_with_fetch_uses_same_shard_copies_for_both_sides() {
+        execute("create table t (id int, name string) clustered into 4 shards with (number_of_replicas = 1)");
+        ensureGreen();
+        execute("insert into t (id, name) values (1, 'Marvin'), (2, 'Trillian'), (3, 'Arthur'), (4, 'Max')");
+        execute("refresh table t");
+
+        // Each run feeds new fetch response stats, which may change the ranking of the nodes
+        // between the routing allocations of the two sides
+        for (int i = 0; i < 20; i++) {
+            execute("select t1.name, t2.name from t t1 join t t2 on t1.id = t2.id order by t1.id limit 3");
+            assertThat(printedTable(response.rows())).isEqualTo(
+                "Marvin| Marvin\n" +
+                "Trillian| Trillian\n" +
+                "Arthur| Arthur\n");
+        }
+    }
 }
@@ -142,4 +142,55 @@ public class RestSQLActionIntegrationTest extends SQLHttpIntegrationTest {
         var resp = post("{\"stmt\": \"select '5 days'::interval as x\"}");
         assertThat(resp.body()).contains("5 days");
     }
+
+    @Test
+    public void test_streamed_result_matches_regular_result() throws Exception {
+        String body = "{\"stmt\": \"select x, x::text as s from generate_series(1, 2500) as t (x)\"}";
+        var regular = post("_sql?types", body);
+        var streamed = post("_sql?types&stream", body);
+        assertThat(streamed.statusCode()).isEqualTo(200);
+        assertThat(streamed.headers().firstValue("transfer-encoding")).hasValue("chunked");
+        assertThat(withoutDuration(streamed.body())).isEqualTo(withoutDuration(regular.body()));
+    }
+
+    @Test
+    public void test_stream_result_as_ndjson() throws Exception {
+        var resp = post("_sql?format=ndjson", "{\"stmt\": \"select x from generate_series(1, 2500) as t (x)\"}");
+        assertThat(resp.statusCode()).isEqualTo(200);
+        assertThat(resp.headers().firstValue("content-type")).hasValue("application/x-ndjson; charset=UTF-8");
+        String[] lines = resp.body().split("\n");
+        assertThat(lines).hasSize(2502);
+        assertThat(lines[0]).isEqualTo("{\"cols\":[\"x\"]}");
+        assertThat(lines[1]).isEqualTo("[1]");
+        assertThat(lines[2500]).isEqualTo("[2500]");
+        assertThat(lines[2501]).startsWith("{\"rowcount\":2500,\"duration\":");
+    }
+
+    @Test
+    public void test_stream_failure_before_first_page_results_in_error_response() throws Exception {
+        var resp = post("_sql?format=ndjson", "{\"stmt\": \"select 1 / 0\"}");
+        assertThat(resp.statusCode()).isEqualTo(400);
+        assertThat(resp.body()).startsWith("{\"error\":{\"message\":\"SQLParseException[/ by zero]\"");
+    }
+
+    @Test
+    public void test_stream_failure_after_first_page_is_appended_as_ndjson_line() throws Exception {
+        var resp = post(
+            "_sql?format=ndjson",
+            "{\"stmt\": \"select 1 / (x - 1500) from generate_series(1, 2500) as t (x)\"}");
+        assertThat(resp.statusCode()).isEqualTo(200);
+        String[] lines = resp.body().split("\n");
+        assertThat(lines[lines.length - 1]).startsWith("{\"error\":{\"message\":");
+    }
+
+    @Test
+    public void test_stream_with_unknown_format_is_rejected() throws Exception {
+        var resp = post("_sql?format=csv", "{\"stmt\": \"select 1\"}");
+        assertThat(resp.statusCode()).isEqualTo(400);
+        assertThat(resp.body()).contains("Unsupported format: csv, supported formats are: [json, ndjson]");
+    }
+
+    private static String withoutDuration(String body) {
+        return body.replaceAll("\"duration\":[0-9.E-]+", "");
+    }
 }
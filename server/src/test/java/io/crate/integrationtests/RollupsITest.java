@@ -0,0 +1,229 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.integrationtests;
+
+import static io.crate.testing.Asserts.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.elasticsearch.test.IntegTestCase;
+import org.junit.Test;
+
+import io.crate.rollup.RollupService;
+
+public class RollupsITest extends IntegTestCase {
+
+    private void flushRollups() throws Exception {
+        flushRollups("metrics_rollup_minute, metrics_rollup_hour");
+    }
+
+    private void flushRollups(String rollupTables) throws Exception {
+        for (RollupService rollupService : cluster().getInstances(RollupService.class)) {
+            rollupService.flush().get(10, TimeUnit.SECONDS);
+        }
+        execute("refresh table " + rollupTables);
+    }
+
+    private void createAndFillMetrics() throws Exception {
+        execute("""
+            create table metrics (
+                ts timestamp with time zone,
+                device text,
+                v double,
+                n int
+            ) with (rollups = 'minute(ts), hour(ts) dimensions (device) measures (v, n) sketches (percentile(v))')
+            """);
+        execute("""
+            insert into metrics (ts, device, v, n) values
+                ('2024-01-01T00:00:10Z', 'a', 1.0, 1),
+                ('2024-01-01T00:00:50Z', 'a', 3.0, null),
+                ('2024-01-01T00:01:00Z', 'a', 2.0, 2),
+                ('2024-01-01T01:30:00Z', 'b', null, 5)
+            """);
+        execute("refresh table metrics");
+        flushRollups();
+    }
+
+    @Test
+    public void test_rollup_tables_are_maintained_on_insert() throws Exception {
+        createAndFillMetrics();
+        execute("""
+            select ts, device, row_count, v_count, v_sum, v_min, v_max, n_count, n_sum
+            from metrics_rollup_minute
+            order by ts, device
+            """);
+        assertThat(response).hasRows(
+            "1704067200000| a| 2| 2| 4.0| 1.0| 3.0| 1| 1",
+            "1704067260000| a| 1| 1| 2.0| 2.0| 2.0| 1| 2",
+            "1704072600000| b| 1| 0| NULL| NULL| NULL| 1| 5"
+        );
+
+        execute("insert into metrics (ts, device, v, n) values ('2024-01-01T00:59:59Z', 'a', 10.0, 1)");
+        flushRollups();
+        execute("select ts, device, row_count, v_sum, v_max, n_sum from metrics_rollup_hour order by ts, device");
+        assertThat(response).hasRows(
+            "1704067200000| a| 4| 16.0| 10.0| 4",
+            "1704070800000| b| 1| NULL| NULL| 5"
+        );
+
+        execute("drop table metrics");
+        execute("select count(*) from information_schema.tables where table_name like 'metrics%'");
+        assertThat(response).hasRows("0");
+    }
+
+    @Test
+    public void test_compatible_aggregations_are_answered_from_rollup() throws Exception {
+        createAndFillMetrics();
+        String stmt = """
+            select date_trunc('hour', ts), device, count(*), count(v), sum(v), avg(v), max(n)
+            from metrics
+            group by 1, 2
+            order by 1, 2
+            """;
+        String[] expectedRows = new String[] {
+            "1704067200000| a| 3| 3| 6.0| 2.0| 2",
+            "1704070800000| b| 1| 0| NULL| NULL| 5"
+        };
+        // The rewrite is opt-in
+        execute("explain (costs false) " + stmt);
+        assertThat(response.rows()[0][0].toString()).doesNotContain("rollup");
+        execute(stmt);
+        assertThat(response).hasRows(expectedRows);
+
+        try (var session = sqlExecutor.newSession()) {
+            execute("set enable_rollup_rewrite = true", session);
+            execute("explain (costs false) " + stmt, session);
+            assertThat(response.rows()[0][0].toString()).contains("metrics_rollup_hour");
+            execute(stmt, session);
+            assertThat(response).hasColumns(
+                "date_trunc('hour', ts)", "device", "count(*)", "count(v)", "sum(v)", "avg(v)", "max(n)");
+            assertThat(response).hasRows(expectedRows);
+
+            // Only the minute rollup is fine-grained enough
+            execute("""
+                select date_trunc('minute', ts) as m, count(*) from metrics
+                where ts >= '2024-01-01T00:01:00Z'
+                group by 1
+                order by 1
+                """, session);
+            assertThat(response).hasRows(
+                "1704067260000| 1",
+                "1704072600000| 1"
+            );
+
+            // Filters on measures or unaligned timestamps can't be answered from a rollup
+            execute("explain (costs false) select device, sum(v) from metrics where v > 1 group by device", session);
+            assertThat(response.rows()[0][0].toString()).doesNotContain("rollup");
+            execute("explain (costs false) select count(*) from metrics where ts >= '2024-01-01T00:00:30Z'", session);
+            assertThat(response.rows()[0][0].toString()).doesNotContain("rollup");
+        }
+    }
+
+    @Test
+    public void test_percentiles_are_answered_from_rollup_sketches() throws Exception {
+        createAndFillMetrics();
+        execute("insert into metrics (ts, device, v) select '2024-01-01T00:02:00Z', 'a', x from generate_series(1, 100) as t(x)");
+        execute("refresh table metrics");
+        flushRollups();
+        String stmt = "select device, percentile(v, 0.9), percentile(v, [0.1, 0.5]) from metrics group by device order by device";
+        try (var session = sqlExecutor.newSession()) {
+            execute("set enable_rollup_rewrite = true", session);
+            execute("explain (costs false) " + stmt, session);
+            assertThat(response.rows()[0][0].toString()).contains("metrics_rollup_hour");
+            execute(stmt, session);
+        }
+        // Percentiles are approximations, the states are merged in a different order than by the query
+        assertThat(response).hasRowCount(2);
+        assertThat(response.rows()[0][0]).isEqualTo("a");
+        assertThat((double) response.rows()[0][1]).isCloseTo(90.0, within(2.0));
+        assertThat((List<?>) response.rows()[0][2]).satisfiesExactly(
+            p10 -> assertThat((double) p10).isCloseTo(10.0, within(2.0)),
+            p50 -> assertThat((double) p50).isCloseTo(49.0, within(2.0)));
+        assertThat(response.rows()[1]).isEqualTo(new Object[] { "b", null, null });
+    }
+
+    @Test
+    public void test_rollups_only_count_created_rows() throws Exception {
+        execute("create table kv (id int primary key, ts timestamp with time zone, v int) with (rollups = 'minute(ts) measures (v)')");
+        execute("insert into kv (id, ts, v) values (1, 0, 10), (2, 0, 20)");
+        execute("insert into kv (id, ts, v) values (2, 0, 30), (3, 0, 40) on conflict (id) do update set v = excluded.v");
+        execute("update kv set v = 50 where id = 1");
+        flushRollups("kv_rollup_minute");
+        // Updates are not reflected in the rollup
+        execute("select row_count, v_count, v_sum from kv_rollup_minute");
+        assertThat(response).hasRows("3| 3| 70");
+    }
+
+    @Test
+    public void test_buckets_which_failed_to_be_written_are_retried_once() throws Exception {
+        execute("create table kv (id int primary key, ts timestamp with time zone, v int) with (rollups = 'minute(ts) measures (v)')");
+        execute("insert into kv (id, ts, v) values (1, 0, 10)");
+        flushRollups("kv_rollup_minute");
+
+        execute("alter table kv_rollup_minute set (\"blocks.write\" = true)");
+        try {
+            execute("insert into kv (id, ts, v) values (2, 0, 20), (3, 60000, 30)");
+            flushRollups("kv_rollup_minute");
+            execute("select ts, row_count, v_sum from kv_rollup_minute order by ts");
+            assertThat(response).hasRows("0| 1| 10");
+        } finally {
+            execute("alter table kv_rollup_minute reset (\"blocks.write\")");
+        }
+        flushRollups("kv_rollup_minute");
+        flushRollups("kv_rollup_minute");
+        execute("select ts, row_count, v_sum from kv_rollup_minute order by ts");
+        assertThat(response).hasRows(
+            "0| 2| 30",
+            "60000| 1| 30"
+        );
+    }
+
+    @Test
+    public void test_rollup_sums_saturate_instead_of_failing_writes() throws Exception {
+        execute("create table big (ts timestamp with time zone, n bigint) with (rollups = 'minute(ts) measures (n)')");
+        execute("insert into big (ts, n) values (0, 9223372036854775807), (0, 1)");
+        flushRollups("big_rollup_minute");
+        execute("insert into big (ts, n) values (0, 10)");
+        flushRollups("big_rollup_minute");
+        execute("select row_count, n_sum from big_rollup_minute");
+        assertThat(response).hasRows("3| 9223372036854775807");
+        execute("select count(*) from big");
+        assertThat(response).hasRows("3");
+    }
+
+    @Test
+    public void test_invalid_rollup_definitions_are_rejected() {
+        assertThatThrownBy(() -> execute("create table t (ts timestamp, x int) with (rollups = 'week(ts)')"))
+            .hasMessageContaining("Invalid rollup interval 'week'");
+        assertThatThrownBy(() -> execute("create table t (ts timestamp, x int) with (rollups = 'minute(x)')"))
+            .hasMessageContaining("Rollup timestamp column 'x' must be a TIMESTAMP column");
+        assertThatThrownBy(() -> execute("create table t (ts timestamp, x int) with (rollups = 'minute(y)')"))
+            .hasMessageContaining("Rollup timestamp column 'y' doesn't exist");
+        assertThatThrownBy(() -> execute("create table t (ts timestamp, x int) with (rollups = 'minute(ts) dimensions (y)')"))
+            .hasMessageContaining("Rollup dimension column 'y' doesn't exist");
+        assertThatThrownBy(() -> execute("create table t (ts timestamp, x text) with (rollups = 'minute(ts) sketches (percentile(x))')"))
+            .hasMessageContaining("Rollup sketch 'percentile(x)' is not supported");
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.integrationtests;
+
+import static io.crate.testing.Asserts.assertThat;
+
+import org.elasticsearch.test.IntegTestCase;
+import org.junit.Test;
+
+import io.crate.testing.UseHashJoins;
+import io.crate.testing.UseRandomizedOptimizerRules;
+
+public class RuntimeJoinFilterIntegrationTest extends IntegTestCase {
+
+    @UseRandomizedOptimizerRules(0)
+    @UseHashJoins(1)
+    @Test
+    public void test_runtime_filter_with_exact_keys() throws Exception {
+        execute("create table doc.t1 (id int) with(number_of_replicas=0)");
+        execute("insert into doc.t1 (id) select b from generate_series(1,10000) a(b)");
+        execute("create table doc.t2 (id int)");
+        execute("insert into doc.t2 (id) select b from generate_series(1,100) a(b)");
+        execute("refresh table doc.t1");
+        execute("refresh table doc.t2");
+        execute("analyze");
+        waitNoPendingTasksOnAll();
+        try (var session = sqlExecutor.newSession()) {
+            execute("SET optimizer_equi_join_to_runtime_filter = true", session);
+            var query = "select t1.id from doc.t1 join doc.t2 on t1.id = t2.id";
+            execute("explain (costs false)" + query, session);
+            assertThat(response).hasLines(
+                "Eval[id]",
+                "  └ HashJoin[(id = id)]",
+                "    ├ MultiPhase",
+                "    │  └ Collect[doc.t1 | [id] | _runtime_filter(id, (doc.t2))]",
+                "    │  └ Collect[doc.t2 | [id] | true]",
+                "    └ Collect[doc.t2 | [id] | true]"
+            );
+            execute(query, session);
+            assertThat(response).hasRowCount(100);
+        }
+    }
+
+    @UseRandomizedOptimizerRules(0)
+    @UseHashJoins(1)
+    @Test
+    public void test_runtime_filter_with_bloom_filter() throws Exception {
+        execute("create table doc.t1 (id bigint, name text) with(number_of_replicas=0)");
+        execute("insert into doc.t1 (id, name) select b, b::TEXT from generate_series(1,20000) a(b)");
+        execute("create table doc.t2 (id bigint, name text)");
+        execute("insert into doc.t2 (id, name) select b * 3, (b * 3)::TEXT from generate_series(1,2000) a(b)");
+        execute("refresh table doc.t1");
+        execute("refresh table doc.t2");
+        execute("analyze");
+        waitNoPendingTasksOnAll();
+        try (var session = sqlExecutor.newSession()) {
+            execute("SET optimizer_equi_join_to_runtime_filter = true", session);
+            execute("select count(*) from doc.t1 join doc.t2 on t1.id = t2.id", session);
+            assertThat(response).hasRows("2000");
+
+            execute("select count(*) from doc.t1 join doc.t2 on t1.name = t2.name", session);
+            assertThat(response).hasRows("2000");
+        }
+    }
+}
@@ -401,6 +401,8 @@ public class ShowIntegrationTest extends IntegTestCase {
             "application_name| PostgreSQL JDBC Driver| Optional application name. Can be set by a client to identify the application which created the connection",
             "datestyle| ISO| Display format for date and time values.",
             "enable_hashjoin| true| Considers using the Hash Join instead of the Nested Loop Join implementation.",
+            "enable_materialized_view_rewrite| false| Answers queries matching the definition of a materialized view from the view.",
+            "enable_rollup_rewrite| false| Answers aggregations compatible with a rollup of a table from the rollup table.",
             "error_on_unknown_object_key| true| Raises or suppresses ObjectKeyUnknownException when querying nonexistent keys to dynamic objects.",
             "max_identifier_length| 255| Shows the maximum length of identifiers in bytes.",
             "max_index_keys| 32| Shows the maximum number of index keys.",
@@ -408,11 +410,15 @@ public class ShowIntegrationTest extends IntegTestCase {
             "optimizer_deduplicate_order| true| Indicates if the optimizer rule DeduplicateOrder is activated.",
             "optimizer_eliminate_cross_join| true| Indicates if the optimizer rule EliminateCrossJoin is activated.",
             "optimizer_equi_join_to_lookup_join| false| Indicates if the optimizer rule EquiJoinToLookupJoin is activated.",
+            "optimizer_equi_join_to_runtime_filter| false| Indicates if the optimizer rule EquiJoinToRuntimeFilter is activated.",
             "optimizer_merge_aggregate_and_collect_to_count| true| Indicates if the optimizer rule MergeAggregateAndCollectToCount is activated.",
+            "optimizer_merge_aggregate_and_foreign_collect| true| Indicates if the optimizer rule MergeAggregateAndForeignCollect is activated.",
             "optimizer_merge_aggregate_rename_and_collect_to_count| true| Indicates if the optimizer rule MergeAggregateRenameAndCollectToCount is activated.",
             "optimizer_merge_filter_and_collect| true| Indicates if the optimizer rule MergeFilterAndCollect is activated.",
             "optimizer_merge_filter_and_foreign_collect| true| Indicates if the optimizer rule MergeFilterAndForeignCollect is activated.",
             "optimizer_merge_filters| true| Indicates if the optimizer rule MergeFilters is activated.",
+            "optimizer_merge_limit_and_foreign_collect| true| Indicates if the optimizer rule MergeLimitAndForeignCollect is activated.",
+            "optimizer_merge_limit_order_and_foreign_collect| true| Indicates if the optimizer rule MergeLimitOrderAndForeignCollect is activated.",
             "optimizer_move_constant_join_conditions_beneath_join| true| Indicates if the optimizer rule MoveConstantJoinConditionsBeneathJoin is activated.",
             "optimizer_move_filter_beneath_correlated_join| true| Indicates if the optimizer rule MoveFilterBeneathCorrelatedJoin is activated.",
             "optimizer_move_filter_beneath_eval| true| Indicates if the optimizer rule MoveFilterBeneathEval is activated.",
@@ -436,6 +442,8 @@ public class ShowIntegrationTest extends IntegTestCase {
             "optimizer_rewrite_filter_on_outer_join_to_inner_join| true| Indicates if the optimizer rule RewriteFilterOnOuterJoinToInnerJoin is activated.",
             "optimizer_rewrite_group_by_keys_limit_to_limit_distinct| true| Indicates if the optimizer rule RewriteGroupByKeysLimitToLimitDistinct is activated.",
             "optimizer_rewrite_to_query_then_fetch| true| Indicates if the optimizer rule RewriteToQueryThenFetch is activated.",
+            "resource_group| default| Resource group used for admission control of the statements of the session",
+            "scale_sampled_aggregates| false| Scales count and sum aggregations on a TABLESAMPLE by the sampling fraction.",
             "search_path| doc| Sets the schema search order.",
             "server_version| 14.0| Reports the emulated PostgreSQL version number",
             "server_version_num| 140000| Reports the emulated PostgreSQL version number",
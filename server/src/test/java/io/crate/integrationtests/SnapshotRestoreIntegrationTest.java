@@ -48,6 +48,7 @@ import org.elasticsearch.action.admin.cluster.state.ClusterStateRequest;
 import org.elasticsearch.action.admin.cluster.state.ClusterStateResponse;
 import org.elasticsearch.cluster.SnapshotsInProgress;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.store.SnapshotBlockCache;
 import org.elasticsearch.plugins.Plugin;
 import org.elasticsearch.repositories.ESBlobStoreTestCase;
 import org.elasticsearch.repositories.RepositoriesService;
@@ -94,6 +95,7 @@ public class SnapshotRestoreIntegrationTest extends IntegTestCase {
     protected Settings nodeSettings(int nodeOrdinal) {
         return Settings.builder().put(super.nodeSettings(nodeOrdinal))
             .put("path.repo", TEMPORARY_FOLDER.getRoot().getAbsolutePath())
+            .put(SnapshotBlockCache.BLOCK_SIZE_SETTING.getKey(), "4kb")
             .build();
     }
 
@@ -404,6 +406,77 @@ public class SnapshotRestoreIntegrationTest extends IntegTestCase {
         assertThat(response.rowCount()).isEqualTo(3L);
     }
 
+    @Test
+    public void test_restore_with_mount_reads_table_from_repository() throws Exception {
+        // chunk size which isn't aligned with the block size of the cache
+        execute("CREATE REPOSITORY chunked_repo TYPE \"fs\" with (location=?, chunk_size='3kb')",
+            new Object[]{TEMPORARY_FOLDER.newFolder().getAbsolutePath()});
+        createTable("my_table", false);
+        execute("INSERT INTO my_table (id, name) (SELECT g, 'name-' || g FROM generate_series(4, 2000) AS t(g))");
+        execute("OPTIMIZE TABLE my_table WITH (max_num_segments = 1)");
+        execute("CREATE SNAPSHOT chunked_repo.s1 TABLE my_table WITH (wait_for_completion=true)");
+        execute("drop table my_table");
+
+        execute("RESTORE SNAPSHOT chunked_repo.s1 TABLE my_table with (mount=true, wait_for_completion=true)");
+        ensureGreen();
+
+        execute("select settings['store']['type'], number_of_replicas from information_schema.tables where table_name = 'my_table'");
+        assertThat(response).hasRows("snapshot| 0");
+
+        execute("select count(*), sum(id), max(name) from my_table");
+        assertThat(response).hasRows("2000| 2001000| name-999");
+        execute("select id from my_table where match(ft, 'gold') order by id");
+        assertThat(response).hasRows("2", "3");
+        execute("select name from my_table where id = 1500");
+        assertThat(response).hasRows("name-1500");
+
+        execute("select snapshot_cache['repository'], snapshot_cache['snapshot'], snapshot_cache['misses'] > 0," +
+                " snapshot_cache['bytes_read'] > 0 from sys.shards where table_name = 'my_table'");
+        assertThat(response).hasRows("chunked_repo| s1| true| true");
+
+        Asserts.assertSQLError(() -> execute("INSERT INTO my_table (id, name) VALUES (1, 'foo')"))
+            .hasMessageContaining("doesn't allow INSERT operations, because it is mounted from a snapshot.");
+    }
+
+    @Test
+    public void test_snapshot_and_repository_of_mounted_table_cannot_be_dropped() throws Exception {
+        createTableAndSnapshot("my_table", SNAPSHOT_NAME);
+        execute("drop table my_table");
+        execute("RESTORE SNAPSHOT " + snapshotName() + " TABLE my_table with (mount=true, wait_for_completion=true)");
+        ensureGreen();
+
+        Asserts.assertSQLError(() -> execute("DROP SNAPSHOT " + snapshotName()))
+            .hasMessageContaining("cannot delete snapshot while it is used by the mounted indices [my_table]");
+        Asserts.assertSQLError(() -> execute("DROP REPOSITORY " + REPOSITORY_NAME))
+            .hasMessageContaining("that is used by the mounted indices [my_table]");
+
+        execute("drop table my_table");
+        execute("DROP SNAPSHOT " + snapshotName());
+    }
+
+    @Test
+    public void test_snapshot_and_restore_large_files_in_parts() throws Exception {
+        String chunkSize = randomBoolean() ? "" : ", chunk_size='5kb'";
+        execute("CREATE REPOSITORY parts_repo TYPE \"fs\" with (location=?, part_size='1kb', " +
+                "max_concurrent_transfers_per_shard=3" + chunkSize + ")",
+            new Object[]{TEMPORARY_FOLDER.newFolder().getAbsolutePath()});
+        createTable("my_table", false);
+        execute("INSERT INTO my_table (id, name) (SELECT g, 'name-' || g FROM generate_series(4, 2000) AS t(g))");
+        execute("OPTIMIZE TABLE my_table WITH (max_num_segments = 1)");
+        execute("CREATE SNAPSHOT parts_repo.s1 TABLE my_table WITH (wait_for_completion=true)");
+        execute("select state from sys.snapshots where name = 's1'");
+        assertThat(response).hasRows("SUCCESS");
+        execute("drop table my_table");
+
+        execute("RESTORE SNAPSHOT parts_repo.s1 TABLE my_table with (wait_for_completion=true)");
+        ensureGreen();
+
+        execute("select count(*), sum(id), max(name) from my_table");
+        assertThat(response).hasRows("2000| 2001000| name-999");
+        execute("select id from my_table where match(ft, 'gold') order by id");
+        assertThat(response).hasRows("2", "3");
+    }
+
     @Test
     public void testRestoreSnapshotSinglePartition() throws Exception {
         createTableAndSnapshot("my_parted_table", SNAPSHOT_NAME, true);
@@ -68,6 +68,19 @@ public class SysClusterSettingsTest extends IntegTestCase {
         execute("reset global stats, bulk, indices, cluster");
     }
 
+    @Test
+    public void test_resource_group_settings_are_exposed_in_sys_resource_groups() throws Exception {
+        execute("set global transient \"resource_groups.etl.max_concurrency\" = 2");
+        execute("select name, max_concurrency, max_queued, running, queued from sys.resource_groups " +
+                "where name = 'etl'");
+        assertThat(response.rowCount()).isEqualTo((long) cluster().size());
+        assertThat(response.rows()[0]).containsExactly("etl", 2, 100, 0, 0);
+
+        execute("reset global \"resource_groups.etl.max_concurrency\"");
+        execute("select distinct max_concurrency from sys.resource_groups where name = 'etl'");
+        assertThat(response.rows()[0][0]).isEqualTo(0);
+    }
+
     @Test
     public void testSetResetGlobalSetting() throws Exception {
         execute("set global persistent stats.enabled = false");
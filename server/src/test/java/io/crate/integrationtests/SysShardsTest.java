@@ -164,7 +164,7 @@ public class SysShardsTest extends IntegTestCase {
     public void testSelectStarAllTables() throws Exception {
         SQLResponse response = execute("select * from sys.shards");
         assertThat(response.rowCount()).isEqualTo(26L);
-        assertThat(response.cols().length).isEqualTo(21);
+        assertThat(response.cols().length).isEqualTo(22);
         assertThat(response.cols()).containsExactly(
             "blob_path",
             "closed",
@@ -184,6 +184,7 @@ public class SysShardsTest extends IntegTestCase {
             "schema_name",
             "seq_no_stats",
             "size",
+            "snapshot_cache",
             "state",
             "table_name",
             "translog_stats");
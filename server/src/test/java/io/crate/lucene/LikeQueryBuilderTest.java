@@ -23,15 +23,18 @@ package io.crate.lucene;
 
 import static io.crate.expression.operator.LikeOperators.convertSqlLikeToLuceneWildcard;
 import static io.crate.testing.Asserts.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.apache.lucene.search.BooleanClause;
 import org.apache.lucene.search.BooleanQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.TermQuery;
 import org.apache.lucene.search.WildcardQuery;
+import org.elasticsearch.Version;
 import org.junit.Test;
 
 import io.crate.lucene.match.CrateRegexQuery;
+import io.crate.testing.QueryTester;
 
 public class LikeQueryBuilderTest extends LuceneQueryBuilderTest {
 
@@ -110,6 +113,9 @@ public class LikeQueryBuilderTest extends LuceneQueryBuilderTest {
         assertThat(convertSqlLikeToLuceneWildcard("_me")).isEqualTo("?me");
         assertThat(convertSqlLikeToLuceneWildcard("\\_me")).isEqualTo("_me");
         assertThat(convertSqlLikeToLuceneWildcard("?me")).isEqualTo("\\?me");
+        assertThatThrownBy(() -> convertSqlLikeToLuceneWildcard("me\\"))
+            .isExactlyInstanceOf(IllegalArgumentException.class)
+            .hasMessage("LIKE pattern must not end with escape character");
     }
 
     @Test
@@ -159,4 +165,106 @@ public class LikeQueryBuilderTest extends LuceneQueryBuilderTest {
         assertThat(query).hasToString("name:");
         assertThat(query).isExactlyInstanceOf(TermQuery.class);
     }
+
+    @Test
+    public void test_like_on_column_with_trigram_index_filters_by_trigrams() throws Exception {
+        QueryTester.Builder builder = new QueryTester.Builder(
+            THREAD_POOL,
+            clusterService,
+            Version.CURRENT,
+            "create table tbl (name text, index name_trgm using trigram (name))"
+        );
+        builder.indexValues("name", "Arthur Dent", "Ford Prefect", "Trillian", "arthurian", null);
+        try (QueryTester tester = builder.build()) {
+            Query query = tester.toQuery("name like '%rthur%'");
+            assertThat(query).hasToString(
+                "#name_trgm:rth #name_trgm:thu #name_trgm:hur #(name LIKE '%rthur%')");
+
+            assertThat(tester.runQuery("name", "name like '%rthur%'")).containsExactlyInAnyOrder(
+                "Arthur Dent", "arthurian");
+            assertThat(tester.runQuery("name", "name like '%Arthur%'")).containsExactly("Arthur Dent");
+            assertThat(tester.runQuery("name", "name ilike '%ARTHUR%'")).containsExactlyInAnyOrder(
+                "Arthur Dent", "arthurian");
+            assertThat(tester.runQuery("name", "name like '%r_d P%'")).isEmpty();
+            assertThat(tester.runQuery("name", "name like '%d P%'")).containsExactly("Ford Prefect");
+
+            // too short for trigrams, uses the regular index of the column
+            assertThat(tester.toQuery("name like '%ll%'")).isExactlyInstanceOf(WildcardQuery.class);
+            assertThat(tester.runQuery("name", "name like '%ll%'")).containsExactly("Trillian");
+
+            // exact and prefix patterns use the regular index of the column
+            assertThat(tester.toQuery("name like 'Ford%'")).hasToString("name:Ford*");
+            assertThat(tester.runQuery("name", "name like 'Ford%'")).containsExactly("Ford Prefect");
+            assertThat(tester.toQuery("name like 'Trillian'")).hasToString("name:Trillian");
+            assertThat(tester.runQuery("name", "name like 'Trillian'")).containsExactly("Trillian");
+            assertThat(tester.toQuery("name like 'Arthur\\%%'")).hasToString("name:Arthur%*");
+            assertThat(tester.toQuery("name ilike 'Ford%'")).hasToString(
+                "#name_trgm:for #name_trgm:ord #(name ILIKE 'Ford%')");
+            assertThat(tester.runQuery("name", "name ilike 'ford%'")).containsExactly("Ford Prefect");
+        }
+    }
+
+    @Test
+    public void test_like_any_on_column_with_trigram_index_filters_by_trigrams() throws Exception {
+        QueryTester.Builder builder = new QueryTester.Builder(
+            THREAD_POOL,
+            clusterService,
+            Version.CURRENT,
+            "create table tbl (name text, index name_trgm using trigram (name))"
+        );
+        builder.indexValues("name", "Arthur Dent", "Ford Prefect", "Trillian", "arthurian", null);
+        try (QueryTester tester = builder.build()) {
+            Query query = tester.toQuery("name like any (['%rthur%', 'Ford%'])");
+            assertThat(query).isExactlyInstanceOf(BooleanQuery.class);
+            BooleanQuery booleanQuery = (BooleanQuery) query;
+            assertThat(booleanQuery.clauses()).hasSize(2);
+            assertThat(booleanQuery.clauses().get(0).getQuery()).isExactlyInstanceOf(BooleanQuery.class);
+            assertThat(booleanQuery.clauses().get(1).getQuery()).hasToString("name:Ford*");
+
+            assertThat(tester.runQuery("name", "name like any (['%rthur%', 'Ford%'])")).containsExactlyInAnyOrder(
+                "Arthur Dent", "Ford Prefect", "arthurian");
+            assertThat(tester.runQuery("name", "name ilike any (['%ARTHUR D%', '%lian'])")).containsExactlyInAnyOrder(
+                "Arthur Dent", "Trillian");
+        }
+    }
+
+    @Test
+    public void test_like_pattern_ending_with_escape_character_is_rejected() throws Exception {
+        QueryTester.Builder builder = new QueryTester.Builder(
+            THREAD_POOL,
+            clusterService,
+            Version.CURRENT,
+            "create table tbl (name text, index name_trgm using trigram (name))"
+        );
+        try (QueryTester tester = builder.build()) {
+            assertThatThrownBy(() -> tester.toQuery("name like 'Ford\\'"))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("LIKE pattern must not end with escape character");
+            assertThatThrownBy(() -> tester.toQuery("name like '%Prefect\\'"))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessage("LIKE pattern must not end with escape character");
+        }
+    }
+
+    @Test
+    public void test_like_on_trigram_indexed_column_verifies_pattern_per_document() throws Exception {
+        QueryTester.Builder builder = new QueryTester.Builder(
+            THREAD_POOL,
+            clusterService,
+            Version.CURRENT,
+            "create table tbl (name text index using trigram)"
+        );
+        builder.indexValues("name", "Arthur Dent", "Ford Prefect", "");
+        try (QueryTester tester = builder.build()) {
+            assertThat(tester.toQuery("name like 'Ford%'")).hasToString(
+                "#name:for #name:ord #(name LIKE 'Ford%')");
+            assertThat(tester.runQuery("name", "name like 'Ford%'")).containsExactly("Ford Prefect");
+            assertThat(tester.runQuery("name", "name like 'Dent%'")).isEmpty();
+
+            assertThat(tester.toQuery("name like '%t'")).isExactlyInstanceOf(GenericFunctionQuery.class);
+            assertThat(tester.runQuery("name", "name like '%t'")).containsExactlyInAnyOrder(
+                "Arthur Dent", "Ford Prefect");
+            assertThat(tester.runQuery("name", "name like ''")).containsExactly("");
+        }
+    }
 }
@@ -0,0 +1,152 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+
+package io.crate.lucene;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.elasticsearch.common.lucene.index.ElasticsearchDirectoryReader;
+import org.elasticsearch.index.Index;
+import org.elasticsearch.index.shard.ShardId;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.crate.lucene.SampleQuery.Method;
+
+public class SampleQueryTest {
+
+    private static final int NUM_SEGMENTS = 10;
+    private static final int DOCS_PER_SEGMENT = 1000;
+
+    private DirectoryReader reader;
+    private IndexSearcher searcher;
+
+    @Before
+    public void createSegments() throws Exception {
+        IndexWriterConfig config = new IndexWriterConfig(new StandardAnalyzer())
+            .setMergePolicy(NoMergePolicy.INSTANCE);
+        IndexWriter writer = new IndexWriter(new ByteBuffersDirectory(), config);
+        for (int segment = 0; segment < NUM_SEGMENTS; segment++) {
+            for (int i = 0; i < DOCS_PER_SEGMENT; i++) {
+                Document doc = new Document();
+                doc.add(new StringField("id", segment + "-" + i, Store.NO));
+                doc.add(new StringField("parity", i % 2 == 0 ? "even" : "odd", Store.NO));
+                writer.addDocument(doc);
+            }
+            writer.commit();
+        }
+        reader = DirectoryReader.open(writer);
+        writer.close();
+        assertThat(reader.leaves()).hasSize(NUM_SEGMENTS);
+        searcher = new IndexSearcher(reader);
+    }
+
+    @After
+    public void closeReader() throws Exception {
+        reader.close();
+    }
+
+    @Test
+    public void test_bernoulli_sample_matches_about_the_given_fraction_of_documents() throws Exception {
+        int count = searcher.count(new SampleQuery(Method.BERNOULLI, 0.1, 42L));
+        // expected 1000 with a standard deviation of 30
+        assertThat(count).isBetween(800, 1200);
+        assertThat(searcher.count(new SampleQuery(Method.BERNOULLI, 0.1, 42L))).isEqualTo(count);
+    }
+
+    @Test
+    public void test_bernoulli_sample_is_stable_within_a_conjunction() throws Exception {
+        int numDocs = NUM_SEGMENTS * DOCS_PER_SEGMENT;
+        SampleQuery sample = new SampleQuery(Method.BERNOULLI, 0.3, 42L);
+        Query conjunction = new BooleanQuery.Builder()
+            .add(new TermQuery(new Term("parity", "even")), Occur.FILTER)
+            .add(sample, Occur.FILTER)
+            .build();
+        List<Integer> evenSampledDocs = Arrays.stream(searcher.search(sample, numDocs).scoreDocs)
+            .map(x -> x.doc)
+            .filter(doc -> doc % 2 == 0)
+            .sorted()
+            .toList();
+        List<Integer> conjunctionDocs = Arrays.stream(searcher.search(conjunction, numDocs).scoreDocs)
+            .map(x -> x.doc)
+            .sorted()
+            .toList();
+        assertThat(conjunctionDocs).isNotEmpty();
+        assertThat(conjunctionDocs).isEqualTo(evenSampledDocs);
+    }
+
+    @Test
+    public void test_system_sample_matches_whole_segments() throws Exception {
+        int count = searcher.count(new SampleQuery(Method.SYSTEM, 0.5, 42L));
+        assertThat(count % DOCS_PER_SEGMENT).isEqualTo(0);
+        assertThat(searcher.count(new SampleQuery(Method.SYSTEM, 0.5, 42L))).isEqualTo(count);
+    }
+
+    @Test
+    public void test_shards_with_the_same_segments_are_sampled_differently() throws Exception {
+        Index index = new Index("t", "uuid");
+        DirectoryReader shard0 = ElasticsearchDirectoryReader.wrap(reader, new ShardId(index, 0));
+        DirectoryReader shard1 = ElasticsearchDirectoryReader.wrap(reader, new ShardId(index, 1));
+        SampleQuery query = new SampleQuery(Method.BERNOULLI, 0.1, 42L);
+        TopDocs docs0 = new IndexSearcher(shard0).search(query, NUM_SEGMENTS * DOCS_PER_SEGMENT);
+        TopDocs docs1 = new IndexSearcher(shard1).search(query, NUM_SEGMENTS * DOCS_PER_SEGMENT);
+        assertThat(docs0.scoreDocs).extracting(x -> x.doc)
+            .isNotEqualTo(Arrays.stream(docs1.scoreDocs).map(x -> x.doc).toList());
+        assertThat(new IndexSearcher(shard0).count(query)).isEqualTo(docs0.scoreDocs.length);
+    }
+
+    @Test
+    public void test_sample_with_probability_zero_or_one() throws Exception {
+        for (Method method : Method.values()) {
+            assertThat(searcher.count(new SampleQuery(method, 0.0, 1L))).isEqualTo(0);
+            assertThat(searcher.count(new SampleQuery(method, 1.0, 1L))).isEqualTo(NUM_SEGMENTS * DOCS_PER_SEGMENT);
+        }
+    }
+
+    @Test
+    public void test_probability_must_be_between_zero_and_one() throws Exception {
+        assertThatThrownBy(() -> new SampleQuery(Method.BERNOULLI, 1.5, 1L))
+            .isExactlyInstanceOf(IllegalArgumentException.class)
+            .hasMessage("probability must be between 0 and 1, got: 1.5");
+    }
+}
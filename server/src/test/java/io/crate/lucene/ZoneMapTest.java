@@ -0,0 +1,148 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.lucene;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldExistsQuery;
+import org.apache.lucene.search.IndexOrDocValuesQuery;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.elasticsearch.common.lucene.search.Queries;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ZoneMapTest {
+
+    private DirectoryReader reader;
+
+    @Before
+    public void createSegments() throws Exception {
+        IndexWriterConfig config = new IndexWriterConfig(new StandardAnalyzer())
+            .setMergePolicy(NoMergePolicy.INSTANCE);
+        IndexWriter writer = new IndexWriter(new ByteBuffersDirectory(), config);
+        // segment 0: x in [0, 9], segment 1: x in [100, 109], segment 2: x is null
+        for (long start : new long[] { 0, 100 }) {
+            for (long x = start; x < start + 10; x++) {
+                Document doc = new Document();
+                doc.add(new LongPoint("x", x));
+                doc.add(new SortedNumericDocValuesField("x", x));
+                writer.addDocument(doc);
+            }
+            writer.commit();
+        }
+        Document doc = new Document();
+        doc.add(new StringField("name", "foo", Store.NO));
+        writer.addDocument(doc);
+        writer.commit();
+        reader = DirectoryReader.open(writer);
+        writer.close();
+        assertThat(reader.leaves()).hasSize(3);
+    }
+
+    @After
+    public void closeReader() throws Exception {
+        reader.close();
+    }
+
+    private List<Boolean> canMatch(Query query) throws Exception {
+        ZoneMap zoneMap = ZoneMap.of(query);
+        return reader.leaves().stream()
+            .map(LeafReaderContext::reader)
+            .map(leafReader -> {
+                try {
+                    return zoneMap.canMatch(leafReader);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            })
+            .toList();
+    }
+
+    @Test
+    public void test_segments_outside_of_range_cannot_match() throws Exception {
+        assertThat(canMatch(LongPoint.newRangeQuery("x", 5, 20))).containsExactly(true, false, false);
+        assertThat(canMatch(LongPoint.newRangeQuery("x", 10, 99))).containsExactly(false, false, false);
+        assertThat(canMatch(LongPoint.newRangeQuery("x", 9, 100))).containsExactly(true, true, false);
+        assertThat(canMatch(LongPoint.newExactQuery("x", 105))).containsExactly(false, true, false);
+        assertThat(canMatch(LongPoint.newSetQuery("x", 1, 2, 3))).containsExactly(true, false, false);
+        assertThat(canMatch(LongPoint.newSetQuery("x"))).containsExactly(false, false, false);
+    }
+
+    @Test
+    public void test_only_required_clauses_are_used() throws Exception {
+        Query range = new IndexOrDocValuesQuery(
+            LongPoint.newRangeQuery("x", 100, 200),
+            SortedNumericDocValuesField.newSlowRangeQuery("x", 100, 200)
+        );
+        Query conjunction = new BooleanQuery.Builder()
+            .add(range, Occur.FILTER)
+            .add(new TermQuery(new Term("name", "foo")), Occur.MUST)
+            .build();
+        assertThat(canMatch(conjunction)).containsExactly(false, true, false);
+
+        Query disjunction = new BooleanQuery.Builder()
+            .add(range, Occur.SHOULD)
+            .add(new TermQuery(new Term("name", "foo")), Occur.SHOULD)
+            .build();
+        assertThat(canMatch(disjunction)).containsExactly(true, true, true);
+
+        Query negation = Queries.not(range);
+        assertThat(canMatch(negation)).containsExactly(true, true, true);
+
+        assertThat(canMatch(new MatchAllDocsQuery())).containsExactly(true, true, true);
+        assertThat(canMatch(new MatchNoDocsQuery())).containsExactly(false, false, false);
+    }
+
+    @Test
+    public void test_segments_where_all_documents_have_a_value_cannot_match_is_null() throws Exception {
+        Query isNull = Queries.not(new FieldExistsQuery("x"));
+        assertThat(canMatch(isNull)).containsExactly(false, false, true);
+    }
+
+    @Test
+    public void test_reader_can_match_if_any_segment_can_match() throws Exception {
+        assertThat(ZoneMap.of(LongPoint.newRangeQuery("x", 105, 200)).canMatch(reader)).isTrue();
+        assertThat(ZoneMap.of(LongPoint.newRangeQuery("x", 200, 300)).canMatch(reader)).isFalse();
+        assertThat(ZoneMap.of(new MatchAllDocsQuery()).canMatch(reader)).isTrue();
+    }
+}
@@ -23,15 +23,19 @@ package io.crate.memory;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 import org.junit.Test;
 
 import io.netty.buffer.ByteBuf;
 
 public class OffHeapMemoryManagerTest {
 
+    private final OffHeapMemoryPool pool = new OffHeapMemoryPool();
+
     @Test
     public void test_allocated_buffers_are_released_on_close() {
-        var memoryManager = new OffHeapMemoryManager();
+        var memoryManager = new OffHeapMemoryManager(pool, bytes -> {});
         ByteBuf buf1 = memoryManager.allocate(20);
         buf1.retain();
         memoryManager.close();
@@ -39,4 +43,38 @@ public class OffHeapMemoryManagerTest {
             .as("ref count must reach 0 now")
             .isTrue();
     }
+
+    @Test
+    public void test_small_buffers_share_pages_and_pages_are_accounted() {
+        AtomicLong accountedBytes = new AtomicLong();
+        var memoryManager = new OffHeapMemoryManager(pool, accountedBytes::addAndGet);
+        int bufferSize = OffHeapMemoryManager.PAGE_SIZE / 4;
+        for (int i = 0; i < 5; i++) {
+            ByteBuf buffer = memoryManager.allocate(bufferSize);
+            assertThat(buffer.capacity()).isEqualTo(bufferSize);
+            assertThat(buffer.writerIndex()).isZero();
+        }
+        assertThat(accountedBytes.get()).isEqualTo(2L * OffHeapMemoryManager.PAGE_SIZE);
+        assertThat(pool.stats().usedBytes()).isEqualTo(2L * OffHeapMemoryManager.PAGE_SIZE);
+
+        memoryManager.allocate(OffHeapMemoryManager.PAGE_SIZE + 1);
+        assertThat(accountedBytes.get()).isEqualTo(3L * OffHeapMemoryManager.PAGE_SIZE + 1);
+
+        memoryManager.close();
+        assertThat(pool.stats().usedBytes()).isZero();
+        assertThat(pool.stats().pooledBytes()).isGreaterThan(0L);
+    }
+
+    @Test
+    public void test_re_used_memory_is_zeroed() {
+        var memoryManager = new OffHeapMemoryManager(pool, bytes -> {});
+        ByteBuf buffer = memoryManager.allocate(64);
+        buffer.writeLong(Long.MAX_VALUE);
+        memoryManager.close();
+
+        memoryManager = new OffHeapMemoryManager(pool, bytes -> {});
+        buffer = memoryManager.allocate(64);
+        assertThat(buffer.getLong(0)).isZero();
+        memoryManager.close();
+    }
 }
@@ -0,0 +1,147 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.metadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.cluster.ClusterChangedEvent;
+import org.elasticsearch.cluster.ClusterName;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.crate.metadata.doc.DocTableInfo;
+import io.crate.test.integration.CrateDummyClusterServiceUnitTest;
+import io.crate.testing.SQLExecutor;
+
+public class PartitionIndexTest extends CrateDummyClusterServiceUnitTest {
+
+    private static final RelationName PARTED = new RelationName("doc", "parted");
+
+    private SQLExecutor e;
+    private DocTableInfo table;
+
+    @Before
+    public void prepare() throws IOException {
+        List<String> partitions = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            partitions.add(new PartitionName(PARTED, List.of(Integer.toString(i))).asIndexName());
+        }
+        partitions.add(new PartitionName(PARTED, singletonNull()).asIndexName());
+        e = SQLExecutor.of(clusterService)
+            .addPartitionedTable("create table doc.parted (x int, p int) partitioned by (p)", partitions.toArray(new String[0]));
+        table = e.resolveTableInfo("doc.parted");
+    }
+
+    private static List<String> singletonNull() {
+        List<String> values = new ArrayList<>();
+        values.add(null);
+        return values;
+    }
+
+    @Nullable
+    private List<String> lookup(String expression) {
+        PartitionIndex partitionIndex = e.nodeCtx.schemas().partitionIndex(PARTED, clusterService.state().metadata());
+        assertThat(partitionIndex).isNotNull();
+        List<PartitionName> partitions = partitionIndex.lookup(e.asSymbol(expression), table.partitionedByColumns());
+        if (partitions == null) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(partitions.size());
+        for (PartitionName partitionName : partitions) {
+            values.add(partitionName.values().get(0));
+        }
+        return values;
+    }
+
+    @Test
+    public void test_lookup_partitions_by_comparisons_with_literals() {
+        assertThat(lookup("p = 3")).containsExactly("3");
+        assertThat(lookup("p = 7")).isEmpty();
+        assertThat(lookup("p > 3")).containsExactlyInAnyOrder("4", "5");
+        assertThat(lookup("p <= 2")).containsExactlyInAnyOrder("1", "2");
+        assertThat(lookup("2 >= p")).containsExactlyInAnyOrder("1", "2");
+        assertThat(lookup("p >= 3 and p < 5")).containsExactlyInAnyOrder("3", "4");
+        assertThat(lookup("p = any([1, 5, 7])")).containsExactlyInAnyOrder("1", "5");
+        assertThat(lookup("p = 2 or p = 4")).containsExactlyInAnyOrder("2", "4");
+        assertThat(lookup("p = 3 and x = 1")).containsExactly("3");
+    }
+
+    @Test
+    public void test_lookup_returns_null_if_partitions_cannot_be_narrowed_down() {
+        assertThat(lookup("x = 1")).isNull();
+        assertThat(lookup("p = 2 or x = 1")).isNull();
+        assertThat(lookup("p is null")).isNull();
+        assertThat(lookup("not p = 1")).isNull();
+    }
+
+    @Test
+    public void test_partition_indexes_are_updated_with_created_and_deleted_partitions() {
+        PartitionIndexes partitionIndexes = new PartitionIndexes();
+        String p1 = new PartitionName(PARTED, List.of("1")).asIndexName();
+        String p2 = new PartitionName(PARTED, List.of("2")).asIndexName();
+        String p3 = new PartitionName(PARTED, List.of("3")).asIndexName();
+
+        ClusterState initial = ClusterState.builder(ClusterName.DEFAULT).build();
+        ClusterState state1 = stateWithIndices(p1, p2);
+        partitionIndexes.update(new ClusterChangedEvent("test", state1, initial));
+        assertThat(partitionIndexes.get(PARTED, state1.metadata()).partitions())
+            .extracting(PartitionName::asIndexName)
+            .containsExactlyInAnyOrder(p1, p2);
+
+        ClusterState state2 = stateWithIndices(p2, p3);
+        assertThat(partitionIndexes.get(PARTED, state2.metadata()))
+            .as("index of an outdated metadata must not be used")
+            .isNull();
+        partitionIndexes.update(new ClusterChangedEvent("test", state2, state1));
+        assertThat(partitionIndexes.get(PARTED, state2.metadata()).partitions())
+            .extracting(PartitionName::asIndexName)
+            .containsExactlyInAnyOrder(p2, p3);
+
+        ClusterState state3 = stateWithIndices();
+        partitionIndexes.update(new ClusterChangedEvent("test", state3, state2));
+        assertThat(partitionIndexes.get(PARTED, state3.metadata()).partitions()).isEmpty();
+    }
+
+    private static ClusterState stateWithIndices(String... indices) {
+        Metadata.Builder metadata = Metadata.builder();
+        for (String index : indices) {
+            metadata.put(
+                IndexMetadata.builder(index)
+                    .settings(settings(Version.CURRENT))
+                    .numberOfShards(1)
+                    .numberOfReplicas(0)
+                    .build(),
+                false
+            );
+        }
+        return ClusterState.builder(ClusterName.DEFAULT).metadata(metadata).build();
+    }
+}
@@ -23,16 +23,29 @@ package io.crate.metadata;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import org.elasticsearch.Version;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.Metadata;
 import org.elasticsearch.cluster.node.DiscoveryNode;
 import org.elasticsearch.cluster.node.DiscoveryNodeRole;
 import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.elasticsearch.cluster.routing.IndexRoutingTable;
+import org.elasticsearch.cluster.routing.RoutingTable;
+import org.elasticsearch.cluster.routing.ShardRoutingState;
+import org.elasticsearch.cluster.routing.TestShardRouting;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.shard.ShardId;
 import org.junit.Test;
 
+import io.crate.execution.support.NodeResponseStats;
+import io.crate.metadata.RoutingProvider.ShardSelection;
 import io.crate.test.integration.CrateDummyClusterServiceUnitTest;
 
 public class RoutingProviderTest extends CrateDummyClusterServiceUnitTest {
@@ -57,4 +70,104 @@ public class RoutingProviderTest extends CrateDummyClusterServiceUnitTest {
             node2.getId()
         );
     }
+
+    private ClusterState stateWithCopiesOnTwoNodes(int numShards) {
+        IndexMetadata indexMetadata = IndexMetadata.builder("t")
+            .settings(settings(Version.CURRENT))
+            .numberOfShards(numShards)
+            .numberOfReplicas(1)
+            .build();
+        IndexRoutingTable.Builder indexRouting = IndexRoutingTable.builder(indexMetadata.getIndex());
+        for (int i = 0; i < numShards; i++) {
+            ShardId shardId = new ShardId(indexMetadata.getIndex(), i);
+            indexRouting.addShard(TestShardRouting.newShardRouting(shardId, "n1", true, ShardRoutingState.STARTED));
+            indexRouting.addShard(TestShardRouting.newShardRouting(shardId, "n2", false, ShardRoutingState.STARTED));
+        }
+        return ClusterState.builder(clusterService.state())
+            .metadata(Metadata.builder().put(indexMetadata, false))
+            .routingTable(RoutingTable.builder().add(indexRouting).build())
+            .build();
+    }
+
+    @Test
+    public void test_ranked_routing_prefers_copy_on_node_with_lowest_rank() {
+        ClusterState state = stateWithCopiesOnTwoNodes(1);
+        NodeResponseStats nodeResponseStats = new NodeResponseStats(clusterService);
+        long ms = TimeUnit.MILLISECONDS.toNanos(1);
+        nodeResponseStats.onRequestSent("n1");
+        nodeResponseStats.onResponse("n1", 200 * ms, 20, 10 * ms);
+        nodeResponseStats.onRequestSent("n2");
+        nodeResponseStats.onResponse("n2", 2 * ms, 0, ms);
+
+        // Each routing moves the stats of n1 towards n2, keep the number of iterations low
+        for (int seed = 0; seed < 4; seed++) {
+            RoutingProvider routingProvider = new RoutingProvider(seed, List.of(), nodeResponseStats);
+            Routing routing = routingProvider.forIndices(state, new String[] { "t" }, Set.of(), false, ShardSelection.ANY);
+            assertThat(routing.nodes()).containsExactly("n2");
+            assertThat(routingProvider.forId(state, "t", "1", null).currentNodeId()).isEqualTo("n2");
+        }
+    }
+
+    @Test
+    public void test_ranked_routing_spreads_shards_across_nodes_with_same_rank() {
+        ClusterState state = stateWithCopiesOnTwoNodes(2);
+        NodeResponseStats nodeResponseStats = new NodeResponseStats(clusterService);
+        long ms = TimeUnit.MILLISECONDS.toNanos(1);
+        for (String nodeId : List.of("n1", "n2")) {
+            nodeResponseStats.onRequestSent(nodeId);
+            nodeResponseStats.onResponse(nodeId, 2 * ms, 0, ms);
+        }
+
+        RoutingProvider routingProvider = new RoutingProvider(randomInt(), List.of(), nodeResponseStats);
+        Routing routing = routingProvider.forIndices(state, new String[] { "t" }, Set.of(), false, ShardSelection.ANY);
+        assertThat(routing.numShards("n1")).isEqualTo(1);
+        assertThat(routing.numShards("n2")).isEqualTo(1);
+    }
+
+    @Test
+    public void test_adaptive_replica_selection_can_be_disabled() {
+        clusterService.getClusterSettings().applySettings(
+            Settings.builder().put(NodeResponseStats.USE_ADAPTIVE_REPLICA_SELECTION.getKey(), false).build());
+        ClusterState state = stateWithCopiesOnTwoNodes(1);
+        NodeResponseStats nodeResponseStats = new NodeResponseStats(clusterService);
+        assertThat(nodeResponseStats.isEnabled()).isFalse();
+        nodeResponseStats.onRequestSent("n1");
+        nodeResponseStats.onResponse("n1", TimeUnit.SECONDS.toNanos(1), 100, TimeUnit.SECONDS.toNanos(1));
+
+        Set<String> nodes = new HashSet<>();
+        for (int seed = 0; seed < 10; seed++) {
+            RoutingProvider routingProvider = new RoutingProvider(seed, List.of(), nodeResponseStats);
+            nodes.addAll(routingProvider.forIndices(state, new String[] { "t" }, Set.of(), false, ShardSelection.ANY).nodes());
+        }
+        assertThat(nodes).containsExactlyInAnyOrder("n1", "n2");
+    }
+
+    @Test
+    public void test_stable_selection_keeps_choosing_the_same_copy_if_ranks_change() {
+        ClusterState state = stateWithCopiesOnTwoNodes(1);
+        NodeResponseStats nodeResponseStats = new NodeResponseStats(clusterService);
+        long ms = TimeUnit.MILLISECONDS.toNanos(1);
+        nodeResponseStats.onRequestSent("n1");
+        nodeResponseStats.onResponse("n1", 200 * ms, 20, 10 * ms);
+        nodeResponseStats.onRequestSent("n2");
+        nodeResponseStats.onResponse("n2", 2 * ms, 0, ms);
+
+        RoutingProvider routingProvider = new RoutingProvider(randomInt(), List.of(), nodeResponseStats)
+            .withStableSelection();
+        assertThat(routingProvider.withStableSelection()).isSameAs(routingProvider);
+        Routing routing = routingProvider.forIndices(state, new String[] { "t" }, Set.of(), false, ShardSelection.ANY);
+        assertThat(routing.nodes()).containsExactly("n2");
+
+        for (int i = 0; i < 10; i++) {
+            nodeResponseStats.onRequestSent("n2");
+            nodeResponseStats.onResponse("n2", 2000 * ms, 100, 100 * ms);
+        }
+        assertThat(new RoutingProvider(randomInt(), List.of(), nodeResponseStats)
+            .forIndices(state, new String[] { "t" }, Set.of(), false, ShardSelection.ANY).nodes())
+            .containsExactly("n1");
+
+        routing = routingProvider.forIndices(state, new String[] { "t" }, Set.of(), false, ShardSelection.ANY);
+        assertThat(routing.nodes()).containsExactly("n2");
+        assertThat(routingProvider.forId(state, "t", "1", null).currentNodeId()).isEqualTo("n2");
+    }
 }
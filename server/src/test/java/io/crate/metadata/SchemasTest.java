@@ -33,9 +33,13 @@ import java.util.List;
 import java.util.Map;
 
 import org.elasticsearch.Version;
+import org.elasticsearch.cluster.ClusterState;
 import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.IndexTemplateMetadata;
 import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.common.UUIDs;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.test.ClusterServiceUtils;
 import org.junit.Test;
 
 import io.crate.exceptions.OperationOnInaccessibleRelationException;
@@ -44,6 +48,7 @@ import io.crate.exceptions.SchemaUnknownException;
 import io.crate.expression.udf.UserDefinedFunctionMetadata;
 import io.crate.expression.udf.UserDefinedFunctionsMetadata;
 import io.crate.metadata.doc.DocSchemaInfoFactory;
+import io.crate.metadata.doc.DocTableInfo;
 import io.crate.metadata.sys.SysSchemaInfo;
 import io.crate.metadata.table.Operation;
 import io.crate.metadata.table.SchemaInfo;
@@ -196,4 +201,35 @@ public class SchemasTest extends CrateDummyClusterServiceUnitTest {
         assertThat(relation.schema()).isEqualTo("schema");
         assertThat(relation.name()).isEqualTo("t");
     }
+
+    @Test
+    public void test_partitioned_table_info_is_kept_if_only_partitions_change() throws IOException {
+        RelationName relationName = new RelationName("doc", "parted");
+        String partition1 = new PartitionName(relationName, List.of("1")).asIndexName();
+        String partition2 = new PartitionName(relationName, List.of("2")).asIndexName();
+        SQLExecutor sqlExecutor = SQLExecutor.of(clusterService)
+            .addPartitionedTable("create table doc.parted (id int, p int) partitioned by (p)", partition1);
+        DocTableInfo table = sqlExecutor.schemas().getTableInfo(relationName);
+
+        ClusterState state = clusterService.state();
+        IndexMetadata indexMetadata = state.metadata().index(partition1);
+        Metadata metadata = Metadata.builder(state.metadata())
+            .put(IndexMetadata.builder(indexMetadata)
+                .index(partition2)
+                .settings(Settings.builder()
+                    .put(indexMetadata.getSettings())
+                    .put(IndexMetadata.SETTING_INDEX_UUID, UUIDs.randomBase64UUID())))
+            .build();
+        ClusterServiceUtils.setState(clusterService, ClusterState.builder(state).metadata(metadata));
+        assertThat(sqlExecutor.schemas().<DocTableInfo>getTableInfo(relationName)).isSameAs(table);
+        assertThat(table.getPartitionNames(clusterService.state().metadata())).hasSize(2);
+
+        state = clusterService.state();
+        IndexTemplateMetadata template = state.metadata().templates().get(PartitionName.templateName("doc", "parted"));
+        metadata = Metadata.builder(state.metadata())
+            .put(new IndexTemplateMetadata.Builder(template).version(2))
+            .build();
+        ClusterServiceUtils.setState(clusterService, ClusterState.builder(state).metadata(metadata));
+        assertThat(sqlExecutor.schemas().<DocTableInfo>getTableInfo(relationName)).isNotSameAs(table);
+    }
 }
@@ -32,9 +32,11 @@ import java.util.Set;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.test.ESTestCase;
 import org.junit.Test;
 
+import io.crate.action.sql.ResourceGroups;
 import io.crate.analyze.SymbolEvaluator;
 import io.crate.common.unit.TimeValue;
 import io.crate.expression.symbol.Literal;
@@ -116,6 +118,30 @@ public class SessionSettingRegistryTest extends ESTestCase {
         assertBooleanNonEmptySetting(SESSION_SETTINGS::errorOnUnknownObjectKey, setting, true);
     }
 
+    @Test
+    public void test_materialized_view_rewrite_session_setting() {
+        SessionSetting<?> setting = new SessionSettingRegistry(Set.of(LoadedRules.INSTANCE)).settings()
+            .get("enable_materialized_view_rewrite");
+        assertThat(setting.defaultValue()).isEqualTo("false");
+        assertBooleanNonEmptySetting(SESSION_SETTINGS::materializedViewRewriteEnabled, setting, false);
+    }
+
+    @Test
+    public void test_rollup_rewrite_session_setting() {
+        SessionSetting<?> setting = new SessionSettingRegistry(Set.of(LoadedRules.INSTANCE)).settings()
+            .get("enable_rollup_rewrite");
+        assertThat(setting.defaultValue()).isEqualTo("false");
+        assertBooleanNonEmptySetting(SESSION_SETTINGS::rollupRewriteEnabled, setting, false);
+    }
+
+    @Test
+    public void test_scale_sampled_aggregates_session_setting() {
+        SessionSetting<?> setting = new SessionSettingRegistry(Set.of(LoadedRules.INSTANCE)).settings()
+            .get("scale_sampled_aggregates");
+        assertThat(setting.defaultValue()).isEqualTo("false");
+        assertBooleanNonEmptySetting(SESSION_SETTINGS::scaleSampledAggregates, setting, false);
+    }
+
     @Test
     public void test_search_path_session_setting() {
         SessionSetting<?> setting = new SessionSettingRegistry(Set.of(LoadedRules.INSTANCE)).settings().get("search_path");
@@ -164,6 +190,27 @@ public class SessionSettingRegistryTest extends ESTestCase {
         statementTimeout.apply(SESSION_SETTINGS, List.of(Literal.of(200)), EVAL);
     }
 
+    @Test
+    public void test_resource_group_session_setting() {
+        Settings settings = Settings.builder()
+            .put("resource_groups.etl.max_concurrency", 1)
+            .build();
+        var registry = new SessionSettingRegistry(Set.of(), new ResourceGroups(settings));
+        var resourceGroup = registry.settings().get(SessionSettingRegistry.RESOURCE_GROUP_KEY);
+        assertThat(resourceGroup.defaultValue()).isEqualTo("default");
+        resourceGroup.apply(SESSION_SETTINGS, generateInput("etl"), EVAL);
+        assertThat(SESSION_SETTINGS.resourceGroup()).isEqualTo("etl");
+        resourceGroup.apply(SESSION_SETTINGS, List.of(Literal.NULL), EVAL);
+        assertThat(SESSION_SETTINGS.resourceGroup()).isEqualTo("default");
+
+        assertThatThrownBy(() -> resourceGroup.apply(SESSION_SETTINGS, generateInput("adhoc"), EVAL))
+            .isExactlyInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Resource group `adhoc` does not exist");
+        assertThatThrownBy(() -> resourceGroup.validate("adhoc"))
+            .isExactlyInstanceOf(IllegalArgumentException.class);
+        assertThat(SESSION_SETTINGS.resourceGroup()).isEqualTo("default");
+    }
+
     private void assertBooleanNonEmptySetting(Supplier<Boolean> contextBooleanSupplier,
                                               SessionSetting<?> sessionSetting,
                                               boolean defaultValue) {
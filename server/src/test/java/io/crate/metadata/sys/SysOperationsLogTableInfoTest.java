@@ -23,6 +23,7 @@ package io.crate.metadata.sys;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Map;
 import java.util.UUID;
 import java.util.function.LongSupplier;
 
@@ -50,4 +51,15 @@ public class SysOperationsLogTableInfoTest {
         Object value = (String) expression.value();
         assertThat(value).isEqualTo(jobId.toString());
     }
+
+    @Test
+    public void test_stats_are_captured_when_the_operation_finishes() {
+        var table = SysOperationsLogTableInfo.INSTANCE;
+        var expression = table.expressions().get(ColumnIdent.of("stats")).create();
+
+        Map<String, Object> stats = Map.of("rows", 10L);
+        var context = new OperationContext(1, UUID.randomUUID(), "collect", 1, () -> 10, () -> stats);
+        expression.setNextRow(new OperationContextLog(context, null));
+        assertThat(expression.value()).isEqualTo(stats);
+    }
 }
@@ -43,6 +43,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.index.IndexModule;
+import org.elasticsearch.index.store.SearchableSnapshotDirectory;
 import org.elasticsearch.test.ESTestCase;
 import org.junit.Test;
 
@@ -123,4 +125,21 @@ public class OperationTest extends ESTestCase {
             Operation.buildFromIndexSettingsAndState(replicatedIndexSettings, IndexMetadata.State.OPEN, true))
             .isEqualTo(Operation.SUBSCRIBED_IN_LOGICAL_REPLICATION);
     }
+
+    @Test
+    public void test_allowed_operations_for_table_mounted_from_snapshot() {
+        var mountedIndexSettings = Settings.builder()
+            .put(IndexModule.INDEX_STORE_TYPE_SETTING.getKey(), SearchableSnapshotDirectory.STORE_TYPE)
+            .build();
+        assertThat(Operation.buildFromIndexSettingsAndState(mountedIndexSettings, IndexMetadata.State.OPEN, false))
+            .containsExactlyInAnyOrder(READ, DROP, SHOW_CREATE, COPY_TO, CREATE_SNAPSHOT);
+    }
+
+    @Test
+    public void test_table_of_materialized_view_does_not_allow_dml() {
+        assertThat(Operation.buildFromIndexSettingsAndState(Settings.EMPTY, IndexMetadata.State.OPEN, false, true))
+            .isEqualTo(Operation.MATERIALIZED_VIEW)
+            .contains(READ, DROP, ALTER, REFRESH)
+            .doesNotContain(INSERT, UPDATE, DELETE);
+    }
 }
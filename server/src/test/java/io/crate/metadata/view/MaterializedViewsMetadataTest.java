@@ -0,0 +1,111 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.metadata.view;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.xcontent.DeprecationHandler;
+import org.elasticsearch.common.xcontent.ToXContent;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentParser;
+import org.elasticsearch.common.xcontent.json.JsonXContent;
+import org.elasticsearch.test.ESTestCase;
+import org.junit.Test;
+
+import io.crate.metadata.RelationName;
+import io.crate.metadata.SearchPath;
+
+public class MaterializedViewsMetadataTest extends ESTestCase {
+
+    private static MaterializedViewsMetadata createMetadata() {
+        SearchPath searchPath = SearchPath.createSearchPathFrom("foo", "doc");
+        Map<String, MaterializedViewMetadata> map = Map.of(
+            "doc.my_view",
+            new MaterializedViewMetadata(
+                "SELECT x, count(*) FROM t1 GROUP BY x",
+                "user_a",
+                searchPath,
+                Map.of("doc.t1//0", 42L, "doc.t1//1", -1L),
+                new MaterializedViewMetadata.RefreshInProgress("node-1", "my_view_refresh_1f")),
+            "my_schema.other_view",
+            new MaterializedViewMetadata("SELECT a, b FROM t2 WHERE c = 1", null, searchPath, Map.of()));
+        return new MaterializedViewsMetadata(map);
+    }
+
+    @Test
+    public void test_materialized_views_metadata_streaming() throws IOException {
+        MaterializedViewsMetadata views = createMetadata();
+        BytesStreamOutput out = new BytesStreamOutput();
+        views.writeTo(out);
+
+        StreamInput in = out.bytes().streamInput();
+        MaterializedViewsMetadata views2 = new MaterializedViewsMetadata(in);
+        assertThat(views2).isEqualTo(views);
+    }
+
+    @Test
+    public void test_materialized_views_metadata_to_xcontent() throws IOException {
+        XContentBuilder builder = JsonXContent.builder();
+
+        // reflects the logic used to process custom metadata in the cluster state
+        builder.startObject();
+        MaterializedViewsMetadata views = createMetadata();
+        views.toXContent(builder, ToXContent.EMPTY_PARAMS);
+        builder.endObject();
+
+        XContentParser parser = JsonXContent.JSON_XCONTENT.createParser(
+            xContentRegistry(),
+            DeprecationHandler.THROW_UNSUPPORTED_OPERATION,
+            BytesReference.toBytes(BytesReference.bytes(builder)));
+        parser.nextToken(); // start object
+        MaterializedViewsMetadata views2 = MaterializedViewsMetadata.fromXContent(parser);
+        assertThat(views2).isEqualTo(views);
+
+        // a metadata custom must consume the surrounded END_OBJECT token, no token must be left
+        assertThat(parser.nextToken()).isNull();
+    }
+
+    @Test
+    public void test_rename_moves_view_to_target() throws Exception {
+        MaterializedViewsMetadata views = createMetadata();
+        RelationName source = new RelationName("doc", "my_view");
+        RelationName target = new RelationName("doc", "v2");
+        MaterializedViewsMetadata result = views.rename(source, target);
+        assertThat(result.contains(source)).isFalse();
+        assertThat(result.get(target)).isEqualTo(views.get(source));
+
+        assertThat(views.rename(new RelationName("doc", "missing"), target)).isSameAs(views);
+    }
+
+    @Test
+    public void test_remove_returns_same_instance_if_view_does_not_exist() throws Exception {
+        MaterializedViewsMetadata views = createMetadata();
+        assertThat(views.remove(new RelationName("doc", "missing"))).isSameAs(views);
+        assertThat(views.remove(new RelationName("doc", "my_view")).contains(new RelationName("doc", "my_view"))).isFalse();
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.parquet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.example.data.simple.SimpleGroupFactory;
+import org.apache.parquet.hadoop.example.ExampleParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.LocalOutputFile;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
+import org.elasticsearch.common.breaker.CircuitBreakingException;
+import org.elasticsearch.test.ESTestCase;
+import org.junit.Test;
+
+import io.crate.data.breaker.BlockBasedRamAccounting;
+import io.crate.data.breaker.RamAccounting;
+
+/**
+ * Reads files written by parquet-mr, the reference implementation of the Parquet format.
+ */
+public class ParquetReaderTest extends ESTestCase {
+
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+    private static final long TS = 1_700_000_000_000L;
+
+    private static final MessageType SCHEMA = MessageTypeParser.parseMessageType("""
+        message test {
+          required int32 id;
+          optional binary name (STRING);
+          optional int64 ts (TIMESTAMP(MILLIS,true));
+          optional int64 ts_local (TIMESTAMP(MICROS,false));
+          optional int32 day (DATE);
+          optional double score;
+          optional int32 price (DECIMAL(9,2));
+          optional boolean flag;
+        }
+        """);
+
+    private static final List<String> ALL_COLUMNS = List.of(
+        "id", "name", "ts", "ts_local", "day", "score", "price", "flag");
+
+    private Path write(int numRows,
+                       CompressionCodecName codec,
+                       WriterVersion writerVersion,
+                       boolean dictionary) throws IOException {
+        Path file = createTempDir().resolve("test.parquet");
+        SimpleGroupFactory groups = new SimpleGroupFactory(SCHEMA);
+        try (org.apache.parquet.hadoop.ParquetWriter<Group> writer = ExampleParquetWriter
+                .builder(new LocalOutputFile(file))
+                .withType(SCHEMA)
+                .withCompressionCodec(codec)
+                .withWriterVersion(writerVersion)
+                .withDictionaryEncoding(dictionary)
+                .withPageSize(1024)
+                .withRowGroupSize(16 * 1024)
+                .build()) {
+            for (int i = 0; i < numRows; i++) {
+                Group group = groups.newGroup().append("id", i);
+                if (i % 7 != 3) {
+                    group
+                        .append("name", "name-" + (i % 10))
+                        .append("ts", TS + i)
+                        .append("ts_local", (TS + i) * 1000 + 999)
+                        .append("day", i)
+                        .append("score", i / 4.0)
+                        .append("price", i)
+                        .append("flag", i % 2 == 0);
+                }
+                writer.write(group);
+            }
+        }
+        return file;
+    }
+
+    private static Object[] expectedRow(int i, List<String> columns) {
+        Object[] row = new Object[columns.size()];
+        for (int c = 0; c < columns.size(); c++) {
+            String column = columns.get(c);
+            if (column.equals("id")) {
+                row[c] = i;
+            } else if (i % 7 != 3) {
+                row[c] = switch (column) {
+                    case "name" -> "name-" + (i % 10);
+                    case "ts", "ts_local" -> TS + i;
+                    case "day" -> i * MILLIS_PER_DAY;
+                    case "score" -> i / 4.0;
+                    case "price" -> BigDecimal.valueOf(i, 2);
+                    case "flag" -> i % 2 == 0;
+                    default -> throw new AssertionError("Unexpected column " + column);
+                };
+            }
+        }
+        return row;
+    }
+
+    private static List<Object[]> readAll(Path file, List<String> columns, RamAccounting ramAccounting) throws IOException {
+        List<Object[]> rows = new ArrayList<>();
+        try (ParquetReader reader = new ParquetReader(
+                FileChannel.open(file, StandardOpenOption.READ), columns, ramAccounting)) {
+            int numColumns = reader.columnNames().size();
+            while (reader.nextRow()) {
+                Object[] row = new Object[numColumns];
+                for (int i = 0; i < numColumns; i++) {
+                    row[i] = reader.get(i);
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static void assertRows(List<Object[]> rows, int numRows, List<String> columns) {
+        assertThat(rows).hasSize(numRows);
+        for (int i = 0; i < numRows; i++) {
+            assertThat(rows.get(i)).as("row " + i).containsExactly(expectedRow(i, columns));
+        }
+    }
+
+    @Test
+    public void test_read_plain_encoded_data_pages() throws Exception {
+        for (CompressionCodecName codec : List.of(
+                CompressionCodecName.UNCOMPRESSED, CompressionCodecName.SNAPPY, CompressionCodecName.GZIP)) {
+            Path file = write(2000, codec, WriterVersion.PARQUET_1_0, false);
+
+            assertRows(readAll(file, ALL_COLUMNS, RamAccounting.NO_ACCOUNTING), 2000, ALL_COLUMNS);
+        }
+    }
+
+    @Test
+    public void test_read_dictionary_encoded_data_pages() throws Exception {
+        for (CompressionCodecName codec : List.of(
+                CompressionCodecName.UNCOMPRESSED, CompressionCodecName.SNAPPY, CompressionCodecName.GZIP)) {
+            Path file = write(2000, codec, WriterVersion.PARQUET_1_0, true);
+
+            assertRows(readAll(file, ALL_COLUMNS, RamAccounting.NO_ACCOUNTING), 2000, ALL_COLUMNS);
+        }
+    }
+
+    @Test
+    public void test_read_dictionary_encoded_data_pages_v2() throws Exception {
+        // parquet-mr writes booleans in v2 pages RLE encoded, which is not supported
+        List<String> columns = ALL_COLUMNS.subList(0, ALL_COLUMNS.size() - 1);
+        Path file = write(2000, CompressionCodecName.SNAPPY, WriterVersion.PARQUET_2_0, true);
+
+        assertRows(readAll(file, columns, RamAccounting.NO_ACCOUNTING), 2000, columns);
+    }
+
+    @Test
+    public void test_read_subset_of_columns_in_different_order() throws Exception {
+        List<String> columns = List.of("score", "unknown", "name");
+        Path file = write(100, CompressionCodecName.SNAPPY, WriterVersion.PARQUET_1_0, true);
+
+        List<Object[]> rows = readAll(file, columns, RamAccounting.NO_ACCOUNTING);
+
+        assertThat(rows).hasSize(100);
+        assertThat(rows.get(5)).containsExactly(1.25, null, "name-5");
+        assertThat(rows.get(10)).containsExactly(null, null, null);
+    }
+
+    @Test
+    public void test_row_groups_are_accounted_and_released() throws Exception {
+        Path file = write(2000, CompressionCodecName.SNAPPY, WriterVersion.PARQUET_1_0, true);
+        AtomicLong reserved = new AtomicLong();
+        long maxReserved = 0;
+        try (ParquetReader reader = new ParquetReader(
+                FileChannel.open(file, StandardOpenOption.READ),
+                ALL_COLUMNS,
+                new BlockBasedRamAccounting(reserved::addAndGet, 1024))) {
+            while (reader.nextRow()) {
+                maxReserved = Math.max(maxReserved, reserved.get());
+            }
+        }
+        assertThat(maxReserved).isGreaterThan(0L);
+        assertThat(reserved.get()).isEqualTo(0L);
+    }
+
+    @Test
+    public void test_reading_a_row_group_fails_if_the_breaker_trips() throws Exception {
+        Path file = write(2000, CompressionCodecName.SNAPPY, WriterVersion.PARQUET_1_0, true);
+        RamAccounting ramAccounting = new BlockBasedRamAccounting(
+            bytes -> {
+                if (bytes > 0) {
+                    throw new CircuitBreakingException("Data too large");
+                }
+            },
+            1024
+        );
+
+        assertThatThrownBy(() -> readAll(file, ALL_COLUMNS, ramAccounting))
+            .isExactlyInstanceOf(CircuitBreakingException.class)
+            .hasMessage("Data too large");
+    }
+
+    @Test
+    public void test_reading_unsupported_encoding_fails_with_its_name() throws Exception {
+        // The v2 writer uses DELTA_BINARY_PACKED for integers without dictionary
+        Path file = write(100, CompressionCodecName.SNAPPY, WriterVersion.PARQUET_2_0, false);
+
+        assertThatThrownBy(() -> readAll(file, List.of("id"), RamAccounting.NO_ACCOUNTING))
+            .isExactlyInstanceOf(IOException.class)
+            .hasMessage("Unsupported parquet encoding DELTA_BINARY_PACKED in column 'id', " +
+                "supported are PLAIN and dictionary encodings");
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.parquet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.io.LocalInputFile;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.LogicalTypeAnnotation.TimeUnit;
+import org.apache.parquet.schema.MessageType;
+import org.elasticsearch.test.ESTestCase;
+import org.junit.Test;
+
+import io.crate.data.breaker.RamAccounting;
+import io.crate.types.DataType;
+import io.crate.types.DataTypes;
+
+public class ParquetWriterTest extends ESTestCase {
+
+    private static final List<String> NAMES = List.of(
+        "b", "s", "i", "l", "f", "d", "t", "ts", "dt", "o", "arr");
+    private static final List<DataType<?>> TYPES = List.of(
+        DataTypes.BOOLEAN,
+        DataTypes.SHORT,
+        DataTypes.INTEGER,
+        DataTypes.LONG,
+        DataTypes.FLOAT,
+        DataTypes.DOUBLE,
+        DataTypes.STRING,
+        DataTypes.TIMESTAMPZ,
+        DataTypes.DATE,
+        DataTypes.UNTYPED_OBJECT,
+        DataTypes.INTEGER_ARRAY
+    );
+
+    private static Object[] row(int i) {
+        if (i % 7 == 3) {
+            return new Object[NAMES.size()];
+        }
+        return new Object[] {
+            i % 2 == 0,
+            (short) i,
+            i,
+            i * 1_000_000_000L,
+            i / 2.0f,
+            i / 4.0,
+            "row-" + i,
+            1_700_000_000_000L + i,
+            86_400_000L * i,
+            Map.of("x", i),
+            List.of(i, i + 1)
+        };
+    }
+
+    private Path write(int numRows, boolean gzip, long rowGroupSize) throws IOException {
+        Path file = createTempFile("test", ".parquet");
+        try (OutputStream out = Files.newOutputStream(file);
+             ParquetWriter writer = new ParquetWriter(out, NAMES, TYPES, gzip, rowGroupSize)) {
+            for (int i = 0; i < numRows; i++) {
+                writer.write(row(i));
+            }
+        }
+        return file;
+    }
+
+    private static List<Object[]> readAll(Path file, List<String> columns) throws IOException {
+        List<Object[]> rows = new ArrayList<>();
+        try (ParquetReader reader = new ParquetReader(
+                FileChannel.open(file, StandardOpenOption.READ), columns, RamAccounting.NO_ACCOUNTING)) {
+            int numColumns = reader.columnNames().size();
+            while (reader.nextRow()) {
+                Object[] row = new Object[numColumns];
+                for (int i = 0; i < numColumns; i++) {
+                    Object value = reader.get(i);
+                    row[i] = reader.isJson(i) && value != null ? new String((byte[]) value, StandardCharsets.UTF_8) : value;
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    public void test_written_rows_can_be_read_back() throws Exception {
+        Path file = write(100, false, ParquetWriter.DEFAULT_ROW_GROUP_SIZE);
+
+        List<Object[]> rows = readAll(file, null);
+
+        assertThat(rows).hasSize(100);
+        assertThat(rows.get(3)).containsOnlyNulls();
+        assertThat(rows.get(5)).containsExactly(
+            false, 5, 5, 5_000_000_000L, 2.5f, 1.25, "row-5", 1_700_000_000_005L, 432_000_000L, "{\"x\":5}", "[5,6]");
+    }
+
+    @Test
+    public void test_multiple_row_groups_with_gzip_compression() throws Exception {
+        Path file = write(1000, true, 1024);
+
+        List<Object[]> rows = readAll(file, List.of("i", "t"));
+
+        assertThat(rows).hasSize(1000);
+        for (int i = 0; i < rows.size(); i++) {
+            if (i % 7 == 3) {
+                assertThat(rows.get(i)).containsExactly(null, null);
+            } else {
+                assertThat(rows.get(i)).containsExactly(i, "row-" + i);
+            }
+        }
+    }
+
+    @Test
+    public void test_columns_missing_in_the_file_are_read_as_null() throws Exception {
+        Path file = write(2, false, ParquetWriter.DEFAULT_ROW_GROUP_SIZE);
+
+        assertThat(readAll(file, List.of("unknown", "i")))
+            .containsExactly(new Object[] {null, 0}, new Object[] {null, 1});
+    }
+
+    @Test
+    public void test_timestamps_are_written_with_utc_adjustment_matching_the_time_zone() throws Exception {
+        Path file = createTempFile("test", ".parquet");
+        try (OutputStream out = Files.newOutputStream(file);
+             ParquetWriter writer = new ParquetWriter(
+                 out, List.of("tz", "local"), List.of(DataTypes.TIMESTAMPZ, DataTypes.TIMESTAMP), false, 1024)) {
+            writer.write(new Object[] { 1_700_000_000_000L, 1_700_000_000_000L });
+        }
+
+        // Check the schema with the reference implementation
+        try (ParquetFileReader reader = ParquetFileReader.open(new LocalInputFile(file))) {
+            MessageType schema = reader.getFooter().getFileMetaData().getSchema();
+            assertThat(schema.getType("tz").getLogicalTypeAnnotation())
+                .isEqualTo(LogicalTypeAnnotation.timestampType(true, TimeUnit.MILLIS));
+            assertThat(schema.getType("local").getLogicalTypeAnnotation())
+                .isEqualTo(LogicalTypeAnnotation.timestampType(false, TimeUnit.MILLIS));
+            assertThat(reader.getRecordCount()).isEqualTo(1L);
+        }
+        assertThat(readAll(file, null)).containsExactly(new Object[] { 1_700_000_000_000L, 1_700_000_000_000L });
+    }
+
+    @Test
+    public void test_reading_a_file_without_parquet_footer_fails() throws Exception {
+        Path file = createTempFile("test", ".parquet");
+        Files.writeString(file, "{\"x\": 1}\n{\"x\": 2}\n");
+
+        assertThatThrownBy(() -> readAll(file, null))
+            .isExactlyInstanceOf(IOException.class)
+            .hasMessage("Not a parquet file: missing magic bytes");
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.parquet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class SnappyTest {
+
+    @Test
+    public void test_uncompress_literal_and_overlapping_copy() throws Exception {
+        // length 12, literal "ab", copy of length 10 from offset 2 (1-byte offset form)
+        byte[] compressed = new byte[] {12, 0x04, 'a', 'b', (byte) ((6 << 2) | 1), 2};
+
+        byte[] uncompressed = Snappy.uncompress(compressed, 0, compressed.length);
+
+        assertThat(new String(uncompressed, StandardCharsets.UTF_8)).isEqualTo("abababababab");
+    }
+
+    @Test
+    public void test_uncompress_copy_with_two_byte_offset() throws Exception {
+        // length 6, literal "xyz", copy of length 3 from offset 3 (2-byte offset form)
+        byte[] compressed = new byte[] {6, 0x08, 'x', 'y', 'z', (byte) ((2 << 2) | 2), 3, 0};
+
+        byte[] uncompressed = Snappy.uncompress(compressed, 0, compressed.length);
+
+        assertThat(new String(uncompressed, StandardCharsets.UTF_8)).isEqualTo("xyzxyz");
+    }
+
+    @Test
+    public void test_copy_before_start_of_output_fails() throws Exception {
+        byte[] compressed = new byte[] {6, (byte) ((2 << 2) | 2), 3, 0};
+
+        assertThatThrownBy(() -> Snappy.uncompress(compressed, 0, compressed.length))
+            .isExactlyInstanceOf(IOException.class)
+            .hasMessage("Invalid snappy data: copy exceeds bounds");
+    }
+}
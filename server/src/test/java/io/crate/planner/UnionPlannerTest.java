@@ -232,7 +232,7 @@ public class UnionPlannerTest extends CrateDummyClusterServiceUnitTest {
         var context = e.getPlannerContext();
         var logicalPlanner = new LogicalPlanner(
             e.nodeCtx,
-            new ForeignDataWrappers(Settings.EMPTY, clusterService, e.nodeCtx),
+            new ForeignDataWrappers(Settings.EMPTY, clusterService, e.nodeCtx, THREAD_POOL),
             () -> clusterService.state().nodes().getMinNodeVersion()
         );
         var plan = logicalPlanner.plan(e.analyze(stmt), context);
@@ -0,0 +1,138 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.planner.optimizer.rule;
+
+import static io.crate.testing.Asserts.assertThat;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.crate.analyze.WhereClause;
+import io.crate.analyze.relations.DocTableRelation;
+import io.crate.metadata.Reference;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.doc.DocTableInfo;
+import io.crate.planner.operators.Collect;
+import io.crate.planner.operators.JoinPlan;
+import io.crate.planner.operators.LogicalPlan;
+import io.crate.planner.optimizer.matcher.Captures;
+import io.crate.planner.optimizer.matcher.Match;
+import io.crate.sql.tree.JoinType;
+import io.crate.statistics.Stats;
+import io.crate.test.integration.CrateDummyClusterServiceUnitTest;
+import io.crate.testing.SQLExecutor;
+
+public class EquiJoinToRuntimeFilterTest extends CrateDummyClusterServiceUnitTest {
+
+    private SQLExecutor e;
+    private Collect lhs;
+    private Collect rhs;
+    private DocTableInfo lhsDocTableInfo;
+    private DocTableInfo rhsDocTableInfo;
+
+    @Before
+    public void prepare() throws Exception {
+        e = SQLExecutor.builder(clusterService)
+            .build()
+            .addTable("create table doc.lhs (x int, name text)")
+            .addTable("create table doc.rhs (y int, f double)");
+
+        lhsDocTableInfo = e.resolveTableInfo("lhs");
+        rhsDocTableInfo = e.resolveTableInfo("rhs");
+
+        Reference x = (Reference) e.asSymbol("x");
+        Reference y = (Reference) e.asSymbol("y");
+
+        lhs = new Collect(new DocTableRelation(lhsDocTableInfo), List.of(x), WhereClause.MATCH_ALL);
+        rhs = new Collect(new DocTableRelation(rhsDocTableInfo), List.of(y), WhereClause.MATCH_ALL);
+    }
+
+    private LogicalPlan applyRule(JoinPlan join, long lhsRows, long rhsRows) {
+        e.updateTableStats(Map.<RelationName, Stats>of(
+            lhsDocTableInfo.ident(), new Stats(lhsRows, 0, Map.of()),
+            rhsDocTableInfo.ident(), new Stats(rhsRows, 0, Map.of())
+        ));
+        var rule = new EquiJoinToRuntimeFilter();
+        Match<JoinPlan> match = rule.pattern().accept(join, Captures.empty());
+        assertThat(match.isPresent()).isTrue();
+        return rule.apply(match.value(), match.captures(), e.ruleContext());
+    }
+
+    @Test
+    public void test_runtime_filter_on_larger_lhs() throws Exception {
+        var join = new JoinPlan(lhs, rhs, JoinType.INNER, e.asSymbol("lhs.x = rhs.y"));
+
+        assertThat(applyRule(join, 100_000, 10)).hasOperators(
+            "Join[INNER | (x = y)]",
+            "  ├ MultiPhase",
+            "  │  └ Filter[_runtime_filter(x, (doc.rhs))]",
+            "  │    └ Collect[doc.lhs | [x] | true]",
+            "  │  └ Collect[doc.rhs | [y] | true]",
+            "  └ Collect[doc.rhs | [y] | true]"
+        );
+    }
+
+    @Test
+    public void test_runtime_filter_on_larger_rhs() throws Exception {
+        var join = new JoinPlan(lhs, rhs, JoinType.INNER, e.asSymbol("lhs.x = rhs.y"));
+
+        assertThat(applyRule(join, 10, 100_000)).hasOperators(
+            "Join[INNER | (x = y)]",
+            "  ├ Collect[doc.lhs | [x] | true]",
+            "  └ MultiPhase",
+            "    └ Filter[_runtime_filter(y, (doc.lhs))]",
+            "      └ Collect[doc.rhs | [y] | true]",
+            "    └ Collect[doc.lhs | [x] | true]"
+        );
+    }
+
+    @Test
+    public void test_result_is_not_matched_again() throws Exception {
+        var join = new JoinPlan(lhs, rhs, JoinType.INNER, e.asSymbol("lhs.x = rhs.y"));
+        e.updateTableStats(Map.<RelationName, Stats>of(
+            lhsDocTableInfo.ident(), new Stats(100_000, 0, Map.of()),
+            rhsDocTableInfo.ident(), new Stats(10, 0, Map.of())
+        ));
+        var rule = new EquiJoinToRuntimeFilter();
+        Match<JoinPlan> match = rule.pattern().accept(join, Captures.empty());
+        var result = rule.apply(match.value(), match.captures(), e.ruleContext());
+
+        assertThat(rule.pattern().accept(result, Captures.empty()).isPresent()).isFalse();
+    }
+
+    @Test
+    public void test_skip_join_keys_with_unsupported_type() throws Exception {
+        var join = new JoinPlan(lhs, rhs, JoinType.INNER, e.asSymbol("lhs.x = rhs.f"));
+        e.updateTableStats(Map.<RelationName, Stats>of(
+            lhsDocTableInfo.ident(), new Stats(100_000, 0, Map.of()),
+            rhsDocTableInfo.ident(), new Stats(10, 0, Map.of())
+        ));
+        var rule = new EquiJoinToRuntimeFilter();
+        Match<JoinPlan> match = rule.pattern().accept(join, Captures.empty());
+
+        assertThat(match.isPresent()).isTrue();
+        assertThat(rule.apply(match.value(), match.captures(), e.ruleContext())).isNull();
+    }
+}
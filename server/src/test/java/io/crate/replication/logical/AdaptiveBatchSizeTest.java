@@ -0,0 +1,62 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+
+package io.crate.replication.logical;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class AdaptiveBatchSizeTest {
+
+    @Test
+    public void test_uses_max_batch_size_without_observed_batches() {
+        AdaptiveBatchSize adaptiveBatchSize = new AdaptiveBatchSize();
+        assertThat(adaptiveBatchSize.batchSize(50_000, 64 * 1024 * 1024, 2)).isEqualTo(50_000);
+
+        adaptiveBatchSize.onBatch(0, 0);
+        assertThat(adaptiveBatchSize.batchSize(50_000, 64 * 1024 * 1024, 2)).isEqualTo(50_000);
+    }
+
+    @Test
+    public void test_batch_size_is_derived_from_operation_size() {
+        AdaptiveBatchSize adaptiveBatchSize = new AdaptiveBatchSize();
+        adaptiveBatchSize.onBatch(100, 100 * 1024);
+
+        // 1MB shared by 2 batches, 1KB per operation
+        assertThat(adaptiveBatchSize.batchSize(50_000, 1024 * 1024, 2)).isEqualTo(512);
+        assertThat(adaptiveBatchSize.batchSize(100, 1024 * 1024, 2)).isEqualTo(100);
+    }
+
+    @Test
+    public void test_batch_size_follows_changing_operation_size() {
+        AdaptiveBatchSize adaptiveBatchSize = new AdaptiveBatchSize();
+        adaptiveBatchSize.onBatch(100, 100 * 1024);
+        int before = adaptiveBatchSize.batchSize(50_000, 1024 * 1024, 1);
+        for (int i = 0; i < 20; i++) {
+            adaptiveBatchSize.onBatch(100, 100 * 1024 * 1024);
+        }
+        int after = adaptiveBatchSize.batchSize(50_000, 1024 * 1024, 1);
+        assertThat(after).isLessThan(before);
+        assertThat(after).isEqualTo(AdaptiveBatchSize.MIN_BATCH_SIZE);
+    }
+}
@@ -22,6 +22,8 @@
 package io.crate.replication.logical;
 
 import static io.crate.replication.logical.LogicalReplicationSettings.REPLICATION_CHANGE_BATCH_SIZE;
+import static io.crate.replication.logical.LogicalReplicationSettings.REPLICATION_MAX_BYTES_IN_FLIGHT;
+import static io.crate.replication.logical.LogicalReplicationSettings.REPLICATION_MAX_CONCURRENT_BATCHES;
 import static io.crate.replication.logical.LogicalReplicationSettings.REPLICATION_READ_POLL_DURATION;
 import static io.crate.replication.logical.LogicalReplicationSettings.REPLICATION_RECOVERY_CHUNK_SIZE;
 import static io.crate.replication.logical.LogicalReplicationSettings.REPLICATION_RECOVERY_MAX_CONCURRENT_FILE_CHUNKS;
@@ -48,6 +50,8 @@ public class LogicalReplicationSettingsTest extends CrateDummyClusterServiceUnit
                 Settings.builder()
                     .put(REPLICATION_CHANGE_BATCH_SIZE.getKey(), 20)
                     .put(REPLICATION_READ_POLL_DURATION.getKey(), "1s")
+                    .put(REPLICATION_MAX_CONCURRENT_BATCHES.getKey(), 4)
+                    .put(REPLICATION_MAX_BYTES_IN_FLIGHT.getKey(), "32MB")
                     .put(REPLICATION_RECOVERY_CHUNK_SIZE.getKey(), "10MB")
                     .put(REPLICATION_RECOVERY_MAX_CONCURRENT_FILE_CHUNKS.getKey(), 3)
                     .build()
@@ -56,6 +60,8 @@ public class LogicalReplicationSettingsTest extends CrateDummyClusterServiceUnit
         ClusterServiceUtils.setState(clusterService, newState);
         assertThat(replicationSettings.batchSize()).isEqualTo(20);
         assertThat(replicationSettings.pollDelay().millis()).isEqualTo(1000L);
+        assertThat(replicationSettings.maxConcurrentBatches()).isEqualTo(4);
+        assertThat(replicationSettings.maxBytesInFlight()).isEqualTo(new ByteSizeValue(32, ByteSizeUnit.MB));
         assertThat(replicationSettings.recoveryChunkSize()).isEqualTo(new ByteSizeValue(10, ByteSizeUnit.MB));
         assertThat(replicationSettings.maxConcurrentFileChunks()).isEqualTo(3);
     }
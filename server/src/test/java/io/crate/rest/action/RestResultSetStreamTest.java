@@ -0,0 +1,165 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+
+package io.crate.rest.action;
+
+import static io.crate.action.sql.Session.UNNAMED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.elasticsearch.common.xcontent.json.JsonXContent;
+import org.elasticsearch.http.netty4.cors.Netty4CorsConfigBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.crate.action.sql.BaseResultReceiver;
+import io.crate.action.sql.Session;
+import io.crate.data.Row1;
+import io.crate.data.breaker.RamAccounting;
+import io.crate.expression.symbol.Literal;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.ReferenceCountUtil;
+
+public class RestResultSetStreamTest {
+
+    private EmbeddedChannel channel;
+    private ChannelHandlerContext ctx;
+    private Session session;
+    private List<BaseResultReceiver> receivers;
+    private RestResultSetStream stream;
+
+    @Before
+    public void setUpStream() {
+        ChannelInboundHandlerAdapter handler = new ChannelInboundHandlerAdapter();
+        channel = new EmbeddedChannel(handler);
+        ctx = channel.pipeline().context(handler);
+        session = mock(Session.class);
+        receivers = new ArrayList<>();
+        doAnswer(invocation -> {
+            receivers.add(invocation.getArgument(2));
+            return null;
+        }).when(session).execute(eq(UNNAMED), anyInt(), any());
+        doReturn(CompletableFuture.completedFuture(null)).when(session).sync();
+        stream = new RestResultSetStream(
+            ctx,
+            new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, HttpMethod.POST, "/_sql?format=ndjson"),
+            Netty4CorsConfigBuilder.forAnyOrigin().build(),
+            session,
+            RestResultSetStream.Format.NDJSON,
+            List.of(Literal.of(1)),
+            System.nanoTime(),
+            false,
+            RamAccounting.NO_ACCOUNTING,
+            t -> JsonXContent.builder()
+        );
+    }
+
+    @After
+    public void releaseChannel() {
+        Object msg;
+        while ((msg = channel.readOutbound()) != null) {
+            ReferenceCountUtil.release(msg);
+        }
+        channel.finishAndReleaseAll();
+    }
+
+    private void setWritable(boolean writable) {
+        channel.unsafe().outboundBuffer().setUserDefinedWritability(1, writable);
+    }
+
+    @Test
+    public void test_execution_resumes_once_the_channel_is_writable_again() throws Exception {
+        CompletableFuture<Void> result = stream.start();
+        assertThat(receivers).hasSize(1);
+
+        setWritable(false);
+        receivers.get(0).setNextRow(new Row1(1));
+        receivers.get(0).batchFinished();
+        channel.runPendingTasks();
+        assertThat(receivers).hasSize(1);
+
+        setWritable(true);
+        stream.channelWritabilityChanged();
+        assertThat(receivers).hasSize(2);
+
+        receivers.get(1).setNextRow(new Row1(2));
+        receivers.get(1).allFinished();
+        assertThat(result).isCompleted();
+        assertThat(result.isCompletedExceptionally()).isFalse();
+
+        Object response = channel.readOutbound();
+        assertThat(response).isInstanceOf(HttpResponse.class);
+        HttpContent firstPage = channel.readOutbound();
+        assertThat(firstPage).isNotInstanceOf(LastHttpContent.class);
+        firstPage.release();
+        HttpContent lastPage = channel.readOutbound();
+        assertThat(lastPage).isInstanceOf(LastHttpContent.class);
+        lastPage.release();
+    }
+
+    @Test
+    public void test_execution_resumes_right_away_if_the_channel_stays_writable() throws Exception {
+        stream.start();
+
+        receivers.get(0).setNextRow(new Row1(1));
+        receivers.get(0).batchFinished();
+        channel.runPendingTasks();
+
+        assertThat(receivers).hasSize(2);
+    }
+
+    @Test
+    public void test_disconnect_while_waiting_for_writability_stops_execution_and_fails_result() throws Exception {
+        CompletableFuture<Void> result = stream.start();
+
+        setWritable(false);
+        receivers.get(0).setNextRow(new Row1(1));
+        receivers.get(0).batchFinished();
+        channel.close();
+
+        assertThat(result).isCompletedExceptionally();
+        assertThat(result.handle((ignored, t) -> t).get()).isInstanceOf(ClosedChannelException.class);
+        verify(session, times(1)).close((byte) 'P', UNNAMED);
+        assertThat(receivers).hasSize(1);
+    }
+}
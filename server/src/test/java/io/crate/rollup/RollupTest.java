@@ -0,0 +1,257 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package io.crate.rollup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.crate.data.Input;
+import io.crate.expression.symbol.Literal;
+import io.crate.metadata.Functions;
+import io.crate.metadata.Reference;
+import io.crate.metadata.RelationName;
+import io.crate.metadata.doc.DocTableInfo;
+import io.crate.test.integration.CrateDummyClusterServiceUnitTest;
+import io.crate.testing.SQLExecutor;
+import io.crate.types.DataTypes;
+
+public class RollupTest extends CrateDummyClusterServiceUnitTest {
+
+    private SQLExecutor e;
+
+    private DocTableInfo createTable(String stmt) throws Exception {
+        e = SQLExecutor.of(clusterService).addTable(stmt);
+        return e.resolveTableInfo("m");
+    }
+
+    @Test
+    public void test_rollup_columns_are_named_by_the_definition() throws Exception {
+        DocTableInfo table = createTable("""
+            create table doc.m (
+                id int primary key,
+                ts timestamp with time zone,
+                device text,
+                ok boolean,
+                v double,
+                n int,
+                other text
+            ) with (rollups = 'hour(ts), Minute(ts) DIMENSIONS (device, ok) measures (v, n) sketches (percentile(V))')
+            """);
+        List<Rollup> rollups = Rollup.of(table);
+        assertThat(rollups).extracting(Rollup::interval).containsExactly(Rollup.Interval.HOUR, Rollup.Interval.MINUTE);
+        assertThat(rollups).extracting(Rollup::target).containsExactly(
+            new RelationName("doc", "m_rollup_hour"),
+            new RelationName("doc", "m_rollup_minute"));
+        assertThat(Rollup.targets(table)).containsExactly(
+            new RelationName("doc", "m_rollup_hour"),
+            new RelationName("doc", "m_rollup_minute"));
+
+        Rollup rollup = rollups.get(1);
+        assertThat(rollup.dimensions()).extracting(ref -> ref.column().sqlFqn()).containsExactly("device", "ok");
+        assertThat(rollup.measures()).extracting(ref -> ref.column().sqlFqn()).containsExactly("v", "n");
+        assertThat(rollup.sketches()).containsExactly(new Rollup.Sketch("percentile", table.getReference("v")));
+        assertThat(rollup.targetColumns()).containsExactly(
+            "rollup_key", "ts", "device", "ok", "row_count",
+            "v_count", "v_sum", "v_min", "v_max",
+            "n_count", "n_sum", "n_min", "n_max",
+            "v_percentile");
+        assertThat(rollup.createTargetStmt()).isEqualTo(
+            "CREATE TABLE doc.m_rollup_minute (rollup_key TEXT PRIMARY KEY, " +
+            "ts timestamp with time zone, device text, ok boolean, row_count bigint, " +
+            "v_count bigint, v_sum double precision, v_min double precision, v_max double precision, " +
+            "n_count bigint, n_sum bigint, n_min integer, n_max integer, " +
+            "v_percentile TEXT INDEX OFF STORAGE WITH (columnstore = false))");
+        rollup.validateSketches(e.nodeCtx.functions());
+
+        List<Rollup> countOnly = Rollup.of(createTable("create table doc.m (ts timestamp, v int) with (rollups = 'day(ts)')"));
+        assertThat(countOnly.get(0).targetColumns()).containsExactly("rollup_key", "ts", "row_count");
+    }
+
+    @Test
+    public void test_invalid_rollup_definitions() {
+        assertThatThrownBy(() -> Rollup.parse("minute ts"))
+            .hasMessage("Invalid rollup definition 'minute ts'. Expected: <interval>(<timestamp column>)");
+        assertThatThrownBy(() -> Rollup.parse("month(ts)"))
+            .hasMessage("Invalid rollup interval 'month'. Supported intervals are: second, minute, hour and day");
+        assertThatThrownBy(() -> Rollup.parse("minute(ts), minute(ts)"))
+            .hasMessage("Rollup interval 'minute' is defined more than once");
+        assertThatThrownBy(() -> Rollup.parse("minute(ts) measures (v) measures (n)"))
+            .hasMessage("Rollup measures are defined more than once");
+        assertThatThrownBy(() -> Rollup.parse("minute(ts) measures (v"))
+            .hasMessage("Missing closing parenthesis of rollup measures");
+        assertThatThrownBy(() -> Rollup.parse("minute(ts) measures (v) foo"))
+            .hasMessage("Invalid rollup definition 'foo'. " +
+                        "Expected: dimensions (<columns>), measures (<columns>) or sketches (<function>(<column>), ...)");
+        assertThatThrownBy(() -> Rollup.parse("minute(ts) sketches (stddev(v))"))
+            .hasMessage("Unsupported rollup sketch function 'stddev'. Supported functions are: hyperloglog_distinct and percentile");
+        assertThat(Rollup.parse("").definitions()).isEmpty();
+    }
+
+    @Test
+    public void test_invalid_rollup_columns() throws Exception {
+        DocTableInfo table = createTable("""
+            create table doc.m (
+                id int primary key,
+                ts timestamp,
+                device text,
+                v real,
+                g int generated always as id + 1
+            )
+            """);
+        assertThatThrownBy(() -> Rollup.of(table.ident(), "minute(ts) dimensions (x)", table.columns(), table.primaryKey(), List.of()))
+            .hasMessage("Rollup dimension column 'x' doesn't exist in table 'doc.m'");
+        assertThatThrownBy(() -> Rollup.of(table.ident(), "minute(ts) dimensions (v)", table.columns(), table.primaryKey(), List.of()))
+            .hasMessage("Rollup dimension column 'v' must be a TEXT, BOOLEAN, IP or integral column");
+        assertThatThrownBy(() -> Rollup.of(table.ident(), "minute(ts) measures (device)", table.columns(), table.primaryKey(), List.of()))
+            .hasMessage("Rollup measure column 'device' must be a numeric column");
+        assertThatThrownBy(() -> Rollup.of(table.ident(), "minute(ts) measures (id)", table.columns(), table.primaryKey(), List.of()))
+            .hasMessage("Rollup measure column 'id' must not be a primary key, partition or generated column or have a default expression");
+        assertThatThrownBy(() -> Rollup.of(table.ident(), "minute(ts) measures (g)", table.columns(), table.primaryKey(), List.of()))
+            .hasMessage("Rollup measure column 'g' must not be a primary key, partition or generated column or have a default expression");
+        assertThatThrownBy(() -> Rollup.of(table.ident(), "minute(ts) measures (v, v)", table.columns(), table.primaryKey(), List.of()))
+            .hasMessage("Column 'v' is used more than once as rollup dimension or measure");
+        assertThatThrownBy(() -> Rollup.of(
+                table.ident(), "minute(ts) sketches (percentile(v), percentile(v))", table.columns(), table.primaryKey(), List.of()))
+            .hasMessage("Rollup sketch 'percentile(v)' is defined more than once");
+
+        Rollup rollup = Rollup.of(table.ident(), "minute(ts) sketches (percentile(device))", table.columns(), table.primaryKey(), List.of())
+            .get(0);
+        assertThatThrownBy(() -> rollup.validateSketches(e.nodeCtx.functions()))
+            .isExactlyInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Rollup sketch 'percentile(device)' is not supported: ");
+    }
+
+    @Test
+    public void test_rollup_columns_must_not_conflict_with_table_columns() throws Exception {
+        DocTableInfo table = createTable(
+            "create table doc.m (ts timestamp, v int, v_sum int) with (rollups = 'minute(ts) measures (v)')");
+        assertThatThrownBy(() -> Rollup.of(table))
+            .hasMessage("Column 'v_sum' of table 'doc.m' conflicts with a column of its rollups");
+    }
+
+    @Test
+    public void test_accumulator_aggregates_rows_into_buckets() throws Exception {
+        DocTableInfo table = createTable(
+            "create table doc.m (ts timestamp, device text, v real, n int) " +
+            "with (rollups = 'minute(ts) dimensions (device) measures (v, n)')");
+        Rollup rollup = Rollup.of(table).get(0);
+        List<Reference> columns = List.of(
+            table.getReference("ts"),
+            table.getReference("device"),
+            table.getReference("v"),
+            table.getReference("n"));
+
+        RollupAccumulator accumulator = new RollupAccumulator(e.nodeCtx.functions());
+        accumulator.add(rollup, columns, new Object[] { 60_001L, "a", 1.5f, 3 });
+        accumulator.add(rollup, columns, new Object[] { 119_999L, "a", 0.5f, null });
+        accumulator.add(rollup, columns, new Object[] { 120_000L, null, null, 7 });
+        // Missing columns are treated as null
+        accumulator.add(rollup, columns.subList(0, 2), new Object[] { 120_500L, null });
+
+        RollupAccumulator other = new RollupAccumulator(e.nodeCtx.functions());
+        other.add(rollup, columns, new Object[] { 60_000L, "a", 4.0f, -1 });
+        long ramBytesUsed = accumulator.ramBytesUsed();
+        assertThat(ramBytesUsed).isGreaterThan(0L);
+        accumulator.addAll(other);
+        assertThat(accumulator.numBuckets()).isEqualTo(2);
+        assertThat(accumulator.ramBytesUsed()).isEqualTo(ramBytesUsed + other.ramBytesUsed());
+
+        List<Object[]> rows = accumulator.rows(rollup);
+        rows.sort(Comparator.comparing(row -> (String) row[0]));
+        assertThat(rows).containsExactly(
+            new Object[] { "120000|-", 120_000L, null, 2L, 0L, null, null, null, 1L, 7L, 7, 7 },
+            new Object[] { "60000|1:a", 60_000L, "a", 3L, 3L, 6.0f, 0.5f, 4.0f, 2L, 2L, -1, 3 }
+        );
+
+        RollupAccumulator restored = new RollupAccumulator(e.nodeCtx.functions());
+        restored.addRows(rollup, rows);
+        assertThat(restored.rows(rollup)).containsExactlyInAnyOrderElementsOf(rows);
+    }
+
+    @Test
+    public void test_accumulator_stores_serialized_sketch_states() throws Exception {
+        DocTableInfo table = createTable(
+            "create table doc.m (ts timestamp, v double) with (rollups = 'minute(ts) sketches (percentile(v))')");
+        Rollup rollup = Rollup.of(table).get(0);
+        List<Reference> columns = List.of(table.getReference("ts"), table.getReference("v"));
+        Functions functions = e.nodeCtx.functions();
+
+        RollupAccumulator accumulator = new RollupAccumulator(functions);
+        for (int i = 1; i <= 50; i++) {
+            accumulator.add(rollup, columns, new Object[] { 0L, (double) i });
+        }
+        RollupAccumulator other = new RollupAccumulator(functions);
+        for (int i = 51; i <= 100; i++) {
+            other.add(rollup, columns, new Object[] { 0L, (double) i });
+        }
+        RollupAccumulator withoutValues = new RollupAccumulator(functions);
+        withoutValues.add(rollup, columns, new Object[] { 0L, null });
+        // The sketch states are accounted
+        assertThat(other.ramBytesUsed()).isGreaterThan(withoutValues.ramBytesUsed());
+        accumulator.addAll(other);
+        accumulator.add(rollup, columns, new Object[] { 60_000L, null });
+
+        List<Object[]> rows = accumulator.rows(rollup);
+        rows.sort(Comparator.comparing(row -> (String) row[0]));
+        assertThat(rows.get(1)[3]).isNull();
+        String state = (String) rows.get(0)[3];
+
+        var percentile = RollupSketches.aggregation(
+            functions,
+            "percentile",
+            List.of(Literal.of(DataTypes.DOUBLE, null), Literal.of(0.9)));
+        Input<?>[] fraction = new Input<?>[] { Literal.of(0.9) };
+        assertThat((double) RollupSketches.terminate(percentile, List.of(state), fraction)).isBetween(89.0, 91.0);
+
+        var aggregation = RollupSketches.aggregation(functions, "percentile", DataTypes.DOUBLE);
+        String half = RollupSketches.merge(aggregation, Arrays.asList(null, state));
+        String twice = RollupSketches.merge(aggregation, List.of(state, state));
+        assertThat((double) RollupSketches.terminate(percentile, Arrays.asList(half, null), fraction)).isBetween(89.0, 91.0);
+        assertThat((double) RollupSketches.terminate(percentile, List.of(twice), fraction)).isBetween(89.0, 91.0);
+        assertThat(RollupSketches.merge(aggregation, Arrays.asList(null, null))).isNull();
+    }
+
+    @Test
+    public void test_sums_of_integral_measures_saturate() throws Exception {
+        DocTableInfo table = createTable(
+            "create table doc.m (ts timestamp, n bigint) with (rollups = 'minute(ts) measures (n)')");
+        Rollup rollup = Rollup.of(table).get(0);
+        List<Reference> columns = List.of(table.getReference("ts"), table.getReference("n"));
+
+        RollupAccumulator accumulator = new RollupAccumulator(e.nodeCtx.functions());
+        accumulator.add(rollup, columns, new Object[] { 0L, Long.MAX_VALUE });
+        accumulator.add(rollup, columns, new Object[] { 0L, 1L });
+        accumulator.add(rollup, columns, new Object[] { 60_000L, Long.MIN_VALUE });
+        accumulator.add(rollup, columns, new Object[] { 60_000L, -1L });
+
+        List<Object[]> rows = accumulator.rows(rollup);
+        rows.sort(Comparator.comparing(row -> (String) row[0]));
+        assertThat(rows).extracting(row -> row[4]).containsExactly(Long.MAX_VALUE, Long.MIN_VALUE);
+        assertThat(RollupAccumulator.saturatedAdd(-3L, 5L)).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package org.elasticsearch.cluster.routing.allocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.elasticsearch.cluster.metadata.IndexMetadata.SETTING_INDEX_UUID;
+import static org.elasticsearch.cluster.routing.ShardRoutingState.STARTED;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.elasticsearch.Version;
+import org.elasticsearch.cluster.ClusterInfo;
+import org.elasticsearch.cluster.ClusterName;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.ESAllocationTestCase;
+import org.elasticsearch.cluster.metadata.AutoExpandReplicas;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.elasticsearch.cluster.routing.RoutingNodes;
+import org.elasticsearch.cluster.routing.RoutingTable;
+import org.elasticsearch.cluster.routing.ShardRouting;
+import org.elasticsearch.cluster.routing.allocation.allocator.BalancedShardsAllocator;
+import org.elasticsearch.cluster.routing.allocation.decider.AllocationDeciders;
+import org.elasticsearch.cluster.routing.allocation.decider.ClusterRebalanceAllocationDecider;
+import org.elasticsearch.cluster.routing.allocation.decider.Decision;
+import org.elasticsearch.common.UUIDs;
+import org.elasticsearch.common.collect.ImmutableOpenMap;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.snapshots.EmptySnapshotsInfoService;
+import org.elasticsearch.snapshots.SnapshotShardSizeInfo;
+import org.elasticsearch.test.gateway.TestGatewayAllocator;
+
+public class LoadAwareBalanceTests extends ESAllocationTestCase {
+
+    private static final Settings ALLOCATION_SETTINGS = Settings.builder()
+        .put(ClusterRebalanceAllocationDecider.CLUSTER_ROUTING_ALLOCATION_ALLOW_REBALANCE_SETTING.getKey(), "always")
+        .put("cluster.routing.allocation.cluster_concurrent_rebalance", -1)
+        .build();
+
+    private static final ClusterSettings CLUSTER_SETTINGS =
+        new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
+
+    /**
+     * Allocates 4 shards of one index to 2 nodes, which results in 2 shards per node.
+     */
+    private static ClusterState balancedByShardCount() {
+        Metadata metadata = Metadata.builder()
+            .put(IndexMetadata.builder("t")
+                .settings(settings(Version.CURRENT)
+                    .put(SETTING_INDEX_UUID, UUIDs.randomBase64UUID())
+                    .put(AutoExpandReplicas.SETTING.getKey(), "false"))
+                .numberOfShards(4)
+                .numberOfReplicas(0))
+            .build();
+        ClusterState clusterState = ClusterState.builder(ClusterName.CLUSTER_NAME_SETTING.getDefault(Settings.EMPTY))
+            .metadata(metadata)
+            .routingTable(RoutingTable.builder().addAsNew(metadata.index("t")).build())
+            .nodes(DiscoveryNodes.builder().add(newNode("node1")).add(newNode("node2")))
+            .build();
+        AllocationService strategy = createAllocationService(ALLOCATION_SETTINGS);
+        clusterState = strategy.reroute(clusterState, "reroute");
+        clusterState = startInitializingShardsAndReroute(strategy, clusterState);
+        assertThat(clusterState.getRoutingNodes().node("node1").numberOfShardsWithState(STARTED)).isEqualTo(2);
+        assertThat(clusterState.getRoutingNodes().node("node2").numberOfShardsWithState(STARTED)).isEqualTo(2);
+        return clusterState;
+    }
+
+    /**
+     * Marks all shards on the given node as hot
+     */
+    private static ClusterInfo hotShardsOn(ClusterState clusterState, String nodeId) {
+        ImmutableOpenMap.Builder<String, ClusterInfo.ShardLoad> shardLoads = ImmutableOpenMap.builder();
+        for (ShardRouting shard : clusterState.getRoutingNodes().node(nodeId)) {
+            shardLoads.put(shard.shardId() + "[p]", new ClusterInfo.ShardLoad(100.0, 0.0));
+        }
+        return new ClusterInfo(
+            ImmutableOpenMap.of(),
+            ImmutableOpenMap.of(),
+            ImmutableOpenMap.of(),
+            ImmutableOpenMap.of(),
+            ImmutableOpenMap.of(),
+            shardLoads.build()
+        );
+    }
+
+    private static Set<Integer> shardIds(ClusterState clusterState, String nodeId) {
+        return clusterState.getRoutingNodes().node(nodeId).copyShards().stream()
+            .map(ShardRouting::id)
+            .collect(Collectors.toSet());
+    }
+
+    public void testHotShardsAreNotMovedByDefault() {
+        ClusterState clusterState = balancedByShardCount();
+        ClusterInfo clusterInfo = hotShardsOn(clusterState, "node1");
+        MockAllocationService strategy = new MockAllocationService(
+            randomAllocationDeciders(ALLOCATION_SETTINGS, CLUSTER_SETTINGS, random()),
+            new TestGatewayAllocator(),
+            new BalancedShardsAllocator(ALLOCATION_SETTINGS),
+            () -> clusterInfo,
+            EmptySnapshotsInfoService.INSTANCE
+        );
+
+        ClusterState newState = strategy.reroute(clusterState, "reroute");
+        assertThat(newState).isSameAs(clusterState);
+    }
+
+    public void testHotShardsAreSpreadAcrossNodesWithWriteLoadFactor() {
+        ClusterState clusterState = balancedByShardCount();
+        Set<Integer> hotShards = shardIds(clusterState, "node1");
+        ClusterInfo clusterInfo = hotShardsOn(clusterState, "node1");
+        Settings settings = Settings.builder()
+            .put(ALLOCATION_SETTINGS)
+            .put(BalancedShardsAllocator.WRITE_LOAD_BALANCE_FACTOR_SETTING.getKey(), 1.0f)
+            .build();
+        MockAllocationService strategy = new MockAllocationService(
+            randomAllocationDeciders(settings, CLUSTER_SETTINGS, random()),
+            new TestGatewayAllocator(),
+            new BalancedShardsAllocator(settings),
+            () -> clusterInfo,
+            EmptySnapshotsInfoService.INSTANCE
+        );
+
+        clusterState = applyStartedShardsUntilNoChange(clusterState, strategy);
+
+        Set<Integer> hotShardsOnNode1 = shardIds(clusterState, "node1");
+        hotShardsOnNode1.retainAll(hotShards);
+        Set<Integer> hotShardsOnNode2 = shardIds(clusterState, "node2");
+        hotShardsOnNode2.retainAll(hotShards);
+        assertThat(hotShardsOnNode1).hasSize(1);
+        assertThat(hotShardsOnNode2).hasSize(1);
+    }
+
+    public void testRebalanceExplanationContainsNodeWeights() {
+        ClusterState clusterState = balancedByShardCount();
+        ClusterInfo clusterInfo = hotShardsOn(clusterState, "node1");
+        Settings settings = Settings.builder()
+            .put(BalancedShardsAllocator.WRITE_LOAD_BALANCE_FACTOR_SETTING.getKey(), 1.0f)
+            .build();
+        RoutingAllocation allocation = new RoutingAllocation(
+            new AllocationDeciders(Collections.emptyList()),
+            new RoutingNodes(clusterState, false),
+            clusterState,
+            clusterInfo,
+            SnapshotShardSizeInfo.EMPTY,
+            System.nanoTime()
+        );
+        allocation.debugDecision(true);
+        ShardRouting hotShard = clusterState.getRoutingNodes().node("node1").copyShards().get(0);
+
+        MoveDecision decision = new BalancedShardsAllocator(settings)
+            .decideShardAllocation(hotShard, allocation)
+            .getMoveDecision();
+
+        assertThat(decision.getAllocationDecision()).isEqualTo(AllocationDecision.YES);
+        assertThat(decision.getTargetNode().getId()).isEqualTo("node2");
+        List<String> explanations = decision.getNodeDecisions().get(0).getCanAllocateDecision().getDecisions().stream()
+            .map(Decision::getExplanation)
+            .toList();
+        assertThat(explanations).singleElement().satisfies(
+            explanation -> assertThat(explanation).startsWith("node weight [-1.00] (shards [2], write load [0.00/s]"));
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package org.elasticsearch.common.hash;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.zip.CRC32;
+
+import org.elasticsearch.test.ESTestCase;
+import org.junit.Test;
+
+public class CRC32CombineTests extends ESTestCase {
+
+    @Test
+    public void test_combined_checksum_of_parts_matches_checksum_of_whole() {
+        byte[] bytes = randomByteArrayOfLength(randomIntBetween(0, 10_000));
+        int split = randomIntBetween(0, bytes.length);
+
+        CRC32 whole = new CRC32();
+        whole.update(bytes);
+        CRC32 first = new CRC32();
+        first.update(bytes, 0, split);
+        CRC32 second = new CRC32();
+        second.update(bytes, split, bytes.length - split);
+
+        assertThat(CRC32Combine.combine(first.getValue(), second.getValue(), bytes.length - split))
+            .isEqualTo(whole.getValue());
+    }
+
+    @Test
+    public void test_combine_with_empty_sequences() {
+        CRC32 crc = new CRC32();
+        crc.update(new byte[] { 1, 2, 3 });
+        assertThat(CRC32Combine.combine(crc.getValue(), 0L, 0L)).isEqualTo(crc.getValue());
+        assertThat(CRC32Combine.combine(0L, crc.getValue(), 3L)).isEqualTo(crc.getValue());
+    }
+}
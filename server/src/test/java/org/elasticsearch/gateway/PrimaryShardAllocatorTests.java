@@ -58,7 +58,9 @@ import org.elasticsearch.common.UUIDs;
 import org.elasticsearch.common.collect.ImmutableOpenMap;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.env.ShardLockObtainFailedException;
+import org.elasticsearch.index.IndexModule;
 import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.index.store.SearchableSnapshotDirectory;
 import org.elasticsearch.repositories.IndexId;
 import org.elasticsearch.snapshots.Snapshot;
 import org.elasticsearch.snapshots.SnapshotId;
@@ -130,6 +132,32 @@ public class PrimaryShardAllocatorTests extends ESAllocationTestCase {
         assertClusterHealthStatus(allocation, ClusterHealthStatus.YELLOW);
     }
 
+    @Test
+    public void test_lost_primary_of_mounted_index_is_recovered_from_snapshot() {
+        Settings mounted = Settings.builder()
+            .put(IndexModule.INDEX_STORE_TYPE_SETTING.getKey(), SearchableSnapshotDirectory.STORE_TYPE)
+            .put(SearchableSnapshotDirectory.REPOSITORY_NAME_SETTING.getKey(), "repo")
+            .put(SearchableSnapshotDirectory.SNAPSHOT_NAME_SETTING.getKey(), "snap")
+            .put(SearchableSnapshotDirectory.SNAPSHOT_UUID_SETTING.getKey(), "snap-uuid")
+            .put(SearchableSnapshotDirectory.INDEX_NAME_SETTING.getKey(), "test")
+            .put(SearchableSnapshotDirectory.INDEX_UUID_SETTING.getKey(), "index-uuid")
+            .build();
+        RoutingAllocation allocation =
+            routingAllocationWithOnePrimaryNoReplicas(yesAllocationDeciders(), CLUSTER_RECOVERED, mounted, "allocId");
+        testAllocator.addData(node1, null, randomBoolean());
+        allocateAllUnassigned(allocation);
+
+        assertThat(allocation.routingNodesChanged()).isTrue();
+        assertThat(allocation.routingNodes().unassigned().ignored()).isEmpty();
+        assertThat(allocation.routingNodes().unassigned()).hasSize(1);
+        ShardRouting shard = allocation.routingNodes().unassigned().iterator().next();
+        assertThat(shard.recoverySource()).isExactlyInstanceOf(SnapshotRecoverySource.class);
+        SnapshotRecoverySource recoverySource = (SnapshotRecoverySource) shard.recoverySource();
+        assertThat(recoverySource.restoreUUID()).isEqualTo(SnapshotRecoverySource.NO_API_RESTORE_UUID);
+        assertThat(recoverySource.snapshot()).isEqualTo(new Snapshot("repo", new SnapshotId("snap", "snap-uuid")));
+        assertThat(recoverySource.index()).isEqualTo(new IndexId("test", "index-uuid"));
+    }
+
     /**
      * Tests when the node returns data with a shard allocation id that does not match active allocation ids, it will be moved to ignore
      * unassigned.
@@ -447,8 +475,13 @@ public class PrimaryShardAllocatorTests extends ESAllocationTestCase {
 
     private RoutingAllocation routingAllocationWithOnePrimaryNoReplicas(AllocationDeciders deciders, UnassignedInfo.Reason reason,
                                                                         String... activeAllocationIds) {
+        return routingAllocationWithOnePrimaryNoReplicas(deciders, reason, Settings.EMPTY, activeAllocationIds);
+    }
+
+    private RoutingAllocation routingAllocationWithOnePrimaryNoReplicas(AllocationDeciders deciders, UnassignedInfo.Reason reason,
+                                                                        Settings indexSettings, String... activeAllocationIds) {
         Metadata metadata = Metadata.builder()
-                .put(IndexMetadata.builder(shardId.getIndexName()).settings(settings(Version.CURRENT))
+                .put(IndexMetadata.builder(shardId.getIndexName()).settings(settings(Version.CURRENT).put(indexSettings))
                     .numberOfShards(1).numberOfReplicas(0).putInSyncAllocationIds(shardId.id(), Set.of(activeAllocationIds)))
                 .build();
         RoutingTable.Builder routingTableBuilder = RoutingTable.builder();
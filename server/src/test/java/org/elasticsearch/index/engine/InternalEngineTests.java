@@ -1418,6 +1418,47 @@ public class InternalEngineTests extends EngineTestCase {
 
     }
 
+    @Test
+    public void test_multi_get_resolves_refreshed_and_pending_documents() throws IOException {
+        final BiFunction<String, Engine.SearcherScope, Searcher> searcherFactory = engine::acquireSearcher;
+        for (int i = 1; i <= 5; i++) {
+            engine.index(indexForDoc(testParsedDocument(Integer.toString(i), testDocument(), B_1)));
+        }
+        engine.refresh("test");
+
+        // pending changes, only visible via the version map
+        engine.index(indexForDoc(testParsedDocument("2", testDocument(), B_1)));
+        ParsedDocument doc3 = testParsedDocument("3", testDocument(), B_1);
+        engine.delete(new Engine.Delete(doc3.id(), newUid(doc3), primaryTerm.get()));
+        engine.index(indexForDoc(testParsedDocument("6", testDocument(), B_1)));
+
+        List<Engine.Get> gets = new ArrayList<>();
+        for (String id : List.of("5", "1", "2", "3", "6", "7")) {
+            gets.add(new Engine.Get(id, newUid(id)));
+        }
+        Map<String, Long> versions = new HashMap<>();
+        List<Integer> docIds = new ArrayList<>();
+        engine.multiGet(gets, searcherFactory, (get, docIdAndVersion) -> {
+            if (docIdAndVersion == null) {
+                versions.put(get.id(), null);
+            } else {
+                versions.put(get.id(), docIdAndVersion.version);
+                if (get.id().equals("1") || get.id().equals("5")) {
+                    docIds.add(docIdAndVersion.docBase + docIdAndVersion.docId);
+                }
+            }
+        });
+        assertThat(versions)
+            .hasSize(6)
+            .containsEntry("1", 1L)
+            .containsEntry("2", 2L)
+            .containsEntry("3", null)
+            .containsEntry("5", 1L)
+            .containsEntry("6", 1L)
+            .containsEntry("7", null);
+        assertThat(docIds).isSorted();
+    }
+
     @Test
     public void testVersioningNewIndex() throws IOException {
         ParsedDocument doc = testParsedDocument("1", testDocument(), B_1);
@@ -512,6 +512,24 @@ public class IndexShardTests extends IndexShardTestCase {
         closeShards(shard);
     }
 
+    @Test
+    public void testLoadStatsCountWriteAndSearchOperations() throws Exception {
+        IndexShard shard = newStartedShard(true);
+        assertThat(shard.loadStats().getWriteOperations()).isEqualTo(0L);
+        assertThat(shard.loadStats().getSearchOperations()).isEqualTo(0L);
+
+        indexDoc(shard, "0");
+        indexDoc(shard, "1");
+        try (Engine.Searcher searcher = shard.acquireSearcher("test")) {
+            assertThat(searcher).isNotNull();
+        }
+
+        ShardLoadStats loadStats = shard.loadStats();
+        assertThat(loadStats.getWriteOperations()).isEqualTo(2L);
+        assertThat(loadStats.getSearchOperations()).isEqualTo(1L);
+        closeShards(shard);
+    }
+
     @Test
     public void testIndexingOperationListenersIsInvokedOnRecovery() throws Exception {
         IndexShard shard = newStartedShard(true);
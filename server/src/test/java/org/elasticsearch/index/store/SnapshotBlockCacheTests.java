@@ -0,0 +1,123 @@
+/*
+ * Licensed to Crate.io GmbH ("Crate") under one or more contributor
+ * license agreements.  See the NOTICE file distributed with this work for
+ * additional information regarding copyright ownership.  Crate licenses
+ * this file to you under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.  You may
+ * obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.  See the
+ * License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * However, if you have executed another commercial license agreement
+ * with Crate these terms will supersede the license and you may use the
+ * software solely pursuant to the terms of the relevant commercial agreement.
+ */
+
+package org.elasticsearch.index.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.elasticsearch.common.breaker.ChildMemoryCircuitBreaker;
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.breaker.NoopCircuitBreaker;
+import org.elasticsearch.indices.breaker.BreakerSettings;
+import org.elasticsearch.indices.breaker.CircuitBreakerService;
+import org.elasticsearch.test.ESTestCase;
+import org.junit.Test;
+
+public class SnapshotBlockCacheTests extends ESTestCase {
+
+    @Test
+    public void test_block_is_loaded_once_and_then_served_from_cache() throws Exception {
+        SnapshotBlockCache cache = new SnapshotBlockCache(1024, 4096, Runnable::run, new NoopCircuitBreaker("test"));
+        SnapshotBlockCache.Key key = new SnapshotBlockCache.Key("repo", "__file", 0);
+        AtomicInteger loads = new AtomicInteger();
+        SnapshotBlockCache.BlockLoader loader = () -> {
+            loads.incrementAndGet();
+            return new byte[] { 1, 2, 3 };
+        };
+
+        assertThat(cache.getIfPresent(key)).isNull();
+        assertThat(cache.get(key, loader)).containsExactly(1, 2, 3);
+        assertThat(cache.get(key, loader)).containsExactly(1, 2, 3);
+        assertThat(cache.getIfPresent(key)).containsExactly(1, 2, 3);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.sizeInBytes()).isEqualTo(3L);
+    }
+
+    @Test
+    public void test_cache_is_bounded_by_size_of_blocks() throws Exception {
+        SnapshotBlockCache cache = new SnapshotBlockCache(8, 4096, Runnable::run, new NoopCircuitBreaker("test"));
+        for (int i = 0; i < 10; i++) {
+            cache.get(new SnapshotBlockCache.Key("repo", "__file", i), () -> new byte[4]);
+        }
+        assertThat(cache.sizeInBytes()).isLessThanOrEqualTo(8L);
+    }
+
+    @Test
+    public void test_prefetch_loads_block_unless_cached() throws Exception {
+        SnapshotBlockCache cache = new SnapshotBlockCache(1024, 4096, Runnable::run, new NoopCircuitBreaker("test"));
+        SnapshotBlockCache.Key key = new SnapshotBlockCache.Key("repo", "__file", 1);
+        AtomicInteger loads = new AtomicInteger();
+        SnapshotBlockCache.BlockLoader loader = () -> {
+            loads.incrementAndGet();
+            return new byte[] { 4 };
+        };
+
+        assertThat(cache.prefetch(key, loader)).isTrue();
+        assertThat(cache.getIfPresent(key)).containsExactly(4);
+        assertThat(cache.prefetch(key, loader)).isFalse();
+        assertThat(cache.get(key, loader)).containsExactly(4);
+        assertThat(loads.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void test_load_failure_is_raised_and_not_cached() throws Exception {
+        SnapshotBlockCache cache = new SnapshotBlockCache(1024, 4096, Runnable::run, new NoopCircuitBreaker("test"));
+        SnapshotBlockCache.Key key = new SnapshotBlockCache.Key("repo", "__file", 0);
+
+        assertThatThrownBy(() -> cache.get(key, () -> {
+            throw new IOException("blob is gone");
+        }))
+            .isExactlyInstanceOf(IOException.class)
+            .hasMessage("blob is gone");
+        assertThat(cache.getIfPresent(key)).isNull();
+    }
+
+    @Test
+    public void test_cached_blocks_are_accounted_and_blocks_exceeding_the_breaker_are_not_cached() throws Exception {
+        CircuitBreaker breaker = new ChildMemoryCircuitBreaker(
+            new BreakerSettings(SnapshotBlockCache.BREAKER, 5, CircuitBreaker.Type.MEMORY),
+            LogManager.getLogger(getClass()),
+            mock(CircuitBreakerService.class)
+        );
+        SnapshotBlockCache cache = new SnapshotBlockCache(4, 4096, Runnable::run, breaker);
+        SnapshotBlockCache.Key key1 = new SnapshotBlockCache.Key("repo", "__file", 0);
+        SnapshotBlockCache.Key key2 = new SnapshotBlockCache.Key("repo", "__file", 1);
+        SnapshotBlockCache.Key key3 = new SnapshotBlockCache.Key("repo", "__file", 2);
+
+        assertThat(cache.get(key1, () -> new byte[] { 1, 2, 3 })).containsExactly(1, 2, 3);
+        assertThat(breaker.getUsed()).isEqualTo(3L);
+
+        assertThat(cache.get(key2, () -> new byte[] { 4, 5, 6 })).containsExactly(4, 5, 6);
+        assertThat(cache.getIfPresent(key2)).isNull();
+        assertThat(breaker.getUsed()).isEqualTo(3L);
+
+        // Exceeds the size of the cache, one of the blocks is evicted and released from the breaker
+        assertThat(cache.get(key3, () -> new byte[] { 7, 8 })).containsExactly(7, 8);
+        assertThat(breaker.getUsed()).isEqualTo(cache.sizeInBytes());
+        assertThat(cache.sizeInBytes()).isLessThanOrEqualTo(4L);
+    }
+}
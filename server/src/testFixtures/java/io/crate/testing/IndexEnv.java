@@ -27,7 +27,6 @@ import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 
-import org.apache.lucene.analysis.standard.StandardAnalyzer;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
 import org.apache.lucene.search.QueryCache;
@@ -113,7 +112,7 @@ public final class IndexEnv implements AutoCloseable {
             IndicesQueryCache.createCache(Settings.EMPTY),
             () -> table
         );
-        IndexWriterConfig conf = new IndexWriterConfig(new StandardAnalyzer());
+        IndexWriterConfig conf = new IndexWriterConfig(indexService.indexAnalyzer());
         writer = new IndexWriter(new ByteBuffersDirectory(), conf);
     }
 
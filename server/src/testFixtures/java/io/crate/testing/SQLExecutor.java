@@ -97,6 +97,7 @@ import org.mockito.Answers;
 
 import io.crate.Constants;
 import io.crate.action.sql.Cursors;
+import io.crate.action.sql.ResourceGroups;
 import io.crate.action.sql.Session;
 import io.crate.action.sql.Sessions;
 import io.crate.analyze.Analysis;
@@ -369,7 +370,7 @@ public class SQLExecutor {
                 logicalReplicationSettings
             );
             logicalReplicationService.repositoriesService(mock(RepositoriesService.class));
-            var foreignDataWrappers = new ForeignDataWrappers(settings, clusterService, nodeCtx);
+            var foreignDataWrappers = new ForeignDataWrappers(settings, clusterService, nodeCtx, threadPool);
             var client = new NodeClient(settings, threadPool);
 
             publishInitialClusterState(clusterService);
@@ -398,7 +399,8 @@ public class SQLExecutor {
                         null,
                         roleManager,
                         foreignDataWrappers,
-                        sessionSettingRegistry
+                        sessionSettingRegistry,
+                        null
                     ),
                 relationAnalyzer,
                 sessionSettingRegistry,
@@ -483,7 +485,8 @@ public class SQLExecutor {
             jobsLogs,
             clusterService.getSettings(),
             clusterService,
-            sessionSettingRegistry
+            sessionSettingRegistry,
+            new ResourceGroups(clusterService.getSettings())
         );
         this.analyzer = analyzer;
         this.planner = planner;
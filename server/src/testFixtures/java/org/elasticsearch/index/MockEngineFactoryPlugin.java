@@ -24,6 +24,7 @@ import java.util.Optional;
 
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.index.engine.EngineFactory;
+import org.elasticsearch.index.store.SearchableSnapshotDirectory;
 import org.elasticsearch.plugins.EnginePlugin;
 import org.elasticsearch.plugins.Plugin;
 import org.elasticsearch.test.engine.AssertingDirectoryReader;
@@ -44,6 +45,10 @@ public class MockEngineFactoryPlugin extends Plugin implements EnginePlugin {
 
     @Override
     public Optional<EngineFactory> getEngineFactory(final IndexSettings indexSettings) {
+        if (SearchableSnapshotDirectory.isMounted(indexSettings.getSettings())) {
+            // mounted indices use a read-only engine
+            return Optional.empty();
+        }
         return Optional.of(new MockEngineFactory(AssertingDirectoryReader.class));
     }
 }
@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -39,6 +40,7 @@ import org.elasticsearch.common.blobstore.BlobContainer;
 import org.elasticsearch.common.blobstore.BlobMetadata;
 import org.elasticsearch.common.blobstore.BlobPath;
 import org.elasticsearch.common.blobstore.BlobStore;
+import org.elasticsearch.common.blobstore.MultipartUpload;
 import org.elasticsearch.common.bytes.BytesArray;
 import org.elasticsearch.test.ESTestCase;
 
@@ -154,6 +156,53 @@ public abstract class ESBlobStoreContainerTestCase extends ESTestCase {
         }
     }
 
+    public void testMultipartUploadWithPartsInRandomOrder() throws IOException {
+        try (BlobStore store = newBlobStore()) {
+            final BlobContainer container = store.blobContainer(new BlobPath());
+            final byte[] data = randomBytes(randomIntBetween(100, scaledRandomIntBetween(1024, 1 << 16)));
+            final int partSize = randomIntBetween(1, data.length / 2);
+            assumeTrue("container must support multipart uploads", container.supportsMultipartUpload(data.length, partSize));
+
+            final MultipartUpload upload = container.startMultipartUpload("foobar", data.length, partSize);
+            final int numParts = (data.length + partSize - 1) / partSize;
+            final List<Integer> parts = new ArrayList<>();
+            for (int i = 0; i < numParts; i++) {
+                parts.add(i);
+            }
+            Collections.shuffle(parts, random());
+            for (int part : parts) {
+                final int position = part * partSize;
+                final int length = Math.min(partSize, data.length - position);
+                try (InputStream stream = new BytesArray(data, position, length).streamInput()) {
+                    upload.uploadPart(part, position, stream, length);
+                }
+            }
+            assertThat(container.listBlobsByPrefix("foobar")).isEmpty();
+            upload.complete();
+
+            assertThat(container.listBlobs()).containsOnlyKeys("foobar");
+            try (InputStream stream = container.readBlob("foobar")) {
+                assertThat(stream.readAllBytes()).isEqualTo(data);
+            }
+        }
+    }
+
+    public void testAbortMultipartUpload() throws IOException {
+        try (BlobStore store = newBlobStore()) {
+            final BlobContainer container = store.blobContainer(new BlobPath());
+            final byte[] data = randomBytes(randomIntBetween(10, 1024));
+            assumeTrue("container must support multipart uploads", container.supportsMultipartUpload(data.length, data.length));
+
+            final MultipartUpload upload = container.startMultipartUpload("foobar", data.length, data.length);
+            try (InputStream stream = new BytesArray(data).streamInput()) {
+                upload.uploadPart(0, 0, stream, data.length);
+            }
+            upload.abort();
+            upload.abort();
+            assertThat(container.listBlobs()).isEmpty();
+        }
+    }
+
     protected void writeBlob(BlobContainer container, String blobName, BytesArray bytesArray,
                              boolean failIfAlreadyExists) throws IOException {
         try (InputStream stream = bytesArray.streamInput()) {
@@ -22,6 +22,7 @@ package org.elasticsearch.snapshots.mockstore;
 import org.elasticsearch.common.blobstore.BlobContainer;
 import org.elasticsearch.common.blobstore.BlobMetadata;
 import org.elasticsearch.common.blobstore.BlobPath;
+import org.elasticsearch.common.blobstore.MultipartUpload;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -72,6 +73,21 @@ public class BlobContainerWrapper implements BlobContainer {
         delegate.writeBlobAtomic(blobName, inputStream, blobSize, failIfAlreadyExists);
     }
 
+    @Override
+    public boolean supportsMultipartUpload(long blobSize, long partSize) {
+        return delegate.supportsMultipartUpload(blobSize, partSize);
+    }
+
+    @Override
+    public MultipartUpload startMultipartUpload(String blobName, long blobSize, long partSize) throws IOException {
+        return delegate.startMultipartUpload(blobName, blobSize, partSize);
+    }
+
+    @Override
+    public boolean supportsRangedReads() {
+        return delegate.supportsRangedReads();
+    }
+
 
     @Override
     public void delete() throws IOException {
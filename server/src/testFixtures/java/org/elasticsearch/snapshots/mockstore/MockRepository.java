@@ -46,6 +46,7 @@ import org.elasticsearch.common.blobstore.BlobContainer;
 import org.elasticsearch.common.blobstore.BlobMetadata;
 import org.elasticsearch.common.blobstore.BlobPath;
 import org.elasticsearch.common.blobstore.BlobStore;
+import org.elasticsearch.common.blobstore.MultipartUpload;
 import org.elasticsearch.common.blobstore.fs.FsBlobContainer;
 import org.elasticsearch.common.io.PathUtils;
 import org.elasticsearch.common.settings.Setting;
@@ -450,6 +451,30 @@ public class MockRepository extends FsRepository {
                 }
             }
 
+            @Override
+            public MultipartUpload startMultipartUpload(String blobName, long blobSize, long partSize) throws IOException {
+                maybeIOExceptionOrBlock(blobName);
+                final MultipartUpload upload = super.startMultipartUpload(blobName, blobSize, partSize);
+                return new MultipartUpload() {
+
+                    @Override
+                    public void uploadPart(int partNumber, long position, InputStream input, long length) throws IOException {
+                        maybeIOExceptionOrBlock(blobName);
+                        upload.uploadPart(partNumber, position, input, length);
+                    }
+
+                    @Override
+                    public void complete() throws IOException {
+                        upload.complete();
+                    }
+
+                    @Override
+                    public void abort() throws IOException {
+                        upload.abort();
+                    }
+                };
+            }
+
             @Override
             public void writeBlobAtomic(final String blobName, final InputStream inputStream, final long blobSize,
                                         final boolean failIfAlreadyExists) throws IOException {